@@ -0,0 +1,347 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import static com.google.protobuf.WireFormat.WIRETYPE_FIXED64;
+import static com.google.protobuf.WireFormat.WIRETYPE_LENGTH_DELIMITED;
+import static com.google.protobuf.WireFormat.WIRETYPE_VARINT;
+import static com.google.protobuf.WireFormat.getTagFieldNumber;
+import static com.google.protobuf.WireFormat.getTagWireType;
+
+import java.io.IOException;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.wl4g.devops.common.bean.umc.model.codec.TagDictionary.SenderDictionary;
+import com.wl4g.devops.common.bean.umc.model.codec.TagDictionary.Series;
+
+/**
+ * Streaming decoder of {@link com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate}
+ * wire format, which reads the {@link CodedInputStream} over the source
+ * buffer directly into the reusable {@link MetricAggregateView}, the metric
+ * names and tags are resolved via {@link SymbolTable} without copying, and
+ * the series of dictionary encoded metrics(see {@link TagDictionaryEncoder})
+ * are resolved via {@link TagDictionary}. </br>
+ * The decoder is thread-safe.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class MetricAggregateDecoder {
+
+	/** Default shared decoder. */
+	final public static MetricAggregateDecoder DEFAULT = new MetricAggregateDecoder(new SymbolTable(8192),
+			new TagDictionary());
+
+	/** MetricAggregate fields. */
+	final private static int AGGREGATE_CLASSIFY = 1;
+	final private static int AGGREGATE_HOST = 2;
+	final private static int AGGREGATE_ENDPOINT = 3;
+	final private static int AGGREGATE_NAMESPACE = 4;
+	final private static int AGGREGATE_TIMESTAMP = 5;
+	final private static int AGGREGATE_METRICS = 6;
+	final private static int AGGREGATE_DICTIONARY = 7;
+	final private static int AGGREGATE_TAG_PAIRS = 8;
+	final private static int AGGREGATE_SERIES = 9;
+
+	/** Metric fields. */
+	final private static int METRIC_NAME = 1;
+	final private static int METRIC_TAGS = 2;
+	final private static int METRIC_VALUE = 3;
+	final private static int METRIC_SERIES = 4;
+
+	/** Map entry fields. */
+	final private static int ENTRY_KEY = 1;
+	final private static int ENTRY_VALUE = 2;
+
+	/** Dictionary definition fields. */
+	final private static int DEFINITION_ID = 1;
+	final private static int DEFINITION_KEY = 2;
+	final private static int DEFINITION_VALUE = 3;
+	final private static int DEFINITION_METRIC = 2;
+	final private static int DEFINITION_TAG_PAIRS = 3;
+
+	/** Symbols of names, tag keys and values. */
+	final private SymbolTable symbols;
+
+	/** Tag dictionaries of senders, if null, the dictionary series are unresolved. */
+	final private TagDictionary dictionary;
+
+	public MetricAggregateDecoder(SymbolTable symbols) {
+		this(symbols, null);
+	}
+
+	public MetricAggregateDecoder(SymbolTable symbols, TagDictionary dictionary) {
+		if (symbols == null) {
+			throw new IllegalArgumentException("Symbol table must not be null");
+		}
+		this.symbols = symbols;
+		this.dictionary = dictionary;
+	}
+
+	public TagDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Decode the whole buffer.
+	 *
+	 * @param buf
+	 * @param view
+	 * @return
+	 * @throws InvalidProtocolBufferException
+	 */
+	public MetricAggregateView decode(byte[] buf, MetricAggregateView view) throws InvalidProtocolBufferException {
+		return decode(buf, 0, buf.length, view);
+	}
+
+	/**
+	 * Decode the buffer region into view.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param length
+	 * @param view
+	 * @return
+	 * @throws InvalidProtocolBufferException
+	 */
+	public MetricAggregateView decode(byte[] buf, int offset, int length, MetricAggregateView view)
+			throws InvalidProtocolBufferException {
+		view.clear();
+		int end = offset + length;
+		CodedInputStream input = CodedInputStream.newInstance(buf, offset, length);
+		boolean encoded = false;
+		try {
+			int tag;
+			while ((tag = input.readTag()) != 0) {
+				int field = getTagFieldNumber(tag);
+				int wireType = getTagWireType(tag);
+				if (field == AGGREGATE_TIMESTAMP && wireType == WIRETYPE_VARINT) {
+					view.setTimestamp(input.readInt64());
+				} else if (field == AGGREGATE_DICTIONARY && wireType == WIRETYPE_VARINT) {
+					view.setDictionary(input.readInt64());
+				} else if (wireType != WIRETYPE_LENGTH_DELIMITED) {
+					input.skipField(tag);
+				} else if (field == AGGREGATE_METRICS) {
+					int limit = input.pushLimit(input.readRawVarint32());
+					MetricView metric = view.nextMetric();
+					decodeMetric(buf, offset, end, input, metric);
+					encoded |= metric.getSeries() != 0;
+					input.popLimit(limit);
+				} else if (field == AGGREGATE_TAG_PAIRS || field == AGGREGATE_SERIES) {
+					int defLength = input.readRawVarint32();
+					int position = offset + input.getTotalBytesRead();
+					if (defLength < 0 || position + defLength > end) {
+						throw new InvalidProtocolBufferException("Truncated message, definition length: " + defLength);
+					}
+					view.addDefinition(field, position, defLength);
+					input.skipRawBytes(defLength);
+				} else if (field == AGGREGATE_CLASSIFY) {
+					view.setClassify(readSymbol(buf, offset, end, input));
+				} else if (field == AGGREGATE_HOST) {
+					view.setHost(readSymbol(buf, offset, end, input));
+				} else if (field == AGGREGATE_ENDPOINT) {
+					view.setEndpoint(readSymbol(buf, offset, end, input));
+				} else if (field == AGGREGATE_NAMESPACE) {
+					view.setNamespace(readSymbol(buf, offset, end, input));
+				} else {
+					input.skipField(tag);
+				}
+			}
+			if (encoded || view.getDefinitionSize() > 0) {
+				resolveSeries(buf, view);
+			}
+		} catch (InvalidProtocolBufferException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new InvalidProtocolBufferException(e);
+		}
+		return view;
+	}
+
+	/**
+	 * Decode the nested metric message.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param end
+	 * @param input
+	 * @param metric
+	 * @throws IOException
+	 */
+	private void decodeMetric(byte[] buf, int offset, int end, CodedInputStream input, MetricView metric) throws IOException {
+		int tag;
+		while ((tag = input.readTag()) != 0) {
+			int field = getTagFieldNumber(tag);
+			int wireType = getTagWireType(tag);
+			if (field == METRIC_VALUE && wireType == WIRETYPE_FIXED64) {
+				metric.setValue(input.readDouble());
+			} else if (field == METRIC_SERIES && wireType == WIRETYPE_VARINT) {
+				metric.setSeries(input.readUInt32());
+			} else if (field == METRIC_NAME && wireType == WIRETYPE_LENGTH_DELIMITED) {
+				metric.setMetric(readSymbol(buf, offset, end, input));
+			} else if (field == METRIC_TAGS && wireType == WIRETYPE_LENGTH_DELIMITED) {
+				int limit = input.pushLimit(input.readRawVarint32());
+				String key = "", value = "";
+				int entryTag;
+				while ((entryTag = input.readTag()) != 0) {
+					int entryField = getTagFieldNumber(entryTag);
+					if (getTagWireType(entryTag) != WIRETYPE_LENGTH_DELIMITED) {
+						input.skipField(entryTag);
+					} else if (entryField == ENTRY_KEY) {
+						key = readSymbol(buf, offset, end, input);
+					} else if (entryField == ENTRY_VALUE) {
+						value = readSymbol(buf, offset, end, input);
+					} else {
+						input.skipField(entryTag);
+					}
+				}
+				input.popLimit(limit);
+				metric.addTag(key, value);
+			} else {
+				input.skipField(tag);
+			}
+		}
+	}
+
+	/**
+	 * Define the dictionary definitions of sender, and then resolve the
+	 * series of metrics, the unresolved metrics are removed from view, and the
+	 * sender is requested to re-sync.
+	 *
+	 * @param buf
+	 * @param view
+	 * @throws IOException
+	 */
+	private void resolveSeries(byte[] buf, MetricAggregateView view) throws IOException {
+		SenderDictionary sender = null;
+		if (dictionary != null && view.getDictionary() != 0L) {
+			sender = dictionary.getSender(view.getDictionary());
+			// The series definitions are referenced to the tag pairs.
+			for (int i = 0, n = view.getDefinitionSize(); i < n; i++) {
+				if (view.getDefinitionField(i) == AGGREGATE_TAG_PAIRS) {
+					decodeDefinition(buf, view.getDefinitionOffset(i), view.getDefinitionLength(i), sender, false);
+				}
+			}
+			for (int i = 0, n = view.getDefinitionSize(); i < n; i++) {
+				if (view.getDefinitionField(i) == AGGREGATE_SERIES) {
+					decodeDefinition(buf, view.getDefinitionOffset(i), view.getDefinitionLength(i), sender, true);
+				}
+			}
+		}
+
+		boolean unresolved = false;
+		for (int i = 0, size = view.size(); i < size; i++) {
+			MetricView metric = view.get(i);
+			if (metric.getSeries() != 0) {
+				Series series = (sender != null) ? sender.getSeries(metric.getSeries()) : null;
+				if (series != null) {
+					metric.resolve(series);
+				} else {
+					unresolved = true;
+				}
+			}
+		}
+		if (unresolved) {
+			int removed = view.removeUnresolved();
+			if (dictionary != null) {
+				dictionary.unresolved(sender, removed);
+			}
+		}
+	}
+
+	/**
+	 * Decode the tag pair or series definition into the sender dictionary.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param length
+	 * @param sender
+	 * @param series
+	 * @throws IOException
+	 */
+	private void decodeDefinition(byte[] buf, int offset, int length, SenderDictionary sender, boolean series)
+			throws IOException {
+		int end = offset + length;
+		CodedInputStream input = CodedInputStream.newInstance(buf, offset, length);
+		int id = 0, pairSize = 0;
+		int[] pairIds = series ? new int[8] : null;
+		String key = "", value = "";
+		int tag;
+		while ((tag = input.readTag()) != 0) {
+			int field = getTagFieldNumber(tag);
+			int wireType = getTagWireType(tag);
+			if (field == DEFINITION_ID && wireType == WIRETYPE_VARINT) {
+				id = input.readUInt32();
+			} else if (series && field == DEFINITION_TAG_PAIRS && wireType == WIRETYPE_VARINT) {
+				pairIds = appendId(pairIds, pairSize++, input.readUInt32());
+			} else if (series && field == DEFINITION_TAG_PAIRS && wireType == WIRETYPE_LENGTH_DELIMITED) {
+				// Packed repeated ids.
+				int limit = input.pushLimit(input.readRawVarint32());
+				while (input.getBytesUntilLimit() > 0) {
+					pairIds = appendId(pairIds, pairSize++, input.readUInt32());
+				}
+				input.popLimit(limit);
+			} else if (wireType != WIRETYPE_LENGTH_DELIMITED) {
+				input.skipField(tag);
+			} else if (field == (series ? DEFINITION_METRIC : DEFINITION_KEY)) {
+				key = readSymbol(buf, offset, end, input);
+			} else if (!series && field == DEFINITION_VALUE) {
+				value = readSymbol(buf, offset, end, input);
+			} else {
+				input.skipField(tag);
+			}
+		}
+		if (series) {
+			sender.defineSeries(id, key, pairIds, pairSize);
+		} else {
+			sender.definePair(id, key, value);
+		}
+	}
+
+	private static int[] appendId(int[] ids, int index, int id) {
+		if (index == ids.length) {
+			int[] newIds = new int[ids.length << 1];
+			System.arraycopy(ids, 0, newIds, 0, index);
+			ids = newIds;
+		}
+		ids[index] = id;
+		return ids;
+	}
+
+	/**
+	 * Read length delimited string as symbol, directly from source buffer.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param end
+	 * @param input
+	 * @return
+	 * @throws IOException
+	 */
+	private String readSymbol(byte[] buf, int offset, int end, CodedInputStream input) throws IOException {
+		int length = input.readRawVarint32();
+		int position = offset + input.getTotalBytesRead();
+		if (length < 0 || position + length > end) {
+			throw new InvalidProtocolBufferException("Truncated message, symbol length: " + length);
+		}
+		String symbol = symbols.lookup(buf, position, length);
+		input.skipRawBytes(length);
+		return symbol;
+	}
+
+}
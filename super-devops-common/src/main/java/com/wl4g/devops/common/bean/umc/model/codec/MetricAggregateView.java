@@ -0,0 +1,299 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+import java.util.Map;
+
+/**
+ * Reusable flyweight view of {@link MetricAggregate}, which is filled by
+ * {@link MetricAggregateDecoder} without materializing the generated protobuf
+ * objects graph. </br>
+ * <b>Note: </b> The view is mutable and reused, the consumers must not retain
+ * it after the handling.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class MetricAggregateView {
+
+	private String classify = "";
+	private String host = "";
+	private String endpoint = "";
+	private String namespace = "";
+	private long timestamp;
+
+	/** Tag dictionary id of sender, 0 if not dictionary encoded. */
+	private long dictionary;
+
+	/** Regions(field, offset, length) of the dictionary definitions. */
+	private int[] definitions = new int[12];
+
+	/** Definitions size. */
+	private int definitionSize;
+
+	/** Unresolved(and removed) metrics of the dictionary series. */
+	private int unresolved;
+
+	/** Reused metric views. */
+	private MetricView[] metrics = new MetricView[16];
+
+	/** Metrics size. */
+	private int size;
+
+	public String getClassify() {
+		return classify;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public long getDictionary() {
+		return dictionary;
+	}
+
+	public int getUnresolved() {
+		return unresolved;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public MetricView get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return metrics[index];
+	}
+
+	/**
+	 * Reset the view from the generated {@link MetricAggregate}.
+	 *
+	 * @param aggregate
+	 * @return
+	 */
+	public MetricAggregateView copyFrom(MetricAggregate aggregate) {
+		clear();
+		setClassify(aggregate.getClassify());
+		setHost(aggregate.getHost());
+		setEndpoint(aggregate.getEndpoint());
+		setNamespace(aggregate.getNamespace());
+		setTimestamp(aggregate.getTimestamp());
+		for (Metric metric : aggregate.getMetricsList()) {
+			MetricView view = nextMetric();
+			view.setMetric(metric.getMetric());
+			view.setValue(metric.getValue());
+			for (Map.Entry<String, String> ent : metric.getTagsMap().entrySet()) {
+				view.addTag(ent.getKey(), ent.getValue());
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Reset the view from the other view, the strings are referenced without
+	 * copying.
+	 *
+	 * @param other
+	 * @return
+	 */
+	public MetricAggregateView copyFrom(MetricAggregateView other) {
+		clear();
+		setClassify(other.classify);
+		setHost(other.host);
+		setEndpoint(other.endpoint);
+		setNamespace(other.namespace);
+		setTimestamp(other.timestamp);
+		setDictionary(other.dictionary);
+		unresolved = other.unresolved;
+		for (int i = 0; i < other.size; i++) {
+			MetricView metric = other.metrics[i];
+			MetricView view = nextMetric();
+			view.setMetric(metric.getMetric());
+			view.setValue(metric.getValue());
+			view.setSeries(metric.getSeries());
+			for (int j = 0, n = metric.getTagSize(); j < n; j++) {
+				view.addTag(metric.getTagKey(j), metric.getTagValue(j));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Materialize to the generated {@link MetricAggregate}.
+	 *
+	 * @return
+	 */
+	public MetricAggregate toAggregate() {
+		MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify(classify).setHost(host)
+				.setEndpoint(endpoint).setNamespace(namespace).setTimestamp(timestamp);
+		for (int i = 0; i < size; i++) {
+			MetricView view = metrics[i];
+			Metric.Builder metric = Metric.newBuilder().setMetric(view.getMetric()).setValue(view.getValue());
+			for (int j = 0, n = view.getTagSize(); j < n; j++) {
+				metric.putTags(view.getTagKey(j), view.getTagValue(j));
+			}
+			builder.addMetrics(metric);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Clear the view for reuse.
+	 */
+	public void clear() {
+		classify = host = endpoint = namespace = "";
+		timestamp = 0L;
+		dictionary = 0L;
+		definitionSize = 0;
+		unresolved = 0;
+		for (int i = 0; i < size; i++) {
+			metrics[i].clear();
+		}
+		size = 0;
+	}
+
+	void setClassify(String classify) {
+		this.classify = classify;
+	}
+
+	void setHost(String host) {
+		this.host = host;
+	}
+
+	void setEndpoint(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	void setNamespace(String namespace) {
+		this.namespace = namespace;
+	}
+
+	void setTimestamp(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	void setDictionary(long dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Add the region of dictionary definition, which is decoded after the
+	 * whole message, because the fields can be in any order.
+	 *
+	 * @param field
+	 * @param offset
+	 * @param length
+	 */
+	void addDefinition(int field, int offset, int length) {
+		if (definitionSize + 3 > definitions.length) {
+			int[] newDefinitions = new int[definitions.length << 1];
+			System.arraycopy(definitions, 0, newDefinitions, 0, definitionSize);
+			definitions = newDefinitions;
+		}
+		definitions[definitionSize++] = field;
+		definitions[definitionSize++] = offset;
+		definitions[definitionSize++] = length;
+	}
+
+	int getDefinitionSize() {
+		return definitionSize / 3;
+	}
+
+	int getDefinitionField(int index) {
+		return definitions[index * 3];
+	}
+
+	int getDefinitionOffset(int index) {
+		return definitions[index * 3 + 1];
+	}
+
+	int getDefinitionLength(int index) {
+		return definitions[index * 3 + 2];
+	}
+
+	/**
+	 * Remove the unresolved metrics of dictionary series, the removed views
+	 * are kept for reuse.
+	 *
+	 * @return Removed count.
+	 */
+	int removeUnresolved() {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			MetricView view = metrics[i];
+			if (!view.isUnresolved()) {
+				metrics[i] = metrics[kept];
+				metrics[kept++] = view;
+			} else {
+				view.clear();
+			}
+		}
+		int removed = size - kept;
+		size = kept;
+		unresolved += removed;
+		return removed;
+	}
+
+	/**
+	 * Take the next reusable metric view.
+	 *
+	 * @return
+	 */
+	MetricView nextMetric() {
+		if (size == metrics.length) {
+			MetricView[] newMetrics = new MetricView[size << 1];
+			System.arraycopy(metrics, 0, newMetrics, 0, size);
+			metrics = newMetrics;
+		}
+		MetricView view = metrics[size];
+		if (view == null) {
+			metrics[size] = view = new MetricView();
+		}
+		size++;
+		return view;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder(64 + size * 64);
+		s.append("MetricAggregateView [classify=").append(classify).append(", host=").append(host).append(", endpoint=")
+				.append(endpoint).append(", namespace=").append(namespace).append(", timestamp=").append(timestamp)
+				.append(", metrics=[");
+		for (int i = 0; i < size; i++) {
+			s.append(i > 0 ? ", " : "").append(metrics[i]);
+		}
+		return s.append("]]").toString();
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flyweight view of {@link com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric},
+ * which is reused by {@link MetricAggregateView}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class MetricView {
+
+	/** Metric name. */
+	private String metric;
+
+	/** Metric tag keys. */
+	private String[] tagKeys = new String[4];
+
+	/** Metric tag values. */
+	private String[] tagValues = new String[4];
+
+	/** Metric tags size. */
+	private int tagSize;
+
+	/** Metric value. */
+	private double value;
+
+	/** Series id of tag dictionary, 0 if not dictionary encoded. */
+	private int series;
+
+	public String getMetric() {
+		return metric;
+	}
+
+	public double getValue() {
+		return value;
+	}
+
+	public int getSeries() {
+		return series;
+	}
+
+	public int getTagSize() {
+		return tagSize;
+	}
+
+	public String getTagKey(int index) {
+		return tagKeys[index];
+	}
+
+	public String getTagValue(int index) {
+		return tagValues[index];
+	}
+
+	/**
+	 * Gets tag value by key.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public String getTag(String key) {
+		for (int i = 0; i < tagSize; i++) {
+			if (tagKeys[i].equals(key)) {
+				return tagValues[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * New tags map, note: a new map will be allocated for each call.
+	 *
+	 * @return
+	 */
+	public Map<String, String> toTagsMap() {
+		Map<String, String> tags = new HashMap<>(Math.max(tagSize * 2, 4));
+		for (int i = 0; i < tagSize; i++) {
+			tags.put(tagKeys[i], tagValues[i]);
+		}
+		return tags;
+	}
+
+	void setMetric(String metric) {
+		this.metric = metric;
+	}
+
+	void setValue(double value) {
+		this.value = value;
+	}
+
+	void setSeries(int series) {
+		this.series = series;
+	}
+
+	/**
+	 * Resolve the metric name and tags from the dictionary series, the
+	 * canonical strings are referenced without copying.
+	 *
+	 * @param resolved
+	 */
+	void resolve(TagDictionary.Series resolved) {
+		this.metric = resolved.getMetric();
+		for (int i = 0, n = resolved.getTagSize(); i < n; i++) {
+			addTag(resolved.getTagKey(i), resolved.getTagValue(i));
+		}
+	}
+
+	/**
+	 * Whether the series is not resolved by the dictionary.
+	 *
+	 * @return
+	 */
+	boolean isUnresolved() {
+		return series != 0 && (metric == null || metric.isEmpty());
+	}
+
+	void addTag(String key, String value) {
+		// Map semantics, the latter overrides.
+		for (int i = 0; i < tagSize; i++) {
+			if (tagKeys[i].equals(key)) {
+				tagValues[i] = value;
+				return;
+			}
+		}
+		if (tagSize == tagKeys.length) {
+			String[] newKeys = new String[tagSize << 1];
+			String[] newValues = new String[tagSize << 1];
+			System.arraycopy(tagKeys, 0, newKeys, 0, tagSize);
+			System.arraycopy(tagValues, 0, newValues, 0, tagSize);
+			tagKeys = newKeys;
+			tagValues = newValues;
+		}
+		tagKeys[tagSize] = key;
+		tagValues[tagSize] = value;
+		tagSize++;
+	}
+
+	void clear() {
+		metric = "";
+		value = 0d;
+		series = 0;
+		for (int i = 0; i < tagSize; i++) {
+			tagKeys[i] = null;
+			tagValues[i] = null;
+		}
+		tagSize = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "MetricView [metric=" + metric + ", tags=" + toTagsMap() + ", value=" + value + "]";
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bounded symbol table, which maps the UTF-8 encoded bytes to the cached
+ * (interned) string, so the repeated metric names, tag keys and values can be
+ * resolved directly from the source buffer without decoding and allocating.
+ * </br>
+ * It's a direct-mapped cache, the colliding symbol replaces the old one. The
+ * entries are immutable, so the benign races are safe between threads.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class SymbolTable {
+
+	/** Maximum length of cacheable symbol. */
+	final public static int MAX_SYMBOL_LENGTH = 128;
+
+	/** Symbol entries. */
+	final private Entry[] entries;
+
+	/** Index mask of entries. */
+	final private int mask;
+
+	public SymbolTable(int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Symbol table capacity must be a power of 2");
+		}
+		this.entries = new Entry[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Resolve the UTF-8 encoded symbol string.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param length
+	 * @return
+	 */
+	public String lookup(byte[] buf, int offset, int length) {
+		if (length == 0) {
+			return "";
+		}
+		if (length > MAX_SYMBOL_LENGTH) {
+			return new String(buf, offset, length, UTF_8);
+		}
+
+		int hash = hash(buf, offset, length);
+		int index = hash & mask;
+		Entry entry = entries[index];
+		if (entry != null && entry.hash == hash && entry.equals(buf, offset, length)) {
+			return entry.symbol;
+		}
+
+		byte[] bytes = new byte[length];
+		System.arraycopy(buf, offset, bytes, 0, length);
+		entry = new Entry(hash, bytes, new String(bytes, UTF_8));
+		entries[index] = entry;
+		return entry.symbol;
+	}
+
+	private static int hash(byte[] buf, int offset, int length) {
+		int h = 0x9747b28c;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			h = 31 * h + buf[i];
+		}
+		// Spread the higher bits.
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Immutable symbol entry.
+	 */
+	private static class Entry {
+		final private int hash;
+		final private byte[] bytes;
+		final private String symbol;
+
+		Entry(int hash, byte[] bytes, String symbol) {
+			this.hash = hash;
+			this.bytes = bytes;
+			this.symbol = symbol;
+		}
+
+		boolean equals(byte[] buf, int offset, int length) {
+			if (bytes.length != length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (bytes[i] != buf[offset + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
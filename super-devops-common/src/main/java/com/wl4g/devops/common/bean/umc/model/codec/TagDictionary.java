@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent interning table of the sender tag dictionaries, which resolves
+ * the series ids of dictionary encoded metrics(see
+ * {@link TagDictionaryEncoder}) to the canonical metric names and tags, so the
+ * same tag strings are shared by all views, wrappers and points instead of
+ * being duplicated per sample. </br>
+ * The dictionaries are identified by the random id of sender, and expired
+ * after idle. The lookups are lock-free, only the definitions are
+ * synchronized on the sender dictionary.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月14日
+ * @since
+ */
+public class TagDictionary {
+
+	/** Default maximum sender dictionaries. */
+	final public static int DEFAULT_MAX_SENDERS = 65536;
+
+	/** Default maximum ids(tag pairs or series) of sender dictionary. */
+	final public static int DEFAULT_MAX_IDS = 1 << 20;
+
+	/** Default maximum interned symbols. */
+	final public static int DEFAULT_MAX_SYMBOLS = 1 << 20;
+
+	/** Default expiration(ms) of idle sender dictionary. */
+	final public static long DEFAULT_EXPIRE_MS = 30 * 60_000L;
+
+	/** Interval(ms) of sweeping the expired sender dictionaries. */
+	final private static long SWEEP_INTERVAL_MS = 60_000L;
+
+	final private int maxSenders;
+	final private int maxIds;
+	final private int maxSymbols;
+	final private long expireMs;
+
+	/** Sender dictionaries. */
+	final private ConcurrentMap<Long, SenderDictionary> senders = new ConcurrentHashMap<>();
+
+	/** Interned tag keys, values and metric names of all senders. */
+	final private ConcurrentMap<String, String> symbols = new ConcurrentHashMap<>();
+
+	/** Unresolved series counter. */
+	final private LongAdder unresolved = new LongAdder();
+
+	private volatile long lastSweepTime = System.currentTimeMillis();
+
+	public TagDictionary() {
+		this(DEFAULT_MAX_SENDERS, DEFAULT_MAX_IDS, DEFAULT_MAX_SYMBOLS, DEFAULT_EXPIRE_MS);
+	}
+
+	public TagDictionary(int maxSenders, int maxIds, int maxSymbols, long expireMs) {
+		if (maxSenders <= 0 || maxIds <= 0 || maxSymbols < 0 || expireMs <= 0) {
+			throw new IllegalArgumentException("Illegal tag dictionary limits");
+		}
+		this.maxSenders = maxSenders;
+		this.maxIds = maxIds;
+		this.maxSymbols = maxSymbols;
+		this.expireMs = expireMs;
+	}
+
+	/**
+	 * Gets or create the dictionary of sender.
+	 *
+	 * @param dictionary
+	 *            Dictionary id of sender.
+	 * @return
+	 */
+	public SenderDictionary getSender(long dictionary) {
+		long now = System.currentTimeMillis();
+		if (now - lastSweepTime > SWEEP_INTERVAL_MS) {
+			sweep(now);
+		}
+		SenderDictionary sender = senders.get(dictionary);
+		if (sender == null) {
+			if (senders.size() >= maxSenders) {
+				evictEldest();
+			}
+			sender = senders.computeIfAbsent(dictionary, id -> new SenderDictionary(id));
+		}
+		sender.lastAccessTime = now;
+		return sender;
+	}
+
+	/**
+	 * Take(and clear) the re-sync request of sender, which is requested when
+	 * the series of sender cannot be resolved(e.g. the receiver restarted),
+	 * the sender should re-send the definitions.
+	 *
+	 * @param dictionary
+	 * @return
+	 */
+	public boolean takeResync(long dictionary) {
+		SenderDictionary sender = senders.get(dictionary);
+		return sender != null && sender.resync.get() && sender.resync.getAndSet(false);
+	}
+
+	/**
+	 * Interning the symbol, if the maximum symbols is reached, the symbol
+	 * itself is returned.
+	 *
+	 * @param symbol
+	 * @return
+	 */
+	public String intern(String symbol) {
+		String interned = symbols.get(symbol);
+		if (interned != null) {
+			return interned;
+		}
+		if (symbols.size() >= maxSymbols) {
+			return symbol;
+		}
+		interned = symbols.putIfAbsent(symbol, symbol);
+		return interned != null ? interned : symbol;
+	}
+
+	public int getSenders() {
+		return senders.size();
+	}
+
+	public int getSymbols() {
+		return symbols.size();
+	}
+
+	public long getUnresolved() {
+		return unresolved.sum();
+	}
+
+	/**
+	 * Report the unresolved series of sender, and request to re-sync.
+	 *
+	 * @param sender
+	 * @param count
+	 */
+	void unresolved(SenderDictionary sender, int count) {
+		unresolved.add(count);
+		if (sender != null) {
+			sender.resync.set(true);
+		}
+	}
+
+	/**
+	 * Sweep the expired sender dictionaries.
+	 *
+	 * @param now
+	 */
+	private void sweep(long now) {
+		lastSweepTime = now;
+		senders.values().removeIf(s -> (now - s.lastAccessTime) > expireMs);
+	}
+
+	/**
+	 * Evict the least recently accessed sender dictionary.
+	 */
+	private void evictEldest() {
+		SenderDictionary eldest = null;
+		for (SenderDictionary s : senders.values()) {
+			if (eldest == null || s.lastAccessTime < eldest.lastAccessTime) {
+				eldest = s;
+			}
+		}
+		if (eldest != null) {
+			senders.remove(eldest.id, eldest);
+		}
+	}
+
+	/**
+	 * Tag dictionary of sender, the id tables are published by the volatile
+	 * writes after the elements are stored, and the entries are immutable, so
+	 * the lookups are lock-free.
+	 */
+	public class SenderDictionary {
+		final private long id;
+		final private AtomicBoolean resync = new AtomicBoolean(false);
+		private volatile long lastAccessTime;
+		private volatile TagPair[] pairs = new TagPair[64];
+		private volatile Series[] series = new Series[64];
+
+		private SenderDictionary(long id) {
+			this.id = id;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		/**
+		 * Gets the series of id.
+		 *
+		 * @param id
+		 * @return null if undefined.
+		 */
+		public Series getSeries(int id) {
+			Series[] table = series;
+			return (id > 0 && id < table.length) ? table[id] : null;
+		}
+
+		/**
+		 * Define the tag pair, the previous definition of id is replaced.
+		 *
+		 * @param id
+		 * @param key
+		 * @param value
+		 * @return Whether it's defined.
+		 */
+		synchronized boolean definePair(int id, String key, String value) {
+			if (id <= 0 || id > maxIds) {
+				return false;
+			}
+			TagPair[] table = pairs.length > id ? pairs : grow(pairs, new TagPair[grownLength(pairs.length, id)]);
+			table[id] = new TagPair(intern(key), intern(value));
+			pairs = table;
+			return true;
+		}
+
+		/**
+		 * Define the series by the defined tag pairs, the previous definition
+		 * of id is replaced.
+		 *
+		 * @param id
+		 * @param metric
+		 * @param pairIds
+		 * @param count
+		 * @return Whether it's defined, false if the tag pairs are undefined.
+		 */
+		synchronized boolean defineSeries(int id, String metric, int[] pairIds, int count) {
+			if (id <= 0 || id > maxIds) {
+				return false;
+			}
+			String[] keys = new String[count];
+			String[] values = new String[count];
+			TagPair[] pairTable = pairs;
+			for (int i = 0; i < count; i++) {
+				int pairId = pairIds[i];
+				TagPair pair = (pairId > 0 && pairId < pairTable.length) ? pairTable[pairId] : null;
+				if (pair == null) {
+					return false;
+				}
+				keys[i] = pair.key;
+				values[i] = pair.value;
+			}
+			Series[] table = series.length > id ? series : grow(series, new Series[grownLength(series.length, id)]);
+			table[id] = new Series(intern(metric), keys, values);
+			series = table;
+			return true;
+		}
+
+		private <T> T[] grow(T[] table, T[] newTable) {
+			System.arraycopy(table, 0, newTable, 0, table.length);
+			return newTable;
+		}
+
+		private int grownLength(int length, int id) {
+			int newLength = length;
+			while (newLength <= id) {
+				newLength <<= 1;
+			}
+			return newLength;
+		}
+	}
+
+	/**
+	 * Immutable tag pair.
+	 */
+	private static class TagPair {
+		final private String key;
+		final private String value;
+
+		private TagPair(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Immutable series of the canonical metric name and tags.
+	 */
+	public static class Series {
+		final private String metric;
+		final private String[] tagKeys;
+		final private String[] tagValues;
+
+		private Series(String metric, String[] tagKeys, String[] tagValues) {
+			this.metric = metric;
+			this.tagKeys = tagKeys;
+			this.tagValues = tagValues;
+		}
+
+		public String getMetric() {
+			return metric;
+		}
+
+		public int getTagSize() {
+			return tagKeys.length;
+		}
+
+		public String getTagKey(int index) {
+			return tagKeys[index];
+		}
+
+		public String getTagValue(int index) {
+			return tagValues[index];
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder s = new StringBuilder(32 + tagKeys.length * 16).append(metric).append('{');
+			for (int i = 0; i < tagKeys.length; i++) {
+				s.append(i > 0 ? "," : "").append(tagKeys[i]).append('=').append(tagValues[i]);
+			}
+			return s.append('}').toString();
+		}
+	}
+
+}
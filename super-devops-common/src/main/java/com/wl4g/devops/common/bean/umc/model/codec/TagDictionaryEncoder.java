@@ -0,0 +1,433 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import static com.google.protobuf.CodedOutputStream.computeDoubleSize;
+import static com.google.protobuf.CodedOutputStream.computeInt64Size;
+import static com.google.protobuf.CodedOutputStream.computeStringSize;
+import static com.google.protobuf.CodedOutputStream.computeTagSize;
+import static com.google.protobuf.CodedOutputStream.computeUInt32Size;
+import static com.google.protobuf.CodedOutputStream.computeUInt32SizeNoTag;
+import static com.google.protobuf.WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.protobuf.CodedOutputStream;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+/**
+ * Tag dictionary encoder of sender, which assigns the integer ids to the tag
+ * pairs and series, so only the series ids and values of metrics are sent on
+ * the wire, the definitions are only sent when they are not announced in the
+ * current epoch. The receivers resolve them via {@link TagDictionary}.
+ * </br>
+ * Negotiation: for the receivers with reply(e.g. HTTP), the encoder should be
+ * created with until acknowledged, so the definitions are embedded in every
+ * message until {@link #acknowledge()} is called after a message is accepted.
+ * Otherwise the definitions are assumed to be received once sent. When the
+ * message failed to deliver or the receiver requests re-sync(e.g. it's
+ * restarted), the sender should call {@link #resync()}, then the definitions
+ * are re-sent lazily in the new epoch. For the receivers without reply(e.g.
+ * KAFKA), the epoch is also advanced periodically. When the maximum ids is
+ * reached, the new series are encoded plainly.
+ *
+ * <pre>
+ * MetricAggregate.dictionary(7)  Dictionary id of sender(random)
+ * MetricAggregate.tagPairs(8)    TagPairDefinition{id, key, value}
+ * MetricAggregate.series(9)      SeriesDefinition{id, Metric, tagPairs[]}
+ * Metric.series(4)               Series id, the Metric and tags are omitted
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月14日
+ * @since
+ */
+public class TagDictionaryEncoder {
+
+	/** Default maximum ids(tag pairs or series). */
+	final public static int DEFAULT_MAX_IDS = 65536;
+
+	/** Default interval(ms) of advancing the epoch. */
+	final public static long DEFAULT_RESYNC_INTERVAL_MS = 5 * 60_000L;
+
+	/** MetricAggregate fields. */
+	final private static int AGGREGATE_CLASSIFY = 1;
+	final private static int AGGREGATE_HOST = 2;
+	final private static int AGGREGATE_ENDPOINT = 3;
+	final private static int AGGREGATE_NAMESPACE = 4;
+	final private static int AGGREGATE_TIMESTAMP = 5;
+	final private static int AGGREGATE_METRICS = 6;
+	final private static int AGGREGATE_DICTIONARY = 7;
+	final private static int AGGREGATE_TAG_PAIRS = 8;
+	final private static int AGGREGATE_SERIES = 9;
+
+	/** Metric fields. */
+	final private static int METRIC_VALUE = 3;
+	final private static int METRIC_SERIES = 4;
+
+	/** Dictionary definition fields. */
+	final private static int DEFINITION_ID = 1;
+	final private static int DEFINITION_KEY = 2;
+	final private static int DEFINITION_VALUE = 3;
+	final private static int DEFINITION_METRIC = 2;
+	final private static int DEFINITION_TAG_PAIRS = 3;
+
+	/** Dictionary id of sender. */
+	final private long dictionary;
+
+	final private int maxIds;
+	final private long resyncIntervalMs;
+
+	/** Whether the definitions are embedded until acknowledged. */
+	final private boolean untilAcked;
+
+	/** Assigned tag pairs, guarded by this. */
+	final private Map<TagPairKey, TagPairEntry> pairs = new HashMap<>();
+
+	/** Assigned series, guarded by this. */
+	final private Map<SeriesKey, SeriesEntry> series = new HashMap<>();
+
+	/** Announcing epoch, guarded by this. */
+	private int epoch = 1;
+	private long epochTime = System.currentTimeMillis();
+
+	/** Encoded and acknowledged message sequences, guarded by this. */
+	private long sequence;
+	private long ackedSequence;
+
+	public TagDictionaryEncoder() {
+		this(false);
+	}
+
+	public TagDictionaryEncoder(boolean untilAcked) {
+		this(newDictionaryId(), DEFAULT_MAX_IDS, DEFAULT_RESYNC_INTERVAL_MS, untilAcked);
+	}
+
+	public TagDictionaryEncoder(long dictionary, int maxIds, long resyncIntervalMs) {
+		this(dictionary, maxIds, resyncIntervalMs, false);
+	}
+
+	public TagDictionaryEncoder(long dictionary, int maxIds, long resyncIntervalMs, boolean untilAcked) {
+		if (dictionary == 0L || maxIds <= 0 || resyncIntervalMs <= 0) {
+			throw new IllegalArgumentException("Illegal tag dictionary encoder arguments");
+		}
+		this.dictionary = dictionary;
+		this.maxIds = maxIds;
+		this.resyncIntervalMs = resyncIntervalMs;
+		this.untilAcked = untilAcked;
+	}
+
+	public long getDictionary() {
+		return dictionary;
+	}
+
+	public synchronized int getSeries() {
+		return series.size();
+	}
+
+	/**
+	 * Advance the epoch, the definitions will be re-sent when they are used
+	 * again.
+	 */
+	public synchronized void resync() {
+		++epoch;
+		epochTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Acknowledge the definitions of encoded messages, which are accepted by
+	 * the receiver, then they are no longer embedded until re-sync. If the
+	 * messages are sent concurrently, the failed ones should be re-sync.
+	 */
+	public synchronized void acknowledge() {
+		ackedSequence = sequence;
+	}
+
+	/**
+	 * Encode the metric aggregate with tag dictionary.
+	 *
+	 * @param aggregate
+	 * @return
+	 */
+	public synchronized byte[] encode(MetricAggregate aggregate) {
+		if (System.currentTimeMillis() - epochTime > resyncIntervalMs) {
+			resync();
+		}
+
+		// Assign the series and collect the definitions to announce.
+		long seq = ++sequence;
+		int metricSize = aggregate.getMetricsCount();
+		SeriesEntry[] entries = new SeriesEntry[metricSize];
+		List<TagPairEntry> pairDefs = new ArrayList<>(4);
+		List<SeriesEntry> seriesDefs = new ArrayList<>(4);
+		for (int i = 0; i < metricSize; i++) {
+			SeriesEntry entry = assignSeries(aggregate.getMetrics(i));
+			if (entry != null && isAnnouncing(entry.epoch, entry.sequence, seq)) {
+				for (TagPairEntry pair : entry.pairs) {
+					if (isAnnouncing(pair.epoch, pair.sequence, seq)) {
+						pair.epoch = epoch;
+						pair.sequence = seq;
+						pairDefs.add(pair);
+					}
+				}
+				entry.epoch = epoch;
+				entry.sequence = seq;
+				seriesDefs.add(entry);
+			}
+			entries[i] = entry;
+		}
+
+		try {
+			int size = computeSize(aggregate, entries, pairDefs, seriesDefs);
+			byte[] buf = new byte[size];
+			CodedOutputStream output = CodedOutputStream.newInstance(buf);
+			writeHeader(output, aggregate);
+			output.writeInt64(AGGREGATE_DICTIONARY, dictionary);
+			for (TagPairEntry pair : pairDefs) {
+				output.writeTag(AGGREGATE_TAG_PAIRS, WIRETYPE_LENGTH_DELIMITED);
+				output.writeUInt32NoTag(pair.size);
+				output.writeUInt32(DEFINITION_ID, pair.id);
+				output.writeString(DEFINITION_KEY, pair.key.key);
+				output.writeString(DEFINITION_VALUE, pair.key.value);
+			}
+			for (SeriesEntry entry : seriesDefs) {
+				output.writeTag(AGGREGATE_SERIES, WIRETYPE_LENGTH_DELIMITED);
+				output.writeUInt32NoTag(entry.size);
+				output.writeUInt32(DEFINITION_ID, entry.id);
+				output.writeString(DEFINITION_METRIC, entry.key.metric);
+				if (entry.pairs.length > 0) {
+					output.writeTag(DEFINITION_TAG_PAIRS, WIRETYPE_LENGTH_DELIMITED);
+					output.writeUInt32NoTag(entry.pairsSize);
+					for (TagPairEntry pair : entry.pairs) {
+						output.writeUInt32NoTag(pair.id);
+					}
+				}
+			}
+			for (int i = 0; i < metricSize; i++) {
+				Metric metric = aggregate.getMetrics(i);
+				if (entries[i] == null) { // Plainly
+					output.writeMessage(AGGREGATE_METRICS, metric);
+				} else {
+					output.writeTag(AGGREGATE_METRICS, WIRETYPE_LENGTH_DELIMITED);
+					output.writeUInt32NoTag(computeSeriesMetricSize(entries[i], metric));
+					output.writeDouble(METRIC_VALUE, metric.getValue());
+					output.writeUInt32(METRIC_SERIES, entries[i].id);
+				}
+			}
+			output.checkNoSpaceLeft();
+			return buf;
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to encode metric aggregate.", e);
+		}
+	}
+
+	/**
+	 * Whether the definition should be announced in the message of sequence,
+	 * that is, it's not announced in the current epoch or not acknowledged,
+	 * and it's not yet announced in this message.
+	 *
+	 * @param announcedEpoch
+	 * @param announcedSequence
+	 * @param seq
+	 * @return
+	 */
+	private boolean isAnnouncing(int announcedEpoch, long announcedSequence, long seq) {
+		return announcedSequence != seq && (announcedEpoch != epoch || (untilAcked && announcedSequence > ackedSequence));
+	}
+
+	/**
+	 * Assign the series of metric.
+	 *
+	 * @param metric
+	 * @return null if the maximum ids is reached.
+	 */
+	private SeriesEntry assignSeries(Metric metric) {
+		SeriesKey key = new SeriesKey(metric.getMetric(), metric.getTagsMap());
+		SeriesEntry entry = series.get(key);
+		if (entry == null) {
+			if (series.size() >= maxIds || pairs.size() + metric.getTagsCount() > maxIds) {
+				return null;
+			}
+			TagPairEntry[] seriesPairs = new TagPairEntry[metric.getTagsCount()];
+			int i = 0, pairsSize = 0;
+			for (Map.Entry<String, String> tag : metric.getTagsMap().entrySet()) {
+				TagPairKey pairKey = new TagPairKey(tag.getKey(), tag.getValue());
+				TagPairEntry pair = pairs.get(pairKey);
+				if (pair == null) {
+					pairs.put(pairKey, pair = new TagPairEntry(pairs.size() + 1, pairKey));
+				}
+				seriesPairs[i++] = pair;
+				pairsSize += computeUInt32SizeNoTag(pair.id);
+			}
+			entry = new SeriesEntry(series.size() + 1, key, seriesPairs, pairsSize);
+			series.put(key, entry);
+		}
+		return entry;
+	}
+
+	private int computeSize(MetricAggregate aggregate, SeriesEntry[] entries, List<TagPairEntry> pairDefs,
+			List<SeriesEntry> seriesDefs) {
+		int size = computeStringSize(AGGREGATE_CLASSIFY, aggregate.getClassify())
+				+ computeStringSize(AGGREGATE_HOST, aggregate.getHost())
+				+ computeStringSize(AGGREGATE_ENDPOINT, aggregate.getEndpoint())
+				+ computeStringSize(AGGREGATE_NAMESPACE, aggregate.getNamespace())
+				+ computeInt64Size(AGGREGATE_TIMESTAMP, aggregate.getTimestamp())
+				+ computeInt64Size(AGGREGATE_DICTIONARY, dictionary);
+		for (TagPairEntry pair : pairDefs) {
+			size += computeTagSize(AGGREGATE_TAG_PAIRS) + computeUInt32SizeNoTag(pair.size) + pair.size;
+		}
+		for (SeriesEntry entry : seriesDefs) {
+			size += computeTagSize(AGGREGATE_SERIES) + computeUInt32SizeNoTag(entry.size) + entry.size;
+		}
+		for (int i = 0; i < entries.length; i++) {
+			Metric metric = aggregate.getMetrics(i);
+			int metricSize = (entries[i] == null) ? metric.getSerializedSize() : computeSeriesMetricSize(entries[i], metric);
+			size += computeTagSize(AGGREGATE_METRICS) + computeUInt32SizeNoTag(metricSize) + metricSize;
+		}
+		return size;
+	}
+
+	private static int computeSeriesMetricSize(SeriesEntry entry, Metric metric) {
+		return computeDoubleSize(METRIC_VALUE, metric.getValue()) + computeUInt32Size(METRIC_SERIES, entry.id);
+	}
+
+	private static void writeHeader(CodedOutputStream output, MetricAggregate aggregate) throws IOException {
+		output.writeString(AGGREGATE_CLASSIFY, aggregate.getClassify());
+		output.writeString(AGGREGATE_HOST, aggregate.getHost());
+		output.writeString(AGGREGATE_ENDPOINT, aggregate.getEndpoint());
+		output.writeString(AGGREGATE_NAMESPACE, aggregate.getNamespace());
+		output.writeInt64(AGGREGATE_TIMESTAMP, aggregate.getTimestamp());
+	}
+
+	private static long newDictionaryId() {
+		SecureRandom random = new SecureRandom();
+		long id;
+		while ((id = random.nextLong()) == 0L) {
+		}
+		return id;
+	}
+
+	/**
+	 * Tag pair key.
+	 */
+	private static class TagPairKey {
+		final private String key;
+		final private String value;
+
+		private TagPairKey(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * key.hashCode() + value.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof TagPairKey)) {
+				return false;
+			}
+			TagPairKey that = (TagPairKey) obj;
+			return key.equals(that.key) && value.equals(that.value);
+		}
+	}
+
+	/**
+	 * Assigned tag pair.
+	 */
+	private static class TagPairEntry {
+		final private int id;
+		final private TagPairKey key;
+		/** Serialized size of definition. */
+		final private int size;
+		/** Announced epoch and message sequence. */
+		private int epoch;
+		private long sequence;
+
+		private TagPairEntry(int id, TagPairKey key) {
+			this.id = id;
+			this.key = key;
+			this.size = computeUInt32Size(DEFINITION_ID, id) + computeStringSize(DEFINITION_KEY, key.key)
+					+ computeStringSize(DEFINITION_VALUE, key.value);
+		}
+	}
+
+	/**
+	 * Series key of the metric name and tags(immutable map of generated
+	 * message).
+	 */
+	private static class SeriesKey {
+		final private String metric;
+		final private Map<String, String> tags;
+		final private int hash;
+
+		private SeriesKey(String metric, Map<String, String> tags) {
+			this.metric = metric;
+			this.tags = tags;
+			this.hash = Objects.hash(metric, tags);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SeriesKey)) {
+				return false;
+			}
+			SeriesKey that = (SeriesKey) obj;
+			return hash == that.hash && metric.equals(that.metric) && tags.equals(that.tags);
+		}
+	}
+
+	/**
+	 * Assigned series.
+	 */
+	private static class SeriesEntry {
+		final private int id;
+		final private SeriesKey key;
+		final private TagPairEntry[] pairs;
+		/** Serialized size of packed tag pair ids. */
+		final private int pairsSize;
+		/** Serialized size of definition. */
+		final private int size;
+		/** Announced epoch and message sequence. */
+		private int epoch;
+		private long sequence;
+
+		private SeriesEntry(int id, SeriesKey key, TagPairEntry[] pairs, int pairsSize) {
+			this.id = id;
+			this.key = key;
+			this.pairs = pairs;
+			this.pairsSize = pairsSize;
+			this.size = computeUInt32Size(DEFINITION_ID, id) + computeStringSize(DEFINITION_METRIC, key.metric)
+					+ (pairs.length > 0 ? computeTagSize(DEFINITION_TAG_PAIRS) + computeUInt32SizeNoTag(pairsSize) + pairsSize
+							: 0);
+		}
+	}
+
+}
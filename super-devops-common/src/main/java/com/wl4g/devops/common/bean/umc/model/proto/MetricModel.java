@@ -120,6 +120,105 @@ public final class MetricModel {
 		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.Metric metrics = 6;</code>
 		 */
 		com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricOrBuilder getMetricsOrBuilder(int index);
+
+		/**
+		 * <pre>
+		 * Tag dictionary encoding(optional), the definitions are only sent when not announced yet.
+		 * </pre>
+		 *
+		 * <code>int64 dictionary = 7;</code>
+		 */
+		long getDictionary();
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> getTagPairsList();
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getTagPairs(int index);
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		int getTagPairsCount();
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder> getTagPairsOrBuilderList();
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder getTagPairsOrBuilder(int index);
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> getSeriesList();
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getSeries(int index);
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		int getSeriesCount();
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder> getSeriesOrBuilderList();
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder getSeriesOrBuilder(int index);
 	}
 
 	/**
@@ -142,6 +241,8 @@ public final class MetricModel {
 			endpoint_ = "";
 			namespace_ = "";
 			metrics_ = java.util.Collections.emptyList();
+			tagPairs_ = java.util.Collections.emptyList();
+			series_ = java.util.Collections.emptyList();
 		}
 
 		@java.lang.Override
@@ -209,6 +310,31 @@ public final class MetricModel {
 								extensionRegistry));
 						break;
 					}
+					case 56: {
+
+						dictionary_ = input.readInt64();
+						break;
+					}
+					case 66: {
+						if (!((mutable_bitField0_ & 0x00000002) != 0)) {
+							tagPairs_ = new java.util.ArrayList<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition>();
+							mutable_bitField0_ |= 0x00000002;
+						}
+						tagPairs_.add(input.readMessage(
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.parser(),
+								extensionRegistry));
+						break;
+					}
+					case 74: {
+						if (!((mutable_bitField0_ & 0x00000004) != 0)) {
+							series_ = new java.util.ArrayList<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition>();
+							mutable_bitField0_ |= 0x00000004;
+						}
+						series_.add(input.readMessage(
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.parser(),
+								extensionRegistry));
+						break;
+					}
 					default: {
 						if (!parseUnknownField(input, unknownFields, extensionRegistry, tag)) {
 							done = true;
@@ -225,6 +351,12 @@ public final class MetricModel {
 				if (((mutable_bitField0_ & 0x00000001) != 0)) {
 					metrics_ = java.util.Collections.unmodifiableList(metrics_);
 				}
+				if (((mutable_bitField0_ & 0x00000002) != 0)) {
+					tagPairs_ = java.util.Collections.unmodifiableList(tagPairs_);
+				}
+				if (((mutable_bitField0_ & 0x00000004) != 0)) {
+					series_ = java.util.Collections.unmodifiableList(series_);
+				}
 				this.unknownFields = unknownFields.build();
 				makeExtensionsImmutable();
 			}
@@ -438,6 +570,137 @@ public final class MetricModel {
 			return metrics_.get(index);
 		}
 
+		public static final int DICTIONARY_FIELD_NUMBER = 7;
+		private long dictionary_;
+
+		/**
+		 * <pre>
+		 * Tag dictionary encoding(optional), the definitions are only sent when not announced yet.
+		 * </pre>
+		 *
+		 * <code>int64 dictionary = 7;</code>
+		 */
+		public long getDictionary() {
+			return dictionary_;
+		}
+
+		public static final int TAGPAIRS_FIELD_NUMBER = 8;
+		private java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> tagPairs_;
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> getTagPairsList() {
+			return tagPairs_;
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		public java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder> getTagPairsOrBuilderList() {
+			return tagPairs_;
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		public int getTagPairsCount() {
+			return tagPairs_.size();
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getTagPairs(int index) {
+			return tagPairs_.get(index);
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;TagPairDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+		 */
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder getTagPairsOrBuilder(
+				int index) {
+			return tagPairs_.get(index);
+		}
+
+		public static final int SERIES_FIELD_NUMBER = 9;
+		private java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> series_;
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> getSeriesList() {
+			return series_;
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		public java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder> getSeriesOrBuilderList() {
+			return series_;
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		public int getSeriesCount() {
+			return series_.size();
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getSeries(int index) {
+			return series_.get(index);
+		}
+
+		/**
+		 * <pre>
+		 * Array&lt;SeriesDefinition&gt;
+		 * </pre>
+		 *
+		 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+		 */
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder getSeriesOrBuilder(int index) {
+			return series_.get(index);
+		}
+
 		private byte memoizedIsInitialized = -1;
 
 		@java.lang.Override
@@ -472,6 +735,15 @@ public final class MetricModel {
 			for (int i = 0; i < metrics_.size(); i++) {
 				output.writeMessage(6, metrics_.get(i));
 			}
+			if (dictionary_ != 0L) {
+				output.writeInt64(7, dictionary_);
+			}
+			for (int i = 0; i < tagPairs_.size(); i++) {
+				output.writeMessage(8, tagPairs_.get(i));
+			}
+			for (int i = 0; i < series_.size(); i++) {
+				output.writeMessage(9, series_.get(i));
+			}
 			unknownFields.writeTo(output);
 		}
 
@@ -500,6 +772,15 @@ public final class MetricModel {
 			for (int i = 0; i < metrics_.size(); i++) {
 				size += com.google.protobuf.CodedOutputStream.computeMessageSize(6, metrics_.get(i));
 			}
+			if (dictionary_ != 0L) {
+				size += com.google.protobuf.CodedOutputStream.computeInt64Size(7, dictionary_);
+			}
+			for (int i = 0; i < tagPairs_.size(); i++) {
+				size += com.google.protobuf.CodedOutputStream.computeMessageSize(8, tagPairs_.get(i));
+			}
+			for (int i = 0; i < series_.size(); i++) {
+				size += com.google.protobuf.CodedOutputStream.computeMessageSize(9, series_.get(i));
+			}
 			size += unknownFields.getSerializedSize();
 			memoizedSize = size;
 			return size;
@@ -527,6 +808,12 @@ public final class MetricModel {
 				return false;
 			if (!getMetricsList().equals(other.getMetricsList()))
 				return false;
+			if (getDictionary() != other.getDictionary())
+				return false;
+			if (!getTagPairsList().equals(other.getTagPairsList()))
+				return false;
+			if (!getSeriesList().equals(other.getSeriesList()))
+				return false;
 			if (!unknownFields.equals(other.unknownFields))
 				return false;
 			return true;
@@ -553,6 +840,16 @@ public final class MetricModel {
 				hash = (37 * hash) + METRICS_FIELD_NUMBER;
 				hash = (53 * hash) + getMetricsList().hashCode();
 			}
+			hash = (37 * hash) + DICTIONARY_FIELD_NUMBER;
+			hash = (53 * hash) + com.google.protobuf.Internal.hashLong(getDictionary());
+			if (getTagPairsCount() > 0) {
+				hash = (37 * hash) + TAGPAIRS_FIELD_NUMBER;
+				hash = (53 * hash) + getTagPairsList().hashCode();
+			}
+			if (getSeriesCount() > 0) {
+				hash = (37 * hash) + SERIES_FIELD_NUMBER;
+				hash = (53 * hash) + getSeriesList().hashCode();
+			}
 			hash = (29 * hash) + unknownFields.hashCode();
 			memoizedHashCode = hash;
 			return hash;
@@ -680,6 +977,8 @@ public final class MetricModel {
 			private void maybeForceBuilderInitialization() {
 				if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {
 					getMetricsFieldBuilder();
+					getTagPairsFieldBuilder();
+					getSeriesFieldBuilder();
 				}
 			}
 
@@ -702,6 +1001,20 @@ public final class MetricModel {
 				} else {
 					metricsBuilder_.clear();
 				}
+				dictionary_ = 0L;
+
+				if (tagPairsBuilder_ == null) {
+					tagPairs_ = java.util.Collections.emptyList();
+					bitField0_ = (bitField0_ & ~0x00000002);
+				} else {
+					tagPairsBuilder_.clear();
+				}
+				if (seriesBuilder_ == null) {
+					series_ = java.util.Collections.emptyList();
+					bitField0_ = (bitField0_ & ~0x00000004);
+				} else {
+					seriesBuilder_.clear();
+				}
 				return this;
 			}
 
@@ -743,6 +1056,25 @@ public final class MetricModel {
 				} else {
 					result.metrics_ = metricsBuilder_.build();
 				}
+				result.dictionary_ = dictionary_;
+				if (tagPairsBuilder_ == null) {
+					if (((bitField0_ & 0x00000002) != 0)) {
+						tagPairs_ = java.util.Collections.unmodifiableList(tagPairs_);
+						bitField0_ = (bitField0_ & ~0x00000002);
+					}
+					result.tagPairs_ = tagPairs_;
+				} else {
+					result.tagPairs_ = tagPairsBuilder_.build();
+				}
+				if (seriesBuilder_ == null) {
+					if (((bitField0_ & 0x00000004) != 0)) {
+						series_ = java.util.Collections.unmodifiableList(series_);
+						bitField0_ = (bitField0_ & ~0x00000004);
+					}
+					result.series_ = series_;
+				} else {
+					result.series_ = seriesBuilder_.build();
+				}
 				onBuilt();
 				return result;
 			}
@@ -835,6 +1167,59 @@ public final class MetricModel {
 						}
 					}
 				}
+				if (other.getDictionary() != 0L) {
+					setDictionary(other.getDictionary());
+				}
+				if (tagPairsBuilder_ == null) {
+					if (!other.tagPairs_.isEmpty()) {
+						if (tagPairs_.isEmpty()) {
+							tagPairs_ = other.tagPairs_;
+							bitField0_ = (bitField0_ & ~0x00000002);
+						} else {
+							ensureTagPairsIsMutable();
+							tagPairs_.addAll(other.tagPairs_);
+						}
+						onChanged();
+					}
+				} else {
+					if (!other.tagPairs_.isEmpty()) {
+						if (tagPairsBuilder_.isEmpty()) {
+							tagPairsBuilder_.dispose();
+							tagPairsBuilder_ = null;
+							tagPairs_ = other.tagPairs_;
+							bitField0_ = (bitField0_ & ~0x00000002);
+							tagPairsBuilder_ = com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders
+									? getTagPairsFieldBuilder() : null;
+						} else {
+							tagPairsBuilder_.addAllMessages(other.tagPairs_);
+						}
+					}
+				}
+				if (seriesBuilder_ == null) {
+					if (!other.series_.isEmpty()) {
+						if (series_.isEmpty()) {
+							series_ = other.series_;
+							bitField0_ = (bitField0_ & ~0x00000004);
+						} else {
+							ensureSeriesIsMutable();
+							series_.addAll(other.series_);
+						}
+						onChanged();
+					}
+				} else {
+					if (!other.series_.isEmpty()) {
+						if (seriesBuilder_.isEmpty()) {
+							seriesBuilder_.dispose();
+							seriesBuilder_ = null;
+							series_ = other.series_;
+							bitField0_ = (bitField0_ & ~0x00000004);
+							seriesBuilder_ = com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders
+									? getSeriesFieldBuilder() : null;
+						} else {
+							seriesBuilder_.addAllMessages(other.series_);
+						}
+					}
+				}
 				this.mergeUnknownFields(other.unknownFields);
 				onChanged();
 				return this;
@@ -1482,127 +1867,2541 @@ public final class MetricModel {
 				return metricsBuilder_;
 			}
 
-			@java.lang.Override
-			public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
-				return super.setUnknownFields(unknownFields);
-			}
+			private long dictionary_;
 
-			@java.lang.Override
-			public final Builder mergeUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
-				return super.mergeUnknownFields(unknownFields);
+			/**
+			 * <pre>
+			 * Tag dictionary encoding(optional), the definitions are only sent when not announced yet.
+			 * </pre>
+			 *
+			 * <code>int64 dictionary = 7;</code>
+			 */
+			public long getDictionary() {
+				return dictionary_;
 			}
 
-			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.MetricAggregate)
-		}
+			/**
+			 * <pre>
+			 * Tag dictionary encoding(optional), the definitions are only sent when not announced yet.
+			 * </pre>
+			 *
+			 * <code>int64 dictionary = 7;</code>
+			 */
+			public Builder setDictionary(long value) {
 
-		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.MetricAggregate)
-		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate DEFAULT_INSTANCE;
-		static {
-			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate();
-		}
+				dictionary_ = value;
+				onChanged();
+				return this;
+			}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate getDefaultInstance() {
-			return DEFAULT_INSTANCE;
-		}
+			/**
+			 * <pre>
+			 * Tag dictionary encoding(optional), the definitions are only sent when not announced yet.
+			 * </pre>
+			 *
+			 * <code>int64 dictionary = 7;</code>
+			 */
+			public Builder clearDictionary() {
 
-		private static final com.google.protobuf.Parser<MetricAggregate> PARSER = new com.google.protobuf.AbstractParser<MetricAggregate>() {
-			@java.lang.Override
-			public MetricAggregate parsePartialFrom(com.google.protobuf.CodedInputStream input,
-					com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-					throws com.google.protobuf.InvalidProtocolBufferException {
-				return new MetricAggregate(input, extensionRegistry);
+				dictionary_ = 0L;
+				onChanged();
+				return this;
 			}
-		};
 
-		public static com.google.protobuf.Parser<MetricAggregate> parser() {
-			return PARSER;
-		}
+			private java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> tagPairs_ = java.util.Collections
+					.emptyList();
 
-		@java.lang.Override
-		public com.google.protobuf.Parser<MetricAggregate> getParserForType() {
-			return PARSER;
-		}
+			private void ensureTagPairsIsMutable() {
+				if (!((bitField0_ & 0x00000002) != 0)) {
+					tagPairs_ = new java.util.ArrayList<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition>(
+							tagPairs_);
+					bitField0_ |= 0x00000002;
+				}
+			}
 
-		@java.lang.Override
-		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate getDefaultInstanceForType() {
+			private com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder> tagPairsBuilder_;
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> getTagPairsList() {
+				if (tagPairsBuilder_ == null) {
+					return java.util.Collections.unmodifiableList(tagPairs_);
+				} else {
+					return tagPairsBuilder_.getMessageList();
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public int getTagPairsCount() {
+				if (tagPairsBuilder_ == null) {
+					return tagPairs_.size();
+				} else {
+					return tagPairsBuilder_.getCount();
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getTagPairs(int index) {
+				if (tagPairsBuilder_ == null) {
+					return tagPairs_.get(index);
+				} else {
+					return tagPairsBuilder_.getMessage(index);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder setTagPairs(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition value) {
+				if (tagPairsBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureTagPairsIsMutable();
+					tagPairs_.set(index, value);
+					onChanged();
+				} else {
+					tagPairsBuilder_.setMessage(index, value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder setTagPairs(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder builderForValue) {
+				if (tagPairsBuilder_ == null) {
+					ensureTagPairsIsMutable();
+					tagPairs_.set(index, builderForValue.build());
+					onChanged();
+				} else {
+					tagPairsBuilder_.setMessage(index, builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder addTagPairs(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition value) {
+				if (tagPairsBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureTagPairsIsMutable();
+					tagPairs_.add(value);
+					onChanged();
+				} else {
+					tagPairsBuilder_.addMessage(value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder addTagPairs(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition value) {
+				if (tagPairsBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureTagPairsIsMutable();
+					tagPairs_.add(index, value);
+					onChanged();
+				} else {
+					tagPairsBuilder_.addMessage(index, value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder addTagPairs(
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder builderForValue) {
+				if (tagPairsBuilder_ == null) {
+					ensureTagPairsIsMutable();
+					tagPairs_.add(builderForValue.build());
+					onChanged();
+				} else {
+					tagPairsBuilder_.addMessage(builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder addTagPairs(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder builderForValue) {
+				if (tagPairsBuilder_ == null) {
+					ensureTagPairsIsMutable();
+					tagPairs_.add(index, builderForValue.build());
+					onChanged();
+				} else {
+					tagPairsBuilder_.addMessage(index, builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder addAllTagPairs(
+					java.lang.Iterable<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition> values) {
+				if (tagPairsBuilder_ == null) {
+					ensureTagPairsIsMutable();
+					com.google.protobuf.AbstractMessageLite.Builder.addAll(values, tagPairs_);
+					onChanged();
+				} else {
+					tagPairsBuilder_.addAllMessages(values);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder clearTagPairs() {
+				if (tagPairsBuilder_ == null) {
+					tagPairs_ = java.util.Collections.emptyList();
+					bitField0_ = (bitField0_ & ~0x00000002);
+					onChanged();
+				} else {
+					tagPairsBuilder_.clear();
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public Builder removeTagPairs(int index) {
+				if (tagPairsBuilder_ == null) {
+					ensureTagPairsIsMutable();
+					tagPairs_.remove(index);
+					onChanged();
+				} else {
+					tagPairsBuilder_.remove(index);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder getTagPairsBuilder(
+					int index) {
+				return getTagPairsFieldBuilder().getBuilder(index);
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder getTagPairsOrBuilder(
+					int index) {
+				if (tagPairsBuilder_ == null) {
+					return tagPairs_.get(index);
+				} else {
+					return tagPairsBuilder_.getMessageOrBuilder(index);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder> getTagPairsOrBuilderList() {
+				if (tagPairsBuilder_ != null) {
+					return tagPairsBuilder_.getMessageOrBuilderList();
+				} else {
+					return java.util.Collections.unmodifiableList(tagPairs_);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder addTagPairsBuilder() {
+				return getTagPairsFieldBuilder().addBuilder(
+						com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.getDefaultInstance());
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder addTagPairsBuilder(
+					int index) {
+				return getTagPairsFieldBuilder().addBuilder(index,
+						com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.getDefaultInstance());
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;TagPairDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition tagPairs = 8;</code>
+			 */
+			public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder> getTagPairsBuilderList() {
+				return getTagPairsFieldBuilder().getBuilderList();
+			}
+
+			private com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder> getTagPairsFieldBuilder() {
+				if (tagPairsBuilder_ == null) {
+					tagPairsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder>(
+							tagPairs_, ((bitField0_ & 0x00000002) != 0), getParentForChildren(), isClean());
+					tagPairs_ = null;
+				}
+				return tagPairsBuilder_;
+			}
+
+			private java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> series_ = java.util.Collections
+					.emptyList();
+
+			private void ensureSeriesIsMutable() {
+				if (!((bitField0_ & 0x00000004) != 0)) {
+					series_ = new java.util.ArrayList<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition>(
+							series_);
+					bitField0_ |= 0x00000004;
+				}
+			}
+
+			private com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder> seriesBuilder_;
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> getSeriesList() {
+				if (seriesBuilder_ == null) {
+					return java.util.Collections.unmodifiableList(series_);
+				} else {
+					return seriesBuilder_.getMessageList();
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public int getSeriesCount() {
+				if (seriesBuilder_ == null) {
+					return series_.size();
+				} else {
+					return seriesBuilder_.getCount();
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getSeries(int index) {
+				if (seriesBuilder_ == null) {
+					return series_.get(index);
+				} else {
+					return seriesBuilder_.getMessage(index);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder setSeries(int index, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition value) {
+				if (seriesBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureSeriesIsMutable();
+					series_.set(index, value);
+					onChanged();
+				} else {
+					seriesBuilder_.setMessage(index, value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder setSeries(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder builderForValue) {
+				if (seriesBuilder_ == null) {
+					ensureSeriesIsMutable();
+					series_.set(index, builderForValue.build());
+					onChanged();
+				} else {
+					seriesBuilder_.setMessage(index, builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder addSeries(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition value) {
+				if (seriesBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureSeriesIsMutable();
+					series_.add(value);
+					onChanged();
+				} else {
+					seriesBuilder_.addMessage(value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder addSeries(int index, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition value) {
+				if (seriesBuilder_ == null) {
+					if (value == null) {
+						throw new NullPointerException();
+					}
+					ensureSeriesIsMutable();
+					series_.add(index, value);
+					onChanged();
+				} else {
+					seriesBuilder_.addMessage(index, value);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder addSeries(
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder builderForValue) {
+				if (seriesBuilder_ == null) {
+					ensureSeriesIsMutable();
+					series_.add(builderForValue.build());
+					onChanged();
+				} else {
+					seriesBuilder_.addMessage(builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder addSeries(int index,
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder builderForValue) {
+				if (seriesBuilder_ == null) {
+					ensureSeriesIsMutable();
+					series_.add(index, builderForValue.build());
+					onChanged();
+				} else {
+					seriesBuilder_.addMessage(index, builderForValue.build());
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder addAllSeries(
+					java.lang.Iterable<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition> values) {
+				if (seriesBuilder_ == null) {
+					ensureSeriesIsMutable();
+					com.google.protobuf.AbstractMessageLite.Builder.addAll(values, series_);
+					onChanged();
+				} else {
+					seriesBuilder_.addAllMessages(values);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder clearSeries() {
+				if (seriesBuilder_ == null) {
+					series_ = java.util.Collections.emptyList();
+					bitField0_ = (bitField0_ & ~0x00000004);
+					onChanged();
+				} else {
+					seriesBuilder_.clear();
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public Builder removeSeries(int index) {
+				if (seriesBuilder_ == null) {
+					ensureSeriesIsMutable();
+					series_.remove(index);
+					onChanged();
+				} else {
+					seriesBuilder_.remove(index);
+				}
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder getSeriesBuilder(int index) {
+				return getSeriesFieldBuilder().getBuilder(index);
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder getSeriesOrBuilder(
+					int index) {
+				if (seriesBuilder_ == null) {
+					return series_.get(index);
+				} else {
+					return seriesBuilder_.getMessageOrBuilder(index);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public java.util.List<? extends com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder> getSeriesOrBuilderList() {
+				if (seriesBuilder_ != null) {
+					return seriesBuilder_.getMessageOrBuilderList();
+				} else {
+					return java.util.Collections.unmodifiableList(series_);
+				}
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder addSeriesBuilder() {
+				return getSeriesFieldBuilder().addBuilder(
+						com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.getDefaultInstance());
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder addSeriesBuilder(int index) {
+				return getSeriesFieldBuilder().addBuilder(index,
+						com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.getDefaultInstance());
+			}
+
+			/**
+			 * <pre>
+			 * Array&lt;SeriesDefinition&gt;
+			 * </pre>
+			 *
+			 * <code>repeated .com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition series = 9;</code>
+			 */
+			public java.util.List<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder> getSeriesBuilderList() {
+				return getSeriesFieldBuilder().getBuilderList();
+			}
+
+			private com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder> getSeriesFieldBuilder() {
+				if (seriesBuilder_ == null) {
+					seriesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder, com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder>(
+							series_, ((bitField0_ & 0x00000004) != 0), getParentForChildren(), isClean());
+					series_ = null;
+				}
+				return seriesBuilder_;
+			}
+
+			@java.lang.Override
+			public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.setUnknownFields(unknownFields);
+			}
+
+			@java.lang.Override
+			public final Builder mergeUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.mergeUnknownFields(unknownFields);
+			}
+
+			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.MetricAggregate)
+		}
+
+		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.MetricAggregate)
+		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate DEFAULT_INSTANCE;
+		static {
+			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate();
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate getDefaultInstance() {
+			return DEFAULT_INSTANCE;
+		}
+
+		private static final com.google.protobuf.Parser<MetricAggregate> PARSER = new com.google.protobuf.AbstractParser<MetricAggregate>() {
+			@java.lang.Override
+			public MetricAggregate parsePartialFrom(com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+					throws com.google.protobuf.InvalidProtocolBufferException {
+				return new MetricAggregate(input, extensionRegistry);
+			}
+		};
+
+		public static com.google.protobuf.Parser<MetricAggregate> parser() {
+			return PARSER;
+		}
+
+		@java.lang.Override
+		public com.google.protobuf.Parser<MetricAggregate> getParserForType() {
+			return PARSER;
+		}
+
+		@java.lang.Override
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate getDefaultInstanceForType() {
+			return DEFAULT_INSTANCE;
+		}
+
+	}
+
+	public interface MetricOrBuilder extends
+			// @@protoc_insertion_point(interface_extends:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+			com.google.protobuf.MessageOrBuilder {
+
+		/**
+		 * <code>string Metric = 1;</code>
+		 */
+		java.lang.String getMetric();
+
+		/**
+		 * <code>string Metric = 1;</code>
+		 */
+		com.google.protobuf.ByteString getMetricBytes();
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+		int getTagsCount();
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+		boolean containsTags(java.lang.String key);
+
+		/**
+		 * Use {@link #getTagsMap()} instead.
+		 */
+		@java.lang.Deprecated
+		java.util.Map<java.lang.String, java.lang.String> getTags();
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+		java.util.Map<java.lang.String, java.lang.String> getTagsMap();
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue);
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		java.lang.String getTagsOrThrow(java.lang.String key);
+
+		/**
+		 * <code>double Value = 3;</code>
+		 */
+		double getValue();
+
+		/**
+		 * <pre>
+		 * Series id of dictionary, if not 0, the Metric and tags are omitted
+		 * </pre>
+		 *
+		 * <code>uint32 series = 4;</code>
+		 */
+		int getSeries();
+	}
+
+	/**
+	 * Protobuf type {@code com.wl4g.devops.common.bean.umc.model.proto.Metric}
+	 */
+	public static final class Metric extends com.google.protobuf.GeneratedMessageV3 implements
+			// @@protoc_insertion_point(message_implements:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+			MetricOrBuilder {
+		private static final long serialVersionUID = 0L;
+
+		// Use Metric.newBuilder() to construct.
+		private Metric(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+			super(builder);
+		}
+
+		private Metric() {
+			metric_ = "";
+		}
+
+		@java.lang.Override
+		protected java.lang.Object newInstance(UnusedPrivateParameter unused) {
+			return new Metric();
+		}
+
+		@java.lang.Override
+		public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+			return this.unknownFields;
+		}
+
+		private Metric(com.google.protobuf.CodedInputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			this();
+			if (extensionRegistry == null) {
+				throw new java.lang.NullPointerException();
+			}
+			int mutable_bitField0_ = 0;
+			com.google.protobuf.UnknownFieldSet.Builder unknownFields = com.google.protobuf.UnknownFieldSet.newBuilder();
+			try {
+				boolean done = false;
+				while (!done) {
+					int tag = input.readTag();
+					switch (tag) {
+					case 0:
+						done = true;
+						break;
+					case 10: {
+						java.lang.String s = input.readStringRequireUtf8();
+
+						metric_ = s;
+						break;
+					}
+					case 18: {
+						if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+							tags_ = com.google.protobuf.MapField.newMapField(TagsDefaultEntryHolder.defaultEntry);
+							mutable_bitField0_ |= 0x00000001;
+						}
+						com.google.protobuf.MapEntry<java.lang.String, java.lang.String> tags__ = input
+								.readMessage(TagsDefaultEntryHolder.defaultEntry.getParserForType(), extensionRegistry);
+						tags_.getMutableMap().put(tags__.getKey(), tags__.getValue());
+						break;
+					}
+					case 25: {
+
+						value_ = input.readDouble();
+						break;
+					}
+					case 32: {
+
+						series_ = input.readUInt32();
+						break;
+					}
+					default: {
+						if (!parseUnknownField(input, unknownFields, extensionRegistry, tag)) {
+							done = true;
+						}
+						break;
+					}
+					}
+				}
+			} catch (com.google.protobuf.InvalidProtocolBufferException e) {
+				throw e.setUnfinishedMessage(this);
+			} catch (java.io.IOException e) {
+				throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
+			} finally {
+				this.unknownFields = unknownFields.build();
+				makeExtensionsImmutable();
+			}
+		}
+
+		public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
+		}
+
+		@SuppressWarnings({ "rawtypes" })
+		@java.lang.Override
+		protected com.google.protobuf.MapField internalGetMapField(int number) {
+			switch (number) {
+			case 2:
+				return internalGetTags();
+			default:
+				throw new RuntimeException("Invalid map field number: " + number);
+			}
+		}
+
+		@java.lang.Override
+		protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable
+					.ensureFieldAccessorsInitialized(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.class,
+							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.Builder.class);
+		}
+
+		public static final int METRIC_FIELD_NUMBER = 1;
+		private volatile java.lang.Object metric_;
+
+		/**
+		 * <code>string Metric = 1;</code>
+		 */
+		public java.lang.String getMetric() {
+			java.lang.Object ref = metric_;
+			if (ref instanceof java.lang.String) {
+				return (java.lang.String) ref;
+			} else {
+				com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+				java.lang.String s = bs.toStringUtf8();
+				metric_ = s;
+				return s;
+			}
+		}
+
+		/**
+		 * <code>string Metric = 1;</code>
+		 */
+		public com.google.protobuf.ByteString getMetricBytes() {
+			java.lang.Object ref = metric_;
+			if (ref instanceof java.lang.String) {
+				com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+				metric_ = b;
+				return b;
+			} else {
+				return (com.google.protobuf.ByteString) ref;
+			}
+		}
+
+		public static final int TAGS_FIELD_NUMBER = 2;
+
+		private static final class TagsDefaultEntryHolder {
+			static final com.google.protobuf.MapEntry<java.lang.String, java.lang.String> defaultEntry = com.google.protobuf.MapEntry.<java.lang.String, java.lang.String> newDefaultInstance(
+					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_descriptor,
+					com.google.protobuf.WireFormat.FieldType.STRING, "", com.google.protobuf.WireFormat.FieldType.STRING, "");
+		}
+
+		private com.google.protobuf.MapField<java.lang.String, java.lang.String> tags_;
+
+		private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetTags() {
+			if (tags_ == null) {
+				return com.google.protobuf.MapField.emptyMapField(TagsDefaultEntryHolder.defaultEntry);
+			}
+			return tags_;
+		}
+
+		public int getTagsCount() {
+			return internalGetTags().getMap().size();
+		}
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		public boolean containsTags(java.lang.String key) {
+			if (key == null) {
+				throw new java.lang.NullPointerException();
+			}
+			return internalGetTags().getMap().containsKey(key);
+		}
+
+		/**
+		 * Use {@link #getTagsMap()} instead.
+		 */
+		@java.lang.Deprecated
+		public java.util.Map<java.lang.String, java.lang.String> getTags() {
+			return getTagsMap();
+		}
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		public java.util.Map<java.lang.String, java.lang.String> getTagsMap() {
+			return internalGetTags().getMap();
+		}
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		public java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue) {
+			if (key == null) {
+				throw new java.lang.NullPointerException();
+			}
+			java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
+			return map.containsKey(key) ? map.get(key) : defaultValue;
+		}
+
+		/**
+		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 */
+
+		public java.lang.String getTagsOrThrow(java.lang.String key) {
+			if (key == null) {
+				throw new java.lang.NullPointerException();
+			}
+			java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
+			if (!map.containsKey(key)) {
+				throw new java.lang.IllegalArgumentException();
+			}
+			return map.get(key);
+		}
+
+		public static final int VALUE_FIELD_NUMBER = 3;
+		private double value_;
+
+		/**
+		 * <code>double Value = 3;</code>
+		 */
+		public double getValue() {
+			return value_;
+		}
+
+		public static final int SERIES_FIELD_NUMBER = 4;
+		private int series_;
+
+		/**
+		 * <pre>
+		 * Series id of dictionary, if not 0, the Metric and tags are omitted
+		 * </pre>
+		 *
+		 * <code>uint32 series = 4;</code>
+		 */
+		public int getSeries() {
+			return series_;
+		}
+
+		private byte memoizedIsInitialized = -1;
+
+		@java.lang.Override
+		public final boolean isInitialized() {
+			byte isInitialized = memoizedIsInitialized;
+			if (isInitialized == 1)
+				return true;
+			if (isInitialized == 0)
+				return false;
+
+			memoizedIsInitialized = 1;
+			return true;
+		}
+
+		@java.lang.Override
+		public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+			if (!getMetricBytes().isEmpty()) {
+				com.google.protobuf.GeneratedMessageV3.writeString(output, 1, metric_);
+			}
+			com.google.protobuf.GeneratedMessageV3.serializeStringMapTo(output, internalGetTags(),
+					TagsDefaultEntryHolder.defaultEntry, 2);
+			if (value_ != 0D) {
+				output.writeDouble(3, value_);
+			}
+			if (series_ != 0) {
+				output.writeUInt32(4, series_);
+			}
+			unknownFields.writeTo(output);
+		}
+
+		@java.lang.Override
+		public int getSerializedSize() {
+			int size = memoizedSize;
+			if (size != -1)
+				return size;
+
+			size = 0;
+			if (!getMetricBytes().isEmpty()) {
+				size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, metric_);
+			}
+			for (java.util.Map.Entry<java.lang.String, java.lang.String> entry : internalGetTags().getMap().entrySet()) {
+				com.google.protobuf.MapEntry<java.lang.String, java.lang.String> tags__ = TagsDefaultEntryHolder.defaultEntry
+						.newBuilderForType().setKey(entry.getKey()).setValue(entry.getValue()).build();
+				size += com.google.protobuf.CodedOutputStream.computeMessageSize(2, tags__);
+			}
+			if (value_ != 0D) {
+				size += com.google.protobuf.CodedOutputStream.computeDoubleSize(3, value_);
+			}
+			if (series_ != 0) {
+				size += com.google.protobuf.CodedOutputStream.computeUInt32Size(4, series_);
+			}
+			size += unknownFields.getSerializedSize();
+			memoizedSize = size;
+			return size;
+		}
+
+		@java.lang.Override
+		public boolean equals(final java.lang.Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric)) {
+				return super.equals(obj);
+			}
+			com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric other = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) obj;
+
+			if (!getMetric().equals(other.getMetric()))
+				return false;
+			if (!internalGetTags().equals(other.internalGetTags()))
+				return false;
+			if (java.lang.Double.doubleToLongBits(getValue()) != java.lang.Double.doubleToLongBits(other.getValue()))
+				return false;
+			if (getSeries() != other.getSeries())
+				return false;
+			if (!unknownFields.equals(other.unknownFields))
+				return false;
+			return true;
+		}
+
+		@java.lang.Override
+		public int hashCode() {
+			if (memoizedHashCode != 0) {
+				return memoizedHashCode;
+			}
+			int hash = 41;
+			hash = (19 * hash) + getDescriptor().hashCode();
+			hash = (37 * hash) + METRIC_FIELD_NUMBER;
+			hash = (53 * hash) + getMetric().hashCode();
+			if (!internalGetTags().getMap().isEmpty()) {
+				hash = (37 * hash) + TAGS_FIELD_NUMBER;
+				hash = (53 * hash) + internalGetTags().hashCode();
+			}
+			hash = (37 * hash) + VALUE_FIELD_NUMBER;
+			hash = (53 * hash) + com.google.protobuf.Internal.hashLong(java.lang.Double.doubleToLongBits(getValue()));
+			hash = (37 * hash) + SERIES_FIELD_NUMBER;
+			hash = (53 * hash) + getSeries();
+			hash = (29 * hash) + unknownFields.hashCode();
+			memoizedHashCode = hash;
+			return hash;
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.nio.ByteBuffer data)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.nio.ByteBuffer data,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+				com.google.protobuf.ByteString data) throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+				com.google.protobuf.ByteString data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(byte[] data)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(byte[] data,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.io.InputStream input)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.io.InputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseDelimitedFrom(java.io.InputStream input)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseDelimitedFrom(java.io.InputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+				com.google.protobuf.CodedInputStream input) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+				com.google.protobuf.CodedInputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		@java.lang.Override
+		public Builder newBuilderForType() {
+			return newBuilder();
+		}
+
+		public static Builder newBuilder() {
+			return DEFAULT_INSTANCE.toBuilder();
+		}
+
+		public static Builder newBuilder(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric prototype) {
+			return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+		}
+
+		@java.lang.Override
+		public Builder toBuilder() {
+			return this == DEFAULT_INSTANCE ? new Builder() : new Builder().mergeFrom(this);
+		}
+
+		@java.lang.Override
+		protected Builder newBuilderForType(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+			Builder builder = new Builder(parent);
+			return builder;
+		}
+
+		/**
+		 * Protobuf type
+		 * {@code com.wl4g.devops.common.bean.umc.model.proto.Metric}
+		 */
+		public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+				// @@protoc_insertion_point(builder_implements:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricOrBuilder {
+			public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
+			}
+
+			@SuppressWarnings({ "rawtypes" })
+			protected com.google.protobuf.MapField internalGetMapField(int number) {
+				switch (number) {
+				case 2:
+					return internalGetTags();
+				default:
+					throw new RuntimeException("Invalid map field number: " + number);
+				}
+			}
+
+			@SuppressWarnings({ "rawtypes" })
+			protected com.google.protobuf.MapField internalGetMutableMapField(int number) {
+				switch (number) {
+				case 2:
+					return internalGetMutableTags();
+				default:
+					throw new RuntimeException("Invalid map field number: " + number);
+				}
+			}
+
+			@java.lang.Override
+			protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable
+						.ensureFieldAccessorsInitialized(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.class,
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.Builder.class);
+			}
+
+			// Construct using
+			// com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.newBuilder()
+			private Builder() {
+				maybeForceBuilderInitialization();
+			}
+
+			private Builder(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+				super(parent);
+				maybeForceBuilderInitialization();
+			}
+
+			private void maybeForceBuilderInitialization() {
+				if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {
+				}
+			}
+
+			@java.lang.Override
+			public Builder clear() {
+				super.clear();
+				metric_ = "";
+
+				internalGetMutableTags().clear();
+				value_ = 0D;
+
+				series_ = 0;
+
+				return this;
+			}
+
+			@java.lang.Override
+			public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstanceForType() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.getDefaultInstance();
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric build() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric result = buildPartial();
+				if (!result.isInitialized()) {
+					throw newUninitializedMessageException(result);
+				}
+				return result;
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric buildPartial() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric result = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric(
+						this);
+				int from_bitField0_ = bitField0_;
+				result.metric_ = metric_;
+				result.tags_ = internalGetTags();
+				result.tags_.makeImmutable();
+				result.value_ = value_;
+				result.series_ = series_;
+				onBuilt();
+				return result;
+			}
+
+			@java.lang.Override
+			public Builder clone() {
+				return super.clone();
+			}
+
+			@java.lang.Override
+			public Builder setField(com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+				return super.setField(field, value);
+			}
+
+			@java.lang.Override
+			public Builder clearField(com.google.protobuf.Descriptors.FieldDescriptor field) {
+				return super.clearField(field);
+			}
+
+			@java.lang.Override
+			public Builder clearOneof(com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+				return super.clearOneof(oneof);
+			}
+
+			@java.lang.Override
+			public Builder setRepeatedField(com.google.protobuf.Descriptors.FieldDescriptor field, int index,
+					java.lang.Object value) {
+				return super.setRepeatedField(field, index, value);
+			}
+
+			@java.lang.Override
+			public Builder addRepeatedField(com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+				return super.addRepeatedField(field, value);
+			}
+
+			@java.lang.Override
+			public Builder mergeFrom(com.google.protobuf.Message other) {
+				if (other instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) {
+					return mergeFrom((com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) other);
+				} else {
+					super.mergeFrom(other);
+					return this;
+				}
+			}
+
+			public Builder mergeFrom(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric other) {
+				if (other == com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.getDefaultInstance())
+					return this;
+				if (!other.getMetric().isEmpty()) {
+					metric_ = other.metric_;
+					onChanged();
+				}
+				internalGetMutableTags().mergeFrom(other.internalGetTags());
+				if (other.getValue() != 0D) {
+					setValue(other.getValue());
+				}
+				if (other.getSeries() != 0) {
+					setSeries(other.getSeries());
+				}
+				this.mergeUnknownFields(other.unknownFields);
+				onChanged();
+				return this;
+			}
+
+			@java.lang.Override
+			public final boolean isInitialized() {
+				return true;
+			}
+
+			@java.lang.Override
+			public Builder mergeFrom(com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parsedMessage = null;
+				try {
+					parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+				} catch (com.google.protobuf.InvalidProtocolBufferException e) {
+					parsedMessage = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) e.getUnfinishedMessage();
+					throw e.unwrapIOException();
+				} finally {
+					if (parsedMessage != null) {
+						mergeFrom(parsedMessage);
+					}
+				}
+				return this;
+			}
+
+			private int bitField0_;
+
+			private java.lang.Object metric_ = "";
+
+			/**
+			 * <code>string Metric = 1;</code>
+			 */
+			public java.lang.String getMetric() {
+				java.lang.Object ref = metric_;
+				if (!(ref instanceof java.lang.String)) {
+					com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+					java.lang.String s = bs.toStringUtf8();
+					metric_ = s;
+					return s;
+				} else {
+					return (java.lang.String) ref;
+				}
+			}
+
+			/**
+			 * <code>string Metric = 1;</code>
+			 */
+			public com.google.protobuf.ByteString getMetricBytes() {
+				java.lang.Object ref = metric_;
+				if (ref instanceof String) {
+					com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+					metric_ = b;
+					return b;
+				} else {
+					return (com.google.protobuf.ByteString) ref;
+				}
+			}
+
+			/**
+			 * <code>string Metric = 1;</code>
+			 */
+			public Builder setMetric(java.lang.String value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+
+				metric_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string Metric = 1;</code>
+			 */
+			public Builder clearMetric() {
+
+				metric_ = getDefaultInstance().getMetric();
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string Metric = 1;</code>
+			 */
+			public Builder setMetricBytes(com.google.protobuf.ByteString value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+				checkByteStringIsUtf8(value);
+
+				metric_ = value;
+				onChanged();
+				return this;
+			}
+
+			private com.google.protobuf.MapField<java.lang.String, java.lang.String> tags_;
+
+			private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetTags() {
+				if (tags_ == null) {
+					return com.google.protobuf.MapField.emptyMapField(TagsDefaultEntryHolder.defaultEntry);
+				}
+				return tags_;
+			}
+
+			private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetMutableTags() {
+				onChanged();
+				;
+				if (tags_ == null) {
+					tags_ = com.google.protobuf.MapField.newMapField(TagsDefaultEntryHolder.defaultEntry);
+				}
+				if (!tags_.isMutable()) {
+					tags_ = tags_.copy();
+				}
+				return tags_;
+			}
+
+			public int getTagsCount() {
+				return internalGetTags().getMap().size();
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public boolean containsTags(java.lang.String key) {
+				if (key == null) {
+					throw new java.lang.NullPointerException();
+				}
+				return internalGetTags().getMap().containsKey(key);
+			}
+
+			/**
+			 * Use {@link #getTagsMap()} instead.
+			 */
+			@java.lang.Deprecated
+			public java.util.Map<java.lang.String, java.lang.String> getTags() {
+				return getTagsMap();
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public java.util.Map<java.lang.String, java.lang.String> getTagsMap() {
+				return internalGetTags().getMap();
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue) {
+				if (key == null) {
+					throw new java.lang.NullPointerException();
+				}
+				java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
+				return map.containsKey(key) ? map.get(key) : defaultValue;
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public java.lang.String getTagsOrThrow(java.lang.String key) {
+				if (key == null) {
+					throw new java.lang.NullPointerException();
+				}
+				java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
+				if (!map.containsKey(key)) {
+					throw new java.lang.IllegalArgumentException();
+				}
+				return map.get(key);
+			}
+
+			public Builder clearTags() {
+				internalGetMutableTags().getMutableMap().clear();
+				return this;
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public Builder removeTags(java.lang.String key) {
+				if (key == null) {
+					throw new java.lang.NullPointerException();
+				}
+				internalGetMutableTags().getMutableMap().remove(key);
+				return this;
+			}
+
+			/**
+			 * Use alternate mutation accessors instead.
+			 */
+			@java.lang.Deprecated
+			public java.util.Map<java.lang.String, java.lang.String> getMutableTags() {
+				return internalGetMutableTags().getMutableMap();
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+			public Builder putTags(java.lang.String key, java.lang.String value) {
+				if (key == null) {
+					throw new java.lang.NullPointerException();
+				}
+				if (value == null) {
+					throw new java.lang.NullPointerException();
+				}
+				internalGetMutableTags().getMutableMap().put(key, value);
+				return this;
+			}
+
+			/**
+			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 */
+
+			public Builder putAllTags(java.util.Map<java.lang.String, java.lang.String> values) {
+				internalGetMutableTags().getMutableMap().putAll(values);
+				return this;
+			}
+
+			private double value_;
+
+			/**
+			 * <code>double Value = 3;</code>
+			 */
+			public double getValue() {
+				return value_;
+			}
+
+			/**
+			 * <code>double Value = 3;</code>
+			 */
+			public Builder setValue(double value) {
+
+				value_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>double Value = 3;</code>
+			 */
+			public Builder clearValue() {
+
+				value_ = 0D;
+				onChanged();
+				return this;
+			}
+
+			private int series_;
+
+			/**
+			 * <pre>
+			 * Series id of dictionary, if not 0, the Metric and tags are omitted
+			 * </pre>
+			 *
+			 * <code>uint32 series = 4;</code>
+			 */
+			public int getSeries() {
+				return series_;
+			}
+
+			/**
+			 * <pre>
+			 * Series id of dictionary, if not 0, the Metric and tags are omitted
+			 * </pre>
+			 *
+			 * <code>uint32 series = 4;</code>
+			 */
+			public Builder setSeries(int value) {
+
+				series_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <pre>
+			 * Series id of dictionary, if not 0, the Metric and tags are omitted
+			 * </pre>
+			 *
+			 * <code>uint32 series = 4;</code>
+			 */
+			public Builder clearSeries() {
+
+				series_ = 0;
+				onChanged();
+				return this;
+			}
+
+			@java.lang.Override
+			public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.setUnknownFields(unknownFields);
+			}
+
+			@java.lang.Override
+			public final Builder mergeUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.mergeUnknownFields(unknownFields);
+			}
+
+			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+		}
+
+		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric DEFAULT_INSTANCE;
+		static {
+			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric();
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstance() {
+			return DEFAULT_INSTANCE;
+		}
+
+		private static final com.google.protobuf.Parser<Metric> PARSER = new com.google.protobuf.AbstractParser<Metric>() {
+			@java.lang.Override
+			public Metric parsePartialFrom(com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+					throws com.google.protobuf.InvalidProtocolBufferException {
+				return new Metric(input, extensionRegistry);
+			}
+		};
+
+		public static com.google.protobuf.Parser<Metric> parser() {
+			return PARSER;
+		}
+
+		@java.lang.Override
+		public com.google.protobuf.Parser<Metric> getParserForType() {
+			return PARSER;
+		}
+
+		@java.lang.Override
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstanceForType() {
+			return DEFAULT_INSTANCE;
+		}
+
+	}
+
+	public interface TagPairDefinitionOrBuilder extends
+			// @@protoc_insertion_point(interface_extends:com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition)
+			com.google.protobuf.MessageOrBuilder {
+
+		/**
+		 * <code>uint32 id = 1;</code>
+		 */
+		int getId();
+
+		/**
+		 * <code>string key = 2;</code>
+		 */
+		java.lang.String getKey();
+
+		/**
+		 * <code>string key = 2;</code>
+		 */
+		com.google.protobuf.ByteString getKeyBytes();
+
+		/**
+		 * <code>string value = 3;</code>
+		 */
+		java.lang.String getValue();
+
+		/**
+		 * <code>string value = 3;</code>
+		 */
+		com.google.protobuf.ByteString getValueBytes();
+	}
+
+	/**
+	 * Protobuf type
+	 * {@code com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition}
+	 */
+	public static final class TagPairDefinition extends com.google.protobuf.GeneratedMessageV3 implements
+			// @@protoc_insertion_point(message_implements:com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition)
+			TagPairDefinitionOrBuilder {
+		private static final long serialVersionUID = 0L;
+
+		// Use TagPairDefinition.newBuilder() to construct.
+		private TagPairDefinition(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+			super(builder);
+		}
+
+		private TagPairDefinition() {
+			key_ = "";
+			value_ = "";
+		}
+
+		@java.lang.Override
+		protected java.lang.Object newInstance(UnusedPrivateParameter unused) {
+			return new TagPairDefinition();
+		}
+
+		@java.lang.Override
+		public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+			return this.unknownFields;
+		}
+
+		private TagPairDefinition(com.google.protobuf.CodedInputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			this();
+			if (extensionRegistry == null) {
+				throw new java.lang.NullPointerException();
+			}
+			com.google.protobuf.UnknownFieldSet.Builder unknownFields = com.google.protobuf.UnknownFieldSet.newBuilder();
+			try {
+				boolean done = false;
+				while (!done) {
+					int tag = input.readTag();
+					switch (tag) {
+					case 0:
+						done = true;
+						break;
+					case 8: {
+
+						id_ = input.readUInt32();
+						break;
+					}
+					case 18: {
+						java.lang.String s = input.readStringRequireUtf8();
+
+						key_ = s;
+						break;
+					}
+					case 26: {
+						java.lang.String s = input.readStringRequireUtf8();
+
+						value_ = s;
+						break;
+					}
+					default: {
+						if (!parseUnknownField(input, unknownFields, extensionRegistry, tag)) {
+							done = true;
+						}
+						break;
+					}
+					}
+				}
+			} catch (com.google.protobuf.InvalidProtocolBufferException e) {
+				throw e.setUnfinishedMessage(this);
+			} catch (java.io.IOException e) {
+				throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
+			} finally {
+				this.unknownFields = unknownFields.build();
+				makeExtensionsImmutable();
+			}
+		}
+
+		public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor;
+		}
+
+		@java.lang.Override
+		protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_fieldAccessorTable
+					.ensureFieldAccessorsInitialized(
+							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.class,
+							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder.class);
+		}
+
+		public static final int ID_FIELD_NUMBER = 1;
+		private int id_;
+
+		/**
+		 * <code>uint32 id = 1;</code>
+		 */
+		public int getId() {
+			return id_;
+		}
+
+		public static final int KEY_FIELD_NUMBER = 2;
+		private volatile java.lang.Object key_;
+
+		/**
+		 * <code>string key = 2;</code>
+		 */
+		public java.lang.String getKey() {
+			java.lang.Object ref = key_;
+			if (ref instanceof java.lang.String) {
+				return (java.lang.String) ref;
+			} else {
+				com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+				java.lang.String s = bs.toStringUtf8();
+				key_ = s;
+				return s;
+			}
+		}
+
+		/**
+		 * <code>string key = 2;</code>
+		 */
+		public com.google.protobuf.ByteString getKeyBytes() {
+			java.lang.Object ref = key_;
+			if (ref instanceof java.lang.String) {
+				com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+				key_ = b;
+				return b;
+			} else {
+				return (com.google.protobuf.ByteString) ref;
+			}
+		}
+
+		public static final int VALUE_FIELD_NUMBER = 3;
+		private volatile java.lang.Object value_;
+
+		/**
+		 * <code>string value = 3;</code>
+		 */
+		public java.lang.String getValue() {
+			java.lang.Object ref = value_;
+			if (ref instanceof java.lang.String) {
+				return (java.lang.String) ref;
+			} else {
+				com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+				java.lang.String s = bs.toStringUtf8();
+				value_ = s;
+				return s;
+			}
+		}
+
+		/**
+		 * <code>string value = 3;</code>
+		 */
+		public com.google.protobuf.ByteString getValueBytes() {
+			java.lang.Object ref = value_;
+			if (ref instanceof java.lang.String) {
+				com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+				value_ = b;
+				return b;
+			} else {
+				return (com.google.protobuf.ByteString) ref;
+			}
+		}
+
+		private byte memoizedIsInitialized = -1;
+
+		@java.lang.Override
+		public final boolean isInitialized() {
+			byte isInitialized = memoizedIsInitialized;
+			if (isInitialized == 1)
+				return true;
+			if (isInitialized == 0)
+				return false;
+
+			memoizedIsInitialized = 1;
+			return true;
+		}
+
+		@java.lang.Override
+		public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+			if (id_ != 0) {
+				output.writeUInt32(1, id_);
+			}
+			if (!getKeyBytes().isEmpty()) {
+				com.google.protobuf.GeneratedMessageV3.writeString(output, 2, key_);
+			}
+			if (!getValueBytes().isEmpty()) {
+				com.google.protobuf.GeneratedMessageV3.writeString(output, 3, value_);
+			}
+			unknownFields.writeTo(output);
+		}
+
+		@java.lang.Override
+		public int getSerializedSize() {
+			int size = memoizedSize;
+			if (size != -1)
+				return size;
+
+			size = 0;
+			if (id_ != 0) {
+				size += com.google.protobuf.CodedOutputStream.computeUInt32Size(1, id_);
+			}
+			if (!getKeyBytes().isEmpty()) {
+				size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, key_);
+			}
+			if (!getValueBytes().isEmpty()) {
+				size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, value_);
+			}
+			size += unknownFields.getSerializedSize();
+			memoizedSize = size;
+			return size;
+		}
+
+		@java.lang.Override
+		public boolean equals(final java.lang.Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition)) {
+				return super.equals(obj);
+			}
+			com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition other = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition) obj;
+
+			if (getId() != other.getId())
+				return false;
+			if (!getKey().equals(other.getKey()))
+				return false;
+			if (!getValue().equals(other.getValue()))
+				return false;
+			if (!unknownFields.equals(other.unknownFields))
+				return false;
+			return true;
+		}
+
+		@java.lang.Override
+		public int hashCode() {
+			if (memoizedHashCode != 0) {
+				return memoizedHashCode;
+			}
+			int hash = 41;
+			hash = (19 * hash) + getDescriptor().hashCode();
+			hash = (37 * hash) + ID_FIELD_NUMBER;
+			hash = (53 * hash) + getId();
+			hash = (37 * hash) + KEY_FIELD_NUMBER;
+			hash = (53 * hash) + getKey().hashCode();
+			hash = (37 * hash) + VALUE_FIELD_NUMBER;
+			hash = (53 * hash) + getValue().hashCode();
+			hash = (29 * hash) + unknownFields.hashCode();
+			memoizedHashCode = hash;
+			return hash;
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				java.nio.ByteBuffer data) throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				java.nio.ByteBuffer data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				com.google.protobuf.ByteString data) throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				com.google.protobuf.ByteString data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(byte[] data)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(byte[] data,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				java.io.InputStream input) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseDelimitedFrom(
+				java.io.InputStream input) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseDelimitedFrom(
+				java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				com.google.protobuf.CodedInputStream input) throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parseFrom(
+				com.google.protobuf.CodedInputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
+			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
+		}
+
+		@java.lang.Override
+		public Builder newBuilderForType() {
+			return newBuilder();
+		}
+
+		public static Builder newBuilder() {
+			return DEFAULT_INSTANCE.toBuilder();
+		}
+
+		public static Builder newBuilder(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition prototype) {
+			return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+		}
+
+		@java.lang.Override
+		public Builder toBuilder() {
+			return this == DEFAULT_INSTANCE ? new Builder() : new Builder().mergeFrom(this);
+		}
+
+		@java.lang.Override
+		protected Builder newBuilderForType(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+			Builder builder = new Builder(parent);
+			return builder;
+		}
+
+		/**
+		 * Protobuf type
+		 * {@code com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition}
+		 */
+		public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+				// @@protoc_insertion_point(builder_implements:com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition)
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinitionOrBuilder {
+			public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor;
+			}
+
+			@java.lang.Override
+			protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_fieldAccessorTable
+						.ensureFieldAccessorsInitialized(
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.class,
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.Builder.class);
+			}
+
+			// Construct using
+			// com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.newBuilder()
+			private Builder() {
+				maybeForceBuilderInitialization();
+			}
+
+			private Builder(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+				super(parent);
+				maybeForceBuilderInitialization();
+			}
+
+			private void maybeForceBuilderInitialization() {
+				if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {
+				}
+			}
+
+			@java.lang.Override
+			public Builder clear() {
+				super.clear();
+				id_ = 0;
+
+				key_ = "";
+
+				value_ = "";
+
+				return this;
+			}
+
+			@java.lang.Override
+			public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor;
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getDefaultInstanceForType() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.getDefaultInstance();
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition build() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition result = buildPartial();
+				if (!result.isInitialized()) {
+					throw newUninitializedMessageException(result);
+				}
+				return result;
+			}
+
+			@java.lang.Override
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition buildPartial() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition result = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition(
+						this);
+				result.id_ = id_;
+				result.key_ = key_;
+				result.value_ = value_;
+				onBuilt();
+				return result;
+			}
+
+			@java.lang.Override
+			public Builder clone() {
+				return super.clone();
+			}
+
+			@java.lang.Override
+			public Builder setField(com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+				return super.setField(field, value);
+			}
+
+			@java.lang.Override
+			public Builder clearField(com.google.protobuf.Descriptors.FieldDescriptor field) {
+				return super.clearField(field);
+			}
+
+			@java.lang.Override
+			public Builder clearOneof(com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+				return super.clearOneof(oneof);
+			}
+
+			@java.lang.Override
+			public Builder setRepeatedField(com.google.protobuf.Descriptors.FieldDescriptor field, int index,
+					java.lang.Object value) {
+				return super.setRepeatedField(field, index, value);
+			}
+
+			@java.lang.Override
+			public Builder addRepeatedField(com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+				return super.addRepeatedField(field, value);
+			}
+
+			@java.lang.Override
+			public Builder mergeFrom(com.google.protobuf.Message other) {
+				if (other instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition) {
+					return mergeFrom((com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition) other);
+				} else {
+					super.mergeFrom(other);
+					return this;
+				}
+			}
+
+			public Builder mergeFrom(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition other) {
+				if (other == com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition.getDefaultInstance())
+					return this;
+				if (other.getId() != 0) {
+					setId(other.getId());
+				}
+				if (!other.getKey().isEmpty()) {
+					key_ = other.key_;
+					onChanged();
+				}
+				if (!other.getValue().isEmpty()) {
+					value_ = other.value_;
+					onChanged();
+				}
+				this.mergeUnknownFields(other.unknownFields);
+				onChanged();
+				return this;
+			}
+
+			@java.lang.Override
+			public final boolean isInitialized() {
+				return true;
+			}
+
+			@java.lang.Override
+			public Builder mergeFrom(com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition parsedMessage = null;
+				try {
+					parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+				} catch (com.google.protobuf.InvalidProtocolBufferException e) {
+					parsedMessage = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition) e
+							.getUnfinishedMessage();
+					throw e.unwrapIOException();
+				} finally {
+					if (parsedMessage != null) {
+						mergeFrom(parsedMessage);
+					}
+				}
+				return this;
+			}
+
+			private int id_;
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public int getId() {
+				return id_;
+			}
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public Builder setId(int value) {
+
+				id_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public Builder clearId() {
+
+				id_ = 0;
+				onChanged();
+				return this;
+			}
+
+			private java.lang.Object key_ = "";
+
+			/**
+			 * <code>string key = 2;</code>
+			 */
+			public java.lang.String getKey() {
+				java.lang.Object ref = key_;
+				if (!(ref instanceof java.lang.String)) {
+					com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+					java.lang.String s = bs.toStringUtf8();
+					key_ = s;
+					return s;
+				} else {
+					return (java.lang.String) ref;
+				}
+			}
+
+			/**
+			 * <code>string key = 2;</code>
+			 */
+			public com.google.protobuf.ByteString getKeyBytes() {
+				java.lang.Object ref = key_;
+				if (ref instanceof String) {
+					com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+					key_ = b;
+					return b;
+				} else {
+					return (com.google.protobuf.ByteString) ref;
+				}
+			}
+
+			/**
+			 * <code>string key = 2;</code>
+			 */
+			public Builder setKey(java.lang.String value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+
+				key_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string key = 2;</code>
+			 */
+			public Builder clearKey() {
+
+				key_ = getDefaultInstance().getKey();
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string key = 2;</code>
+			 */
+			public Builder setKeyBytes(com.google.protobuf.ByteString value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+				checkByteStringIsUtf8(value);
+
+				key_ = value;
+				onChanged();
+				return this;
+			}
+
+			private java.lang.Object value_ = "";
+
+			/**
+			 * <code>string value = 3;</code>
+			 */
+			public java.lang.String getValue() {
+				java.lang.Object ref = value_;
+				if (!(ref instanceof java.lang.String)) {
+					com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+					java.lang.String s = bs.toStringUtf8();
+					value_ = s;
+					return s;
+				} else {
+					return (java.lang.String) ref;
+				}
+			}
+
+			/**
+			 * <code>string value = 3;</code>
+			 */
+			public com.google.protobuf.ByteString getValueBytes() {
+				java.lang.Object ref = value_;
+				if (ref instanceof String) {
+					com.google.protobuf.ByteString b = com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+					value_ = b;
+					return b;
+				} else {
+					return (com.google.protobuf.ByteString) ref;
+				}
+			}
+
+			/**
+			 * <code>string value = 3;</code>
+			 */
+			public Builder setValue(java.lang.String value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+
+				value_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string value = 3;</code>
+			 */
+			public Builder clearValue() {
+
+				value_ = getDefaultInstance().getValue();
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>string value = 3;</code>
+			 */
+			public Builder setValueBytes(com.google.protobuf.ByteString value) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+				checkByteStringIsUtf8(value);
+
+				value_ = value;
+				onChanged();
+				return this;
+			}
+
+			@java.lang.Override
+			public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.setUnknownFields(unknownFields);
+			}
+
+			@java.lang.Override
+			public final Builder mergeUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+				return super.mergeUnknownFields(unknownFields);
+			}
+
+			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition)
+		}
+
+		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.TagPairDefinition)
+		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition DEFAULT_INSTANCE;
+		static {
+			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition();
+		}
+
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getDefaultInstance() {
 			return DEFAULT_INSTANCE;
 		}
 
-	}
+		private static final com.google.protobuf.Parser<TagPairDefinition> PARSER = new com.google.protobuf.AbstractParser<TagPairDefinition>() {
+			@java.lang.Override
+			public TagPairDefinition parsePartialFrom(com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+					throws com.google.protobuf.InvalidProtocolBufferException {
+				return new TagPairDefinition(input, extensionRegistry);
+			}
+		};
 
-	public interface MetricOrBuilder extends
-			// @@protoc_insertion_point(interface_extends:com.wl4g.devops.common.bean.umc.model.proto.Metric)
-			com.google.protobuf.MessageOrBuilder {
+		public static com.google.protobuf.Parser<TagPairDefinition> parser() {
+			return PARSER;
+		}
 
-		/**
-		 * <code>string Metric = 1;</code>
-		 */
-		java.lang.String getMetric();
+		@java.lang.Override
+		public com.google.protobuf.Parser<TagPairDefinition> getParserForType() {
+			return PARSER;
+		}
 
-		/**
-		 * <code>string Metric = 1;</code>
-		 */
-		com.google.protobuf.ByteString getMetricBytes();
+		@java.lang.Override
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.TagPairDefinition getDefaultInstanceForType() {
+			return DEFAULT_INSTANCE;
+		}
 
-		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
-		 */
-		int getTagsCount();
+	}
+
+	public interface SeriesDefinitionOrBuilder extends
+			// @@protoc_insertion_point(interface_extends:com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition)
+			com.google.protobuf.MessageOrBuilder {
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <code>uint32 id = 1;</code>
 		 */
-		boolean containsTags(java.lang.String key);
+		int getId();
 
 		/**
-		 * Use {@link #getTagsMap()} instead.
+		 * <code>string Metric = 2;</code>
 		 */
-		@java.lang.Deprecated
-		java.util.Map<java.lang.String, java.lang.String> getTags();
+		java.lang.String getMetric();
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <code>string Metric = 2;</code>
 		 */
-		java.util.Map<java.lang.String, java.lang.String> getTagsMap();
+		com.google.protobuf.ByteString getMetricBytes();
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-
-		java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue);
+		java.util.List<java.lang.Integer> getTagPairsList();
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-
-		java.lang.String getTagsOrThrow(java.lang.String key);
+		int getTagPairsCount();
 
 		/**
-		 * <code>double Value = 3;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-		double getValue();
+		int getTagPairs(int index);
 	}
 
 	/**
-	 * Protobuf type {@code com.wl4g.devops.common.bean.umc.model.proto.Metric}
+	 * Protobuf type
+	 * {@code com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition}
 	 */
-	public static final class Metric extends com.google.protobuf.GeneratedMessageV3 implements
-			// @@protoc_insertion_point(message_implements:com.wl4g.devops.common.bean.umc.model.proto.Metric)
-			MetricOrBuilder {
+	public static final class SeriesDefinition extends com.google.protobuf.GeneratedMessageV3 implements
+			// @@protoc_insertion_point(message_implements:com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition)
+			SeriesDefinitionOrBuilder {
 		private static final long serialVersionUID = 0L;
 
-		// Use Metric.newBuilder() to construct.
-		private Metric(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+		// Use SeriesDefinition.newBuilder() to construct.
+		private SeriesDefinition(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
 			super(builder);
 		}
 
-		private Metric() {
+		private SeriesDefinition() {
 			metric_ = "";
+			tagPairs_ = emptyIntList();
 		}
 
 		@java.lang.Override
 		protected java.lang.Object newInstance(UnusedPrivateParameter unused) {
-			return new Metric();
+			return new SeriesDefinition();
 		}
 
 		@java.lang.Override
@@ -1610,7 +4409,8 @@ public final class MetricModel {
 			return this.unknownFields;
 		}
 
-		private Metric(com.google.protobuf.CodedInputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+		private SeriesDefinition(com.google.protobuf.CodedInputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			this();
 			if (extensionRegistry == null) {
@@ -1626,25 +4426,36 @@ public final class MetricModel {
 					case 0:
 						done = true;
 						break;
-					case 10: {
+					case 8: {
+
+						id_ = input.readUInt32();
+						break;
+					}
+					case 18: {
 						java.lang.String s = input.readStringRequireUtf8();
 
 						metric_ = s;
 						break;
 					}
-					case 18: {
+					case 24: {
 						if (!((mutable_bitField0_ & 0x00000001) != 0)) {
-							tags_ = com.google.protobuf.MapField.newMapField(TagsDefaultEntryHolder.defaultEntry);
+							tagPairs_ = newIntList();
 							mutable_bitField0_ |= 0x00000001;
 						}
-						com.google.protobuf.MapEntry<java.lang.String, java.lang.String> tags__ = input
-								.readMessage(TagsDefaultEntryHolder.defaultEntry.getParserForType(), extensionRegistry);
-						tags_.getMutableMap().put(tags__.getKey(), tags__.getValue());
+						tagPairs_.addInt(input.readUInt32());
 						break;
 					}
-					case 25: {
-
-						value_ = input.readDouble();
+					case 26: {
+						int length = input.readRawVarint32();
+						int limit = input.pushLimit(length);
+						if (!((mutable_bitField0_ & 0x00000001) != 0) && input.getBytesUntilLimit() > 0) {
+							tagPairs_ = newIntList();
+							mutable_bitField0_ |= 0x00000001;
+						}
+						while (input.getBytesUntilLimit() > 0) {
+							tagPairs_.addInt(input.readUInt32());
+						}
+						input.popLimit(limit);
 						break;
 					}
 					default: {
@@ -1660,38 +4471,41 @@ public final class MetricModel {
 			} catch (java.io.IOException e) {
 				throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
 			} finally {
+				if (((mutable_bitField0_ & 0x00000001) != 0)) {
+					tagPairs_.makeImmutable(); // C
+				}
 				this.unknownFields = unknownFields.build();
 				makeExtensionsImmutable();
 			}
 		}
 
 		public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
-			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor;
 		}
 
-		@SuppressWarnings({ "rawtypes" })
 		@java.lang.Override
-		protected com.google.protobuf.MapField internalGetMapField(int number) {
-			switch (number) {
-			case 2:
-				return internalGetTags();
-			default:
-				throw new RuntimeException("Invalid map field number: " + number);
-			}
+		protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
+			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_fieldAccessorTable
+					.ensureFieldAccessorsInitialized(
+							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.class,
+							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder.class);
 		}
 
-		@java.lang.Override
-		protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
-			return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable
-					.ensureFieldAccessorsInitialized(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.class,
-							com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.Builder.class);
+		public static final int ID_FIELD_NUMBER = 1;
+		private int id_;
+
+		/**
+		 * <code>uint32 id = 1;</code>
+		 */
+		public int getId() {
+			return id_;
 		}
 
-		public static final int METRIC_FIELD_NUMBER = 1;
+		public static final int METRIC_FIELD_NUMBER = 2;
 		private volatile java.lang.Object metric_;
 
 		/**
-		 * <code>string Metric = 1;</code>
+		 * <code>string Metric = 2;</code>
 		 */
 		public java.lang.String getMetric() {
 			java.lang.Object ref = metric_;
@@ -1706,7 +4520,7 @@ public final class MetricModel {
 		}
 
 		/**
-		 * <code>string Metric = 1;</code>
+		 * <code>string Metric = 2;</code>
 		 */
 		public com.google.protobuf.ByteString getMetricBytes() {
 			java.lang.Object ref = metric_;
@@ -1719,90 +4533,43 @@ public final class MetricModel {
 			}
 		}
 
-		public static final int TAGS_FIELD_NUMBER = 2;
-
-		private static final class TagsDefaultEntryHolder {
-			static final com.google.protobuf.MapEntry<java.lang.String, java.lang.String> defaultEntry = com.google.protobuf.MapEntry.<java.lang.String, java.lang.String> newDefaultInstance(
-					com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_descriptor,
-					com.google.protobuf.WireFormat.FieldType.STRING, "", com.google.protobuf.WireFormat.FieldType.STRING, "");
-		}
-
-		private com.google.protobuf.MapField<java.lang.String, java.lang.String> tags_;
-
-		private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetTags() {
-			if (tags_ == null) {
-				return com.google.protobuf.MapField.emptyMapField(TagsDefaultEntryHolder.defaultEntry);
-			}
-			return tags_;
-		}
-
-		public int getTagsCount() {
-			return internalGetTags().getMap().size();
-		}
-
-		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
-		 */
-
-		public boolean containsTags(java.lang.String key) {
-			if (key == null) {
-				throw new java.lang.NullPointerException();
-			}
-			return internalGetTags().getMap().containsKey(key);
-		}
-
-		/**
-		 * Use {@link #getTagsMap()} instead.
-		 */
-		@java.lang.Deprecated
-		public java.util.Map<java.lang.String, java.lang.String> getTags() {
-			return getTagsMap();
-		}
+		public static final int TAGPAIRS_FIELD_NUMBER = 3;
+		private com.google.protobuf.Internal.IntList tagPairs_;
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-
-		public java.util.Map<java.lang.String, java.lang.String> getTagsMap() {
-			return internalGetTags().getMap();
+		public java.util.List<java.lang.Integer> getTagPairsList() {
+			return tagPairs_;
 		}
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-
-		public java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue) {
-			if (key == null) {
-				throw new java.lang.NullPointerException();
-			}
-			java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
-			return map.containsKey(key) ? map.get(key) : defaultValue;
+		public int getTagPairsCount() {
+			return tagPairs_.size();
 		}
 
 		/**
-		 * <code>map&lt;string, string&gt; tags = 2;</code>
+		 * <pre>
+		 * Array&lt;TagPairDefinition.id&gt;
+		 * </pre>
+		 *
+		 * <code>repeated uint32 tagPairs = 3;</code>
 		 */
-
-		public java.lang.String getTagsOrThrow(java.lang.String key) {
-			if (key == null) {
-				throw new java.lang.NullPointerException();
-			}
-			java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
-			if (!map.containsKey(key)) {
-				throw new java.lang.IllegalArgumentException();
-			}
-			return map.get(key);
+		public int getTagPairs(int index) {
+			return tagPairs_.getInt(index);
 		}
 
-		public static final int VALUE_FIELD_NUMBER = 3;
-		private double value_;
-
-		/**
-		 * <code>double Value = 3;</code>
-		 */
-		public double getValue() {
-			return value_;
-		}
+		private int tagPairsMemoizedSerializedSize = -1;
 
 		private byte memoizedIsInitialized = -1;
 
@@ -1820,13 +4587,19 @@ public final class MetricModel {
 
 		@java.lang.Override
 		public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+			getSerializedSize();
+			if (id_ != 0) {
+				output.writeUInt32(1, id_);
+			}
 			if (!getMetricBytes().isEmpty()) {
-				com.google.protobuf.GeneratedMessageV3.writeString(output, 1, metric_);
+				com.google.protobuf.GeneratedMessageV3.writeString(output, 2, metric_);
 			}
-			com.google.protobuf.GeneratedMessageV3.serializeStringMapTo(output, internalGetTags(),
-					TagsDefaultEntryHolder.defaultEntry, 2);
-			if (value_ != 0D) {
-				output.writeDouble(3, value_);
+			if (getTagPairsList().size() > 0) {
+				output.writeUInt32NoTag(26);
+				output.writeUInt32NoTag(tagPairsMemoizedSerializedSize);
+			}
+			for (int i = 0; i < tagPairs_.size(); i++) {
+				output.writeUInt32NoTag(tagPairs_.getInt(i));
 			}
 			unknownFields.writeTo(output);
 		}
@@ -1838,16 +4611,23 @@ public final class MetricModel {
 				return size;
 
 			size = 0;
-			if (!getMetricBytes().isEmpty()) {
-				size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, metric_);
+			if (id_ != 0) {
+				size += com.google.protobuf.CodedOutputStream.computeUInt32Size(1, id_);
 			}
-			for (java.util.Map.Entry<java.lang.String, java.lang.String> entry : internalGetTags().getMap().entrySet()) {
-				com.google.protobuf.MapEntry<java.lang.String, java.lang.String> tags__ = TagsDefaultEntryHolder.defaultEntry
-						.newBuilderForType().setKey(entry.getKey()).setValue(entry.getValue()).build();
-				size += com.google.protobuf.CodedOutputStream.computeMessageSize(2, tags__);
+			if (!getMetricBytes().isEmpty()) {
+				size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, metric_);
 			}
-			if (value_ != 0D) {
-				size += com.google.protobuf.CodedOutputStream.computeDoubleSize(3, value_);
+			{
+				int dataSize = 0;
+				for (int i = 0; i < tagPairs_.size(); i++) {
+					dataSize += com.google.protobuf.CodedOutputStream.computeUInt32SizeNoTag(tagPairs_.getInt(i));
+				}
+				size += dataSize;
+				if (!getTagPairsList().isEmpty()) {
+					size += 1;
+					size += com.google.protobuf.CodedOutputStream.computeInt32SizeNoTag(dataSize);
+				}
+				tagPairsMemoizedSerializedSize = dataSize;
 			}
 			size += unknownFields.getSerializedSize();
 			memoizedSize = size;
@@ -1859,16 +4639,16 @@ public final class MetricModel {
 			if (obj == this) {
 				return true;
 			}
-			if (!(obj instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric)) {
+			if (!(obj instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition)) {
 				return super.equals(obj);
 			}
-			com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric other = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) obj;
+			com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition other = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition) obj;
 
-			if (!getMetric().equals(other.getMetric()))
+			if (getId() != other.getId())
 				return false;
-			if (!internalGetTags().equals(other.internalGetTags()))
+			if (!getMetric().equals(other.getMetric()))
 				return false;
-			if (java.lang.Double.doubleToLongBits(getValue()) != java.lang.Double.doubleToLongBits(other.getValue()))
+			if (!getTagPairsList().equals(other.getTagPairsList()))
 				return false;
 			if (!unknownFields.equals(other.unknownFields))
 				return false;
@@ -1882,78 +4662,80 @@ public final class MetricModel {
 			}
 			int hash = 41;
 			hash = (19 * hash) + getDescriptor().hashCode();
+			hash = (37 * hash) + ID_FIELD_NUMBER;
+			hash = (53 * hash) + getId();
 			hash = (37 * hash) + METRIC_FIELD_NUMBER;
 			hash = (53 * hash) + getMetric().hashCode();
-			if (!internalGetTags().getMap().isEmpty()) {
-				hash = (37 * hash) + TAGS_FIELD_NUMBER;
-				hash = (53 * hash) + internalGetTags().hashCode();
+			if (getTagPairsCount() > 0) {
+				hash = (37 * hash) + TAGPAIRS_FIELD_NUMBER;
+				hash = (53 * hash) + getTagPairsList().hashCode();
 			}
-			hash = (37 * hash) + VALUE_FIELD_NUMBER;
-			hash = (53 * hash) + com.google.protobuf.Internal.hashLong(java.lang.Double.doubleToLongBits(getValue()));
 			hash = (29 * hash) + unknownFields.hashCode();
 			memoizedHashCode = hash;
 			return hash;
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.nio.ByteBuffer data)
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(java.nio.ByteBuffer data)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.nio.ByteBuffer data,
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(java.nio.ByteBuffer data,
 				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data, extensionRegistry);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
 				com.google.protobuf.ByteString data) throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
 				com.google.protobuf.ByteString data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data, extensionRegistry);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(byte[] data)
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(byte[] data)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(byte[] data,
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(byte[] data,
 				com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 				throws com.google.protobuf.InvalidProtocolBufferException {
 			return PARSER.parseFrom(data, extensionRegistry);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.io.InputStream input)
-				throws java.io.IOException {
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
+				java.io.InputStream input) throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(java.io.InputStream input,
-				com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
+				java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseDelimitedFrom(java.io.InputStream input)
-				throws java.io.IOException {
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseDelimitedFrom(
+				java.io.InputStream input) throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseDelimitedFrom(java.io.InputStream input,
-				com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseDelimitedFrom(
+				java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+				throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input, extensionRegistry);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
 				com.google.protobuf.CodedInputStream input) throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parseFrom(
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parseFrom(
 				com.google.protobuf.CodedInputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 				throws java.io.IOException {
 			return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input, extensionRegistry);
@@ -1968,7 +4750,7 @@ public final class MetricModel {
 			return DEFAULT_INSTANCE.toBuilder();
 		}
 
-		public static Builder newBuilder(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric prototype) {
+		public static Builder newBuilder(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition prototype) {
 			return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
 		}
 
@@ -1985,44 +4767,25 @@ public final class MetricModel {
 
 		/**
 		 * Protobuf type
-		 * {@code com.wl4g.devops.common.bean.umc.model.proto.Metric}
+		 * {@code com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition}
 		 */
 		public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-				// @@protoc_insertion_point(builder_implements:com.wl4g.devops.common.bean.umc.model.proto.Metric)
-				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricOrBuilder {
+				// @@protoc_insertion_point(builder_implements:com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition)
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinitionOrBuilder {
 			public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
-				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
-			}
-
-			@SuppressWarnings({ "rawtypes" })
-			protected com.google.protobuf.MapField internalGetMapField(int number) {
-				switch (number) {
-				case 2:
-					return internalGetTags();
-				default:
-					throw new RuntimeException("Invalid map field number: " + number);
-				}
-			}
-
-			@SuppressWarnings({ "rawtypes" })
-			protected com.google.protobuf.MapField internalGetMutableMapField(int number) {
-				switch (number) {
-				case 2:
-					return internalGetMutableTags();
-				default:
-					throw new RuntimeException("Invalid map field number: " + number);
-				}
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor;
 			}
 
 			@java.lang.Override
 			protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internalGetFieldAccessorTable() {
-				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable
-						.ensureFieldAccessorsInitialized(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.class,
-								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.Builder.class);
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_fieldAccessorTable
+						.ensureFieldAccessorsInitialized(
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.class,
+								com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.Builder.class);
 			}
 
 			// Construct using
-			// com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.newBuilder()
+			// com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.newBuilder()
 			private Builder() {
 				maybeForceBuilderInitialization();
 			}
@@ -2040,27 +4803,28 @@ public final class MetricModel {
 			@java.lang.Override
 			public Builder clear() {
 				super.clear();
-				metric_ = "";
+				id_ = 0;
 
-				internalGetMutableTags().clear();
-				value_ = 0D;
+				metric_ = "";
 
+				tagPairs_ = emptyIntList();
+				bitField0_ = (bitField0_ & ~0x00000001);
 				return this;
 			}
 
 			@java.lang.Override
 			public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
-				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor;
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor;
 			}
 
 			@java.lang.Override
-			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstanceForType() {
-				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.getDefaultInstance();
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getDefaultInstanceForType() {
+				return com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.getDefaultInstance();
 			}
 
 			@java.lang.Override
-			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric build() {
-				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric result = buildPartial();
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition build() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition result = buildPartial();
 				if (!result.isInitialized()) {
 					throw newUninitializedMessageException(result);
 				}
@@ -2068,14 +4832,17 @@ public final class MetricModel {
 			}
 
 			@java.lang.Override
-			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric buildPartial() {
-				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric result = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric(
+			public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition buildPartial() {
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition result = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition(
 						this);
 				int from_bitField0_ = bitField0_;
+				result.id_ = id_;
 				result.metric_ = metric_;
-				result.tags_ = internalGetTags();
-				result.tags_.makeImmutable();
-				result.value_ = value_;
+				if (((bitField0_ & 0x00000001) != 0)) {
+					tagPairs_.makeImmutable();
+					bitField0_ = (bitField0_ & ~0x00000001);
+				}
+				result.tagPairs_ = tagPairs_;
 				onBuilt();
 				return result;
 			}
@@ -2113,24 +4880,33 @@ public final class MetricModel {
 
 			@java.lang.Override
 			public Builder mergeFrom(com.google.protobuf.Message other) {
-				if (other instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) {
-					return mergeFrom((com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) other);
+				if (other instanceof com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition) {
+					return mergeFrom((com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition) other);
 				} else {
 					super.mergeFrom(other);
 					return this;
 				}
 			}
 
-			public Builder mergeFrom(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric other) {
-				if (other == com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric.getDefaultInstance())
+			public Builder mergeFrom(com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition other) {
+				if (other == com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition.getDefaultInstance())
 					return this;
+				if (other.getId() != 0) {
+					setId(other.getId());
+				}
 				if (!other.getMetric().isEmpty()) {
 					metric_ = other.metric_;
 					onChanged();
 				}
-				internalGetMutableTags().mergeFrom(other.internalGetTags());
-				if (other.getValue() != 0D) {
-					setValue(other.getValue());
+				if (!other.tagPairs_.isEmpty()) {
+					if (tagPairs_.isEmpty()) {
+						tagPairs_ = other.tagPairs_;
+						bitField0_ = (bitField0_ & ~0x00000001);
+					} else {
+						ensureTagPairsIsMutable();
+						tagPairs_.addAll(other.tagPairs_);
+					}
+					onChanged();
 				}
 				this.mergeUnknownFields(other.unknownFields);
 				onChanged();
@@ -2145,11 +4921,12 @@ public final class MetricModel {
 			@java.lang.Override
 			public Builder mergeFrom(com.google.protobuf.CodedInputStream input,
 					com.google.protobuf.ExtensionRegistryLite extensionRegistry) throws java.io.IOException {
-				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric parsedMessage = null;
+				com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition parsedMessage = null;
 				try {
 					parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
 				} catch (com.google.protobuf.InvalidProtocolBufferException e) {
-					parsedMessage = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric) e.getUnfinishedMessage();
+					parsedMessage = (com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition) e
+							.getUnfinishedMessage();
 					throw e.unwrapIOException();
 				} finally {
 					if (parsedMessage != null) {
@@ -2161,10 +4938,39 @@ public final class MetricModel {
 
 			private int bitField0_;
 
+			private int id_;
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public int getId() {
+				return id_;
+			}
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public Builder setId(int value) {
+
+				id_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>uint32 id = 1;</code>
+			 */
+			public Builder clearId() {
+
+				id_ = 0;
+				onChanged();
+				return this;
+			}
+
 			private java.lang.Object metric_ = "";
 
 			/**
-			 * <code>string Metric = 1;</code>
+			 * <code>string Metric = 2;</code>
 			 */
 			public java.lang.String getMetric() {
 				java.lang.Object ref = metric_;
@@ -2179,7 +4985,7 @@ public final class MetricModel {
 			}
 
 			/**
-			 * <code>string Metric = 1;</code>
+			 * <code>string Metric = 2;</code>
 			 */
 			public com.google.protobuf.ByteString getMetricBytes() {
 				java.lang.Object ref = metric_;
@@ -2193,7 +4999,7 @@ public final class MetricModel {
 			}
 
 			/**
-			 * <code>string Metric = 1;</code>
+			 * <code>string Metric = 2;</code>
 			 */
 			public Builder setMetric(java.lang.String value) {
 				if (value == null) {
@@ -2206,7 +5012,7 @@ public final class MetricModel {
 			}
 
 			/**
-			 * <code>string Metric = 1;</code>
+			 * <code>string Metric = 2;</code>
 			 */
 			public Builder clearMetric() {
 
@@ -2216,7 +5022,7 @@ public final class MetricModel {
 			}
 
 			/**
-			 * <code>string Metric = 1;</code>
+			 * <code>string Metric = 2;</code>
 			 */
 			public Builder setMetricBytes(com.google.protobuf.ByteString value) {
 				if (value == null) {
@@ -2229,158 +5035,100 @@ public final class MetricModel {
 				return this;
 			}
 
-			private com.google.protobuf.MapField<java.lang.String, java.lang.String> tags_;
-
-			private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetTags() {
-				if (tags_ == null) {
-					return com.google.protobuf.MapField.emptyMapField(TagsDefaultEntryHolder.defaultEntry);
-				}
-				return tags_;
-			}
-
-			private com.google.protobuf.MapField<java.lang.String, java.lang.String> internalGetMutableTags() {
-				onChanged();
-				;
-				if (tags_ == null) {
-					tags_ = com.google.protobuf.MapField.newMapField(TagsDefaultEntryHolder.defaultEntry);
-				}
-				if (!tags_.isMutable()) {
-					tags_ = tags_.copy();
-				}
-				return tags_;
-			}
-
-			public int getTagsCount() {
-				return internalGetTags().getMap().size();
-			}
-
-			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
-			 */
-
-			public boolean containsTags(java.lang.String key) {
-				if (key == null) {
-					throw new java.lang.NullPointerException();
-				}
-				return internalGetTags().getMap().containsKey(key);
-			}
-
-			/**
-			 * Use {@link #getTagsMap()} instead.
-			 */
-			@java.lang.Deprecated
-			public java.util.Map<java.lang.String, java.lang.String> getTags() {
-				return getTagsMap();
-			}
-
-			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
-			 */
-
-			public java.util.Map<java.lang.String, java.lang.String> getTagsMap() {
-				return internalGetTags().getMap();
-			}
-
-			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
-			 */
+			private com.google.protobuf.Internal.IntList tagPairs_ = emptyIntList();
 
-			public java.lang.String getTagsOrDefault(java.lang.String key, java.lang.String defaultValue) {
-				if (key == null) {
-					throw new java.lang.NullPointerException();
+			private void ensureTagPairsIsMutable() {
+				if (!((bitField0_ & 0x00000001) != 0)) {
+					tagPairs_ = mutableCopy(tagPairs_);
+					bitField0_ |= 0x00000001;
 				}
-				java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
-				return map.containsKey(key) ? map.get(key) : defaultValue;
 			}
 
 			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-
-			public java.lang.String getTagsOrThrow(java.lang.String key) {
-				if (key == null) {
-					throw new java.lang.NullPointerException();
-				}
-				java.util.Map<java.lang.String, java.lang.String> map = internalGetTags().getMap();
-				if (!map.containsKey(key)) {
-					throw new java.lang.IllegalArgumentException();
-				}
-				return map.get(key);
-			}
-
-			public Builder clearTags() {
-				internalGetMutableTags().getMutableMap().clear();
-				return this;
+			public java.util.List<java.lang.Integer> getTagPairsList() {
+				return ((bitField0_ & 0x00000001) != 0) ? java.util.Collections.unmodifiableList(tagPairs_) : tagPairs_;
 			}
 
 			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-
-			public Builder removeTags(java.lang.String key) {
-				if (key == null) {
-					throw new java.lang.NullPointerException();
-				}
-				internalGetMutableTags().getMutableMap().remove(key);
-				return this;
+			public int getTagPairsCount() {
+				return tagPairs_.size();
 			}
 
 			/**
-			 * Use alternate mutation accessors instead.
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-			@java.lang.Deprecated
-			public java.util.Map<java.lang.String, java.lang.String> getMutableTags() {
-				return internalGetMutableTags().getMutableMap();
+			public int getTagPairs(int index) {
+				return tagPairs_.getInt(index);
 			}
 
 			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-			public Builder putTags(java.lang.String key, java.lang.String value) {
-				if (key == null) {
-					throw new java.lang.NullPointerException();
-				}
-				if (value == null) {
-					throw new java.lang.NullPointerException();
-				}
-				internalGetMutableTags().getMutableMap().put(key, value);
+			public Builder setTagPairs(int index, int value) {
+				ensureTagPairsIsMutable();
+				tagPairs_.setInt(index, value);
+				onChanged();
 				return this;
 			}
 
 			/**
-			 * <code>map&lt;string, string&gt; tags = 2;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-
-			public Builder putAllTags(java.util.Map<java.lang.String, java.lang.String> values) {
-				internalGetMutableTags().getMutableMap().putAll(values);
+			public Builder addTagPairs(int value) {
+				ensureTagPairsIsMutable();
+				tagPairs_.addInt(value);
+				onChanged();
 				return this;
 			}
 
-			private double value_;
-
-			/**
-			 * <code>double Value = 3;</code>
-			 */
-			public double getValue() {
-				return value_;
-			}
-
 			/**
-			 * <code>double Value = 3;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-			public Builder setValue(double value) {
-
-				value_ = value;
+			public Builder addAllTagPairs(java.lang.Iterable<? extends java.lang.Integer> values) {
+				ensureTagPairsIsMutable();
+				com.google.protobuf.AbstractMessageLite.Builder.addAll(values, tagPairs_);
 				onChanged();
 				return this;
 			}
 
 			/**
-			 * <code>double Value = 3;</code>
+			 * <pre>
+			 * Array&lt;TagPairDefinition.id&gt;
+			 * </pre>
+			 *
+			 * <code>repeated uint32 tagPairs = 3;</code>
 			 */
-			public Builder clearValue() {
-
-				value_ = 0D;
+			public Builder clearTagPairs() {
+				tagPairs_ = emptyIntList();
+				bitField0_ = (bitField0_ & ~0x00000001);
 				onChanged();
 				return this;
 			}
@@ -2395,39 +5143,39 @@ public final class MetricModel {
 				return super.mergeUnknownFields(unknownFields);
 			}
 
-			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.Metric)
+			// @@protoc_insertion_point(builder_scope:com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition)
 		}
 
-		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.Metric)
-		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric DEFAULT_INSTANCE;
+		// @@protoc_insertion_point(class_scope:com.wl4g.devops.common.bean.umc.model.proto.SeriesDefinition)
+		private static final com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition DEFAULT_INSTANCE;
 		static {
-			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric();
+			DEFAULT_INSTANCE = new com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition();
 		}
 
-		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstance() {
+		public static com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getDefaultInstance() {
 			return DEFAULT_INSTANCE;
 		}
 
-		private static final com.google.protobuf.Parser<Metric> PARSER = new com.google.protobuf.AbstractParser<Metric>() {
+		private static final com.google.protobuf.Parser<SeriesDefinition> PARSER = new com.google.protobuf.AbstractParser<SeriesDefinition>() {
 			@java.lang.Override
-			public Metric parsePartialFrom(com.google.protobuf.CodedInputStream input,
+			public SeriesDefinition parsePartialFrom(com.google.protobuf.CodedInputStream input,
 					com.google.protobuf.ExtensionRegistryLite extensionRegistry)
 					throws com.google.protobuf.InvalidProtocolBufferException {
-				return new Metric(input, extensionRegistry);
+				return new SeriesDefinition(input, extensionRegistry);
 			}
 		};
 
-		public static com.google.protobuf.Parser<Metric> parser() {
+		public static com.google.protobuf.Parser<SeriesDefinition> parser() {
 			return PARSER;
 		}
 
 		@java.lang.Override
-		public com.google.protobuf.Parser<Metric> getParserForType() {
+		public com.google.protobuf.Parser<SeriesDefinition> getParserForType() {
 			return PARSER;
 		}
 
 		@java.lang.Override
-		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric getDefaultInstanceForType() {
+		public com.wl4g.devops.common.bean.umc.model.proto.MetricModel.SeriesDefinition getDefaultInstanceForType() {
 			return DEFAULT_INSTANCE;
 		}
 
@@ -2439,6 +5187,10 @@ public final class MetricModel {
 	private static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable;
 	private static final com.google.protobuf.Descriptors.Descriptor internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_descriptor;
 	private static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_fieldAccessorTable;
+	private static final com.google.protobuf.Descriptors.Descriptor internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor;
+	private static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_fieldAccessorTable;
+	private static final com.google.protobuf.Descriptors.Descriptor internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor;
+	private static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_fieldAccessorTable;
 
 	public static com.google.protobuf.Descriptors.FileDescriptor getDescriptor() {
 		return descriptor;
@@ -2447,31 +5199,49 @@ public final class MetricModel {
 	private static com.google.protobuf.Descriptors.FileDescriptor descriptor;
 	static {
 		java.lang.String[] descriptorData = { "\n>com/wl4g/devops/common/bean/umc/model/"
-				+ "proto/metric_model.proto\022+com.wl4g.devop" + "s.common.bean.umc.model.proto\"\257\001\n\017Metric"
+				+ "proto/metric_model.proto\022+com.wl4g.devop" + "s.common.bean.umc.model.proto\"\344\002\n\017Metric"
 				+ "Aggregate\022\020\n\010classify\030\001 \001(\t\022\014\n\004host\030\002 \001("
 				+ "\t\022\020\n\010endpoint\030\003 \001(\t\022\021\n\tnamespace\030\004 \001(\t\022\021"
 				+ "\n\ttimestamp\030\005 \001(\003\022D\n\007metrics\030\006 \003(\01323.com"
 				+ ".wl4g.devops.common.bean.umc.model.proto"
-				+ ".Metric\"\241\001\n\006Metric\022\016\n\006Metric\030\001 \001(\t\022K\n\004ta"
-				+ "gs\030\002 \003(\0132=.com.wl4g.devops.common.bean.u" + "mc.model.proto.Metric.TagsEntry\022\r\n\005Value"
-				+ "\030\003 \001(\001\032+\n\tTagsEntry\022\013\n\003key\030\001 \001(\t\022\r\n\005valu"
-				+ "e\030\002 \001(\t:\0028\001b\006proto3" };
+				+ ".Metric\022\022\n\ndictionary\030\007 \001(\003\022P\n\010tagPairs\030"
+				+ "\010 \003(\0132>.com.wl4g.devops.common.bean.umc." + "model.proto.TagPairDefinition\022M\n\006series\030"
+				+ "\t \003(\0132=.com.wl4g.devops.common.bean.umc." + "model.proto.SeriesDefinition\"\261\001\n\006Metric\022"
+				+ "\016\n\006Metric\030\001 \001(\t\022K\n\004tags\030\002 \003(\0132=.com.wl4g"
+				+ ".devops.common.bean.umc.model.proto.Metr"
+				+ "ic.TagsEntry\022\r\n\005Value\030\003 \001(\001\022\016\n\006series\030\004 "
+				+ "\001(\r\032+\n\tTagsEntry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002"
+				+ " \001(\t:\0028\001\";\n\021TagPairDefinition\022\n\n\002id\030\001 \001("
+				+ "\r\022\013\n\003key\030\002 \001(\t\022\r\n\005value\030\003 \001(\t\"@\n\020SeriesD"
+				+ "efinition\022\n\n\002id\030\001 \001(\r\022\016\n\006Metric\030\002 \001(\t\022\020\n"
+				+ "\010tagPairs\030\003 \003(\rb\006proto3" };
 		descriptor = com.google.protobuf.Descriptors.FileDescriptor.internalBuildGeneratedFileFrom(descriptorData,
 				new com.google.protobuf.Descriptors.FileDescriptor[] {});
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_MetricAggregate_descriptor = getDescriptor().getMessageTypes()
 				.get(0);
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_MetricAggregate_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
 				internal_static_com_wl4g_devops_common_bean_umc_model_proto_MetricAggregate_descriptor,
-				new java.lang.String[] { "Classify", "Host", "Endpoint", "Namespace", "Timestamp", "Metrics", });
+				new java.lang.String[] { "Classify", "Host", "Endpoint", "Namespace", "Timestamp", "Metrics", "Dictionary",
+						"TagPairs", "Series", });
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor = getDescriptor().getMessageTypes().get(1);
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
 				internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor,
-				new java.lang.String[] { "Metric", "Tags", "Value", });
+				new java.lang.String[] { "Metric", "Tags", "Value", "Series", });
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_descriptor = internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_descriptor
 				.getNestedTypes().get(0);
 		internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
 				internal_static_com_wl4g_devops_common_bean_umc_model_proto_Metric_TagsEntry_descriptor,
 				new java.lang.String[] { "Key", "Value", });
+		internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor = getDescriptor()
+				.getMessageTypes().get(2);
+		internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+				internal_static_com_wl4g_devops_common_bean_umc_model_proto_TagPairDefinition_descriptor,
+				new java.lang.String[] { "Id", "Key", "Value", });
+		internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor = getDescriptor()
+				.getMessageTypes().get(3);
+		internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_fieldAccessorTable = new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+				internal_static_com_wl4g_devops_common_bean_umc_model_proto_SeriesDefinition_descriptor,
+				new java.lang.String[] { "Id", "Metric", "TagPairs", });
 	}
 
 	// @@protoc_insertion_point(outer_class_scope)
@@ -145,6 +145,10 @@ public abstract class IAMDevOpsConstants extends DevOpsConstants {
 	 * IAM server authentication session stored cache name.
 	 */
 	final public static String CACHE_SESSION = "session_";
+	/**
+	 * IAM session secondary index(principal => sessionIds) cache name.
+	 */
+	final public static String CACHE_SESSION_PRINCIPAL_INDEX = "sessidx_principal_";
 	/**
 	 * IAM server authentication authorization information storage cache name.
 	 */
@@ -42,6 +42,15 @@ public abstract class UMCDevOpsConstants extends DevOpsConstants {
 	/** HTTP receiver metric end-point URI.(corresponding to agent collector) */
 	final public static String URI_HTTP_RECEIVER_ENDPOINT = "metric";
 
+	/** HTTP receiver request header of the sender tag dictionary id. */
+	final public static String HEADER_TAG_DICTIONARY = "X-Umc-Tag-Dictionary";
+
+	/**
+	 * HTTP receiver response header, requests the sender to re-send the tag
+	 * dictionary definitions.
+	 */
+	final public static String HEADER_TAG_DICTIONARY_RESYNC = "X-Umc-Tag-Dictionary-Resync";
+
 	//
 	// UMC alarm definition.
 	//
@@ -51,6 +60,12 @@ public abstract class UMCDevOpsConstants extends DevOpsConstants {
 	 */
 	final public static String KEY_CACHE_ALARM_TPLS = "umc_alarm_tpls_";
 
+	/**
+	 * UMC Alarm templates version(counter) key, increased when the alarm
+	 * templates/configurations changed.
+	 */
+	final public static String KEY_CACHE_ALARM_TPLS_VERSION = "umc_alarm_tpls_version";
+
 	/**
 	 * UMC alarm metric value in time window queue key prefix.
 	 */
@@ -61,6 +76,22 @@ public abstract class UMCDevOpsConstants extends DevOpsConstants {
 	 */
 	final public static String KEY_CACHE_ALARM_METRIC_QUEUE_SIMULATE = "umc_alarm_queue_simulate_";
 
+	/**
+	 * UMC alarm in-memory time window nodes membership(heartbeat) key.
+	 */
+	final public static String KEY_CACHE_ALARM_WINDOW_NODES = "umc_alarm_window_nodes";
+
+	/**
+	 * UMC alarm in-memory time window snapshot key prefix.
+	 */
+	final public static String KEY_CACHE_ALARM_WINDOW_SNAPSHOT = "umc_alarm_window_snapshot_";
+
+	/**
+	 * UMC alarm metric aggregates forwarded to the owner node inbox key
+	 * prefix.
+	 */
+	final public static String KEY_CACHE_ALARM_WINDOW_INBOX = "umc_alarm_window_inbox_";
+
 	/**
 	 * KAFKA receiver metric topic pattern.(corresponding to agent collector)
 	 */
@@ -24,15 +24,18 @@ import io.protostuff.Schema;
 import io.protostuff.runtime.RuntimeSchema;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.springframework.objenesis.Objenesis;
 import org.springframework.objenesis.ObjenesisStd;
@@ -46,10 +49,17 @@ import org.springframework.objenesis.ObjenesisStd;
  */
 public abstract class ProtostuffUtils {
 
+	/**
+	 * Initial size of the thread-local buffer, which covers the most cached
+	 * objects(e.g. tickets, principal infos), so that no more buffer nodes
+	 * are allocated by the serialization.
+	 */
+	final public static int DEFAULT_BUFFER_SIZE = 4096;
+
 	/**
 	 * Class sets requiring serialization/deserialization using wrapper classes
 	 */
-	final private static List<Class<?>> warpperSet = new ArrayList<>(16);
+	final private static Set<Class<?>> warpperSet = new HashSet<>(32);
 
 	/**
 	 * Serialized/deserialized wrapper class Schema objects
@@ -60,7 +70,7 @@ public abstract class ProtostuffUtils {
 	/**
 	 * Caching object and object schema information set
 	 */
-	final private static Map<Class<?>, Schema<?>> schemaCache = Maps.newConcurrentMap();
+	final private static ConcurrentMap<Class<?>, Schema<?>> schemaCache = Maps.newConcurrentMap();
 
 	/**
 	 * Spring packaging compatible object creator
@@ -70,7 +80,8 @@ public abstract class ProtostuffUtils {
 	/**
 	 * Improving memory allocation speed by using current thread pool caching
 	 */
-	final private static ThreadLocal<LinkedBuffer> bufferCache = ThreadLocal.withInitial(() -> LinkedBuffer.allocate());
+	final private static ThreadLocal<LinkedBuffer> bufferCache = ThreadLocal
+			.withInitial(() -> LinkedBuffer.allocate(DEFAULT_BUFFER_SIZE));
 
 	static {
 		// Predefined objects that Protostuff cannot directly
@@ -179,8 +190,7 @@ public abstract class ProtostuffUtils {
 	private static <T> Schema<T> getSchema(Class<T> cls) {
 		Schema<T> schema = (Schema<T>) schemaCache.get(cls);
 		if (schema == null) {
-			schema = RuntimeSchema.createFrom(cls);
-			schemaCache.put(cls, schema);
+			schema = (Schema<T>) schemaCache.computeIfAbsent(cls, RuntimeSchema::createFrom);
 		}
 		return schema;
 	}
@@ -197,15 +207,15 @@ public abstract class ProtostuffUtils {
 		Object object = null;
 		if (isSimpleType(clazz)) {
 			if (clazz == int.class || clazz == Integer.class) {
-				object = Integer.valueOf(new String(bytes));
+				object = Integer.valueOf(new String(bytes, Charsets.UTF_8));
 			} else if (clazz == long.class || clazz == Long.class) {
-				object = Long.valueOf(new String(bytes));
+				object = Long.valueOf(new String(bytes, Charsets.UTF_8));
 			} else if (clazz == double.class || clazz == Double.class) {
-				object = Double.valueOf(new String(bytes));
+				object = Double.valueOf(new String(bytes, Charsets.UTF_8));
 			} else if (clazz == byte.class || clazz == Byte.class) {
-				object = Byte.valueOf(new String(bytes));
+				object = Byte.valueOf(new String(bytes, Charsets.UTF_8));
 			} else if (clazz == String.class) {
-				object = new String(bytes);
+				object = new String(bytes, Charsets.UTF_8);
 			}
 		}
 		return (T) object;
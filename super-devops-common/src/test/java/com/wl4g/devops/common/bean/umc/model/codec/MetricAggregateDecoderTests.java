@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+/**
+ * {@link MetricAggregateDecoder} tests and benchmark against
+ * {@link MetricAggregate#parseFrom(byte[])}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class MetricAggregateDecoderTests {
+
+	public static void main(String[] args) throws Exception {
+		byte[] data = newAggregate(64).toByteArray();
+		decodeEqualsTest1(data);
+		decodeBenchmarkTest2(data, 5, 200_000);
+	}
+
+	private static void decodeEqualsTest1(byte[] data) throws Exception {
+		MetricAggregateView view = MetricAggregateDecoder.DEFAULT.decode(data, new MetricAggregateView());
+		if (!MetricAggregate.parseFrom(data).equals(view.toAggregate())) {
+			throw new IllegalStateException("Decoded view is not equals to original aggregate.");
+		}
+		System.out.println("Decode equals test passed, metrics: " + view.size());
+	}
+
+	private static void decodeBenchmarkTest2(byte[] data, int rounds, int iterations) throws Exception {
+		MetricAggregateView view = new MetricAggregateView();
+		for (int r = 0; r < rounds; r++) {
+			long blackhole = 0;
+			long begin = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				MetricAggregate aggregate = MetricAggregate.parseFrom(data);
+				for (Metric metric : aggregate.getMetricsList()) {
+					blackhole += metric.getTagsMap().size() + (long) metric.getValue();
+				}
+			}
+			long parseCost = System.nanoTime() - begin;
+
+			begin = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				MetricAggregateDecoder.DEFAULT.decode(data, view);
+				for (int j = 0, size = view.size(); j < size; j++) {
+					blackhole += view.get(j).getTagSize() + (long) view.get(j).getValue();
+				}
+			}
+			long decodeCost = System.nanoTime() - begin;
+
+			System.out.println(String.format("Round %s - parseFrom: %.1fns/op, decoder: %.1fns/op, (%s)", r,
+					(double) parseCost / iterations, (double) decodeCost / iterations, blackhole));
+		}
+	}
+
+	private static MetricAggregate newAggregate(int metrics) {
+		MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify("redis").setHost("10.0.0.160")
+				.setEndpoint("6379").setNamespace("default").setTimestamp(System.currentTimeMillis());
+		for (int i = 0; i < metrics; i++) {
+			Map<String, String> tags = new HashMap<>();
+			tags.put("instance", "node" + (i % 4));
+			tags.put("role", i % 2 == 0 ? "master" : "slave");
+			builder.addMetrics(
+					Metric.newBuilder().setMetric("redis.metric" + i).putAllTags(tags).setValue(i * 1.5d).build());
+		}
+		return builder.build();
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.common.bean.umc.model.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+/**
+ * {@link TagDictionaryEncoder} and {@link TagDictionary} tests, and the wire
+ * size and decoding benchmark against the plain encoding.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月14日
+ * @since
+ */
+public class TagDictionaryEncoderTests {
+
+	public static void main(String[] args) throws Exception {
+		roundTripTest1();
+		resyncTest2();
+		plainFallbackTest3();
+		sizeAndDecodeBenchmarkTest4(5, 200_000);
+		generatedModelTest5();
+		acknowledgeTest6();
+	}
+
+	private static void roundTripTest1() throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder();
+		MetricAggregateDecoder decoder = new MetricAggregateDecoder(new SymbolTable(1024), new TagDictionary());
+		MetricAggregateView view = new MetricAggregateView();
+		for (int i = 0; i < 3; i++) {
+			MetricAggregate aggregate = newAggregate(64, i);
+			decoder.decode(encoder.encode(aggregate), view);
+			assertState(view.getUnresolved() == 0, "Unexpected unresolved series: " + view.getUnresolved());
+			assertState(aggregate.equals(view.toAggregate()), "Decoded view is not equals to original aggregate.");
+			MetricAggregateView copied = new MetricAggregateView().copyFrom(view);
+			assertState(aggregate.equals(copied.toAggregate()), "Copied view is not equals to original aggregate.");
+		}
+		// The canonical tag strings are shared by series.
+		assertState(view.get(0).getTag("role") == view.get(2).getTag("role"), "Tag values are not interned.");
+		System.out.println("Round trip test passed, series: " + encoder.getSeries());
+	}
+
+	private static void resyncTest2() throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder();
+		MetricAggregate aggregate = newAggregate(16, 0);
+		encoder.encode(aggregate); // Announced, but lost.
+
+		// e.g. Receiver restarted.
+		TagDictionary dictionary = new TagDictionary();
+		MetricAggregateDecoder decoder = new MetricAggregateDecoder(new SymbolTable(1024), dictionary);
+		MetricAggregateView view = decoder.decode(encoder.encode(aggregate), new MetricAggregateView());
+		assertState(view.size() == 0 && view.getUnresolved() == 16, "Expected unresolved series, but was: " + view);
+		assertState(dictionary.takeResync(encoder.getDictionary()), "Expected re-sync request.");
+		assertState(!dictionary.takeResync(encoder.getDictionary()), "Re-sync request is not cleared.");
+
+		encoder.resync();
+		decoder.decode(encoder.encode(aggregate), view);
+		assertState(aggregate.equals(view.toAggregate()), "Re-synced view is not equals to original aggregate.");
+		System.out.println("Resync test passed, unresolved: " + dictionary.getUnresolved());
+	}
+
+	private static void plainFallbackTest3() throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder(1L, 8, 60_000L);
+		MetricAggregateDecoder decoder = new MetricAggregateDecoder(new SymbolTable(1024), new TagDictionary());
+		MetricAggregate aggregate = newAggregate(32, 0);
+		MetricAggregateView view = decoder.decode(encoder.encode(aggregate), new MetricAggregateView());
+		assertState(aggregate.equals(view.toAggregate()), "Mixed encoded view is not equals to original aggregate.");
+		assertState(view.get(0).getSeries() != 0 && view.get(31).getSeries() == 0, "Expected mixed encoding.");
+		System.out.println("Plain fallback test passed, series: " + encoder.getSeries());
+	}
+
+	private static void sizeAndDecodeBenchmarkTest4(int rounds, int iterations) throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder();
+		MetricAggregateDecoder decoder = new MetricAggregateDecoder(new SymbolTable(8192), new TagDictionary());
+		MetricAggregate aggregate = newAggregate(64, 0);
+		byte[] plain = aggregate.toByteArray();
+		byte[] first = encoder.encode(aggregate);
+		decoder.decode(first, new MetricAggregateView());
+		byte[] encoded = encoder.encode(aggregate);
+		System.out.println(String.format("Wire size - plain: %s, first(definitions): %s, encoded: %s bytes", plain.length,
+				first.length, encoded.length));
+
+		MetricAggregateView view = new MetricAggregateView();
+		for (int r = 0; r < rounds; r++) {
+			long blackhole = 0;
+			long begin = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				decoder.decode(plain, view);
+				blackhole += view.get(view.size() - 1).getTagSize();
+			}
+			long plainCost = System.nanoTime() - begin;
+
+			begin = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				decoder.decode(encoded, view);
+				blackhole += view.get(view.size() - 1).getTagSize();
+			}
+			long encodedCost = System.nanoTime() - begin;
+
+			System.out.println(String.format("Round %s - plain: %.1fns/op, dictionary: %.1fns/op, (%s)", r,
+					(double) plainCost / iterations, (double) encodedCost / iterations, blackhole));
+		}
+	}
+
+	private static void generatedModelTest5() throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder();
+		MetricAggregate aggregate = newAggregate(8, 0);
+
+		// The dictionary fields are also readable by the generated model.
+		MetricAggregate first = MetricAggregate.parseFrom(encoder.encode(aggregate));
+		assertState(first.getDictionary() == encoder.getDictionary(), "Unexpected dictionary: " + first.getDictionary());
+		assertState(first.getSeriesCount() == 8 && first.getTagPairsCount() > 0, "Expected definitions, but was: " + first);
+		assertState(first.getMetrics(0).getSeries() == first.getSeries(0).getId(), "Unexpected series of " + first);
+		assertState(first.getMetrics(0).getMetric().isEmpty(), "Metric name of series is not omitted.");
+
+		MetricAggregate second = MetricAggregate.parseFrom(encoder.encode(aggregate));
+		assertState(second.getSeriesCount() == 0 && second.getTagPairsCount() == 0, "Unexpected definitions of " + second);
+		System.out.println("Generated model test passed, first: " + first.getSerializedSize() + " bytes, second: "
+				+ second.getSerializedSize() + " bytes");
+	}
+
+	private static void acknowledgeTest6() throws Exception {
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder(true);
+		MetricAggregate aggregate = newAggregate(8, 0);
+
+		// The definitions are embedded until acknowledged.
+		encoder.encode(aggregate); // Not accepted, e.g. rejected by receiver.
+		MetricAggregate second = MetricAggregate.parseFrom(encoder.encode(aggregate));
+		assertState(second.getSeriesCount() == 8, "Unacknowledged definitions are not embedded of " + second);
+		encoder.acknowledge();
+		MetricAggregate third = MetricAggregate.parseFrom(encoder.encode(aggregate));
+		assertState(third.getSeriesCount() == 0 && third.getTagPairsCount() == 0, "Unexpected definitions of " + third);
+
+		// e.g. Receiver restarted after acknowledged.
+		TagDictionary dictionary = new TagDictionary();
+		MetricAggregateDecoder decoder = new MetricAggregateDecoder(new SymbolTable(1024), dictionary);
+		MetricAggregateView view = decoder.decode(encoder.encode(aggregate), new MetricAggregateView());
+		assertState(view.getUnresolved() == 8, "Expected unresolved series, but was: " + view);
+		assertState(dictionary.takeResync(encoder.getDictionary()), "Expected re-sync request.");
+		encoder.resync();
+		decoder.decode(encoder.encode(aggregate), view);
+		assertState(view.getUnresolved() == 0 && aggregate.equals(view.toAggregate()), "Unexpected re-synced view: " + view);
+		System.out.println("Acknowledge test passed, unresolved: " + dictionary.getUnresolved());
+	}
+
+	private static MetricAggregate newAggregate(int metrics, int seq) {
+		MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify("redis").setHost("10.0.0.160")
+				.setEndpoint("6379").setNamespace("default").setTimestamp(System.currentTimeMillis());
+		for (int i = 0; i < metrics; i++) {
+			Map<String, String> tags = new HashMap<>();
+			tags.put("instance", "node" + (i % 4));
+			tags.put("role", i % 2 == 0 ? "master" : "slave");
+			tags.put("cluster", "cluster-" + (i % 3));
+			builder.addMetrics(
+					Metric.newBuilder().setMetric("redis.metric" + i).putAllTags(tags).setValue(i * 1.5d + seq).build());
+		}
+		return builder.build();
+	}
+
+	private static void assertState(boolean expression, String message) {
+		if (!expression) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
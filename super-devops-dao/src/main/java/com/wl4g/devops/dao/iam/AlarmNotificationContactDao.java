@@ -16,6 +16,7 @@
 package com.wl4g.devops.dao.iam;
 
 import com.wl4g.devops.common.bean.iam.AlarmNotificationContact;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -26,6 +27,8 @@ public interface AlarmNotificationContactDao {
 
 	int insertSelective(AlarmNotificationContact record);
 
+	int insertBatch(@Param("notificationContacts") List<AlarmNotificationContact> notificationContacts);
+
 	AlarmNotificationContact selectByPrimaryKey(Integer id);
 
 	int updateByPrimaryKeySelective(AlarmNotificationContact record);
@@ -19,6 +19,7 @@ package com.wl4g.devops.dao.share;
 import com.wl4g.devops.common.bean.share.AppInstance;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 public interface AppInstanceDao {
@@ -40,4 +41,10 @@ public interface AppInstanceDao {
 
     List<AppInstance> selectByClusterIdAndEnvType(@Param("clusterId") Integer clusterId,@Param("envType") String envType);
 
+    /**
+     * Select the instances(including deleted) changed since the time, all if null.
+     * Only the watching meta columns are selected(without the ssh keys).
+     */
+    List<AppInstance> selectChangedSince(@Param("since") Date since);
+
 }
\ No newline at end of file
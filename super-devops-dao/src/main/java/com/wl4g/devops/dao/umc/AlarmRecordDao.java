@@ -27,6 +27,8 @@ public interface AlarmRecordDao {
 
 	int insertSelective(AlarmRecord record);
 
+	int insertBatch(@Param("records") List<AlarmRecord> records);
+
 	AlarmRecord selectByPrimaryKey(Integer id);
 
 	int updateByPrimaryKeySelective(AlarmRecord record);
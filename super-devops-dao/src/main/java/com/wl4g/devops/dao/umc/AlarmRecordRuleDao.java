@@ -16,6 +16,9 @@
 package com.wl4g.devops.dao.umc;
 
 import com.wl4g.devops.common.bean.umc.AlarmRecordRule;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 public interface AlarmRecordRuleDao {
 	int deleteByPrimaryKey(Integer id);
@@ -24,6 +27,8 @@ public interface AlarmRecordRuleDao {
 
 	int insertSelective(AlarmRecordRule record);
 
+	int insertBatch(@Param("recordRules") List<AlarmRecordRule> recordRules);
+
 	AlarmRecordRule selectByPrimaryKey(Integer id);
 
 	int updateByPrimaryKeySelective(AlarmRecordRule record);
@@ -22,7 +22,6 @@ import com.wl4g.devops.iam.captcha.jigsaw.JigsawImageManager;
 import com.wl4g.devops.iam.captcha.verification.GifSecurityVerifier;
 import com.wl4g.devops.iam.captcha.verification.JigsawSecurityVerifier;
 import com.wl4g.devops.iam.verification.SimpleJPEGSecurityVerifier;
-import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
 
 @Configuration
 public class CaptchaAutoConfiguration {
@@ -46,8 +45,8 @@ public class CaptchaAutoConfiguration {
 	// --- Jigsaw ---
 
 	@Bean
-	public JigsawImageManager jigsawImageManager(CaptchaProperties config, JedisLockManager lockManager) {
-		return new JigsawImageManager(config, lockManager);
+	public JigsawImageManager jigsawImageManager(CaptchaProperties config) {
+		return new JigsawImageManager(config);
 	}
 
 	@Bean
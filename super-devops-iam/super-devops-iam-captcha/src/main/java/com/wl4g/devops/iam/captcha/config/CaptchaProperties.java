@@ -97,9 +97,15 @@ public class CaptchaProperties {
 		/** Jigsaw image cache pool size. */
 		private int poolImgSize = 64;
 
-		/** Jigsaw image cache expireMs. */
+		/** Jigsaw image pool refresh(expire) seconds. */
 		private int poolImgExpireSec = 2 * 60;
 
+		/**
+		 * Parallelism of the jigsaw image pool generator, default(<=0) is the
+		 * number of processors.
+		 */
+		private int poolGenerateParallelism = 0;
+
 		/** Source image directory. */
 		private String sourceDir;
 
@@ -122,6 +128,14 @@ public class CaptchaProperties {
 			this.poolImgExpireSec = poolExpireMs;
 		}
 
+		public int getPoolGenerateParallelism() {
+			return poolGenerateParallelism;
+		}
+
+		public void setPoolGenerateParallelism(int poolGenerateParallelism) {
+			this.poolGenerateParallelism = poolGenerateParallelism;
+		}
+
 		public String getSourceDir() {
 			return sourceDir;
 		}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.captcha.gif;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * Fast animated GIF encoder of the CAPTCHA.<br/>
+ * Instead of quantizing(NeuQuant) each frame, all frames are mapped to the
+ * fixed precomputed palette(global color table) of the CAPTCHA color space by
+ * a 15-bit lookup table, the LZW hash tables and the output buffers are
+ * reused per thread, and the frames are rendered and encoded in parallel.
+ *
+ * <pre>
+ * FastGifEncoder.getDefault().encode(out, 150, 40, 5, 100, 0, i -> renderFrame(i));
+ * </pre>
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月21日
+ * @since
+ */
+public class FastGifEncoder {
+
+	/**
+	 * Channel levels of the palette color cube, which are denser in the dark
+	 * range of the CAPTCHA font colors, and includes white(background).
+	 */
+	final private static int[] LEVELS = { 20, 64, 108, 152, 204, 255 };
+
+	/**
+	 * Fixed palette(RGB) of 256 colors, i.e. 6*6*6 color cube and 40 grays.
+	 */
+	final private static byte[] PALETTE = buildPalette();
+
+	/**
+	 * Palette index of RGB(5 bits per channel).
+	 */
+	final private static byte[] COLOR_INDEXES = buildColorIndexes();
+
+	/**
+	 * Reusable encoding buffers of thread.
+	 */
+	final private static ThreadLocal<FrameContext> contexts = ThreadLocal.withInitial(() -> new FrameContext());
+
+	/**
+	 * Frame encoding executor, null means sequential.
+	 */
+	final private Executor executor;
+
+	public FastGifEncoder() {
+		this(null);
+	}
+
+	public FastGifEncoder(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Encode animated GIF, the frames(except the first) are rendered and
+	 * encoded in parallel by the executor, and written in order.
+	 *
+	 * @param out
+	 * @param width
+	 * @param height
+	 * @param frameCount
+	 * @param delayMs
+	 *            Delay time between each frame in milliseconds
+	 * @param repeat
+	 *            Number of times the frames should be played, 0 means play
+	 *            indefinitely, -1 means no repeat.
+	 * @param renderer
+	 *            Frame renderer of the index.
+	 * @throws IOException
+	 */
+	public void encode(OutputStream out, int width, int height, int frameCount, int delayMs, int repeat,
+			IntFunction<BufferedImage> renderer) throws IOException {
+		Assert.notNull(out, "GIF outputStream must not be null");
+		Assert.notNull(renderer, "GIF frame renderer must not be null");
+		Assert.isTrue(width > 0 && height > 0, "GIF width and height must be greater than 0");
+		Assert.isTrue(frameCount > 0, "GIF frameCount must be greater than 0");
+		int delay = Math.round(delayMs / 10.0f); // hundredths
+
+		List<CompletableFuture<byte[]>> frames = new ArrayList<>(frameCount);
+		for (int i = 1; i < frameCount && executor != null; i++) {
+			int index = i;
+			frames.add(CompletableFuture.supplyAsync(() -> encodeFrame(renderer.apply(index), width, height, delay), executor));
+		}
+		byte[] first = encodeFrame(renderer.apply(0), width, height, delay); // By current thread.
+
+		out.write(encodeHeader(width, height, repeat));
+		out.write(first);
+		for (int i = 1; i < frameCount; i++) {
+			if (executor == null) {
+				out.write(encodeFrame(renderer.apply(i), width, height, delay));
+				continue;
+			}
+			try {
+				out.write(frames.get(i - 1).join());
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+		out.write(0x3b); // gif trailer
+		out.flush();
+	}
+
+	/**
+	 * Encode header, logical screen descriptor, global color table and
+	 * netscape application extension(if repeated).
+	 *
+	 * @param width
+	 * @param height
+	 * @param repeat
+	 * @return
+	 */
+	private byte[] encodeHeader(int width, int height, int repeat) {
+		Output out = new Output(6 + 7 + PALETTE.length + 19);
+		out.write(new byte[] { 'G', 'I', 'F', '8', '9', 'a' }, 0, 6);
+		// Logical screen descriptor
+		out.writeShort(width);
+		out.writeShort(height);
+		out.write(0x80 | 0x70 | 7); // gct used, color resolution = 7, gct size = 256
+		out.write(0); // background color index
+		out.write(0); // pixel aspect ratio - assume 1:1
+		out.write(PALETTE, 0, PALETTE.length); // global color table
+		if (repeat >= 0) {
+			out.write(0x21); // extension introducer
+			out.write(0xff); // app extension label
+			out.write(11); // block size
+			out.write(new byte[] { 'N', 'E', 'T', 'S', 'C', 'A', 'P', 'E', '2', '.', '0' }, 0, 11);
+			out.write(3); // sub-block size
+			out.write(1); // loop sub-block id
+			out.writeShort(repeat); // loop count (extra iterations, 0=repeat forever)
+			out.write(0); // block terminator
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Encode frame(graphic control extension, image descriptor and image
+	 * data), which uses the global color table.
+	 *
+	 * @param image
+	 * @param width
+	 * @param height
+	 * @param delay
+	 * @return
+	 */
+	private static byte[] encodeFrame(BufferedImage image, int width, int height, int delay) {
+		FrameContext context = contexts.get();
+		int[] rgbs = getRgbPixels(image, width, height);
+
+		// Map pixels to the palette.
+		int n = width * height;
+		byte[] indexed = context.getIndexed(n);
+		for (int i = 0; i < n; i++) {
+			int rgb = rgbs[i];
+			indexed[i] = COLOR_INDEXES[((rgb >> 9) & 0x7c00) | ((rgb >> 6) & 0x3e0) | ((rgb >> 3) & 0x1f)];
+		}
+
+		Output out = context.out;
+		out.reset();
+		// Graphic control extension
+		out.write(0x21); // extension introducer
+		out.write(0xf9); // GCE label
+		out.write(4); // data block size
+		out.write(0); // disposal = no action, no transparency
+		out.writeShort(delay); // delay x 1/100 sec
+		out.write(0); // transparent color index
+		out.write(0); // block terminator
+		// Image descriptor
+		out.write(0x2c); // image separator
+		out.writeShort(0); // image position x,y = 0,0
+		out.writeShort(0);
+		out.writeShort(width); // image size
+		out.writeShort(height);
+		out.write(0); // no LCT - GCT is used
+		// Image data
+		context.lzw.encode(indexed, n, 8, out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Get RGB pixels of the image, which are accessed directly if the image is
+	 * {@link BufferedImage#TYPE_INT_RGB} or {@link BufferedImage#TYPE_INT_ARGB}.
+	 *
+	 * @param image
+	 * @param width
+	 * @param height
+	 * @return
+	 */
+	private static int[] getRgbPixels(BufferedImage image, int width, int height) {
+		int type = image.getType();
+		if ((type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB) || image.getWidth() != width
+				|| image.getHeight() != height || image.getRaster().getParent() != null) {
+			BufferedImage temp = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = temp.createGraphics();
+			g.drawImage(image, 0, 0, null);
+			g.dispose();
+			image = temp;
+		}
+		return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+
+	private static byte[] buildPalette() {
+		byte[] palette = new byte[256 * 3];
+		int k = 0;
+		for (int r : LEVELS) {
+			for (int g : LEVELS) {
+				for (int b : LEVELS) {
+					palette[k++] = (byte) r;
+					palette[k++] = (byte) g;
+					palette[k++] = (byte) b;
+				}
+			}
+		}
+		for (int gray = 6; k < palette.length; gray += 6) { // Grays of anti-aliasing.
+			palette[k++] = (byte) gray;
+			palette[k++] = (byte) gray;
+			palette[k++] = (byte) gray;
+		}
+		return palette;
+	}
+
+	private static byte[] buildColorIndexes() {
+		byte[] indexes = new byte[1 << 15];
+		for (int c = 0; c < indexes.length; c++) {
+			// Center of the 5 bits channel.
+			int r = ((c >> 10) << 3) | 4, g = (((c >> 5) & 0x1f) << 3) | 4, b = ((c & 0x1f) << 3) | 4;
+			int nearest = 0, min = Integer.MAX_VALUE;
+			for (int i = 0; i < 256; i++) {
+				int dr = r - (PALETTE[i * 3] & 0xff), dg = g - (PALETTE[i * 3 + 1] & 0xff), db = b - (PALETTE[i * 3 + 2] & 0xff);
+				int d = dr * dr + dg * dg + db * db;
+				if (d < min) {
+					min = d;
+					nearest = i;
+				}
+			}
+			indexes[c] = (byte) nearest;
+		}
+		return indexes;
+	}
+
+	/**
+	 * Reusable encoding buffers of thread.
+	 */
+	private static class FrameContext {
+		final private LzwEncoder lzw = new LzwEncoder();
+		final private Output out = new Output(8192);
+		private byte[] indexed = new byte[0];
+
+		private byte[] getIndexed(int size) {
+			if (indexed.length < size) {
+				indexed = new byte[size];
+			}
+			return indexed;
+		}
+	}
+
+	/**
+	 * Growable in-memory output(not synchronized).
+	 */
+	static class Output {
+		private byte[] buf;
+		private int size;
+
+		Output(int capacity) {
+			this.buf = new byte[capacity];
+		}
+
+		void write(int b) {
+			ensureCapacity(size + 1);
+			buf[size++] = (byte) b;
+		}
+
+		void write(byte[] b, int off, int len) {
+			ensureCapacity(size + len);
+			System.arraycopy(b, off, buf, size, len);
+			size += len;
+		}
+
+		/**
+		 * Write 16-bit value, LSB first
+		 */
+		void writeShort(int value) {
+			write(value & 0xff);
+			write((value >> 8) & 0xff);
+		}
+
+		void reset() {
+			size = 0;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buf, size);
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > buf.length) {
+				buf = Arrays.copyOf(buf, Math.max(buf.length << 1, capacity));
+			}
+		}
+	}
+
+	/**
+	 * Default encoder, the frames are encoded in parallel by the shared daemon
+	 * threads if it's multi-processors.
+	 *
+	 * @return
+	 */
+	public static FastGifEncoder getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	private static class DefaultHolder {
+		final private static FastGifEncoder INSTANCE = new FastGifEncoder(newDefaultExecutor());
+
+		private static ExecutorService newDefaultExecutor() {
+			int processors = Runtime.getRuntime().availableProcessors();
+			if (processors <= 1) {
+				return null;
+			}
+			AtomicInteger counter = new AtomicInteger(0);
+			return Executors.newFixedThreadPool(processors, r -> {
+				Thread t = new Thread(r, "gif-encoder-" + counter.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+		}
+	}
+
+}
@@ -48,24 +48,15 @@ public class GifCaptcha extends Captcha {
 	@Override
 	public void out(OutputStream os) throws IOException {
 		try {
-			GifEncoder gifEncoder = new GifEncoder(); // gif编码类，这个利用了洋人写的编码类，所有类都在附件中
 			// 生成字符
-			gifEncoder.start(os);
-			gifEncoder.setQuality(180);
-			gifEncoder.setDelay(100);
-			gifEncoder.setRepeat(0);
 			char[] rands = super.getCapText().toCharArray();
 			Color fontcolor[] = new Color[getLen()];
 			for (int i = 0; i < super.getLen(); i++) {
 				fontcolor[i] = new Color(20 + num(110), 20 + num(110), 20 + num(110));
 			}
-			BufferedImage frame;
-			for (int i = 0; i < getLen(); i++) {
-				frame = graphicsImage(fontcolor, rands, i);
-				gifEncoder.addFrame(frame);
-				frame.flush();
-			}
-			gifEncoder.finish();
+			// 固定调色板编码(帧并行绘制与编码)
+			FastGifEncoder.getDefault().encode(os, getWidth(), getHeight(), getLen(), 100, 0,
+					i -> graphicsImage(fontcolor, rands, i));
 		} finally {
 			Streams.close(os);
 		}
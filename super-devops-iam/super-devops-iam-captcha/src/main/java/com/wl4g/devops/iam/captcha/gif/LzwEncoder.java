@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.captcha.gif;
+
+import java.util.Arrays;
+
+import com.wl4g.devops.iam.captcha.gif.FastGifEncoder.Output;
+
+/**
+ * Reusable GIF LZW encoder, which is the same algorithm(variable-length codes,
+ * open addressing double hashing) as {@link Encoder}, but the hash tables and
+ * the packet buffer are allocated once and reset for each frame, and the
+ * codes are written to the in-memory {@link Output}.<br/>
+ * It's not thread-safe, use one instance per thread.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月21日
+ * @since
+ */
+final class LzwEncoder {
+
+	final private static int BITS = 12;
+	final private static int HSIZE = 5003; // 80% occupancy
+	final private static int MAXMAXCODE = 1 << BITS; // should NEVER generate this code
+	final private static int HSHIFT = hashShift();
+
+	final private int[] htab = new int[HSIZE];
+	final private int[] codetab = new int[HSIZE];
+
+	/** Current data sub-block(max 255 bytes). */
+	final private byte[] packet = new byte[256];
+	private int packetSize;
+
+	private int initBits;
+	private int nBits; // number of bits/code
+	private int maxcode; // maximum code, given nBits
+	private int freeEnt; // first unused entry
+	private boolean clearFlg;
+	private int clearCode;
+	private int eofCode;
+	private int curAccum;
+	private int curBits;
+
+	/**
+	 * Encode the indexed pixels(image data, includes the initial code size and
+	 * the block terminator).
+	 *
+	 * @param pixels
+	 * @param length
+	 * @param colorDepth
+	 * @param out
+	 */
+	void encode(byte[] pixels, int length, int colorDepth, Output out) {
+		int initCodeSize = Math.max(2, colorDepth);
+		out.write(initCodeSize); // write "initial code size" byte
+		compress(pixels, length, initCodeSize + 1, out); // compress and write the pixel data
+		out.write(0); // write block terminator
+	}
+
+	private void compress(byte[] pixels, int length, int bits, Output out) {
+		// Reset state of the previous frame.
+		initBits = bits;
+		clearFlg = false;
+		nBits = initBits;
+		maxcode = maxCode(nBits);
+		clearCode = 1 << (bits - 1);
+		eofCode = clearCode + 1;
+		freeEnt = clearCode + 2;
+		packetSize = 0;
+		curAccum = 0;
+		curBits = 0;
+		Arrays.fill(htab, -1);
+
+		output(clearCode, out);
+		if (length <= 0) {
+			output(eofCode, out);
+			return;
+		}
+
+		int ent = pixels[0] & 0xff;
+		outer: for (int p = 1; p < length; p++) {
+			int c = pixels[p] & 0xff;
+			int fcode = (c << BITS) + ent;
+			int i = (c << HSHIFT) ^ ent; // xor hashing
+
+			if (htab[i] == fcode) {
+				ent = codetab[i];
+				continue;
+			} else if (htab[i] >= 0) { // non-empty slot
+				int disp = (i == 0) ? 1 : HSIZE - i; // secondary hash (after G. Knott)
+				do {
+					if ((i -= disp) < 0) {
+						i += HSIZE;
+					}
+					if (htab[i] == fcode) {
+						ent = codetab[i];
+						continue outer;
+					}
+				} while (htab[i] >= 0);
+			}
+			output(ent, out);
+			ent = c;
+			if (freeEnt < MAXMAXCODE) {
+				codetab[i] = freeEnt++; // code -> hashtable
+				htab[i] = fcode;
+			} else { // table clear for block compress
+				Arrays.fill(htab, -1);
+				freeEnt = clearCode + 2;
+				clearFlg = true;
+				output(clearCode, out);
+			}
+		}
+		// Put out the final code.
+		output(ent, out);
+		output(eofCode, out);
+	}
+
+	private void output(int code, Output out) {
+		curAccum &= (1 << curBits) - 1;
+		curAccum = (curBits > 0) ? (curAccum | (code << curBits)) : code;
+		curBits += nBits;
+		while (curBits >= 8) {
+			packetOut((byte) curAccum, out);
+			curAccum >>= 8;
+			curBits -= 8;
+		}
+
+		// If the next entry is going to be too big for the code size, then
+		// increase it, if possible.
+		if (freeEnt > maxcode || clearFlg) {
+			if (clearFlg) {
+				maxcode = maxCode(nBits = initBits);
+				clearFlg = false;
+			} else {
+				++nBits;
+				maxcode = (nBits == BITS) ? MAXMAXCODE : maxCode(nBits);
+			}
+		}
+
+		if (code == eofCode) {
+			// At EOF, write the rest of the buffer.
+			while (curBits > 0) {
+				packetOut((byte) curAccum, out);
+				curAccum >>= 8;
+				curBits -= 8;
+			}
+			flushPacket(out);
+		}
+	}
+
+	private void packetOut(byte c, Output out) {
+		packet[packetSize++] = c;
+		if (packetSize >= 254) {
+			flushPacket(out);
+		}
+	}
+
+	private void flushPacket(Output out) {
+		if (packetSize > 0) {
+			out.write(packetSize);
+			out.write(packet, 0, packetSize);
+			packetSize = 0;
+		}
+	}
+
+	private static int maxCode(int nBits) {
+		return (1 << nBits) - 1;
+	}
+
+	private static int hashShift() {
+		int hshift = 0;
+		for (int fcode = HSIZE; fcode < 65536; fcode *= 2) {
+			++hshift;
+		}
+		return 8 - hshift; // set hash code range bound
+	}
+
+}
@@ -23,6 +23,7 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -30,6 +31,8 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URL;
 
+import com.wl4g.devops.tool.common.codec.Encodes;
+
 import static com.wl4g.devops.tool.common.codec.Compresss.snappyCompress;
 import static com.wl4g.devops.tool.common.codec.Compresss.snappyUnCompress;
 import static io.netty.util.internal.ThreadLocalRandom.current;
@@ -38,7 +41,8 @@ import static org.springframework.util.Assert.hasText;
 import static org.springframework.util.Assert.isTrue;
 
 /**
- * Image tailor.
+ * Image tailor.<br/>
+ * It's stateless(thread-safe), so the images can be tailored in parallel.
  * 
  * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
  * @version v1.0 2019-08-30
@@ -74,6 +78,17 @@ public class ImageTailor {
 	 */
 	final public static double DEFAULT_CIRCLE_OFFSET_RATIO = StrictMath.sin(StrictMath.toRadians(30));
 
+	/**
+	 * Separable gaussian kernel(radius is {@link #DEFAULT_BORDER_WEIGHT}) of
+	 * the block borders blur.
+	 */
+	final private static float[] BLUR_KERNEL = gaussianKernel(DEFAULT_BORDER_WEIGHT, 1.2f);
+
+	/**
+	 * Font of the watermark string.
+	 */
+	final private static Font WATERMARK_FONT = new Font("微软雅黑", Font.BOLD, 16);
+
 	/** Material source drawing requires maximum width(:PX) */
 	final protected int sourceMaxWidth;
 	/** Material source drawing requires maximum height(:PX) */
@@ -95,24 +110,6 @@ public class ImageTailor {
 	 */
 	final protected int circleOffset;
 
-	// --- Block borders position. ---
-	private int borderTopXMin; // Top
-	private int borderTopXMax;
-	private int borderTopYMin;
-	private int borderTopYMax;
-	private int borderRightXMin; // Right
-	private int borderRightXMax;
-	private int borderRightYMin;
-	private int borderRightYMax;
-	private int borderBottomXMin; // Bottom
-	private int borderBottomXMax;
-	private int borderBottomYMin;
-	private int borderBottomYMax;
-	private int borderLeftXMin; // Left
-	private int borderLeftXMax;
-	private int borderLeftYMin;
-	private int borderLeftYMax;
-
 	public ImageTailor() {
 		this(46, 46, 8, "wanglsir@gmail.com");
 	}
@@ -183,7 +180,22 @@ public class ImageTailor {
 	}
 
 	/**
-	 * Do processing cut image.
+	 * Get cut image from decoded image, it's suitable for the pre-decoded
+	 * materials(see {@link #toIntArgbImage(BufferedImage)}).
+	 * 
+	 * @param source
+	 * @return
+	 * @throws IOException
+	 */
+	public TailoredImage getImage(BufferedImage source) throws IOException {
+		return doProcess(source);
+	}
+
+	/**
+	 * Do processing cut image.<br/>
+	 * The pixels are manipulated directly on the rasters, only the area of the
+	 * block and ears are traversed, and the block image is drawn in the cut
+	 * area only.
 	 * 
 	 * @param sourceImg
 	 * @return
@@ -197,42 +209,38 @@ public class ImageTailor {
 				String.format("Source image is too big, max limits: %d*%d", sourceMaxWidth, sourceMaxHeight));
 		isTrue((width >= sourceMinWidth && height >= sourceMinHeight),
 				String.format("Source image is too small, min limits: %d*%d", sourceMinWidth, sourceMinHeight));
+		int[] source = getPixels(toIntArgbImage(sourceImg));
 
-		// 创建背景图，TYPE_4BYTE_ABGR表示具有8位RGBA颜色分量的图像(支持透明的BufferedImage)，正常取bufImg.getType()
-		BufferedImage primaryImg = new BufferedImage(sourceImg.getWidth(), sourceImg.getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
-		// 创建滑块图
-		BufferedImage blockImg = new BufferedImage(sourceImg.getWidth(), sourceImg.getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
 		// 随机截取的坐标
 		int maxX0 = width - blockWidth - (circleR + circleOffset);
 		int maxY0 = height - blockHeight;
 		int blockX0 = current().nextInt((int) (maxX0 * 0.25), maxX0); // *0.25防止x坐标太靠左
 		int blockY0 = current().nextInt(circleR, maxY0); // 从circleR开始是为了防止上边的耳朵显示不全
-		// Setup block borders position.
-		initBorderPositions(blockX0, blockY0, blockWidth, blockHeight);
-
-		// 绘制生成新图(图片大小是固定，位置是随机)
-		drawing(sourceImg, blockImg, primaryImg, blockX0, blockY0, blockWidth, blockHeight);
 		// 裁剪可用区
 		int cutX0 = blockX0;
 		int cutY0 = Math.max((blockY0 - circleR - circleOffset), 0);
 		int cutWidth = blockWidth + circleR + circleOffset;
 		int cutHeight = blockHeight + circleR + circleOffset;
-		blockImg = blockImg.getSubimage(cutX0, cutY0, cutWidth, cutHeight);
+
+		// 创建背景图(支持透明)
+		BufferedImage primaryImg = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		int[] primary = getPixels(primaryImg);
+		System.arraycopy(source, 0, primary, 0, primary.length);
+		// 创建滑块图(仅裁剪区)
+		BufferedImage blockImg = new BufferedImage(cutWidth, cutHeight, BufferedImage.TYPE_INT_ARGB);
+		int[] block = getPixels(blockImg);
+
+		// 绘制生成新图(图片大小是固定，位置是随机)
+		drawing(source, primary, block, width, height, blockX0, blockY0, cutX0, cutY0, cutWidth, cutHeight);
+		blurBorders(block, cutWidth, cutHeight, blockX0 - cutX0, blockY0 - cutY0, blockWidth, blockHeight);
 
 		// Add watermark string.
 		addWatermarkIfNecessary(primaryImg);
 
 		// 输出图像数据
 		TailoredImage img = new TailoredImage();
-		// Primary image.
-		ByteArrayOutputStream primaryData = new ByteArrayOutputStream();
-		ImageIO.write(primaryImg, "PNG", primaryData);
-		img.setPrimaryImg(primaryData.toByteArray());
-
-		// Block image.
-		ByteArrayOutputStream blockData = new ByteArrayOutputStream();
-		ImageIO.write(blockImg, "PNG", blockData);
-		img.setBlockImg(blockData.toByteArray());
+		img.setPrimaryImg(encodePng(primaryImg, width * height));
+		img.setBlockImg(encodePng(blockImg, cutWidth * cutHeight));
 
 		// Position
 		img.setX(blockX0);
@@ -243,19 +251,24 @@ public class ImageTailor {
 	/**
 	 * Drawing images.
 	 * 
-	 * @param sourceImg
-	 * @param blockImg
-	 * @param primaryImg
+	 * @param source
+	 * @param primary
+	 * @param block
+	 *            Pixels of the cut area
+	 * @param width
+	 * @param height
 	 * @param blockX0
 	 * @param blockY0
-	 * @param blockWidth
-	 * @param blockHeight
+	 * @param cutX0
+	 * @param cutY0
+	 * @param cutWidth
+	 * @param cutHeight
 	 */
-	private void drawing(BufferedImage sourceImg, BufferedImage blockImg, BufferedImage primaryImg, int blockX0, int blockY0,
-			int blockWidth, int blockHeight) {
-		double rr = Math.pow(circleR, 2);// r平方
+	private void drawing(int[] source, int[] primary, int[] block, int width, int height, int blockX0, int blockY0, int cutX0,
+			int cutY0, int cutWidth, int cutHeight) {
+		int rr = circleR * circleR; // r平方
 		// R1圆心坐标（顶部的圆）
-		int c1_x0 = current().nextInt(blockWidth - 2 * circleR) + (blockX0 + circleR); // x+c_r+10;//圆心x坐标必须在(x+r,x+with-r)范围内
+		int c1_x0 = current().nextInt(blockWidth - 2 * circleR) + (blockX0 + circleR); // 圆心x坐标必须在(x+r,x+with-r)范围内
 		int c1_y0 = blockY0 - circleOffset;
 		// R2圆心坐标（左边的圆）
 		int c2_x0 = blockX0 + circleOffset;
@@ -264,44 +277,121 @@ public class ImageTailor {
 		int c3_x0 = blockX0 + blockWidth + circleOffset;
 		int c3_y0 = current().nextInt(blockHeight - 2 * circleR) + (blockY0 + circleR);
 
-		for (int x = 0; x < sourceImg.getWidth(); x++) {
-			for (int y = 0; y < sourceImg.getHeight(); y++) {
-				int rgb = sourceImg.getRGB(x, y);
+		// The other pixels are the same as the source.
+		int minX = blockX0, maxX = Math.min(c3_x0 + circleR + 1, width);
+		int minY = Math.max(c1_y0 - circleR, 0), maxY = Math.min(blockY0 + blockHeight, height);
+		int blockX1 = blockX0 + blockWidth, blockY1 = blockY0 + blockHeight;
+		for (int y = minY; y < maxY; y++) {
+			int dy1 = (y - c1_y0) * (y - c1_y0);
+			int dy2 = (y - c2_y0) * (y - c2_y0);
+			int dy3 = (y - c3_y0) * (y - c3_y0);
+			boolean withInBlockY = y >= blockY0 && y < blockY1;
+			boolean borderY = y <= blockY0 + DEFAULT_BORDER_WEIGHT || y >= blockY1 - DEFAULT_BORDER_WEIGHT;
+			int cutY = y - cutY0;
+			for (int x = minX; x < maxX; x++) {
+				int rgb = source[y * width + x];
 				// (x-a)²+(y-b)²=r²中，有三个参数a、b、r，即圆心坐标为(a，b)，半径r。
-				double rr1 = Math.pow((x - c1_x0), 2) + Math.pow((y - c1_y0), 2);
-				double rr2 = Math.pow((x - c2_x0), 2) + Math.pow((y - c2_y0), 2);
-				double rr3 = Math.pow((x - c3_x0), 2) + Math.pow((y - c3_y0), 2);
+				boolean inR1 = rr >= (x - c1_x0) * (x - c1_x0) + dy1;
+				boolean inR2 = rr >= (x - c2_x0) * (x - c2_x0) + dy2;
+				boolean inR3 = rr >= (x - c3_x0) * (x - c3_x0) + dy3;
 				// 在矩形块区域内?
-				boolean withInBlock = x >= blockX0 && x < (blockX0 + blockWidth) && y >= blockY0 && y < (blockY0 + blockHeight);
+				boolean withInBlock = withInBlockY && x < blockX1;
 
 				// Primary image
-				if (rr >= rr1 || rr >= rr3) { // 在R1或R3区域内
-					primaryImg.setRGB(x, y, getGrayTranslucentRGB(rgb));
-				} else if (withInBlock) { // 在矩形块区域内
-					if (rr >= rr2) { // 在R2区域内
-						primaryImg.setRGB(x, y, rgb);
-					} else if (!handleGaussainBlurIfNecessary(primaryImg, blockX0, blockY0, blockWidth, blockHeight, x, y, rgb)) { // 已设置高斯模糊?
-						primaryImg.setRGB(x, y, getGrayTranslucentRGB(rgb));
+				if (inR1 || inR3) { // 在R1或R3区域内
+					primary[y * width + x] = getGrayTranslucentRGB(rgb);
+				} else if (withInBlock && !inR2) { // 在矩形块区域内(边框区保留原图)
+					if (!(borderY || x <= blockX0 + DEFAULT_BORDER_WEIGHT || x >= blockX1 - DEFAULT_BORDER_WEIGHT)) {
+						primary[y * width + x] = getGrayTranslucentRGB(rgb);
 					}
-				} else {
-					primaryImg.setRGB(x, y, rgb);
 				}
 
 				// Block image
-				if (rr >= rr3) { // 在区块或R3内
-					blockImg.setRGB(x, y, rgb);
-				} else if (withInBlock || rr >= rr1) { // 在区块或R1内
-					if (rr < rr2) { // 不在R2内
-						if (rr >= rr1) { // 在R1内
-							blockImg.setRGB(x, y, rgb);
-						} else {
-							if (!handleGaussainBlurIfNecessary(blockImg, blockX0, blockY0, blockWidth, blockHeight, x, y, rgb)) { // 已设置高斯模糊?
-								blockImg.setRGB(x, y, rgb);
-							}
-						}
+				if (inR3 || ((withInBlock || inR1) && !inR2)) { // 在R3内，或在区块或R1内且不在R2内
+					int cutX = x - cutX0;
+					if (cutX < cutWidth && cutY >= 0 && cutY < cutHeight) {
+						block[cutY * cutWidth + cutX] = rgb;
 					}
 				}
+			}
+		}
+	}
 
+	/**
+	 * Gaussian blur of the block borders region, which is done by the
+	 * separable kernels(horizontal and then vertical), the colors are weighted
+	 * by alpha so that the transparent pixels are not darkened.
+	 * 
+	 * @param pixels
+	 * @param width
+	 * @param height
+	 * @param blockX0
+	 *            Block x of the pixels
+	 * @param blockY0
+	 *            Block y of the pixels
+	 * @param blockWidth
+	 * @param blockHeight
+	 */
+	private static void blurBorders(int[] pixels, int width, int height, int blockX0, int blockY0, int blockWidth,
+			int blockHeight) {
+		int radius = BLUR_KERNEL.length / 2;
+		int minX = Math.max(blockX0 - radius, 0), maxX = Math.min(blockX0 + blockWidth + radius, width);
+		int minY = Math.max(blockY0 - radius, 0), maxY = Math.min(blockY0 + blockHeight + radius, height);
+
+		// Horizontal pass(premultiplied).
+		int w = maxX - minX, h = maxY - minY;
+		float[] a = new float[w * h], r = new float[w * h], g = new float[w * h], b = new float[w * h];
+		for (int y = minY; y < maxY; y++) {
+			for (int x = minX; x < maxX; x++) {
+				float sa = 0, sr = 0, sg = 0, sb = 0;
+				for (int k = -radius; k <= radius; k++) {
+					int xx = x + k;
+					if (xx < 0 || xx >= width) {
+						continue; // Transparent
+					}
+					int argb = pixels[y * width + xx];
+					float wa = BLUR_KERNEL[k + radius] * (argb >>> 24);
+					sa += wa;
+					sr += wa * ((argb >> 16) & 0xff);
+					sg += wa * ((argb >> 8) & 0xff);
+					sb += wa * (argb & 0xff);
+				}
+				int i = (y - minY) * w + (x - minX);
+				a[i] = sa;
+				r[i] = sr;
+				g[i] = sg;
+				b[i] = sb;
+			}
+		}
+
+		// Vertical pass of the borders only.
+		int blockX1 = blockX0 + blockWidth, blockY1 = blockY0 + blockHeight;
+		for (int y = Math.max(blockY0, 0); y < Math.min(blockY1, height); y++) {
+			boolean borderY = y <= blockY0 + DEFAULT_BORDER_WEIGHT || y >= blockY1 - DEFAULT_BORDER_WEIGHT;
+			for (int x = Math.max(blockX0, 0); x < Math.min(blockX1, width); x++) {
+				if (!(borderY || x <= blockX0 + DEFAULT_BORDER_WEIGHT || x >= blockX1 - DEFAULT_BORDER_WEIGHT)) {
+					continue;
+				}
+				float sa = 0, sr = 0, sg = 0, sb = 0;
+				for (int k = -radius; k <= radius; k++) {
+					int yy = y + k;
+					if (yy < minY || yy >= maxY) {
+						continue; // Transparent
+					}
+					int i = (yy - minY) * w + (x - minX);
+					float wk = BLUR_KERNEL[k + radius];
+					sa += wk * a[i];
+					sr += wk * r[i];
+					sg += wk * g[i];
+					sb += wk * b[i];
+				}
+				if (sa <= 0f) {
+					pixels[y * width + x] = 0;
+					continue;
+				}
+				int alpha = Math.min(Math.round(sa / 255f), 255);
+				pixels[y * width + x] = (alpha << 24) | (Math.min(Math.round(sr / sa), 255) << 16)
+						| (Math.min(Math.round(sg / sa), 255) << 8) | Math.min(Math.round(sb / sa), 255);
 			}
 		}
 	}
@@ -322,7 +412,7 @@ public class ImageTailor {
 		// 设置水印文字颜色
 		graphics2D.setColor(Color.WHITE);
 		// 设置水印文字Font
-		graphics2D.setFont(new Font("微软雅黑", Font.BOLD, 16));
+		graphics2D.setFont(WATERMARK_FONT);
 		// 设置水印文字透明度
 		graphics2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, 0.5f));
 		// 第一参数->设置的内容，后面两个参数->文字在图片上的坐标位置(x,y)， 其中10为微调的便宜倍数，为了动态解决靠右下角
@@ -333,121 +423,45 @@ public class ImageTailor {
 	}
 
 	/**
-	 * Initialize setup border positions.
+	 * Encode image to PNG bytes.
 	 * 
-	 * @param blockX0
-	 * @param blockY0
-	 * @param blockWidth
-	 * @param blockHeight
+	 * @param img
+	 * @param sizeHint
+	 * @return
+	 * @throws IOException
 	 */
-	private void initBorderPositions(int blockX0, int blockY0, int blockWidth, int blockHeight) {
-		// Top
-		borderTopXMin = blockX0;
-		borderTopXMax = blockX0 + blockWidth;
-		borderTopYMin = blockY0;
-		borderTopYMax = blockY0 + DEFAULT_BORDER_WEIGHT;
-		// Right
-		borderRightXMin = blockX0 + blockWidth - DEFAULT_BORDER_WEIGHT;
-		borderRightXMax = blockX0 + blockWidth;
-		borderRightYMin = blockY0;
-		borderRightYMax = blockY0 + blockHeight;
-		// Bottom
-		borderBottomXMin = blockX0;
-		borderBottomXMax = blockX0 + blockWidth;
-		borderBottomYMin = blockY0 + blockHeight - DEFAULT_BORDER_WEIGHT;
-		borderBottomYMax = blockY0 + blockHeight;
-		// Left
-		borderLeftXMin = blockX0;
-		borderLeftXMax = blockX0 + DEFAULT_BORDER_WEIGHT;
-		borderLeftYMin = blockY0;
-		borderLeftYMax = blockY0 + blockHeight;
+	private static byte[] encodePng(BufferedImage img, int sizeHint) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(sizeHint);
+		ImageIO.write(img, "PNG", out);
+		return out.toByteArray();
 	}
 
 	/**
-	 * Handle gaussian blur RGB. (borders region only)
+	 * Get the pixels of {@link BufferedImage#TYPE_INT_ARGB} image.
 	 * 
 	 * @param img
-	 * @param blockX0
-	 * @param blockY0
-	 * @param blockWidth
-	 * @param blockHeight
-	 * @param x
-	 * @param y
-	 * @param srcRgb
-	 * @return 当成功设置返回TRUE，否则返回FALSE
+	 * @return
 	 */
-	private boolean handleGaussainBlurIfNecessary(BufferedImage img, int blockX0, int blockY0, int blockWidth, int blockHeight,
-			int x, int y, int srcRgb) {
-		// Top
-		if (x >= borderTopXMin && x <= borderTopXMax && y >= borderTopYMin && y <= borderTopYMax) {
-			doGaussainBlurRGB(img, borderTopXMin, borderTopXMax, borderTopYMin, borderTopYMax, x, y, blockWidth, blockHeight,
-					srcRgb);
-			return true;
-		}
-		// Right
-		if (x >= borderRightXMin && x <= borderRightXMax && y >= borderRightYMin && y <= borderRightYMax) {
-			doGaussainBlurRGB(img, borderRightXMin, borderRightXMax, borderRightYMin, borderRightYMax, x, y,
-					DEFAULT_BORDER_WEIGHT, blockHeight, srcRgb);
-			return true;
-		}
-		// Bottom
-		if (x >= borderBottomXMin && x <= borderBottomXMax && y >= borderBottomYMin && y <= borderBottomYMax) {
-			doGaussainBlurRGB(img, borderBottomXMin, borderBottomXMax, borderBottomYMin, borderBottomYMax, x, y, blockWidth,
-					blockHeight, srcRgb);
-			return true;
-		}
-		// Left
-		if (x >= borderLeftXMin && x <= borderLeftXMax && y >= borderLeftYMin && y <= borderLeftYMax) {
-			doGaussainBlurRGB(img, borderLeftXMin, borderLeftXMax, borderLeftYMin, borderLeftYMax, x, y, DEFAULT_BORDER_WEIGHT,
-					blockHeight, srcRgb);
-			return true;
-		}
-		return false;
+	private static int[] getPixels(BufferedImage img) {
+		return ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
 	}
 
 	/**
-	 * Set Gaussian blur RGB.
+	 * Convert to {@link BufferedImage#TYPE_INT_ARGB} image, whose pixels can
+	 * be accessed directly, it's returned directly if it's already.
 	 * 
 	 * @param img
-	 * @param minBlurX
-	 * @param maxBlurX
-	 * @param minBlurY
-	 * @param maxBlurY
-	 * @param x
-	 * @param y
-	 * @param blurWidth
-	 * @param blurHeight
-	 * @param srcRgb
+	 * @return
 	 */
-	private void doGaussainBlurRGB(BufferedImage img, int minBlurX, int maxBlurX, int minBlurY, int maxBlurY, int x, int y,
-			int blurWidth, int blurHeight, int srcRgb) {
-		img.setRGB(x, y, srcRgb); // Nothing blur
-
-		// int[] inPixels = new int[blurWidth * blurHeight];
-		// int[] outPixels = new int[blurWidth * blurHeight];
-		// java.awt.image.Kernel kernel = GaussianFilter.makeKernel(0.667f);
-		// GaussianFilter.convolveAndTranspose(kernel, inPixels, outPixels,
-		// blurWidth, blurHeight, true, GaussianFilter.CLAMP_EDGES);
-		// GaussianFilter.convolveAndTranspose(kernel, outPixels, inPixels,
-		// blurHeight, blurWidth, true, GaussianFilter.CLAMP_EDGES);
-		// img.setRGB(x, y, blurWidth, blurHeight, inPixels, 0, blurWidth);
-
-		// int v = 0;
-		// if ((maxBlurY - minBlurY) > (maxBlurX - minBlurX)) { // Left/Right?
-		// v = (int) (Math.abs(240 - Math.abs(x - minBlurX) * 20));
-		// } else {
-		// v = (int) (Math.abs(240 - Math.abs(y - minBlurY) * 20));
-		// }
-		// img.setRGB(x, y, new Color(v, v, v).getRGB());
-
-		// NormalDistribution nd = new NormalDistribution(0, 1.44);
-
-		// int r = (0xff & srcRgb);
-		// int g = (0xff & (srcRgb >> 8));
-		// int b = (0xff & (srcRgb >> 16));
-		// srcRgb = r + (g << 8) + (b << 4) + (100 << 24);
-		// img.setRGB(x, y, Color.white.getRGB());
-		// img.setRGB(x, y, new Color(220, 220, 220).getRGB());
+	public static BufferedImage toIntArgbImage(BufferedImage img) {
+		if (img.getType() == BufferedImage.TYPE_INT_ARGB && img.getRaster().getParent() == null) {
+			return img;
+		}
+		BufferedImage argbImg = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2D = argbImg.createGraphics();
+		graphics2D.drawImage(img, 0, 0, null);
+		graphics2D.dispose();
+		return argbImg;
 	}
 
 	/**
@@ -465,6 +479,26 @@ public class ImageTailor {
 		return rgb;
 	}
 
+	/**
+	 * Make normalized 1D gaussian kernel.
+	 * 
+	 * @param radius
+	 * @param sigma
+	 * @return
+	 */
+	private static float[] gaussianKernel(int radius, float sigma) {
+		float[] kernel = new float[radius * 2 + 1];
+		float sum = 0f;
+		for (int i = -radius; i <= radius; i++) {
+			kernel[i + radius] = (float) Math.exp(-(i * i) / (2d * sigma * sigma));
+			sum += kernel[i + radius];
+		}
+		for (int i = 0; i < kernel.length; i++) {
+			kernel[i] /= sum;
+		}
+		return kernel;
+	}
+
 	/**
 	 * Output write {@link BufferedImage} to file.
 	 * 
@@ -489,9 +523,13 @@ public class ImageTailor {
 
 		private int x;
 		private int y;
-		private byte[] primaryImg; // Base64
+		private byte[] primaryImg;
 		private byte[] blockImg;
 
+		/** Pre-encoded base64 images(not serialized). */
+		private transient String primaryImgBase64;
+		private transient String blockImgBase64;
+
 		public int getX() {
 			return x;
 		}
@@ -524,6 +562,27 @@ public class ImageTailor {
 			this.blockImg = blockImg;
 		}
 
+		public String getPrimaryImgBase64() {
+			String base64 = primaryImgBase64;
+			return base64 != null ? base64 : Encodes.encodeBase64(getPrimaryImg());
+		}
+
+		public String getBlockImgBase64() {
+			String base64 = blockImgBase64;
+			return base64 != null ? base64 : Encodes.encodeBase64(getBlockImg());
+		}
+
+		/**
+		 * Pre-encode base64 of primary and block image.
+		 * 
+		 * @return
+		 */
+		public TailoredImage encodeBase64() {
+			this.primaryImgBase64 = Encodes.encodeBase64(getPrimaryImg());
+			this.blockImgBase64 = Encodes.encodeBase64(getBlockImg());
+			return this;
+		}
+
 		@Override
 		public String toString() {
 			return "JigsawImgCode [x=" + x + ", y=" + y + ", primaryImg=" + primaryImg + ", blockImg=" + blockImg + "]";
@@ -17,47 +17,52 @@ package com.wl4g.devops.iam.captcha.jigsaw;
 
 import com.wl4g.devops.iam.captcha.config.CaptchaProperties;
 import com.wl4g.devops.iam.captcha.jigsaw.ImageTailor.TailoredImage;
-import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
-import com.wl4g.devops.support.redis.JedisService;
-
-import redis.clients.jedis.JedisCluster;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.Assert;
 
+import javax.imageio.ImageIO;
+
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_VERIFY_JIGSAW_IMG;
-import static com.wl4g.devops.common.utils.serialize.ProtostuffUtils.deserialize;
-import static com.wl4g.devops.common.utils.serialize.ProtostuffUtils.serialize;
-import static com.wl4g.devops.tool.common.codec.Encodes.toBytes;
 import static io.netty.util.internal.ThreadLocalRandom.current;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.startsWith;
-import static org.apache.commons.lang3.exception.ExceptionUtils.wrapAndThrow;
 import static org.springframework.util.Assert.notNull;
 
 /**
- * JIGSAW image manager.
+ * JIGSAW image manager.<br/>
+ * The JIGSAW images are pre-rendered(and pre-encoded) in the local pool, which
+ * is refreshed periodically by the background generator in parallel, the
+ * borrowing is lock-free and never waits the refreshing. The materials are
+ * decoded only once.
  * 
  * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
  * @version v1.0 2019-09-02
  * @since
  */
-public class JigsawImageManager implements ApplicationRunner, Serializable {
+public class JigsawImageManager implements ApplicationRunner, DisposableBean, Serializable {
 	private static final long serialVersionUID = -4133013721883654349L;
 
 	/**
@@ -65,11 +70,6 @@ public class JigsawImageManager implements ApplicationRunner, Serializable {
 	 */
 	final public static String DEFAULT_JIGSAW_SOURCE_CLASSPATH = "classpath:static/jigsaw/*.*";
 
-	/**
-	 * Default JIGSAW initialize image timeoutMs
-	 */
-	final public static long DEFAULT_JIGSAW_INIT_TIMEOUTMS = 60_000L;
-
 	final protected Logger log = LoggerFactory.getLogger(getClass());
 
 	/**
@@ -78,26 +78,65 @@ public class JigsawImageManager implements ApplicationRunner, Serializable {
 	final protected CaptchaProperties config;
 
 	/**
-	 * Simple lock manager.
+	 * Image tailor(thread-safe).
+	 */
+	final protected ImageTailor tailor = new ImageTailor();
+
+	/**
+	 * Pre-rendered JIGSAW images pool.
+	 */
+	final private AtomicReferenceArray<TailoredImage> pool;
+
+	/**
+	 * Refreshing in progress?
+	 */
+	final private AtomicBoolean refreshing = new AtomicBoolean(false);
+
+	/**
+	 * Decoded materials.
+	 */
+	private volatile List<BufferedImage> materials;
+
+	/**
+	 * Parallel images generator.
 	 */
-	final protected Lock lock;
+	private ExecutorService generator;
 
 	/**
-	 * REDIS service.
+	 * Pool refreshing scheduler.
 	 */
-	@Autowired
-	protected JedisService jedisService;
+	private ScheduledExecutorService scheduler;
 
-	public JigsawImageManager(CaptchaProperties config, JedisLockManager lockManager) {
+	public JigsawImageManager(CaptchaProperties config) {
 		notNull(config, "Captcha properties must not be null.");
-		notNull(lockManager, "Captcha properties must not be null.");
+		Assert.isTrue(config.getJigsaw().getPoolImgSize() > 0, "Jigsaw poolImgSize must be greater than 0.");
 		this.config = config;
-		this.lock = lockManager.getLock(getClass().getSimpleName(), DEFAULT_JIGSAW_INIT_TIMEOUTMS, TimeUnit.MILLISECONDS);
+		this.pool = new AtomicReferenceArray<>(config.getJigsaw().getPoolImgSize());
 	}
 
 	@Override
 	public void run(ApplicationArguments arg0) throws Exception {
-		initializeJigsawImagePool();
+		int parallelism = config.getJigsaw().getPoolGenerateParallelism();
+		if (parallelism <= 0) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		this.generator = Executors.newFixedThreadPool(parallelism, newThreadFactory("jigsaw-generator-"));
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(newThreadFactory("jigsaw-refresher-"));
+
+		getMaterials(); // Decode materials.
+		long periodSec = config.getJigsaw().getPoolImgExpireSec();
+		Assert.isTrue(periodSec > 0, "Jigsaw poolImgExpireSec must be greater than 0.");
+		scheduler.scheduleWithFixedDelay(() -> refreshPool(), 0, periodSec, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		if (generator != null) {
+			generator.shutdownNow();
+		}
 	}
 
 	/**
@@ -116,61 +155,139 @@ public class JigsawImageManager implements ApplicationRunner, Serializable {
 	 * @return
 	 */
 	public TailoredImage borrow(int index) {
-		if (index < 0 || index >= config.getJigsaw().getPoolImgSize()) {
-			int _index = current().nextInt(config.getJigsaw().getPoolImgSize());
+		if (index < 0 || index >= pool.length()) {
+			int _index = current().nextInt(pool.length());
 			if (log.isDebugEnabled()) {
 				log.debug("Borrow jigsaw index '{}' of out bound, used random index '{}'", index, _index);
 			}
 			index = _index;
 		}
 
-		// Load JIGSAW image by index.
-		JedisCluster jdsCluster = jedisService.getJedisCluster();
-		byte[] jigsawBuf = jdsCluster.hget(CACHE_VERIFY_JIGSAW_IMG, toBytes(String.valueOf(index)));
-		if (Objects.isNull(jigsawBuf)) { // Expired?
-			try {
-				if (lock.tryLock(DEFAULT_JIGSAW_INIT_TIMEOUTMS / 2, TimeUnit.MILLISECONDS)) {
-					initializeJigsawImagePool();
-				}
-			} catch (Exception e) {
-				wrapAndThrow(e);
-			} finally {
-				lock.unlock();
+		TailoredImage code = pool.get(index);
+		if (code == null) { // Not generated yet?
+			code = generateJigsawImage(index);
+			if (!pool.compareAndSet(index, null, code)) {
+				code = pool.get(index);
 			}
-			// Retry get.
-			jigsawBuf = jdsCluster.hget(CACHE_VERIFY_JIGSAW_IMG, toBytes(String.valueOf(index)));
 		}
-		TailoredImage code = deserialize(jigsawBuf, TailoredImage.class);
 		Assert.notNull(code, "Unable to borrow jigsaw image resource.");
-
-		// UnCompression primary block image.
-		return code/* .uncompress() */;
+		return code;
 	}
 
 	/**
-	 * Clear cache.
+	 * Clear cache, the pool is regenerated asynchronously.
 	 */
 	public void clearCache() {
 		if (log.isInfoEnabled()) {
 			log.info("Clear jigsaw image pool ...");
 		}
-		jedisService.getJedisCluster().del(CACHE_VERIFY_JIGSAW_IMG);
+		if (scheduler != null) {
+			scheduler.execute(() -> refreshPool());
+		}
 	}
 
 	/**
-	 * Initializing JIGSAW image buffer cache.
+	 * Regenerate all JIGSAW images of the pool in parallel, the images are
+	 * replaced one by one, so the borrowing is not blocked.
+	 */
+	private void refreshPool() {
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			long begin = System.currentTimeMillis();
+			AtomicInteger failures = new AtomicInteger(0);
+			List<Future<?>> futures = new ArrayList<>(pool.length());
+			for (int i = 0; i < pool.length(); i++) {
+				int index = i;
+				futures.add(generator.submit(() -> {
+					try {
+						pool.set(index, generateJigsawImage(index));
+					} catch (Exception e) {
+						failures.incrementAndGet();
+						log.warn("Failed to generate jigsaw image of index: " + index, e);
+					}
+				}));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+			if (log.isInfoEnabled()) {
+				log.info("Refreshed jigsaw images pool total: {}, materials: {}, failures: {}, cost: {}ms", pool.length(),
+						getMaterials().size(), failures.get(), (System.currentTimeMillis() - begin));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.error("Failed to refresh jigsaw images pool", e);
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	/**
+	 * Generate JIGSAW image of the pool index.
 	 * 
-	 * @throws Exception
+	 * @param index
+	 * @return
 	 */
-	private synchronized void initializeJigsawImagePool() throws IOException {
+	private TailoredImage generateJigsawImage(int index) {
+		List<BufferedImage> materials = getMaterials();
+		if (index >= materials.size()) { // Inadequate material, random reuse.
+			index = current().nextInt(materials.size());
+		}
+		try {
+			TailoredImage code = tailor.getImage(materials.get(index));
+			code.encodeBase64(); // Pre-encoded
+			if (log.isDebugEnabled()) {
+				log.debug("Generated jigsaw image of material: {}, jigsawImage(x:{}, y:{})", index, code.getX(), code.getY());
+			}
+			return code;
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Failed to generate jigsaw image of material: %s", index), e);
+		}
+	}
+
+	/**
+	 * Get(or decode) JIGSAW materials.
+	 * 
+	 * @return
+	 */
+	private List<BufferedImage> getMaterials() {
+		List<BufferedImage> materials = this.materials;
+		if (materials == null) {
+			synchronized (this) {
+				if ((materials = this.materials) == null) {
+					try {
+						this.materials = materials = loadMaterials();
+					} catch (IOException e) {
+						throw new IllegalStateException("Failed to initialize jigsaw materials", e);
+					}
+				}
+			}
+		}
+		return materials;
+	}
+
+	/**
+	 * Load and decode JIGSAW materials.
+	 * 
+	 * @return
+	 * @throws IOException
+	 */
+	private List<BufferedImage> loadMaterials() throws IOException {
 		if (log.isInfoEnabled()) {
-			log.info("Initializing jigsaw image buffer pool...");
+			log.info("Initializing jigsaw image materials...");
 		}
 
+		List<BufferedImage> materials = new ArrayList<>();
 		if (isBlank(config.getJigsaw().getSourceDir())) {
 			PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
-			Resource[] resources = resolver.getResources(DEFAULT_JIGSAW_SOURCE_CLASSPATH);
-			parseAndPutJigsawImage(resources);
+			for (Resource resource : resolver.getResources(DEFAULT_JIGSAW_SOURCE_CLASSPATH)) {
+				try (InputStream in = resource.getInputStream()) {
+					materials.add(ImageTailor.toIntArgbImage(ImageIO.read(in)));
+				}
+			}
 		} else {
 			File srcDir = new File(config.getJigsaw().getSourceDir());
 			Assert.state((srcDir.canRead() && srcDir.exists()),
@@ -181,68 +298,31 @@ public class JigsawImageManager implements ApplicationRunner, Serializable {
 			File[] files = srcDir.listFiles(f -> !startsWith(f.getName(), "."));
 			Assert.state((files != null && files.length > 0),
 					String.format("Failed to initialize jigsaw images, path: %s material is empty", srcDir.getAbsolutePath()));
-			parseAndPutJigsawImage(files);
-		}
-
-	}
-
-	/**
-	 * Parse load & storage put buffer image to cache.
-	 * 
-	 * @param sources
-	 * @throws IOException
-	 */
-	private void parseAndPutJigsawImage(Object[] sources) throws IOException {
-		// Statistic use material.
-		Set<Integer> indexs = new HashSet<>();
-
-		// Initialize JIGSAW images.
-		ImageTailor tailor = new ImageTailor();
-		for (int i = 0; i < config.getJigsaw().getPoolImgSize(); i++) {
-			int index = i;
-			if (index >= sources.length) { // Inadequate material, random reuse.
-				index = current().nextInt(sources.length);
-			}
-			indexs.add(index); // For statistic
-
-			// Generate image.
-			Object source = sources[index];
-			if (log.isDebugEnabled()) {
-				log.debug("Generate jigsaw image from material: {}", source);
-			}
-
-			if (source instanceof File) {
-				String path = ((File) sources[index]).getAbsolutePath();
-				putJigsawImage(tailor.getImageFile(path), i);
-			} else if (source instanceof Resource) {
-				Resource resource = (Resource) source;
-				putJigsawImage(tailor.getImageInputStream(resource.getInputStream()), i);
-			} else {
-				throw new IllegalStateException(String.format("Unsupported jigsaw image source: %s", source));
+			for (File file : files) {
+				materials.add(ImageTailor.toIntArgbImage(ImageIO.read(file)));
 			}
 		}
+		Assert.state(!materials.isEmpty(), "Failed to initialize jigsaw images, material is empty");
 
 		if (log.isInfoEnabled()) {
-			log.info("Initialized jigsaw images buffer total: {}, expend material: {}", config.getJigsaw().getPoolImgSize(),
-					indexs.size());
+			log.info("Initialized jigsaw image materials total: {}", materials.size());
 		}
+		return materials;
 	}
 
 	/**
-	 * Put image to cache.
+	 * New daemon thread factory.
 	 * 
-	 * @param code
-	 * @param index
+	 * @param prefix
+	 * @return
 	 */
-	private void putJigsawImage(TailoredImage code, int index) {
-		// Compression primary block image.
-		byte[] data = serialize(code/* .compress() */);
-		// Storage to cache.
-		jedisService.getJedisCluster().hset(CACHE_VERIFY_JIGSAW_IMG, toBytes(String.valueOf(index)), data);
-		jedisService.getJedisCluster().expire(CACHE_VERIFY_JIGSAW_IMG, config.getJigsaw().getPoolImgExpireSec());
-		if (log.isDebugEnabled()) {
-			log.debug("Put jigsaw image to cache, index {}, jigsawImage(x:{}, y:{})", index, code.getX(), code.getY());
-		}
+	private static ThreadFactory newThreadFactory(String prefix) {
+		AtomicInteger counter = new AtomicInteger(0);
+		return r -> {
+			Thread t = new Thread(r, prefix + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
 	}
 
-}
\ No newline at end of file
+}
@@ -40,7 +40,6 @@ import java.util.List;
 import java.util.Objects;
 
 import static com.wl4g.devops.iam.common.utils.IamSecurityHolder.getBindValue;
-import static com.wl4g.devops.tool.common.codec.Encodes.encodeBase64;
 import static com.wl4g.devops.tool.common.serialize.JacksonUtils.parseJSON;
 
 /**
@@ -81,8 +80,8 @@ public class JigsawSecurityVerifier extends GraphBasedSecurityVerifier {
 		// Build model
 		JigsawApplyImgModel model = new JigsawApplyImgModel(graphToken, verifyType().getAlias());
 		model.setY(code.getY());
-		model.setPrimaryImg(encodeBase64(code.getPrimaryImg()));
-		model.setBlockImg(encodeBase64(code.getBlockImg()));
+		model.setPrimaryImg(code.getPrimaryImgBase64());
+		model.setBlockImg(code.getBlockImgBase64());
 		model.setSecret(keySpec.getPubHexString());
 		return model;
 	}
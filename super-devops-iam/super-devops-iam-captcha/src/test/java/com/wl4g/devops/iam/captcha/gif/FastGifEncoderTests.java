@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.captcha.gif;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.wl4g.devops.iam.captcha.gif.FastGifEncoder.Output;
+
+public class FastGifEncoderTests {
+
+	public static void main(String[] args) throws Exception {
+		lzwCompatibleTest();
+		decodeTest();
+		benchmarkTest();
+	}
+
+	public static void lzwCompatibleTest() throws Exception {
+		Random random = new Random(1);
+		byte[] pixels = new byte[150 * 40];
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = (byte) (random.nextInt(8) == 0 ? random.nextInt(256) : 215);
+		}
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		new Encoder(150, 40, pixels, 8).encode(expected);
+
+		LzwEncoder lzw = new LzwEncoder();
+		Output actual = new Output(16);
+		for (int i = 0; i < 2; i++) { // Reused
+			actual.reset();
+			lzw.encode(pixels, pixels.length, 8, actual);
+		}
+		assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()), "LZW output must equal the legacy Encoder.");
+	}
+
+	public static void decodeTest() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new GifCaptcha("abcde").out(out);
+		GifDecoder decoder = new GifDecoder();
+		int status = decoder.read(new ByteArrayInputStream(out.toByteArray()));
+		assertTrue(status == GifDecoder.STATUS_OK, "Expected decoding status OK, but was: " + status);
+		assertTrue(decoder.getFrameCount() == 5, "Expected 5 frames, but was: " + decoder.getFrameCount());
+		assertTrue(decoder.getFrameSize().width == 150 && decoder.getFrameSize().height == 40,
+				"Expected frame size 150x40, but was: " + decoder.getFrameSize());
+	}
+
+	public static void benchmarkTest() throws Exception {
+		for (int r = 0; r < 3; r++) {
+			long begin = System.nanoTime();
+			for (int i = 0; i < 1000; i++) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				new GifCaptcha("abcde").out(out);
+				assertTrue(out.size() > 0, "GIF captcha must not be empty.");
+			}
+			System.out.println("Generate cost: " + (System.nanoTime() - begin) / 1000 / 1e6d + "ms");
+		}
+	}
+
+	private static void assertTrue(boolean condition, String message) {
+		if (!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.captcha.jigsaw;
+
+import static org.apache.commons.lang3.SystemUtils.USER_DIR;
+
+import com.wl4g.devops.iam.captcha.config.CaptchaProperties;
+import com.wl4g.devops.iam.captcha.jigsaw.ImageTailor.TailoredImage;
+
+public class JigsawImageManagerTests {
+
+	public static void main(String[] args) throws Exception {
+		CaptchaProperties config = new CaptchaProperties();
+		config.getJigsaw().setSourceDir(USER_DIR + "/src/main/resources/static/jigsaw");
+		JigsawImageManager manager = new JigsawImageManager(config);
+
+		try {
+			// Generated on demand before the pool is refreshed.
+			assertBorrowed(manager.borrow());
+
+			manager.run(null);
+			Thread.sleep(3000L); // Wait for refreshing.
+			for (int i = 0; i < 10000; i++) {
+				assertBorrowed(manager.borrow());
+			}
+		} finally {
+			manager.destroy();
+		}
+	}
+
+	private static void assertBorrowed(TailoredImage img) {
+		assertTrue(img != null, "Borrowed image must not be null.");
+		assertTrue(img.getPrimaryImg() != null && img.getBlockImg() != null, "Borrowed image must have primary and block.");
+		// Pre-encoded base64 is cached, otherwise it's encoded by each getting.
+		assertTrue(img.getPrimaryImgBase64() == img.getPrimaryImgBase64(), "Primary image must be pre-encoded.");
+		assertTrue(img.getBlockImgBase64() == img.getBlockImgBase64(), "Block image must be pre-encoded.");
+	}
+
+	private static void assertTrue(boolean condition, String message) {
+		if (!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
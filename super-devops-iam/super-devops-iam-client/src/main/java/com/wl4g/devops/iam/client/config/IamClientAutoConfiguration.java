@@ -31,6 +31,7 @@ import com.wl4g.devops.iam.client.realm.FastCasAuthorizingRealm;
 import com.wl4g.devops.iam.client.validation.ExpiredSessionIamValidator;
 import com.wl4g.devops.iam.client.validation.FastCasTicketIamValidator;
 import com.wl4g.devops.iam.client.validation.IamValidator;
+import com.wl4g.devops.iam.client.validation.TicketValidationCache;
 import com.wl4g.devops.iam.client.web.ClientAuthenticatorController;
 import com.wl4g.devops.iam.client.session.mgt.IamClientSessionManager;
 import com.wl4g.devops.iam.client.authc.aop.SecondAuthenticateAspect;
@@ -51,6 +52,7 @@ import com.wl4g.devops.iam.common.config.AbstractIamProperties.ParamProperties;
 import com.wl4g.devops.iam.common.mgt.IamSubjectFactory;
 import com.wl4g.devops.iam.common.session.mgt.IamSessionFactory;
 import com.wl4g.devops.iam.common.session.mgt.JedisIamSessionDAO;
+import com.wl4g.devops.iam.common.subject.SimplePrincipalInfo;
 
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.URI_C_BASE;
 
@@ -124,8 +126,9 @@ public class IamClientAutoConfiguration extends AbstractIamConfiguration {
 
 	@Bean
 	public LogoutAuthenticationFilter logoutAuthenticationFilter(IamClientProperties config, ClientSecurityConfigurer context,
-			ClientSecurityCoprocessor coprocessor, JedisCacheManager cacheManager, RestTemplate restTemplate) {
-		return new LogoutAuthenticationFilter(config, context, coprocessor, cacheManager, restTemplate);
+			ClientSecurityCoprocessor coprocessor, JedisCacheManager cacheManager, RestTemplate restTemplate,
+			TicketValidationCache<SimplePrincipalInfo> validationCache) {
+		return new LogoutAuthenticationFilter(config, context, coprocessor, cacheManager, restTemplate, validationCache);
 	}
 
 	// ==============================
@@ -181,8 +184,15 @@ public class IamClientAutoConfiguration extends AbstractIamConfiguration {
 
 	@SuppressWarnings("rawtypes")
 	@Bean(BEAN_TICKET_VALIDATOR)
-	public IamValidator fastCasTicketValidator(IamClientProperties config, RestTemplate restTemplate) {
-		return new FastCasTicketIamValidator(config, restTemplate);
+	public IamValidator fastCasTicketValidator(IamClientProperties config, RestTemplate restTemplate,
+			TicketValidationCache<SimplePrincipalInfo> validationCache) {
+		return new FastCasTicketIamValidator(config, restTemplate,
+				config.getValidation().isCacheEnabled() ? validationCache : null);
+	}
+
+	@Bean
+	public TicketValidationCache<SimplePrincipalInfo> ticketValidationCache(IamClientProperties config) {
+		return new TicketValidationCache<>(config.getValidation().getCacheMaxSize(), config.getValidation().getCacheExpireMs());
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -18,6 +18,8 @@ package com.wl4g.devops.iam.client.config;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.springframework.util.Assert.notNull;
 
+import java.io.Serializable;
+
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -78,6 +80,11 @@ public class IamClientProperties extends AbstractIamProperties<ClientParamProper
 	 */
 	private ClientParamProperties param = new ClientParamProperties();
 
+	/**
+	 * IAM client grant ticket validation configuration.
+	 */
+	private ValidationProperties validation = new ValidationProperties();
+
 	/**
 	 * Implementing the IAM-CAS protocol: When successful login, you must
 	 * redirect to the back-end server URI of IAM-CAS-Client. (Note: URI of
@@ -160,6 +167,14 @@ public class IamClientProperties extends AbstractIamProperties<ClientParamProper
 		this.param = param;
 	}
 
+	public ValidationProperties getValidation() {
+		return validation;
+	}
+
+	public void setValidation(ValidationProperties validation) {
+		this.validation = validation;
+	}
+
 	@Override
 	protected void validation() {
 		notNull(getServerUri(), "'baseUri' must be empty.");
@@ -193,4 +208,60 @@ public class IamClientProperties extends AbstractIamProperties<ClientParamProper
 
 	}
 
+	/**
+	 * IAM client grant ticket validation configuration properties
+	 * 
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0
+	 * @date 2020年3月14日
+	 * @since
+	 */
+	public static class ValidationProperties implements Serializable {
+		private static final long serialVersionUID = -3712907427851127345L;
+
+		/**
+		 * Enable coalescing the concurrent validations of the same ticket, and
+		 * the local cache of the successful validation assertions by their new
+		 * granted tickets.
+		 */
+		private boolean cacheEnabled = true;
+
+		/**
+		 * Maximum assertions of the local cache.
+		 */
+		private int cacheMaxSize = 10_000;
+
+		/**
+		 * Maximum expiration time(ms) of the cached assertions, the assertions
+		 * are also expired at their valid-until date. It's the upper bound of
+		 * staleness when the logout is broadcast to the other client nodes.
+		 */
+		private long cacheExpireMs = 300_000L;
+
+		public boolean isCacheEnabled() {
+			return cacheEnabled;
+		}
+
+		public void setCacheEnabled(boolean cacheEnabled) {
+			this.cacheEnabled = cacheEnabled;
+		}
+
+		public int getCacheMaxSize() {
+			return cacheMaxSize;
+		}
+
+		public void setCacheMaxSize(int cacheMaxSize) {
+			this.cacheMaxSize = cacheMaxSize;
+		}
+
+		public long getCacheExpireMs() {
+			return cacheExpireMs;
+		}
+
+		public void setCacheExpireMs(long cacheExpireMs) {
+			this.cacheExpireMs = cacheExpireMs;
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -38,6 +38,7 @@ import com.wl4g.devops.iam.client.authc.LogoutAuthenticationToken;
 import com.wl4g.devops.iam.client.config.IamClientProperties;
 import com.wl4g.devops.iam.client.configure.ClientSecurityConfigurer;
 import com.wl4g.devops.iam.client.configure.ClientSecurityCoprocessor;
+import com.wl4g.devops.iam.client.validation.TicketValidationCache;
 import com.wl4g.devops.iam.common.annotation.IamFilter;
 import com.wl4g.devops.iam.common.authc.model.LogoutModel;
 import com.wl4g.devops.iam.common.cache.JedisCacheManager;
@@ -70,11 +71,19 @@ public class LogoutAuthenticationFilter extends AbstractAuthenticationFilter<Aut
 
 	final protected RestTemplate restTemplate;
 
+	/**
+	 * Local cache of ticket validation assertions.
+	 */
+	final protected TicketValidationCache<?> validationCache;
+
 	public LogoutAuthenticationFilter(IamClientProperties config, ClientSecurityConfigurer context,
-			ClientSecurityCoprocessor coprocessor, JedisCacheManager cacheManager, RestTemplate restTemplate) {
+			ClientSecurityCoprocessor coprocessor, JedisCacheManager cacheManager, RestTemplate restTemplate,
+			TicketValidationCache<?> validationCache) {
 		super(config, context, coprocessor, cacheManager);
 		Assert.notNull(restTemplate, "'restTemplate' must not be null");
+		Assert.notNull(validationCache, "'validationCache' must not be null");
 		this.restTemplate = restTemplate;
+		this.validationCache = validationCache;
 	}
 
 	@Override
@@ -144,6 +153,7 @@ public class LogoutAuthenticationFilter extends AbstractAuthenticationFilter<Aut
 
 		// Get grantTicket
 		String grantTicket = (String) subject.getSession().getAttribute(SAVE_GRANT_TICKET);
+		validationCache.invalidate(grantTicket);
 
 		// Post server logout URL by grantTicket
 		String url = buildRemoteLogoutUrl(grantTicket, forced);
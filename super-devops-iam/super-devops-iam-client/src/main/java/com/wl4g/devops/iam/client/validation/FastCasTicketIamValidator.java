@@ -29,6 +29,7 @@ import com.wl4g.devops.iam.common.authc.model.TicketValidateModel;
 import com.wl4g.devops.iam.common.subject.SimplePrincipalInfo;
 
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.URI_S_VALIDATE;
+import static java.util.Objects.isNull;
 
 import java.util.Map;
 
@@ -43,8 +44,19 @@ import java.util.Map;
 public class FastCasTicketIamValidator
 		extends AbstractBasedIamValidator<TicketValidateModel, TicketValidatedAssertModel<SimplePrincipalInfo>> {
 
+	/**
+	 * Local cache of validation assertions(may be null).
+	 */
+	final protected TicketValidationCache<SimplePrincipalInfo> cache;
+
 	public FastCasTicketIamValidator(IamClientProperties config, RestTemplate restTemplate) {
+		this(config, restTemplate, null);
+	}
+
+	public FastCasTicketIamValidator(IamClientProperties config, RestTemplate restTemplate,
+			TicketValidationCache<SimplePrincipalInfo> cache) {
 		super(config, restTemplate);
+		this.cache = cache;
 	}
 
 	@Override
@@ -54,6 +66,21 @@ public class FastCasTicketIamValidator
 
 	@Override
 	public TicketValidatedAssertModel<SimplePrincipalInfo> validate(TicketValidateModel req) throws TicketValidateException {
+		if (isNull(cache)) {
+			return doValidate(req);
+		}
+		return cache.validate(req.getTicket(), () -> doValidate(req));
+	}
+
+	/**
+	 * Contacts the IAM server to validate the ticket.
+	 * 
+	 * @param req
+	 * @return
+	 * @throws TicketValidateException
+	 */
+	protected TicketValidatedAssertModel<SimplePrincipalInfo> doValidate(TicketValidateModel req)
+			throws TicketValidateException {
 		final RespBase<TicketValidatedAssertModel<SimplePrincipalInfo>> resp = doGetRemoteValidate(URI_S_VALIDATE, req);
 		if (!RespBase.isSuccess(resp)) {
 			// Only if the error is not authenticated, can it be redirected to
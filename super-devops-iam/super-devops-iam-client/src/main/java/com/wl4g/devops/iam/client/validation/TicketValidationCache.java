@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.client.validation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.iam.common.authc.model.TicketValidatedAssertModel;
+import com.wl4g.devops.iam.common.subject.IamPrincipalInfo;
+
+/**
+ * Local cache of the grant ticket validations, which is safe with the ticket
+ * rotation of IAM server(the validated ticket is consumed, and a new grant
+ * ticket is granted by the assertion).<br/>
+ * The concurrent validations of the same ticket are coalesced into a single
+ * in-flight remote call(otherwise only the first one is accepted by the IAM
+ * server), which is never reused after completed. The successful assertion
+ * is cached by the new granted ticket until its valid-until date(bounded by
+ * the maximum expiration time), and it's dropped when it's consumed by the
+ * validation of that ticket or the logout of that ticket, so the consumed
+ * tickets are never answered locally.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月14日
+ * @since
+ * @param <T>
+ */
+public class TicketValidationCache<T extends IamPrincipalInfo> {
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * Cached assertions of the new granted tickets.
+	 */
+	final private ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>(256);
+
+	/**
+	 * In-flight validations of tickets.
+	 */
+	final private ConcurrentMap<String, CompletableFuture<TicketValidatedAssertModel<T>>> inflights = new ConcurrentHashMap<>(
+			64);
+
+	final private int maxSize;
+
+	final private long expireMs;
+
+	public TicketValidationCache(int maxSize, long expireMs) {
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than 0");
+		Assert.isTrue(expireMs > 0, "'expireMs' must be greater than 0");
+		this.maxSize = maxSize;
+		this.expireMs = expireMs;
+	}
+
+	/**
+	 * Consume the cached assertion granted the ticket, otherwise validate by
+	 * the loader, only one loader of the same ticket is executed at the same
+	 * time, and the others wait for its result(or exception).
+	 *
+	 * @param ticket
+	 * @param loader
+	 * @return
+	 */
+	public TicketValidatedAssertModel<T> validate(String ticket, Supplier<TicketValidatedAssertModel<T>> loader) {
+		Assert.notNull(loader, "'loader' must not be null");
+		if (isBlank(ticket)) {
+			return loader.get();
+		}
+
+		// Dropped when consumed.
+		Entry<T> entry = entries.remove(ticket);
+		if (nonNull(entry) && entry.expireTime > currentTimeMillis()) {
+			if (log.isDebugEnabled()) {
+				log.debug("Consumed cached assertion of granted ticket: {}", ticket);
+			}
+			return entry.assertion;
+		}
+
+		CompletableFuture<TicketValidatedAssertModel<T>> future = new CompletableFuture<>();
+		CompletableFuture<TicketValidatedAssertModel<T>> inflight = inflights.putIfAbsent(ticket, future);
+		if (nonNull(inflight)) {
+			if (log.isDebugEnabled()) {
+				log.debug("Waiting in-flight validation of ticket: {}", ticket);
+			}
+			return join(inflight);
+		}
+
+		try {
+			TicketValidatedAssertModel<T> assertion = loader.get();
+			// Not cached if it was invalidated during validating.
+			if (inflights.remove(ticket, future)) {
+				put(assertion);
+			}
+			future.complete(assertion);
+			return assertion;
+		} catch (RuntimeException | Error e) {
+			inflights.remove(ticket, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Invalidate the cached assertion of the granted ticket, or the in-flight
+	 * validation of the ticket.
+	 *
+	 * @param ticket
+	 */
+	public void invalidate(String ticket) {
+		if (isBlank(ticket)) {
+			return;
+		}
+		inflights.remove(ticket);
+		entries.remove(ticket);
+		if (log.isDebugEnabled()) {
+			log.debug("Invalidated validation cache of ticket: {}", ticket);
+		}
+	}
+
+	/**
+	 * Clear all the cached assertions.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Cache the assertion by its new granted ticket.
+	 *
+	 * @param assertion
+	 */
+	private void put(TicketValidatedAssertModel<T> assertion) {
+		if (isNull(assertion) || isNull(assertion.getValidUntilDate()) || isNull(assertion.getPrincipalInfo())) {
+			return;
+		}
+		String grantedTicket = assertion.getPrincipalInfo().getStoredCredentials();
+		long now = currentTimeMillis();
+		long expireTime = Math.min(assertion.getValidUntilDate().getTime(), now + expireMs);
+		if (isBlank(grantedTicket) || expireTime <= now) {
+			return;
+		}
+		entries.put(grantedTicket, new Entry<>(assertion, expireTime));
+		ensureCapacity();
+	}
+
+	/**
+	 * Remove the expired entries, and then the arbitrary entries if it's still
+	 * beyond the maximum size.
+	 */
+	private void ensureCapacity() {
+		if (entries.size() <= maxSize) {
+			return;
+		}
+		long now = currentTimeMillis();
+		entries.values().removeIf(e -> e.expireTime <= now);
+		Iterator<Entry<T>> it = entries.values().iterator();
+		while (entries.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	private static <A> A join(CompletableFuture<A> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Cached assertion entry.
+	 */
+	private static class Entry<T extends IamPrincipalInfo> {
+		final private TicketValidatedAssertModel<T> assertion;
+		final private long expireTime;
+
+		private Entry(TicketValidatedAssertModel<T> assertion, long expireTime) {
+			this.assertion = assertion;
+			this.expireTime = expireTime;
+		}
+	}
+
+}
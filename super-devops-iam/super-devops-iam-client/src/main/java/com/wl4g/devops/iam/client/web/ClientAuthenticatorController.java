@@ -21,12 +21,15 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.apache.shiro.SecurityUtils;
 import org.apache.shiro.session.SessionException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.wl4g.devops.common.web.BaseController;
 import com.wl4g.devops.common.web.RespBase;
 import com.wl4g.devops.common.web.RespBase.RetCode;
+import com.wl4g.devops.iam.client.config.IamClientProperties;
+import com.wl4g.devops.iam.client.validation.TicketValidationCache;
 import com.wl4g.devops.iam.common.annotation.IamController;
 import com.wl4g.devops.iam.common.authc.model.LogoutModel;
 import com.wl4g.devops.iam.common.utils.IamSecurityHolder;
@@ -42,6 +45,18 @@ import com.wl4g.devops.tool.common.lang.Exceptions;
 @IamController
 public class ClientAuthenticatorController extends BaseController {
 
+	/**
+	 * IAM client properties.
+	 */
+	@Autowired
+	protected IamClientProperties config;
+
+	/**
+	 * Local cache of ticket validation assertions.
+	 */
+	@Autowired
+	protected TicketValidationCache<?> validationCache;
+
 	/**
 	 * IAM client logout
 	 * 
@@ -56,6 +71,9 @@ public class ClientAuthenticatorController extends BaseController {
 		}
 
 		RespBase<LogoutModel> resp = new RespBase<>();
+		// Broadcast by IAM server with the grant ticket of this application.
+		validationCache.invalidate(request.getParameter(config.getParam().getGrantTicket()));
+
 		/*
 		 * Local client session logout
 		 */
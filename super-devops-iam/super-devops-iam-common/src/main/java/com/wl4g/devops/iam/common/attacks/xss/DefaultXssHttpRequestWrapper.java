@@ -15,24 +15,22 @@
  */
 package com.wl4g.devops.iam.common.attacks.xss;
 
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static com.wl4g.devops.iam.common.attacks.xss.XssSanitizer.hasMarkup;
 
 import javax.servlet.http.HttpServletRequest;
 
-import com.wl4g.devops.iam.common.attacks.xss.html.HTMLParser;
-import com.wl4g.devops.iam.common.attacks.xss.html.XSSFilter;
-
 /**
- * Default XSS HttpServlet request wrapper
+ * Default XSS HttpServlet request wrapper.<br/>
+ * The values are sanitized by {@link XssSanitizer}, and the values parsed by
+ * the HTML parser are memoized in current request.
  *
  * @author wangl.sir
  * @version v1.0 2019年4月26日
@@ -40,8 +38,25 @@ import com.wl4g.devops.iam.common.attacks.xss.html.XSSFilter;
  */
 public class DefaultXssHttpRequestWrapper extends XssHttpRequestWrapper {
 
+	/**
+	 * Maximum memoized values of request.
+	 */
+	final public static int MAX_MEMOIZED = 256;
+
+	final private XssSanitizer sanitizer;
+
+	/**
+	 * Sanitized values memoized of current request(original => sanitized).
+	 */
+	private volatile Map<String, String> memoized;
+
 	public DefaultXssHttpRequestWrapper(HttpServletRequest request) {
+		this(request, XssSanitizer.DEFAULT);
+	}
+
+	public DefaultXssHttpRequestWrapper(HttpServletRequest request, XssSanitizer sanitizer) {
 		super(request);
+		this.sanitizer = sanitizer;
 	}
 
 	@Override
@@ -153,28 +168,24 @@ public class DefaultXssHttpRequestWrapper extends XssHttpRequestWrapper {
 	@SuppressWarnings("unchecked")
 	@Override
 	protected <O, I> O _xssEncode(I value) {
-		if (value != null && value instanceof CharSequence && isNotBlank((String) value)) {
-			// value = StringEscapeUtils.unescapeJava((String) value);
-			// value = StringEscapeUtils.unescapeEcmaScript((String) value);
-			// value = StringEscapeUtils.unescapeHtml4((String) value);
-			// value = StringEscapeUtils.unescapeHtml3((String) value);
-			// value = StringEscapeUtils.unescapeJson((String) value);
-			// value = StringEscapeUtils.unescapeXml((String) value);
-			// value = StringEscapeUtils.unescapeXml((String) value);
-
-			try {
-				StringReader reader = new StringReader((String) value);
-				StringWriter writer = new StringWriter();
-				HTMLParser.process(reader, writer, new XSSFilter(), true);
-				return (O) writer.toString();
-			} catch (NullPointerException ex) {
-				return (O) value;
-			} catch (Exception ex) {
-				throw new IllegalArgumentException(String.format("Solving possible XSS data failure for: %s ", value), ex);
-			}
+		// Fast path, plain text(most values).
+		if (!(value instanceof String) || !hasMarkup((String) value)) {
+			return (O) value;
 		}
 
-		return (O) value;
+		String original = (String) value;
+		Map<String, String> memoized = this.memoized;
+		if (memoized == null) {
+			this.memoized = memoized = new ConcurrentHashMap<>(8);
+		}
+		String sanitized = memoized.get(original);
+		if (sanitized == null) {
+			sanitized = sanitizer.sanitize(original);
+			if (memoized.size() < MAX_MEMOIZED) {
+				memoized.put(original, sanitized);
+			}
+		}
+		return (O) sanitized;
 	}
 
 }
\ No newline at end of file
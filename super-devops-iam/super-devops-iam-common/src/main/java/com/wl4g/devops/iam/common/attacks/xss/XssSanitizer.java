@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.attacks.xss;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import com.wl4g.devops.iam.common.attacks.xss.html.HTMLParser;
+import com.wl4g.devops.iam.common.attacks.xss.html.XSSFilter;
+
+/**
+ * XSS sanitizer of the request values.<br/>
+ * The {@link HTMLParser} only rewrites the values which contain the tags, so
+ * that the values are scanned in a single pass at first, and returned
+ * unchanged if no markup-significant character is present(most values are
+ * plain text), the HTML parser is the fallback of the others.
+ *
+ * @author wangl.sir
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class XssSanitizer {
+
+	/**
+	 * Default XSS sanitizer instance.
+	 */
+	final public static XssSanitizer DEFAULT = new XssSanitizer();
+
+	/**
+	 * Sanitize the value.
+	 *
+	 * @param value
+	 * @return The value itself if no markup is present.
+	 */
+	public String sanitize(String value) {
+		if (value == null || !hasMarkup(value)) {
+			return value;
+		}
+		return parse(value);
+	}
+
+	/**
+	 * Whether the value contains markup-significant character, i.e. the tag
+	 * opening(the HTML parser can't recognize any element without it).
+	 *
+	 * @param value
+	 * @return
+	 */
+	public static boolean hasMarkup(CharSequence value) {
+		if (value instanceof String) {
+			return ((String) value).indexOf('<') >= 0;
+		}
+		for (int i = 0, len = value.length(); i < len; i++) {
+			if (value.charAt(i) == '<') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sanitize the value by {@link HTMLParser}.
+	 *
+	 * @param value
+	 * @return
+	 */
+	protected String parse(String value) {
+		try {
+			StringReader reader = new StringReader(value);
+			StringWriter writer = new StringWriter(value.length());
+			HTMLParser.process(reader, writer, new XSSFilter(), true);
+			return writer.toString();
+		} catch (NullPointerException ex) { // No element recognized.
+			return value;
+		} catch (Exception ex) {
+			throw new IllegalArgumentException(String.format("Solving possible XSS data failure for: %s ", value), ex);
+		}
+	}
+
+}
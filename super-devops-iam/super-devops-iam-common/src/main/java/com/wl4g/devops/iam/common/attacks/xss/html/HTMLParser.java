@@ -42,9 +42,9 @@ public class HTMLParser {
 	// to store process-specific information.
 	// It's better to call instance-specific methods, but need to find
 	// out how to do that with ANTLR.
-	private static ThreadLocal<Node> topNode;
-	private static ThreadLocal<Node> currentNode;
-	private static ThreadLocal<Node> attrNode;
+	final private static ThreadLocal<Node> topNode = new ThreadLocal<>();
+	final private static ThreadLocal<Node> currentNode = new ThreadLocal<>();
+	final private static ThreadLocal<Node> attrNode = new ThreadLocal<>();
 
 	/**
 	 * The only method that should be called to initiate the process
@@ -78,10 +78,10 @@ public class HTMLParser {
 			CommonTreeNodeStream nodes = new CommonTreeNodeStream((Tree) root.getTree());
 			htmlTreeParser walker = new htmlTreeParser(nodes);
 
-			// Initialize data structures
-			topNode = new ThreadLocal<>();
-			currentNode = new ThreadLocal<>();
-			attrNode = new ThreadLocal<>();
+			// Initialize data structures of current thread.
+			topNode.remove();
+			currentNode.remove();
+			attrNode.remove();
 
 			// Walk in the entire document using the tree parser.
 			walker.document();
@@ -95,6 +95,10 @@ public class HTMLParser {
 			throw new HandlingException("Could not parse document");
 		} catch (RecognitionException re) {
 			throw new HandlingException("Could not parse document");
+		} finally {
+			topNode.remove();
+			currentNode.remove();
+			attrNode.remove();
 		}
 	}
 
@@ -39,12 +39,24 @@ public class EnhancedKey {
 	private Serializer serializer;
 	private Deserializer deserializer;
 
+	/**
+	 * Encoded(UTF-8) bytes of the key, it's encoded once for each instance.
+	 */
+	private transient byte[] keyBytes;
+
+	/**
+	 * The last encoded prefixed key, it's reused while the prefix bytes(e.g.
+	 * shared by the cache name) is the same instance.
+	 */
+	private transient PrefixedKey prefixed;
+
 	public EnhancedKey(Serializable key) {
 		this(key, -1); // -1:not overdue
 	}
 
 	public EnhancedKey(byte[] key) {
-		this.key = new String(key);
+		this.key = new String(key, Charsets.UTF_8);
+		this.keyBytes = key;
 		this.expire = 0;
 	}
 
@@ -70,7 +82,51 @@ public class EnhancedKey {
 	}
 
 	public byte[] getKey() {
-		return getKey(null);
+		return getKey((String) null);
+	}
+
+	/**
+	 * Get the encoded key with the encoded prefix, the result is cached(don't
+	 * modify it) until the other prefix instance is used.
+	 *
+	 * @param prefix
+	 *            Encoded prefix, e.g. the name bytes of cache.
+	 * @return
+	 */
+	public byte[] getKey(byte[] prefix) {
+		Assert.notNull(prefix, "'prefix' must not be null");
+		PrefixedKey last = prefixed;
+		if (last != null && last.prefix == prefix) {
+			return last.bytes;
+		}
+		byte[] raw = getRawKeyBytes();
+		byte[] bytes = new byte[prefix.length + raw.length];
+		System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+		System.arraycopy(raw, 0, bytes, prefix.length, raw.length);
+		prefixed = new PrefixedKey(prefix, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Key without the cache name prefix.
+	 *
+	 * @return
+	 */
+	public String getRawKey() {
+		return key;
+	}
+
+	/**
+	 * Encoded key without the cache name prefix(don't modify it).
+	 *
+	 * @return
+	 */
+	public byte[] getRawKeyBytes() {
+		byte[] bytes = keyBytes;
+		if (bytes == null) {
+			keyBytes = bytes = key.getBytes(Charsets.UTF_8);
+		}
+		return bytes;
 	}
 
 	public boolean hasExpire() {
@@ -123,6 +179,20 @@ public class EnhancedKey {
 		return ((prefix == null ? "" : prefix) + key).getBytes(Charsets.UTF_8);
 	}
 
+	/**
+	 * Encoded key with the prefix(immutable, so it's safely published by the
+	 * benign race).
+	 */
+	private static class PrefixedKey {
+		final private byte[] prefix;
+		final private byte[] bytes;
+
+		private PrefixedKey(byte[] prefix, byte[] bytes) {
+			this.prefix = prefix;
+			this.bytes = bytes;
+		}
+	}
+
 	/**
 	 * Serializer
 	 *
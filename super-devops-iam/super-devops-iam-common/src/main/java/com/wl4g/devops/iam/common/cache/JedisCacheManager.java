@@ -15,42 +15,141 @@
  */
 package com.wl4g.devops.iam.common.cache;
 
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_FAILFAST_CAPTCHA_COUNTER;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_FAILFAST_MATCH_COUNTER;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_FAILFAST_SMS_COUNTER;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_MATCH_LOCK;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_TICKET_C;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_TICKET_S;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.nonNull;
+
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.shiro.cache.Cache;
 import org.apache.shiro.cache.CacheException;
 import org.apache.shiro.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPubSub;
 
 /**
- * RedisCache Manager implements let Shiro use Redis caching
+ * RedisCache Manager implements let Shiro use Redis caching.<br/>
+ * The local near-cache is only enabled for the opt-in(read-mostly) cache
+ * names, the ticket, lock and fail-fast counter caches are always bypassed,
+ * because they're consumed or changed on every access, and must be seen by
+ * all nodes immediately. If enabled, the invalidation messages of all caches
+ * are subscribed by the pattern channel:
+ *
+ * <pre>
+ * Channel: {prefix}cache_invalidation:{cacheName}
+ * Message: {nodeId}:{key} (or {nodeId} of clearing)
+ * </pre>
  *
  * @author Wangl.sir <983708408@qq.com>
  * @version v1.0
  * @time 2017年4月13日
  * @since
  */
-public class JedisCacheManager implements EnhancedCacheManager {
+public class JedisCacheManager implements EnhancedCacheManager, InitializingBean, DisposableBean {
+
+	/**
+	 * Cache invalidation channel suffix.
+	 */
+	final public static String INVALIDATION_CHANNEL = "cache_invalidation:";
+
+	/**
+	 * Cache names that always bypass the local near-cache.
+	 */
+	final public static Set<String> NEAR_CACHE_BYPASS_NAMES = unmodifiableSet(new HashSet<>(asList(CACHE_TICKET_S, CACHE_TICKET_C,
+			CACHE_MATCH_LOCK, CACHE_FAILFAST_CAPTCHA_COUNTER, CACHE_FAILFAST_SMS_COUNTER, CACHE_FAILFAST_MATCH_COUNTER)));
 
-	final private Map<String, EnhancedCache> caching = new ConcurrentHashMap<>();
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	final private Map<String, JedisEnhancedCache> caching = new ConcurrentHashMap<>();
+
+	/**
+	 * Random identifier of the current node(to ignore the messages published
+	 * by itself).
+	 */
+	final private String nodeId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 12);
+
+	final private Subscriber subscriber = new Subscriber();
 
 	private String prefix;
 	private JedisCluster jedisCluster;
 
+	/**
+	 * Cache names which enable the near-cache.
+	 */
+	private Set<String> nearCacheNames;
+
+	/**
+	 * Maximum entries of the near-cache of each cache, 0 means disabled.
+	 */
+	private int nearCacheMaxSize;
+
+	/**
+	 * Expiration time(ms) of the near-cache entries.
+	 */
+	private long nearCacheExpireMs;
+
+	private volatile Thread subscribing;
+
+	private volatile boolean closed;
+
 	public JedisCacheManager(String prefix, JedisCluster jedisCluster) {
+		this(prefix, jedisCluster, emptySet(), 0, 0L);
+	}
+
+	public JedisCacheManager(String prefix, JedisCluster jedisCluster, Collection<String> nearCacheNames, int nearCacheMaxSize,
+			long nearCacheExpireMs) {
 		Assert.notNull(prefix, "'prefix' must not be null");
 		Assert.notNull(jedisCluster, "'jedisCluster' must not be null");
+		Assert.notNull(nearCacheNames, "'nearCacheNames' must not be null");
+		Assert.isTrue(nearCacheMaxSize <= 0 || nearCacheExpireMs > 0, "'nearCacheExpireMs' must be greater than 0");
 		this.prefix = prefix;
 		this.jedisCluster = jedisCluster;
+		this.nearCacheNames = new HashSet<>(nearCacheNames);
+		for (String name : NEAR_CACHE_BYPASS_NAMES) {
+			if (this.nearCacheNames.remove(name)) {
+				log.warn("Ignore near-cache of cache: {}, it's always bypassed.", name);
+			}
+		}
+		this.nearCacheMaxSize = nearCacheMaxSize;
+		this.nearCacheExpireMs = nearCacheExpireMs;
 	}
 
 	public JedisCluster getJedisCluster() {
 		return jedisCluster;
 	}
 
+	public boolean isNearCacheEnabled() {
+		return nearCacheMaxSize > 0 && !nearCacheNames.isEmpty();
+	}
+
+	/**
+	 * Whether the near-cache of cache is enabled.
+	 *
+	 * @param name
+	 * @return
+	 */
+	public boolean isNearCacheEnabled(String name) {
+		return nearCacheMaxSize > 0 && nearCacheNames.contains(name);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Cache<EnhancedKey, Object> getCache(String name) throws CacheException {
@@ -67,15 +166,101 @@ public class JedisCacheManager implements EnhancedCacheManager {
 	@Override
 	public EnhancedCache getEnhancedCache(String name) throws CacheException {
 		String cacheName = getCacheName(name);
-		EnhancedCache cache = caching.get(cacheName);
+		JedisEnhancedCache cache = caching.get(cacheName);
 		if (Objects.isNull(cache)) {
-			caching.put(cacheName, (cache = new JedisEnhancedCache(cacheName, jedisCluster)));
+			cache = caching.computeIfAbsent(cacheName, n -> {
+				if (isNearCacheEnabled(name)) {
+					return new JedisEnhancedCache(n, jedisCluster, new NearCache(nearCacheMaxSize, nearCacheExpireMs),
+							getChannelPrefix() + n, nodeId);
+				}
+				return new JedisEnhancedCache(n, jedisCluster);
+			});
 		}
 		return cache;
 	}
 
+	/**
+	 * Start subscribing the invalidation channels if the near-cache is
+	 * enabled.
+	 */
+	@Override
+	public synchronized void afterPropertiesSet() throws Exception {
+		if (!isNearCacheEnabled() || nonNull(subscribing)) {
+			return;
+		}
+		subscribing = new Thread(() -> {
+			while (!closed) {
+				try {
+					jedisCluster.psubscribe(subscriber, getChannelPrefix() + "*"); // Blocking
+				} catch (Exception e) {
+					if (!closed) {
+						log.warn("Cache invalidation subscribing interrupted, re-subscribe later. cause: {}", e.getMessage());
+					}
+				}
+				invalidateAll(); // Messages may be lost.
+				try {
+					if (!closed) {
+						Thread.sleep(2000L);
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}, getClass().getSimpleName() + "-subscriber");
+		subscribing.setDaemon(true);
+		subscribing.start();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		closed = true;
+		try {
+			if (subscriber.isSubscribed()) {
+				subscriber.punsubscribe();
+			}
+		} catch (Exception e) {
+			log.warn("Failed to unsubscribe cache invalidation. cause: {}", e.getMessage());
+		}
+		invalidateAll();
+	}
+
+	private void invalidateAll() {
+		caching.values().forEach(c -> c.onInvalidation(null));
+	}
+
+	private String getChannelPrefix() {
+		return this.prefix + INVALIDATION_CHANNEL;
+	}
+
 	private String getCacheName(String name) {
 		return this.prefix + name;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Invalidation messages subscriber.
+	 */
+	private class Subscriber extends JedisPubSub {
+
+		@Override
+		public void onPSubscribe(String pattern, int subscribedChannels) {
+			invalidateAll(); // Messages may be lost before (re)subscribing.
+			if (log.isInfoEnabled()) {
+				log.info("Subscribed cache invalidation channels: {}", pattern);
+			}
+		}
+
+		@Override
+		public void onPMessage(String pattern, String channel, String message) {
+			JedisEnhancedCache cache = caching.get(channel.substring(getChannelPrefix().length()));
+			if (Objects.isNull(cache) || Objects.isNull(message)) {
+				return;
+			}
+			int i = message.indexOf(':');
+			String from = i < 0 ? message : message.substring(0, i);
+			if (!nodeId.equals(from)) {
+				cache.onInvalidation(i < 0 ? null : message.substring(i + 1));
+			}
+		}
+	}
+
+}
@@ -15,7 +15,14 @@
  */
 package com.wl4g.devops.iam.common.cache;
 
+import static java.util.Arrays.copyOfRange;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.shiro.cache.CacheException;
@@ -24,12 +31,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import com.wl4g.devops.common.utils.serialize.ProtostuffUtils;
+import com.wl4g.devops.support.redis.ScanCursor;
 
 import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 
 /**
- * REDIS enhanced implement cache
+ * REDIS enhanced implement cache.<br/>
+ * The values are cached in the local near-cache({@link NearCache}, L1) if
+ * it's enabled, each writing is done with the invalidation publishing by a
+ * single lua script. The cluster-wide {@link #keys()}, {@link #values()},
+ * {@link #size()} and {@link #clear()} scan the master nodes by the cache
+ * name prefix, so the writing needs no extra registry round trip.
  *
  * @author Wangl.sir <983708408@qq.com>
  * @version v1.0
@@ -37,15 +53,145 @@ import redis.clients.jedis.JedisCluster;
  * @since
  */
 public class JedisEnhancedCache implements EnhancedCache {
+
+	/**
+	 * Batch size of the scanning of the cache keys.
+	 */
+	final private static int SCAN_BATCH = 200;
+
+	/**
+	 * Get value and the remaining time(ms) to live.
+	 */
+	final private static Script GET_SCRIPT = new Script("local v = redis.call('GET', KEYS[1])\n" //
+			+ "if not v then\n" //
+			+ "  return nil\n" //
+			+ "end\n" //
+			+ "return {v, redis.call('PTTL', KEYS[1])}");
+
+	/**
+	 * Set value(ARGV[1]) with the expiration(ms, ARGV[2]) if not less than 0,
+	 * only if not exists(ARGV[3] is '1'), and publish the invalidation.
+	 */
+	final private static Script SET_SCRIPT = new Script("local args = {'SET', KEYS[1], ARGV[1]}\n" //
+			+ "if tonumber(ARGV[2]) >= 0 then\n" //
+			+ "  args[#args + 1] = 'PX'\n" //
+			+ "  args[#args + 1] = ARGV[2]\n" //
+			+ "end\n" //
+			+ "if ARGV[3] == '1' then\n" //
+			+ "  args[#args + 1] = 'NX'\n" //
+			+ "end\n" //
+			+ "if not redis.call(unpack(args)) then\n" //
+			+ "  return 0\n" //
+			+ "end\n" //
+			+ "if ARGV[4] ~= '' then\n" //
+			+ "  redis.call('PUBLISH', ARGV[4], ARGV[5])\n" //
+			+ "end\n" //
+			+ "return 1");
+
+	/**
+	 * Delete and publish the invalidation.
+	 */
+	final private static Script DEL_SCRIPT = new Script("local n = redis.call('DEL', KEYS[1])\n" //
+			+ "if ARGV[1] ~= '' then\n" //
+			+ "  redis.call('PUBLISH', ARGV[1], ARGV[2])\n" //
+			+ "end\n" //
+			+ "return n");
+
+	/**
+	 * Increment(ARGV[1]) and refresh the expiration(s, ARGV[2]) if not less
+	 * than 0, and publish the invalidation.
+	 */
+	final private static Script INCR_SCRIPT = new Script("local v = redis.call('INCRBY', KEYS[1], ARGV[1])\n" //
+			+ "if tonumber(ARGV[2]) >= 0 then\n" //
+			+ "  redis.call('EXPIRE', KEYS[1], ARGV[2])\n" //
+			+ "end\n" //
+			+ "if ARGV[3] ~= '' then\n" //
+			+ "  redis.call('PUBLISH', ARGV[3], ARGV[4])\n" //
+			+ "end\n" //
+			+ "return v");
+
+	/**
+	 * Create with the value(ARGV[1]) if not exists, get the last TTL(s), and
+	 * refresh the expiration(s, ARGV[2]) if not less than 0, and publish the
+	 * invalidation.
+	 */
+	final private static Script TTL_SCRIPT = new Script("if redis.call('EXISTS', KEYS[1]) == 0 then\n" //
+			+ "  redis.call('SET', KEYS[1], ARGV[1])\n" //
+			+ "end\n" //
+			+ "local ttl = redis.call('TTL', KEYS[1])\n" //
+			+ "if tonumber(ARGV[2]) >= 0 then\n" //
+			+ "  redis.call('EXPIRE', KEYS[1], ARGV[2])\n" //
+			+ "end\n" //
+			+ "if ARGV[3] ~= '' then\n" //
+			+ "  redis.call('PUBLISH', ARGV[3], ARGV[4])\n" //
+			+ "end\n" //
+			+ "return ttl");
+
+	final private static byte[] EMPTY = new byte[0];
+	final private static byte[] NX = "1".getBytes(Charsets.UTF_8);
+	final private static byte[] NONE = "0".getBytes(Charsets.UTF_8);
+	final private static byte[] NO_EXPIRE = "-1".getBytes(Charsets.UTF_8);
+
 	final private Logger log = LoggerFactory.getLogger(JedisEnhancedCache.class);
-	private String name;
-	private JedisCluster jedisCluster;
+	final private String name;
+
+	/**
+	 * Encoded name, the prefix bytes of keys which is shared by all keys.
+	 */
+	final private byte[] nameBytes;
+
+	final private JedisCluster jedisCluster;
+
+	/**
+	 * Scanning match pattern of the cache keys.
+	 */
+	final private byte[] scanPattern;
+
+	/**
+	 * Local near-cache(may be null).
+	 */
+	final private NearCache nearCache;
+
+	/**
+	 * Invalidation channel(empty if the near-cache is disabled).
+	 */
+	final private byte[] channel;
+
+	/**
+	 * Current node identifier of invalidation messages.
+	 */
+	final private String nodeId;
+
+	/**
+	 * Encoded prefix of the invalidation messages.
+	 */
+	final private byte[] messagePrefix;
 
 	public JedisEnhancedCache(String name, JedisCluster jedisCluster) {
-		this.name = name;
-		this.jedisCluster = jedisCluster;
+		this(name, jedisCluster, null, null, null);
+	}
+
+	public JedisEnhancedCache(String name, JedisCluster jedisCluster, NearCache nearCache, String channel, String nodeId) {
 		Assert.notNull(name, "'name' must not be null");
 		Assert.notNull(jedisCluster, "'jedisCluster' must not be null");
+		Assert.isTrue(isNull(nearCache) || (nonNull(channel) && nonNull(nodeId)),
+				"'channel' and 'nodeId' must not be null when the near-cache is enabled");
+		this.name = name;
+		this.nameBytes = name.getBytes(Charsets.UTF_8);
+		this.jedisCluster = jedisCluster;
+		this.scanPattern = (escapeGlob(name) + "*").getBytes(Charsets.UTF_8);
+		this.nearCache = nearCache;
+		this.channel = nonNull(nearCache) ? channel.getBytes(Charsets.UTF_8) : EMPTY;
+		this.nodeId = nodeId;
+		this.messagePrefix = nonNull(nearCache) ? (nodeId + ":").getBytes(Charsets.UTF_8) : EMPTY;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public JedisCluster getJedisCluster() {
+		return jedisCluster;
 	}
 
 	@Override
@@ -56,11 +202,22 @@ public class JedisEnhancedCache implements EnhancedCache {
 			log.debug("Get key={}", key);
 		}
 
-		byte[] data = jedisCluster.get(key.getKey(name));
+		byte[] data = null;
+		if (isNull(nearCache)) {
+			data = jedisCluster.get(key.getKey(nameBytes));
+		} else if (isNull(data = nearCache.get(key.getRawKey()))) {
+			long generation = nearCache.generation();
+			Object ret = GET_SCRIPT.eval(jedisCluster, key.getKey(nameBytes));
+			if (ret instanceof List) {
+				List<?> vals = (List<?>) ret;
+				data = (byte[]) vals.get(0);
+				nearCache.put(key.getRawKey(), data, ((Number) vals.get(1)).longValue(), generation);
+			}
+		}
+
 		if (key.getDeserializer() != null) { // Using a custom deserializer
 			return key.getDeserializer().deserialize(data, key.getValueClass());
 		}
-
 		return ProtostuffUtils.deserialize(data, key.getValueClass());
 	}
 
@@ -71,21 +228,17 @@ public class JedisEnhancedCache implements EnhancedCache {
 		if (log.isDebugEnabled()) {
 			log.debug("Put key={}, value={}", key, value);
 		}
+		return doPut(key, value, false) ? "OK" : null;
+	}
 
-		byte[] data = null;
-		if (key.getSerializer() != null) { // Using a custom serializer
-			data = key.getSerializer().serialize(value);
-		} else {
-			data = ProtostuffUtils.serialize(value);
-		}
-
-		String ret = null;
-		if (key.hasExpire()) {
-			ret = jedisCluster.setex(key.getKey(name), key.getExpire(), data);
-		} else {
-			ret = jedisCluster.set(key.getKey(name), data);
+	@Override
+	public boolean putIfAbsent(final EnhancedKey key, final Object value) {
+		Assert.notNull(key, "'key' must not be null");
+		Assert.notNull(value, "'value' must not be null");
+		if (log.isDebugEnabled()) {
+			log.debug("Put key={}, value={}", key, value);
 		}
-		return String.valueOf(ret).equalsIgnoreCase("nil") ? null : ret;
+		return doPut(key, value, true);
 	}
 
 	@Override
@@ -94,7 +247,8 @@ public class JedisEnhancedCache implements EnhancedCache {
 		if (log.isDebugEnabled()) {
 			log.debug("Remove key={}", key);
 		}
-		return jedisCluster.del(key.getKey(name));
+		invalidateLocal(key.getRawKey());
+		return DEL_SCRIPT.eval(jedisCluster, key.getKey(nameBytes), channel, message(key));
 	}
 
 	@Override
@@ -102,7 +256,15 @@ public class JedisEnhancedCache implements EnhancedCache {
 		if (log.isDebugEnabled()) {
 			log.debug("Clear name={}", name);
 		}
-		jedisCluster.hdel(name);
+		ScanCursor<byte[]> cursor = scanKeys();
+		while (cursor.hasNext()) {
+			// Keys of cache are in the different slots.
+			jedisCluster.del(cursor.next());
+		}
+		if (nonNull(nearCache)) {
+			nearCache.clear();
+			jedisCluster.publish(channel, nodeId.getBytes(Charsets.UTF_8));
+		}
 	}
 
 	@Override
@@ -110,57 +272,57 @@ public class JedisEnhancedCache implements EnhancedCache {
 		if (log.isDebugEnabled()) {
 			log.debug("Size name={}", name);
 		}
-		return jedisCluster.hlen(name).intValue();
+		int size = 0;
+		ScanCursor<byte[]> cursor = scanKeys();
+		while (cursor.hasNext()) {
+			cursor.next();
+			++size;
+		}
+		return size;
 	}
 
-	@Deprecated
 	@Override
 	public Set<EnhancedKey> keys() {
-		// if (log.isDebugEnabled()) {
-		// log.debug("Keys name={}", name);
-		// }
-		// Set<byte[]> keys = jedisCluster.hkeys(name);
-		// if (keys != null && !keys.isEmpty()) {
-		// return keys.stream().map(key -> new
-		// EnhancedKey(key)).collect(Collectors.toSet());
-		// }
-		// return Collections.emptySet();
-		throw new UnsupportedOperationException();
-	}
-
-	@Deprecated
+		if (log.isDebugEnabled()) {
+			log.debug("Keys name={}", name);
+		}
+		Set<EnhancedKey> keys = new LinkedHashSet<>();
+		ScanCursor<byte[]> cursor = scanKeys();
+		while (cursor.hasNext()) {
+			byte[] key = cursor.next();
+			keys.add(new EnhancedKey(copyOfRange(key, nameBytes.length, key.length)));
+		}
+		return keys;
+	}
+
+	/**
+	 * Get the serialized values of all keys(the value class is unknown, it's
+	 * deserialized by the caller).
+	 */
 	@Override
 	public Collection<Object> values() {
-		// if (log.isDebugEnabled()) {
-		// log.debug("Values name={}", name);
-		// }
-		// Collection<byte[]> vals = jedisCluster.hvals(name);
-		// if (vals != null && !vals.isEmpty()) {
-		// return vals.stream().collect(Collectors.toList());
-		// }
-		// return Collections.emptyList();
-		throw new UnsupportedOperationException();
+		if (log.isDebugEnabled()) {
+			log.debug("Values name={}", name);
+		}
+		List<Object> values = new ArrayList<>();
+		ScanCursor<byte[]> cursor = scanKeys();
+		while (cursor.hasNext()) {
+			byte[] data = jedisCluster.get(cursor.next());
+			if (nonNull(data)) {
+				values.add(data);
+			}
+		}
+		return values;
 	}
 
 	@Override
 	public Long timeToLive(EnhancedKey key, Object value) throws CacheException {
-		Assert.notNull(value, "TTL key is null, please check configure");
+		Assert.notNull(key, "TTL key is null, please check configure");
 		Assert.notNull(value, "TTL value is null, please check configure");
 
-		byte[] realKey = key.getKey(name);
-		// New create.
-		if (!jedisCluster.exists(realKey)) {
-			// key -> createTime
-			jedisCluster.set(realKey, String.valueOf(value).getBytes(Charsets.UTF_8));
-		}
-
-		// Get last TTL expire
-		Long lastTTL = jedisCluster.ttl(realKey);
-		// Less than or equal to 0 means immediate expiration
-		if (key.hasExpire()) {
-			jedisCluster.expire(realKey, key.getExpire());
-		}
-
+		invalidateLocal(key.getRawKey());
+		Long lastTTL = (Long) TTL_SCRIPT.eval(jedisCluster, key.getKey(nameBytes), String.valueOf(value).getBytes(Charsets.UTF_8),
+				expireArg(key), channel, message(key));
 		return lastTTL;
 	}
 
@@ -171,13 +333,9 @@ public class JedisEnhancedCache implements EnhancedCache {
 
 	@Override
 	public Long incrementGet(EnhancedKey key, long incrBy) throws CacheException {
-		byte[] realKey = key.getKey(name);
-		// Increment
-		Long res = jedisCluster.incrBy(key.getKey(name), incrBy);
-		// Less than or equal to 0 means immediate expiration
-		if (key.hasExpire()) {
-			jedisCluster.expire(realKey, key.getExpire());
-		}
+		invalidateLocal(key.getRawKey());
+		Long res = (Long) INCR_SCRIPT.eval(jedisCluster, key.getKey(nameBytes), String.valueOf(incrBy).getBytes(Charsets.UTF_8),
+				expireArg(key), channel, message(key));
 		return res;
 	}
 
@@ -188,24 +346,26 @@ public class JedisEnhancedCache implements EnhancedCache {
 
 	@Override
 	public Long decrementGet(EnhancedKey key, long decrBy) throws CacheException {
-		byte[] realKey = key.getKey(name);
-		// Decrement
-		Long res = jedisCluster.decr(realKey);
-		// Less than or equal to 0 means immediate expiration
-		if (key.hasExpire()) {
-			jedisCluster.expire(realKey, key.getExpire());
-		}
-		return res;
+		return incrementGet(key, -decrBy);
 	}
 
-	@Override
-	public boolean putIfAbsent(final EnhancedKey key, final Object value) {
-		Assert.notNull(key, "'key' must not be null");
-		Assert.notNull(value, "'value' must not be null");
-		if (log.isDebugEnabled()) {
-			log.debug("Put key={}, value={}", key, value);
+	/**
+	 * Invalidate the near-cache of the messages published by the other nodes.
+	 *
+	 * @param rawKey
+	 *            Null means all keys
+	 */
+	void onInvalidation(String rawKey) {
+		if (nonNull(nearCache)) {
+			if (isNull(rawKey)) {
+				nearCache.clear();
+			} else {
+				nearCache.invalidate(rawKey);
+			}
 		}
+	}
 
+	private boolean doPut(final EnhancedKey key, final Object value, boolean ifAbsent) {
 		byte[] data = null;
 		if (key.getSerializer() != null) { // Using a custom serializer
 			data = key.getSerializer().serialize(value);
@@ -213,10 +373,104 @@ public class JedisEnhancedCache implements EnhancedCache {
 			data = ProtostuffUtils.serialize(value);
 		}
 
-		if (key.hasExpire()) {
-			return jedisCluster.set(key.getKey(name), data, NXXX, EXPX, key.getExpireMs()) != null;
+		long expireMs = key.hasExpire() ? key.getExpireMs() : -1L;
+		long generation = invalidateLocal(key.getRawKey());
+		Object ret = SET_SCRIPT.eval(jedisCluster, key.getKey(nameBytes), data, String.valueOf(expireMs).getBytes(Charsets.UTF_8),
+				ifAbsent ? NX : NONE, channel, message(key));
+		if (((Number) ret).longValue() != 1) {
+			return false;
+		}
+		if (nonNull(nearCache)) {
+			nearCache.put(key.getRawKey(), data, expireMs, generation);
+		}
+		return true;
+	}
+
+	/**
+	 * Invalidate the local near-cache before writing.
+	 *
+	 * @param rawKey
+	 * @return The generation after invalidated.
+	 */
+	private long invalidateLocal(String rawKey) {
+		if (isNull(nearCache)) {
+			return 0L;
+		}
+		nearCache.invalidate(rawKey);
+		return nearCache.generation();
+	}
+
+	private byte[] message(EnhancedKey key) {
+		if (isNull(nearCache)) {
+			return EMPTY;
+		}
+		byte[] raw = key.getRawKeyBytes();
+		byte[] message = new byte[messagePrefix.length + raw.length];
+		System.arraycopy(messagePrefix, 0, message, 0, messagePrefix.length);
+		System.arraycopy(raw, 0, message, messagePrefix.length, raw.length);
+		return message;
+	}
+
+	private static byte[] expireArg(EnhancedKey key) {
+		return key.hasExpire() ? String.valueOf(key.getExpire()).getBytes(Charsets.UTF_8) : NO_EXPIRE;
+	}
+
+	/**
+	 * Scan the (encoded) keys of the cache over all master nodes.
+	 *
+	 * @return
+	 */
+	private ScanCursor<byte[]> scanKeys() {
+		ScanParams params = new ScanParams().count(SCAN_BATCH).match(scanPattern);
+		return new ScanCursor<byte[]>(jedisCluster, byte[].class, params) {
+			@Override
+			protected Object readValue(byte[] key) {
+				return key;
+			}
+		}.open();
+	}
+
+	/**
+	 * Escape the glob-style pattern characters of the scanning match.
+	 *
+	 * @param s
+	 * @return
+	 */
+	private static String escapeGlob(String s) {
+		StringBuilder escaped = new StringBuilder(s.length() + 4);
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+				escaped.append('\\');
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+
+	/**
+	 * Lua script which is executed by SHA1 digest(the script is loaded if
+	 * it's not cached by the redis node).
+	 */
+	private static class Script {
+		final private byte[] script;
+		final private byte[] sha;
+
+		private Script(String script) {
+			this.script = script.getBytes(Charsets.UTF_8);
+			this.sha = Hashing.sha1().hashBytes(this.script).toString().getBytes(Charsets.UTF_8);
+		}
+
+		private Object eval(JedisCluster jedisCluster, byte[] key, byte[]... args) {
+			byte[][] params = new byte[args.length + 1][];
+			params[0] = key;
+			System.arraycopy(args, 0, params, 1, args.length);
+			try {
+				return jedisCluster.evalsha(sha, 1, params);
+			} catch (JedisNoScriptException e) {
+				return jedisCluster.eval(script, 1, params); // Loaded script.
+			}
 		}
-		return jedisCluster.setnx(key.getKey(name), data) != null;
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.cache;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.isNull;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.shiro.util.Assert;
+
+/**
+ * Bounded local near-cache(L1) of the serialized values of
+ * {@link JedisEnhancedCache}, the entries expire after a short time(or the
+ * expiration of the key if it's earlier), and they are invalidated by the
+ * redis pub/sub messages when writing by the other nodes.<br/>
+ * Values are cached as bytes and deserialized by each reading, so that the
+ * mutations of the returned objects are never shared.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月15日
+ * @since
+ */
+public class NearCache {
+
+	final private ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	/**
+	 * Invalidation generation, the value loaded before any invalidation is
+	 * not cached(it may be stale).
+	 */
+	final private AtomicLong generation = new AtomicLong(0);
+
+	final private int maxSize;
+
+	final private long expireMs;
+
+	public NearCache(int maxSize, long expireMs) {
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than 0");
+		Assert.isTrue(expireMs > 0, "'expireMs' must be greater than 0");
+		this.maxSize = maxSize;
+		this.expireMs = expireMs;
+	}
+
+	/**
+	 * Current invalidation generation, it must be got before loading.
+	 *
+	 * @return
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Get the cached(unexpired) value.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public byte[] get(String key) {
+		Entry entry = entries.get(key);
+		if (isNull(entry)) {
+			return null;
+		}
+		if (entry.expireTime <= currentTimeMillis()) {
+			entries.remove(key, entry);
+			return null;
+		}
+		return entry.data;
+	}
+
+	/**
+	 * Cache the value loaded(or written) after the generation.
+	 *
+	 * @param key
+	 * @param data
+	 * @param ttlMs
+	 *            Expiration time of the key(less than 0 means never expired)
+	 * @param generation
+	 *            The generation before loading
+	 */
+	public void put(String key, byte[] data, long ttlMs, long generation) {
+		if (isNull(data) || ttlMs == 0) {
+			return;
+		}
+		long now = currentTimeMillis();
+		Entry entry = new Entry(data, now + (ttlMs < 0 ? expireMs : Math.min(ttlMs, expireMs)));
+		entries.put(key, entry);
+		// Invalidated during loading.
+		if (this.generation.get() != generation) {
+			entries.remove(key, entry);
+			return;
+		}
+		ensureCapacity(now);
+	}
+
+	/**
+	 * Invalidate the cached value of key.
+	 *
+	 * @param key
+	 */
+	public void invalidate(String key) {
+		generation.incrementAndGet();
+		entries.remove(key);
+	}
+
+	/**
+	 * Invalidate all the cached values.
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void ensureCapacity(long now) {
+		if (entries.size() <= maxSize) {
+			return;
+		}
+		entries.values().removeIf(e -> e.expireTime <= now);
+		Iterator<String> it = entries.keySet().iterator();
+		while (entries.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Cached value entry.
+	 */
+	private static class Entry {
+		final private byte[] data;
+		final private long expireTime;
+
+		private Entry(byte[] data, long expireTime) {
+			this.data = data;
+			this.expireTime = expireTime;
+		}
+	}
+
+}
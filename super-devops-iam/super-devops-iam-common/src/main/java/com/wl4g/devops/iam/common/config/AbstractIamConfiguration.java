@@ -27,6 +27,7 @@ import org.apache.shiro.web.servlet.SimpleCookie;
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.BEAN_DELEGATE_MSG_SOURCE;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.CollectionUtils.isEmpty;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -57,6 +58,7 @@ import com.wl4g.devops.iam.common.attacks.csrf.CorsResolveSecurityFilter.Advance
 import com.wl4g.devops.iam.common.attacks.xss.XssSecurityResolver;
 import com.wl4g.devops.iam.common.authz.EnhancedModularRealmAuthorizer;
 import com.wl4g.devops.iam.common.cache.JedisCacheManager;
+import com.wl4g.devops.iam.common.config.AbstractIamProperties.CacheProperties;
 import com.wl4g.devops.iam.common.config.AbstractIamProperties.ParamProperties;
 import com.wl4g.devops.iam.common.core.IamFilterChainManager;
 import com.wl4g.devops.iam.common.core.IamShiroFilterFactoryBean;
@@ -181,7 +183,12 @@ public abstract class AbstractIamConfiguration extends OptionalPrefixControllerA
 	@Bean
 	public JedisCacheManager jedisCacheManager(AbstractIamProperties<? extends ParamProperties> config,
 			JedisCluster jedisCluster) {
-		return new JedisCacheManager(config.getCache().getPrefix(), jedisCluster);
+		CacheProperties cache = config.getCache();
+		if (!isEmpty(cache.getNearCacheNames())) {
+			return new JedisCacheManager(cache.getPrefix(), jedisCluster, cache.getNearCacheNames(), cache.getNearCacheMaxSize(),
+					cache.getNearCacheExpireMs());
+		}
+		return new JedisCacheManager(cache.getPrefix(), jedisCluster);
 	}
 
 	@Bean
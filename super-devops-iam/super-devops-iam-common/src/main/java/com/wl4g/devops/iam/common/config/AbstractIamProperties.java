@@ -19,7 +19,9 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.springframework.util.Assert.hasText;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -185,6 +187,27 @@ public abstract class AbstractIamProperties<P extends ParamProperties> implement
 		 */
 		private String prefix;
 
+		/**
+		 * Names of the read-mostly enhanced caches which enable the local
+		 * near-cache(L1), it's invalidated by the redis pub/sub messages when
+		 * the other nodes writing. Default none, and the ticket, lock and
+		 * fail-fast counter caches are always bypassed(see
+		 * {@link com.wl4g.devops.iam.common.cache.JedisCacheManager#NEAR_CACHE_BYPASS_NAMES}).
+		 */
+		private List<String> nearCacheNames = new ArrayList<>();
+
+		/**
+		 * Maximum entries of the local near-cache of each enhanced cache.
+		 */
+		private int nearCacheMaxSize = 2_000;
+
+		/**
+		 * Expiration time(ms) of the local near-cache entries(or the
+		 * expiration of the key if it's earlier), it's the upper bound of
+		 * staleness(e.g. the invalidation messages are lost).
+		 */
+		private long nearCacheExpireMs = 5_000L;
+
 		public String getPrefix() {
 			if (isBlank(prefix)) {
 				setPrefix(environment.getProperty("spring.application.name") + "_iam_");
@@ -197,6 +220,30 @@ public abstract class AbstractIamProperties<P extends ParamProperties> implement
 			this.prefix = prefix;
 		}
 
+		public List<String> getNearCacheNames() {
+			return nearCacheNames;
+		}
+
+		public void setNearCacheNames(List<String> nearCacheNames) {
+			this.nearCacheNames = nearCacheNames;
+		}
+
+		public int getNearCacheMaxSize() {
+			return nearCacheMaxSize;
+		}
+
+		public void setNearCacheMaxSize(int nearCacheMaxSize) {
+			this.nearCacheMaxSize = nearCacheMaxSize;
+		}
+
+		public long getNearCacheExpireMs() {
+			return nearCacheExpireMs;
+		}
+
+		public void setNearCacheExpireMs(long nearCacheExpireMs) {
+			this.nearCacheExpireMs = nearCacheExpireMs;
+		}
+
 	}
 
 	/**
@@ -264,6 +311,23 @@ public abstract class AbstractIamProperties<P extends ParamProperties> implement
 		 */
 		private boolean enableRequestRemember = true;
 
+		/**
+		 * Enable the local near-cache of sessions, it's invalidated by the
+		 * redis pub/sub messages when the other nodes writing.
+		 */
+		private boolean nearCacheEnabled = true;
+
+		/**
+		 * Maximum sessions of the local near-cache.
+		 */
+		private int nearCacheMaxSize = 10_000;
+
+		/**
+		 * Expiration time(ms) of the local near-cache entries, it's the upper
+		 * bound of staleness(e.g. the invalidation messages are lost).
+		 */
+		private long nearCacheExpireMs = 30_000L;
+
 		public Long getGlobalSessionTimeout() {
 			return globalSessionTimeout;
 		}
@@ -296,6 +360,30 @@ public abstract class AbstractIamProperties<P extends ParamProperties> implement
 			this.enableRequestRemember = enableRequestRemember;
 		}
 
+		public boolean isNearCacheEnabled() {
+			return nearCacheEnabled;
+		}
+
+		public void setNearCacheEnabled(boolean nearCacheEnabled) {
+			this.nearCacheEnabled = nearCacheEnabled;
+		}
+
+		public int getNearCacheMaxSize() {
+			return nearCacheMaxSize;
+		}
+
+		public void setNearCacheMaxSize(int nearCacheMaxSize) {
+			this.nearCacheMaxSize = nearCacheMaxSize;
+		}
+
+		public long getNearCacheExpireMs() {
+			return nearCacheExpireMs;
+		}
+
+		public void setNearCacheExpireMs(long nearCacheExpireMs) {
+			this.nearCacheExpireMs = nearCacheExpireMs;
+		}
+
 	}
 
 	/**
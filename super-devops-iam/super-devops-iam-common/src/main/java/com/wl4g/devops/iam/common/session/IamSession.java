@@ -34,6 +34,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -122,6 +123,17 @@ public class IamSession implements ValidatingSession, Serializable {
 	@Tag(value = 8, alias = "attributes")
 	private Map<Object, Object> attributes;
 
+	// Changed state since the last persisting(not serialized), it's used by
+	// the session DAO to write the changed attributes only.
+	private transient volatile Set<Object> changedAttributeKeys;
+	private transient volatile Set<Object> removedAttributeKeys;
+	private transient volatile boolean metaChanged;
+	private transient volatile boolean fullChanged = true;
+
+	// Last refreshing time(ms) of the secondary indexes by current node(not
+	// serialized).
+	private transient volatile long indexedTime;
+
 	public IamSession() {
 	}
 
@@ -151,6 +163,7 @@ public class IamSession implements ValidatingSession, Serializable {
 
 	public void setStartTimestamp(Date startTimestamp) {
 		this.startTimestamp = startTimestamp;
+		this.metaChanged = true;
 	}
 
 	/**
@@ -180,6 +193,7 @@ public class IamSession implements ValidatingSession, Serializable {
 
 	public void setStopTimestamp(Date stopTimestamp) {
 		this.stopTimestamp = stopTimestamp;
+		this.metaChanged = true;
 	}
 
 	@Override
@@ -204,6 +218,7 @@ public class IamSession implements ValidatingSession, Serializable {
 
 	public void setExpired(boolean expired) {
 		this.expired = expired;
+		this.metaChanged = true;
 	}
 
 	@Override
@@ -214,6 +229,7 @@ public class IamSession implements ValidatingSession, Serializable {
 	@Override
 	public void setTimeout(long timeout) {
 		this.timeout = timeout;
+		this.metaChanged = true;
 	}
 
 	public String getHost() {
@@ -222,6 +238,7 @@ public class IamSession implements ValidatingSession, Serializable {
 
 	public void setHost(String host) {
 		this.host = host;
+		this.metaChanged = true;
 	}
 
 	public Map<Object, Object> getAttributes() {
@@ -230,6 +247,7 @@ public class IamSession implements ValidatingSession, Serializable {
 
 	public void setAttributes(Map<Object, Object> attributes) {
 		this.attributes = attributes;
+		this.fullChanged = true;
 	}
 
 	/**
@@ -258,6 +276,7 @@ public class IamSession implements ValidatingSession, Serializable {
 	public void stop() {
 		if (this.stopTimestamp == null) {
 			this.stopTimestamp = new Date();
+			this.metaChanged = true;
 		}
 	}
 
@@ -270,6 +289,7 @@ public class IamSession implements ValidatingSession, Serializable {
 	protected void expire() {
 		stop();
 		this.expired = true;
+		this.metaChanged = true;
 	}
 
 	/**
@@ -355,8 +375,7 @@ public class IamSession implements ValidatingSession, Serializable {
 	private Map<Object, Object> getAttributesLazy() {
 		Map<Object, Object> attributes = getAttributes();
 		if (attributes == null) {
-			attributes = new HashMap<Object, Object>();
-			setAttributes(attributes);
+			this.attributes = attributes = new ConcurrentHashMap<Object, Object>();
 		}
 		return attributes;
 	}
@@ -385,6 +404,8 @@ public class IamSession implements ValidatingSession, Serializable {
 			removeAttribute(key);
 		} else {
 			getAttributesLazy().put(key, value);
+			getRemovedAttributeKeys().remove(key);
+			getChangedAttributeKeys().add(key);
 		}
 	}
 
@@ -394,10 +415,86 @@ public class IamSession implements ValidatingSession, Serializable {
 		if (attributes == null) {
 			return null;
 		} else {
+			getChangedAttributeKeys().remove(key);
+			getRemovedAttributeKeys().add(key);
 			return attributes.remove(key);
 		}
 	}
 
+	/**
+	 * Drain the changed state since the last draining, the session DAO
+	 * persists the changed attributes and meta fields only(the last access
+	 * time is always persisted).<br/>
+	 * <b>Note:</b> Mutating an attribute value in place is not tracked, the
+	 * value must be set again by {@link #setAttribute(Object, Object)}.
+	 *
+	 * @return
+	 */
+	@JsonIgnore
+	public Delta drainDelta() {
+		boolean full = fullChanged;
+		fullChanged = false;
+		boolean meta = metaChanged;
+		metaChanged = false;
+		return new Delta(full, meta, drain(getChangedAttributeKeys()), drain(getRemovedAttributeKeys()));
+	}
+
+	/**
+	 * Mark the whole session as changed, e.g. the last persisting failed.
+	 */
+	@JsonIgnore
+	public void markChanged() {
+		this.fullChanged = true;
+	}
+
+	@JsonIgnore
+	public long getIndexedTime() {
+		return indexedTime;
+	}
+
+	@JsonIgnore
+	public void setIndexedTime(long indexedTime) {
+		this.indexedTime = indexedTime;
+	}
+
+	@JsonIgnore
+	private Set<Object> getChangedAttributeKeys() {
+		Set<Object> keys = changedAttributeKeys;
+		if (keys == null) {
+			synchronized (this) {
+				if ((keys = changedAttributeKeys) == null) {
+					changedAttributeKeys = keys = ConcurrentHashMap.newKeySet();
+				}
+			}
+		}
+		return keys;
+	}
+
+	@JsonIgnore
+	private Set<Object> getRemovedAttributeKeys() {
+		Set<Object> keys = removedAttributeKeys;
+		if (keys == null) {
+			synchronized (this) {
+				if ((keys = removedAttributeKeys) == null) {
+					removedAttributeKeys = keys = ConcurrentHashMap.newKeySet();
+				}
+			}
+		}
+		return keys;
+	}
+
+	private static List<Object> drain(Set<Object> keys) {
+		if (keys.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Object> drained = new ArrayList<>(keys.size());
+		for (Iterator<Object> it = keys.iterator(); it.hasNext();) {
+			drained.add(it.next());
+			it.remove();
+		}
+		return drained;
+	}
+
 	/**
 	 * Returns {@code true} if the specified argument is an {@code instanceof}
 	 * {@code SimpleSession} and both {@link #getId() id}s are equal. If the
@@ -638,6 +735,61 @@ public class IamSession implements ValidatingSession, Serializable {
 		return (bitMask & fieldBitMask) != 0;
 	}
 
+	/**
+	 * Changed state of {@link IamSession} since the last persisting.
+	 */
+	public static class Delta {
+
+		/** Whether the whole session is changed(e.g. a new session). */
+		final private boolean full;
+
+		/** Whether the meta fields(e.g. timeout, host) is changed. */
+		final private boolean meta;
+
+		final private List<Object> changedAttributeKeys;
+
+		final private List<Object> removedAttributeKeys;
+
+		public Delta(boolean full, boolean meta, List<Object> changedAttributeKeys, List<Object> removedAttributeKeys) {
+			this.full = full;
+			this.meta = meta;
+			this.changedAttributeKeys = changedAttributeKeys;
+			this.removedAttributeKeys = removedAttributeKeys;
+		}
+
+		public boolean isFull() {
+			return full;
+		}
+
+		public boolean isMeta() {
+			return meta;
+		}
+
+		public List<Object> getChangedAttributeKeys() {
+			return changedAttributeKeys;
+		}
+
+		public List<Object> getRemovedAttributeKeys() {
+			return removedAttributeKeys;
+		}
+
+		/**
+		 * Whether only the last access time is changed(e.g. touched).
+		 *
+		 * @return
+		 */
+		public boolean isTouchOnly() {
+			return !full && !meta && changedAttributeKeys.isEmpty() && removedAttributeKeys.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return "Delta [full=" + full + ", meta=" + meta + ", changedAttributeKeys=" + changedAttributeKeys
+					+ ", removedAttributeKeys=" + removedAttributeKeys + "]";
+		}
+
+	}
+
 	// public static void main(String[] args) {
 	// IamSession session = new IamSession();
 	// session.setHost("127.0.0.1");
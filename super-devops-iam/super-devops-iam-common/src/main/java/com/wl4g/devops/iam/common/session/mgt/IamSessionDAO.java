@@ -72,6 +72,20 @@ public interface IamSessionDAO extends SessionDAO {
 	 */
 	Set<IamSession> getAccessSessions(final CursorWrapper cursor, final int limit, final Object principal);
 
+	/**
+	 * Get access session by the grant ticket.
+	 *
+	 * @param sessionId
+	 *            SessionId of the grant ticket(e.g. the grant ticket cache
+	 *            of the IAM server)
+	 * @param grantTicket
+	 *            Grant ticket saved in the session
+	 *            {@link com.wl4g.devops.iam.common.session.GrantTicketInfo}
+	 * @return null if the session is missing or doesn't hold the grant
+	 *         ticket.
+	 */
+	IamSession getAccessSessionByTicket(final String sessionId, final String grantTicket);
+
 	/**
 	 * Remove access current users
 	 *
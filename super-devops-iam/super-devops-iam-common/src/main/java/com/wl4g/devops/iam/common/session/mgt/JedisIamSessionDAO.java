@@ -16,8 +16,14 @@
 package com.wl4g.devops.iam.common.session.mgt;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import org.apache.shiro.session.Session;
 import org.apache.shiro.session.UnknownSessionException;
@@ -25,34 +31,97 @@ import org.apache.shiro.session.mgt.eis.AbstractSessionDAO;
 import org.apache.shiro.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_SESSION;
+import static com.wl4g.devops.common.utils.serialize.ProtostuffUtils.deserialize;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.springframework.util.Assert.isTrue;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import com.wl4g.devops.iam.common.cache.EnhancedKey;
 import com.wl4g.devops.iam.common.cache.JedisCacheManager;
 import com.wl4g.devops.iam.common.config.AbstractIamProperties;
 import com.wl4g.devops.iam.common.config.AbstractIamProperties.ParamProperties;
+import com.wl4g.devops.iam.common.config.AbstractIamProperties.SessionProperties;
+import com.wl4g.devops.iam.common.session.GrantTicketInfo;
 import com.wl4g.devops.iam.common.session.IamSession;
+import com.wl4g.devops.iam.common.session.IamSession.Delta;
+import com.wl4g.devops.iam.common.session.mgt.support.IamSessionHashCodec;
+import com.wl4g.devops.iam.common.session.mgt.support.IamSessionIndexer;
+import com.wl4g.devops.iam.common.session.mgt.support.IamSessionNearCache;
+import com.wl4g.devops.iam.common.session.mgt.support.IamSessionNearCache.Entry;
 import com.wl4g.devops.support.redis.ScanCursor;
 import com.wl4g.devops.support.redis.ScanCursor.CursorWrapper;
 
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 
 /**
- * Redis shiro session DAO.
+ * Redis shiro session DAO.<br/>
+ * The sessions are stored as the redis hashes(see
+ * {@link IamSessionHashCodec}), only the changed attributes and the last
+ * access time are written by each updating(atomically by a lua script which
+ * also increases the version), and the sessions are cached in the local
+ * near-cache({@link IamSessionNearCache}) which is invalidated by the other
+ * nodes writing. The sessions of principal are looked up by the secondary
+ * index({@link IamSessionIndexer}).
  *
  * @author Wangl.sir <983708408@qq.com>
  * @version v1.0
  * @date 2018年11月28日
  * @since
  */
-public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSessionDAO {
+public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSessionDAO, InitializingBean, DisposableBean {
 	final protected Logger log = LoggerFactory.getLogger(getClass());
 
+	/**
+	 * Session hash writing script.<br/>
+	 * KEYS[1]: session key<br/>
+	 * ARGV: ttlMs, full(1|0), removedCount, removedFields..., field, value...
+	 * <br/>
+	 * Returns the increased version, or -1 if the partial writing is
+	 * impossible(e.g. expired or the legacy string value).
+	 */
+	final public static String UPDATE_SCRIPT = "local key = KEYS[1]\n" //
+			+ "if ARGV[2] == '1' then\n" //
+			+ "  redis.call('DEL', key)\n" //
+			+ "elseif redis.call('TYPE', key).ok ~= 'hash' then\n" //
+			+ "  return -1\n" //
+			+ "end\n" //
+			+ "local n = tonumber(ARGV[3])\n" //
+			+ "if n > 0 then\n" //
+			+ "  redis.call('HDEL', key, unpack(ARGV, 4, 3 + n))\n" //
+			+ "end\n" //
+			+ "if #ARGV > 3 + n then\n" //
+			+ "  redis.call('HMSET', key, unpack(ARGV, 4 + n, #ARGV))\n" //
+			+ "end\n" //
+			+ "local ver = redis.call('HINCRBY', key, '_ver', 1)\n" //
+			+ "local ttl = tonumber(ARGV[1])\n" //
+			+ "if ttl > 0 then\n" //
+			+ "  redis.call('PEXPIRE', key, ttl)\n" //
+			+ "else\n" //
+			+ "  redis.call('PERSIST', key)\n" //
+			+ "end\n" //
+			+ "return ver";
+
+	final private static byte[] UPDATE_SCRIPT_BYTES = UPDATE_SCRIPT.getBytes(Charsets.UTF_8);
+
+	final private static byte[] UPDATE_SCRIPT_SHA = Hashing.sha1().hashBytes(UPDATE_SCRIPT_BYTES).toString()
+			.getBytes(Charsets.UTF_8);
+
+	/**
+	 * Session invalidation channel suffix.
+	 */
+	final public static String INVALIDATION_CHANNEL = "session_invalidation";
+
 	/**
 	 * IAM properties
 	 */
@@ -63,11 +132,50 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 	 */
 	final private JedisCacheManager cacheManager;
 
+	/**
+	 * Sessions secondary indexes.
+	 */
+	final private IamSessionIndexer indexer;
+
+	/**
+	 * Local sessions near-cache, null if disabled.
+	 */
+	private IamSessionNearCache nearCache;
+
+	/**
+	 * Grant ticket cache(grantTicket => sessionId) name, which TTL is
+	 * refreshed along with the index, null if none.
+	 */
+	private String grantTicketCacheName;
+
 	public JedisIamSessionDAO(AbstractIamProperties<? extends ParamProperties> config, JedisCacheManager cacheManager) {
 		Assert.notNull(config, "'config' must not be null");
 		Assert.notNull(cacheManager, "'cacheManager' must not be null");
 		this.config = config;
 		this.cacheManager = cacheManager;
+		this.indexer = new IamSessionIndexer(cacheManager.getJedisCluster(), config.getCache().getPrefix());
+	}
+
+	public void setGrantTicketCacheName(String grantTicketCacheName) {
+		this.grantTicketCacheName = grantTicketCacheName;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		SessionProperties session = config.getSession();
+		if (session.isNearCacheEnabled()) {
+			String channel = config.getCache().getPrefix() + INVALIDATION_CHANNEL;
+			nearCache = new IamSessionNearCache(cacheManager.getJedisCluster(), channel, session.getNearCacheMaxSize(),
+					session.getNearCacheExpireMs());
+			nearCache.start();
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (nonNull(nearCache)) {
+			nearCache.close();
+		}
 	}
 
 	@Override
@@ -85,10 +193,42 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 			log.debug("update {}", session.getId());
 		}
 
-		/**
-		 * Update session latest expiration time to timeout time
-		 */
-		cacheManager.getEnhancedCache(CACHE_SESSION).put(new EnhancedKey(session.getId(), session.getTimeout()), session);
+		IamSession s = (IamSession) session;
+		String sessionId = String.valueOf(s.getId());
+		Entry cached = nonNull(nearCache) ? nearCache.get(sessionId) : null;
+		Delta delta = s.drainDelta();
+		try {
+			long version = writeSession(s, delta, false);
+			if (version < 0) { // Expired or legacy value, rewrite whole.
+				version = writeSession(s, delta, true);
+			}
+			if (nonNull(nearCache)) {
+				// Unless the cached session is the previous version, it may
+				// miss the changes of the other nodes.
+				if (version == 1 || (nonNull(cached) && cached.getSession() == s && cached.getVersion() + 1 == version)) {
+					nearCache.put(sessionId, s, version);
+				} else {
+					nearCache.remove(sessionId);
+				}
+				// Other nodes are tolerable to the stale last access time
+				// before the cached session expired.
+				if (!delta.isTouchOnly()) {
+					nearCache.publish(sessionId, version);
+				}
+			}
+		} catch (RuntimeException e) {
+			s.markChanged(); // Rewrite whole next time.
+			throw e;
+		}
+
+		try {
+			if (indexer.index(s, delta)) {
+				refreshGrantTickets(s, sessionId);
+			}
+		} catch (RuntimeException e) {
+			s.setIndexedTime(0L); // Refresh next time.
+			log.warn("Failed to index session: {}, cause: {}", sessionId, e.getMessage());
+		}
 	}
 
 	@Override
@@ -100,7 +240,15 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 		if (log.isDebugEnabled()) {
 			log.debug("delete {} ", session.getId());
 		}
-		cacheManager.getEnhancedCache(CACHE_SESSION).remove(new EnhancedKey(session.getId()));
+		String sessionId = String.valueOf(session.getId());
+		cacheManager.getJedisCluster().del(getSessionKey(sessionId));
+		if (nonNull(nearCache)) {
+			nearCache.remove(sessionId);
+			nearCache.publish(sessionId, 0L);
+		}
+		if (session instanceof IamSession) {
+			indexer.unindex((IamSession) session);
+		}
 	}
 
 	@Override
@@ -114,9 +262,43 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 		byte[] match = (config.getCache().getPrefix() + CACHE_SESSION + "*").getBytes(Charsets.UTF_8);
 		ScanParams params = new ScanParams().count(limit).match(match);
 		return new ScanCursor<IamSession>(cacheManager.getJedisCluster(), cursor, IamSession.class, params) {
+			@Override
+			protected Object readValue(byte[] key) {
+				return readSessionValue(key).session;
+			}
 		}.open();
 	}
 
+	/**
+	 * Get access sessions by the principal index.
+	 */
+	@Override
+	public Set<IamSession> getAccessSessions(final Object principal) {
+		Set<IamSession> principalSessions = new HashSet<>(4);
+		for (String sessionId : indexer.getSessionIds(principal)) {
+			IamSession s = readIndexedSession(sessionId, c -> principal.equals(c.getPrimaryPrincipal()));
+			if (nonNull(s)) {
+				principalSessions.add(s);
+			} else { // Dangling
+				indexer.removePrincipal(principal, sessionId);
+			}
+		}
+		return principalSessions;
+	}
+
+	/**
+	 * Get access session of the grant ticket, the session is reloaded if the
+	 * near-cached one doesn't hold the grant ticket.
+	 */
+	@Override
+	public IamSession getAccessSessionByTicket(final String sessionId, final String grantTicket) {
+		return readIndexedSession(sessionId, c -> getGrantTickets(c).contains(grantTicket));
+	}
+
+	/**
+	 * Scanning all sessions by principal, see also
+	 * {@link #getAccessSessions(Object)} by the index.
+	 */
 	@Override
 	public Set<IamSession> getAccessSessions(final CursorWrapper cursor, final int limit, final Object principal) {
 		Set<IamSession> principalSessions = new HashSet<>(4);
@@ -169,7 +351,25 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 		if (log.isDebugEnabled()) {
 			log.debug("doReadSession {}", sessionId);
 		}
-		return (Session) cacheManager.getEnhancedCache(CACHE_SESSION).get(new EnhancedKey(sessionId, IamSession.class));
+
+		String id = String.valueOf(sessionId);
+		if (isNull(nearCache)) {
+			return readSessionValue(getSessionKey(id)).session;
+		}
+		// The cached session that seems to be timed out may be touched by the
+		// other nodes, reload it.
+		Entry cached = nearCache.get(id);
+		if (nonNull(cached) && !isTimedOut(cached.getSession())) {
+			return cached.getSession();
+		}
+		nearCache.beginLoad(id);
+		SessionValue value = null;
+		try {
+			value = readSessionValue(getSessionKey(id));
+			return value.session;
+		} finally {
+			nearCache.completeLoad(id, nonNull(value) ? value.session : null, nonNull(value) ? value.version : 0L);
+		}
 	}
 
 	@Override
@@ -189,4 +389,171 @@ public class JedisIamSessionDAO extends AbstractSessionDAO implements IamSession
 		((IamSession) session).setId((String) sessionId);
 	}
 
+	/**
+	 * Get the local sessions near-cache.
+	 *
+	 * @return null if disabled.
+	 */
+	public IamSessionNearCache getNearCache() {
+		return nearCache;
+	}
+
+	/**
+	 * Read the indexed session, the (near-cached) session is reloaded if it
+	 * doesn't match the index.
+	 *
+	 * @param sessionId
+	 * @param matcher
+	 * @return null if the session is missing or doesn't match.
+	 */
+	private IamSession readIndexedSession(String sessionId, Predicate<IamSession> matcher) {
+		IamSession s = (IamSession) doReadSession(sessionId);
+		if (nonNull(s) && !matcher.test(s) && nonNull(nearCache)) {
+			nearCache.remove(sessionId); // Maybe stale
+			s = readSessionValue(getSessionKey(sessionId)).session;
+		}
+		return (nonNull(s) && matcher.test(s)) ? s : null;
+	}
+
+	/**
+	 * Write session hash by the update script.
+	 *
+	 * @param session
+	 * @param delta
+	 * @param full
+	 *            Whether to rewrite the whole session.
+	 * @return Version after writing, -1 if the partial writing is impossible.
+	 */
+	private long writeSession(IamSession session, Delta delta, boolean full) {
+		List<byte[]> fields = new ArrayList<>(16);
+		List<byte[]> removed = new ArrayList<>(4);
+		IamSessionHashCodec.encode(session, full ? new Delta(true, true, delta.getChangedAttributeKeys(),
+				delta.getRemovedAttributeKeys()) : delta, fields, removed);
+		if (full) {
+			removed.clear(); // Deleted whole.
+		}
+
+		// KEYS[1] and ARGV
+		byte[][] args = new byte[4 + removed.size() + fields.size()][];
+		int i = 0;
+		args[i++] = getSessionKey(String.valueOf(session.getId()));
+		args[i++] = String.valueOf(session.getTimeout() > 0 ? session.getTimeout() : 0L).getBytes(Charsets.UTF_8);
+		args[i++] = (full || delta.isFull() ? "1" : "0").getBytes(Charsets.UTF_8);
+		args[i++] = String.valueOf(removed.size()).getBytes(Charsets.UTF_8);
+		for (byte[] field : removed) {
+			args[i++] = field;
+		}
+		for (byte[] field : fields) {
+			args[i++] = field;
+		}
+
+		JedisCluster jedisCluster = cacheManager.getJedisCluster();
+		Object ret;
+		try {
+			ret = jedisCluster.evalsha(UPDATE_SCRIPT_SHA, 1, args);
+		} catch (JedisNoScriptException e) {
+			ret = jedisCluster.eval(UPDATE_SCRIPT_BYTES, 1, args); // Loaded script.
+		}
+		return ((Number) ret).longValue();
+	}
+
+	/**
+	 * Read session and version of the redis hash(or the legacy protostuff
+	 * serialized string value).
+	 *
+	 * @param key
+	 * @return
+	 */
+	private SessionValue readSessionValue(byte[] key) {
+		JedisCluster jedisCluster = cacheManager.getJedisCluster();
+		try {
+			Map<byte[], byte[]> hash = jedisCluster.hgetAll(key);
+			return new SessionValue(IamSessionHashCodec.decode(hash), IamSessionHashCodec.decodeVersion(hash));
+		} catch (JedisDataException e) {
+			if (!String.valueOf(e.getMessage()).startsWith("WRONGTYPE")) {
+				throw e;
+			}
+			// Legacy full serialized session, rewritten whole by next
+			// updating.
+			IamSession session = deserialize(jedisCluster.get(key), IamSession.class);
+			if (nonNull(session)) {
+				if (nonNull(session.getAttributes())) {
+					session.setAttributes(new ConcurrentHashMap<>(session.getAttributes()));
+				}
+				session.markChanged();
+			}
+			return new SessionValue(session, 0L);
+		}
+	}
+
+	private byte[] getSessionKey(String sessionId) {
+		return (config.getCache().getPrefix() + CACHE_SESSION + sessionId).getBytes(Charsets.UTF_8);
+	}
+
+	/**
+	 * Whether the session is timed out(by the last access time).
+	 *
+	 * @param session
+	 * @return
+	 */
+	private static boolean isTimedOut(IamSession session) {
+		return session.getTimeout() >= 0 && session.getLastAccessTime().getTime() + session.getTimeout() < currentTimeMillis();
+	}
+
+	/**
+	 * Session read from redis with version.
+	 */
+	private static class SessionValue {
+		final private IamSession session;
+		final private long version;
+
+		private SessionValue(IamSession session, long version) {
+			this.session = session;
+			this.version = version;
+		}
+	}
+
+	/**
+	 * Refresh the TTL of grant tickets of the touched session, which is twice
+	 * the session timeout as the index, so the grant tickets of alive session
+	 * are not expired before the session. The readers must verify the session
+	 * still holds the grant ticket.
+	 *
+	 * @param session
+	 * @param sessionId
+	 */
+	private void refreshGrantTickets(IamSession session, String sessionId) {
+		if (isNull(grantTicketCacheName)) {
+			return;
+		}
+		long ttlMs = session.getTimeout() > 0 ? session.getTimeout() * 2 : 0L;
+		for (String grantTicket : getGrantTickets(session)) {
+			cacheManager.getEnhancedCache(grantTicketCacheName).put(new EnhancedKey(grantTicket, ttlMs), sessionId);
+		}
+	}
+
+	/**
+	 * Get the grant tickets of session.
+	 *
+	 * @param session
+	 * @return
+	 */
+	private static Set<String> getGrantTickets(IamSession session) {
+		Map<Object, Object> attributes = session.getAttributes();
+		if (isNull(attributes)) {
+			return Collections.emptySet();
+		}
+		Set<String> tickets = new HashSet<>(4);
+		for (Object value : attributes.values()) {
+			if (value instanceof GrantTicketInfo && ((GrantTicketInfo) value).hasApplications()) {
+				for (String ticket : ((GrantTicketInfo) value).getApplications().values()) {
+					if (nonNull(ticket)) {
+						tickets.add(ticket);
+					}
+				}
+			}
+		}
+		return tickets;
+	}
+
 }
\ No newline at end of file
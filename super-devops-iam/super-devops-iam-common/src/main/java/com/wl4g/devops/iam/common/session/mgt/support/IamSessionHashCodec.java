@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.session.mgt.support;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.wl4g.devops.common.utils.serialize.ProtostuffUtils;
+import com.wl4g.devops.iam.common.session.IamSession;
+import com.wl4g.devops.iam.common.session.IamSession.Delta;
+
+import io.protostuff.Tag;
+
+/**
+ * Redis hash codec of {@link IamSession}, the meta fields and each attribute
+ * are stored as the separate hash fields, so that a session can be updated
+ * partially(only the changed attributes and the last access time).
+ *
+ * <pre>
+ * _id, _start, _stop, _timeout, _expired, _host   Meta fields(plain text)
+ * _lat                                           Last access time(ms)
+ * _ver                                           Version, increased by each writing
+ * a:{key}                                        Attribute(protostuff of key and value)
+ * </pre>
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月12日
+ * @since
+ */
+public abstract class IamSessionHashCodec {
+
+	final public static String FIELD_ID = "_id";
+	final public static String FIELD_START = "_start";
+	final public static String FIELD_STOP = "_stop";
+	final public static String FIELD_TIMEOUT = "_timeout";
+	final public static String FIELD_EXPIRED = "_expired";
+	final public static String FIELD_HOST = "_host";
+	final public static String FIELD_LAST_ACCESS = "_lat";
+	final public static String FIELD_VERSION = "_ver";
+
+	/** Field prefix of the attribute with string key. */
+	final public static String ATTRIBUTE_PREFIX = "a:";
+
+	/** Field prefix of the attribute with non-string key. */
+	final public static String OBJECT_ATTRIBUTE_PREFIX = "o:";
+
+	/**
+	 * Encode the changed fields of session.
+	 *
+	 * @param session
+	 *            Session to encode.
+	 * @param delta
+	 *            Changed state of session.
+	 * @param fields
+	 *            Output of the field and value pairs to write.
+	 * @param removed
+	 *            Output of the fields to delete(ignored if the delta is full).
+	 */
+	public static void encode(IamSession session, Delta delta, List<byte[]> fields, List<byte[]> removed) {
+		put(fields, FIELD_LAST_ACCESS, String.valueOf(session.getLastAccessTime().getTime()));
+		if (delta.isFull() || delta.isMeta()) {
+			put(fields, FIELD_ID, String.valueOf(session.getId()));
+			put(fields, FIELD_START, String.valueOf(session.getStartTimestamp().getTime()));
+			put(fields, FIELD_TIMEOUT, String.valueOf(session.getTimeout()));
+			put(fields, FIELD_EXPIRED, String.valueOf(session.isExpired()));
+			if (nonNull(session.getStopTimestamp())) {
+				put(fields, FIELD_STOP, String.valueOf(session.getStopTimestamp().getTime()));
+			} else {
+				removed.add(FIELD_STOP.getBytes(UTF_8));
+			}
+			if (nonNull(session.getHost())) {
+				put(fields, FIELD_HOST, session.getHost());
+			} else {
+				removed.add(FIELD_HOST.getBytes(UTF_8));
+			}
+		}
+
+		Map<Object, Object> attributes = session.getAttributes();
+		if (delta.isFull()) {
+			if (nonNull(attributes)) {
+				for (Entry<Object, Object> ent : attributes.entrySet()) {
+					fields.add(attributeField(ent.getKey()));
+					fields.add(encodeAttribute(ent.getKey(), ent.getValue()));
+				}
+			}
+			return;
+		}
+		for (Object key : delta.getChangedAttributeKeys()) {
+			Object value = isNull(attributes) ? null : attributes.get(key);
+			if (nonNull(value)) {
+				fields.add(attributeField(key));
+				fields.add(encodeAttribute(key, value));
+			} else {
+				removed.add(attributeField(key));
+			}
+		}
+		for (Object key : delta.getRemovedAttributeKeys()) {
+			removed.add(attributeField(key));
+		}
+	}
+
+	/**
+	 * Decode session of the hash fields.
+	 *
+	 * @param hash
+	 * @return null if the hash is empty(e.g. expired).
+	 */
+	public static IamSession decode(Map<byte[], byte[]> hash) {
+		if (isNull(hash) || hash.isEmpty()) {
+			return null;
+		}
+		IamSession session = new IamSession();
+		Map<Object, Object> attributes = new ConcurrentHashMap<>(hash.size());
+		boolean hasId = false;
+		for (Entry<byte[], byte[]> ent : hash.entrySet()) {
+			String field = new String(ent.getKey(), UTF_8);
+			byte[] value = ent.getValue();
+			if (field.startsWith(ATTRIBUTE_PREFIX) || field.startsWith(OBJECT_ATTRIBUTE_PREFIX)) {
+				AttributeHolder holder = ProtostuffUtils.deserialize(value, AttributeHolder.class);
+				if (nonNull(holder) && nonNull(holder.key) && nonNull(holder.value)) {
+					attributes.put(holder.key, holder.value);
+				}
+				continue;
+			}
+			String text = new String(value, UTF_8);
+			switch (field) {
+			case FIELD_ID:
+				session.setId(text);
+				hasId = true;
+				break;
+			case FIELD_START:
+				session.setStartTimestamp(new Date(Long.parseLong(text)));
+				break;
+			case FIELD_STOP:
+				session.setStopTimestamp(new Date(Long.parseLong(text)));
+				break;
+			case FIELD_TIMEOUT:
+				session.setTimeout(Long.parseLong(text));
+				break;
+			case FIELD_EXPIRED:
+				session.setExpired(Boolean.parseBoolean(text));
+				break;
+			case FIELD_HOST:
+				session.setHost(text);
+				break;
+			case FIELD_LAST_ACCESS:
+				session.setLastAccessTime(new Date(Long.parseLong(text)));
+				break;
+			default: // e.g. version
+				break;
+			}
+		}
+		if (!hasId) {
+			return null; // Incomplete(e.g. expired while writing)
+		}
+		session.setAttributes(attributes);
+		session.drainDelta(); // Clean decoded state.
+		return session;
+	}
+
+	/**
+	 * Decode version of the hash fields.
+	 *
+	 * @param hash
+	 * @return 0 if no version.
+	 */
+	public static long decodeVersion(Map<byte[], byte[]> hash) {
+		if (nonNull(hash)) {
+			for (Entry<byte[], byte[]> ent : hash.entrySet()) {
+				if (FIELD_VERSION.equals(new String(ent.getKey(), UTF_8))) {
+					return Long.parseLong(new String(ent.getValue(), UTF_8));
+				}
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * Hash field of the attribute key.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public static byte[] attributeField(Object key) {
+		if (key instanceof String) {
+			return (ATTRIBUTE_PREFIX + key).getBytes(UTF_8);
+		}
+		return (OBJECT_ATTRIBUTE_PREFIX + key.getClass().getName() + "#" + key).getBytes(UTF_8);
+	}
+
+	/**
+	 * Encode the attribute key and value.
+	 *
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public static byte[] encodeAttribute(Object key, Object value) {
+		return ProtostuffUtils.serialize(new AttributeHolder(key, value));
+	}
+
+	private static void put(List<byte[]> fields, String field, String value) {
+		fields.add(field.getBytes(UTF_8));
+		fields.add(value.getBytes(UTF_8));
+	}
+
+	/**
+	 * Serialized holder of the session attribute.
+	 */
+	public static class AttributeHolder {
+
+		@Tag(value = 1, alias = "key")
+		private Object key;
+
+		@Tag(value = 2, alias = "value")
+		private Object value;
+
+		public AttributeHolder() {
+		}
+
+		public AttributeHolder(Object key, Object value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		public Object getKey() {
+			return key;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.session.mgt.support;
+
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_SESSION_PRINCIPAL_INDEX;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.shiro.subject.support.DefaultSubjectContext.PRINCIPALS_SESSION_KEY;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.iam.common.session.IamSession;
+import com.wl4g.devops.iam.common.session.IamSession.Delta;
+
+import redis.clients.jedis.JedisCluster;
+
+/**
+ * Secondary index of the IAM sessions by principal, instead of scanning all
+ * sessions.
+ *
+ * <pre>
+ * {prefix}sessidx_principal_{principal}   Set of sessionIds
+ * </pre>
+ *
+ * The index is written after the session writing(the keys are in the
+ * different slots of redis cluster, it can't be in a same script), it's
+ * refreshed with the TTL of twice the session timeout when the principal
+ * changed or the last refreshing is older than half the timeout. The readers
+ * must verify the indexed sessions, and remove the dangling entries(e.g.
+ * logged out or expired) by {@link #removePrincipal}.<br/>
+ * The sessions of grant ticket are looked up by the existing grant ticket
+ * cache(grantTicket => sessionId) of the IAM server, it's not indexed again,
+ * but its TTL is refreshed along with the index(see
+ * {@link com.wl4g.devops.iam.common.session.mgt.JedisIamSessionDAO#setGrantTicketCacheName}).
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月13日
+ * @since
+ */
+public class IamSessionIndexer {
+
+	/**
+	 * Refreshing interval of the sessions without timeout.
+	 */
+	final public static long DEFAULT_REFRESH_MS = 30 * 60_000L;
+
+	final private JedisCluster jedisCluster;
+
+	/**
+	 * Cache prefix of the indexes.
+	 */
+	final private String prefix;
+
+	public IamSessionIndexer(JedisCluster jedisCluster, String prefix) {
+		Assert.notNull(jedisCluster, "'jedisCluster' must not be null");
+		Assert.hasText(prefix, "'prefix' must not be empty");
+		this.jedisCluster = jedisCluster;
+		this.prefix = prefix;
+	}
+
+	/**
+	 * Update the index of written session.
+	 *
+	 * @param session
+	 * @param delta
+	 *            Changed state of the writing.
+	 * @return Whether the index is refreshed.
+	 */
+	public boolean index(IamSession session, Delta delta) {
+		long now = currentTimeMillis();
+		long interval = session.getTimeout() > 0 ? session.getTimeout() / 2 : DEFAULT_REFRESH_MS;
+		boolean refresh = delta.isFull() || (now - session.getIndexedTime()) > interval;
+		if (!refresh && !delta.getChangedAttributeKeys().contains(PRINCIPALS_SESSION_KEY)) {
+			return false;
+		}
+
+		Object principal = session.getPrimaryPrincipal();
+		if (nonNull(principal)) {
+			long ttlMs = session.getTimeout() > 0 ? session.getTimeout() * 2 : 0L;
+			String key = getPrincipalKey(principal);
+			jedisCluster.sadd(key, String.valueOf(session.getId()));
+			if (ttlMs > 0) {
+				jedisCluster.pexpire(key, ttlMs);
+			}
+		}
+		if (refresh) {
+			session.setIndexedTime(now);
+		}
+		return refresh;
+	}
+
+	/**
+	 * Remove the index of deleted session.
+	 *
+	 * @param session
+	 */
+	public void unindex(IamSession session) {
+		Object principal = session.getPrimaryPrincipal();
+		if (nonNull(principal)) {
+			removePrincipal(principal, String.valueOf(session.getId()));
+		}
+	}
+
+	/**
+	 * Get the indexed sessionIds of principal.
+	 *
+	 * @param principal
+	 * @return
+	 */
+	public Set<String> getSessionIds(Object principal) {
+		Set<String> sessionIds = jedisCluster.smembers(getPrincipalKey(principal));
+		return isNull(sessionIds) ? Collections.emptySet() : sessionIds;
+	}
+
+	/**
+	 * Remove the (dangling) sessionId of principal index.
+	 *
+	 * @param principal
+	 * @param sessionId
+	 */
+	public void removePrincipal(Object principal, String sessionId) {
+		jedisCluster.srem(getPrincipalKey(principal), sessionId);
+	}
+
+	private String getPrincipalKey(Object principal) {
+		return prefix + CACHE_SESSION_PRINCIPAL_INDEX + principal;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.session.mgt.support;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.split;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.iam.common.session.IamSession;
+
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * Local near-cache of {@link IamSession}, each entry is stamped with the
+ * version of the redis session hash, the entries are invalidated by the
+ * messages of the redis pub/sub channel which are published after writing by
+ * any node, and the entries expire after a short time as the safety net of the
+ * lost messages(the whole cache is cleared after re-subscribing).
+ *
+ * <pre>
+ * Message: {nodeId}:{version}:{sessionId}
+ * </pre>
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月12日
+ * @since
+ */
+public class IamSessionNearCache implements Closeable {
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * Loading marker entry.
+	 */
+	final private static Entry LOADING = new Entry(null, -1L, 0L);
+
+	/**
+	 * Random identifier of the current node(to ignore the messages published
+	 * by itself).
+	 */
+	final private String nodeId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 12);
+
+	final private ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	final private JedisCluster jedisCluster;
+
+	final private String channel;
+
+	final private int maxSize;
+
+	final private long expireMs;
+
+	final private Subscriber subscriber = new Subscriber();
+
+	private volatile Thread subscribing;
+
+	private volatile boolean closed;
+
+	public IamSessionNearCache(JedisCluster jedisCluster, String channel, int maxSize, long expireMs) {
+		Assert.notNull(jedisCluster, "'jedisCluster' must not be null");
+		Assert.hasText(channel, "'channel' must not be empty");
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than 0");
+		Assert.isTrue(expireMs > 0, "'expireMs' must be greater than 0");
+		this.jedisCluster = jedisCluster;
+		this.channel = channel;
+		this.maxSize = maxSize;
+		this.expireMs = expireMs;
+	}
+
+	/**
+	 * Start subscribing the invalidation channel.
+	 */
+	public synchronized void start() {
+		if (nonNull(subscribing)) {
+			return;
+		}
+		subscribing = new Thread(() -> {
+			while (!closed) {
+				try {
+					jedisCluster.subscribe(subscriber, channel); // Blocking
+				} catch (Exception e) {
+					if (!closed) {
+						log.warn("Session invalidation subscribing interrupted, re-subscribe later. cause: {}", e.getMessage());
+					}
+				}
+				entries.clear(); // Messages may be lost.
+				try {
+					if (!closed) {
+						Thread.sleep(2000L);
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}, getClass().getSimpleName() + "-subscriber");
+		subscribing.setDaemon(true);
+		subscribing.start();
+	}
+
+	/**
+	 * Get the cached session.
+	 *
+	 * @param sessionId
+	 * @return null if missing or expired.
+	 */
+	public Entry get(String sessionId) {
+		Entry entry = entries.get(sessionId);
+		if (isNull(entry) || entry == LOADING) {
+			return null;
+		}
+		if (currentTimeMillis() - entry.cachedTime > expireMs) {
+			entries.remove(sessionId, entry);
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Mark the session is loading from redis, the loaded session is cached
+	 * by {@link #completeLoad(String, IamSession, long)} only if it's not
+	 * invalidated in the meantime.
+	 *
+	 * @param sessionId
+	 */
+	public void beginLoad(String sessionId) {
+		entries.put(sessionId, LOADING);
+	}
+
+	/**
+	 * Cache the loaded session if it's not invalidated since
+	 * {@link #beginLoad(String)}.
+	 *
+	 * @param sessionId
+	 * @param session
+	 * @param version
+	 */
+	public void completeLoad(String sessionId, IamSession session, long version) {
+		if (isNull(session)) {
+			entries.remove(sessionId, LOADING);
+		} else if (entries.replace(sessionId, LOADING, new Entry(session, version, currentTimeMillis()))) {
+			ensureCapacity();
+		}
+	}
+
+	/**
+	 * Cache the session written by current node.
+	 *
+	 * @param sessionId
+	 * @param session
+	 * @param version
+	 *            Version after writing.
+	 */
+	public void put(String sessionId, IamSession session, long version) {
+		Entry entry = new Entry(session, version, currentTimeMillis());
+		entries.compute(sessionId, (k, old) -> (isNull(old) || old.version <= version) ? entry : old);
+		ensureCapacity();
+	}
+
+	/**
+	 * Remove the cached session of current node.
+	 *
+	 * @param sessionId
+	 */
+	public void remove(String sessionId) {
+		entries.remove(sessionId);
+	}
+
+	/**
+	 * Publish the invalidation of session to the other nodes.
+	 *
+	 * @param sessionId
+	 * @param version
+	 *            Version after writing, 0 if deleted.
+	 */
+	public void publish(String sessionId, long version) {
+		try {
+			jedisCluster.publish(channel, nodeId + ":" + version + ":" + sessionId);
+		} catch (Exception e) {
+			log.warn("Failed to publish session invalidation of {}, cause: {}", sessionId, e.getMessage());
+		}
+	}
+
+	/**
+	 * Invalidate the cached session whose version is older.
+	 *
+	 * @param sessionId
+	 * @param version
+	 *            Newest version, 0 if deleted.
+	 */
+	void invalidate(String sessionId, long version) {
+		entries.computeIfPresent(sessionId, (k, old) -> (version > 0 && old != LOADING && old.version >= version) ? old : null);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		try {
+			if (subscriber.isSubscribed()) {
+				subscriber.unsubscribe();
+			}
+		} catch (Exception e) {
+			log.debug("Failed to unsubscribe session invalidation. cause: {}", e.getMessage());
+		}
+		if (nonNull(subscribing)) {
+			subscribing.interrupt();
+		}
+		entries.clear();
+	}
+
+	/**
+	 * Evict the expired entries, and then the arbitrary entries if it's still
+	 * oversize.
+	 */
+	private void ensureCapacity() {
+		if (entries.size() <= maxSize) {
+			return;
+		}
+		long now = currentTimeMillis();
+		entries.values().removeIf(e -> e != LOADING && now - e.cachedTime > expireMs);
+		Iterator<java.util.Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+		while (entries.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Invalidation messages subscriber.
+	 */
+	private class Subscriber extends JedisPubSub {
+
+		@Override
+		public void onSubscribe(String channel, int subscribedChannels) {
+			entries.clear(); // Messages may be lost before (re)subscribing.
+			if (log.isInfoEnabled()) {
+				log.info("Subscribed session invalidation channel: {}", channel);
+			}
+		}
+
+		@Override
+		public void onMessage(String channel, String message) {
+			String[] parts = split(message, ":", 3);
+			if (isNull(parts) || parts.length != 3 || nodeId.equals(parts[0])) {
+				return;
+			}
+			try {
+				invalidate(parts[2], Long.parseLong(parts[1]));
+			} catch (NumberFormatException e) {
+				log.warn("Illegal session invalidation message: {}", message);
+			}
+		}
+
+	}
+
+	/**
+	 * Cached session entry.
+	 */
+	public static class Entry {
+
+		final private IamSession session;
+
+		/** Version of the redis session hash. */
+		final private long version;
+
+		final private long cachedTime;
+
+		private Entry(IamSession session, long version, long cachedTime) {
+			this.session = session;
+			this.version = version;
+			this.cachedTime = cachedTime;
+		}
+
+		public IamSession getSession() {
+			return session;
+		}
+
+		public long getVersion() {
+			return version;
+		}
+
+	}
+
+}
@@ -15,9 +15,16 @@
  */
 package com.wl4g.devops.iam.common.utils.cumulate;
 
+import static java.util.Arrays.asList;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.springframework.util.Assert;
 
 import com.wl4g.devops.iam.common.cache.EnhancedCache;
+import com.wl4g.devops.iam.common.cache.JedisEnhancedCache;
 
 /**
  * Accumulator tools
@@ -29,7 +36,15 @@ import com.wl4g.devops.iam.common.cache.EnhancedCache;
 public abstract class CumulateHolder {
 
 	/**
-	 * New create default/(distributed caching) accumulator
+	 * Local pre-aggregation accumulators, which are shared by the counter
+	 * name(cache) and all the construction parameters.
+	 */
+	final private static ConcurrentMap<List<Object>, Cumulator> localAggregateCumulators = new ConcurrentHashMap<>();
+
+	/**
+	 * New create default/(distributed caching) accumulator, all factors are
+	 * accumulated by single lua script if the cache is
+	 * {@link JedisEnhancedCache}.
 	 *
 	 * @param cache
 	 * @param expireMs
@@ -38,9 +53,65 @@ public abstract class CumulateHolder {
 	 */
 	public static Cumulator newCumulator(EnhancedCache cache, long expireMs) {
 		Assert.notNull(cache, "cache is null, please check configure");
+		if (cache instanceof JedisEnhancedCache) {
+			JedisEnhancedCache jedisCache = (JedisEnhancedCache) cache;
+			return new JedisCumulator(jedisCache.getJedisCluster(), jedisCache.getName(), expireMs);
+		}
 		return new DefaultCumulator(cache, expireMs);
 	}
 
+	/**
+	 * Get or create the local pre-aggregation accumulator of the distributed
+	 * cache, it's shared by the same cache and parameters, so the local
+	 * windows are consistent between the accumulating and the reading.
+	 *
+	 * @param cache
+	 * @param expireMs
+	 *            Expired milliseconds
+	 * @param aggregatablePrefix
+	 *            Prefix of the factors aggregated locally(e.g. remote IP).
+	 * @param flushThreshold
+	 *            Maximum pending increments of the factor.
+	 * @param flushIntervalMs
+	 *            Maximum age of the remote snapshot of the factor.
+	 * @return
+	 */
+	public static Cumulator getLocalAggregateCumulator(EnhancedCache cache, long expireMs, String aggregatablePrefix,
+			long flushThreshold, long flushIntervalMs) {
+		Assert.notNull(cache, "cache is null, please check configure");
+		Assert.hasText(aggregatablePrefix, "aggregatablePrefix must not be empty");
+		Object name = (cache instanceof JedisEnhancedCache) ? ((JedisEnhancedCache) cache).getName() : cache;
+		List<Object> key = asList(name, expireMs, aggregatablePrefix, flushThreshold, flushIntervalMs);
+		return localAggregateCumulators.computeIfAbsent(key,
+				k -> new LocalAggregateCumulator(newCumulator(cache, expireMs), f -> f.startsWith(aggregatablePrefix), expireMs,
+						flushThreshold, flushIntervalMs));
+	}
+
+	/**
+	 * New create fail-fast accumulator, the factors of the prefix(e.g. remote
+	 * IP) are pre-aggregated locally if it's enabled.
+	 *
+	 * @param cache
+	 * @param expireMs
+	 *            Expired milliseconds
+	 * @param localAggregate
+	 *            Whether to enable the local pre-aggregation.
+	 * @param aggregatablePrefix
+	 *            Prefix of the factors aggregated locally(e.g. remote IP).
+	 * @param flushThreshold
+	 *            Maximum pending increments of the factor.
+	 * @param flushIntervalMs
+	 *            Maximum age of the remote snapshot of the factor.
+	 * @return
+	 */
+	public static Cumulator newFailFastCumulator(EnhancedCache cache, long expireMs, boolean localAggregate,
+			String aggregatablePrefix, long flushThreshold, long flushIntervalMs) {
+		if (localAggregate) {
+			return getLocalAggregateCumulator(cache, expireMs, aggregatablePrefix, flushThreshold, flushIntervalMs);
+		}
+		return newCumulator(cache, expireMs);
+	}
+
 	/**
 	 * New create session cache accumulator.
 	 *
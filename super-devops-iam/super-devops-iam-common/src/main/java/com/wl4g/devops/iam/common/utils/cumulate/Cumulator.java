@@ -15,6 +15,8 @@
  */
 package com.wl4g.devops.iam.common.utils.cumulate;
 
+import static java.util.Collections.singletonList;
+
 import java.util.List;
 
 import javax.validation.constraints.NotBlank;
@@ -45,6 +47,25 @@ public interface Cumulator {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Accumulate each factor by its own increment, the implementations should
+	 * be done by a single round trip as possible.
+	 *
+	 * @param factors
+	 *            Safety limiting factor(e.g. Client remote IP and login
+	 *            user-name)
+	 * @param incrBys
+	 *            Step increment value of each factor
+	 * @return returns the cumulative number of each factor.
+	 */
+	default long[] accumulateAll(@NotNull List<String> factors, @NotNull long[] incrBys) {
+		long[] values = new long[factors.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = accumulate(singletonList(factors.get(i)), incrBys[i]);
+		}
+		return values;
+	}
+
 	/**
 	 * Get the cumulative number of failures for the specified condition
 	 *
@@ -72,6 +93,23 @@ public interface Cumulator {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Gets the cumulative number of each factor, the implementations should
+	 * be done by a single round trip as possible.
+	 *
+	 * @param factors
+	 *            Safety limiting factor(e.g. Client remote IP and login
+	 *            user-name)
+	 * @return returns the cumulative number of each factor.
+	 */
+	default long[] getCumulativeAll(@NotNull List<String> factors) {
+		long[] values = new long[factors.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getCumulative(factors.get(i));
+		}
+		return values;
+	}
+
 	/**
 	 * Cancel verification code
 	 *
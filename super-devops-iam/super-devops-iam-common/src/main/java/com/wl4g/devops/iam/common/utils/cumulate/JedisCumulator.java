@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.utils.cumulate;
+
+import static java.util.Objects.isNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * Security limit accumulation counter based on the REDIS cluster, all the
+ * factors(e.g. user, IP, device) of the same slot are accumulated by a single
+ * lua script which returns all their counters at once, the reads and the
+ * destroying are done by a single MGET/DEL per slot.<br/>
+ * The keys are hash-tagged by the factor(e.g. {rip_127.0.0.1}), so the
+ * counters of the different principals and IPs are spread over the cluster,
+ * rather than concentrated on a single slot.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月20日
+ * @since
+ */
+public class JedisCumulator implements Cumulator {
+
+	/**
+	 * KEYS[i] is increased by ARGV[i+1] and expired by ARGV[1](ms), returns
+	 * the counters of all keys.
+	 */
+	final private static byte[] ACCUMULATE_SCRIPT = ("local ret = {}\n"
+			+ "for i, key in ipairs(KEYS) do\n"
+			+ "  ret[i] = redis.call('INCRBY', key, ARGV[i + 1])\n"
+			+ "  redis.call('PEXPIRE', key, ARGV[1])\n"
+			+ "end\n"
+			+ "return ret").getBytes(Charsets.UTF_8);
+	final private static byte[] ACCUMULATE_SHA = Hashing.sha1().hashBytes(ACCUMULATE_SCRIPT).toString()
+			.getBytes(Charsets.UTF_8);
+
+	final private JedisCluster jedisCluster;
+
+	/**
+	 * Prefix of the keys, e.g. iam_failfast_match_counter
+	 */
+	final private String keyPrefix;
+
+	/**
+	 * Expired milliseconds
+	 */
+	final private long expireMs;
+
+	final private byte[] expireMsBytes;
+
+	public JedisCumulator(JedisCluster jedisCluster, @NotBlank String name, long expireMs) {
+		Assert.notNull(jedisCluster, "JedisCluster must not be null");
+		Assert.hasText(name, "Cumulator name must not be empty");
+		Assert.isTrue(expireMs > 0, "expireMs must be greater than 0");
+		this.jedisCluster = jedisCluster;
+		this.keyPrefix = name;
+		this.expireMs = expireMs;
+		this.expireMsBytes = String.valueOf(expireMs).getBytes(Charsets.UTF_8);
+	}
+
+	@Override
+	public long accumulate(@NotNull List<String> factors, long incrBy) {
+		long[] incrBys = new long[factors.size()];
+		for (int i = 0; i < incrBys.length; i++) {
+			incrBys[i] = incrBy;
+		}
+		return max(accumulateAll(factors, incrBys));
+	}
+
+	@Override
+	public long[] accumulateAll(@NotNull List<String> factors, @NotNull long[] incrBys) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+		Assert.isTrue(factors.size() == incrBys.length, "The length of factors and incrBys must be equal");
+
+		byte[][] keys = getKeys(factors);
+		long[] values = new long[keys.length];
+		for (int[] group : groupBySlot(keys)) {
+			int n = group.length;
+			byte[][] params = new byte[n * 2 + 1][];
+			for (int i = 0; i < n; i++) {
+				params[i] = keys[group[i]];
+				params[n + i + 1] = String.valueOf(incrBys[group[i]]).getBytes(Charsets.UTF_8);
+			}
+			params[n] = expireMsBytes;
+
+			Object ret;
+			try {
+				ret = jedisCluster.evalsha(ACCUMULATE_SHA, n, params);
+			} catch (JedisNoScriptException e) {
+				ret = jedisCluster.eval(ACCUMULATE_SCRIPT, n, params); // Loaded script.
+			}
+			List<?> counters = (List<?>) ret;
+			for (int i = 0; i < n; i++) {
+				values[group[i]] = ((Number) counters.get(i)).longValue();
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public long getCumulative(@NotBlank String factor) {
+		return parseCounter(jedisCluster.get(getKey(factor)));
+	}
+
+	@Override
+	public long getCumulatives(@NotNull List<String> factors) {
+		return max(getCumulativeAll(factors));
+	}
+
+	@Override
+	public long[] getCumulativeAll(@NotNull List<String> factors) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+
+		byte[][] keys = getKeys(factors);
+		long[] values = new long[keys.length];
+		for (int[] group : groupBySlot(keys)) {
+			List<byte[]> data = jedisCluster.mget(selectKeys(keys, group));
+			for (int i = 0; i < group.length; i++) {
+				values[group[i]] = parseCounter(data.get(i));
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public void destroy(@NotNull List<String> factors) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+		byte[][] keys = getKeys(factors);
+		for (int[] group : groupBySlot(keys)) {
+			jedisCluster.del(selectKeys(keys, group));
+		}
+	}
+
+	private byte[] getKey(String factor) {
+		Assert.hasText(factor, "Cumulate factor must not be empty");
+		return (keyPrefix + "{" + factor + "}").getBytes(Charsets.UTF_8);
+	}
+
+	private byte[][] getKeys(List<String> factors) {
+		byte[][] keys = new byte[factors.size()][];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = getKey(factors.get(i));
+		}
+		return keys;
+	}
+
+	/**
+	 * Group the key indexes by the cluster slot, the order of the keys is
+	 * preserved in the group.
+	 *
+	 * @param keys
+	 * @return
+	 */
+	private static List<int[]> groupBySlot(byte[][] keys) {
+		int n = keys.length;
+		int[] slots = new int[n];
+		for (int i = 0; i < n; i++) {
+			slots[i] = JedisClusterCRC16.getSlot(keys[i]);
+		}
+		List<int[]> groups = new ArrayList<>(n);
+		boolean[] grouped = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			if (grouped[i]) {
+				continue;
+			}
+			int size = 0;
+			int[] group = new int[n];
+			for (int j = i; j < n; j++) {
+				if (!grouped[j] && slots[j] == slots[i]) {
+					grouped[j] = true;
+					group[size++] = j;
+				}
+			}
+			groups.add(size == n ? group : Arrays.copyOf(group, size));
+		}
+		return groups;
+	}
+
+	private static byte[][] selectKeys(byte[][] keys, int[] group) {
+		if (group.length == keys.length) {
+			return keys;
+		}
+		byte[][] selected = new byte[group.length][];
+		for (int i = 0; i < group.length; i++) {
+			selected[i] = keys[group[i]];
+		}
+		return selected;
+	}
+
+	private static long parseCounter(byte[] data) {
+		return isNull(data) ? 0L : Long.parseLong(new String(data, Charsets.UTF_8));
+	}
+
+	private static long max(long[] values) {
+		long max = 0L;
+		for (long value : values) {
+			max = Math.max(max, value);
+		}
+		return max;
+	}
+
+}
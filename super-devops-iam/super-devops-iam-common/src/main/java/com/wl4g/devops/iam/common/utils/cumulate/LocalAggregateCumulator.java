@@ -0,0 +1,338 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.utils.cumulate;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Local pre-aggregation accumulator of the high-volume factors(e.g. remote
+ * IP).<br/>
+ * The increments of the aggregatable factors are counted in the local sliding
+ * window(the estimate of two buckets, i.e. previous*(1-elapsed) + current),
+ * and buffered until the pending increments reach the flush threshold or the
+ * remote snapshot is older than the flush interval, then flushed with the
+ * other factors by a single {@link Cumulator#accumulateAll(List, long[])}.
+ * The cumulative number is the maximum of the local estimate and the remote
+ * snapshot plus the pending increments, so the cluster-wide counters lag at
+ * most the flush threshold(or interval) per node.<br/>
+ * The other factors are delegated directly.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0
+ * @date 2020年3月20日
+ * @since
+ */
+public class LocalAggregateCumulator implements Cumulator {
+
+	/**
+	 * Default maximum number of the local windows.
+	 */
+	final public static int DEFAULT_MAX_FACTORS = 65536;
+
+	final private Cumulator delegate;
+
+	/**
+	 * Whether the factor is aggregated locally.
+	 */
+	final private Predicate<String> aggregatable;
+
+	/**
+	 * Sliding window milliseconds, i.e. expired milliseconds of the counter.
+	 */
+	final private long windowMs;
+
+	/**
+	 * The pending increments are flushed when it's reached.
+	 */
+	final private long flushThreshold;
+
+	/**
+	 * The pending increments are flushed when the remote snapshot is older
+	 * than it.
+	 */
+	final private long flushIntervalMs;
+
+	final private int maxFactors;
+
+	final private ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+	public LocalAggregateCumulator(Cumulator delegate, Predicate<String> aggregatable, long windowMs, long flushThreshold,
+			long flushIntervalMs) {
+		this(delegate, aggregatable, windowMs, flushThreshold, flushIntervalMs, DEFAULT_MAX_FACTORS);
+	}
+
+	public LocalAggregateCumulator(Cumulator delegate, Predicate<String> aggregatable, long windowMs, long flushThreshold,
+			long flushIntervalMs, int maxFactors) {
+		Assert.notNull(delegate, "Delegate cumulator must not be null");
+		Assert.notNull(aggregatable, "Aggregatable predicate must not be null");
+		Assert.isTrue(windowMs > 0, "windowMs must be greater than 0");
+		Assert.isTrue(flushThreshold > 0, "flushThreshold must be greater than 0");
+		Assert.isTrue(flushIntervalMs > 0, "flushIntervalMs must be greater than 0");
+		Assert.isTrue(maxFactors > 0, "maxFactors must be greater than 0");
+		this.delegate = delegate;
+		this.aggregatable = aggregatable;
+		this.windowMs = windowMs;
+		this.flushThreshold = flushThreshold;
+		this.flushIntervalMs = flushIntervalMs;
+		this.maxFactors = maxFactors;
+	}
+
+	@Override
+	public long accumulate(@NotNull List<String> factors, long incrBy) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+
+		long now = currentTimeMillis();
+		List<String> flushFactors = new ArrayList<>(factors.size());
+		List<Window> flushWindows = new ArrayList<>(factors.size());
+		long[] incrBys = new long[factors.size()];
+		long cumulatedMax = 0L;
+		for (String factor : factors) {
+			Window window = getWindow(factor, now);
+			long incr = incrBy;
+			if (nonNull(window)) {
+				synchronized (window) {
+					// Reset/decrement is always flushed immediately.
+					if (incrBy > 0) {
+						window.add(now, incrBy);
+						if (!window.isFlushRequired(now)) {
+							cumulatedMax = Math.max(cumulatedMax, window.estimate(now));
+							continue;
+						}
+						incr = window.drain();
+					} else {
+						incr = window.drain() + incrBy;
+						window.reset(now);
+					}
+				}
+			}
+			incrBys[flushFactors.size()] = incr;
+			flushFactors.add(factor);
+			flushWindows.add(window);
+		}
+		if (flushFactors.isEmpty()) {
+			return cumulatedMax;
+		}
+
+		long[] incrs = new long[flushFactors.size()];
+		System.arraycopy(incrBys, 0, incrs, 0, incrs.length);
+		long[] values;
+		try {
+			values = delegate.accumulateAll(flushFactors, incrs);
+		} catch (RuntimeException e) {
+			for (int i = 0; i < incrs.length; i++) { // Retried by next flush.
+				Window window = flushWindows.get(i);
+				if (nonNull(window)) {
+					synchronized (window) {
+						window.restore(incrs[i]);
+					}
+				}
+			}
+			throw e;
+		}
+		for (int i = 0; i < values.length; i++) {
+			Window window = flushWindows.get(i);
+			if (nonNull(window)) {
+				synchronized (window) {
+					window.synced(now, values[i]);
+					cumulatedMax = Math.max(cumulatedMax, window.estimate(now));
+				}
+			} else {
+				cumulatedMax = Math.max(cumulatedMax, values[i]);
+			}
+		}
+		return cumulatedMax;
+	}
+
+	@Override
+	public long getCumulative(@NotBlank String factor) {
+		return getCumulativeAll(singletonList(factor))[0];
+	}
+
+	@Override
+	public long getCumulatives(@NotNull List<String> factors) {
+		long cumulatedMax = 0L;
+		for (long value : getCumulativeAll(factors)) {
+			cumulatedMax = Math.max(cumulatedMax, value);
+		}
+		return cumulatedMax;
+	}
+
+	@Override
+	public long[] getCumulativeAll(@NotNull List<String> factors) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+
+		long now = currentTimeMillis();
+		long[] values = new long[factors.size()];
+		List<String> remoteFactors = new ArrayList<>(factors.size());
+		int[] remoteIndexes = new int[factors.size()];
+		for (int i = 0; i < values.length; i++) {
+			Window window = windows.get(factors.get(i));
+			if (nonNull(window)) {
+				synchronized (window) {
+					if (!window.isSnapshotStale(now)) {
+						values[i] = window.estimate(now);
+						continue;
+					}
+				}
+			}
+			remoteIndexes[remoteFactors.size()] = i;
+			remoteFactors.add(factors.get(i));
+		}
+		if (!remoteFactors.isEmpty()) {
+			long[] remoteValues = delegate.getCumulativeAll(remoteFactors);
+			for (int j = 0; j < remoteValues.length; j++) {
+				int i = remoteIndexes[j];
+				Window window = windows.get(factors.get(i));
+				if (nonNull(window)) {
+					synchronized (window) {
+						window.synced(now, remoteValues[j]);
+						values[i] = window.estimate(now);
+					}
+				} else {
+					values[i] = remoteValues[j];
+				}
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public void destroy(@NotNull List<String> factors) {
+		Assert.isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
+		factors.forEach(factor -> windows.remove(factor));
+		delegate.destroy(factors);
+	}
+
+	/**
+	 * Get or create the local window of the aggregatable factor.
+	 *
+	 * @param factor
+	 * @param now
+	 * @return null if the factor is not aggregatable, or the windows are full
+	 *         of the pending factors.
+	 */
+	private Window getWindow(String factor, long now) {
+		if (!aggregatable.test(factor)) {
+			return null;
+		}
+		Window window = windows.get(factor);
+		if (isNull(window)) {
+			if (windows.size() >= maxFactors) {
+				windows.values().removeIf(w -> w.isIdle(now));
+				if (windows.size() >= maxFactors) {
+					return null; // Accumulated directly.
+				}
+			}
+			window = windows.computeIfAbsent(factor, f -> new Window(now));
+		}
+		return window;
+	}
+
+	/**
+	 * Local sliding window(two buckets) and the pending increments of the
+	 * factor, guarded by itself.
+	 */
+	private class Window {
+
+		/** Start time of the current bucket. */
+		private long start;
+		private long previous;
+		private long current;
+
+		/** Increments which are not flushed yet. */
+		private long pending;
+
+		/** Remote cumulative snapshot and it's sync time. */
+		private long remote;
+		private long syncTime = Long.MIN_VALUE;
+
+		private Window(long now) {
+			this.start = now;
+		}
+
+		private void add(long now, long incrBy) {
+			roll(now);
+			current += incrBy;
+			pending += incrBy;
+		}
+
+		private boolean isFlushRequired(long now) {
+			return pending >= flushThreshold || isSnapshotStale(now);
+		}
+
+		private boolean isSnapshotStale(long now) {
+			return syncTime == Long.MIN_VALUE || (now - syncTime) >= flushIntervalMs;
+		}
+
+		private long drain() {
+			long incr = pending;
+			pending = 0L;
+			return incr;
+		}
+
+		private void restore(long incr) {
+			pending += incr;
+		}
+
+		private void reset(long now) {
+			start = now;
+			previous = current = 0L;
+		}
+
+		private void synced(long now, long remote) {
+			this.remote = remote;
+			this.syncTime = now;
+		}
+
+		private long estimate(long now) {
+			roll(now);
+			double elapsed = (double) (now - start) / windowMs;
+			long local = (long) Math.ceil(previous * (1d - elapsed)) + current;
+			// The remote counter is expired after the window.
+			long cumulated = (syncTime != Long.MIN_VALUE && (now - syncTime) < windowMs) ? remote + pending : pending;
+			return Math.max(local, cumulated);
+		}
+
+		private synchronized boolean isIdle(long now) {
+			return pending == 0L && (now - start) >= windowMs;
+		}
+
+		private void roll(long now) {
+			long elapsed = now - start;
+			if (elapsed >= windowMs) {
+				previous = elapsed >= (windowMs * 2) ? 0L : current;
+				current = 0L;
+				start = now - (elapsed % windowMs);
+			}
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ import static java.util.Objects.isNull;
 import static org.springframework.util.Assert.*;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -35,6 +36,10 @@ import org.springframework.util.CollectionUtils;
 
 /**
  * Security limit accumulation counter based on {@link Session} implementation.
+ * <br/>
+ * The counters of all factors are saved in a single session attribute, which
+ * is rebound after it's changed, so there is one session writing per
+ * accumulating.
  *
  * @author wangl.sir
  * @version v1.0 2019年4月19日
@@ -44,9 +49,9 @@ public class SessionCumulator implements Cumulator {
 	final private Logger log = LoggerFactory.getLogger(getClass());
 
 	/**
-	 * Save to session key prefix.
+	 * Save to session key.
 	 */
-	final private String sessionKeyPrefix;
+	final private String sessionKey;
 
 	/**
 	 * Expired milliseconds
@@ -56,29 +61,34 @@ public class SessionCumulator implements Cumulator {
 	public SessionCumulator(@NotBlank String name, long expireMs) {
 		hasText(name, "Name of sessionKey prefix must not be empty");
 		isTrue(expireMs > 0, "expireMs must be greater than 0");
-		this.sessionKeyPrefix = name;
+		this.sessionKey = name;
 		this.expireMs = expireMs;
 	}
 
 	@Override
 	public long accumulate(@NotNull List<String> factors, long incrBy) {
+		SessionLimitCounters counters = getCounters();
+		if (isNull(counters)) {
+			counters = new SessionLimitCounters();
+		}
+		// Cleanup expired.
+		counters.values().removeIf(counter -> isExpired(counter.getCreate()));
+
 		// Accumulated maximum number of failures
 		long cumulatedMax = 0;
 		for (String factor : factors) {
-			SessionLimitCounter counter = getBindValue(getActualSessionKey(factor));
-			// Non-exist or expired?
-			if (isNull(counter) || isExpired(counter.getCreate())) {
-				bind(getActualSessionKey(factor), (counter = new SessionLimitCounter(0L))); // Initialize
-			}
+			SessionLimitCounter counter = counters.computeIfAbsent(factor, f -> new SessionLimitCounter(0L));
 			// Positive or negative growth
 			cumulatedMax = Math.max(cumulatedMax, counter.getValue().addAndGet(incrBy));
 		}
+		bind(sessionKey, counters); // Rebind to save changed.
 		return cumulatedMax;
 	}
 
 	@Override
 	public long getCumulative(@NotBlank String factor) {
-		SessionLimitCounter counter = getBindValue(getActualSessionKey(factor));
+		SessionLimitCounters counters = getCounters();
+		SessionLimitCounter counter = isNull(counters) ? null : counters.get(factor);
 		if (counter != null) {
 			if (!isExpired(counter.getCreate())) { // Expired?
 				return counter.getValue().get();
@@ -91,11 +101,18 @@ public class SessionCumulator implements Cumulator {
 	public long getCumulatives(@NotNull List<String> factors) {
 		isTrue(!CollectionUtils.isEmpty(factors), "factors must not be empty");
 
+		SessionLimitCounters counters = getCounters();
+		if (isNull(counters)) {
+			return 0L;
+		}
 		// Accumulated maximum number of failures
 		long cumulatedMax = 0L;
 		for (String factor : factors) {
 			// Get count of failures by factor and take max
-			cumulatedMax = Math.max(cumulatedMax, getCumulative(factor));
+			SessionLimitCounter counter = counters.get(factor);
+			if (counter != null && !isExpired(counter.getCreate())) {
+				cumulatedMax = Math.max(cumulatedMax, counter.getValue().get());
+			}
 		}
 		return cumulatedMax;
 	}
@@ -104,23 +121,28 @@ public class SessionCumulator implements Cumulator {
 	public void destroy(@NotNull List<String> factors) {
 		notEmpty(factors, "factors must not be empty");
 
-		factors.forEach(factor -> {
-			try {
-				unbind(getActualSessionKey(factor));
-			} catch (Exception e) {
-				log.error("", e);
+		try {
+			SessionLimitCounters counters = getCounters();
+			if (isNull(counters) || !counters.keySet().removeAll(factors)) {
+				return;
+			}
+			if (counters.isEmpty()) {
+				unbind(sessionKey);
+			} else {
+				bind(sessionKey, counters);
 			}
-		});
+		} catch (Exception e) {
+			log.error("", e);
+		}
 	}
 
 	/**
-	 * Actual session key.
+	 * Get the counters of all factors.
 	 *
-	 * @param factor
 	 * @return
 	 */
-	private String getActualSessionKey(@NotBlank String factor) {
-		return sessionKeyPrefix + "_" + factor;
+	private SessionLimitCounters getCounters() {
+		return getBindValue(sessionKey);
 	}
 
 	/**
@@ -133,6 +155,18 @@ public class SessionCumulator implements Cumulator {
 		return (System.currentTimeMillis() - createTime) >= expireMs;
 	}
 
+	/**
+	 * Session limit counters of the factors.
+	 *
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0
+	 * @date 2020年3月20日
+	 * @since
+	 */
+	public static class SessionLimitCounters extends HashMap<String, SessionLimitCounter> {
+		private static final long serialVersionUID = 3106530364380154870L;
+	}
+
 	/**
 	 * The session-based limit accumulator is used to solve the problem that the
 	 * session cannot be tracked without an account name when applying for an
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.attacks.xss;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import com.wl4g.devops.iam.common.attacks.xss.html.HTMLParser;
+import com.wl4g.devops.iam.common.attacks.xss.html.XSSFilter;
+
+/**
+ * {@link XssSanitizer} tests, the sanitized values are compared with the
+ * previous HTML parser encoding.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class XssSanitizerTests {
+
+	final private static String[] VALUES = { "hello", "hello world", "x=1&y=2", "a&b", "a'b", "a\"b", "a>b",
+			"Mozilla/5.0 (X11; Linux x86_64)", "text/html,application/xml;q=0.9", "https://a.b/c?d=e&f=g", "中文", "&lt;script&gt;",
+			"<b>hi</b> there", "<a href=\"javascript:alert(1)\">x</a>", "<script>alert(1)</script>", "<p>ok</p>", "a<b", "1<2 and 3>2" };
+
+	public static void main(String[] args) {
+		equivalenceTest();
+		benchmarkTest();
+	}
+
+	/**
+	 * Sanitized values must be the same as the HTML parser processed.
+	 */
+	public static void equivalenceTest() {
+		int diff = 0;
+		for (String value : VALUES) {
+			String expected = parse(value);
+			String actual = XssSanitizer.DEFAULT.sanitize(value);
+			if (!expected.equals(actual)) {
+				++diff;
+				System.out.println("Different of [" + value + "] expected: [" + expected + "], actual: [" + actual + "]");
+			}
+		}
+		assertTrue(diff == 0, "Sanitized values are different from the HTML parser, diff: " + diff);
+		System.out.println("Equivalence test passed, values: " + VALUES.length);
+	}
+
+	public static void benchmarkTest() {
+		String value = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko)";
+		int n = 20_000;
+		for (int i = 0; i < n; i++) { // Warmup
+			parse(value);
+			XssSanitizer.DEFAULT.sanitize(value);
+		}
+		long begin = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			parse(value);
+		}
+		long parserNanos = System.nanoTime() - begin;
+		begin = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			XssSanitizer.DEFAULT.sanitize(value);
+		}
+		long sanitizerNanos = System.nanoTime() - begin;
+		System.out.println("benchmarkTest parser=" + parserNanos / n + "ns/op, sanitizer=" + sanitizerNanos / n + "ns/op");
+	}
+
+	private static void assertTrue(boolean expression, String message) {
+		if (!expression) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+	/**
+	 * The previous request wrapper encoding.
+	 */
+	private static String parse(String value) {
+		try {
+			StringWriter writer = new StringWriter();
+			HTMLParser.process(new StringReader(value), writer, new XSSFilter(), true);
+			return writer.toString();
+		} catch (NullPointerException e) {
+			return value;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
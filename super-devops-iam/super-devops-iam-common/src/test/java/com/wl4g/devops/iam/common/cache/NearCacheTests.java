@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.cache;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+public class NearCacheTests {
+
+	public static void main(String[] args) throws Exception {
+		getPutTest();
+		staleLoadTest();
+		expireTest();
+		capacityTest();
+	}
+
+	public static void getPutTest() {
+		NearCache cache = new NearCache(100, 10_000L);
+		cache.put("k1", "v1".getBytes(UTF_8), -1L, cache.generation());
+		System.out.println("get=" + new String(cache.get("k1"), UTF_8)); // v1
+		cache.invalidate("k1");
+		System.out.println("invalidated=" + cache.get("k1")); // null
+	}
+
+	public static void staleLoadTest() {
+		NearCache cache = new NearCache(100, 10_000L);
+		long generation = cache.generation(); // Before loading
+		cache.invalidate("k1"); // Written by the other node during loading
+		cache.put("k1", "stale".getBytes(UTF_8), -1L, generation);
+		System.out.println("staleLoad=" + cache.get("k1")); // null
+	}
+
+	public static void expireTest() throws InterruptedException {
+		NearCache cache = new NearCache(100, 10_000L);
+		cache.put("k1", "v1".getBytes(UTF_8), 50L, cache.generation()); // Key TTL is earlier
+		cache.put("k2", "v2".getBytes(UTF_8), 0L, cache.generation()); // Never cached
+		Thread.sleep(100L);
+		System.out.println("expired=" + cache.get("k1") + ", zeroTtl=" + cache.get("k2")); // null, null
+	}
+
+	public static void capacityTest() {
+		NearCache cache = new NearCache(100, 10_000L);
+		for (int i = 0; i < 1000; i++) {
+			cache.put("k" + i, "v".getBytes(UTF_8), -1L, cache.generation());
+		}
+		System.out.println("size=" + cache.size()); // 100
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.session;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.wl4g.devops.common.utils.serialize.ProtostuffUtils;
+import com.wl4g.devops.iam.common.session.IamSession.Delta;
+import com.wl4g.devops.iam.common.session.mgt.support.IamSessionHashCodec;
+
+public class IamSessionHashCodecTests {
+
+	public static void main(String[] args) {
+		roundTripTest();
+		deltaTest();
+		sizeTest();
+	}
+
+	public static void roundTripTest() {
+		IamSession s = newSession();
+		Map<String, byte[]> hash = new LinkedHashMap<>();
+		write(hash, s);
+
+		IamSession s2 = IamSessionHashCodec.decode(toHash(hash));
+		System.out.println("roundTrip id=" + s.getId().equals(s2.getId())); // true
+		System.out.println("roundTrip host=" + s2.getHost()); // 127.0.0.1
+		System.out.println("roundTrip timeout=" + (s2.getTimeout() == 1800_000L)); // true
+		System.out.println("roundTrip attr=" + s2.getAttribute("userId")); // 1001
+		System.out.println("roundTrip objAttr=" + s2.getAttribute(2)); // two
+		System.out.println("roundTrip touchOnly=" + s2.drainDelta().isTouchOnly()); // true
+	}
+
+	public static void deltaTest() {
+		IamSession s = newSession();
+		Map<String, byte[]> hash = new LinkedHashMap<>();
+		write(hash, s);
+
+		s.touch();
+		Delta touch = s.drainDelta();
+		List<byte[]> fields = new ArrayList<>();
+		List<byte[]> removed = new ArrayList<>();
+		IamSessionHashCodec.encode(s, touch, fields, removed);
+		System.out.println("delta touchOnly=" + touch.isTouchOnly() + ", fields=" + fields.size() / 2); // true, 1
+
+		s.setAttribute("token", "abc");
+		s.removeAttribute("userId");
+		write(hash, s);
+		IamSession s2 = IamSessionHashCodec.decode(toHash(hash));
+		System.out.println("delta token=" + s2.getAttribute("token")); // abc
+		System.out.println("delta userId=" + s2.getAttribute("userId")); // null
+		System.out.println("delta objAttr=" + s2.getAttribute(2)); // two
+	}
+
+	public static void sizeTest() {
+		IamSession s = newSession();
+		for (int i = 0; i < 20; i++) {
+			s.setAttribute("attr" + i, "value-of-the-attribute-" + i);
+		}
+		s.drainDelta();
+		s.touch();
+		List<byte[]> fields = new ArrayList<>();
+		IamSessionHashCodec.encode(s, s.drainDelta(), fields, new ArrayList<>());
+		int deltaSize = fields.stream().mapToInt(f -> f.length).sum();
+		System.out.println("size full=" + ProtostuffUtils.serialize(s).length + ", touch=" + deltaSize);
+	}
+
+	private static IamSession newSession() {
+		IamSession s = new IamSession("127.0.0.1");
+		s.setId("sid0123456789");
+		s.setTimeout(1800_000L);
+		s.setAttribute("userId", 1001L);
+		s.setAttribute(2, "two");
+		return s;
+	}
+
+	/**
+	 * Apply the delta like the update script.
+	 */
+	private static void write(Map<String, byte[]> hash, IamSession s) {
+		List<byte[]> fields = new ArrayList<>();
+		List<byte[]> removed = new ArrayList<>();
+		Delta delta = s.drainDelta();
+		IamSessionHashCodec.encode(s, delta, fields, removed);
+		if (delta.isFull()) {
+			hash.clear();
+		}
+		removed.forEach(f -> hash.remove(new String(f, UTF_8)));
+		for (int i = 0; i < fields.size(); i += 2) {
+			hash.put(new String(fields.get(i), UTF_8), fields.get(i + 1));
+		}
+	}
+
+	private static Map<byte[], byte[]> toHash(Map<String, byte[]> hash) {
+		Map<byte[], byte[]> ret = new HashMap<>();
+		hash.forEach((k, v) -> ret.put(k.getBytes(UTF_8), v));
+		return ret;
+	}
+
+}
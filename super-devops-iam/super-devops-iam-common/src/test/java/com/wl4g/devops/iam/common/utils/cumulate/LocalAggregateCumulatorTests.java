@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.iam.common.utils.cumulate;
+
+import static java.util.Arrays.asList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LocalAggregateCumulatorTests {
+
+	public static void main(String[] args) throws Exception {
+		bufferedFlushTest();
+		directFactorTest();
+		destroyTest();
+	}
+
+	public static void bufferedFlushTest() {
+		MemoryCumulator remote = new MemoryCumulator();
+		Cumulator cumulator = new LocalAggregateCumulator(remote, f -> f.startsWith("rip_"), 60_000L, 4, 60_000L);
+		List<String> factors = asList("rip_7f000001");
+		long last = 0;
+		for (int i = 0; i < 6; i++) {
+			last = cumulator.accumulate(factors, 1);
+		}
+		// First accumulating synced the snapshot, then flushed at 4 pending.
+		System.out.println("local=" + last + ", remote=" + remote.get("rip_7f000001") + ", calls=" + remote.calls); // 6, 5, 2
+		System.out.println("cumulative=" + cumulator.getCumulatives(factors)); // 6
+	}
+
+	public static void directFactorTest() {
+		MemoryCumulator remote = new MemoryCumulator();
+		Cumulator cumulator = new LocalAggregateCumulator(remote, f -> f.startsWith("rip_"), 60_000L, 100, 60_000L);
+		List<String> factors = asList("uid_admin", "rip_7f000001");
+		for (int i = 0; i < 3; i++) {
+			cumulator.accumulate(factors, 1);
+		}
+		// The user factor is accumulated remotely each time, batched with the flushing IP factor.
+		System.out.println("uid=" + remote.get("uid_admin") + ", rip=" + remote.get("rip_7f000001") + ", calls="
+				+ remote.calls); // 3, 1, 3
+	}
+
+	public static void destroyTest() {
+		MemoryCumulator remote = new MemoryCumulator();
+		Cumulator cumulator = new LocalAggregateCumulator(remote, f -> f.startsWith("rip_"), 60_000L, 100, 60_000L);
+		List<String> factors = asList("rip_7f000001");
+		for (int i = 0; i < 5; i++) {
+			cumulator.accumulate(factors, 1);
+		}
+		cumulator.destroy(factors);
+		System.out.println("destroyed=" + cumulator.getCumulatives(factors)); // 0
+	}
+
+	/**
+	 * In-memory remote cumulator.
+	 */
+	private static class MemoryCumulator implements Cumulator {
+		final private Map<String, Long> counters = new HashMap<>();
+		private int calls;
+
+		@Override
+		public long[] accumulateAll(List<String> factors, long[] incrBys) {
+			++calls;
+			long[] values = new long[factors.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = counters.merge(factors.get(i), incrBys[i], Long::sum);
+			}
+			return values;
+		}
+
+		@Override
+		public long getCumulative(String factor) {
+			return get(factor);
+		}
+
+		@Override
+		public void destroy(List<String> factors) {
+			factors.forEach(counters::remove);
+		}
+
+		private long get(String factor) {
+			return counters.getOrDefault(factor, 0L);
+		}
+	}
+
+}
@@ -264,11 +264,14 @@ abstract class AbstractAttemptsMatcher extends IamBasedMatcher implements Initia
 		MatcherProperties matcher = config.getMatcher();
 		this.lockCache = cacheManager.getEnhancedCache(CACHE_MATCH_LOCK);
 
-		this.matchCumulator = CumulateHolder.newCumulator(cacheManager.getEnhancedCache(CACHE_FAILFAST_MATCH_COUNTER),
-				matcher.getFailFastMatchDelay());
-
-		this.applyCaptchaCumulator = CumulateHolder.newCumulator(cacheManager.getEnhancedCache(CACHE_FAILFAST_CAPTCHA_COUNTER),
-				matcher.getFailFastCaptchaDelay());
+		this.matchCumulator = CumulateHolder.newFailFastCumulator(cacheManager.getEnhancedCache(CACHE_FAILFAST_MATCH_COUNTER),
+				matcher.getFailFastMatchDelay(), matcher.isFailFastLocalAggregate(), KEY_FAIL_LIMIT_RIP_PREFIX,
+				matcher.getFailFastLocalAggregateThreshold(), matcher.getFailFastLocalAggregateIntervalMs());
+
+		this.applyCaptchaCumulator = CumulateHolder.newFailFastCumulator(
+				cacheManager.getEnhancedCache(CACHE_FAILFAST_CAPTCHA_COUNTER), matcher.getFailFastCaptchaDelay(),
+				matcher.isFailFastLocalAggregate(), KEY_FAIL_LIMIT_RIP_PREFIX, matcher.getFailFastLocalAggregateThreshold(),
+				matcher.getFailFastLocalAggregateIntervalMs());
 
 		this.applySmsCumulator = CumulateHolder.newCumulator(cacheManager.getEnhancedCache(CACHE_FAILFAST_SMS_COUNTER),
 				matcher.getFailFastSmsMaxDelay());
@@ -32,6 +32,7 @@ import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_TICKET_S;
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.URI_S_BASE;
 
 import com.wl4g.devops.common.kit.access.IPAccessControl;
@@ -162,6 +163,8 @@ public class IamAutoConfiguration extends AbstractIamConfiguration {
 		IamServerSessionManager sessionManager = new IamServerSessionManager(config);
 		sessionManager.setSessionFactory(sessionFactory);
 		sessionManager.setSessionDAO(sessionDao);
+		// Refresh the grantTicket => sessionId of the touched sessions.
+		sessionDao.setGrantTicketCacheName(CACHE_TICKET_S);
 		sessionManager.setSessionIdCookie(cookie);
 		sessionManager.setCacheManager(cacheManager);
 		sessionManager.setSessionIdUrlRewritingEnabled(config.getSession().isUrlRewriting());
@@ -102,6 +102,27 @@ public class MatcherProperties implements InitializingBean, Serializable {
 	 */
 	private long smsExpireMs = 5 * 60 * 1000L;
 
+	// --- Local aggregate ---
+
+	/**
+	 * Whether the fail-fast counters of the remote IP factors are
+	 * pre-aggregated locally(flushed by batch), it's suitable for the
+	 * high-volume requests, the cluster-wide counters lag at most the flush
+	 * threshold(or interval) per node.
+	 */
+	private boolean failFastLocalAggregate = false;
+
+	/**
+	 * The pending increments of the factor are flushed when it's reached.
+	 */
+	private int failFastLocalAggregateThreshold = 8;
+
+	/**
+	 * The pending increments of the factor are flushed when the remote
+	 * snapshot is older than it(milliseconds).
+	 */
+	private long failFastLocalAggregateIntervalMs = 1000L;
+
 	public int getFailFastMatchMaxAttempts() {
 		return failFastMatchMaxAttempts;
 	}
@@ -198,6 +219,32 @@ public class MatcherProperties implements InitializingBean, Serializable {
 		this.smsExpireMs = smsExpireMs;
 	}
 
+	public boolean isFailFastLocalAggregate() {
+		return failFastLocalAggregate;
+	}
+
+	public void setFailFastLocalAggregate(boolean failFastLocalAggregate) {
+		this.failFastLocalAggregate = failFastLocalAggregate;
+	}
+
+	public int getFailFastLocalAggregateThreshold() {
+		return failFastLocalAggregateThreshold;
+	}
+
+	public void setFailFastLocalAggregateThreshold(int failFastLocalAggregateThreshold) {
+		Assert.isTrue(failFastLocalAggregateThreshold > 0, "failFastLocalAggregateThreshold must be greater than 0");
+		this.failFastLocalAggregateThreshold = failFastLocalAggregateThreshold;
+	}
+
+	public long getFailFastLocalAggregateIntervalMs() {
+		return failFastLocalAggregateIntervalMs;
+	}
+
+	public void setFailFastLocalAggregateIntervalMs(long failFastLocalAggregateIntervalMs) {
+		Assert.isTrue(failFastLocalAggregateIntervalMs > 0, "failFastLocalAggregateIntervalMs must be greater than 0");
+		this.failFastLocalAggregateIntervalMs = failFastLocalAggregateIntervalMs;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		// Assert.isTrue(getFailFastSmsMaxAttempts() <
@@ -35,7 +35,6 @@ import com.wl4g.devops.iam.common.subject.IamPrincipalInfo;
 import com.wl4g.devops.iam.common.subject.SimplePrincipalInfo;
 import com.wl4g.devops.iam.common.utils.IamSecurityHolder;
 import com.wl4g.devops.iam.configure.ServerSecurityConfigurer;
-import com.wl4g.devops.support.redis.ScanCursor;
 
 import org.apache.shiro.SecurityUtils;
 import org.apache.shiro.authc.AuthenticationException;
@@ -52,6 +51,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.net.URI;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -308,18 +308,23 @@ public class CentralAuthenticationHandler extends AbstractAuthenticationHandler
 	public SessionValidityAssertModel sessionValidate(SessionValidityAssertModel assertion) {
 		hasText(assertion.getApplication(), "Validate session params: application can't empty");
 
-		ScanCursor<IamSession> cursor = sessionDAO.getAccessSessions(DEFAULT_BATCH_SIZE);
-		while (cursor.hasNext()) {
-			Session session = cursor.next();
+		// Lookup sessions by the saved grantTicket => sessionId, instead of
+		// scanning, its TTL is refreshed when the session is touched(see
+		// JedisIamSessionDAO#setGrantTicketCacheName).
+		Iterator<String> it = assertion.getTickets().iterator();
+		while (it.hasNext()) {
+			String ticket = it.next();
+			if (isBlank(ticket)) {
+				continue;
+			}
+			String sessionId = (String) cacheManager.getCache(CACHE_TICKET_S).get(new EnhancedKey(ticket, String.class));
+			IamSession session = isBlank(sessionId) ? null : sessionDAO.getAccessSessionByTicket(sessionId, ticket);
 			// GrantTicket of session.
-			GrantTicketInfo info = getGrantTicketInfo(session);
+			GrantTicketInfo info = nonNull(session) ? getGrantTicketInfo(session) : null;
 
-			if (nonNull(info) && info.hasApplications()) {
-				String savedGrantTicket = info.getApplications().get(assertion.getApplication());
-				// If exist grantTicket with application.
-				if (!isBlank(savedGrantTicket)) {
-					assertion.getTickets().remove(savedGrantTicket);
-				}
+			// If exist grantTicket with application.
+			if (nonNull(info) && info.hasApplications() && ticket.equals(info.getApplications().get(assertion.getApplication()))) {
+				it.remove();
 			}
 		}
 		return assertion;
@@ -37,9 +37,10 @@ import java.util.Objects;
 
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_FAILFAST_CAPTCHA_COUNTER;
 import static com.wl4g.devops.common.constants.IAMDevOpsConstants.CACHE_FAILFAST_MATCH_COUNTER;
+import static com.wl4g.devops.common.constants.IAMDevOpsConstants.KEY_FAIL_LIMIT_RIP_PREFIX;
 import static com.wl4g.devops.iam.common.utils.IamSecurityHolder.bind;
 import static com.wl4g.devops.iam.common.utils.IamSecurityHolder.getSessionId;
-import static com.wl4g.devops.iam.common.utils.cumulate.CumulateHolder.newCumulator;
+import static com.wl4g.devops.iam.common.utils.cumulate.CumulateHolder.newFailFastCumulator;
 import static com.wl4g.devops.iam.common.utils.cumulate.CumulateHolder.newSessionCumulator;
 import static com.wl4g.devops.tool.common.codec.Encodes.encodeBase64;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
@@ -210,11 +211,15 @@ public abstract class GraphBasedSecurityVerifier extends AbstractSecurityVerifie
 	public void afterPropertiesSet() throws Exception {
 		MatcherProperties matcher = config.getMatcher();
 		// Match accumulator.
-		this.matchCumulator = newCumulator(getCache(CACHE_FAILFAST_MATCH_COUNTER), matcher.getFailFastMatchDelay());
+		this.matchCumulator = newFailFastCumulator(getCache(CACHE_FAILFAST_MATCH_COUNTER), matcher.getFailFastMatchDelay(),
+				matcher.isFailFastLocalAggregate(), KEY_FAIL_LIMIT_RIP_PREFIX, matcher.getFailFastLocalAggregateThreshold(),
+				matcher.getFailFastLocalAggregateIntervalMs());
 		this.sessionMatchCumulator = newSessionCumulator(CACHE_FAILFAST_MATCH_COUNTER, matcher.getFailFastMatchDelay());
 
 		// CAPTCHA accumulator.
-		this.applyCaptchaCumulator = newCumulator(getCache(CACHE_FAILFAST_CAPTCHA_COUNTER), matcher.getFailFastCaptchaDelay());
+		this.applyCaptchaCumulator = newFailFastCumulator(getCache(CACHE_FAILFAST_CAPTCHA_COUNTER),
+				matcher.getFailFastCaptchaDelay(), matcher.isFailFastLocalAggregate(), KEY_FAIL_LIMIT_RIP_PREFIX,
+				matcher.getFailFastLocalAggregateThreshold(), matcher.getFailFastLocalAggregateIntervalMs());
 		this.sessionApplyCaptchaCumulator = newSessionCumulator(CACHE_FAILFAST_CAPTCHA_COUNTER,
 				matcher.getFailFastCaptchaDelay());
 
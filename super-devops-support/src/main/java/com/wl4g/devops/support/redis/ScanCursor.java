@@ -260,9 +260,7 @@ public abstract class ScanCursor<E> implements Iterator<E> {
 			}
 
 			// Iterated yet?
-			return (List<E>) iter.getItems().stream().map(key -> {
-				return deserialize(cluster.get(key), valueType);
-			}).collect(toList());
+			return (List<E>) iter.getItems().stream().map(key -> readValue(key)).collect(toList());
 		} finally {
 			iter.getItems().clear();
 		}
@@ -284,7 +282,19 @@ public abstract class ScanCursor<E> implements Iterator<E> {
 			throw new NoSuchElementException("No more elements available for cursor " + getCursor() + ".");
 		}
 
-		return (E) deserialize(cluster.get(iter.iterator().next()), valueType);
+		return (E) readValue(iter.iterator().next());
+	}
+
+	/**
+	 * Read the value of the scanned key, the default is the protostuff
+	 * serialized string value, subclasses can override it to read the other
+	 * structures(e.g. hash).
+	 * 
+	 * @param key
+	 * @return
+	 */
+	protected Object readValue(byte[] key) {
+		return deserialize(cluster.get(key), valueType);
 	}
 
 	/**
@@ -20,6 +20,8 @@ import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
 import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.support.task.GenericTaskRunner;
 import com.wl4g.devops.support.task.RunnerProperties;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
+import com.wl4g.devops.umc.alarm.window.MetricWindow;
 import com.wl4g.devops.umc.config.AlarmProperties;
 import org.slf4j.Logger;
 import org.springframework.util.Assert;
@@ -28,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_METRIC_QUEUE;
 import static com.wl4g.devops.tool.common.collection.Collections2.ensureList;
@@ -53,16 +56,35 @@ public abstract class AbstractIndicatorsValveAlerter extends GenericTaskRunner<R
 	 */
 	final protected JedisLockManager lockManager;
 
-	public AbstractIndicatorsValveAlerter(JedisService jedisService, JedisLockManager lockManager, AlarmProperties config) {
+	/**
+	 * In-memory time window engine.
+	 */
+	final protected AlarmWindowEngine windowEngine;
+
+	public AbstractIndicatorsValveAlerter(JedisService jedisService, JedisLockManager lockManager, AlarmProperties config,
+			AlarmWindowEngine windowEngine) {
 		super(config);
 		Assert.notNull(jedisService, "JedisService is null, please check config.");
 		Assert.notNull(lockManager, "LockManager is null, please check config.");
+		Assert.notNull(windowEngine, "AlarmWindowEngine is null, please check config.");
 		this.jedisService = jedisService;
 		this.lockManager = lockManager;
+		this.windowEngine = windowEngine;
+	}
+
+	@Override
+	protected void preStartupProperties() throws Exception {
+		// Handling the metric aggregates forwarded by other nodes.
+		windowEngine.register(getWindowChannel(), wrap -> doHandleAlarm(wrap));
 	}
 
 	@Override
 	public void alarm(MetricAggregateWrapper wrap) {
+		// Metric aggregates are handled by the owner node of time windows.
+		if (windowEngine.isEnabled()
+				&& windowEngine.forwardIfRemote(getWindowChannel(), getRouteKey(wrap), wrap)) {
+			return;
+		}
 		// TODO 没有进入doHandleAlarm方法，要看下这个getworker是否有bug
 		// getWorker().execute(() -> doHandleAlarm(wrap));
 		doHandleAlarm(wrap);
@@ -77,9 +99,22 @@ public abstract class AbstractIndicatorsValveAlerter extends GenericTaskRunner<R
 
 	// --- Metric time queue. ---
 
+	/**
+	 * Hash ring route key of the metric aggregate time windows.
+	 *
+	 * @param wrap
+	 * @return
+	 */
+	protected String getRouteKey(MetricAggregateWrapper wrap) {
+		return wrap.getHost() + ":" + wrap.getEndpoint();
+	}
+
 	/**
 	 * Offer metric values in time windows.
 	 * 
+	 * @param routeKey
+	 *            route key of window owner, see
+	 *            {@link #getRouteKey(MetricAggregateWrapper)}
 	 * @param cacheKey
 	 *            cacheKey address
 	 * @param value
@@ -90,16 +125,26 @@ public abstract class AbstractIndicatorsValveAlerter extends GenericTaskRunner<R
 	 *            current date time-stamp.
 	 * @param ttl
 	 *            time-to-live
+	 * @param evaluator
+	 *            time window evaluator(e.g. alarm rules matcher).
 	 * @return
 	 */
-	protected List<MetricValue> offerTimeWindowQueue(String cacheKey, Double value, long gatherTime, long now, long ttl) {
+	protected <T> T offerTimeWindowQueue(String routeKey, String cacheKey, Double value, long gatherTime, long now, long ttl,
+			Function<? super MetricWindow, T> evaluator) {
+		// The metric aggregates of the windows are always routed to the
+		// current(owner) node, no distributed lock is needed.
+		if (windowEngine.isEnabled()) {
+			return windowEngine.offer(routeKey, getTimeWindowQueueCacheKey(cacheKey), value, gatherTime, now, ttl, evaluator);
+		}
+
 		List<MetricValue> metricVals = emptyList();
 
 		// To solve the concurrency problem of metric window queue in
 		// distributed environment.
 		Lock lock = lockManager.getLock(getTimeWindowQueueCacheKey(cacheKey));
+		boolean locked = false;
 		try {
-			if (lock.tryLock(6L, TimeUnit.SECONDS)) {
+			if (locked = lock.tryLock(6L, TimeUnit.SECONDS)) {
 				metricVals = ensureList(doPeekMetricValueQueue(cacheKey));
 
 				// Check & clean expired metrics.
@@ -119,10 +164,16 @@ public abstract class AbstractIndicatorsValveAlerter extends GenericTaskRunner<R
 		} catch (InterruptedException e) {
 			throw new IllegalStateException(e);
 		} finally {
-			lock.unlock();
+			if (locked) {
+				lock.unlock();
+			}
 		}
 
-		return metricVals;
+		MetricWindow window = new MetricWindow(Math.max(1, metricVals.size()));
+		for (MetricValue metricVal : metricVals) {
+			window.add(metricVal.getGatherTime(), metricVal.getValue());
+		}
+		return evaluator.apply(window);
 	}
 
 	/**
@@ -152,6 +203,15 @@ public abstract class AbstractIndicatorsValveAlerter extends GenericTaskRunner<R
 
 	// --- Cache key. ---
 
+	/**
+	 * Channel of the metric aggregates forwarded to the owner node.
+	 * 
+	 * @return
+	 */
+	protected String getWindowChannel() {
+		return getClass().getSimpleName();
+	}
+
 	protected String getTimeWindowQueueCacheKey(String cacheKey) {
 		Assert.hasText(cacheKey, "cacheKey must not be empty");
 		return KEY_CACHE_ALARM_METRIC_QUEUE + cacheKey;
@@ -16,47 +16,28 @@
 package com.wl4g.devops.umc.alarm;
 
 import com.wl4g.devops.common.bean.iam.AlarmContact;
-import com.wl4g.devops.common.bean.iam.AlarmNotificationContact;
 import com.wl4g.devops.common.bean.umc.AlarmConfig;
-import com.wl4g.devops.common.bean.umc.AlarmRecord;
 import com.wl4g.devops.common.bean.umc.AlarmRule;
 import com.wl4g.devops.common.bean.umc.AlarmTemplate;
-import com.wl4g.devops.common.bean.umc.model.MetricValue;
 import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
-import com.wl4g.devops.support.notification.CompositeMessageNotifier;
-import com.wl4g.devops.support.notification.dingtalk.DingtalkMessage;
-import com.wl4g.devops.support.notification.dingtalk.DingtalkMessageNotifier;
-import com.wl4g.devops.support.notification.facebook.FacebookMessage;
-import com.wl4g.devops.support.notification.facebook.FacebookMessageNotifier;
-import com.wl4g.devops.support.notification.mail.MailMessageNotifier;
-import com.wl4g.devops.support.notification.mail.MailMessageWrapper;
-import com.wl4g.devops.support.notification.sms.AliyunSmsMessageNotifier;
-import com.wl4g.devops.support.notification.sms.SmsMessage;
-import com.wl4g.devops.support.notification.twitter.TwitterMessage;
-import com.wl4g.devops.support.notification.twitter.TwitterMessageNotifier;
-import com.wl4g.devops.support.notification.wechat.WechatMessage;
-import com.wl4g.devops.support.notification.wechat.WechatMessageNotifier;
 import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.umc.alarm.MetricAggregateWrapper.MetricWrapper;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotification;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotificationDispatcher;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
 import com.wl4g.devops.umc.config.AlarmProperties;
 import com.wl4g.devops.umc.handler.AlarmConfigurer;
+import com.wl4g.devops.umc.rule.CompiledRule;
+import com.wl4g.devops.umc.rule.CompiledTemplate;
 import com.wl4g.devops.umc.rule.RuleConfigManager;
 import com.wl4g.devops.umc.rule.inspect.CompositeRuleInspectorAdapter;
-import com.wl4g.devops.umc.rule.inspect.RuleInspector.InspectWrapper;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.mail.SimpleMailMessage;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 import org.springframework.util.Assert;
 
 import java.util.*;
-import java.util.Map.Entry;
 
-import static com.wl4g.devops.common.constants.UMCDevOpsConstants.*;
-import static com.wl4g.devops.tool.common.collection.Collections2.safeList;
 import static com.wl4g.devops.tool.common.serialize.JacksonUtils.toJSONString;
-import static java.lang.Math.abs;
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.toList;
-import static org.apache.commons.lang3.StringUtils.trimToEmpty;
+import static java.util.Collections.emptyList;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 /**
@@ -77,45 +58,48 @@ public class DefaultIndicatorsValveAlerter extends AbstractIndicatorsValveAlerte
 	/** Alarm rule inspector */
 	final protected CompositeRuleInspectorAdapter inspector;
 
-	/** Alarm notifier */
-	final protected CompositeMessageNotifier notifier;
+	/** Alarm notification dispatcher */
+	final protected AlarmNotificationDispatcher dispatcher;
 
 	public DefaultIndicatorsValveAlerter(JedisService jedisService, JedisLockManager lockManager, AlarmProperties config,
 			AlarmConfigurer configurer, RuleConfigManager ruleManager, CompositeRuleInspectorAdapter inspector,
-			CompositeMessageNotifier notifier) {
-		super(jedisService, lockManager, config);
+			AlarmNotificationDispatcher dispatcher, AlarmWindowEngine windowEngine) {
+		super(jedisService, lockManager, config, windowEngine);
 		Assert.notNull(configurer, "AlarmConfigurer is null, please check config.");
 		Assert.notNull(ruleManager, "RuleManager is null, please check config.");
 		Assert.notNull(inspector, "RuleInspector is null, please check config.");
-		Assert.notNull(notifier, "AlarmNotifier is null, please check config.");
+		Assert.notNull(dispatcher, "AlarmNotificationDispatcher is null, please check config.");
 		this.configurer = configurer;
 		this.ruleManager = ruleManager;
 		this.inspector = inspector;
-		this.notifier = notifier;
+		this.dispatcher = dispatcher;
 	}
 
 	@Override
 	protected void doHandleAlarm(MetricAggregateWrapper agwrap) {
 		log.info("Alarm handling for host: {} endpoint:{}", agwrap.getHost(), agwrap.getEndpoint());
 
-		// Load alarm templates by collectId.
-		List<AlarmConfig> alarmConfigs = ruleManager.loadAlarmRuleTpls(agwrap.getHost(), agwrap.getEndpoint());
-		if (isEmpty(alarmConfigs)) {
+		// Load compiled alarm templates(grouped by metric) by collect address.
+		Map<String, List<CompiledTemplate>> compiledTpls = ruleManager.getCompiledRuleTpls(agwrap.getHost(),
+				agwrap.getEndpoint());
+		if (isEmpty(compiledTpls)) {
 			log.info("No found alarm templates for host: {} endpoint:{}", agwrap.getHost(), agwrap.getEndpoint());
 			return;
 		}
 
 		// Alarm match handling.
-		List<AlarmResult> results = new ArrayList<>(agwrap.getMetrics().size() * 2);
+		List<AlarmResult> results = new ArrayList<>(4);
 		final long now = System.currentTimeMillis();
 		for (MetricWrapper mwrap : agwrap.getMetrics()) {
-			for (AlarmConfig tpl : alarmConfigs) {
-				if (StringUtils.equals(mwrap.getMetric(), tpl.getAlarmTemplate().getMetric())) {
-					// Obtain matching alarm result.
-					Optional<AlarmResult> ropt = doGetAlarmResultWithMatchRule(agwrap, mwrap, tpl, now);
-					if (ropt.isPresent()) {
-						results.add(ropt.get());
-					}
+			List<CompiledTemplate> tpls = compiledTpls.get(mwrap.getMetric());
+			if (tpls == null) {
+				continue;
+			}
+			for (CompiledTemplate tpl : tpls) {
+				// Obtain matching alarm result.
+				Optional<AlarmResult> ropt = doGetAlarmResultWithMatchRule(agwrap, mwrap, tpl, now);
+				if (ropt.isPresent()) {
+					results.add(ropt.get());
 				}
 			}
 		}
@@ -136,112 +120,54 @@ public class DefaultIndicatorsValveAlerter extends AbstractIndicatorsValveAlerte
 	 * @return
 	 */
 	protected Optional<AlarmResult> doGetAlarmResultWithMatchRule(MetricAggregateWrapper agwrap, MetricWrapper mwrap,
-			AlarmConfig alarmConfig, long now) {
-		// Match tags
-		Map<String, String> matchedTag = emptyMap();
-		if (!isEmpty(alarmConfig.getAlarmTemplate().getTagsMap())) {
-			matchedTag = matchTag(mwrap.getTags(), alarmConfig.getAlarmTemplate().getTagsMap());
-			if (isEmpty(matchedTag)) {
-				log.debug("No match tag to metric: {} and alarm template: {}, metric tags: {}", mwrap.getMetric(),
-						alarmConfig.getAlarmTemplate().getId(), mwrap.getTags());
-				return Optional.empty();
-			}
+			CompiledTemplate tpl, long now) {
+		AlarmConfig alarmConfig = tpl.getAlarmConfig();
+
+		// Match tags(precompiled)
+		Map<String, String> matchedTag = tpl.matchTags(mwrap.getTags());
+		if (matchedTag == null) {
+			log.debug("No match tag to metric: {} and alarm template: {}, metric tags: {}", mwrap.getMetric(),
+					alarmConfig.getAlarmTemplate().getId(), mwrap.getTags());
+			return Optional.empty();
 		}
 
-		// Maximum metric keep time window of rules.
-		long maxWindowTime = extractMaxRuleWindowTime(alarmConfig.getAlarmTemplate().getRules());
-		// Offer latest metrics in time window queue.
-		List<MetricValue> metricVals = offerTimeWindowQueue(
-				agwrap.getHost() + ":" + agwrap.getEndpoint() + "@" + alarmConfig.getAlarmTemplate().getId(), mwrap.getValue(),
-				agwrap.getTimestamp(), now, maxWindowTime);
-
-		// Match alarm rules of metric values.
-		List<AlarmRule> matchedRules = matchAlarmRules(metricVals, alarmConfig.getAlarmTemplate().getRules(), now);
+		// Offer latest metrics in time window queue(maximum metric keep time
+		// window of rules), and match alarm rules of metric values.
+		String routeKey = getRouteKey(agwrap);
+		List<AlarmRule> matchedRules = offerTimeWindowQueue(routeKey,
+				routeKey + "@" + alarmConfig.getAlarmTemplate().getId(), mwrap.getValue(), agwrap.getTimestamp(), now,
+				tpl.getMaxWindowMs(), window -> matchAlarmRules(window, tpl.getRules(), now));
 		if (isEmpty(matchedRules)) {
-			log.debug("No match rule to metric: {} and alarm template: {}, timeWindowQueue: {}", mwrap.getMetric(),
-					alarmConfig.getAlarmTemplate().getId(), toJSONString(metricVals));
+			log.debug("No match rule to metric: {} and alarm template: {}", mwrap.getMetric(),
+					alarmConfig.getAlarmTemplate().getId());
 			return Optional.empty();
 		}
 
-		log.info("Matched to metric: {} and alarm template: {}, timeWindowQueue: {}", mwrap.getMetric(),
-				alarmConfig.getAlarmTemplate().getId(), toJSONString(metricVals));
+		log.info("Matched to metric: {} and alarm template: {}, matched rules: {}", mwrap.getMetric(),
+				alarmConfig.getAlarmTemplate().getId(), matchedRules.size());
 		return Optional.of(new AlarmResult(agwrap, alarmConfig, matchedTag, matchedRules));
 	}
 
-	/**
-	 * Match metric tags
-	 * 
-	 * @param metricTagMap
-	 * @param tplTagMap
-	 * @return
-	 */
-	protected Map<String, String> matchTag(Map<String, String> metricTagMap, Map<String, String> tplTagMap) {
-		// If no tag is configured, the matching tag does not need to be
-		// executed.
-		if (isEmpty(tplTagMap)) {
-			return metricTagMap;
-		}
-		Map<String, String> matchedTags = new HashMap<>();
-		for (Entry<String, String> ent : tplTagMap.entrySet()) {
-			if (trimToEmpty(ent.getValue()).equals(metricTagMap.get(ent.getKey()))) {
-				matchedTags.put(ent.getKey(), ent.getValue());
-			}
-		}
-		return matchedTags;
-	}
-
-	/**
-	 * Extract largest metric keep time window of rules.
-	 * 
-	 * @param rules
-	 * @return
-	 */
-	protected long extractMaxRuleWindowTime(List<AlarmRule> rules) {
-		long largestTimeWindow = 0;
-		for (AlarmRule alarmRule : rules) {
-			Long timeWindow = alarmRule.getQueueTimeWindow();
-			if ((timeWindow != null ? timeWindow : 0) > largestTimeWindow) {
-				largestTimeWindow = alarmRule.getQueueTimeWindow();
-			}
-		}
-		return largestTimeWindow;
-	}
-
 	/**
 	 * Match alarm rules.
 	 * 
-	 * @param metricVals
+	 * @param window
 	 * @param rules
 	 * @param now
 	 * @return
 	 */
-	protected List<AlarmRule> matchAlarmRules(List<MetricValue> metricVals, List<AlarmRule> rules, long now) {
+	protected List<AlarmRule> matchAlarmRules(SlidingWindow window, List<CompiledRule> rules, long now) {
 		// Match mode for 'OR'/'AND'.
-		return safeList(rules).stream().filter(rule -> {
-			// Get latest time window metric values.
-			Double[] vals = extractValidityMetricValueInQueue(metricVals, rule.getQueueTimeWindow(), now);
-			// Do inspection.
-			InspectWrapper wrap = new InspectWrapper(rule.getLogicalOperator(), rule.getRelateOperator(), rule.getAggregator(),
-					rule.getValue(), vals);
-			if (inspector.verify(wrap)) {
-				rule.setCompareValue(wrap.getCompareValue());
-				return true;
+		List<AlarmRule> matchedRules = null;
+		for (CompiledRule rule : rules) {
+			if (rule.evaluate(window, now)) {
+				if (matchedRules == null) {
+					matchedRules = new ArrayList<>(rules.size());
+				}
+				matchedRules.add(rule.getRule());
 			}
-			return false;
-		}).collect(toList());
-	}
-
-	/**
-	 * Metric the validity of extraction from queue.
-	 * 
-	 * @param metricVals
-	 * @param durationMs
-	 * @param now
-	 * @return
-	 */
-	protected Double[] extractValidityMetricValueInQueue(List<MetricValue> metricVals, final long durationMs, long now) {
-		return safeList(metricVals).stream().filter(v -> abs(now - v.getGatherTime()) < durationMs).map(v -> v.getValue())
-				.collect(toList()).toArray(new Double[] {});
+		}
+		return matchedRules != null ? matchedRules : emptyList();
 	}
 
 	// --- Alarm result processed. ---
@@ -290,12 +216,12 @@ public class DefaultIndicatorsValveAlerter extends AbstractIndicatorsValveAlerte
 			note.setMatchedTag(contactWrap.getMatchedTag());
 			note.setMetricName(contactWrap.getAlarmTemplate().getMetric());
 
-			// Save record and record rule
-			AlarmRecord record = configurer.saveAlarmRecord(contactWrap.getAlarmTemplate(),
-					contactWrap.getAggregateWrap().getTimestamp(), contactWrap.getMatchedRules(), toJSONString(note));
-
-			// Send notification
-			notification(new ArrayList<>(contactWrap.getContacts()), record);
+			// Save record and send notification asynchronously(deduplicated).
+			String collectAddr = note.getHost() + ":" + note.getEndpoint();
+			dispatcher.dispatch(new AlarmNotification(
+					AlarmNotification.fingerprint(contactWrap.getTemplateId(), collectAddr, contactWrap.getMatchedRules()),
+					contactWrap.getAlarmTemplate(), contactWrap.getAggregateWrap().getTimestamp(),
+					contactWrap.getMatchedRules(), toJSONString(note), new ArrayList<>(contactWrap.getContacts())));
 		}
 	}
 
@@ -311,124 +237,4 @@ public class DefaultIndicatorsValveAlerter extends AbstractIndicatorsValveAlerte
 		return new ArrayList<>(_contacts);
 	}
 
-	/**
-	 * Check notification frequently limit.
-	 * 
-	 * @param result
-	 * @return
-	 */
-	protected boolean checkNotifyLimit(String key, int numOfFreq) {
-		String s = jedisService.get(key);
-		if (StringUtils.isNotBlank(s) && Integer.valueOf(s) > numOfFreq) {
-			return false;
-		}
-		return true;
-	}
-
-	/**
-	 * Handle rate limit.
-	 * 
-	 * @param key
-	 * @param timeOfFreq
-	 */
-	protected void handleRateLimit(String key, int timeOfFreq) {
-		jedisService.getJedisCluster().incrBy(key, 1);
-		jedisService.getJedisCluster().expire(key, timeOfFreq);
-	}
-
-	/**
-	 * Notification of alarm template to users.
-	 * 
-	 * @param alarmTpl
-	 * @param alarmConfigs
-	 * @param macthedRules
-	 */
-	protected void notification(List<AlarmContact> alarmContacts, AlarmRecord alarmRecord) {
-		log.info("into DefaultIndicatorsValveAlerter.notification prarms::" + "alarmContacts = {} , alarmNote = {} ",
-				alarmContacts, alarmRecord.getAlarmNote());
-
-		// TODO using dynamic notifier call.
-		for (AlarmContact alarmContact : alarmContacts) {
-			// save notification
-			AlarmNotificationContact alarmNotificationContact = new AlarmNotificationContact();
-			alarmNotificationContact.setRecordId(alarmRecord.getId());
-			alarmNotificationContact.setContactId(alarmContact.getId());
-			alarmNotificationContact.setStatus(ALARM_SATUS_SEND);
-			configurer.saveNotificationContact(alarmNotificationContact);
-
-			// email
-			if (alarmContact.getEmailEnable() == 1) {
-				SimpleMailMessage msg = new SimpleMailMessage();
-				msg.setText(alarmRecord.getAlarmNote());
-				msg.setTo(alarmContact.getEmail());
-				notifier.forAdapt(MailMessageNotifier.class).send(new MailMessageWrapper(msg));
-			}
-
-			// phone
-			if (alarmContact.getPhoneEnable() == 1
-					&& checkNotifyLimit(ALARM_LIMIT_PHONE + alarmContact.getId(), alarmContact.getPhoneNumOfFreq())) {
-				SmsMessage smsMessage = new SmsMessage();
-				smsMessage.setContent(alarmRecord.getAlarmNote());
-				List<String> numbers = new ArrayList<>();
-				numbers.add(alarmContact.getPhone());
-				smsMessage.setNumbers(numbers);
-				notifier.forAdapt(AliyunSmsMessageNotifier.class).send(smsMessage);
-				// notifier.simpleNotify(new
-				// AlarmNotifier.SimpleAlarmMessage(alarmRecord.getAlarmNote(),
-				// AlarmType.SMS.getValue(), alarmContact.getPhone()));
-				handleRateLimit(ALARM_LIMIT_PHONE + alarmContact.getPhone(), alarmContact.getPhoneTimeOfFreq());
-			}
-
-			// dingtalk
-			if (alarmContact.getDingtalkEnable() == 1
-					&& checkNotifyLimit(ALARM_LIMIT_DINGTALK + alarmContact.getId(), alarmContact.getDingtalkNumOfFreq())) {
-				DingtalkMessage dingtalkMessage = new DingtalkMessage();
-				// TODO set dingtalkMessage
-				notifier.forAdapt(DingtalkMessageNotifier.class).send(dingtalkMessage);
-				// notifier.simpleNotify(new
-				// AlarmNotifier.SimpleAlarmMessage(alarmRecord.getAlarmNote(),
-				// AlarmType.DINGTALK.getValue(), alarmContact.getDingtalk()));
-				handleRateLimit(ALARM_LIMIT_DINGTALK + alarmContact.getId(), alarmContact.getDingtalkTimeOfFreq());
-			}
-
-			// facebook
-			if (alarmContact.getFacebookEnable() == 1
-					&& checkNotifyLimit(ALARM_LIMIT_FACEBOOK + alarmContact.getId(), alarmContact.getFacebookNumOfFreq())) {
-				FacebookMessage facebookMessage = new FacebookMessage();
-				// TODO set facebookMessage
-				notifier.forAdapt(FacebookMessageNotifier.class).send(facebookMessage);
-				// notifier.simpleNotify(new
-				// AlarmNotifier.SimpleAlarmMessage(alarmRecord.getAlarmNote(),
-				// AlarmType.FACEBOOK.getValue(), alarmContact.getFacebook()));
-				handleRateLimit(ALARM_LIMIT_FACEBOOK + alarmContact.getId(), alarmContact.getFacebookTimeOfFreq());
-			}
-
-			// twitter
-			if (alarmContact.getTwitterEnable() == 1
-					&& checkNotifyLimit(ALARM_LIMIT_TWITTER + alarmContact.getId(), alarmContact.getTwitterNumOfFreq())) {
-				TwitterMessage twitterMessage = new TwitterMessage();
-				// TODO set twitterMessage
-				notifier.forAdapt(TwitterMessageNotifier.class).send(twitterMessage);
-				// notifier.simpleNotify(new
-				// AlarmNotifier.SimpleAlarmMessage(alarmRecord.getAlarmNote(),
-				// AlarmType.TWITTER.getValue(), alarmContact.getTwitter()));
-				handleRateLimit(ALARM_LIMIT_TWITTER + alarmContact.getId(), alarmContact.getTwitterTimeOfFreq());
-			}
-
-			// wechat
-			if (alarmContact.getWechatEnable() == 1
-					&& checkNotifyLimit(ALARM_LIMIT_WECHAT + alarmContact.getId(), alarmContact.getWechatNumOfFreq())) {
-				WechatMessage wechatMessage = new WechatMessage();
-				// TODO set wechatMessage
-				notifier.forAdapt(WechatMessageNotifier.class).send(wechatMessage);
-				// notifier.simpleNotify(new
-				// AlarmNotifier.SimpleAlarmMessage(alarmRecord.getAlarmNote(),
-				// AlarmType.WECHAT.getValue(), alarmContact.getWechat()));
-				handleRateLimit(ALARM_LIMIT_WECHAT + alarmContact.getId(), alarmContact.getWechatTimeOfFreq());
-			}
-
-		}
-
-	}
-
 }
\ No newline at end of file
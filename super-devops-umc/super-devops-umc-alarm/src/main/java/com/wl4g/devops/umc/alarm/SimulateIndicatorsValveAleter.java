@@ -20,8 +20,9 @@ import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALAR
 import org.springframework.util.Assert;
 
 import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
-import com.wl4g.devops.support.notification.CompositeMessageNotifier;
 import com.wl4g.devops.support.redis.JedisService;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotificationDispatcher;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
 import com.wl4g.devops.umc.config.AlarmProperties;
 import com.wl4g.devops.umc.handler.AlarmConfigurer;
 import com.wl4g.devops.umc.rule.RuleConfigManager;
@@ -38,8 +39,8 @@ public class SimulateIndicatorsValveAleter extends DefaultIndicatorsValveAlerter
 
 	public SimulateIndicatorsValveAleter(JedisService jedisService, JedisLockManager lockManager, AlarmProperties config,
 			AlarmConfigurer configurer, RuleConfigManager ruleManager, CompositeRuleInspectorAdapter inspector,
-			CompositeMessageNotifier notifier) {
-		super(jedisService, lockManager, config, configurer, ruleManager, inspector, notifier);
+			AlarmNotificationDispatcher dispatcher, AlarmWindowEngine windowEngine) {
+		super(jedisService, lockManager, config, configurer, ruleManager, inspector, dispatcher, windowEngine);
 	}
 
 	@Override
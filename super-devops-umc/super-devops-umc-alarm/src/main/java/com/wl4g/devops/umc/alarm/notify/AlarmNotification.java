@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import com.wl4g.devops.common.bean.iam.AlarmContact;
+import com.wl4g.devops.common.bean.umc.AlarmRule;
+import com.wl4g.devops.common.bean.umc.AlarmTemplate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+/**
+ * Alarm notification of matched template, which is dispatched
+ * asynchronously(and persisted in local outbox) by
+ * {@link AlarmNotificationDispatcher}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class AlarmNotification implements Serializable {
+	private static final long serialVersionUID = -2270196582063529834L;
+
+	/** Deduplicate fingerprint, see {@link #fingerprint(Integer, String, List)} */
+	private String fingerprint;
+
+	private AlarmTemplate alarmTemplate;
+
+	private Long gatherTime;
+
+	/** Matched rules(snapshot of compare values). */
+	private List<AlarmRule> matchedRules;
+
+	private String alarmNote;
+
+	private List<AlarmContact> contacts;
+
+	/** Sequence of local outbox. */
+	private long sequence;
+
+	/** Saved alarm record ID, null if not saved yet. */
+	private Integer recordId;
+
+	public AlarmNotification() {
+		super();
+	}
+
+	public AlarmNotification(String fingerprint, AlarmTemplate alarmTemplate, Long gatherTime, List<AlarmRule> matchedRules,
+			String alarmNote, List<AlarmContact> contacts) {
+		this.fingerprint = fingerprint;
+		this.alarmTemplate = alarmTemplate;
+		this.gatherTime = gatherTime;
+		this.matchedRules = snapshotRules(matchedRules);
+		this.alarmNote = alarmNote;
+		this.contacts = contacts;
+	}
+
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	public void setFingerprint(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	public AlarmTemplate getAlarmTemplate() {
+		return alarmTemplate;
+	}
+
+	public void setAlarmTemplate(AlarmTemplate alarmTemplate) {
+		this.alarmTemplate = alarmTemplate;
+	}
+
+	public Long getGatherTime() {
+		return gatherTime;
+	}
+
+	public void setGatherTime(Long gatherTime) {
+		this.gatherTime = gatherTime;
+	}
+
+	public List<AlarmRule> getMatchedRules() {
+		return matchedRules;
+	}
+
+	public void setMatchedRules(List<AlarmRule> matchedRules) {
+		this.matchedRules = matchedRules;
+	}
+
+	public String getAlarmNote() {
+		return alarmNote;
+	}
+
+	public void setAlarmNote(String alarmNote) {
+		this.alarmNote = alarmNote;
+	}
+
+	public List<AlarmContact> getContacts() {
+		return contacts;
+	}
+
+	public void setContacts(List<AlarmContact> contacts) {
+		this.contacts = contacts;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	public Integer getRecordId() {
+		return recordId;
+	}
+
+	public void setRecordId(Integer recordId) {
+		this.recordId = recordId;
+	}
+
+	/**
+	 * Deduplicate fingerprint of notification, that is, the same template,
+	 * endpoint and matched rules.
+	 *
+	 * @param templateId
+	 * @param collectAddr
+	 * @param matchedRules
+	 * @return
+	 */
+	public static String fingerprint(Integer templateId, String collectAddr, List<AlarmRule> matchedRules) {
+		List<Integer> ruleIds = new ArrayList<>(matchedRules.size());
+		for (AlarmRule rule : matchedRules) {
+			ruleIds.add(rule.getId());
+		}
+		ruleIds.sort(nullsFirst(naturalOrder()));
+		StringBuilder fingerprint = new StringBuilder(64).append(templateId).append("@").append(collectAddr).append("#");
+		for (Integer ruleId : ruleIds) {
+			fingerprint.append(ruleId).append(",");
+		}
+		return fingerprint.toString();
+	}
+
+	/**
+	 * The compare values of the compiled(shared) rules are overwritten by the
+	 * subsequent evaluations, so copy them before dispatching.
+	 *
+	 * @param rules
+	 * @return
+	 */
+	private static List<AlarmRule> snapshotRules(List<AlarmRule> rules) {
+		List<AlarmRule> snapshot = new ArrayList<>(rules.size());
+		for (AlarmRule rule : rules) {
+			AlarmRule copy = new AlarmRule();
+			copy.setId(rule.getId());
+			copy.setTemplateId(rule.getTemplateId());
+			copy.setAggregator(rule.getAggregator());
+			copy.setRelateOperator(rule.getRelateOperator());
+			copy.setLogicalOperator(rule.getLogicalOperator());
+			copy.setQueueTimeWindow(rule.getQueueTimeWindow());
+			copy.setValue(rule.getValue());
+			copy.setAlarmLevel(rule.getAlarmLevel());
+			copy.setCompareValue(rule.getCompareValue());
+			snapshot.add(copy);
+		}
+		return snapshot;
+	}
+
+}
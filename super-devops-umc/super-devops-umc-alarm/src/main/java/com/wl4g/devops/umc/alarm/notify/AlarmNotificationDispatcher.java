@@ -0,0 +1,444 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import com.wl4g.devops.common.bean.iam.AlarmContact;
+import com.wl4g.devops.common.bean.iam.AlarmNotificationContact;
+import com.wl4g.devops.common.bean.umc.AlarmRecord;
+import com.wl4g.devops.support.notification.CompositeMessageNotifier;
+import com.wl4g.devops.support.notification.dingtalk.DingtalkMessage;
+import com.wl4g.devops.support.notification.dingtalk.DingtalkMessageNotifier;
+import com.wl4g.devops.support.notification.facebook.FacebookMessage;
+import com.wl4g.devops.support.notification.facebook.FacebookMessageNotifier;
+import com.wl4g.devops.support.notification.mail.MailMessageNotifier;
+import com.wl4g.devops.support.notification.mail.MailMessageWrapper;
+import com.wl4g.devops.support.notification.sms.AliyunSmsMessageNotifier;
+import com.wl4g.devops.support.notification.sms.SmsMessage;
+import com.wl4g.devops.support.notification.twitter.TwitterMessage;
+import com.wl4g.devops.support.notification.twitter.TwitterMessageNotifier;
+import com.wl4g.devops.support.notification.wechat.WechatMessage;
+import com.wl4g.devops.support.notification.wechat.WechatMessageNotifier;
+import com.wl4g.devops.support.redis.JedisService;
+import com.wl4g.devops.support.task.GenericTaskRunner;
+import com.wl4g.devops.support.task.RunnerProperties;
+import com.wl4g.devops.umc.config.AlarmProperties.DispatchProperties;
+import com.wl4g.devops.umc.handler.AlarmConfigurer;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_SATUS_SEND;
+import static com.wl4g.devops.tool.common.collection.Collections2.safeList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Asynchronous alarm notification dispatcher, so that the alerting(ingest)
+ * threads never block on the mail/SMS gateways.
+ * <ul>
+ * <li>The notifications of the same fingerprint within the dedup window are
+ * grouped into the first one, the subsequent ones are only counted.</li>
+ * <li>The accepted notifications are persisted in the local outbox first, and
+ * replayed after restart until delivered.</li>
+ * <li>The alarm records are saved in batches by the flusher, and the contact
+ * messages are sent by the bounded worker pools of each channel.</li>
+ * <li>The contacts are rate limited by a single REDIS script per message.</li>
+ * </ul>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class AlarmNotificationDispatcher extends GenericTaskRunner<RunnerProperties> {
+
+	/** Alarm configuration */
+	final protected AlarmConfigurer configurer;
+
+	/** Alarm notifier */
+	final protected CompositeMessageNotifier notifier;
+
+	/** Dispatch properties. */
+	final protected DispatchProperties config;
+
+	/** Contact rate limiter. */
+	final private NotifyRateLimiter rateLimiter;
+
+	/** Undelivered notifications outbox. */
+	final private AlarmOutbox outbox;
+
+	/** Bounded worker pools by channel. */
+	final private Map<NotifyChannel, ThreadPoolExecutor> channelWorkers = new EnumMap<>(NotifyChannel.class);
+
+	/** Active dedup groups by fingerprint. */
+	final private Map<String, DedupGroup> groups = new ConcurrentHashMap<>();
+
+	/** Notifications waiting for saving records. */
+	final private Queue<AlarmNotification> pending = new ConcurrentLinkedQueue<>();
+
+	final private LongAdder dispatched = new LongAdder();
+	final private LongAdder deduplicated = new LongAdder();
+	final private LongAdder recorded = new LongAdder();
+	final private LongAdder sent = new LongAdder();
+	final private LongAdder rateLimited = new LongAdder();
+	final private LongAdder rejected = new LongAdder();
+	final private LongAdder failed = new LongAdder();
+
+	public AlarmNotificationDispatcher(JedisService jedisService, AlarmConfigurer configurer,
+			CompositeMessageNotifier notifier, DispatchProperties config) {
+		super(new RunnerProperties(false, 1));
+		Assert.notNull(configurer, "AlarmConfigurer is null, please check config.");
+		Assert.notNull(notifier, "AlarmNotifier is null, please check config.");
+		Assert.notNull(config, "DispatchProperties is null, please check config.");
+		Assert.isTrue(config.getChannelThreads() > 0, "Dispatch channelThreads must be greater than 0.");
+		Assert.isTrue(config.getFlushBatch() > 0, "Dispatch flushBatch must be greater than 0.");
+		this.configurer = configurer;
+		this.notifier = notifier;
+		this.config = config;
+		this.rateLimiter = new NotifyRateLimiter(jedisService);
+		try {
+			this.outbox = new AlarmOutbox(new File(config.getOutboxDir()), config.getOutboxMaxEntries());
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		for (NotifyChannel channel : NotifyChannel.values()) {
+			final String name = "alarm-notify-" + channel.name().toLowerCase() + "-";
+			final AtomicInteger counter = new AtomicInteger(0);
+			channelWorkers.put(channel,
+					new ThreadPoolExecutor(config.getChannelThreads(), config.getChannelThreads(), 0L, MILLISECONDS,
+							new LinkedBlockingQueue<>(config.getChannelQueueCapacity()), r -> {
+								Thread t = new Thread(r, name + counter.incrementAndGet());
+								t.setDaemon(true);
+								return t;
+							}));
+		}
+	}
+
+	@Override
+	public void run() {
+		// Replay undelivered notifications.
+		for (AlarmNotification notification : outbox.load()) {
+			if (notification.getRecordId() == null) {
+				pending.offer(notification);
+			} else {
+				deliver(notification);
+			}
+		}
+		getWorker().scheduleWithFixedDelay(() -> {
+			try {
+				flush();
+				evictGroups(System.currentTimeMillis());
+			} catch (Throwable ex) {
+				log.error("Failed to flush alarm notifications", ex);
+			}
+		}, config.getFlushIntervalMs(), config.getFlushIntervalMs(), MILLISECONDS);
+	}
+
+	@Override
+	protected void preCloseProperties() throws IOException {
+		try {
+			flush();
+		} catch (Exception e) {
+			log.error("Failed to flush alarm notifications on close", e);
+		}
+		for (ThreadPoolExecutor worker : channelWorkers.values()) {
+			worker.shutdown();
+		}
+		for (ThreadPoolExecutor worker : channelWorkers.values()) {
+			try {
+				worker.awaitTermination(5, SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// The undelivered ones are still in outbox, replay on next startup.
+		log.info("Closed alarm notification dispatcher, undelivered: {}", outbox.size());
+	}
+
+	/**
+	 * Dispatch alarm notification, it's returned immediately.
+	 *
+	 * @param notification
+	 * @return false if it's grouped into an earlier notification of the same
+	 *         fingerprint.
+	 */
+	public boolean dispatch(AlarmNotification notification) {
+		Assert.notNull(notification, "Alarm notification must not be null.");
+		dispatched.increment();
+
+		final long now = System.currentTimeMillis();
+		final DedupGroup created = new DedupGroup(now);
+		DedupGroup group = groups.compute(notification.getFingerprint(), (fingerprint, old) -> {
+			if (old != null && (now - old.getFirstTime()) < config.getDedupWindowMs()) {
+				old.repeat();
+				return old;
+			}
+			return created;
+		});
+		if (group != created) {
+			deduplicated.increment();
+			log.debug("Deduplicated alarm notification: {}", notification.getFingerprint());
+			return false;
+		}
+
+		outbox.append(notification);
+		pending.offer(notification);
+		return true;
+	}
+
+	/**
+	 * Statistics of dispatcher.
+	 *
+	 * @return
+	 */
+	public DispatchStats getStats() {
+		Map<NotifyChannel, Integer> channelQueued = new EnumMap<>(NotifyChannel.class);
+		for (Entry<NotifyChannel, ThreadPoolExecutor> ent : channelWorkers.entrySet()) {
+			channelQueued.put(ent.getKey(), ent.getValue().getQueue().size());
+		}
+		return new DispatchStats(dispatched.sum(), deduplicated.sum(), pending.size(), outbox.size(), recorded.sum(),
+				sent.sum(), rateLimited.sum(), rejected.sum(), failed.sum(), channelQueued);
+	}
+
+	/**
+	 * Save the alarm records of pending notifications in batches, and then
+	 * deliver them.
+	 */
+	protected void flush() {
+		List<AlarmNotification> batch = new ArrayList<>(Math.min(pending.size(), config.getFlushBatch()));
+		AlarmNotification notification;
+		while (batch.size() < config.getFlushBatch() && (notification = pending.poll()) != null) {
+			batch.add(notification);
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		// Save records.
+		List<AlarmRecord> records = new ArrayList<>(batch.size());
+		for (AlarmNotification n : batch) {
+			AlarmRecord record = new AlarmRecord();
+			record.setAlarmTemplate(n.getAlarmTemplate());
+			record.setGatherTime(new Date(n.getGatherTime()));
+			record.setAlarmRules(n.getMatchedRules());
+			record.setAlarmNote(n.getAlarmNote());
+			records.add(record);
+		}
+		try {
+			records = configurer.saveAlarmRecords(records);
+		} catch (Exception e) {
+			// Retry the batch on next flush.
+			log.error("Failed to save alarm records, retry later. pending: " + batch.size(), e);
+			for (AlarmNotification n : batch) {
+				pending.offer(n);
+			}
+			return;
+		}
+		recorded.add(batch.size());
+
+		List<AlarmNotificationContact> notificationContacts = new ArrayList<>(batch.size() * 2);
+		for (int i = 0; records != null && i < batch.size(); i++) {
+			notification = batch.get(i);
+			AlarmRecord record = records.get(i);
+			notification.setRecordId(record.getId());
+			for (AlarmContact contact : notification.getContacts()) {
+				AlarmNotificationContact notificationContact = new AlarmNotificationContact();
+				notificationContact.setRecordId(record.getId());
+				notificationContact.setContactId(contact.getId());
+				notificationContact.setStatus(ALARM_SATUS_SEND);
+				notificationContacts.add(notificationContact);
+			}
+		}
+		if (!notificationContacts.isEmpty()) {
+			try {
+				configurer.saveNotificationContacts(notificationContacts);
+			} catch (Exception e) {
+				log.error("Failed to save alarm notification contacts", e);
+			}
+		}
+
+		// Delivery
+		for (AlarmNotification n : batch) {
+			outbox.update(n);
+			deliver(n);
+		}
+	}
+
+	/**
+	 * Deliver notification to all enabled channels of contacts, and remove it
+	 * from outbox after all messages are done.
+	 *
+	 * @param notification
+	 */
+	protected void deliver(AlarmNotification notification) {
+		List<AlarmContact> contacts = safeList(notification.getContacts());
+		int messages = 0;
+		for (AlarmContact contact : contacts) {
+			for (NotifyChannel channel : NotifyChannel.values()) {
+				if (channel.isEnabled(contact)) {
+					++messages;
+				}
+			}
+		}
+		if (messages == 0) {
+			outbox.remove(notification);
+			return;
+		}
+
+		final AtomicInteger remaining = new AtomicInteger(messages);
+		for (AlarmContact contact : contacts) {
+			for (NotifyChannel channel : NotifyChannel.values()) {
+				if (!channel.isEnabled(contact)) {
+					continue;
+				}
+				try {
+					channelWorkers.get(channel).execute(() -> {
+						try {
+							send(channel, contact, notification);
+						} finally {
+							if (remaining.decrementAndGet() == 0) {
+								outbox.remove(notification);
+							}
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					rejected.increment();
+					log.warn("Rejected alarm notification of channel: {}, contact: {}", channel, contact.getId());
+					if (remaining.decrementAndGet() == 0) {
+						outbox.remove(notification);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Send message of channel to contact.
+	 *
+	 * @param channel
+	 * @param contact
+	 * @param notification
+	 */
+	protected void send(NotifyChannel channel, AlarmContact contact, AlarmNotification notification) {
+		if (!rateLimiter.tryAcquire(channel.getLimitKey(contact), channel.getNumOfFreq(contact),
+				channel.getTimeOfFreq(contact))) {
+			rateLimited.increment();
+			log.debug("Rate limited alarm notification of channel: {}, contact: {}", channel, contact.getId());
+			return;
+		}
+
+		// TODO using dynamic notifier call.
+		try {
+			switch (channel) {
+			case EMAIL:
+				SimpleMailMessage msg = new SimpleMailMessage();
+				msg.setText(notification.getAlarmNote());
+				msg.setTo(contact.getEmail());
+				notifier.forAdapt(MailMessageNotifier.class).send(new MailMessageWrapper(msg));
+				break;
+			case SMS:
+				SmsMessage smsMessage = new SmsMessage();
+				smsMessage.setContent(notification.getAlarmNote());
+				List<String> numbers = new ArrayList<>(1);
+				numbers.add(contact.getPhone());
+				smsMessage.setNumbers(numbers);
+				notifier.forAdapt(AliyunSmsMessageNotifier.class).send(smsMessage);
+				break;
+			case DINGTALK:
+				// TODO set dingtalkMessage
+				notifier.forAdapt(DingtalkMessageNotifier.class).send(new DingtalkMessage());
+				break;
+			case FACEBOOK:
+				// TODO set facebookMessage
+				notifier.forAdapt(FacebookMessageNotifier.class).send(new FacebookMessage());
+				break;
+			case TWITTER:
+				// TODO set twitterMessage
+				notifier.forAdapt(TwitterMessageNotifier.class).send(new TwitterMessage());
+				break;
+			case WECHAT:
+				// TODO set wechatMessage
+				notifier.forAdapt(WechatMessageNotifier.class).send(new WechatMessage());
+				break;
+			}
+			sent.increment();
+		} catch (Exception e) {
+			failed.increment();
+			log.error("Failed to send alarm notification of channel: " + channel + ", contact: " + contact.getId(), e);
+		}
+	}
+
+	/**
+	 * Evict expired dedup groups.
+	 *
+	 * @param now
+	 */
+	private void evictGroups(long now) {
+		for (Entry<String, DedupGroup> ent : groups.entrySet()) {
+			DedupGroup group = ent.getValue();
+			if ((now - group.getFirstTime()) >= config.getDedupWindowMs() && groups.remove(ent.getKey(), group)) {
+				if (group.getRepeats() > 0) {
+					log.info("Grouped {} duplicate alarm notifications of: {}", group.getRepeats(), ent.getKey());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dedup group of the same fingerprint notifications.
+	 */
+	private static class DedupGroup {
+
+		/** First notification time. */
+		final private long firstTime;
+
+		/** Grouped duplicate notifications. */
+		private volatile int repeats;
+
+		private DedupGroup(long firstTime) {
+			this.firstTime = firstTime;
+		}
+
+		private long getFirstTime() {
+			return firstTime;
+		}
+
+		private int getRepeats() {
+			return repeats;
+		}
+
+		private void repeat() {
+			++repeats;
+		}
+
+	}
+
+}
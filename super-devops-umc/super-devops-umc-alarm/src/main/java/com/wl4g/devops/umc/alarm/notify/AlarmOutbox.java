@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import static com.wl4g.devops.tool.common.serialize.JacksonUtils.parseJSON;
+import static com.wl4g.devops.tool.common.serialize.JacksonUtils.toJSONString;
+
+/**
+ * Bounded local outbox of the undelivered alarm notifications, one file per
+ * notification, so that the notifications are replayed after restart. The
+ * eldest notifications are evicted when it's full.
+ *
+ * <pre>
+ * File name: {sequence}.outbox
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class AlarmOutbox {
+
+	final public static String SUFFIX = ".outbox";
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	/** Outbox directory. */
+	final private File dir;
+
+	/** Max notifications. */
+	final private int maxEntries;
+
+	/** Notification files by sequence. */
+	final private TreeMap<Long, File> entries = new TreeMap<>();
+
+	/** Next sequence. */
+	private long sequence;
+
+	/** Sequences below are recovered from the existing files. */
+	final private long recoveredSequence;
+
+	/** Evicted notifications count. */
+	private long evicted;
+
+	public AlarmOutbox(File dir, int maxEntries) throws IOException {
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Failed to create outbox directory: " + dir);
+		}
+		this.dir = dir;
+		this.maxEntries = maxEntries;
+		recover();
+		this.recoveredSequence = sequence;
+	}
+
+	/**
+	 * Append notification(assigned sequence), the eldest notifications are
+	 * evicted if necessary.
+	 *
+	 * @param notification
+	 * @return false if failed to write.
+	 */
+	public synchronized boolean append(AlarmNotification notification) {
+		while (entries.size() >= maxEntries && !entries.isEmpty()) {
+			File eldest = entries.pollFirstEntry().getValue();
+			eldest.delete();
+			++evicted;
+			log.warn("Evicted alarm notification outbox: {}", eldest.getName());
+		}
+		notification.setSequence(sequence++);
+		File file = new File(dir, notification.getSequence() + SUFFIX);
+		if (write(file, notification)) {
+			entries.put(notification.getSequence(), file);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Update notification(e.g. the alarm record saved), ignored if it has been
+	 * evicted or removed.
+	 *
+	 * @param notification
+	 */
+	public synchronized void update(AlarmNotification notification) {
+		File file = entries.get(notification.getSequence());
+		if (file != null) {
+			write(file, notification);
+		}
+	}
+
+	/**
+	 * Remove notification(e.g. delivered).
+	 *
+	 * @param notification
+	 */
+	public synchronized void remove(AlarmNotification notification) {
+		File file = entries.remove(notification.getSequence());
+		if (file != null && !file.delete()) {
+			log.warn("Failed to delete alarm notification outbox: {}", file);
+		}
+	}
+
+	/**
+	 * Load the undelivered notifications recovered at construction(ordered by
+	 * sequence), usually at startup, the notifications appended since then
+	 * are not included.
+	 *
+	 * @return
+	 */
+	public synchronized List<AlarmNotification> load() {
+		List<AlarmNotification> notifications = new ArrayList<>();
+		Iterator<Entry<Long, File>> it = entries.headMap(recoveredSequence).entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<Long, File> ent = it.next();
+			try {
+				AlarmNotification notification = parseJSON(
+						new String(Files.readAllBytes(ent.getValue().toPath()), StandardCharsets.UTF_8),
+						AlarmNotification.class);
+				notification.setSequence(ent.getKey());
+				notifications.add(notification);
+			} catch (Exception e) {
+				log.warn("Skip illegal alarm notification outbox: {}", ent.getValue());
+				it.remove();
+			}
+		}
+		if (!notifications.isEmpty()) {
+			log.info("Loaded undelivered alarm notifications: {}", notifications.size());
+		}
+		return notifications;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long evicted() {
+		return evicted;
+	}
+
+	/**
+	 * Recover the notification files and the next sequence from the outbox
+	 * directory, so that the appended notifications never overwrite the
+	 * undelivered ones.
+	 */
+	private void recover() {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(SUFFIX + ".tmp")) {
+				file.delete();
+				continue;
+			}
+			if (!name.endsWith(SUFFIX)) {
+				continue;
+			}
+			try {
+				long seq = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+				entries.put(seq, file);
+				sequence = Math.max(sequence, seq + 1);
+			} catch (NumberFormatException e) {
+				log.warn("Skip illegal alarm notification outbox: {}", file);
+			}
+		}
+	}
+
+	private boolean write(File file, AlarmNotification notification) {
+		File tmpFile = new File(dir, file.getName() + ".tmp");
+		try {
+			Files.write(tmpFile.toPath(), toJSONString(notification).getBytes(StandardCharsets.UTF_8));
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		} catch (IOException e) {
+			log.error("Failed to write alarm notification outbox: " + file, e);
+			tmpFile.delete();
+			return false;
+		}
+	}
+
+}
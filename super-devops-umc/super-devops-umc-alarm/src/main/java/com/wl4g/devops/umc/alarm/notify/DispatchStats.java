@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import java.util.Map;
+
+/**
+ * Snapshot of {@link AlarmNotificationDispatcher} statistics.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class DispatchStats {
+
+	final private long dispatched;
+	final private long deduplicated;
+	final private int pending;
+	final private int outbox;
+	final private long recorded;
+	final private long sent;
+	final private long rateLimited;
+	final private long rejected;
+	final private long failed;
+	final private Map<NotifyChannel, Integer> channelQueued;
+
+	public DispatchStats(long dispatched, long deduplicated, int pending, int outbox, long recorded, long sent,
+			long rateLimited, long rejected, long failed, Map<NotifyChannel, Integer> channelQueued) {
+		this.dispatched = dispatched;
+		this.deduplicated = deduplicated;
+		this.pending = pending;
+		this.outbox = outbox;
+		this.recorded = recorded;
+		this.sent = sent;
+		this.rateLimited = rateLimited;
+		this.rejected = rejected;
+		this.failed = failed;
+		this.channelQueued = channelQueued;
+	}
+
+	public long getDispatched() {
+		return dispatched;
+	}
+
+	/** Notifications grouped into the first one of the same fingerprint. */
+	public long getDeduplicated() {
+		return deduplicated;
+	}
+
+	/** Notifications waiting for saving records. */
+	public int getPending() {
+		return pending;
+	}
+
+	/** Undelivered notifications of local outbox. */
+	public int getOutbox() {
+		return outbox;
+	}
+
+	public long getRecorded() {
+		return recorded;
+	}
+
+	public long getSent() {
+		return sent;
+	}
+
+	public long getRateLimited() {
+		return rateLimited;
+	}
+
+	/** Messages rejected by the full channel queues. */
+	public long getRejected() {
+		return rejected;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public Map<NotifyChannel, Integer> getChannelQueued() {
+		return channelQueued;
+	}
+
+	@Override
+	public String toString() {
+		return "DispatchStats [dispatched=" + dispatched + ", deduplicated=" + deduplicated + ", pending=" + pending
+				+ ", outbox=" + outbox + ", recorded=" + recorded + ", sent=" + sent + ", rateLimited=" + rateLimited
+				+ ", rejected=" + rejected + ", failed=" + failed + ", channelQueued=" + channelQueued + "]";
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import com.wl4g.devops.common.bean.iam.AlarmContact;
+
+import java.util.function.Function;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_LIMIT_DINGTALK;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_LIMIT_FACEBOOK;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_LIMIT_PHONE;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_LIMIT_TWITTER;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.ALARM_LIMIT_WECHAT;
+
+/**
+ * Alarm notification channels of contact.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public enum NotifyChannel {
+
+	EMAIL(null, AlarmContact::getEmailEnable, c -> null, c -> null),
+
+	SMS(ALARM_LIMIT_PHONE, AlarmContact::getPhoneEnable, AlarmContact::getPhoneNumOfFreq, AlarmContact::getPhoneTimeOfFreq),
+
+	DINGTALK(ALARM_LIMIT_DINGTALK, AlarmContact::getDingtalkEnable, AlarmContact::getDingtalkNumOfFreq,
+			AlarmContact::getDingtalkTimeOfFreq),
+
+	FACEBOOK(ALARM_LIMIT_FACEBOOK, AlarmContact::getFacebookEnable, AlarmContact::getFacebookNumOfFreq,
+			AlarmContact::getFacebookTimeOfFreq),
+
+	TWITTER(ALARM_LIMIT_TWITTER, AlarmContact::getTwitterEnable, AlarmContact::getTwitterNumOfFreq,
+			AlarmContact::getTwitterTimeOfFreq),
+
+	WECHAT(ALARM_LIMIT_WECHAT, AlarmContact::getWechatEnable, AlarmContact::getWechatNumOfFreq,
+			AlarmContact::getWechatTimeOfFreq);
+
+	/** Rate limit key prefix, null if unlimited. */
+	final private String limitKeyPrefix;
+
+	final private Function<AlarmContact, Integer> enable;
+
+	final private Function<AlarmContact, Integer> numOfFreq;
+
+	final private Function<AlarmContact, Integer> timeOfFreq;
+
+	private NotifyChannel(String limitKeyPrefix, Function<AlarmContact, Integer> enable,
+			Function<AlarmContact, Integer> numOfFreq, Function<AlarmContact, Integer> timeOfFreq) {
+		this.limitKeyPrefix = limitKeyPrefix;
+		this.enable = enable;
+		this.numOfFreq = numOfFreq;
+		this.timeOfFreq = timeOfFreq;
+	}
+
+	public boolean isEnabled(AlarmContact contact) {
+		Integer enabled = enable.apply(contact);
+		return enabled != null && enabled == 1;
+	}
+
+	/**
+	 * Rate limit key of contact.
+	 *
+	 * @param contact
+	 * @return null if unlimited.
+	 */
+	public String getLimitKey(AlarmContact contact) {
+		return limitKeyPrefix != null ? limitKeyPrefix + contact.getId() : null;
+	}
+
+	public Integer getNumOfFreq(AlarmContact contact) {
+		return numOfFreq.apply(contact);
+	}
+
+	public Integer getTimeOfFreq(AlarmContact contact) {
+		return timeOfFreq.apply(contact);
+	}
+
+}
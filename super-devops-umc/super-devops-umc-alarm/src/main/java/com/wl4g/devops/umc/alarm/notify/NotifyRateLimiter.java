@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import com.wl4g.devops.support.redis.JedisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Fixed window notification rate limiter of contacts, counted by a single
+ * REDIS script(one round trip per acquiring).
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class NotifyRateLimiter {
+
+	/** Increase the counter, and start the window(expiration) if it's new. */
+	final private static String ACQUIRE_LUA = "local c = redis.call('incr', KEYS[1]) "
+			+ "if c == 1 then redis.call('expire', KEYS[1], ARGV[1]) end return c";
+
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	final protected JedisService jedisService;
+
+	public NotifyRateLimiter(JedisService jedisService) {
+		Assert.notNull(jedisService, "JedisService is null, please check config.");
+		this.jedisService = jedisService;
+	}
+
+	/**
+	 * Try acquire a notification permit, it's always permitted when no limit is
+	 * configured, or the REDIS is unavailable(fail open).
+	 *
+	 * @param key
+	 * @param numOfFreq
+	 *            Max notifications within window.
+	 * @param timeOfFreq
+	 *            Window(sec).
+	 * @return
+	 */
+	public boolean tryAcquire(String key, Integer numOfFreq, Integer timeOfFreq) {
+		if (numOfFreq == null || timeOfFreq == null || timeOfFreq <= 0) {
+			return true;
+		}
+		try {
+			Object count = jedisService.getJedisCluster().eval(ACQUIRE_LUA, singletonList(key),
+					singletonList(String.valueOf(timeOfFreq)));
+			return !(count instanceof Long) || (Long) count <= Math.max(1, numOfFreq);
+		} catch (Exception e) {
+			log.warn("Failed to acquire notification rate limit of '{}'. {}", key, e.getMessage());
+			return true;
+		}
+	}
+
+}
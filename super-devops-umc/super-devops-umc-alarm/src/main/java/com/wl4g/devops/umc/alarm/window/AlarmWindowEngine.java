@@ -0,0 +1,394 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import com.wl4g.devops.support.redis.JedisService;
+import com.wl4g.devops.support.task.GenericTaskRunner;
+import com.wl4g.devops.support.task.RunnerProperties;
+import com.wl4g.devops.umc.alarm.MetricAggregateWrapper;
+import com.wl4g.devops.umc.config.AlarmProperties.WindowProperties;
+import org.springframework.util.Assert;
+import redis.clients.jedis.JedisCluster;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_WINDOW_INBOX;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_WINDOW_NODES;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_WINDOW_SNAPSHOT;
+import static com.wl4g.devops.tool.common.serialize.JacksonUtils.parseJSON;
+import static com.wl4g.devops.tool.common.serialize.JacksonUtils.toJSONString;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Sharded in-memory alarm time window engine.
+ * <ul>
+ * <li>Receiver nodes heartbeat to REDIS membership, the metric aggregates are
+ * consistent hashed (by host:endpoint) to the owner nodes, aggregates received
+ * by the other nodes are forwarded to the owner inbox.</li>
+ * <li>The owner keeps the time windows in primitive ring buffers of lock
+ * striped shards, so no distributed lock and REDIS round trip is needed on the
+ * hot path.</li>
+ * <li>The dirty windows are periodically snapshot to REDIS. After the hash
+ * ring changed, only the windows moved to the other nodes are snapshot and
+ * evicted, then restored from snapshots by the new owners, so at most the
+ * points of one snapshot interval may be lost on rebalancing.</li>
+ * </ul>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ */
+public class AlarmWindowEngine extends GenericTaskRunner<RunnerProperties> {
+
+	/** REDIS service */
+	final protected JedisService jedisService;
+
+	/** Time window properties. */
+	final protected WindowProperties config;
+
+	/** Time window shards. */
+	final private Shard[] shards;
+
+	/** Inbox handlers by channel. */
+	final private Map<String, Consumer<MetricAggregateWrapper>> handlers = new ConcurrentHashMap<>();
+
+	final private LongAdder forwarded = new LongAdder();
+	final private LongAdder received = new LongAdder();
+	final private LongAdder restored = new LongAdder();
+	final private LongAdder snapshots = new LongAdder();
+
+	/** Current hash ring of alive nodes. */
+	private volatile ConsistentHashRing ring;
+
+	public AlarmWindowEngine(JedisService jedisService, WindowProperties config) {
+		super(new RunnerProperties(false, 2));
+		Assert.notNull(jedisService, "JedisService is null, please check config.");
+		Assert.notNull(config, "WindowProperties is null, please check config.");
+		Assert.hasText(config.getNodeId(), "Window nodeId must not be empty.");
+		Assert.isTrue(config.getShards() > 0, "Window shards must be greater than 0.");
+		this.jedisService = jedisService;
+		this.config = config;
+		this.shards = new Shard[config.getShards()];
+		for (int i = 0; i < shards.length; i++) {
+			shards[i] = new Shard();
+		}
+		// Before the first heartbeat, all windows are owned locally.
+		this.ring = new ConsistentHashRing(Collections.singleton(config.getNodeId()), config.getVirtualNodes());
+	}
+
+	@Override
+	public void run() {
+		if (!isEnabled()) {
+			log.info("Alarm in-memory time window disabled, using REDIS time window queue.");
+			return;
+		}
+		heartbeat();
+		getWorker().scheduleWithFixedDelay(() -> {
+			try {
+				heartbeat();
+			} catch (Throwable ex) {
+				log.error("Failed to heartbeat alarm window node", ex);
+			}
+		}, config.getHeartbeatIntervalMs(), config.getHeartbeatIntervalMs(), MILLISECONDS);
+		getWorker().scheduleWithFixedDelay(() -> {
+			try {
+				snapshot(false);
+			} catch (Throwable ex) {
+				log.error("Failed to snapshot alarm windows", ex);
+			}
+		}, config.getSnapshotIntervalMs(), config.getSnapshotIntervalMs(), MILLISECONDS);
+		getWorker().scheduleWithFixedDelay(() -> {
+			try {
+				pollInbox();
+			} catch (Throwable ex) {
+				log.error("Failed to poll alarm window inbox", ex);
+			}
+		}, config.getInboxPollIntervalMs(), config.getInboxPollIntervalMs(), MILLISECONDS);
+	}
+
+	@Override
+	protected void preCloseProperties() throws IOException {
+		if (isEnabled()) {
+			try {
+				snapshot(false);
+				jedisService.getJedisCluster().hdel(KEY_CACHE_ALARM_WINDOW_NODES, config.getNodeId());
+			} catch (Exception e) {
+				log.warn("Failed to snapshot alarm windows on close", e);
+			}
+		}
+	}
+
+	public boolean isEnabled() {
+		return config.isEnabled();
+	}
+
+	/**
+	 * Register inbox handler of the forwarded metric aggregates.
+	 *
+	 * @param channel
+	 * @param handler
+	 */
+	public void register(String channel, Consumer<MetricAggregateWrapper> handler) {
+		Assert.hasText(channel, "Channel must not be empty.");
+		Assert.notNull(handler, "Handler must not be null.");
+		handlers.put(channel, handler);
+	}
+
+	/**
+	 * Forward metric aggregate to the owner node inbox, if the owner is not
+	 * current node.
+	 *
+	 * @param channel
+	 * @param routeKey
+	 * @param wrap
+	 * @return Returns false if should be handled by current node.
+	 */
+	public boolean forwardIfRemote(String channel, String routeKey, MetricAggregateWrapper wrap) {
+		String owner = ring.owner(routeKey);
+		if (owner == null || owner.equals(config.getNodeId())) {
+			return false;
+		}
+		try {
+			jedisService.getJedisCluster().rpush(getInboxKey(channel, owner), toJSONString(new ForwardedAggregate(wrap)));
+			forwarded.increment();
+			return true;
+		} catch (Exception e) {
+			log.warn("Failed to forward metric aggregate to: {}, fallback handling locally. - {}", owner, e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Offer metric value into in-memory time window, and evaluate the window
+	 * under the shard lock.
+	 *
+	 * @param routeKey
+	 *            Hash ring route key of window, see
+	 *            {@link #forwardIfRemote(String, String, MetricAggregateWrapper)}
+	 * @param windowKey
+	 * @param value
+	 * @param gatherTime
+	 * @param now
+	 * @param ttl
+	 * @param evaluator
+	 *            Window evaluator(e.g. alarm rules matcher), must not hold
+	 *            the window reference.
+	 * @return Evaluated result.
+	 */
+	public <T> T offer(String routeKey, String windowKey, double value, long gatherTime, long now, long ttl,
+			Function<? super MetricWindow, T> evaluator) {
+		Shard shard = shards[(windowKey.hashCode() & 0x7fffffff) % shards.length];
+		synchronized (shard) {
+			MetricWindow window = shard.windows.get(windowKey);
+			if (window != null) {
+				window.offer(gatherTime, value, now, ttl);
+				return evaluator.apply(window);
+			}
+		}
+
+		// Cold miss, restore from snapshot outside the shard lock.
+		MetricWindow restoredWindow = restore(windowKey);
+		synchronized (shard) {
+			MetricWindow window = shard.windows.get(windowKey);
+			if (window == null) {
+				window = restoredWindow != null ? restoredWindow : new MetricWindow(config.getMaxWindowPoints());
+				window.setRouteKey(routeKey);
+				shard.windows.put(windowKey, window);
+			}
+			window.offer(gatherTime, value, now, ttl);
+			return evaluator.apply(window);
+		}
+	}
+
+	/**
+	 * Gets statistics of the engine.
+	 *
+	 * @return
+	 */
+	public AlarmWindowStats getStats() {
+		int windows = 0;
+		long points = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				windows += shard.windows.size();
+				for (MetricWindow window : shard.windows.values()) {
+					points += window.size();
+				}
+			}
+		}
+		return new AlarmWindowStats(config.getNodeId(), new ArrayList<>(ring.getNodes()), windows, points, forwarded.sum(),
+				received.sum(), restored.sum(), snapshots.sum());
+	}
+
+	/**
+	 * Heartbeat to membership, and rebuild hash ring if alive nodes changed.
+	 */
+	protected void heartbeat() {
+		JedisCluster cluster = jedisService.getJedisCluster();
+		long now = System.currentTimeMillis();
+		cluster.hset(KEY_CACHE_ALARM_WINDOW_NODES, config.getNodeId(), String.valueOf(now));
+
+		Set<String> alive = new HashSet<>();
+		for (Entry<String, String> ent : cluster.hgetAll(KEY_CACHE_ALARM_WINDOW_NODES).entrySet()) {
+			long lastBeat = parseLong(ent.getValue());
+			if (now - lastBeat > config.getHeartbeatIntervalMs() * 3) {
+				cluster.hdel(KEY_CACHE_ALARM_WINDOW_NODES, ent.getKey());
+				log.info("Removed dead alarm window node: {}", ent.getKey());
+			} else {
+				alive.add(ent.getKey());
+			}
+		}
+		alive.add(config.getNodeId());
+
+		if (!alive.equals(ring.getNodes())) {
+			log.info("Alarm window nodes changed from {} to {}", ring.getNodes(), alive);
+			ring = new ConsistentHashRing(alive, config.getVirtualNodes());
+			// Ownership changed, the moved windows will be restored from the
+			// latest snapshots by the new owners.
+			snapshot(true);
+		}
+	}
+
+	/**
+	 * Snapshot dirty windows to REDIS, and evict expired windows.
+	 *
+	 * @param evictMoved
+	 *            evict the windows owned by the other nodes after snapshot.
+	 */
+	protected void snapshot(boolean evictMoved) {
+		long now = System.currentTimeMillis();
+		ConsistentHashRing ring = this.ring;
+		Map<String, byte[]> dirtyWindows = new HashMap<>();
+		Map<String, Long> ttls = new HashMap<>();
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				Iterator<Entry<String, MetricWindow>> it = shard.windows.entrySet().iterator();
+				while (it.hasNext()) {
+					Entry<String, MetricWindow> ent = it.next();
+					MetricWindow window = ent.getValue();
+					boolean expired = window.isExpired(now);
+					if (window.isDirty() && !expired) {
+						dirtyWindows.put(ent.getKey(), window.encode());
+						ttls.put(ent.getKey(), window.getTtl());
+					}
+					if (expired || (evictMoved && !isOwned(ring, window))) {
+						it.remove();
+					}
+				}
+			}
+		}
+
+		JedisCluster cluster = jedisService.getJedisCluster();
+		for (Entry<String, byte[]> ent : dirtyWindows.entrySet()) {
+			int expireSec = (int) Math.max(1, ttls.get(ent.getKey()) / 1000);
+			cluster.setex(getSnapshotKey(ent.getKey()), expireSec, ent.getValue());
+			snapshots.increment();
+		}
+		if (!dirtyWindows.isEmpty() && log.isDebugEnabled()) {
+			log.debug("Snapshot alarm windows: {}", dirtyWindows.size());
+		}
+	}
+
+	/**
+	 * Poll forwarded metric aggregates of current node inbox.
+	 */
+	protected void pollInbox() {
+		JedisCluster cluster = jedisService.getJedisCluster();
+		int batch = config.getInboxPollBatch();
+		for (Entry<String, Consumer<MetricAggregateWrapper>> ent : handlers.entrySet()) {
+			String inboxKey = getInboxKey(ent.getKey(), config.getNodeId());
+			List<String> messages;
+			do {
+				// Only the owner consumes its inbox, so range and trim is safe.
+				messages = cluster.lrange(inboxKey, 0, batch - 1);
+				if (messages.isEmpty()) {
+					break;
+				}
+				cluster.ltrim(inboxKey, messages.size(), -1);
+				for (String message : messages) {
+					received.increment();
+					try {
+						ent.getValue().accept(parseJSON(message, ForwardedAggregate.class).toWrapper());
+					} catch (Exception e) {
+						log.error("Failed to handle forwarded metric aggregate: " + message, e);
+					}
+				}
+			} while (messages.size() >= batch);
+		}
+	}
+
+	/**
+	 * Restore window from snapshot.
+	 *
+	 * @param windowKey
+	 * @return Returns null if no snapshot.
+	 */
+	private MetricWindow restore(String windowKey) {
+		try {
+			byte[] data = jedisService.getJedisCluster().get(getSnapshotKey(windowKey));
+			if (data != null) {
+				restored.increment();
+				return MetricWindow.decode(data, config.getMaxWindowPoints());
+			}
+		} catch (Exception e) {
+			log.warn("Failed to restore alarm window: {} - {}", windowKey, e.getMessage());
+		}
+		return null;
+	}
+
+	private boolean isOwned(ConsistentHashRing ring, MetricWindow window) {
+		String owner = window.getRouteKey() != null ? ring.owner(window.getRouteKey()) : null;
+		return owner == null || owner.equals(config.getNodeId());
+	}
+
+	private static long parseLong(String value) {
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return 0L;
+		}
+	}
+
+	private static byte[] getSnapshotKey(String windowKey) {
+		return (KEY_CACHE_ALARM_WINDOW_SNAPSHOT + windowKey).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String getInboxKey(String channel, String nodeId) {
+		return KEY_CACHE_ALARM_WINDOW_INBOX + channel + "_" + nodeId;
+	}
+
+	/**
+	 * Time windows shard, guarded by itself.
+	 */
+	private static class Shard {
+		final private Map<String, MetricWindow> windows = new HashMap<>();
+	}
+
+}
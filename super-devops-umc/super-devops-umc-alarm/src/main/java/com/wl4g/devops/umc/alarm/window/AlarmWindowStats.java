@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import java.util.List;
+
+/**
+ * Snapshot of {@link AlarmWindowEngine} statistics.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ */
+public class AlarmWindowStats {
+
+	final private String nodeId;
+	final private List<String> nodes;
+	final private int windows;
+	final private long points;
+	final private long forwarded;
+	final private long received;
+	final private long restored;
+	final private long snapshots;
+
+	public AlarmWindowStats(String nodeId, List<String> nodes, int windows, long points, long forwarded, long received,
+			long restored, long snapshots) {
+		this.nodeId = nodeId;
+		this.nodes = nodes;
+		this.windows = windows;
+		this.points = points;
+		this.forwarded = forwarded;
+		this.received = received;
+		this.restored = restored;
+		this.snapshots = snapshots;
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	public List<String> getNodes() {
+		return nodes;
+	}
+
+	public int getWindows() {
+		return windows;
+	}
+
+	public long getPoints() {
+		return points;
+	}
+
+	/** Metric aggregates forwarded to the other owner nodes. */
+	public long getForwarded() {
+		return forwarded;
+	}
+
+	/** Metric aggregates received from current node inbox. */
+	public long getReceived() {
+		return received;
+	}
+
+	public long getRestored() {
+		return restored;
+	}
+
+	public long getSnapshots() {
+		return snapshots;
+	}
+
+	@Override
+	public String toString() {
+		return "AlarmWindowStats [nodeId=" + nodeId + ", nodes=" + nodes + ", windows=" + windows + ", points=" + points
+				+ ", forwarded=" + forwarded + ", received=" + received + ", restored=" + restored + ", snapshots="
+				+ snapshots + "]";
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent hash ring of receiver nodes, with virtual nodes.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ */
+public class ConsistentHashRing {
+
+	final private SortedSet<String> nodes;
+
+	final private TreeMap<Long, String> ring = new TreeMap<>();
+
+	public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+		this.nodes = Collections.unmodifiableSortedSet(new TreeSet<>(nodes));
+		for (String node : this.nodes) {
+			for (int i = 0; i < virtualNodes; i++) {
+				ring.put(hash(node + "#" + i), node);
+			}
+		}
+	}
+
+	/**
+	 * Get owner node of key.
+	 *
+	 * @param key
+	 * @return Returns null if the ring is empty.
+	 */
+	public String owner(String key) {
+		if (ring.isEmpty()) {
+			return null;
+		}
+		Map.Entry<Long, String> ent = ring.ceilingEntry(hash(key));
+		return ent != null ? ent.getValue() : ring.firstEntry().getValue();
+	}
+
+	public SortedSet<String> getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * 64-bit FNV-1a hash with murmur3 finalizer, for uniform distribution of
+	 * similar keys(e.g. host:endpoint).
+	 *
+	 * @param key
+	 * @return
+	 */
+	static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import com.wl4g.devops.umc.alarm.MetricAggregateWrapper;
+import com.wl4g.devops.umc.alarm.MetricAggregateWrapper.MetricWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Metric aggregate forwarded to the owner node inbox.
+ * </br>
+ * Note: {@link MetricAggregateWrapper#getTimestamp()} returns milliseconds,
+ * but the setter accepts seconds, so it's not serialized directly.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ */
+public class ForwardedAggregate {
+
+	private String host;
+
+	private String endpoint;
+
+	private String classify;
+
+	/** Collect time-stamp(seconds). */
+	private Long timestamp;
+
+	private List<MetricWrapper> metrics = new ArrayList<>();
+
+	public ForwardedAggregate() {
+	}
+
+	public ForwardedAggregate(MetricAggregateWrapper wrap) {
+		this.host = wrap.getHost();
+		this.endpoint = wrap.getEndpoint();
+		this.classify = wrap.getClassify();
+		this.timestamp = wrap.getTimestamp() / 1000;
+		this.metrics = wrap.getMetrics();
+	}
+
+	public MetricAggregateWrapper toWrapper() {
+		MetricAggregateWrapper wrap = new MetricAggregateWrapper();
+		wrap.setHost(host);
+		wrap.setEndpoint(endpoint);
+		if (isNotBlank(classify)) {
+			wrap.setClassify(classify);
+		}
+		wrap.setTimestamp(timestamp);
+		wrap.setMetrics(metrics);
+		return wrap;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public void setHost(String host) {
+		this.host = host;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public void setEndpoint(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	public String getClassify() {
+		return classify;
+	}
+
+	public void setClassify(String classify) {
+		this.classify = classify;
+	}
+
+	public Long getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(Long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	public List<MetricWrapper> getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(List<MetricWrapper> metrics) {
+		this.metrics = metrics;
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import com.wl4g.devops.common.bean.umc.model.MetricValue;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Math.abs;
+
+/**
+ * Metric values in time window, with the last access time and snapshot
+ * support of {@link AlarmWindowEngine}.
+ * </br>
+ * Note: not thread-safe, guarded by the owner shard of
+ * {@link AlarmWindowEngine}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ * @see SlidingWindow
+ */
+public class MetricWindow extends SlidingWindow {
+
+	/** Latest offered time(ms), used for idle eviction. */
+	private long lastAccess;
+
+	/** Latest offered time-to-live(ms). */
+	private long ttl;
+
+	/** Changed since latest snapshot. */
+	private boolean dirty;
+
+	/** Hash ring route key of the owner node, not snapshot. */
+	private String routeKey;
+
+	public MetricWindow(int maxCapacity) {
+		super(maxCapacity);
+	}
+
+	private MetricWindow(int maxCapacity, int initialCapacity) {
+		super(maxCapacity, initialCapacity);
+	}
+
+	/**
+	 * Offer metric value into window, the expired points (and the point with
+	 * the same gather time) are removed.
+	 *
+	 * @param gatherTime
+	 * @param value
+	 * @param now
+	 * @param ttl
+	 */
+	@Override
+	public void offer(long gatherTime, double value, long now, long ttl) {
+		super.offer(gatherTime, value, now, ttl);
+		this.lastAccess = now;
+		this.ttl = ttl;
+		this.dirty = true;
+	}
+
+	/**
+	 * Copy all points of window.
+	 *
+	 * @return
+	 */
+	public List<MetricValue> toList() {
+		List<MetricValue> metricVals = new ArrayList<>(size());
+		for (int i = 0; i < size(); i++) {
+			metricVals.add(new MetricValue(timeAt(i), valueAt(i)));
+		}
+		return metricVals;
+	}
+
+	/**
+	 * Is all of points expired.
+	 *
+	 * @param now
+	 * @return
+	 */
+	public boolean isExpired(long now) {
+		return abs(now - lastAccess) >= ttl;
+	}
+
+	public long getLastAccess() {
+		return lastAccess;
+	}
+
+	public long getTtl() {
+		return ttl;
+	}
+
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	public String getRouteKey() {
+		return routeKey;
+	}
+
+	void setRouteKey(String routeKey) {
+		this.routeKey = routeKey;
+	}
+
+	/**
+	 * Encode window for snapshot, and clean dirty flag.
+	 *
+	 * <pre>
+	 * lastAccess(long) | ttl(long) | size(int) | [time(long), value(double)] ...
+	 * </pre>
+	 *
+	 * @return
+	 */
+	public byte[] encode() {
+		int size = size();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(20 + size * 16);
+		try (DataOutputStream out = new DataOutputStream(bos)) {
+			out.writeLong(lastAccess);
+			out.writeLong(ttl);
+			out.writeInt(size);
+			for (int i = 0; i < size; i++) {
+				out.writeLong(timeAt(i));
+				out.writeDouble(valueAt(i));
+			}
+		} catch (IOException e) { // Never happen
+			throw new IllegalStateException(e);
+		}
+		dirty = false;
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Decode window from snapshot.
+	 *
+	 * @param data
+	 * @param maxCapacity
+	 * @return
+	 * @throws IOException
+	 */
+	public static MetricWindow decode(byte[] data, int maxCapacity) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			long lastAccess = in.readLong();
+			long ttl = in.readLong();
+			int size = in.readInt();
+			MetricWindow window = new MetricWindow(maxCapacity, Math.min(maxCapacity, size));
+			for (int i = 0; i < size; i++) {
+				window.add(in.readLong(), in.readDouble());
+			}
+			window.lastAccess = lastAccess;
+			window.ttl = ttl;
+			return window;
+		}
+	}
+
+}
@@ -17,6 +17,9 @@ package com.wl4g.devops.umc.config;
 
 import com.wl4g.devops.support.task.RunnerProperties;
 
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+
 /**
  * Alarm properties.
  * 
@@ -27,10 +30,273 @@ import com.wl4g.devops.support.task.RunnerProperties;
 public class AlarmProperties extends RunnerProperties {
 	private static final long serialVersionUID = -3690593536229115411L;
 
+	/** In-memory alarm time window properties. */
+	private WindowProperties window = new WindowProperties();
+
+	/**
+	 * Check interval(ms) of alarm templates version, the compiled templates
+	 * are invalidated when the version is changed(by umc-manager).
+	 */
+	private long ruleIndexVersionCheckMs = 1_000L;
+
+	/** Max age(ms) of the compiled templates of each endpoint. */
+	private long ruleIndexMaxAgeMs = 300_000L;
+
+	/** Alarm notification dispatcher properties. */
+	private DispatchProperties dispatch = new DispatchProperties();
+
 	public AlarmProperties() {
 		// No need to start the asynchronous running of the boss.
 		setAsyncStartup(false);
 		setConcurrency(1); // By default
 	}
 
-}
\ No newline at end of file
+	public WindowProperties getWindow() {
+		return window;
+	}
+
+	public void setWindow(WindowProperties window) {
+		this.window = window;
+	}
+
+	public long getRuleIndexVersionCheckMs() {
+		return ruleIndexVersionCheckMs;
+	}
+
+	public void setRuleIndexVersionCheckMs(long ruleIndexVersionCheckMs) {
+		this.ruleIndexVersionCheckMs = ruleIndexVersionCheckMs;
+	}
+
+	public long getRuleIndexMaxAgeMs() {
+		return ruleIndexMaxAgeMs;
+	}
+
+	public void setRuleIndexMaxAgeMs(long ruleIndexMaxAgeMs) {
+		this.ruleIndexMaxAgeMs = ruleIndexMaxAgeMs;
+	}
+
+	public DispatchProperties getDispatch() {
+		return dispatch;
+	}
+
+	public void setDispatch(DispatchProperties dispatch) {
+		this.dispatch = dispatch;
+	}
+
+	/**
+	 * In-memory alarm time window properties, the metric aggregates are
+	 * consistent hashed (by host:endpoint) to the owner receiver nodes, which
+	 * keep the time windows in memory, with periodic snapshots to REDIS.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月7日
+	 * @since
+	 */
+	public static class WindowProperties implements Serializable {
+		private static final long serialVersionUID = 2372834562097345012L;
+
+		/**
+		 * Enabled in-memory time window, otherwise the time windows are kept
+		 * in REDIS list with distributed lock.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Current receiver node ID, default: {pid}@{hostname}
+		 */
+		private String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+		/** Shards of the time windows(locks striping). */
+		private int shards = 64;
+
+		/** Max points of each time window. */
+		private int maxWindowPoints = 4096;
+
+		/** Virtual nodes of each receiver node in the hash ring. */
+		private int virtualNodes = 128;
+
+		/**
+		 * Heartbeat interval(ms) of node membership, the nodes without
+		 * heartbeat more than 3 intervals are removed from hash ring.
+		 */
+		private long heartbeatIntervalMs = 5_000L;
+
+		/** Snapshot interval(ms) of dirty time windows. */
+		private long snapshotIntervalMs = 10_000L;
+
+		/** Poll interval(ms) of forwarded metric aggregates inbox. */
+		private long inboxPollIntervalMs = 50L;
+
+		/** Max metric aggregates of each inbox poll. */
+		private int inboxPollBatch = 256;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getNodeId() {
+			return nodeId;
+		}
+
+		public void setNodeId(String nodeId) {
+			this.nodeId = nodeId;
+		}
+
+		public int getShards() {
+			return shards;
+		}
+
+		public void setShards(int shards) {
+			this.shards = shards;
+		}
+
+		public int getMaxWindowPoints() {
+			return maxWindowPoints;
+		}
+
+		public void setMaxWindowPoints(int maxWindowPoints) {
+			this.maxWindowPoints = maxWindowPoints;
+		}
+
+		public int getVirtualNodes() {
+			return virtualNodes;
+		}
+
+		public void setVirtualNodes(int virtualNodes) {
+			this.virtualNodes = virtualNodes;
+		}
+
+		public long getHeartbeatIntervalMs() {
+			return heartbeatIntervalMs;
+		}
+
+		public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+			this.heartbeatIntervalMs = heartbeatIntervalMs;
+		}
+
+		public long getSnapshotIntervalMs() {
+			return snapshotIntervalMs;
+		}
+
+		public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+			this.snapshotIntervalMs = snapshotIntervalMs;
+		}
+
+		public long getInboxPollIntervalMs() {
+			return inboxPollIntervalMs;
+		}
+
+		public void setInboxPollIntervalMs(long inboxPollIntervalMs) {
+			this.inboxPollIntervalMs = inboxPollIntervalMs;
+		}
+
+		public int getInboxPollBatch() {
+			return inboxPollBatch;
+		}
+
+		public void setInboxPollBatch(int inboxPollBatch) {
+			this.inboxPollBatch = inboxPollBatch;
+		}
+
+	}
+
+	/**
+	 * Alarm notification dispatcher properties, the notifications are
+	 * deduplicated(grouped) by fingerprint, persisted to local outbox, and
+	 * sent asynchronously by the bounded worker pool of each channel.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月9日
+	 * @since
+	 */
+	public static class DispatchProperties implements Serializable {
+		private static final long serialVersionUID = -4530985136218794011L;
+
+		/** Local outbox directory of undelivered notifications. */
+		private String outboxDir = System.getProperty("java.io.tmpdir") + "/umc-alarm-outbox";
+
+		/** Max notifications of outbox, the eldest are evicted when it's full. */
+		private int outboxMaxEntries = 10_000;
+
+		/**
+		 * Deduplicate window(ms), the notifications with the same
+		 * fingerprint(template, endpoint and matched rules) are grouped into
+		 * the first one within the window.
+		 */
+		private long dedupWindowMs = 60_000L;
+
+		/** Flush interval(ms) of pending notifications(batch records). */
+		private long flushIntervalMs = 500L;
+
+		/** Max notifications of each flush. */
+		private int flushBatch = 200;
+
+		/** Worker threads of each channel. */
+		private int channelThreads = 2;
+
+		/** Max queued messages of each channel, rejected when it's full. */
+		private int channelQueueCapacity = 1_000;
+
+		public String getOutboxDir() {
+			return outboxDir;
+		}
+
+		public void setOutboxDir(String outboxDir) {
+			this.outboxDir = outboxDir;
+		}
+
+		public int getOutboxMaxEntries() {
+			return outboxMaxEntries;
+		}
+
+		public void setOutboxMaxEntries(int outboxMaxEntries) {
+			this.outboxMaxEntries = outboxMaxEntries;
+		}
+
+		public long getDedupWindowMs() {
+			return dedupWindowMs;
+		}
+
+		public void setDedupWindowMs(long dedupWindowMs) {
+			this.dedupWindowMs = dedupWindowMs;
+		}
+
+		public long getFlushIntervalMs() {
+			return flushIntervalMs;
+		}
+
+		public void setFlushIntervalMs(long flushIntervalMs) {
+			this.flushIntervalMs = flushIntervalMs;
+		}
+
+		public int getFlushBatch() {
+			return flushBatch;
+		}
+
+		public void setFlushBatch(int flushBatch) {
+			this.flushBatch = flushBatch;
+		}
+
+		public int getChannelThreads() {
+			return channelThreads;
+		}
+
+		public void setChannelThreads(int channelThreads) {
+			this.channelThreads = channelThreads;
+		}
+
+		public int getChannelQueueCapacity() {
+			return channelQueueCapacity;
+		}
+
+		public void setChannelQueueCapacity(int channelQueueCapacity) {
+			this.channelQueueCapacity = channelQueueCapacity;
+		}
+
+	}
+
+}
@@ -27,16 +27,22 @@ import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.umc.alarm.DefaultIndicatorsValveAlerter;
 import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
 import com.wl4g.devops.umc.alarm.SimulateIndicatorsValveAleter;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotificationDispatcher;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
 import com.wl4g.devops.umc.console.AlarmConsole;
 import com.wl4g.devops.umc.handler.CheckImpledAlarmConfigurer;
 import com.wl4g.devops.umc.handler.AlarmConfigurer;
+import com.wl4g.devops.umc.rule.Aggregator;
 import com.wl4g.devops.umc.rule.RuleConfigManager;
 import com.wl4g.devops.umc.rule.inspect.AvgRuleInspector;
 import com.wl4g.devops.umc.rule.inspect.CompositeRuleInspectorAdapter;
 import com.wl4g.devops.umc.rule.inspect.LatestRuleInspector;
 import com.wl4g.devops.umc.rule.inspect.MaxRuleInspector;
 import com.wl4g.devops.umc.rule.inspect.MinRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.PercentileRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.RateRuleInspector;
 import com.wl4g.devops.umc.rule.inspect.RuleInspector;
+import com.wl4g.devops.umc.rule.inspect.StddevRuleInspector;
 import com.wl4g.devops.umc.rule.inspect.SumRuleInspector;
 
 /**
@@ -62,18 +68,31 @@ public class UmcAlarmAutoConfiguration {
 		return alarmProperties;
 	}
 
+	@Bean
+	public AlarmWindowEngine alarmWindowEngine(JedisService jedisService, AlarmProperties config) {
+		return new AlarmWindowEngine(jedisService, config.getWindow());
+	}
+
+	@Bean
+	public AlarmNotificationDispatcher alarmNotificationDispatcher(JedisService jedisService, AlarmConfigurer configurer,
+			CompositeMessageNotifier notifier, AlarmProperties config) {
+		return new AlarmNotificationDispatcher(jedisService, configurer, notifier, config.getDispatch());
+	}
+
 	@Bean(BEAN_DEFAULT_VALVE_ALERTER)
 	public IndicatorsValveAlerter defaultIndicatorsValveAlerter(JedisService jedisService, JedisLockManager lockManager,
 			AlarmProperties config, AlarmConfigurer configurer, RuleConfigManager ruleManager,
-			CompositeRuleInspectorAdapter inspector, CompositeMessageNotifier notifier) {
-		return new DefaultIndicatorsValveAlerter(jedisService, lockManager, config, configurer, ruleManager, inspector, notifier);
+			CompositeRuleInspectorAdapter inspector, AlarmNotificationDispatcher dispatcher, AlarmWindowEngine windowEngine) {
+		return new DefaultIndicatorsValveAlerter(jedisService, lockManager, config, configurer, ruleManager, inspector, dispatcher,
+				windowEngine);
 	}
 
 	@Bean(BEAN_SIMULATE_VALVE_ALERTER)
 	public IndicatorsValveAlerter simulateIndicatorsValveAlerter(JedisService jedisService, JedisLockManager lockManager,
 			AlarmProperties config, AlarmConfigurer configurer, RuleConfigManager ruleManager,
-			CompositeRuleInspectorAdapter inspector, CompositeMessageNotifier notifier) {
-		return new SimulateIndicatorsValveAleter(jedisService, lockManager, config, configurer, ruleManager, inspector, notifier);
+			CompositeRuleInspectorAdapter inspector, AlarmNotificationDispatcher dispatcher, AlarmWindowEngine windowEngine) {
+		return new SimulateIndicatorsValveAleter(jedisService, lockManager, config, configurer, ruleManager, inspector, dispatcher,
+				windowEngine);
 	}
 
 	@Bean
@@ -116,6 +135,36 @@ public class UmcAlarmAutoConfiguration {
 		return new SumRuleInspector();
 	}
 
+	@Bean
+	public StddevRuleInspector stddevRuleInspector() {
+		return new StddevRuleInspector();
+	}
+
+	@Bean
+	public RateRuleInspector rateRuleInspector() {
+		return new RateRuleInspector();
+	}
+
+	@Bean
+	public PercentileRuleInspector p50RuleInspector() {
+		return new PercentileRuleInspector(Aggregator.P50);
+	}
+
+	@Bean
+	public PercentileRuleInspector p90RuleInspector() {
+		return new PercentileRuleInspector(Aggregator.P90);
+	}
+
+	@Bean
+	public PercentileRuleInspector p95RuleInspector() {
+		return new PercentileRuleInspector(Aggregator.P95);
+	}
+
+	@Bean
+	public PercentileRuleInspector p99RuleInspector() {
+		return new PercentileRuleInspector(Aggregator.P99);
+	}
+
 	@Bean
 	public CompositeRuleInspectorAdapter compositeRuleInspectorAdapter(List<RuleInspector> inspectors) {
 		return new CompositeRuleInspectorAdapter(inspectors);
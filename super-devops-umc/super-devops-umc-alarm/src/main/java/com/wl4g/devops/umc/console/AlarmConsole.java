@@ -22,6 +22,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.wl4g.devops.shell.annotation.ShellComponent;
 import com.wl4g.devops.shell.annotation.ShellMethod;
 import com.wl4g.devops.shell.annotation.ShellOption;
+import com.wl4g.devops.shell.handler.SimpleShellContext;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotificationDispatcher;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
 import com.wl4g.devops.umc.rule.RuleConfigManager;
 
 /**
@@ -40,6 +43,12 @@ public class AlarmConsole {
 	@Autowired
 	private RuleConfigManager ruleManager;
 
+	@Autowired
+	private AlarmWindowEngine windowEngine;
+
+	@Autowired
+	private AlarmNotificationDispatcher dispatcher;
+
 	/**
 	 * Cleanup all of alarm rules cache.
 	 */
@@ -51,6 +60,34 @@ public class AlarmConsole {
 		ruleManager.clearAll(arg.getClearBatch());
 	}
 
+	/**
+	 * Print statistics of in-memory alarm time windows.
+	 */
+	@ShellMethod(keys = "window-stats", group = SHELL_GROUP, help = "Print statistics of in-memory alarm time windows.")
+	public void windowStats(SimpleShellContext context) {
+		try {
+			if (!windowEngine.isEnabled()) {
+				context.printf("Alarm in-memory time window is disabled.");
+			} else {
+				context.printf(windowEngine.getStats().toString());
+			}
+		} finally {
+			context.completed();
+		}
+	}
+
+	/**
+	 * Print statistics of alarm notification dispatcher.
+	 */
+	@ShellMethod(keys = "notify-stats", group = SHELL_GROUP, help = "Print statistics of alarm notification dispatcher.")
+	public void notifyStats(SimpleShellContext context) {
+		try {
+			context.printf(dispatcher.getStats().toString());
+		} finally {
+			context.completed();
+		}
+	}
+
 	/**
 	 * Clear argument.
 	 * 
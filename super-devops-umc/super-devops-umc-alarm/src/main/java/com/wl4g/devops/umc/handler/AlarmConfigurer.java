@@ -36,8 +36,19 @@ public interface AlarmConfigurer {
 
 	AlarmRecord saveAlarmRecord(AlarmTemplate alarmTemplate, Long gatherTime, List<AlarmRule> rules, String alarmNote);
 
+	/**
+	 * Save alarm records(with alarmTemplate, gatherTime, alarmRules and
+	 * alarmNote) and their matched rules in batches.
+	 *
+	 * @param records
+	 * @return The saved records(assigned id).
+	 */
+	List<AlarmRecord> saveAlarmRecords(List<AlarmRecord> records);
+
 	List<AlarmContact> getContactByGroupIds(List<Integer> groupIds);
 
 	AlarmNotificationContact saveNotificationContact(AlarmNotificationContact alarmNotificationContact);
 
+	List<AlarmNotificationContact> saveNotificationContacts(List<AlarmNotificationContact> alarmNotificationContacts);
+
 }
\ No newline at end of file
@@ -51,6 +51,11 @@ public class CheckImpledAlarmConfigurer implements AlarmConfigurer, Initializing
 		return null;
 	}
 
+	@Override
+	public List<AlarmRecord> saveAlarmRecords(List<AlarmRecord> records) {
+		return null;
+	}
+
 	@Override
 	public List<AlarmContact> getContactByGroupIds(List<Integer> groupIds) {
 		return null;
@@ -61,4 +66,9 @@ public class CheckImpledAlarmConfigurer implements AlarmConfigurer, Initializing
 		return null;
 	}
 
+	@Override
+	public List<AlarmNotificationContact> saveNotificationContacts(List<AlarmNotificationContact> alarmNotificationContacts) {
+		return null;
+	}
+
 }
\ No newline at end of file
@@ -26,7 +26,16 @@ import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
  */
 public enum Aggregator {
 
-	AVG("avg"), LATEST("latest"), MAX("max"), MIN("min"), SUM("sum");
+	AVG("avg"), LATEST("latest"), MAX("max"), MIN("min"), SUM("sum"),
+
+	/** Percentiles of nearest rank. */
+	P50("p50"), P90("p90"), P95("p95"), P99("p99"),
+
+	/** Population standard deviation. */
+	STDDEV("stddev"),
+
+	/** Rate of change per second, between the first and latest values. */
+	RATE("rate");
 
 	private String value;
 
@@ -50,7 +59,7 @@ public enum Aggregator {
 				return t;
 			}
 		}
-		throw new UnsupportedOperationException(String.format("Unsupport Aggregator(%d)", aggregateString));
+		throw new UnsupportedOperationException(String.format("Unsupport Aggregator(%s)", aggregateString));
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rule;
+
+import com.wl4g.devops.common.bean.umc.AlarmRule;
+import com.wl4g.devops.umc.rule.inspect.CompositeRuleInspectorAdapter;
+import com.wl4g.devops.umc.rule.inspect.RuleInspector;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
+import org.springframework.util.Assert;
+
+/**
+ * Compiled alarm rule, the inspector and operator are resolved once, see
+ * {@link CompositeRuleInspectorAdapter#compile(AlarmRule)}
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月8日
+ * @since
+ */
+public class CompiledRule {
+
+	/** Source alarm rule. */
+	final private AlarmRule rule;
+
+	/** Resolved inspector, null if unsupported. */
+	final private RuleInspector inspector;
+
+	/** Resolved relate operator, null if unsupported. */
+	final private RelationOperator relateOperator;
+
+	/** Baseline value. */
+	final private double baseline;
+
+	/** Time window(ms) of metric values. */
+	final private long windowMs;
+
+	public CompiledRule(AlarmRule rule, RuleInspector inspector, RelationOperator relateOperator) {
+		Assert.notNull(rule, "Alarm rule must not be null");
+		this.rule = rule;
+		this.inspector = inspector;
+		this.relateOperator = relateOperator;
+		this.baseline = rule.getValue() != null ? rule.getValue() : Double.NaN;
+		this.windowMs = rule.getQueueTimeWindow() != null ? rule.getQueueTimeWindow() : 0L;
+	}
+
+	/**
+	 * Evaluate the metric values within the rule time window, the compare value
+	 * is set to the source rule if matched.
+	 *
+	 * @param window
+	 * @param now
+	 * @return
+	 */
+	public boolean evaluate(SlidingWindow window, long now) {
+		if (inspector == null || relateOperator == null) {
+			return false;
+		}
+		double compareValue = inspector.aggregate(window.select(windowMs, now));
+		if (relateOperator.operate(compareValue, baseline)) {
+			rule.setCompareValue(compareValue);
+			return true;
+		}
+		return false;
+	}
+
+	public AlarmRule getRule() {
+		return rule;
+	}
+
+	public RuleInspector getInspector() {
+		return inspector;
+	}
+
+	public RelationOperator getRelateOperator() {
+		return relateOperator;
+	}
+
+	public double getBaseline() {
+		return baseline;
+	}
+
+	public long getWindowMs() {
+		return windowMs;
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rule;
+
+import com.wl4g.devops.common.bean.umc.AlarmConfig;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static java.util.Collections.emptyMap;
+import static org.apache.commons.lang3.StringUtils.trimToEmpty;
+
+/**
+ * Compiled alarm configuration(template) of an endpoint, the tags and rules
+ * are precompiled, see {@link RuleConfigManager#getCompiledRuleTpls(String, String)}
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class CompiledTemplate {
+
+	/** Source alarm configuration. */
+	final private AlarmConfig alarmConfig;
+
+	/** Compiled rules of template. */
+	final private List<CompiledRule> rules;
+
+	/** Maximum metric keep time window(ms) of rules. */
+	final private long maxWindowMs;
+
+	/** Tag names of template. */
+	final private String[] tagNames;
+
+	/** Tag values(trimmed) of template. */
+	final private String[] tagValues;
+
+	/** Source tag values of template. */
+	final private String[] rawTagValues;
+
+	public CompiledTemplate(AlarmConfig alarmConfig, Map<String, String> tplTagMap, List<CompiledRule> rules) {
+		Assert.notNull(alarmConfig, "Alarm config must not be null");
+		Assert.notNull(rules, "Compiled rules must not be null");
+		this.alarmConfig = alarmConfig;
+		this.rules = rules;
+		long maxWindowMs = 0;
+		for (CompiledRule rule : rules) {
+			maxWindowMs = Math.max(maxWindowMs, rule.getWindowMs());
+		}
+		this.maxWindowMs = maxWindowMs;
+
+		int size = tplTagMap != null ? tplTagMap.size() : 0;
+		this.tagNames = new String[size];
+		this.tagValues = new String[size];
+		this.rawTagValues = new String[size];
+		if (size > 0) {
+			int i = 0;
+			for (Entry<String, String> ent : tplTagMap.entrySet()) {
+				tagNames[i] = ent.getKey();
+				tagValues[i] = trimToEmpty(ent.getValue());
+				rawTagValues[i] = ent.getValue();
+				++i;
+			}
+		}
+	}
+
+	/**
+	 * Match metric tags, if no tag is configured, the matching tag does not
+	 * need to be executed.
+	 *
+	 * @param metricTagMap
+	 * @return Matched tags of template, or null if not matched.
+	 */
+	public Map<String, String> matchTags(Map<String, String> metricTagMap) {
+		if (tagNames.length == 0) {
+			return emptyMap();
+		}
+		if (metricTagMap == null || metricTagMap.isEmpty()) {
+			return null;
+		}
+		Map<String, String> matchedTags = null;
+		for (int i = 0; i < tagNames.length; i++) {
+			if (tagValues[i].equals(metricTagMap.get(tagNames[i]))) {
+				if (matchedTags == null) {
+					matchedTags = new HashMap<>(4);
+				}
+				matchedTags.put(tagNames[i], rawTagValues[i]);
+			}
+		}
+		return matchedTags;
+	}
+
+	public AlarmConfig getAlarmConfig() {
+		return alarmConfig;
+	}
+
+	public List<CompiledRule> getRules() {
+		return rules;
+	}
+
+	public long getMaxWindowMs() {
+		return maxWindowMs;
+	}
+
+}
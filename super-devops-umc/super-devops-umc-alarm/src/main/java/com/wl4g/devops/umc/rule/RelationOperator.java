@@ -44,7 +44,7 @@ public enum RelationOperator {
 	 * @return
 	 */
 	public boolean operate(double value1, double value2) {
-		switch (of(getValue())) {
+		switch (this) {
 		case EQ:
 			return value1 == value2;
 		case GT:
@@ -16,9 +16,12 @@
 package com.wl4g.devops.umc.rule;
 
 import com.wl4g.devops.common.bean.umc.AlarmConfig;
+import com.wl4g.devops.common.bean.umc.AlarmTemplate;
 import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.support.redis.ScanCursor;
+import com.wl4g.devops.umc.config.AlarmProperties;
 import com.wl4g.devops.umc.handler.AlarmConfigurer;
+import com.wl4g.devops.umc.rule.inspect.CompositeRuleInspectorAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,9 +29,16 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_TPLS;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_TPLS_VERSION;
 import static com.wl4g.devops.tool.common.collection.Collections2.safeList;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
@@ -50,6 +60,21 @@ public class RuleConfigManager implements ApplicationRunner {
 	@Autowired
 	private AlarmConfigurer ruleConfigurer;
 
+	@Autowired
+	private AlarmProperties config;
+
+	@Autowired
+	private CompositeRuleInspectorAdapter inspector;
+
+	/** Compiled alarm templates index, {host:endpoint -> {metric -> templates}} */
+	final private Map<String, CompiledEndpoint> compiledIndex = new ConcurrentHashMap<>();
+
+	/** Latest alarm templates version(changed by umc-manager). */
+	private volatile String tplsVersion;
+
+	/** Latest checked time of alarm templates version. */
+	final private AtomicLong versionCheckedTime = new AtomicLong();
+
 	@Override
 	public void run(ApplicationArguments args) {
 	}
@@ -75,11 +100,88 @@ public class RuleConfigManager implements ApplicationRunner {
 			}
 		}
 
+		compiledIndex.clear();
+
 		if (log.isInfoEnabled()) {
 			log.info("Cleaned alarm templates: {}", count);
 		}
 	}
 
+	/**
+	 * Gets compiled alarm templates of endpoint(grouped by metric name), the
+	 * compiled index is invalidated when the templates version is changed (by
+	 * umc-manager) or the max age is exceeded.
+	 * 
+	 * @param host
+	 * @param endpoint
+	 * @return
+	 */
+	public Map<String, List<CompiledTemplate>> getCompiledRuleTpls(String host, String endpoint) {
+		long now = System.currentTimeMillis();
+		checkTplsVersion(now);
+
+		String collectAddr = host + ":" + endpoint;
+		CompiledEndpoint compiled = compiledIndex.get(collectAddr);
+		if (compiled != null && (!Objects.equals(compiled.getVersion(), tplsVersion)
+				|| (now - compiled.getCompiledTime()) >= config.getRuleIndexMaxAgeMs())) {
+			compiledIndex.remove(collectAddr, compiled);
+			compiled = null;
+		}
+		if (compiled == null) {
+			compiled = compiledIndex.computeIfAbsent(collectAddr, addr -> compileRuleTpls(host, endpoint, now));
+		}
+		return compiled.getTemplates();
+	}
+
+	/**
+	 * Compile alarm templates of endpoint.
+	 * 
+	 * @param host
+	 * @param endpoint
+	 * @param now
+	 * @return
+	 */
+	private CompiledEndpoint compileRuleTpls(String host, String endpoint, long now) {
+		String version = tplsVersion;
+		Map<String, List<CompiledTemplate>> templates = new HashMap<>();
+		for (AlarmConfig alarmConfig : safeList(ruleConfigurer.findAlarmConfigByEndpoint(host, endpoint))) {
+			AlarmTemplate tpl = alarmConfig.getAlarmTemplate();
+			if (tpl == null || tpl.getMetric() == null) {
+				continue;
+			}
+			templates.computeIfAbsent(tpl.getMetric(), metric -> new ArrayList<>(2))
+					.add(new CompiledTemplate(alarmConfig, tpl.getTagsMap(), inspector.compile(tpl.getRules())));
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Compiled alarm templates of {}:{}, metrics: {}", host, endpoint, templates.keySet());
+		}
+		return new CompiledEndpoint(version, now, templates);
+	}
+
+	/**
+	 * Check the alarm templates version(at most once per check interval), and
+	 * invalidate all the compiled templates if it's changed.
+	 * 
+	 * @param now
+	 */
+	private void checkTplsVersion(long now) {
+		long checkedTime = versionCheckedTime.get();
+		if ((now - checkedTime) < config.getRuleIndexVersionCheckMs() || !versionCheckedTime.compareAndSet(checkedTime, now)) {
+			return;
+		}
+		try {
+			String version = jedisService.get(KEY_CACHE_ALARM_TPLS_VERSION);
+			if (!Objects.equals(version, tplsVersion)) {
+				log.info("Alarm templates version changed: {} => {}, invalidate compiled templates: {}", tplsVersion, version,
+						compiledIndex.size());
+				tplsVersion = version;
+				compiledIndex.clear();
+			}
+		} catch (Exception e) {
+			log.warn("Failed to check alarm templates version. {}", e.getMessage());
+		}
+	}
+
 	/**
 	 * Find alarm rule template by collectId.
 	 * 
@@ -106,4 +208,37 @@ public class RuleConfigManager implements ApplicationRunner {
 		return KEY_CACHE_ALARM_TPLS + collectAddr;
 	}
 
+	/**
+	 * Compiled alarm templates of endpoint.
+	 */
+	private static class CompiledEndpoint {
+
+		/** Alarm templates version when compiling. */
+		final private String version;
+
+		final private long compiledTime;
+
+		/** Compiled templates, {metric -> templates} */
+		final private Map<String, List<CompiledTemplate>> templates;
+
+		public CompiledEndpoint(String version, long compiledTime, Map<String, List<CompiledTemplate>> templates) {
+			this.version = version;
+			this.compiledTime = compiledTime;
+			this.templates = templates;
+		}
+
+		public String getVersion() {
+			return version;
+		}
+
+		public long getCompiledTime() {
+			return compiledTime;
+		}
+
+		public Map<String, List<CompiledTemplate>> getTemplates() {
+			return templates;
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import com.wl4g.devops.umc.rule.LogicalOperator;
 import com.wl4g.devops.umc.rule.RelationOperator;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Abstract rule inspector
@@ -30,8 +31,32 @@ import com.wl4g.devops.umc.rule.RelationOperator;
  */
 public abstract class AbstractRuleInspector implements RuleInspector {
 
+	/**
+	 * Reusable window of the inspection wrapper values.
+	 */
+	final private static ThreadLocal<SlidingWindow> LOCAL_WINDOW = ThreadLocal
+			.withInitial(() -> new SlidingWindow(Integer.MAX_VALUE));
+
 	final protected Logger log = LoggerFactory.getLogger(getClass());
 
+	@Override
+	public boolean verify(InspectWrapper wrap) {
+		// The values are ordered by time, one second each other.
+		SlidingWindow window = LOCAL_WINDOW.get().clear();
+		Double[] values = wrap.getValues();
+		if (values != null) {
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null) {
+					window.add(i * 1000L, values[i]);
+				}
+			}
+		}
+		double compareValue = aggregate(window.selectAll());
+		wrap.setCompareValue(compareValue);
+		return operate(LogicalOperator.of(wrap.getLogicalOperator()), RelationOperator.of(wrap.getRelateOperator()),
+				compareValue, wrap.getBaseline());
+	}
+
 	/**
 	 * Do operation
 	 * 
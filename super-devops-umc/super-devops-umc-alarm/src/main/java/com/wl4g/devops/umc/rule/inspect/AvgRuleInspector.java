@@ -16,11 +16,7 @@
 package com.wl4g.devops.umc.rule.inspect;
 
 import com.wl4g.devops.umc.rule.Aggregator;
-import com.wl4g.devops.umc.rule.LogicalOperator;
-import com.wl4g.devops.umc.rule.RelationOperator;
-
-import static com.wl4g.devops.tool.common.collection.Collections2.safeToList;
-import static java.util.stream.Collectors.summarizingDouble;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Average rule inspector
@@ -37,13 +33,9 @@ public class AvgRuleInspector extends AbstractRuleInspector {
 	}
 
 	@Override
-	public boolean verify(InspectWrapper wrap) {
+	public double aggregate(SlidingWindow window) {
 		// Average
-		double avg = safeToList(Double.class, wrap.getValues()).stream().filter(val -> null != val)
-				.collect(summarizingDouble(val -> val)).getAverage();
-		wrap.setCompareValue(avg);
-		return super.operate(LogicalOperator.of(wrap.getLogicalOperator()), RelationOperator.of(wrap.getRelateOperator()), avg,
-				wrap.getBaseline());
+		return window.avg();
 	}
 
 }
\ No newline at end of file
@@ -15,19 +15,26 @@
  */
 package com.wl4g.devops.umc.rule.inspect;
 
+import static com.wl4g.devops.tool.common.collection.Collections2.safeList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import com.wl4g.devops.common.bean.umc.AlarmRule;
 import com.wl4g.devops.tool.common.collection.RegisteredUnmodifiableMap;
 import com.wl4g.devops.umc.rule.Aggregator;
+import com.wl4g.devops.umc.rule.CompiledRule;
+import com.wl4g.devops.umc.rule.RelationOperator;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Composite rule inspector adapter.
@@ -43,6 +50,11 @@ public class CompositeRuleInspectorAdapter extends AbstractRuleInspector {
 	 */
 	final protected Map<Aggregator, RuleInspector> ruleInspectors = new RegisteredUnmodifiableMap<>(new HashMap<>());
 
+	/**
+	 * Determined rule inspectors cache, by aggregator string.
+	 */
+	final protected Map<String, Optional<RuleInspector>> determinedInspectors = new ConcurrentHashMap<>();
+
 	public CompositeRuleInspectorAdapter(List<RuleInspector> inspectors) {
 		Assert.state(!CollectionUtils.isEmpty(inspectors), "Rule inspectors has at least one.");
 		this.ruleInspectors.putAll(inspectors.stream().collect(toMap(RuleInspector::aggregateType, inspector -> inspector)));
@@ -59,6 +71,44 @@ public class CompositeRuleInspectorAdapter extends AbstractRuleInspector {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public double aggregate(SlidingWindow window) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Compile alarm rules, with pre-resolved inspectors and operators.
+	 * 
+	 * @param rules
+	 * @return
+	 */
+	public List<CompiledRule> compile(List<AlarmRule> rules) {
+		List<CompiledRule> compiledRules = new ArrayList<>();
+		for (AlarmRule rule : safeList(rules)) {
+			compiledRules.add(compile(rule));
+		}
+		return compiledRules;
+	}
+
+	/**
+	 * Compile alarm rule, the illegal rule is compiled to never matches.
+	 * 
+	 * @param rule
+	 * @return
+	 */
+	public CompiledRule compile(AlarmRule rule) {
+		Optional<RuleInspector> opt = determineRuleInspector(rule.getAggregator());
+		RelationOperator relateOperator = null;
+		try {
+			if (rule.getRelateOperator() != null) {
+				relateOperator = RelationOperator.of(rule.getRelateOperator());
+			}
+		} catch (UnsupportedOperationException e) {
+			log.warn("Unsupported rule relate operator: {}, rule: {}", rule.getRelateOperator(), rule.getId());
+		}
+		return new CompiledRule(rule, opt.orElse(null), relateOperator);
+	}
+
 	/**
 	 * Determine rule inspector.
 	 * 
@@ -70,13 +120,24 @@ public class CompositeRuleInspectorAdapter extends AbstractRuleInspector {
 			log.warn("Unsupported this rule aggregator: {}", aggregator);
 			return Optional.empty();
 		}
+		return determinedInspectors.computeIfAbsent(aggregator, aggre -> doDetermineRuleInspector(aggre));
+	}
+
+	/**
+	 * Do determine rule inspector, the first supported aggregator is used.
+	 * 
+	 * @param aggregator
+	 * @return
+	 */
+	private Optional<RuleInspector> doDetermineRuleInspector(String aggregator) {
 		for (String aggre : aggregator.split(",")) {
-			Aggregator type = Aggregator.safeOf(aggre);
-			if (null != type) {
-				RuleInspector inspector = ruleInspectors.get(type);
+			try {
+				RuleInspector inspector = ruleInspectors.get(Aggregator.safeOf(aggre.trim()));
 				if (inspector != null) {
 					return Optional.of(inspector);
 				}
+			} catch (UnsupportedOperationException e) {
+				log.warn("Unsupported this rule aggregator: {}", aggre);
 			}
 		}
 		return Optional.empty();
@@ -15,11 +15,8 @@
  */
 package com.wl4g.devops.umc.rule.inspect;
 
-import static com.wl4g.devops.tool.common.collection.Collections2.isEmptyArray;
-
 import com.wl4g.devops.umc.rule.Aggregator;
-import com.wl4g.devops.umc.rule.LogicalOperator;
-import com.wl4g.devops.umc.rule.RelationOperator;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Latest rule inspector
@@ -36,15 +33,9 @@ public class LatestRuleInspector extends AbstractRuleInspector {
 	}
 
 	@Override
-	public boolean verify(InspectWrapper wrap) {
-		if (isEmptyArray(wrap.getValues())) {
-			return false;
-		}
+	public double aggregate(SlidingWindow window) {
 		// Latest/Last
-		double latest = wrap.getValues()[wrap.getValues().length - 1];
-		wrap.setCompareValue(latest);
-		return super.operate(LogicalOperator.of(wrap.getLogicalOperator()), RelationOperator.of(wrap.getRelateOperator()), latest,
-				wrap.getBaseline());
+		return window.latest();
 	}
 
 }
\ No newline at end of file
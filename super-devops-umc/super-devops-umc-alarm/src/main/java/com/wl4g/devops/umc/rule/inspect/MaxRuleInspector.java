@@ -16,11 +16,7 @@
 package com.wl4g.devops.umc.rule.inspect;
 
 import com.wl4g.devops.umc.rule.Aggregator;
-import com.wl4g.devops.umc.rule.LogicalOperator;
-import com.wl4g.devops.umc.rule.RelationOperator;
-
-import static com.wl4g.devops.tool.common.collection.Collections2.safeToList;
-import static java.util.stream.Collectors.summarizingDouble;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Maximum rule inspector
@@ -37,13 +33,9 @@ public class MaxRuleInspector extends AbstractRuleInspector {
 	}
 
 	@Override
-	public boolean verify(InspectWrapper wrap) {
+	public double aggregate(SlidingWindow window) {
 		// Maximum
-		double max = safeToList(Double.class, wrap.getValues()).stream().filter(val -> null != val)
-				.collect(summarizingDouble(val -> val)).getMax();
-		wrap.setCompareValue(max);
-		return super.operate(LogicalOperator.of(wrap.getLogicalOperator()), RelationOperator.of(wrap.getRelateOperator()), max,
-				wrap.getBaseline());
+		return window.max();
 	}
 
 }
\ No newline at end of file
@@ -16,11 +16,7 @@
 package com.wl4g.devops.umc.rule.inspect;
 
 import com.wl4g.devops.umc.rule.Aggregator;
-import com.wl4g.devops.umc.rule.LogicalOperator;
-import com.wl4g.devops.umc.rule.RelationOperator;
-
-import static com.wl4g.devops.tool.common.collection.Collections2.safeToList;
-import static java.util.stream.Collectors.summarizingDouble;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 
 /**
  * Minimum rule inspector.
@@ -37,13 +33,9 @@ public class MinRuleInspector extends AbstractRuleInspector {
 	}
 
 	@Override
-	public boolean verify(InspectWrapper wrap) {
+	public double aggregate(SlidingWindow window) {
 		// Minimum
-		double min = safeToList(Double.class, wrap.getValues()).stream().filter(val -> null != val)
-				.collect(summarizingDouble(val -> val)).getMin();
-		wrap.setCompareValue(min);
-		return super.operate(LogicalOperator.of(wrap.getLogicalOperator()), RelationOperator.of(wrap.getRelateOperator()), min,
-				wrap.getBaseline());
+		return window.min();
 	}
 
 }
\ No newline at end of file
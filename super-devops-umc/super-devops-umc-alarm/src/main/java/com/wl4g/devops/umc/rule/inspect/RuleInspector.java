@@ -16,6 +16,7 @@
 package com.wl4g.devops.umc.rule.inspect;
 
 import com.wl4g.devops.umc.rule.Aggregator;
+import com.wl4g.devops.umc.rule.kernel.SlidingWindow;
 import org.springframework.util.Assert;
 
 import java.util.Arrays;
@@ -39,6 +40,15 @@ public interface RuleInspector {
 	 */
 	boolean verify(InspectWrapper wrap);
 
+	/**
+	 * Aggregate the selected points of time window, allocation-free.
+	 * 
+	 * @param window
+	 * @return Returns {@link Double#NaN} if no enough points, which never
+	 *         matches any relation operator.
+	 */
+	double aggregate(SlidingWindow window);
+
 	/**
 	 * Metric inspection wrapper.
 	 * 
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rule.kernel;
+
+/**
+ * Allocation-free time sliding window kernel of rule evaluation, primitive
+ * ring buffer of points ordered by time, which grows on demand up to max
+ * capacity (the eldest points are evicted when it's full).
+ * <ul>
+ * <li>Running prefix sums, so the sum/avg of any selected time range are
+ * O(1), the stddev is two-pass O(n) without allocation(numerically
+ * stable).</li>
+ * <li>Monotonic min/max deques, so the min/max of the selected range ending
+ * with the latest point are O(log n).</li>
+ * <li>Appending in time order and evicting the expired points are amortized
+ * O(1), the out of order points are inserted in O(n).</li>
+ * </ul>
+ * Usage: {@link #select(long, long)} the time range, and then read the
+ * aggregates of the selected range.
+ * </br>
+ * Note: not thread-safe.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月8日
+ * @since
+ */
+public class SlidingWindow {
+
+	final private static int INITIAL_CAPACITY = 8;
+
+	/** Scratch buffer of percentile selection. */
+	final private static ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[64]);
+
+	/** Max points of window. */
+	final private int maxCapacity;
+
+	private long[] times;
+
+	private double[] values;
+
+	/** Prefix sums of values, including the point itself. */
+	private double[] cumSums;
+
+	/** Index of the eldest point. */
+	private int head;
+
+	/** Points count. */
+	private int size;
+
+	/** Sequence of the eldest point. */
+	private long headSeq;
+
+	/** Prefix sums before the eldest point. */
+	private double baseSum;
+
+	/** Evictions since the latest prefix sums rebase. */
+	private int evictions;
+
+	/** Monotonic deques of point sequences, ascending values for minimum. */
+	private long[] minDeque;
+	private int minHead, minSize;
+
+	/** Monotonic deques of point sequences, descending values for maximum. */
+	private long[] maxDeque;
+	private int maxHead, maxSize;
+
+	/** Selected range offsets [lo, hi). */
+	private int lo, hi;
+
+	public SlidingWindow(int maxCapacity) {
+		this(maxCapacity, Math.min(INITIAL_CAPACITY, maxCapacity));
+	}
+
+	protected SlidingWindow(int maxCapacity, int initialCapacity) {
+		if (maxCapacity < 1) {
+			throw new IllegalArgumentException("Max capacity must be greater than 0");
+		}
+		this.maxCapacity = maxCapacity;
+		allocate(Math.max(1, initialCapacity));
+	}
+
+	/**
+	 * Offer point into window, the expired points (and the point with the same
+	 * time) are removed, that is, the points which are satisfied
+	 * {@code abs(now - time) >= ttl}.
+	 *
+	 * @param time
+	 * @param value
+	 * @param now
+	 * @param ttl
+	 */
+	public void offer(long time, double value, long now, long ttl) {
+		while (size > 0 && now - times[head] >= ttl) {
+			evictHead();
+		}
+		while (size > 0 && times[index(size - 1)] - now >= ttl) {
+			evictTail();
+		}
+		add(time, value);
+	}
+
+	/**
+	 * Add point into window, the point with the same time is replaced.
+	 *
+	 * @param time
+	 * @param value
+	 */
+	public void add(long time, double value) {
+		if (size == 0 || time > times[index(size - 1)]) {
+			append(time, value);
+		} else {
+			insert(time, value);
+		}
+	}
+
+	/**
+	 * Clear all points.
+	 *
+	 * @return
+	 */
+	public SlidingWindow clear() {
+		head = size = 0;
+		headSeq = 0;
+		baseSum = 0d;
+		evictions = 0;
+		minHead = minSize = maxHead = maxSize = 0;
+		lo = hi = 0;
+		return this;
+	}
+
+	/**
+	 * Select the points within duration, that is, the points which are
+	 * satisfied {@code abs(now - time) < durationMs}.
+	 *
+	 * @param durationMs
+	 * @param now
+	 * @return
+	 */
+	public SlidingWindow select(long durationMs, long now) {
+		// First offset of time > now - durationMs
+		lo = upperBound(now - durationMs);
+		// First offset of time >= now + durationMs
+		hi = Math.max(lo, upperBound(now + durationMs - 1));
+		return this;
+	}
+
+	/**
+	 * Select all points.
+	 *
+	 * @return
+	 */
+	public SlidingWindow selectAll() {
+		lo = 0;
+		hi = size;
+		return this;
+	}
+
+	// --- Aggregates of selected range. ---
+
+	public int count() {
+		return hi - lo;
+	}
+
+	public double sum() {
+		if (hi <= lo) {
+			return 0d;
+		}
+		return cumSums[index(hi - 1)] - (lo > 0 ? cumSums[index(lo - 1)] : baseSum);
+	}
+
+	public double avg() {
+		int count = count();
+		return count > 0 ? sum() / count : Double.NaN;
+	}
+
+	/**
+	 * Population standard deviation.
+	 *
+	 * @return
+	 */
+	public double stddev() {
+		int count = count();
+		if (count == 0) {
+			return Double.NaN;
+		}
+		double avg = sum() / count, squares = 0d;
+		for (int i = lo; i < hi; i++) {
+			double deviation = values[index(i)] - avg;
+			squares += deviation * deviation;
+		}
+		return Math.sqrt(squares / count);
+	}
+
+	public double min() {
+		if (hi <= lo) {
+			return Double.NaN;
+		}
+		if (hi == size) {
+			return values[indexOfSeq(minDeque[firstInRange(minDeque, minHead, minSize)])];
+		}
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = lo; i < hi; i++) {
+			min = Math.min(min, values[index(i)]);
+		}
+		return min;
+	}
+
+	public double max() {
+		if (hi <= lo) {
+			return Double.NaN;
+		}
+		if (hi == size) {
+			return values[indexOfSeq(maxDeque[firstInRange(maxDeque, maxHead, maxSize)])];
+		}
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = lo; i < hi; i++) {
+			max = Math.max(max, values[index(i)]);
+		}
+		return max;
+	}
+
+	public double first() {
+		return hi > lo ? values[index(lo)] : Double.NaN;
+	}
+
+	public double latest() {
+		return hi > lo ? values[index(hi - 1)] : Double.NaN;
+	}
+
+	/**
+	 * Rate of change per second, between the first and latest points.
+	 *
+	 * @return
+	 */
+	public double rate() {
+		if (hi - lo < 2) {
+			return Double.NaN;
+		}
+		long duration = times[index(hi - 1)] - times[index(lo)];
+		return duration > 0 ? (latest() - first()) * 1000d / duration : Double.NaN;
+	}
+
+	/**
+	 * Percentile of nearest rank, O(n) quick select.
+	 *
+	 * @param percentile
+	 *            (0,100]
+	 * @return
+	 */
+	public double percentile(double percentile) {
+		int n = count();
+		if (n == 0) {
+			return Double.NaN;
+		}
+		double[] scratch = SCRATCH.get();
+		if (scratch.length < n) {
+			scratch = new double[Math.max(n, scratch.length << 1)];
+			SCRATCH.set(scratch);
+		}
+		for (int i = 0; i < n; i++) {
+			scratch[i] = values[index(lo + i)];
+		}
+		int rank = (int) Math.ceil(percentile / 100d * n) - 1;
+		return select(scratch, n, Math.max(0, Math.min(n - 1, rank)));
+	}
+
+	// --- Points. ---
+
+	public int size() {
+		return size;
+	}
+
+	public long timeAt(int offset) {
+		return times[index(offset)];
+	}
+
+	public double valueAt(int offset) {
+		return values[index(offset)];
+	}
+
+	// --- Internal. ---
+
+	/**
+	 * Append point, the time must be greater than the latest point.
+	 */
+	private void append(long time, double value) {
+		if (size == times.length) {
+			if (times.length < maxCapacity) {
+				resize(Math.min(maxCapacity, times.length << 1));
+			} else {
+				evictHead();
+			}
+		}
+		int prev = size > 0 ? index(size - 1) : -1;
+		int idx = index(size);
+		times[idx] = time;
+		values[idx] = value;
+		cumSums[idx] = (prev >= 0 ? cumSums[prev] : baseSum) + value;
+		long seq = headSeq + size;
+		++size;
+
+		while (minSize > 0 && values[indexOfSeq(minDeque[dequeIndex(minHead, minSize - 1)])] >= value) {
+			--minSize;
+		}
+		minDeque[dequeIndex(minHead, minSize++)] = seq;
+		while (maxSize > 0 && values[indexOfSeq(maxDeque[dequeIndex(maxHead, maxSize - 1)])] <= value) {
+			--maxSize;
+		}
+		maxDeque[dequeIndex(maxHead, maxSize++)] = seq;
+	}
+
+	/**
+	 * Insert point of out of order, O(n).
+	 */
+	private void insert(long time, double value) {
+		int pos = upperBound(time - 1); // First offset of time >= time
+		if (pos < size && times[index(pos)] == time) {
+			values[index(pos)] = value;
+		} else {
+			if (size == times.length) {
+				if (times.length < maxCapacity) {
+					resize(Math.min(maxCapacity, times.length << 1));
+				} else {
+					evictHead();
+					pos = Math.max(0, pos - 1);
+				}
+			}
+			for (int i = size; i > pos; i--) {
+				int to = index(i), from = index(i - 1);
+				times[to] = times[from];
+				values[to] = values[from];
+			}
+			times[index(pos)] = time;
+			values[index(pos)] = value;
+			++size;
+		}
+		rebuild();
+	}
+
+	private void evictHead() {
+		long seq = headSeq;
+		baseSum = cumSums[head];
+		if (minSize > 0 && minDeque[minHead] == seq) {
+			minHead = dequeIndex(minHead, 1);
+			--minSize;
+		}
+		if (maxSize > 0 && maxDeque[maxHead] == seq) {
+			maxHead = dequeIndex(maxHead, 1);
+			--maxSize;
+		}
+		head = index(1);
+		++headSeq;
+		--size;
+		// Rebase the prefix sums, to avoid unbounded growth(amortized O(1)).
+		if (size == 0 || ++evictions >= times.length) {
+			rebuild();
+		}
+	}
+
+	private void evictTail() {
+		--size;
+		// The new latest point may be not in deques, rarely(e.g. clock skew).
+		rebuild();
+	}
+
+	/**
+	 * Rebuild prefix sums and min/max deques, O(n).
+	 */
+	private void rebuild() {
+		evictions = 0;
+		baseSum = 0d;
+		minHead = minSize = maxHead = maxSize = 0;
+		int count = size;
+		size = 0;
+		long seq = headSeq;
+		for (int i = 0; i < count; i++) {
+			int idx = index(i);
+			double value = values[idx];
+			cumSums[idx] = (i > 0 ? cumSums[index(i - 1)] : 0d) + value;
+			++size;
+			while (minSize > 0 && values[indexOfSeq(minDeque[minSize - 1])] >= value) {
+				--minSize;
+			}
+			minDeque[minSize++] = seq + i;
+			while (maxSize > 0 && values[indexOfSeq(maxDeque[maxSize - 1])] <= value) {
+				--maxSize;
+			}
+			maxDeque[maxSize++] = seq + i;
+		}
+	}
+
+	private void resize(int capacity) {
+		long[] newTimes = new long[capacity];
+		double[] newValues = new double[capacity];
+		for (int i = 0; i < size; i++) {
+			int idx = index(i);
+			newTimes[i] = times[idx];
+			newValues[i] = values[idx];
+		}
+		times = newTimes;
+		values = newValues;
+		head = 0;
+		allocateIndexes(capacity);
+		rebuild();
+	}
+
+	private void allocate(int capacity) {
+		times = new long[capacity];
+		values = new double[capacity];
+		allocateIndexes(capacity);
+	}
+
+	private void allocateIndexes(int capacity) {
+		cumSums = new double[capacity];
+		minDeque = new long[capacity];
+		maxDeque = new long[capacity];
+	}
+
+	/**
+	 * First offset of the point which time greater than the specified time.
+	 */
+	private int upperBound(long time) {
+		int low = 0, high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[index(mid)] <= time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Index of the first deque element in selected range, the sequences of
+	 * deque are ascending, and the latest point is always in deque.
+	 */
+	private int firstInRange(long[] deque, int dequeHead, int dequeSize) {
+		long loSeq = headSeq + lo;
+		int low = 0, high = dequeSize - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (deque[dequeIndex(dequeHead, mid)] < loSeq) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return dequeIndex(dequeHead, low);
+	}
+
+	private int index(int offset) {
+		int idx = head + offset;
+		return idx < times.length ? idx : idx - times.length;
+	}
+
+	private int indexOfSeq(long seq) {
+		return index((int) (seq - headSeq));
+	}
+
+	private int dequeIndex(int dequeHead, int offset) {
+		int idx = dequeHead + offset;
+		return idx < times.length ? idx : idx - times.length;
+	}
+
+	/**
+	 * Quick select k-th smallest value.
+	 */
+	private static double select(double[] a, int n, int k) {
+		int left = 0, right = n - 1;
+		while (left < right) {
+			double pivot = a[(left + right) >>> 1];
+			int i = left, j = right;
+			while (i <= j) {
+				while (a[i] < pivot) {
+					++i;
+				}
+				while (a[j] > pivot) {
+					--j;
+				}
+				if (i <= j) {
+					double tmp = a[i];
+					a[i] = a[j];
+					a[j] = tmp;
+					++i;
+					--j;
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				break;
+			}
+		}
+		return a[k];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				s.append(", ");
+			}
+			s.append(times[index(i)]).append('=').append(values[index(i)]);
+		}
+		return s.append(']').toString();
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.notify;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * {@link AlarmOutbox} tests.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月9日
+ * @since
+ */
+public class AlarmOutboxTests {
+
+	public static void main(String[] args) throws Exception {
+		replayTest1();
+		appendBeforeLoadTest2();
+	}
+
+	/**
+	 * The undelivered notifications are replayed in order after restart.
+	 */
+	private static void replayTest1() throws Exception {
+		File dir = Files.createTempDirectory("outbox").toFile();
+		AlarmOutbox outbox = new AlarmOutbox(dir, 10);
+		AlarmNotification n1 = newNotification("n1"), n2 = newNotification("n2"), n3 = newNotification("n3");
+		outbox.append(n1);
+		outbox.append(n2);
+		outbox.append(n3);
+		outbox.remove(n2);
+
+		List<AlarmNotification> loaded = new AlarmOutbox(dir, 10).load();
+		assertState(loaded.size() == 2, "Expected 2 replayed, actual: " + loaded.size());
+		assertState("n1".equals(loaded.get(0).getFingerprint()) && "n3".equals(loaded.get(1).getFingerprint()),
+				"Replayed out of order");
+		System.out.println("Replay test passed, replayed: " + loaded.size());
+	}
+
+	/**
+	 * The notifications appended before load (dispatched before the
+	 * dispatcher started) must not overwrite the undelivered ones, and must
+	 * not be replayed twice.
+	 */
+	private static void appendBeforeLoadTest2() throws Exception {
+		File dir = Files.createTempDirectory("outbox").toFile();
+		AlarmOutbox outbox = new AlarmOutbox(dir, 10);
+		outbox.append(newNotification("old1"));
+		outbox.append(newNotification("old2"));
+
+		AlarmOutbox restarted = new AlarmOutbox(dir, 10);
+		AlarmNotification fresh = newNotification("new1");
+		restarted.append(fresh);
+		assertState(fresh.getSequence() == 2, "Expected sequence 2, actual: " + fresh.getSequence());
+
+		List<AlarmNotification> loaded = restarted.load();
+		assertState(loaded.size() == 2, "Expected 2 replayed, actual: " + loaded.size());
+		assertState("old1".equals(loaded.get(0).getFingerprint()) && "old2".equals(loaded.get(1).getFingerprint()),
+				"Undelivered notifications were overwritten");
+		assertState(restarted.size() == 3, "Expected 3 in outbox, actual: " + restarted.size());
+		System.out.println("Append before load test passed, outbox: " + restarted.size());
+	}
+
+	private static AlarmNotification newNotification(String fingerprint) {
+		AlarmNotification notification = new AlarmNotification();
+		notification.setFingerprint(fingerprint);
+		notification.setGatherTime(System.currentTimeMillis());
+		notification.setAlarmNote("note of " + fingerprint);
+		return notification;
+	}
+
+	private static void assertState(boolean condition, String message) {
+		if (!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.alarm.window;
+
+import com.wl4g.devops.common.bean.umc.model.MetricValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.lang.Math.abs;
+
+/**
+ * {@link MetricWindow} and {@link ConsistentHashRing} tests.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月7日
+ * @since
+ */
+public class MetricWindowTests {
+
+	public static void main(String[] args) throws Exception {
+		sameAsListWindowTest1();
+		snapshotTest2();
+		ringBalanceTest3();
+		offerBenchmarkTest4();
+	}
+
+	/**
+	 * Must be the same as the REDIS list time window semantics(ordered by
+	 * gather time).
+	 */
+	private static void sameAsListWindowTest1() {
+		Random random = new Random(1);
+		MetricWindow window = new MetricWindow(4096);
+		List<MetricValue> expected = new ArrayList<>();
+		long now = 1_000_000L, ttl = 60_000L;
+		for (int i = 0; i < 10_000; i++) {
+			now += random.nextInt(3_000);
+			long gatherTime = now - random.nextInt(5_000); // Out of order
+			double value = random.nextDouble();
+
+			Iterator<MetricValue> it = expected.iterator();
+			while (it.hasNext()) {
+				long t = it.next().getGatherTime();
+				if (abs(now - t) >= ttl || t == gatherTime) {
+					it.remove();
+				}
+			}
+			expected.add(new MetricValue(gatherTime, value));
+			window.offer(gatherTime, value, now, ttl);
+
+			List<MetricValue> sorted = new ArrayList<>(expected);
+			Collections.sort(sorted);
+			List<MetricValue> actual = window.toList();
+			if (!equals(sorted, actual)) {
+				throw new IllegalStateException("Mismatch at " + i + ", expected: " + expected.size() + ", actual: " + actual.size());
+			}
+		}
+		System.out.println("Same as list window test passed, points: " + window.size());
+	}
+
+	private static void snapshotTest2() throws Exception {
+		MetricWindow window = new MetricWindow(16);
+		for (int i = 0; i < 40; i++) {
+			window.offer(i * 1000L, i, 40_000L, 100_000L);
+		}
+		MetricWindow restored = MetricWindow.decode(window.encode(), 16);
+		if (window.isDirty() || !equals(window.toList(), restored.toList()) || restored.getTtl() != 100_000L
+				|| window.select(10_000L, 40_000L).count() != restored.select(10_000L, 40_000L).count()
+				|| window.select(10_000L, 40_000L).avg() != restored.select(10_000L, 40_000L).avg()) {
+			throw new IllegalStateException("Snapshot mismatch");
+		}
+		// Max capacity of restored window is smaller.
+		if (MetricWindow.decode(window.encode(), 4).size() != 4) {
+			throw new IllegalStateException("Snapshot capacity mismatch");
+		}
+		System.out.println("Snapshot test passed, points: " + restored.size());
+	}
+
+	private static void ringBalanceTest3() {
+		List<String> nodes = Arrays.asList("node1", "node2", "node3", "node4");
+		ConsistentHashRing ring = new ConsistentHashRing(nodes, 128);
+		Map<String, Integer> counts = new HashMap<>();
+		int keys = 100_000;
+		for (int i = 0; i < keys; i++) {
+			counts.merge(ring.owner("10.0.0." + (i % 250) + ":" + i), 1, Integer::sum);
+		}
+		for (int count : counts.values()) {
+			if (abs(count - keys / nodes.size()) > keys / nodes.size() / 4) {
+				throw new IllegalStateException("Unbalanced ring: " + counts);
+			}
+		}
+
+		// Only the keys of removed node are moved.
+		ConsistentHashRing ring2 = new ConsistentHashRing(nodes.subList(0, 3), 128);
+		for (int i = 0; i < keys; i++) {
+			String key = "10.0.0." + (i % 250) + ":" + i;
+			String owner = ring.owner(key);
+			if (!owner.equals("node4") && !owner.equals(ring2.owner(key))) {
+				throw new IllegalStateException("Key moved: " + key);
+			}
+		}
+		System.out.println("Ring balance test passed, " + counts);
+	}
+
+	private static void offerBenchmarkTest4() {
+		int series = 10_000, rounds = 200;
+		MetricWindow[] windows = new MetricWindow[series];
+		for (int i = 0; i < series; i++) {
+			windows[i] = new MetricWindow(4096);
+		}
+		long begin = System.nanoTime();
+		long now = 0;
+		for (int r = 0; r < rounds; r++) {
+			now += 10_000L;
+			for (MetricWindow window : windows) {
+				window.offer(now, r, now, 300_000L);
+			}
+		}
+		long costNs = System.nanoTime() - begin;
+		System.out.println(String.format("Offer benchmark: %d offers, %.1f ns/offer", series * rounds,
+				(double) costNs / (series * rounds)));
+	}
+
+	private static boolean equals(List<MetricValue> a, List<MetricValue> b) {
+		if (a.size() != b.size()) {
+			return false;
+		}
+		for (int i = 0; i < a.size(); i++) {
+			if (a.get(i).getGatherTime() != b.get(i).getGatherTime() || a.get(i).getValue() != b.get(i).getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rule.kernel;
+
+import com.wl4g.devops.common.bean.umc.model.MetricValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.Math.abs;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link SlidingWindow} tests.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月8日
+ * @since
+ */
+public class SlidingWindowTests {
+
+	public static void main(String[] args) {
+		aggregatesTest1();
+		evaluateBenchmarkTest2();
+	}
+
+	/**
+	 * Must be the same as the naive aggregates of the selected points.
+	 */
+	private static void aggregatesTest1() {
+		Random random = new Random(1);
+		SlidingWindow window = new SlidingWindow(1024);
+		List<MetricValue> expected = new ArrayList<>();
+		long now = 1_000_000L, ttl = 120_000L;
+		for (int i = 0; i < 20_000; i++) {
+			now += random.nextInt(2_000);
+			long gatherTime = random.nextInt(10) == 0 ? now - random.nextInt(10_000) : now; // Out of order
+			double value = random.nextInt(1000) - 500 + random.nextDouble();
+
+			Iterator<MetricValue> it = expected.iterator();
+			while (it.hasNext()) {
+				long t = it.next().getGatherTime();
+				if (abs(now - t) >= ttl || t == gatherTime) {
+					it.remove();
+				}
+			}
+			expected.add(new MetricValue(gatherTime, value));
+			expected.sort(null);
+			window.offer(gatherTime, value, now, ttl);
+
+			long duration = 1 + random.nextInt((int) ttl);
+			final long now0 = now;
+			double[] vals = expected.stream().filter(v -> abs(now0 - v.getGatherTime()) < duration)
+					.mapToDouble(v -> v.getValue()).toArray();
+			window.select(duration, now);
+			assertEquals(i, "count", vals.length, window.count());
+			if (vals.length == 0) {
+				continue;
+			}
+			double sum = Arrays.stream(vals).sum(), avg = sum / vals.length;
+			double squares = Arrays.stream(vals).map(v -> (v - avg) * (v - avg)).sum();
+			double[] sorted = vals.clone();
+			Arrays.sort(sorted);
+			assertEquals(i, "sum", sum, window.sum());
+			assertEquals(i, "avg", avg, window.avg());
+			assertEquals(i, "stddev", Math.sqrt(squares / vals.length), window.stddev());
+			assertEquals(i, "min", sorted[0], window.min());
+			assertEquals(i, "max", sorted[sorted.length - 1], window.max());
+			assertEquals(i, "latest", vals[vals.length - 1], window.latest());
+			assertEquals(i, "p90", sorted[Math.max(0, (int) Math.ceil(0.9 * vals.length) - 1)], window.percentile(90));
+		}
+		System.out.println("Aggregates test passed, points: " + window.size());
+	}
+
+	/**
+	 * Legacy evaluation(copy to {@link Double} array then stream aggregate) vs
+	 * sliding window kernel.
+	 */
+	private static void evaluateBenchmarkTest2() {
+		int points = 360, rounds = 200_000;
+		long windowMs = 300_000L, now = points * 1000L;
+		List<MetricValue> metricVals = new ArrayList<>(points);
+		SlidingWindow window = new SlidingWindow(4096);
+		for (int i = 0; i < points; i++) {
+			metricVals.add(new MetricValue(i * 1000L, i % 100));
+			window.add(i * 1000L, i % 100);
+		}
+
+		double blackhole = 0;
+		long begin = System.nanoTime();
+		for (int r = 0; r < rounds; r++) {
+			final long now0 = now + (r & 1);
+			Double[] vals = metricVals.stream().filter(v -> abs(now0 - v.getGatherTime()) < windowMs).map(v -> v.getValue())
+					.collect(toList()).toArray(new Double[] {});
+			blackhole += Arrays.asList(vals).stream().mapToDouble(v -> v).average().orElse(0);
+			blackhole += Arrays.asList(vals).stream().mapToDouble(v -> v).max().orElse(0);
+		}
+		long legacyNs = System.nanoTime() - begin;
+
+		begin = System.nanoTime();
+		for (int r = 0; r < rounds; r++) {
+			long now0 = now + (r & 1);
+			blackhole += window.select(windowMs, now0).avg();
+			blackhole += window.select(windowMs, now0).max();
+		}
+		long kernelNs = System.nanoTime() - begin;
+
+		System.out.println(String.format("Evaluate benchmark: legacy %.1f ns/op, kernel %.1f ns/op (%s)",
+				(double) legacyNs / rounds, (double) kernelNs / rounds, blackhole));
+	}
+
+	private static void assertEquals(int i, String name, double expected, double actual) {
+		if (abs(expected - actual) > 1e-6 * Math.max(1d, abs(expected))) {
+			throw new IllegalStateException(
+					"Mismatch " + name + " at " + i + ", expected: " + expected + ", actual: " + actual);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.wl4g.devops.common.bean.iam.AlarmContact;
+import com.wl4g.devops.common.bean.iam.AlarmNotificationContact;
+import com.wl4g.devops.common.bean.umc.AlarmConfig;
+import com.wl4g.devops.common.bean.umc.AlarmRecord;
+import com.wl4g.devops.common.bean.umc.AlarmRule;
+import com.wl4g.devops.common.bean.umc.AlarmTemplate;
+import com.wl4g.devops.umc.handler.AlarmConfigurer;
+
+/**
+ * In-memory alarm configurer of benchmark, every endpoint has the same
+ * generated alarm configurations, see
+ * {@link SyntheticMetricGenerator#newAlarmConfigs(int, double)}
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class BenchmarkAlarmConfigurer implements AlarmConfigurer {
+
+	final private List<AlarmConfig> configs;
+
+	final private LongAdder records = new LongAdder();
+
+	public BenchmarkAlarmConfigurer(List<AlarmConfig> configs) {
+		this.configs = Collections.unmodifiableList(configs);
+	}
+
+	@Override
+	public List<AlarmConfig> findAlarmConfigByEndpoint(String host, String endpoint) {
+		return configs;
+	}
+
+	@Override
+	public List<AlarmConfig> findAlarmConfig(Integer templateId, String collectId) {
+		return configs;
+	}
+
+	@Override
+	public AlarmRecord saveAlarmRecord(AlarmTemplate alarmTemplate, Long gatherTime, List<AlarmRule> rules, String alarmNote) {
+		records.increment();
+		AlarmRecord record = new AlarmRecord();
+		record.setId((int) records.sum());
+		return record;
+	}
+
+	@Override
+	public List<AlarmRecord> saveAlarmRecords(List<AlarmRecord> alarmRecords) {
+		for (AlarmRecord record : alarmRecords) {
+			records.increment();
+			record.setId((int) records.sum());
+		}
+		return alarmRecords;
+	}
+
+	@Override
+	public List<AlarmContact> getContactByGroupIds(List<Integer> groupIds) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public AlarmNotificationContact saveNotificationContact(AlarmNotificationContact alarmNotificationContact) {
+		return alarmNotificationContact;
+	}
+
+	@Override
+	public List<AlarmNotificationContact> saveNotificationContacts(List<AlarmNotificationContact> alarmNotificationContacts) {
+		return alarmNotificationContacts;
+	}
+
+	public long getRecords() {
+		return records.sum();
+	}
+
+}
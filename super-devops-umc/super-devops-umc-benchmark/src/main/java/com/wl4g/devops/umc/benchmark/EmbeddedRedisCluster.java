@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.embedded.RedisExecProvider;
+import redis.embedded.RedisServer;
+import redis.embedded.RedisServerBuilder;
+import redis.embedded.util.OS;
+
+/**
+ * Embedded single node REDIS cluster(all the slots are assigned to the node),
+ * so that the {@link JedisCluster} based services can run without the
+ * external REDIS.<br/>
+ * Note: the cluster mode requires redis-server 3.0+, specify the executable by
+ * system property {@link #PROP_REDIS_EXEC} if the bundled one is older.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class EmbeddedRedisCluster implements Closeable {
+	final private static Logger logger = LoggerFactory.getLogger(EmbeddedRedisCluster.class);
+
+	/** System property of redis-server executable path. */
+	final public static String PROP_REDIS_EXEC = "umc.benchmark.redis.exec";
+
+	final private int port;
+	final private RedisServer server;
+	final private JedisCluster jedisCluster;
+
+	public EmbeddedRedisCluster(File workDir) throws IOException {
+		this.port = freePort();
+		RedisServerBuilder builder = RedisServer.builder().port(port).setting("bind 127.0.0.1")
+				.setting("cluster-enabled yes").setting("cluster-node-timeout 5000")
+				.setting("cluster-config-file " + new File(workDir, "nodes-" + port + ".conf").getAbsolutePath())
+				.setting("dir " + workDir.getAbsolutePath()).setting("appendonly no");
+		String exec = System.getProperty(PROP_REDIS_EXEC);
+		if (exec != null) {
+			builder.redisExecProvider(RedisExecProvider.defaultProvider().override(OS.UNIX, exec).override(OS.MAC_OS_X, exec));
+		}
+		this.server = builder.build();
+		this.server.start();
+
+		try (Jedis jedis = new Jedis("127.0.0.1", port)) {
+			int[] slots = new int[JedisCluster.HASHSLOTS];
+			for (int i = 0; i < slots.length; i++) {
+				slots[i] = i;
+			}
+			jedis.clusterAddSlots(slots);
+			long deadline = System.currentTimeMillis() + 10_000L;
+			while (!jedis.clusterInfo().contains("cluster_state:ok")) {
+				if (System.currentTimeMillis() > deadline) {
+					throw new IllegalStateException("Timeout waiting for embedded REDIS cluster state ok.");
+				}
+				Thread.sleep(50L);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (RuntimeException e) {
+			server.stop();
+			throw e;
+		}
+		this.jedisCluster = new JedisCluster(new HostAndPort("127.0.0.1", port));
+		logger.info("Started embedded REDIS cluster on port: {}", port);
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public JedisCluster getJedisCluster() {
+		return jedisCluster;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			jedisCluster.close();
+		} finally {
+			server.stop();
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
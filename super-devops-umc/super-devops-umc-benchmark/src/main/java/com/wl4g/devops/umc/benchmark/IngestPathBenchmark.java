@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.URI_HTTP_RECEIVER_ENDPOINT;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateDecoder;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.umc.receiver.AbstractMetricReceiver;
+
+/**
+ * Benchmarks of the ingest path stages, the throughput and the latency
+ * percentiles(sample time mode) are reported per stage, and the allocation
+ * rate with the GC profiler, see {@link UmcBenchmarks}.
+ *
+ * <pre>
+ * parse    Decode the received body into the flyweight view
+ * store    Save the view to {@link com.wl4g.devops.umc.opentsdb.TsdbMetricStore}
+ * alarm    Evaluate the alarm templates by {@link com.wl4g.devops.umc.alarm.DefaultIndicatorsValveAlerter}
+ * receive  End-to-end of {@link com.wl4g.devops.umc.receiver.HttpMetricReceiver}(read, parse, store and alarm)
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class IngestPathBenchmark {
+
+	@Benchmark
+	public MetricAggregateView parse(IngestPathState state, Cursor cursor) throws InvalidProtocolBufferException {
+		byte[] body = state.getGenerator().getEncoded(cursor.next());
+		return MetricAggregateDecoder.DEFAULT.decode(body, 0, body.length, cursor.scratch);
+	}
+
+	@Benchmark
+	public boolean store(IngestPathState state, Cursor cursor) {
+		return state.getStore().save(cursor.views[cursor.next()]);
+	}
+
+	@Benchmark
+	public void alarm(IngestPathState state, Cursor cursor) {
+		state.getAlerter().alarm(AbstractMetricReceiver.wrapAggregate(cursor.views[cursor.next()]));
+	}
+
+	@Benchmark
+	public void receive(IngestPathState state, Cursor cursor) {
+		// Note: includes the allocation of mock request and response.
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", URI_HTTP_RECEIVER_ENDPOINT);
+		request.setContent(state.getGenerator().getEncoded(cursor.next()));
+		state.getReceiver().metricReceive(request, new MockHttpServletResponse());
+	}
+
+	/**
+	 * Replay cursor of thread, the aggregates are pre-decoded into the views
+	 * for the stages after parsing.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int index;
+		private int size;
+		private MetricAggregateView[] views;
+		final private MetricAggregateView scratch = new MetricAggregateView();
+
+		@Setup(Level.Trial)
+		public void setup(IngestPathState state) throws InvalidProtocolBufferException {
+			SyntheticMetricGenerator generator = state.getGenerator();
+			size = generator.size();
+			views = new MetricAggregateView[size];
+			for (int i = 0; i < size; i++) {
+				byte[] body = generator.getEncoded(i);
+				views[i] = MetricAggregateDecoder.DEFAULT.decode(body, 0, body.length, new MetricAggregateView());
+			}
+			// Threads replay from the different positions.
+			index = ThreadLocalRandom.current().nextInt(size);
+		}
+
+		private int next() {
+			int i = index;
+			index = (i + 1 == size) ? 0 : i + 1;
+			return i;
+		}
+	}
+
+}
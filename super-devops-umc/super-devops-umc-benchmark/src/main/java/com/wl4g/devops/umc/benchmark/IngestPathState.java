@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import com.wl4g.devops.support.concurrent.locks.JedisLockManager;
+import com.wl4g.devops.support.notification.CompositeMessageNotifier;
+import com.wl4g.devops.support.redis.JedisService;
+import com.wl4g.devops.umc.alarm.DefaultIndicatorsValveAlerter;
+import com.wl4g.devops.umc.alarm.notify.AlarmNotificationDispatcher;
+import com.wl4g.devops.umc.alarm.window.AlarmWindowEngine;
+import com.wl4g.devops.umc.config.AlarmProperties;
+import com.wl4g.devops.umc.config.OpenTsdbFactoryBean;
+import com.wl4g.devops.umc.config.StoreProperties;
+import com.wl4g.devops.umc.opentsdb.TsdbMetricStore;
+import com.wl4g.devops.umc.receiver.HttpMetricReceiver;
+import com.wl4g.devops.umc.rule.Aggregator;
+import com.wl4g.devops.umc.rule.RuleConfigManager;
+import com.wl4g.devops.umc.rule.inspect.AvgRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.CompositeRuleInspectorAdapter;
+import com.wl4g.devops.umc.rule.inspect.LatestRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.MaxRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.MinRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.PercentileRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.RateRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.StddevRuleInspector;
+import com.wl4g.devops.umc.rule.inspect.SumRuleInspector;
+
+/**
+ * Shared ingest path of benchmark trial, wired as the receiver application
+ * does(see UmcAlarmAutoConfiguration and UmcStoreAutoConfiguration), but
+ * against the embedded REDIS cluster and the stub OpenTSDB endpoint.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+@State(Scope.Benchmark)
+public class IngestPathState {
+
+	/** Cardinality of the collect endpoints. */
+	@Param({ "1000" })
+	public int hosts;
+
+	/** Metrics per aggregate. */
+	@Param({ "32" })
+	public int metrics;
+
+	/** Tags per metric. */
+	@Param({ "4" })
+	public int tagFanout;
+
+	/** Values per tag. */
+	@Param({ "16" })
+	public int tagCardinality;
+
+	/** Alarm templates per metric. */
+	@Param({ "2" })
+	public int templates;
+
+	/** Alarm threshold of the templates(the values are in 0~100). */
+	@Param({ "95" })
+	public double alarmThreshold;
+
+	/** Generated aggregates(replayed in ring). */
+	@Param({ "4096" })
+	public int samples;
+
+	private File workDir;
+	private SyntheticMetricGenerator generator;
+
+	private StubOpenTsdbServer tsdbServer;
+	private OpenTsdbFactoryBean tsdbFactory;
+	private TsdbMetricStore store;
+
+	private EmbeddedRedisCluster redis;
+	private BenchmarkAlarmConfigurer configurer;
+	private AlarmWindowEngine windowEngine;
+	private DefaultIndicatorsValveAlerter alerter;
+
+	private HttpMetricReceiver receiver;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		workDir = Files.createTempDirectory("umc-benchmark").toFile();
+		generator = new SyntheticMetricGenerator(hosts, metrics, tagFanout, tagCardinality, samples, 1L);
+
+		// Store stage.
+		tsdbServer = new StubOpenTsdbServer();
+		StoreProperties storeConfig = new StoreProperties();
+		storeConfig.getOpentsdb().setHost(tsdbServer.getHost());
+		storeConfig.getOpentsdb().setPort(tsdbServer.getPort());
+		storeConfig.getOpentsdb().setSpillDir(new File(workDir, "opentsdb-spill").getAbsolutePath());
+		tsdbFactory = new OpenTsdbFactoryBean(storeConfig);
+		tsdbFactory.afterPropertiesSet();
+		store = new TsdbMetricStore(tsdbFactory.getObject());
+
+		// Alarm stage.
+		redis = new EmbeddedRedisCluster(workDir);
+		JedisService jedisService = new JedisService(redis.getJedisCluster());
+		configurer = new BenchmarkAlarmConfigurer(generator.newAlarmConfigs(templates, alarmThreshold));
+		AlarmProperties alarmConfig = new AlarmProperties();
+		alarmConfig.getDispatch().setOutboxDir(new File(workDir, "alarm-outbox").getAbsolutePath());
+		CompositeRuleInspectorAdapter inspector = new CompositeRuleInspectorAdapter(Arrays.asList(new AvgRuleInspector(),
+				new MinRuleInspector(), new MaxRuleInspector(), new LatestRuleInspector(), new SumRuleInspector(),
+				new StddevRuleInspector(), new RateRuleInspector(), new PercentileRuleInspector(Aggregator.P50),
+				new PercentileRuleInspector(Aggregator.P90), new PercentileRuleInspector(Aggregator.P95),
+				new PercentileRuleInspector(Aggregator.P99)));
+
+		// The field injected components.
+		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor autowiredProcessor = new AutowiredAnnotationBeanPostProcessor();
+		autowiredProcessor.setBeanFactory(factory);
+		factory.addBeanPostProcessor(autowiredProcessor);
+		factory.registerSingleton("jedisCluster", redis.getJedisCluster());
+		factory.registerSingleton("jedisService", jedisService);
+		factory.registerSingleton("alarmConfigurer", configurer);
+		factory.registerSingleton("alarmProperties", alarmConfig);
+		factory.registerSingleton("compositeRuleInspectorAdapter", inspector);
+		RuleConfigManager ruleManager = new RuleConfigManager();
+		factory.autowireBean(ruleManager);
+		JedisLockManager lockManager = new JedisLockManager();
+		factory.autowireBean(lockManager);
+
+		windowEngine = new AlarmWindowEngine(jedisService, alarmConfig.getWindow());
+		AlarmNotificationDispatcher dispatcher = new AlarmNotificationDispatcher(jedisService, configurer,
+				new CompositeMessageNotifier(), alarmConfig.getDispatch());
+		alerter = new DefaultIndicatorsValveAlerter(jedisService, lockManager, alarmConfig, configurer, ruleManager, inspector,
+				dispatcher, windowEngine);
+
+		// End-to-end(synchronous store and alarm on the receiving thread).
+		receiver = new HttpMetricReceiver(alerter, store);
+
+		System.out.println(String.format("Ingest path - hosts: %s, metrics: %s, tags: %sx%s, templates: %s, avg body: %.0f bytes",
+				hosts, metrics, tagFanout, tagCardinality, metrics * templates, generator.getAvgEncodedBytes()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		try {
+			System.out.println(String.format("Ingest path - OpenTSDB put requests: %s, bytes: %s, alarm windows: %s",
+					tsdbServer.getRequests(), tsdbServer.getReceivedBytes(), windowEngine.getStats()));
+			tsdbFactory.destroy();
+		} finally {
+			redis.close();
+			tsdbServer.close();
+			deleteQuietly(workDir);
+		}
+	}
+
+	public SyntheticMetricGenerator getGenerator() {
+		return generator;
+	}
+
+	public TsdbMetricStore getStore() {
+		return store;
+	}
+
+	public DefaultIndicatorsValveAlerter getAlerter() {
+		return alerter;
+	}
+
+	public HttpMetricReceiver getReceiver() {
+		return receiver;
+	}
+
+	private static void deleteQuietly(File dir) {
+		try (Stream<Path> paths = Files.walk(dir.toPath())) {
+			paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		} catch (IOException e) {
+			System.err.println("Failed to delete benchmark directory: " + dir);
+		}
+	}
+
+}
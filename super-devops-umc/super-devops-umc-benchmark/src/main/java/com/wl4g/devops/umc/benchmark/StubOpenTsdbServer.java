@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stub OpenTSDB HTTP endpoint, the put requests are drained and acknowledged
+ * immediately, so that the store stage measures the client side only.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class StubOpenTsdbServer implements Closeable {
+
+	final private static byte[] PUT_RESPONSE = "{\"success\":0,\"failed\":0,\"errors\":[]}"
+			.getBytes(StandardCharsets.UTF_8);
+
+	final private HttpServer server;
+	final private ExecutorService executor;
+
+	final private LongAdder requests = new LongAdder();
+	final private LongAdder receivedBytes = new LongAdder();
+
+	public StubOpenTsdbServer() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+		this.server.createContext("/api/put", this::handlePut);
+		final AtomicInteger counter = new AtomicInteger(0);
+		this.executor = Executors.newFixedThreadPool(4, r -> {
+			Thread t = new Thread(r, "stubOpenTsdb-" + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	public String getHost() {
+		return server.getAddress().getHostString();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	public long getReceivedBytes() {
+		return receivedBytes.sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handlePut(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] buf = new byte[8192];
+			for (int n; (n = in.read(buf)) > 0;) {
+				receivedBytes.add(n);
+			}
+		}
+		requests.increment();
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, PUT_RESPONSE.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(PUT_RESPONSE);
+		}
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.common.bean.iam.AlarmContact;
+import com.wl4g.devops.common.bean.umc.AlarmConfig;
+import com.wl4g.devops.common.bean.umc.AlarmRule;
+import com.wl4g.devops.common.bean.umc.AlarmTemplate;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+/**
+ * Synthetic metric aggregates generator, the aggregates are generated
+ * deterministically(by seed) before benchmarking, so the generation is not
+ * measured.
+ *
+ * <pre>
+ * - hosts:           Cardinality of the collect endpoints(host:endpoint)
+ * - metrics:         Metrics per aggregate, e.g. bench.metric0 ~ bench.metric31
+ * - tagFanout:       Tags per metric, e.g. t0 ~ t3
+ * - tagCardinality:  Values per tag, e.g. v0 ~ v15
+ * - templates:       Alarm templates per metric(half of them are tag filtered)
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class SyntheticMetricGenerator {
+
+	final public static String METRIC_PREFIX = "bench.metric";
+	final public static String ENDPOINT = "9090";
+
+	final private int hosts;
+	final private int metrics;
+	final private int tagFanout;
+	final private int tagCardinality;
+
+	/** Generated aggregates, in ring order. */
+	final private MetricAggregate[] aggregates;
+
+	/** Encoded aggregates(the receiving request bodies). */
+	final private byte[][] encoded;
+
+	public SyntheticMetricGenerator(int hosts, int metrics, int tagFanout, int tagCardinality, int samples, long seed) {
+		Assert.isTrue(hosts > 0 && metrics > 0 && samples > 0, "Hosts/metrics/samples must be greater than 0");
+		Assert.isTrue(tagFanout >= 0 && tagCardinality > 0, "Illegal tag fan-out or cardinality");
+		this.hosts = hosts;
+		this.metrics = metrics;
+		this.tagFanout = tagFanout;
+		this.tagCardinality = tagCardinality;
+		this.aggregates = new MetricAggregate[samples];
+		this.encoded = new byte[samples][];
+
+		Random random = new Random(seed);
+		long timestamp = System.currentTimeMillis() - samples * 10L;
+		for (int i = 0; i < samples; i++) {
+			MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify("bench").setNamespace("default")
+					.setHost(getHost(i % hosts)).setEndpoint(ENDPOINT).setTimestamp(timestamp + i * 10L);
+			for (int m = 0; m < metrics; m++) {
+				Metric.Builder metric = Metric.newBuilder().setMetric(METRIC_PREFIX + m).setValue(random.nextDouble() * 100d);
+				for (int t = 0; t < tagFanout; t++) {
+					metric.putTags("t" + t, "v" + random.nextInt(tagCardinality));
+				}
+				builder.addMetrics(metric.build());
+			}
+			aggregates[i] = builder.build();
+			encoded[i] = aggregates[i].toByteArray();
+		}
+	}
+
+	public int size() {
+		return aggregates.length;
+	}
+
+	public MetricAggregate getAggregate(int index) {
+		return aggregates[index];
+	}
+
+	public byte[] getEncoded(int index) {
+		return encoded[index];
+	}
+
+	public int getHosts() {
+		return hosts;
+	}
+
+	public int getMetrics() {
+		return metrics;
+	}
+
+	public int getTagFanout() {
+		return tagFanout;
+	}
+
+	public int getTagCardinality() {
+		return tagCardinality;
+	}
+
+	/**
+	 * Average encoded bytes per aggregate.
+	 *
+	 * @return
+	 */
+	public double getAvgEncodedBytes() {
+		long bytes = 0;
+		for (byte[] buf : encoded) {
+			bytes += buf.length;
+		}
+		return (double) bytes / encoded.length;
+	}
+
+	/**
+	 * Generate the alarm configurations of an endpoint, every metric has the
+	 * templates(avg/max over 60s greater than threshold), and the odd ones are
+	 * filtered by tag <b>t0=v0</b>.
+	 *
+	 * @param templates
+	 *            Templates per metric.
+	 * @param threshold
+	 *            Alarm threshold(the values are in 0~100).
+	 * @return
+	 */
+	public List<AlarmConfig> newAlarmConfigs(int templates, double threshold) {
+		List<AlarmConfig> configs = new ArrayList<>(metrics * templates);
+		AlarmContact contact = new AlarmContact();
+		contact.setId(1);
+		int templateId = 0;
+		for (int m = 0; m < metrics; m++) {
+			for (int t = 0; t < templates; t++) {
+				AlarmTemplate tpl = new AlarmTemplate();
+				tpl.setId(++templateId);
+				tpl.setName("bench-tpl-" + templateId);
+				tpl.setMetric(METRIC_PREFIX + m);
+				tpl.setClassify("bench");
+				if (t % 2 == 1 && tagFanout > 0) {
+					Map<String, String> tag = new HashMap<>(4);
+					tag.put("name", "t0");
+					tag.put("value", "v0");
+					tpl.setTagMap(Collections.singletonList(tag));
+				}
+				tpl.setRules(Collections.singletonList(newRule(templateId, t % 2 == 0 ? "avg" : "max", threshold)));
+
+				AlarmConfig config = new AlarmConfig();
+				config.setTemplateId(templateId);
+				config.setAlarmTemplate(tpl);
+				config.setAlarmContacts(Collections.singletonList(contact));
+				configs.add(config);
+			}
+		}
+		return configs;
+	}
+
+	private static AlarmRule newRule(int templateId, String aggregator, double threshold) {
+		AlarmRule rule = new AlarmRule();
+		rule.setId(templateId);
+		rule.setTemplateId(templateId);
+		rule.setAggregator(aggregator);
+		rule.setRelateOperator(2); // GT
+		rule.setLogicalOperator(2); // OR
+		rule.setQueueTimeWindow(60_000L);
+		rule.setValue(threshold);
+		rule.setAlarmLevel(1);
+		return rule;
+	}
+
+	public static String getHost(int index) {
+		return "10.0." + (index >>> 8 & 0xff) + "." + (index & 0xff);
+	}
+
+}
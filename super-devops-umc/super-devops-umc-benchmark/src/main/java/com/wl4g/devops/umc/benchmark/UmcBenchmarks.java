@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * UMC benchmarks launcher, the JMH command line options are supported, and the
+ * GC profiler(allocation rate) is always enabled.
+ *
+ * <pre>
+ * java -jar umc-benchmark-executable.jar                                  # All stages
+ * java -jar umc-benchmark-executable.jar 'IngestPathBenchmark.alarm' -t 4  # Alarm stage with 4 threads
+ * java -jar umc-benchmark-executable.jar -p hosts=10000 -p templates=8     # High cardinality
+ * java -Dumc.benchmark.redis.exec=/usr/bin/redis-server -jar ...           # redis-server 3.0+ for cluster mode
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月13日
+ * @since
+ */
+public class UmcBenchmarks {
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions).addProfiler(GCProfiler.class);
+		if (cmdOptions.getIncludes().isEmpty()) {
+			builder.include(IngestPathBenchmark.class.getName());
+		}
+		if (!cmdOptions.getResult().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON).result("umc-benchmark-result.json");
+		}
+		new Runner(builder.build()).run();
+	}
+
+}
@@ -141,6 +141,16 @@ public abstract class AbstractAdvancedHealthIndicator extends AbstractHealthIndi
 	 */
 	protected abstract Partition latestPerfInfo(String name) throws Exception;
 
+	/**
+	 * Get configured partition.
+	 * 
+	 * @param name
+	 * @return
+	 */
+	protected Partition getConfPartition(String name) {
+		return this.conf.getPartitions().get(name);
+	}
+
 	/**
 	 * Collection value formatting
 	 * 
@@ -31,6 +31,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.wl4g.devops.umc.client.sampler.ProcSampler;
 import com.wl4g.devops.umc.client.utils.PlatformOSUtil;
 
 /**
@@ -46,14 +47,22 @@ public class AdvancedCpuHealthIndicator extends AbstractAdvancedHealthIndicator
 	final private static Logger logger = LoggerFactory.getLogger(AdvancedCpuHealthIndicator.class);
 	final public static String BEAN_NAME = "advancedCoreHealthIndicator";
 
+	final private ProcSampler sampler;
+
 	public AdvancedCpuHealthIndicator(AdvancedHealthProperties<? extends Partition> conf) {
+		this(conf, ProcSampler.getDefault());
+	}
+
+	public AdvancedCpuHealthIndicator(AdvancedHealthProperties<? extends Partition> conf, ProcSampler sampler) {
 		super(conf);
+		this.sampler = sampler;
 	}
 
 	@Override
 	protected Partition latestPerfInfo(String name) throws Exception {
-		// Core/CPU list info.
-		CpuPartition part = new CpuPartition((long) (PlatformOSUtil.cpuUsage() * 100));
+		// Core/CPU list info(usage since the previous sample).
+		double usage = sampler.isSupported() ? sampler.cpuUsage() : PlatformOSUtil.cpuUsage();
+		CpuPartition part = new CpuPartition(Math.round(usage * 100));
 		part.setTimestamp(System.currentTimeMillis());
 		return part;
 	}
@@ -31,7 +31,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static org.springframework.util.StringUtils.hasText;
+
 import com.wl4g.devops.tool.common.io.FileSizeUtils;
+import com.wl4g.devops.umc.client.sampler.DiskIoSample;
+import com.wl4g.devops.umc.client.sampler.ProcSampler;
 
 /**
  * Custom operation system disk space performance indicator.<br/>
@@ -46,14 +50,32 @@ public class AdvancedDiskSpaceHealthIndicator extends AbstractAdvancedHealthIndi
 	final private static Logger logger = LoggerFactory.getLogger(AdvancedDiskSpaceHealthIndicator.class);
 	final public static String BEAN_NAME = "advancedDiskSpaceHealthIndicator";
 
+	final private ProcSampler sampler;
+
 	public AdvancedDiskSpaceHealthIndicator(AdvancedHealthProperties<? extends Partition> conf) {
+		this(conf, ProcSampler.getDefault());
+	}
+
+	public AdvancedDiskSpaceHealthIndicator(AdvancedHealthProperties<? extends Partition> conf, ProcSampler sampler) {
 		super(conf);
+		this.sampler = sampler;
 	}
 
 	@Override
 	protected Partition latestPerfInfo(String name) throws Exception {
 		// Disk space list info.
 		DiskPartition part = new DiskPartition(new File(name).getUsableSpace());
+		// Block device I/O rates(if device configured).
+		DiskPartition confPart = (DiskPartition) getConfPartition(name);
+		if (confPart != null && hasText(confPart.getDevice()) && sampler.isSupported()) {
+			DiskIoSample io = sampler.diskIo(confPart.getDevice());
+			if (io != null) {
+				part.setDevice(io.getDevice());
+				part.setReadBytesRate(io.getReadBytesRate());
+				part.setWriteBytesRate(io.getWriteBytesRate());
+				part.setIoUtilization(Math.round(io.getUtilization() * 100));
+			}
+		}
 		part.setTimestamp(System.currentTimeMillis());
 		return part;
 	}
@@ -111,6 +133,14 @@ public class AdvancedDiskSpaceHealthIndicator extends AbstractAdvancedHealthIndi
 		final public static long DEFAULT_DS_THRESHOLD = 5 * 1024 * 1024 * 1024L;
 		private long freeThresholdBytes = DEFAULT_DS_THRESHOLD;
 
+		/**
+		 * Block device name of the directory(e.g. sda, vda1), optional.
+		 */
+		private String device;
+		private long readBytesRate;
+		private long writeBytesRate;
+		private long ioUtilization;
+
 		public DiskPartition() {
 			super();
 		}
@@ -138,6 +168,39 @@ public class AdvancedDiskSpaceHealthIndicator extends AbstractAdvancedHealthIndi
 			this.freeThresholdBytes = value;
 		}
 
+		public String getDevice() {
+			return device;
+		}
+
+		public void setDevice(String device) {
+			this.device = device;
+		}
+
+		public long getReadBytesRate() {
+			return readBytesRate;
+		}
+
+		public void setReadBytesRate(long readBytesRate) {
+			this.readBytesRate = readBytesRate;
+		}
+
+		public long getWriteBytesRate() {
+			return writeBytesRate;
+		}
+
+		public void setWriteBytesRate(long writeBytesRate) {
+			this.writeBytesRate = writeBytesRate;
+		}
+
+		/** I/O utilization percent. */
+		public long getIoUtilization() {
+			return ioUtilization;
+		}
+
+		public void setIoUtilization(long ioUtilization) {
+			this.ioUtilization = ioUtilization;
+		}
+
 	}
 
 	/**
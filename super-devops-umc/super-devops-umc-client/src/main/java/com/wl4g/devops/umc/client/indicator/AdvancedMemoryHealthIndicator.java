@@ -31,6 +31,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.wl4g.devops.tool.common.io.FileSizeUtils;
+import com.wl4g.devops.umc.client.sampler.MemorySample;
+import com.wl4g.devops.umc.client.sampler.ProcSampler;
 import com.wl4g.devops.umc.client.utils.PlatformOSUtil;
 import com.wl4g.devops.umc.client.utils.PlatformOSUtil.MemInfo;
 
@@ -47,15 +49,32 @@ public class AdvancedMemoryHealthIndicator extends AbstractAdvancedHealthIndicat
 	final private static Logger logger = LoggerFactory.getLogger(AdvancedMemoryHealthIndicator.class);
 	final public static String BEAN_NAME = "advancedMemoryHealthIndicator";
 
+	final private ProcSampler sampler;
+
 	public AdvancedMemoryHealthIndicator(AdvancedHealthProperties<? extends Partition> conf) {
+		this(conf, ProcSampler.getDefault());
+	}
+
+	public AdvancedMemoryHealthIndicator(AdvancedHealthProperties<? extends Partition> conf, ProcSampler sampler) {
 		super(conf);
+		this.sampler = sampler;
 	}
 
 	@Override
 	protected Partition latestPerfInfo(String name) throws Exception {
+		MemoryPartition part = new MemoryPartition();
+		if (sampler.isSupported()) {
+			MemorySample mem = sampler.memory(); // Unit is bytes
+			part.setMemTotal(mem.getMemTotal());
+			part.setMemFree(mem.getMemFree());
+			part.setBuffers(mem.getBuffers());
+			part.setCached(mem.getCached());
+			part.setValue(mem.getMemFree()); // Used to detect health.
+			part.setTimestamp(System.currentTimeMillis());
+			return part;
+		}
 		// Memory usage info, Unit is all kB
 		MemInfo memInfo = PlatformOSUtil.memInfo(); // Unit is KB
-		MemoryPartition part = new MemoryPartition();
 		part.setMemTotal(memInfo.getMemTotal() * 1024);
 		part.setMemFree(memInfo.getMemFree() * 1024);
 		part.setBuffers(memInfo.getBuffers() * 1024);
@@ -15,8 +15,8 @@
  */
 package com.wl4g.devops.umc.client.indicator;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -30,7 +30,8 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 /**
- * Compound health monitoring processor.<br/>
+ * Compound health monitoring processor, the health tasks are scheduled by the
+ * {@link HealthTaskTimerWheel}.<br/>
  * Note: if you change it into an internal class `@Component`, it doesn't seem
  * to work.
  * 
@@ -46,12 +47,26 @@ public class CompositeHealthTaskProcessor implements InitializingBean, Disposabl
 
 	final private AtomicBoolean running = new AtomicBoolean(false);
 	private long acq = 4_000L;
-	private List<Runnable> tasks = new ArrayList<>();
+	private long tickMs = 100L;
+	private int wheelSize = 64;
+	private List<Runnable> tasks = new CopyOnWriteArrayList<>();
 	private ExecutorService executor;
+	private HealthTaskTimerWheel wheel;
 
 	public void submit(Runnable task) {
+		this.submit(task, this.acq);
+	}
+
+	/**
+	 * Submit periodic health task.
+	 * 
+	 * @param task
+	 * @param intervalMs
+	 */
+	public void submit(Runnable task, long intervalMs) {
 		if (!this.tasks.contains(task)) {
 			this.tasks.add(task);
+			this.wheel.schedule(task, intervalMs);
 		}
 	}
 
@@ -62,22 +77,7 @@ public class CompositeHealthTaskProcessor implements InitializingBean, Disposabl
 		if (logger.isInfoEnabled())
 			logger.info("Starting health indicator executor...");
 
-		this.executor.submit(() -> {
-			while (true) {
-				try {
-					this.tasks.forEach((task) -> {
-						try {
-							task.run();
-						} catch (Exception e) {
-							logger.error("Execution error.", e);
-						}
-					});
-					Thread.sleep(this.acq);
-				} catch (InterruptedException e) {
-					logger.error(e.getMessage(), e);
-				}
-			}
-		});
+		this.wheel.start();
 	}
 
 	@Override
@@ -85,9 +85,10 @@ public class CompositeHealthTaskProcessor implements InitializingBean, Disposabl
 		if (logger.isInfoEnabled())
 			logger.info("Destroy health indicator executor...");
 
-		if (this.running.compareAndSet(true, false))
+		if (this.running.compareAndSet(true, false)) {
+			this.wheel.stop();
 			this.executor.shutdownNow();
-		else
+		} else
 			logger.warn("Non startup health indicator executor.");
 	}
 
@@ -101,6 +102,8 @@ public class CompositeHealthTaskProcessor implements InitializingBean, Disposabl
 				t.setPriority(Thread.NORM_PRIORITY);
 			return t;
 		});
+		this.wheel = new HealthTaskTimerWheel(HealthTaskTimerWheel.class.getSimpleName(), this.tickMs, this.wheelSize,
+				this.executor);
 
 		this.doStart();
 	}
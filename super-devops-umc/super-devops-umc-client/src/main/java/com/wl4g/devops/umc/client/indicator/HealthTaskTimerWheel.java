@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.indicator;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timer wheel of the periodic health tasks.<br/>
+ * The worker thread parks until the next tick(instead of sleep polling), and
+ * the expired tasks of the tick bucket are executed by the executor, a
+ * periodic task is rescheduled after each execution is completed, so the
+ * executions of the same task never overlap.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class HealthTaskTimerWheel {
+	final private static Logger logger = LoggerFactory.getLogger(HealthTaskTimerWheel.class);
+
+	final private long tickNanos;
+	final private ArrayDeque<WheelTask>[] buckets;
+	final private int mask;
+
+	/** Tasks to be added to the buckets by worker. */
+	final private Queue<WheelTask> pendings = new ConcurrentLinkedQueue<>();
+
+	/** Executor of the expired tasks. */
+	final private Executor executor;
+
+	final private Thread worker;
+
+	/** Wheel start time(nanos). */
+	private volatile long startTime;
+
+	private volatile boolean running;
+
+	/** Current tick, only accessed by worker. */
+	private long tick;
+
+	/**
+	 * @param name
+	 *            Worker thread name.
+	 * @param tickMs
+	 *            Tick duration(ms).
+	 * @param wheelSize
+	 *            Number of buckets(rounded up to power of 2).
+	 * @param executor
+	 */
+	@SuppressWarnings("unchecked")
+	public HealthTaskTimerWheel(String name, long tickMs, int wheelSize, Executor executor) {
+		if (tickMs <= 0 || wheelSize <= 0 || executor == null)
+			throw new IllegalArgumentException("Illegal timer wheel tickMs/wheelSize/executor.");
+
+		int size = Integer.highestOneBit(wheelSize - 1) << 1;
+		size = size <= 0 ? 1 : size;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+		this.buckets = new ArrayDeque[size];
+		for (int i = 0; i < size; i++) {
+			this.buckets[i] = new ArrayDeque<>();
+		}
+		this.mask = size - 1;
+		this.executor = executor;
+		this.worker = new Thread(this::work, name);
+		this.worker.setDaemon(true);
+	}
+
+	public synchronized void start() {
+		if (this.running) {
+			throw new IllegalStateException("Already started timer wheel.");
+		}
+		this.startTime = System.nanoTime();
+		this.running = true;
+		this.worker.start();
+	}
+
+	public void stop() {
+		this.running = false;
+		this.worker.interrupt();
+	}
+
+	/**
+	 * Schedule task with fixed delay.
+	 *
+	 * @param task
+	 * @param intervalMs
+	 */
+	public void schedule(Runnable task, long intervalMs) {
+		if (intervalMs <= 0)
+			throw new IllegalArgumentException("Task interval must be greater than 0.");
+		this.enqueue(new WheelTask(task, TimeUnit.MILLISECONDS.toNanos(intervalMs)));
+	}
+
+	private void enqueue(WheelTask task) {
+		task.deadline = System.nanoTime() + task.intervalNanos;
+		this.pendings.offer(task);
+	}
+
+	private void work() {
+		while (this.running) {
+			// Park until next tick.
+			long deadline = this.startTime + (this.tick + 1) * this.tickNanos;
+			long wait;
+			while (this.running && (wait = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, wait);
+			}
+			if (!this.running) {
+				break;
+			}
+			this.transferPendings();
+			this.expire(this.buckets[(int) (this.tick & this.mask)]);
+			++this.tick;
+		}
+		if (logger.isInfoEnabled())
+			logger.info("Stopped health task timer wheel.");
+	}
+
+	private void transferPendings() {
+		WheelTask task;
+		while ((task = this.pendings.poll()) != null) {
+			long ticks = Math.max((task.deadline - this.startTime) / this.tickNanos, this.tick);
+			task.rounds = (ticks - this.tick) / this.buckets.length;
+			this.buckets[(int) (ticks & this.mask)].offer(task);
+		}
+	}
+
+	private void expire(ArrayDeque<WheelTask> bucket) {
+		for (Iterator<WheelTask> it = bucket.iterator(); it.hasNext();) {
+			WheelTask task = it.next();
+			if (task.rounds > 0) {
+				--task.rounds;
+				continue;
+			}
+			it.remove();
+			try {
+				this.executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				logger.warn("Rejected health task, reschedule it. {}", e.getMessage());
+				this.enqueue(task);
+			}
+		}
+	}
+
+	/**
+	 * Periodic task of wheel.
+	 */
+	private class WheelTask implements Runnable {
+		final private Runnable task;
+		final private long intervalNanos;
+		private long deadline;
+		private long rounds;
+
+		private WheelTask(Runnable task, long intervalNanos) {
+			this.task = task;
+			this.intervalNanos = intervalNanos;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.task.run();
+			} catch (Throwable e) {
+				logger.error("Execution error.", e);
+			} finally {
+				if (running) {
+					enqueue(this);
+				}
+			}
+		}
+	}
+
+}
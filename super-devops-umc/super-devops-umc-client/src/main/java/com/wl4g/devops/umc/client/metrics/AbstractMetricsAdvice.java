@@ -35,7 +35,8 @@ public abstract class AbstractMetricsAdvice implements MethodInterceptor {
 	final private static Map<Method, String> methodSignCache = new ConcurrentHashMap<>();
 
 	/**
-	 * Production unique name based on method name
+	 * Production unique name based on method name, which is built only once
+	 * when the method is first bound to the advice.
 	 * 
 	 * @param invocation
 	 * @return
@@ -43,29 +44,40 @@ public abstract class AbstractMetricsAdvice implements MethodInterceptor {
 	protected String getMetricName(MethodInvocation invocation) {
 		String metricName = methodSignCache.get(invocation.getMethod());
 		if (metricName == null) {
-			Method m = invocation.getMethod();
-			StringBuffer sign = new StringBuffer(this.classNameForShort(invocation.getThis().getClass().getName()));
-			sign.append(".");
-			sign.append(m.getName());
-			sign.append("(");
-			Parameter[] params = m.getParameters();
-			if (params != null) {
-				for (Parameter p : params) {
-					sign.append(this.paramTypeForShort(p.getType().getSimpleName()));
-					sign.append(" ");
-					sign.append(p.getName());
-					sign.append(",");
-				}
-				if (sign.length() > 1) {
-					sign.delete(sign.length() - 1, sign.length());
-				}
-				sign.append(")");
-			}
-			methodSignCache.put(m, metricName = sign.toString());
+			metricName = methodSignCache.computeIfAbsent(invocation.getMethod(),
+					m -> buildSignature(invocation.getThis().getClass(), m));
 		}
 		return metricName;
 	}
 
+	/**
+	 * Build method signature, e.g. c.w.d.u.TestService.hello(String name)
+	 * 
+	 * @param targetClass
+	 * @param m
+	 * @return
+	 */
+	private String buildSignature(Class<?> targetClass, Method m) {
+		StringBuilder sign = new StringBuilder(64).append(this.classNameForShort(targetClass.getName()));
+		sign.append(".");
+		sign.append(m.getName());
+		sign.append("(");
+		Parameter[] params = m.getParameters();
+		if (params != null) {
+			for (Parameter p : params) {
+				sign.append(this.paramTypeForShort(p.getType().getSimpleName()));
+				sign.append(" ");
+				sign.append(p.getName());
+				sign.append(",");
+			}
+			if (sign.charAt(sign.length() - 1) == ',') {
+				sign.delete(sign.length() - 1, sign.length());
+			}
+			sign.append(")");
+		}
+		return sign.toString();
+	}
+
 	/**
 	 * io.transport.common.cache.JedisService -> i.t.c.c.JedisService
 	 * 
@@ -73,7 +85,7 @@ public abstract class AbstractMetricsAdvice implements MethodInterceptor {
 	 * @return
 	 */
 	private String classNameForShort(String methodName) {
-		StringBuffer name = new StringBuffer();
+		StringBuilder name = new StringBuilder(methodName.length());
 		String[] arr = methodName.split("\\.");
 		for (int i = 0; i < arr.length - 1; i++) {
 			if (i >= (arr.length - 1)) {
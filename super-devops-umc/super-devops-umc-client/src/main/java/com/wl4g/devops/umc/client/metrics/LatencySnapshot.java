@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.metrics;
+
+/**
+ * Interval latency snapshot of method, the values are in nanoseconds.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class LatencySnapshot {
+
+	final private String metricName;
+	final private long startTime;
+	final private long endTime;
+	final private long count;
+	final private long min;
+	final private double mean;
+	final private long p50;
+	final private long p99;
+	final private long p999;
+	final private long max;
+
+	public LatencySnapshot(String metricName, long startTime, long endTime, long count, long min, double mean, long p50,
+			long p99, long p999, long max) {
+		this.metricName = metricName;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.count = count;
+		this.min = min;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.max = max;
+	}
+
+	public String getMetricName() {
+		return metricName;
+	}
+
+	/** Interval start time(ms). */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/** Interval end time(ms). */
+	public long getEndTime() {
+		return endTime;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMin() {
+		return min;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getP999() {
+		return p999;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencySnapshot [metricName=" + metricName + ", count=" + count + ", min=" + toMillis(min) + "ms, mean="
+				+ toMillis(mean) + "ms, p50=" + toMillis(p50) + "ms, p99=" + toMillis(p99) + "ms, p999=" + toMillis(p999)
+				+ "ms, max=" + toMillis(max) + "ms]";
+	}
+
+	/**
+	 * Nanoseconds to milliseconds(microseconds precision).
+	 *
+	 * @param nanos
+	 * @return
+	 */
+	public static double toMillis(double nanos) {
+		return Math.round(nanos / 1000d) / 1000d;
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Per-method latency recorder based on HdrHistogram, the latencies are
+ * recorded wait-free by the calling threads, and the histograms are flipped
+ * into interval snapshots(at most once per interval, when they are read), so
+ * that the health indicator, actuator metrics and metric exporting all read the
+ * same latest interval.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class MethodLatencyRecorder implements PublicMetrics {
+
+	/** Latency metric tag of method. */
+	final public static String TAG_METHOD = "method";
+
+	/** Latency metric name prefix. */
+	final public static String METRIC_PREFIX = "timer.";
+
+	/** Method latencies by metric name. */
+	final private Map<String, MethodLatency> latencies = new ConcurrentHashMap<>();
+
+	/** Histogram precision(number of significant value digits). */
+	final private int significantDigits;
+
+	/** Snapshot interval(ms). */
+	final private long snapshotIntervalMs;
+
+	/** Last snapshot time(ms). */
+	private volatile long lastSnapshotTime = System.currentTimeMillis();
+
+	/** Latest interval snapshots. */
+	private volatile List<LatencySnapshot> snapshots = emptyList();
+
+	public MethodLatencyRecorder(int significantDigits, long snapshotIntervalMs) {
+		Assert.isTrue(significantDigits >= 0 && significantDigits <= 5, "Significant digits must be between 0 and 5.");
+		Assert.isTrue(snapshotIntervalMs > 0, "Snapshot interval must be greater than 0.");
+		this.significantDigits = significantDigits;
+		this.snapshotIntervalMs = snapshotIntervalMs;
+	}
+
+	/**
+	 * Gets or create method latency, usually called once at advice binding.
+	 *
+	 * @param metricName
+	 * @return
+	 */
+	public MethodLatency getLatency(String metricName) {
+		return latencies.computeIfAbsent(metricName, name -> new MethodLatency(name, significantDigits));
+	}
+
+	/**
+	 * Gets latest interval snapshots of the recorded methods.
+	 *
+	 * @return
+	 */
+	public List<LatencySnapshot> getSnapshots() {
+		long now = System.currentTimeMillis();
+		if ((now - lastSnapshotTime) >= snapshotIntervalMs) {
+			synchronized (this) {
+				if ((now - lastSnapshotTime) >= snapshotIntervalMs) {
+					List<LatencySnapshot> snapshots = new ArrayList<>(latencies.size());
+					for (MethodLatency latency : latencies.values()) {
+						LatencySnapshot snapshot = latency.snapshot();
+						if (snapshot != null) {
+							snapshots.add(snapshot);
+						}
+					}
+					this.snapshots = unmodifiableList(snapshots);
+					this.lastSnapshotTime = now;
+				}
+			}
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Export latest interval percentiles(ms) to metric aggregate.
+	 *
+	 * <pre>
+	 * timer.p50{method=...}, timer.p99{method=...}, timer.p999{method=...}, timer.max{method=...}
+	 * </pre>
+	 *
+	 * @param builder
+	 */
+	public void exportTo(MetricAggregate.Builder builder) {
+		for (LatencySnapshot s : getSnapshots()) {
+			builder.addMetrics(newMetric("p50", s.getMetricName(), s.getP50()));
+			builder.addMetrics(newMetric("p99", s.getMetricName(), s.getP99()));
+			builder.addMetrics(newMetric("p999", s.getMetricName(), s.getP999()));
+			builder.addMetrics(newMetric("max", s.getMetricName(), s.getMax()));
+		}
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<LatencySnapshot> snapshots = getSnapshots();
+		List<Metric<?>> metrics = new ArrayList<>(snapshots.size() * 5);
+		for (LatencySnapshot s : snapshots) {
+			String prefix = METRIC_PREFIX + s.getMetricName();
+			metrics.add(new Metric<Long>(prefix + ".count", s.getCount()));
+			metrics.add(new Metric<Double>(prefix + ".p50", LatencySnapshot.toMillis(s.getP50())));
+			metrics.add(new Metric<Double>(prefix + ".p99", LatencySnapshot.toMillis(s.getP99())));
+			metrics.add(new Metric<Double>(prefix + ".p999", LatencySnapshot.toMillis(s.getP999())));
+			metrics.add(new Metric<Double>(prefix + ".max", LatencySnapshot.toMillis(s.getMax())));
+		}
+		return metrics;
+	}
+
+	private MetricModel.Metric newMetric(String percentile, String metricName, long nanos) {
+		return MetricModel.Metric.newBuilder().setMetric(METRIC_PREFIX + percentile).putTags(TAG_METHOD, metricName)
+				.setValue(LatencySnapshot.toMillis(nanos)).build();
+	}
+
+	/**
+	 * Latency histogram of method.
+	 *
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0 2020年3月10日
+	 * @since
+	 */
+	public static class MethodLatency {
+
+		final private String metricName;
+
+		/** Wait-free writer, double-buffered interval histograms. */
+		final private Recorder recorder;
+
+		/** Recycled interval histogram, only accessed when snapshotting. */
+		private Histogram interval;
+
+		private MethodLatency(String metricName, int significantDigits) {
+			this.metricName = metricName;
+			this.recorder = new Recorder(significantDigits);
+		}
+
+		public String getMetricName() {
+			return metricName;
+		}
+
+		/**
+		 * Record latency.
+		 *
+		 * @param nanos
+		 */
+		public void record(long nanos) {
+			recorder.recordValue(nanos < 0 ? 0 : nanos);
+		}
+
+		/**
+		 * Flip to interval snapshot.
+		 *
+		 * @return null if nothing recorded in the interval.
+		 */
+		private LatencySnapshot snapshot() {
+			interval = recorder.getIntervalHistogram(interval);
+			if (interval.getTotalCount() == 0) {
+				return null;
+			}
+			return new LatencySnapshot(metricName, interval.getStartTimeStamp(), interval.getEndTimeStamp(),
+					interval.getTotalCount(), interval.getMinValue(), interval.getMean(), interval.getValueAtPercentile(50d),
+					interval.getValueAtPercentile(99d), interval.getValueAtPercentile(99.9d), interval.getMaxValue());
+		}
+
+	}
+
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.metrics;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.HEADER_TAG_DICTIONARY;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.HEADER_TAG_DICTIONARY_RESYNC;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.URI_HTTP_RECEIVER_BASE;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.URI_HTTP_RECEIVER_ENDPOINT;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.Assert;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.wl4g.devops.common.bean.umc.model.codec.TagDictionaryEncoder;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.client.indicator.CompositeHealthTaskProcessor;
+import com.wl4g.devops.umc.client.metrics.TimerMetricsAdvice.TimerMetricsProperties;
+
+/**
+ * Metrics reporter, the latest interval latencies of
+ * {@link MethodLatencyRecorder} are reported periodically to the UMC HTTP
+ * receiver. The aggregates are encoded by {@link TagDictionaryEncoder}, so
+ * after the first accepted report only the series ids and values of metrics
+ * are sent, and the definitions are re-sent when the report failed, or the
+ * receiver rejects the unresolved series and requests re-sync, in which case
+ * the report is re-sent immediately with the definitions.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月16日
+ * @since
+ */
+public class MetricsReporter implements InitializingBean, Runnable {
+	final private static Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+	/** Metric aggregate classify of reported latencies. */
+	final public static String CLASSIFY = "timer";
+
+	final private MetricsReportProperties conf;
+	final private MethodLatencyRecorder latencyRecorder;
+	final private CompositeHealthTaskProcessor processor;
+	final private RestTemplate restTemplate;
+
+	/** Tag dictionary encoder of this sender. */
+	final private TagDictionaryEncoder encoder = new TagDictionaryEncoder(true);
+
+	/** Receiver end-point URL. */
+	final private String receiverUrl;
+
+	public MetricsReporter(MetricsReportProperties conf, MethodLatencyRecorder latencyRecorder,
+			CompositeHealthTaskProcessor processor, RestTemplate restTemplate) {
+		Assert.hasText(conf.getReceiverBaseUrl(), "Receiver base URL of metrics report is empty.");
+		Assert.notNull(latencyRecorder, "Method latency recorder is null.");
+		Assert.notNull(processor, "Health task processor is null.");
+		Assert.notNull(restTemplate, "Rest template is null.");
+		this.conf = conf;
+		this.latencyRecorder = latencyRecorder;
+		this.processor = processor;
+		this.restTemplate = restTemplate;
+		this.receiverUrl = conf.getReceiverBaseUrl() + URI_HTTP_RECEIVER_BASE + "/" + URI_HTTP_RECEIVER_ENDPOINT;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		processor.submit(this, conf.getIntervalMs());
+	}
+
+	@Override
+	public void run() {
+		try {
+			report();
+		} catch (Exception e) {
+			log.warn("Failed to report metrics to: {}, causes by: {}", receiverUrl, e.getMessage());
+		}
+	}
+
+	/**
+	 * Report the latest interval latencies.
+	 */
+	protected void report() {
+		MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify(CLASSIFY).setHost(conf.getHost())
+				.setEndpoint(conf.getEndpoint()).setNamespace(conf.getNamespace()).setTimestamp(System.currentTimeMillis());
+		latencyRecorder.exportTo(builder);
+		if (builder.getMetricsCount() == 0) {
+			return;
+		}
+
+		MetricAggregate aggregate = builder.build();
+		try {
+			if (!send(aggregate)) {
+				// e.g. The receiver is restarted, re-send with the definitions.
+				encoder.resync();
+				if (!send(aggregate)) {
+					encoder.resync();
+					throw new IllegalStateException("Unresolved series are rejected by receiver after re-sync.");
+				}
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Reported metrics size: {}, series: {}", builder.getMetricsCount(), encoder.getSeries());
+			}
+		} catch (RestClientException e) {
+			// The announced definitions may be lost.
+			encoder.resync();
+			throw e;
+		}
+	}
+
+	/**
+	 * Send the encoded metric aggregate, the announced definitions are
+	 * acknowledged when it's accepted by the receiver.
+	 *
+	 * @param aggregate
+	 * @return false if the series are unresolved and rejected by receiver.
+	 */
+	private boolean send(MetricAggregate aggregate) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+		headers.set(HEADER_TAG_DICTIONARY, String.valueOf(encoder.getDictionary()));
+		HttpEntity<byte[]> entity = new HttpEntity<>(encoder.encode(aggregate), headers);
+		try {
+			ResponseEntity<Void> resp = restTemplate.exchange(receiverUrl, HttpMethod.POST, entity, Void.class);
+			if (Boolean.parseBoolean(resp.getHeaders().getFirst(HEADER_TAG_DICTIONARY_RESYNC))) {
+				encoder.resync();
+			} else {
+				encoder.acknowledge();
+			}
+			return true;
+		} catch (HttpStatusCodeException e) {
+			HttpHeaders respHeaders = e.getResponseHeaders();
+			if (respHeaders != null && Boolean.parseBoolean(respHeaders.getFirst(HEADER_TAG_DICTIONARY_RESYNC))) {
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Metrics report properties.
+	 *
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0 2020年3月16日
+	 * @since
+	 */
+	@Configuration
+	@ConditionalOnProperty(name = MetricsReportProperties.CONF_P + ".enable", matchIfMissing = false)
+	@ConfigurationProperties(prefix = MetricsReportProperties.CONF_P)
+	public static class MetricsReportProperties {
+		final public static String CONF_P = "spring.cloud.devops.metrics.report";
+		final public static long DEFAULT_INTERVAL_MS = 10_000L;
+		final public static int DEFAULT_TIMEOUT_MS = 3_000;
+
+		/**
+		 * Base URL of the UMC HTTP receiver, e.g.
+		 * http://umc-receiver:14047/umc-receiver
+		 */
+		private String receiverBaseUrl;
+		/**
+		 * Report interval(ms), usually the same as the latency snapshot
+		 * interval.
+		 */
+		private long intervalMs = DEFAULT_INTERVAL_MS;
+		/**
+		 * Connect and read timeout(ms) of reporting.
+		 */
+		private int timeoutMs = DEFAULT_TIMEOUT_MS;
+		/**
+		 * Reported host, default to the local host name.
+		 */
+		private String host;
+		/**
+		 * Reported end-point, default to the server port.
+		 */
+		private String endpoint;
+		/**
+		 * Reported namespace, default to the application name.
+		 */
+		private String namespace;
+
+		public String getReceiverBaseUrl() {
+			return receiverBaseUrl;
+		}
+
+		public void setReceiverBaseUrl(String receiverBaseUrl) {
+			this.receiverBaseUrl = receiverBaseUrl;
+		}
+
+		public long getIntervalMs() {
+			return intervalMs;
+		}
+
+		public void setIntervalMs(long intervalMs) {
+			this.intervalMs = intervalMs;
+		}
+
+		public int getTimeoutMs() {
+			return timeoutMs;
+		}
+
+		public void setTimeoutMs(int timeoutMs) {
+			this.timeoutMs = timeoutMs;
+		}
+
+		public String getHost() {
+			return host;
+		}
+
+		public void setHost(String host) {
+			this.host = host;
+		}
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public void setEndpoint(String endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		public String getNamespace() {
+			return namespace;
+		}
+
+		public void setNamespace(String namespace) {
+			this.namespace = namespace;
+		}
+
+		@Override
+		public String toString() {
+			return "MetricsReportProperties [receiverBaseUrl=" + receiverBaseUrl + ", intervalMs=" + intervalMs + ", timeoutMs="
+					+ timeoutMs + ", host=" + host + ", endpoint=" + endpoint + ", namespace=" + namespace + "]";
+		}
+
+	}
+
+	/**
+	 * Metrics report configuration bootstrap, the latencies are recorded by
+	 * the timer metrics advice.
+	 *
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0 2020年3月16日
+	 * @since
+	 */
+	@Configuration
+	@ConditionalOnBean({ MetricsReportProperties.class, TimerMetricsProperties.class })
+	public static class MetricsReportConfiguration {
+
+		@Bean
+		public MetricsReporter metricsReporter(MetricsReportProperties conf, MethodLatencyRecorder latencyRecorder,
+				CompositeHealthTaskProcessor processor, Environment environment) throws UnknownHostException {
+			if (conf.getIntervalMs() <= 0)
+				throw new IllegalArgumentException("Metrics report interval must be greater than 0.");
+			if (conf.getHost() == null)
+				conf.setHost(InetAddress.getLocalHost().getHostName());
+			if (conf.getEndpoint() == null)
+				conf.setEndpoint(environment.getProperty("server.port", "8080"));
+			if (conf.getNamespace() == null)
+				conf.setNamespace(environment.getProperty("spring.application.name", ""));
+			if (log.isInfoEnabled())
+				log.info("Initial metricsReporter. {}", conf);
+
+			SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+			factory.setConnectTimeout(conf.getTimeoutMs());
+			factory.setReadTimeout(conf.getTimeoutMs());
+			return new MetricsReporter(conf, latencyRecorder, processor, new RestTemplate(factory));
+		}
+
+	}
+
+}
@@ -15,12 +15,15 @@
  */
 package com.wl4g.devops.umc.client.metrics;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aopalliance.intercept.MethodInvocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -29,7 +32,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
 
 import com.wl4g.devops.common.exception.umc.UmcException;
-import com.wl4g.devops.umc.client.indicator.TimeoutsHealthIndicator;
+import com.wl4g.devops.umc.client.metrics.MethodLatencyRecorder.MethodLatency;
 
 /**
  * It can be used to monitor the number of times it is called.<br/>
@@ -42,72 +45,39 @@ import com.wl4g.devops.umc.client.indicator.TimeoutsHealthIndicator;
 public class TimerMetricsAdvice extends AbstractMetricsAdvice {
 	final private static Logger log = LoggerFactory.getLogger(TimerMetricsAdvice.class);
 
-	@Autowired(required = false)
-	private TimeoutsHealthIndicator timeoutsHealthIndicator; // Non-required
-
 	/**
-	 * Specific implementations are dependent on packages and recommend relying
-	 * on metrics-core packages.<br/>
-	 * Optional implementations are: DefaultGaugeService / Dropwizard Metric
-	 * Services / BufferGaugeService / ServoMetric Services
+	 * Per-method latency histograms, which are read by timeouts health
+	 * indicator and actuator metrics endpoint.
 	 */
 	@Autowired
-	private GaugeService gaugeService;
+	private MethodLatencyRecorder latencyRecorder;
+
+	/**
+	 * Latency histograms bound by method, so the signature is only built once.
+	 */
+	final private Map<Method, MethodLatency> bindings = new ConcurrentHashMap<>();
 
 	@Override
 	public Object invoke(MethodInvocation invocation) throws Throwable {
 		try {
-			// Get metric(method) name.
-			String metricName = getMetricName(invocation);
-
-			long start = System.currentTimeMillis();
-			Object res = invocation.proceed();
-			long timeDiff = System.currentTimeMillis() - start;
-
-			// Save gauge.
-			this.gaugeService.submit(warpTimerName(metricName), timeDiff);
-
-			// Save gauge to healthIndicator.
-			this.saveHealthIndicator(metricName, timeDiff);
+			// Get bound latency of metric(method).
+			MethodLatency latency = bindings.get(invocation.getMethod());
+			if (latency == null) {
+				latency = bindings.computeIfAbsent(invocation.getMethod(),
+						m -> latencyRecorder.getLatency(getMetricName(invocation)));
+			}
 
-			return res;
+			long start = System.nanoTime();
+			try {
+				return invocation.proceed();
+			} finally {
+				latency.record(System.nanoTime() - start);
+			}
 		} catch (Throwable e) {
 			throw new UmcException(e);
 		}
 	}
 
-	/**
-	 * Save health indicator.
-	 * 
-	 * @param metricName
-	 * @param timeDiff
-	 */
-	private void saveHealthIndicator(String metricName, long timeDiff) {
-		if (this.timeoutsHealthIndicator != null) {
-			this.timeoutsHealthIndicator.addTimes(metricName, timeDiff);
-		}
-	}
-
-	/**
-	 * Note that gaugeService includes not only timer metrics, but also other
-	 * metrics such as counter and histogram etc, the same method of AOP
-	 * interception should also use different metricNames for recording each
-	 * metric information using gaugeService, <font color=red>otherwise, it will
-	 * throw "IllegalArgumentException: A metric named xxx already exists"
-	 * exception.</font><br/>
-	 * See: org.springframework.boot.actuate.metrics.dropwizard.
-	 * DropwizardMetricServices.submit
-	 * 
-	 * @param name
-	 * @return
-	 */
-	private String warpTimerName(String name) {
-		// return "lossTime." + name; // Common type of meter.
-		return "timer." + name; // It corresponds to a special timer type
-								// meter(Automatically calculate the maximum and
-								// minimum mean value.).
-	}
-
 	/**
 	 * Timer monitor measure properties.
 	 * 
@@ -121,7 +91,8 @@ public class TimerMetricsAdvice extends AbstractMetricsAdvice {
 	@ConfigurationProperties(prefix = TimerMetricsProperties.CONF_P)
 	public static class TimerMetricsProperties {
 		final public static String CONF_P = "spring.cloud.devops.metrics.timeouts";
-		final public static int DEFAULT_SAMPLES = 32;
+		final public static int DEFAULT_SIGNIFICANT_DIGITS = 2;
+		final public static long DEFAULT_SNAPSHOT_INTERVAL_MS = 10_000L;
 		final public static long DEFAULT_TIMEOUTS_THRESHOLD = 15_000L;
 
 		/**
@@ -129,21 +100,33 @@ public class TimerMetricsAdvice extends AbstractMetricsAdvice {
 		 */
 		private String expression;
 		/**
-		 * AOP intercepts the number of historical records saved by statistical
-		 * calls.
+		 * Latency histogram precision(number of significant value digits).
+		 */
+		private int significantDigits = DEFAULT_SIGNIFICANT_DIGITS;
+		/**
+		 * Latency histograms are snapshot per interval(ms), the percentiles
+		 * and timeouts are calculated within the latest interval.
 		 */
-		private int samples = DEFAULT_SAMPLES;
+		private long snapshotIntervalMs = DEFAULT_SNAPSHOT_INTERVAL_MS;
 		/**
 		 * AOP intercept call time consuming timeout alarm threshold.
 		 */
 		private long timeoutsThreshold = DEFAULT_TIMEOUTS_THRESHOLD;
 
-		public int getSamples() {
-			return samples;
+		public int getSignificantDigits() {
+			return significantDigits;
 		}
 
-		public void setSamples(int latestMeasureCount) {
-			this.samples = latestMeasureCount;
+		public void setSignificantDigits(int significantDigits) {
+			this.significantDigits = significantDigits;
+		}
+
+		public long getSnapshotIntervalMs() {
+			return snapshotIntervalMs;
+		}
+
+		public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+			this.snapshotIntervalMs = snapshotIntervalMs;
 		}
 
 		public String getExpression() {
@@ -202,6 +185,11 @@ public class TimerMetricsAdvice extends AbstractMetricsAdvice {
 			return new TimerMetricsAdvice();
 		}
 
+		@Bean
+		public MethodLatencyRecorder methodLatencyRecorder(TimerMetricsProperties conf) {
+			return new MethodLatencyRecorder(conf.getSignificantDigits(), conf.getSnapshotIntervalMs());
+		}
+
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+/**
+ * Block device I/O rates of /proc/diskstats, computed by the deltas between
+ * two samples.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class DiskIoSample {
+
+	final private String device;
+	final private long readBytesRate;
+	final private long writeBytesRate;
+	final private double utilization;
+
+	public DiskIoSample(String device, long readBytesRate, long writeBytesRate, double utilization) {
+		this.device = device;
+		this.readBytesRate = readBytesRate;
+		this.writeBytesRate = writeBytesRate;
+		this.utilization = utilization;
+	}
+
+	public String getDevice() {
+		return device;
+	}
+
+	/** Read bytes per second. */
+	public long getReadBytesRate() {
+		return readBytesRate;
+	}
+
+	/** Written bytes per second. */
+	public long getWriteBytesRate() {
+		return writeBytesRate;
+	}
+
+	/** Ratio(0~1) of the time doing I/Os. */
+	public double getUtilization() {
+		return utilization;
+	}
+
+	@Override
+	public String toString() {
+		return "DiskIoSample [device=" + device + ", readBytesRate=" + readBytesRate + ", writeBytesRate=" + writeBytesRate
+				+ ", utilization=" + utilization + "]";
+	}
+
+}
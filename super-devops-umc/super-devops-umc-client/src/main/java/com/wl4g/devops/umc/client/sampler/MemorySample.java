@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+/**
+ * System memory sample of /proc/meminfo, the values are in bytes.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class MemorySample {
+
+	final private long memTotal;
+	final private long memFree;
+	final private long memAvailable;
+	final private long buffers;
+	final private long cached;
+	final private long swapTotal;
+	final private long swapFree;
+
+	public MemorySample(long memTotal, long memFree, long memAvailable, long buffers, long cached, long swapTotal,
+			long swapFree) {
+		this.memTotal = memTotal;
+		this.memFree = memFree;
+		this.memAvailable = memAvailable;
+		this.buffers = buffers;
+		this.cached = cached;
+		this.swapTotal = swapTotal;
+		this.swapFree = swapFree;
+	}
+
+	public long getMemTotal() {
+		return memTotal;
+	}
+
+	public long getMemFree() {
+		return memFree;
+	}
+
+	/** Estimated available memory(the kernel before 3.14 is 0). */
+	public long getMemAvailable() {
+		return memAvailable;
+	}
+
+	public long getBuffers() {
+		return buffers;
+	}
+
+	public long getCached() {
+		return cached;
+	}
+
+	public long getSwapTotal() {
+		return swapTotal;
+	}
+
+	public long getSwapFree() {
+		return swapFree;
+	}
+
+	@Override
+	public String toString() {
+		return "MemorySample [memTotal=" + memTotal + ", memFree=" + memFree + ", memAvailable=" + memAvailable + ", buffers="
+				+ buffers + ", cached=" + cached + ", swapTotal=" + swapTotal + ", swapFree=" + swapFree + "]";
+	}
+
+}
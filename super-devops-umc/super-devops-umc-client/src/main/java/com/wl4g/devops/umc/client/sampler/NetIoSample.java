@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+/**
+ * Network interface traffic rates of /proc/net/dev, computed by the deltas
+ * between two samples.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class NetIoSample {
+
+	final private String iface;
+	final private long rxBytesRate;
+	final private long txBytesRate;
+
+	public NetIoSample(String iface, long rxBytesRate, long txBytesRate) {
+		this.iface = iface;
+		this.rxBytesRate = rxBytesRate;
+		this.txBytesRate = txBytesRate;
+	}
+
+	public String getIface() {
+		return iface;
+	}
+
+	/** Received bytes per second. */
+	public long getRxBytesRate() {
+		return rxBytesRate;
+	}
+
+	/** Transmitted bytes per second. */
+	public long getTxBytesRate() {
+		return txBytesRate;
+	}
+
+	@Override
+	public String toString() {
+		return "NetIoSample [iface=" + iface + ", rxBytesRate=" + rxBytesRate + ", txBytesRate=" + txBytesRate + "]";
+	}
+
+}
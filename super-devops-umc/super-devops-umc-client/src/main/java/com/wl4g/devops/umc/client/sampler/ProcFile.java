@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Kept open /proc(or fixture) file, the content is re-read from position 0
+ * into the reused buffer on each sample, and parsed with a cursor directly on
+ * the bytes(without decoding lines into Strings).<br/>
+ * Not thread-safe, the callers synchronize on the instance.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+final class ProcFile implements Closeable {
+
+	final private Path path;
+
+	private FileChannel channel;
+
+	/** Reused read buffer, doubled when the content does not fit. */
+	private ByteBuffer buffer;
+
+	/** Content length of last read. */
+	private int limit;
+
+	/** Parse cursor. */
+	private int pos;
+
+	ProcFile(Path path, int initialCapacity) {
+		this.path = path;
+		this.buffer = ByteBuffer.allocateDirect(initialCapacity);
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Re-read whole file content with positional reads, and reset cursor.
+	 *
+	 * @return content length
+	 * @throws IOException
+	 */
+	int reload() throws IOException {
+		if (channel == null) {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+		}
+		for (;;) {
+			buffer.clear();
+			long offset = 0;
+			int n;
+			while (buffer.hasRemaining() && (n = channel.read(buffer, offset)) > 0) {
+				offset += n;
+			}
+			if (buffer.hasRemaining()) {
+				break;
+			}
+			// Content may be truncated, grow and read again from start.
+			buffer = ByteBuffer.allocateDirect(buffer.capacity() << 1);
+		}
+		limit = buffer.position();
+		pos = 0;
+		return limit;
+	}
+
+	/**
+	 * Move cursor to the start of next line.
+	 *
+	 * @return false if there is no more line.
+	 */
+	boolean nextLine() {
+		while (pos < limit && buffer.get(pos) != '\n') {
+			++pos;
+		}
+		if (pos < limit) {
+			++pos;
+		}
+		return pos < limit;
+	}
+
+	/**
+	 * Whether the bytes at cursor(of the current line) equal to prefix, if so
+	 * move the cursor after the prefix.
+	 *
+	 * @param prefix
+	 * @return
+	 */
+	boolean startsWith(byte[] prefix) {
+		if (pos + prefix.length > limit) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (buffer.get(pos + i) != prefix[i]) {
+				return false;
+			}
+		}
+		pos += prefix.length;
+		return true;
+	}
+
+	/**
+	 * Move cursor to the line starting with prefix(searching from the current
+	 * line), and after the prefix.
+	 *
+	 * @param prefix
+	 * @return false if not found.
+	 */
+	boolean seekLine(byte[] prefix) {
+		do {
+			if (startsWith(prefix)) {
+				return true;
+			}
+		} while (nextLine());
+		return false;
+	}
+
+	/**
+	 * Skip blanks and move cursor after the next whitespace separated token of
+	 * the current line, whether it equals to expected.
+	 *
+	 * @param expected
+	 * @return
+	 */
+	boolean nextTokenEquals(byte[] expected) {
+		skipBlanks();
+		int start = pos;
+		while (pos < limit && !isBlank(buffer.get(pos)) && buffer.get(pos) != '\n') {
+			++pos;
+		}
+		if (pos - start != expected.length) {
+			return false;
+		}
+		for (int i = 0; i < expected.length; i++) {
+			if (buffer.get(start + i) != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Move cursor after the last occurrence of the byte in the current line.
+	 *
+	 * @param b
+	 * @return false if not found.
+	 */
+	boolean skipPastLast(byte b) {
+		int found = -1;
+		for (int i = pos; i < limit && buffer.get(i) != '\n'; i++) {
+			if (buffer.get(i) == b) {
+				found = i;
+			}
+		}
+		if (found < 0) {
+			return false;
+		}
+		pos = found + 1;
+		return true;
+	}
+
+	/**
+	 * Skip whitespace separated tokens of the current line.
+	 *
+	 * @param n
+	 */
+	void skipTokens(int n) {
+		for (int i = 0; i < n; i++) {
+			skipBlanks();
+			while (pos < limit && !isBlank(buffer.get(pos)) && buffer.get(pos) != '\n') {
+				++pos;
+			}
+		}
+	}
+
+	/**
+	 * Parse next(optionally negative) decimal number of the current line, the
+	 * non-digit bytes before it are skipped.
+	 *
+	 * @return parsed number, or -1 if there is no more number in the line.
+	 */
+	long nextLong() {
+		byte b = 0;
+		while (pos < limit && (b = buffer.get(pos)) != '\n' && (b < '0' || b > '9') && b != '-') {
+			++pos;
+		}
+		if (pos >= limit || b == '\n') {
+			return -1L;
+		}
+		boolean negative = false;
+		if (b == '-') {
+			negative = true;
+			++pos;
+		}
+		long value = 0;
+		while (pos < limit && (b = buffer.get(pos)) >= '0' && b <= '9') {
+			value = value * 10 + (b - '0');
+			++pos;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Skip blanks of the current line.
+	 */
+	void skipBlanks() {
+		while (pos < limit && isBlank(buffer.get(pos))) {
+			++pos;
+		}
+	}
+
+	private static boolean isBlank(byte b) {
+		return b == ' ' || b == '\t';
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+}
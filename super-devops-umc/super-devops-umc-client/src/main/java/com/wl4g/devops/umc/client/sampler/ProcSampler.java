@@ -0,0 +1,386 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Low-overhead sampling engine of Linux /proc files.<br/>
+ * The files(/proc/stat, /proc/meminfo, /proc/diskstats, /proc/net/dev,
+ * /proc/self/stat, /proc/self/status) are kept open and re-read with positional reads into the
+ * reused buffers, the numbers are parsed directly from bytes, and the rates
+ * are computed by the deltas between the samples, so sampling costs neither
+ * file opening nor garbage of lines.<br/>
+ * The root directory can be a captured /proc snapshot(fixture).
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class ProcSampler implements Closeable {
+	final private static Logger logger = LoggerFactory.getLogger(ProcSampler.class);
+
+	/** Default /proc root directory. */
+	final public static String DEFAULT_PROC_ROOT = "/proc";
+
+	/** Clock ticks per second of /proc(USER_HZ). */
+	final public static long USER_HZ = 100L;
+
+	/** Sector size of /proc/diskstats. */
+	final public static long SECTOR_SIZE = 512L;
+
+	final private static byte[] CPU = "cpu ".getBytes(StandardCharsets.US_ASCII);
+	final private static byte[] VM_RSS = "VmRSS:".getBytes(StandardCharsets.US_ASCII);
+	final private static byte[][] MEM_KEYS = { bytes("MemTotal:"), bytes("MemFree:"), bytes("MemAvailable:"),
+			bytes("Buffers:"), bytes("Cached:"), bytes("SwapTotal:"), bytes("SwapFree:") };
+
+	final private Path root;
+	final private boolean supported;
+
+	/** Monotonic clock(ns) of the rates. */
+	final private LongSupplier nanoClock;
+
+	final private ProcFile stat;
+	final private ProcFile meminfo;
+	final private ProcFile diskstats;
+	final private ProcFile netDev;
+	final private ProcFile selfStat;
+	final private ProcFile selfStatus;
+
+	/** Previous cpu ticks, guarded by stat. */
+	private long prevCpuTotal;
+	private long prevCpuIdle;
+	private double cpuUsage;
+
+	/** Previous process ticks, guarded by selfStat. */
+	private long prevProcTicks = -1L;
+	private long prevProcNanos;
+	private double procCpuUsage;
+
+	/** Reused parsed values of meminfo, guarded by meminfo. */
+	final private long[] memValues = new long[MEM_KEYS.length];
+
+	/** Previous counters of block devices, guarded by diskstats. */
+	final private Map<String, DeviceCounters> devices = new HashMap<>();
+
+	/** Previous counters of network interfaces, guarded by netDev. */
+	final private Map<String, InterfaceCounters> interfaces = new HashMap<>();
+
+	public ProcSampler() {
+		this(DEFAULT_PROC_ROOT);
+	}
+
+	public ProcSampler(String procRoot) {
+		this(procRoot, System::nanoTime);
+	}
+
+	ProcSampler(String procRoot, LongSupplier nanoClock) {
+		Assert.hasText(procRoot, "Proc root directory must not be empty.");
+		Assert.notNull(nanoClock, "Nano clock must not be null.");
+		this.root = Paths.get(procRoot);
+		this.nanoClock = nanoClock;
+		this.supported = Files.isReadable(root.resolve("stat"));
+		this.stat = new ProcFile(root.resolve("stat"), 8192);
+		this.meminfo = new ProcFile(root.resolve("meminfo"), 4096);
+		this.diskstats = new ProcFile(root.resolve("diskstats"), 8192);
+		this.netDev = new ProcFile(root.resolve("net").resolve("dev"), 4096);
+		this.selfStat = new ProcFile(root.resolve("self").resolve("stat"), 1024);
+		this.selfStatus = new ProcFile(root.resolve("self").resolve("status"), 2048);
+		if (logger.isInfoEnabled())
+			logger.info("Initial proc sampler of '{}', supported: {}", root, supported);
+	}
+
+	/**
+	 * Whether the proc files is available(e.g. Linux).
+	 *
+	 * @return
+	 */
+	public boolean isSupported() {
+		return supported;
+	}
+
+	/**
+	 * System cpu usage(0~1) since the previous sample(the first sample is
+	 * since boot).
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public double cpuUsage() throws IOException {
+		synchronized (stat) {
+			stat.reload();
+			if (!stat.seekLine(CPU)) {
+				throw new IOException("No aggregate cpu line of " + stat.getPath());
+			}
+			// user nice system idle iowait irq softirq steal
+			long total = 0, idle = 0;
+			for (int i = 0; i < 8; i++) {
+				long ticks = stat.nextLong();
+				if (ticks < 0) {
+					break; // Older kernel.
+				}
+				total += ticks;
+				if (i == 3 || i == 4) {
+					idle += ticks;
+				}
+			}
+			long deltaTotal = total - prevCpuTotal;
+			if (deltaTotal > 0) {
+				cpuUsage = (double) (deltaTotal - (idle - prevCpuIdle)) / deltaTotal;
+				prevCpuTotal = total;
+				prevCpuIdle = idle;
+			}
+			return cpuUsage;
+		}
+	}
+
+	/**
+	 * Current process cpu usage(0~1 of all processors) since the previous
+	 * sample(the first sample is 0).
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public double processCpuUsage() throws IOException {
+		synchronized (selfStat) {
+			long now = nanoClock.getAsLong();
+			selfStat.reload();
+			// The comm(2) may contains blanks, fields are after the last ')'.
+			if (!selfStat.skipPastLast((byte) ')')) {
+				throw new IOException("Illegal format of " + selfStat.getPath());
+			}
+			// Skip state(3) ~ cmajflt(13), to utime(14), stime(15).
+			selfStat.skipTokens(11);
+			long ticks = selfStat.nextLong() + selfStat.nextLong();
+			if (prevProcTicks >= 0 && now > prevProcNanos) {
+				double elapsedTicks = (now - prevProcNanos) * USER_HZ / 1e9d;
+				procCpuUsage = (ticks - prevProcTicks) / elapsedTicks / Runtime.getRuntime().availableProcessors();
+			}
+			prevProcTicks = ticks;
+			prevProcNanos = now;
+			return procCpuUsage;
+		}
+	}
+
+	/**
+	 * Current process resident set size(bytes).
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public long processRss() throws IOException {
+		synchronized (selfStatus) {
+			selfStatus.reload();
+			return selfStatus.seekLine(VM_RSS) ? selfStatus.nextLong() * 1024 : 0L;
+		}
+	}
+
+	/**
+	 * System memory sample.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public MemorySample memory() throws IOException {
+		synchronized (meminfo) {
+			meminfo.reload();
+			long[] values = memValues;
+			int found = 0;
+			for (int i = 0; i < values.length; i++) {
+				values[i] = 0L;
+			}
+			do {
+				for (int i = 0; i < MEM_KEYS.length; i++) {
+					if (meminfo.startsWith(MEM_KEYS[i])) {
+						values[i] = meminfo.nextLong() * 1024; // Unit is kB
+						++found;
+						break;
+					}
+				}
+			} while (found < MEM_KEYS.length && meminfo.nextLine());
+			return new MemorySample(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+		}
+	}
+
+	/**
+	 * Block device I/O rates since the previous sample of the device(the first
+	 * sample is 0).
+	 *
+	 * @param device
+	 *            Device name, e.g. sda, vda1, nvme0n1
+	 * @return null if the device does not exist.
+	 * @throws IOException
+	 */
+	public DiskIoSample diskIo(String device) throws IOException {
+		Assert.hasText(device, "Device name must not be empty.");
+		synchronized (diskstats) {
+			long now = nanoClock.getAsLong();
+			DeviceCounters counters = devices.computeIfAbsent(device, DeviceCounters::new);
+			diskstats.reload();
+			do {
+				// major minor name ...
+				diskstats.skipTokens(2);
+				if (diskstats.nextTokenEquals(counters.name)) {
+					diskstats.skipTokens(2); // reads, merged
+					long sectorsRead = diskstats.nextLong();
+					diskstats.skipTokens(3); // ms reading, writes, merged
+					long sectorsWritten = diskstats.nextLong();
+					diskstats.skipTokens(2); // ms writing, in progress
+					long ioTicks = diskstats.nextLong(); // ms doing I/Os
+					return counters.update(now, sectorsRead, sectorsWritten, ioTicks);
+				}
+			} while (diskstats.nextLine());
+			devices.remove(device);
+			return null;
+		}
+	}
+
+	/**
+	 * Network interface traffic rates since the previous sample of the
+	 * interface(the first sample is 0).
+	 *
+	 * @param iface
+	 *            Interface name, e.g. eth0, ens33
+	 * @return null if the interface does not exist.
+	 * @throws IOException
+	 */
+	public NetIoSample netIo(String iface) throws IOException {
+		Assert.hasText(iface, "Interface name must not be empty.");
+		synchronized (netDev) {
+			long now = nanoClock.getAsLong();
+			InterfaceCounters counters = interfaces.computeIfAbsent(iface, InterfaceCounters::new);
+			netDev.reload();
+			do {
+				// The counters may follow 'name:' without blank.
+				netDev.skipBlanks();
+				if (netDev.startsWith(counters.prefix)) {
+					long rxBytes = netDev.nextLong();
+					for (int i = 0; i < 7; i++) {
+						netDev.nextLong(); // packets errs drop fifo frame compressed multicast
+					}
+					long txBytes = netDev.nextLong();
+					return counters.update(now, rxBytes, txBytes);
+				}
+			} while (netDev.nextLine());
+			interfaces.remove(iface);
+			return null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (ProcFile file : new ProcFile[] { stat, meminfo, diskstats, netDev, selfStat, selfStatus }) {
+			synchronized (file) {
+				file.close();
+			}
+		}
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Previous counters of block device.
+	 */
+	private static class DeviceCounters {
+		final private String device;
+		final private byte[] name;
+		private long nanos = -1L;
+		private long sectorsRead;
+		private long sectorsWritten;
+		private long ioTicks;
+
+		private DeviceCounters(String device) {
+			this.device = device;
+			this.name = bytes(device);
+		}
+
+		private DiskIoSample update(long now, long sectorsRead, long sectorsWritten, long ioTicks) {
+			DiskIoSample sample;
+			if (nanos < 0 || now <= nanos) {
+				sample = new DiskIoSample(device, 0L, 0L, 0d);
+			} else {
+				double elapsedSec = (now - nanos) / 1e9d;
+				sample = new DiskIoSample(device, (long) ((sectorsRead - this.sectorsRead) * SECTOR_SIZE / elapsedSec),
+						(long) ((sectorsWritten - this.sectorsWritten) * SECTOR_SIZE / elapsedSec),
+						Math.min(1d, (ioTicks - this.ioTicks) / (elapsedSec * 1000d)));
+			}
+			this.nanos = now;
+			this.sectorsRead = sectorsRead;
+			this.sectorsWritten = sectorsWritten;
+			this.ioTicks = ioTicks;
+			return sample;
+		}
+	}
+
+	/**
+	 * Previous counters of network interface.
+	 */
+	private static class InterfaceCounters {
+		final private String iface;
+		final private byte[] prefix;
+		private long nanos = -1L;
+		private long rxBytes;
+		private long txBytes;
+
+		private InterfaceCounters(String iface) {
+			this.iface = iface;
+			this.prefix = bytes(iface + ":");
+		}
+
+		private NetIoSample update(long now, long rxBytes, long txBytes) {
+			NetIoSample sample;
+			if (nanos < 0 || now <= nanos) {
+				sample = new NetIoSample(iface, 0L, 0L);
+			} else {
+				double elapsedSec = (now - nanos) / 1e9d;
+				sample = new NetIoSample(iface, (long) ((rxBytes - this.rxBytes) / elapsedSec),
+						(long) ((txBytes - this.txBytes) / elapsedSec));
+			}
+			this.nanos = now;
+			this.rxBytes = rxBytes;
+			this.txBytes = txBytes;
+			return sample;
+		}
+	}
+
+	/**
+	 * Default sampler of /proc.
+	 *
+	 * @return
+	 */
+	public static ProcSampler getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	private static class DefaultHolder {
+		final private static ProcSampler INSTANCE = new ProcSampler();
+	}
+
+}
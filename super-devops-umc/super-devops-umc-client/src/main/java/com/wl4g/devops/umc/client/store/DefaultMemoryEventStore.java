@@ -15,9 +15,11 @@
  */
 package com.wl4g.devops.umc.client.store;
 
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,7 +27,13 @@ import org.slf4j.LoggerFactory;
 import com.wl4g.devops.umc.client.indicator.AbstractAdvancedHealthIndicator.Partition;
 
 /**
- * Memory event store
+ * Memory event store.<br/>
+ * The events are saved lock-free into a fixed capacity ring(multi producers,
+ * the oldest events are overwritten), and the readers(serialized, single
+ * consumer) drain the newly saved events into the retained window and the
+ * maintained min/max heaps, so the largest/least queries are O(log n) instead
+ * of sorting all records. The evicted(overwritten or expired) events are
+ * removed from the heaps lazily when they reach the top.
  * 
  * @author Wangl.sir <983708408@qq.com>
  * @version v1.0
@@ -43,10 +51,31 @@ public class DefaultMemoryEventStore implements EventStore<Partition> {
 	final public static long DEFAULT_RETAIN = 5 * 60 * 1000;
 	final public static long MAX_RETAIN = DEFAULT_RETAIN * 5;
 
-	final private LinkedList<Partition> records = new LinkedList<>();
+	final private static Comparator<Event> ASC = (e1, e2) -> {
+		int c = Long.compare(e1.value, e2.value);
+		return c != 0 ? c : Long.compare(e1.seq, e2.seq);
+	};
+
+	/** Saved events ring, written by producers. */
+	final private AtomicReferenceArray<Event> ring;
+
+	/** Next sequence of producers. */
+	final private AtomicLong tail = new AtomicLong(0);
+
+	/** Retained events in sequence order, only accessed by consumer. */
+	final private ArrayDeque<Event> window;
+	final private PriorityQueue<Event> minHeap;
+	final private PriorityQueue<Event> maxHeap;
+
 	private int capacity = DEFAULT_CAPACITY;
 	private long retainTime = DEFAULT_RETAIN;
 
+	/** Next sequence to drain, only accessed by consumer. */
+	private long cursor;
+
+	/** Sum of retained events value, only accessed by consumer. */
+	private long sum;
+
 	public DefaultMemoryEventStore(int capacity, long retainTime) {
 		if (capacity <= 0 || retainTime < 0 || capacity > MAX_CAPACITY || retainTime > MAX_RETAIN)
 			throw new IllegalArgumentException(
@@ -55,118 +84,131 @@ public class DefaultMemoryEventStore implements EventStore<Partition> {
 
 		this.capacity = capacity;
 		this.retainTime = retainTime;
+		this.ring = new AtomicReferenceArray<>(capacity);
+		this.window = new ArrayDeque<>(capacity);
+		this.minHeap = new PriorityQueue<>(capacity, ASC);
+		this.maxHeap = new PriorityQueue<>(capacity, ASC.reversed());
 	}
 
 	@Override
-	public synchronized void save(Partition part) {
+	public void save(Partition part) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Save partition:{}", part);
 		}
-		// Timeout clean.
-		this.checkExpiredSampleClean();
-
-		// Overflow clean.
-		if (this.records.size() > (this.capacity - 1)) {
-			// LinkedList<Partition> records0 = this.getASCRecords();
-			// Partition oldLeast = records0.peekFirst();
-			// Partition oldLargest = records0.peekLast();
-			// // Bigger than big.
-			// if (part.compareTo(oldLargest) > 0)
-			// // Remove old largest.
-			// this.records.remove(oldLargest);
-			// // Smaller than small.
-			// if (part.compareTo(oldLeast) < 0)
-			// // Remove old least.
-			// this.records.remove(oldLeast);
-			// else
-			// Default remove first(oldest).
-			this.records.pollFirst();
-		}
-
-		// enqueue.
-		this.records.offer(part);
+		long seq = this.tail.getAndIncrement();
+		this.ring.set((int) (seq % this.capacity), new Event(seq, part));
 	}
 
 	@Override
 	public synchronized Partition largest() {
-		if (!this.records.isEmpty()) {
-			// Expired clean.
-			this.checkExpiredSampleClean();
-
-			LinkedList<Partition> records0 = this.getASCRecords();
-			Partition part = records0.peekLast();
-			if (part != null) {
-				part.setSamples(records0.size());
-				return part;
-			}
-		}
-		return null;
+		return samples(peekValid(this.maxHeap));
 	}
 
 	@Override
 	public synchronized Partition least() {
-		if (!this.records.isEmpty()) {
-			// Expired clean.
-			this.checkExpiredSampleClean();
-
-			LinkedList<Partition> records0 = this.getASCRecords();
-			Partition part = records0.peekFirst();
-			if (part != null) {
-				part.setSamples(records0.size());
-				return part;
-			}
-		}
-		return null;
+		return samples(peekValid(this.minHeap));
 	}
 
 	@Override
 	public synchronized Partition latest() {
-		if (!this.records.isEmpty()) {
-			// Expired clean.
-			this.checkExpiredSampleClean();
-
-			Partition part = this.records.peekLast();
-			if (part != null) {
-				part.setSamples(this.records.size());
-				return part;
-			}
-		}
-		return null;
+		this.drainAndEvict();
+		return samples(this.window.peekLast());
 	}
 
 	@Override
-	public long average() {
-		long sum = 0L;
-		Iterator<Partition> it = this.records.iterator();
-		while (it.hasNext()) {
-			sum += it.next().getValue();
+	public synchronized long average() {
+		this.drainAndEvict();
+		return this.window.isEmpty() ? 0L : (this.sum / this.window.size());
+	}
+
+	/**
+	 * Peek the top valid(retained) event of heap.
+	 * 
+	 * @param heap
+	 * @return
+	 */
+	private Event peekValid(PriorityQueue<Event> heap) {
+		this.drainAndEvict();
+		if (this.window.isEmpty()) {
+			return null;
+		}
+		long firstSeq = this.window.peekFirst().seq;
+		Event top;
+		while ((top = heap.peek()) != null && top.seq < firstSeq) {
+			heap.poll(); // Lazy remove evicted.
 		}
-		return (sum / this.records.size());
+		return top;
 	}
 
 	/**
-	 * Check and clean expired sample.
+	 * Drain the newly saved events from ring, and then evict the overwritten
+	 * and expired events from window.
 	 */
-	private void checkExpiredSampleClean() {
+	private void drainAndEvict() {
+		long t = this.tail.get();
+		if (t - this.cursor > this.capacity) {
+			this.cursor = t - this.capacity; // Lagged, overwritten.
+		}
+		while (this.cursor < t) {
+			Event e = this.ring.get((int) (this.cursor % this.capacity));
+			if (e == null || e.seq < this.cursor) {
+				break; // Not published yet.
+			}
+			if (e.seq == this.cursor) {
+				this.window.offerLast(e);
+				this.minHeap.offer(e);
+				this.maxHeap.offer(e);
+				this.sum += e.value;
+			}
+			++this.cursor;
+		}
+
+		// Evict overwritten and expired.
 		long now = System.currentTimeMillis();
-		Iterator<Partition> it = this.records.iterator();
-		while (it.hasNext()) {
-			Partition tmpPart = it.next();
-			if (Math.abs(now - tmpPart.getTimestamp()) >= this.retainTime)
-				it.remove();
+		long minSeq = this.tail.get() - this.capacity;
+		Event first;
+		while ((first = this.window.peekFirst()) != null
+				&& (first.seq < minSeq || this.window.size() > this.capacity
+						|| Math.abs(now - first.part.getTimestamp()) >= this.retainTime)) {
+			this.window.pollFirst();
+			this.sum -= first.value;
+		}
+
+		// Compact heaps if there are too many lazy removed events.
+		if (this.minHeap.size() > (this.capacity << 1)) {
+			this.rebuild(this.minHeap);
 		}
+		if (this.maxHeap.size() > (this.capacity << 1)) {
+			this.rebuild(this.maxHeap);
+		}
+	}
+
+	private void rebuild(PriorityQueue<Event> heap) {
+		heap.clear();
+		heap.addAll(this.window);
+	}
+
+	private Partition samples(Event e) {
+		if (e == null) {
+			return null;
+		}
+		e.part.setSamples(this.window.size());
+		return e.part;
 	}
 
 	/**
-	 * From small to large
-	 * 
-	 * @return
+	 * Saved event with sequence.
 	 */
-	@SuppressWarnings("unchecked")
-	private LinkedList<Partition> getASCRecords() {
-		LinkedList<Partition> cloneRecords = (LinkedList<Partition>) this.records.clone();
-		Collections.sort(cloneRecords); // ASC(value)
-		return cloneRecords;
+	private static class Event {
+		final private long seq;
+		final private long value;
+		final private Partition part;
+
+		private Event(long seq, Partition part) {
+			this.seq = seq;
+			this.value = part.getValue();
+			this.part = part;
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.client.sampler;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link ProcSampler} and {@link ProcFile} tests of the captured /proc
+ * fixtures(src/test/resources/proc), the parsed values of the first sample
+ * and the rates of the deltas between two samples are verified.
+ *
+ * @author Wangl.sir <983708408@qq.com>
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class ProcSamplerTests {
+
+	final private static long SECOND_NANOS = 1_000_000_000L;
+
+	public static void main(String[] args) throws Exception {
+		parseTest1();
+		deltaTest2();
+		missingTest3();
+	}
+
+	/**
+	 * Parsed values of the first sample.
+	 */
+	private static void parseTest1() throws Exception {
+		Path root = copyFixture("sample1", Files.createTempDirectory("proc"));
+		try (ProcSampler sampler = new ProcSampler(root.toString(), new AtomicLong()::get)) {
+			assertState(sampler.isSupported(), "Expected supported");
+
+			// The first sample is since boot: (10000 - 8500) / 10000
+			assertEquals(0.15d, sampler.cpuUsage(), "cpuUsage");
+
+			MemorySample mem = sampler.memory();
+			assertEquals(16307384L * 1024, mem.getMemTotal(), "memTotal");
+			assertEquals(2097152L * 1024, mem.getMemFree(), "memFree");
+			assertEquals(8388608L * 1024, mem.getMemAvailable(), "memAvailable");
+			assertEquals(524288L * 1024, mem.getBuffers(), "buffers");
+			assertEquals(5242880L * 1024, mem.getCached(), "cached");
+			assertEquals(4194304L * 1024, mem.getSwapTotal(), "swapTotal");
+			assertEquals(4128768L * 1024, mem.getSwapFree(), "swapFree");
+
+			assertEquals(524288L * 1024, sampler.processRss(), "processRss");
+			assertEquals(0d, sampler.processCpuUsage(), "first processCpuUsage");
+
+			DiskIoSample disk = sampler.diskIo("sda");
+			assertEquals(0L, disk.getReadBytesRate(), "first sda readBytesRate");
+			assertEquals(0L, disk.getWriteBytesRate(), "first sda writeBytesRate");
+			NetIoSample net = sampler.netIo("eth0");
+			assertEquals(0L, net.getRxBytesRate(), "first eth0 rxBytesRate");
+			assertEquals(0L, net.getTxBytesRate(), "first eth0 txBytesRate");
+		}
+		System.out.println("Parse test passed, root: " + root);
+	}
+
+	/**
+	 * Rates of the deltas between two samples(1 second apart).
+	 */
+	private static void deltaTest2() throws Exception {
+		Path root = copyFixture("sample1", Files.createTempDirectory("proc"));
+		AtomicLong clock = new AtomicLong(SECOND_NANOS);
+		try (ProcSampler sampler = new ProcSampler(root.toString(), clock::get)) {
+			sampler.cpuUsage();
+			sampler.processCpuUsage();
+			sampler.diskIo("sda");
+			sampler.diskIo("sda1");
+			sampler.netIo("eth0");
+			sampler.netIo("eth1");
+
+			// Rewrite in place, the kept open files are re-read.
+			copyFixture("sample2", root);
+			clock.addAndGet(SECOND_NANOS);
+
+			// (2300 - 1500) / (11500 - 10000)
+			assertEquals(800d / 1500d, sampler.cpuUsage(), "cpuUsage");
+			// (450 - 300) ticks of 1 second
+			double expectedProcCpu = 150d / ProcSampler.USER_HZ / Runtime.getRuntime().availableProcessors();
+			assertEquals(expectedProcCpu, sampler.processCpuUsage(), "processCpuUsage");
+			assertEquals(557056L * 1024, sampler.processRss(), "processRss");
+			assertEquals(1048576L * 1024, sampler.memory().getMemFree(), "memFree");
+
+			DiskIoSample sda = sampler.diskIo("sda");
+			assertEquals(20480L * ProcSampler.SECTOR_SIZE, sda.getReadBytesRate(), "sda readBytesRate");
+			assertEquals(40960L * ProcSampler.SECTOR_SIZE, sda.getWriteBytesRate(), "sda writeBytesRate");
+			assertEquals(0.25d, sda.getUtilization(), "sda utilization");
+			DiskIoSample sda1 = sampler.diskIo("sda1");
+			assertEquals(10000L * ProcSampler.SECTOR_SIZE, sda1.getReadBytesRate(), "sda1 readBytesRate");
+			assertEquals(5000L * ProcSampler.SECTOR_SIZE, sda1.getWriteBytesRate(), "sda1 writeBytesRate");
+			assertEquals(0.1d, sda1.getUtilization(), "sda1 utilization");
+
+			NetIoSample eth0 = sampler.netIo("eth0");
+			assertEquals(1048576L, eth0.getRxBytesRate(), "eth0 rxBytesRate");
+			assertEquals(524288L, eth0.getTxBytesRate(), "eth0 txBytesRate");
+			// The counters follow 'eth1:' without blank.
+			NetIoSample eth1 = sampler.netIo("eth1");
+			assertEquals(2097152L, eth1.getRxBytesRate(), "eth1 rxBytesRate");
+			assertEquals(1048576L, eth1.getTxBytesRate(), "eth1 txBytesRate");
+		}
+		System.out.println("Delta test passed, root: " + root);
+	}
+
+	/**
+	 * Unknown devices, and unsupported root.
+	 */
+	private static void missingTest3() throws Exception {
+		Path root = copyFixture("sample1", Files.createTempDirectory("proc"));
+		try (ProcSampler sampler = new ProcSampler(root.toString())) {
+			assertState(sampler.diskIo("sdz") == null, "Expected null of unknown device");
+			assertState(sampler.diskIo("sd") == null, "Expected null of device name prefix");
+			assertState(sampler.netIo("eth") == null, "Expected null of interface name prefix");
+		}
+		try (ProcSampler sampler = new ProcSampler(Files.createTempDirectory("noproc").toString())) {
+			assertState(!sampler.isSupported(), "Expected unsupported");
+		}
+		System.out.println("Missing test passed");
+	}
+
+	/**
+	 * Copy(rewrite in place) the fixture files into root directory.
+	 */
+	private static Path copyFixture(String name, Path root) throws IOException, URISyntaxException {
+		Path fixture = Paths.get(ProcSamplerTests.class.getResource("/proc/" + name).toURI());
+		try (Stream<Path> files = Files.walk(fixture)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				if (file.toFile().isFile()) {
+					Path target = root.resolve(fixture.relativize(file).toString().replace(File.separatorChar, '/'));
+					Files.createDirectories(target.getParent());
+					Files.write(target, Files.readAllBytes(file));
+				}
+			}
+		}
+		return root;
+	}
+
+	private static void assertEquals(long expected, long actual, String name) {
+		assertState(expected == actual, name + " expected: " + expected + ", actual: " + actual);
+	}
+
+	private static void assertEquals(double expected, double actual, String name) {
+		assertState(Math.abs(expected - actual) < 1e-9, name + " expected: " + expected + ", actual: " + actual);
+	}
+
+	private static void assertState(boolean condition, String message) {
+		if (!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
@@ -25,9 +25,13 @@ import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.umc.handler.AlarmConfigurer;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import static com.wl4g.devops.tool.common.collection.Collections2.safeList;
+
 /**
  * Service metric indicators rule handler.
  *
@@ -73,23 +77,42 @@ public class ServiceRuleConfigurer implements AlarmConfigurer {
 	// @Transactional
 	public AlarmRecord saveAlarmRecord(AlarmTemplate alarmTemplate, Long gatherTime, List<AlarmRule> rules, String alarmNote) {
 		AlarmRecord record = new AlarmRecord();
-		record.preInsert();
-		record.setName(alarmTemplate.getMetric());
-		record.setTemplateId(alarmTemplate.getId());
+		record.setAlarmTemplate(alarmTemplate);
 		record.setGatherTime(new Date(gatherTime));
-		record.setCreateTime(new Date());
+		record.setAlarmRules(rules);
 		record.setAlarmNote(alarmNote);
-		alarmRecordDao.insertSelective(record);
-		// Alarm matched rules.
-		for (AlarmRule rule : rules) {
-			AlarmRecordRule recordRule = new AlarmRecordRule();
-			recordRule.preInsert();
-			recordRule.setRecordId(record.getId());
-			recordRule.setRuleId(rule.getId());
-			recordRule.setCompareValue(rule.getCompareValue());
-			alarmRecordRuleDao.insertSelective(recordRule);
+		return saveAlarmRecords(Collections.singletonList(record)).get(0);
+	}
+
+	@Override
+	// @Transactional
+	public List<AlarmRecord> saveAlarmRecords(List<AlarmRecord> records) {
+		if (records.isEmpty()) {
+			return records;
+		}
+		Date now = new Date();
+		List<AlarmRecordRule> recordRules = new ArrayList<>(records.size() * 2);
+		for (AlarmRecord record : records) {
+			AlarmTemplate alarmTemplate = record.getAlarmTemplate();
+			record.preInsert();
+			record.setName(alarmTemplate.getMetric());
+			record.setTemplateId(alarmTemplate.getId());
+			record.setCreateTime(now);
+			// Alarm matched rules.
+			for (AlarmRule rule : safeList(record.getAlarmRules())) {
+				AlarmRecordRule recordRule = new AlarmRecordRule();
+				recordRule.preInsert();
+				recordRule.setRecordId(record.getId());
+				recordRule.setRuleId(rule.getId());
+				recordRule.setCompareValue(rule.getCompareValue());
+				recordRules.add(recordRule);
+			}
 		}
-		return record;
+		alarmRecordDao.insertBatch(records);
+		if (!recordRules.isEmpty()) {
+			alarmRecordRuleDao.insertBatch(recordRules);
+		}
+		return records;
 	}
 
 	@Override
@@ -104,4 +127,16 @@ public class ServiceRuleConfigurer implements AlarmConfigurer {
 		return alarmNotificationContact;
 	}
 
+	@Override
+	public List<AlarmNotificationContact> saveNotificationContacts(List<AlarmNotificationContact> alarmNotificationContacts) {
+		if (alarmNotificationContacts.isEmpty()) {
+			return alarmNotificationContacts;
+		}
+		for (AlarmNotificationContact alarmNotificationContact : alarmNotificationContacts) {
+			alarmNotificationContact.preInsert();
+		}
+		alarmNotificationContactDao.insertBatch(alarmNotificationContacts);
+		return alarmNotificationContacts;
+	}
+
 }
\ No newline at end of file
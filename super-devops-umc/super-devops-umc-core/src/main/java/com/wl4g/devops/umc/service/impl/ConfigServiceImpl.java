@@ -24,11 +24,14 @@ import com.wl4g.devops.dao.share.AppInstanceDao;
 import com.wl4g.devops.dao.umc.AlarmConfigDao;
 import com.wl4g.devops.dao.umc.AlarmTemplateDao;
 import com.wl4g.devops.page.PageModel;
+import com.wl4g.devops.support.redis.JedisService;
 import com.wl4g.devops.umc.service.ConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_TPLS_VERSION;
+
 /**
  * @author vjay
  * @date 2019-08-09 14:06:00
@@ -45,6 +48,9 @@ public class ConfigServiceImpl implements ConfigService {
 	@Autowired
 	private AppInstanceDao appInstanceDao;
 
+	@Autowired
+	private JedisService jedisService;
+
 	@Override
 	public PageModel list(PageModel pm, Integer templateId, Integer contactGroupId) {
 		pm.page(PageHelper.startPage(pm.getPageNum(), pm.getPageSize(), true));
@@ -61,6 +67,8 @@ public class ConfigServiceImpl implements ConfigService {
 			alarmConfig.preInsert();
 			alarmConfigDao.insertSelective(alarmConfig);
 		}
+		// Invalidate compiled alarm templates of alarm receivers.
+		jedisService.getJedisCluster().incr(KEY_CACHE_ALARM_TPLS_VERSION);
 	}
 
 	@Override
@@ -70,6 +78,7 @@ public class ConfigServiceImpl implements ConfigService {
 		alarmConfig.setDelFlag(BaseBean.DEL_FLAG_DELETE);
 		alarmConfig.preUpdate();
 		alarmConfigDao.updateByPrimaryKeySelective(alarmConfig);
+		jedisService.getJedisCluster().incr(KEY_CACHE_ALARM_TPLS_VERSION);
 	}
 
 	@Override
@@ -42,6 +42,7 @@ import java.util.Objects;
 
 import static com.wl4g.devops.common.bean.BaseBean.*;
 import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_TPLS;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.KEY_CACHE_ALARM_TPLS_VERSION;
 import static com.wl4g.devops.tool.common.serialize.JacksonUtils.parseJSON;
 import static com.wl4g.devops.tool.common.serialize.JacksonUtils.toJSONString;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -148,9 +149,11 @@ public class TemplateServiceImpl implements TemplateService {
 		for(AlarmConfig alarmConfig : alarmConfigs){
 			AppInstance appInstance = appInstanceDao.selectByPrimaryKey(alarmConfig.getCollectId());
 			if(Objects.nonNull(appInstance)){
-				jedisService.del(KEY_CACHE_ALARM_TPLS+appInstance.getHostname()+appInstance.getEndpoint());
+				jedisService.del(KEY_CACHE_ALARM_TPLS + appInstance.getHostname() + ":" + appInstance.getEndpoint());
 			}
 		}
+		// Invalidate compiled alarm templates of alarm receivers.
+		jedisService.getJedisCluster().incr(KEY_CACHE_ALARM_TPLS_VERSION);
 	}
 
 	@Override
@@ -177,5 +180,6 @@ public class TemplateServiceImpl implements TemplateService {
 		alarmTemplate.setDelFlag(DEL_FLAG_DELETE);
 		alarmTemplate.preUpdate();
 		alarmTemplateDao.updateByPrimaryKeySelective(alarmTemplate);
+		jedisService.getJedisCluster().incr(KEY_CACHE_ALARM_TPLS_VERSION);
 	}
 }
\ No newline at end of file
@@ -17,6 +17,9 @@ package com.wl4g.devops.umc.config;
 
 import java.util.Properties;
 
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline.OverflowPolicy;
+import com.wl4g.devops.umc.pipeline.ring.WaitStrategy.WaitStrategyType;
+
 import static org.apache.kafka.clients.consumer.ConsumerConfig.*;
 
 /**
@@ -39,6 +42,9 @@ public class ReceiverProperties {
 	/** HTTP receiver configuration properties */
 	private HttpReceiverProperties http = new HttpReceiverProperties();
 
+	/** Asynchronous ingest pipeline configuration properties */
+	private PipelineProperties pipeline = new PipelineProperties();
+
 	public KafkaReceiverProperties getKafka() {
 		return kafka;
 	}
@@ -55,6 +61,14 @@ public class ReceiverProperties {
 		this.http = http;
 	}
 
+	public PipelineProperties getPipeline() {
+		return pipeline;
+	}
+
+	public void setPipeline(PipelineProperties pipeline) {
+		this.pipeline = pipeline;
+	}
+
 	/**
 	 * KAFKA consumer configuration properties.
 	 * 
@@ -75,6 +89,17 @@ public class ReceiverProperties {
 		 */
 		private int queueDepth = 4092;
 
+		/**
+		 * Number of partition workers, the records of the same partition are
+		 * always processed by the same worker in order.
+		 */
+		private int partitionParallelism = 4;
+
+		/**
+		 * Maximum waiting time(ms) for the partitions of a poll to flush.
+		 */
+		private long flushTimeoutMs = 30_000L;
+
 		private Properties properties = new Properties() {
 			private static final long serialVersionUID = 299259605679445927L;
 			{
@@ -125,6 +150,22 @@ public class ReceiverProperties {
 			this.queueDepth = queueDepth;
 		}
 
+		public int getPartitionParallelism() {
+			return partitionParallelism;
+		}
+
+		public void setPartitionParallelism(int partitionParallelism) {
+			this.partitionParallelism = partitionParallelism;
+		}
+
+		public long getFlushTimeoutMs() {
+			return flushTimeoutMs;
+		}
+
+		public void setFlushTimeoutMs(long flushTimeoutMs) {
+			this.flushTimeoutMs = flushTimeoutMs;
+		}
+
 		public Properties getProperties() {
 			return properties;
 		}
@@ -156,4 +197,103 @@ public class ReceiverProperties {
 
 	}
 
+	/**
+	 * Asynchronous ingest pipeline configuration properties
+	 * 
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月2日
+	 * @since
+	 */
+	public static class PipelineProperties {
+
+		private boolean enabled = true;
+
+		/**
+		 * Ring buffer size, must be a power of 2.
+		 */
+		private int bufferSize = 8192;
+
+		/**
+		 * Wait strategy of consumer handlers.
+		 */
+		private WaitStrategyType waitStrategy = WaitStrategyType.BLOCKING;
+
+		/**
+		 * Maximum waiting time(ms) of publishing when the ring buffer is full.
+		 */
+		private long publishTimeoutMs = 200L;
+
+		/**
+		 * Handling policy when the ring buffer is full.
+		 */
+		private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+		/**
+		 * Maximum number of aggregates per storage flush.
+		 */
+		private int maxBatchSize = 256;
+
+		/**
+		 * Maximum waiting time(ms) of draining when shutdown.
+		 */
+		private long shutdownTimeoutMs = 10_000L;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public void setBufferSize(int bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+		public WaitStrategyType getWaitStrategy() {
+			return waitStrategy;
+		}
+
+		public void setWaitStrategy(WaitStrategyType waitStrategy) {
+			this.waitStrategy = waitStrategy;
+		}
+
+		public long getPublishTimeoutMs() {
+			return publishTimeoutMs;
+		}
+
+		public void setPublishTimeoutMs(long publishTimeoutMs) {
+			this.publishTimeoutMs = publishTimeoutMs;
+		}
+
+		public OverflowPolicy getOverflowPolicy() {
+			return overflowPolicy;
+		}
+
+		public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+			this.overflowPolicy = overflowPolicy;
+		}
+
+		public int getMaxBatchSize() {
+			return maxBatchSize;
+		}
+
+		public void setMaxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+		}
+
+		public long getShutdownTimeoutMs() {
+			return shutdownTimeoutMs;
+		}
+
+		public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+			this.shutdownTimeoutMs = shutdownTimeoutMs;
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -20,12 +20,17 @@ import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
 import com.wl4g.devops.umc.annotation.EnableHttpCollectReceiver;
 import com.wl4g.devops.umc.annotation.EnableKafkaCollectReceiver;
 import com.wl4g.devops.umc.console.ReceiveConsole;
+import com.wl4g.devops.umc.pipeline.MetricAlarmEventHandler;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline;
+import com.wl4g.devops.umc.pipeline.MetricStoreEventHandler;
 import com.wl4g.devops.umc.receiver.HttpMetricReceiver;
 import com.wl4g.devops.umc.receiver.KafkaMetricReceiver;
 import com.wl4g.devops.umc.store.*;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +41,7 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.AbstractMessageListenerContainer.AckMode;
 import org.springframework.kafka.listener.config.ContainerProperties;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Properties;
 
@@ -57,6 +63,7 @@ public class UmcReceiveAutoConfiguration extends OptionalPrefixControllerAutoCon
 	final public static String BEAN_HTTP_RECEIVER = "httpCollectReceiver";
 	final public static String BEAN_KAFKA_RECEIVER = "kafkaCollectReceiver";
 	final public static String BEAN_KAFKA_BATCH_FACTORY = "kafkaBatchFactory";
+	final public static String BEAN_INGEST_PIPELINE = "metricIngestPipeline";
 
 	@Bean
 	@ConfigurationProperties(prefix = KEY_RECEIVER_PREFIX)
@@ -64,6 +71,19 @@ public class UmcReceiveAutoConfiguration extends OptionalPrefixControllerAutoCon
 		return new ReceiverProperties();
 	}
 
+	//
+	// Ingest pipeline.
+	//
+
+	@Bean(BEAN_INGEST_PIPELINE)
+	@ConditionalOnProperty(value = KEY_RECEIVER_PREFIX + ".pipeline.enabled", matchIfMissing = true)
+	public MetricIngestPipeline metricIngestPipeline(ReceiverProperties conf,
+			@Qualifier(BEAN_DEFAULT_VALVE_ALERTER) IndicatorsValveAlerter alerter, MetricStore store) {
+		return new MetricIngestPipeline(conf.getPipeline(),
+				Arrays.asList(new MetricStoreEventHandler(store, conf.getPipeline().getMaxBatchSize()),
+						new MetricAlarmEventHandler(alerter)));
+	}
+
 	//
 	// HTTP receiver.
 	//
@@ -71,8 +91,8 @@ public class UmcReceiveAutoConfiguration extends OptionalPrefixControllerAutoCon
 	@Bean(BEAN_HTTP_RECEIVER)
 	@EnableHttpCollectReceiver
 	public HttpMetricReceiver httpCollectReceiver(@Qualifier(BEAN_DEFAULT_VALVE_ALERTER) IndicatorsValveAlerter alerter,
-			MetricStore store) {
-		return new HttpMetricReceiver(alerter, store);
+			MetricStore store, @Autowired(required = false) MetricIngestPipeline pipeline) {
+		return new HttpMetricReceiver(alerter, store, pipeline);
 	}
 
 	@Bean
@@ -87,9 +107,10 @@ public class UmcReceiveAutoConfiguration extends OptionalPrefixControllerAutoCon
 
 	@Bean(BEAN_KAFKA_RECEIVER)
 	@EnableKafkaCollectReceiver
-	public KafkaMetricReceiver kafkaCollectReceiver(@Qualifier(BEAN_DEFAULT_VALVE_ALERTER) IndicatorsValveAlerter alerter,
-			MetricStore store) {
-		return new KafkaMetricReceiver(alerter, store);
+	public KafkaMetricReceiver kafkaCollectReceiver(ReceiverProperties conf,
+			@Qualifier(BEAN_DEFAULT_VALVE_ALERTER) IndicatorsValveAlerter alerter, MetricStore store,
+			@Autowired(required = false) MetricIngestPipeline pipeline) {
+		return new KafkaMetricReceiver(alerter, store, pipeline, conf.getKafka());
 	}
 
 	@Bean(BEAN_KAFKA_BATCH_FACTORY)
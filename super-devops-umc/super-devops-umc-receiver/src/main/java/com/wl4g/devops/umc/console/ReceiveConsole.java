@@ -17,8 +17,13 @@ package com.wl4g.devops.umc.console;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.wl4g.devops.shell.annotation.ShellComponent;
+import com.wl4g.devops.shell.annotation.ShellMethod;
+import com.wl4g.devops.shell.handler.SimpleShellContext;
+import com.wl4g.devops.umc.opentsdb.client.OpenTSDBClient;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline;
 
 /**
  * Receiver configuration console.
@@ -33,4 +38,42 @@ public class ReceiveConsole {
 
 	protected Logger log = LoggerFactory.getLogger(getClass());
 
+	@Autowired(required = false)
+	private MetricIngestPipeline pipeline;
+
+	@Autowired(required = false)
+	private OpenTSDBClient tsdbClient;
+
+	/**
+	 * Print metric ingest pipeline statistics.
+	 */
+	@ShellMethod(keys = "pipeline-stats", group = SHELL_GROUP, help = "Print metric ingest pipeline statistics.")
+	public void pipelineStats(SimpleShellContext context) {
+		try {
+			if (pipeline == null) {
+				context.printf("Metric ingest pipeline is disabled.");
+			} else {
+				context.printf(pipeline.getStats().toString());
+			}
+		} finally {
+			context.completed();
+		}
+	}
+
+	/**
+	 * Print OpenTSDB batch put statistics.
+	 */
+	@ShellMethod(keys = "tsdb-stats", group = SHELL_GROUP, help = "Print OpenTSDB batch put statistics.")
+	public void tsdbStats(SimpleShellContext context) {
+		try {
+			if (tsdbClient == null || tsdbClient.getStats() == null) {
+				context.printf("OpenTSDB store is disabled or readonly.");
+			} else {
+				context.printf(tsdbClient.getStats().toString());
+			}
+		} finally {
+			context.completed();
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static com.wl4g.devops.umc.receiver.AbstractMetricReceiver.wrapAggregate;
+
+import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventHandler;
+
+/**
+ * Alarm batch event handler, which delivers metric aggregates to
+ * {@link IndicatorsValveAlerter}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class MetricAlarmEventHandler implements BatchEventHandler<MetricEvent> {
+
+	/** Indicator valve alerter. */
+	final protected IndicatorsValveAlerter alerter;
+
+	public MetricAlarmEventHandler(IndicatorsValveAlerter alerter) {
+		notNullOf(alerter, "alerter");
+		this.alerter = alerter;
+	}
+
+	@Override
+	public void onEvent(MetricEvent event, long sequence, boolean endOfBatch) throws Exception {
+		if (event.isValid()) {
+			alerter.alarm(wrapAggregate(event.getView()));
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline;
+
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+
+/**
+ * Pre-allocated(reused) ring buffer slot of metric aggregate, the view is
+ * filled in place by the publishers.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class MetricEvent {
+
+	/** Received metric aggregate view(reused). */
+	final private MetricAggregateView view = new MetricAggregateView();
+
+	/** Received time-stamp(ms). */
+	private long receivedTime;
+
+	/** Whether it has been saved by the receiver itself. */
+	private boolean stored;
+
+	/** Whether it has been translated successfully. */
+	private boolean valid;
+
+	public MetricAggregateView getView() {
+		return view;
+	}
+
+	public long getReceivedTime() {
+		return receivedTime;
+	}
+
+	public boolean isStored() {
+		return stored;
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+
+	void reset(long receivedTime, boolean stored, boolean valid) {
+		this.receivedTime = receivedTime;
+		this.stored = stored;
+		this.valid = valid;
+	}
+
+	@Override
+	public String toString() {
+		return "MetricEvent [receivedTime=" + receivedTime + ", stored=" + stored + ", valid=" + valid + ", view=" + view + "]";
+	}
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static com.wl4g.devops.tool.common.log.SmartLoggerFactory.getLogger;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateDecoder;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.config.ReceiverProperties.PipelineProperties;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventHandler;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventProcessor;
+import com.wl4g.devops.umc.pipeline.ring.RingBuffer;
+
+/**
+ * Asynchronous metric ingestion pipeline, the receivers only parse and
+ * publish the metric aggregates to a bounded ring buffer, and then the
+ * storage/alarm handlers are consumed in batches on dedicated threads, which
+ * decouples the receiving latency from TSDB and redis latency.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class MetricIngestPipeline implements InitializingBean, DisposableBean {
+	final protected Logger log = getLogger(getClass());
+
+	/** Pipeline configuration properties. */
+	final protected PipelineProperties config;
+
+	/** Metric events ring buffer. */
+	final protected RingBuffer<MetricEvent> ringBuffer;
+
+	/** Batch event processors of handlers. */
+	final protected List<BatchEventProcessor<MetricEvent>> processors = new ArrayList<>(4);
+
+	/** Batch event handlers. */
+	final protected List<BatchEventHandler<MetricEvent>> handlers;
+
+	/** Metric aggregate streaming decoder. */
+	final protected MetricAggregateDecoder decoder = MetricAggregateDecoder.DEFAULT;
+
+	/** Processor threads. */
+	final private List<Thread> threads = new ArrayList<>(4);
+
+	/** Running status. */
+	final private AtomicBoolean running = new AtomicBoolean(false);
+
+	/** Statistics counters. */
+	final private LongAdder published = new LongAdder();
+	final private LongAdder dropped = new LongAdder();
+
+	public MetricIngestPipeline(PipelineProperties config, List<BatchEventHandler<MetricEvent>> handlers) {
+		notNullOf(config, "pipelineProperties");
+		notNullOf(handlers, "eventHandlers");
+		this.config = config;
+		this.handlers = handlers;
+		this.ringBuffer = new RingBuffer<>(() -> new MetricEvent(), config.getBufferSize(),
+				config.getWaitStrategy().newInstance());
+		for (BatchEventHandler<MetricEvent> handler : handlers) {
+			BatchEventProcessor<MetricEvent> processor = new BatchEventProcessor<>(ringBuffer, handler);
+			ringBuffer.addGatingSequences(processor.getSequence());
+			processors.add(processor);
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		start();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		close();
+	}
+
+	/**
+	 * Startup the handler processors threads.
+	 */
+	public void start() {
+		if (running.compareAndSet(false, true)) {
+			for (int i = 0; i < processors.size(); i++) {
+				Thread t = new Thread(processors.get(i), "umcIngestPipeline-" + handlers.get(i).getClass().getSimpleName());
+				t.setDaemon(true);
+				t.start();
+				threads.add(t);
+			}
+			log.info("Started metric ingest pipeline of bufferSize: {}, waitStrategy: {}, handlers: {}",
+					ringBuffer.getBufferSize(), config.getWaitStrategy(), handlers.size());
+		}
+	}
+
+	/**
+	 * Publish metric aggregate to ring buffer, when the ring buffer is full,
+	 * it will be handled according to {@link OverflowPolicy}.
+	 *
+	 * @param aggregate
+	 * @return Whether it has been published.
+	 */
+	public boolean publish(MetricAggregate aggregate) {
+		return publish(aggregate, false);
+	}
+
+	/**
+	 * Publish metric aggregate to ring buffer.
+	 *
+	 * @param aggregate
+	 * @param stored
+	 *            Whether it has been saved by the caller, if true, only the
+	 *            handlers other than storage will process it.
+	 * @return Whether it has been published.
+	 * @see #publish(MetricAggregate)
+	 */
+	public boolean publish(MetricAggregate aggregate, boolean stored) {
+		notNullOf(aggregate, "metricAggregate");
+		return publishEvent(event -> {
+			event.getView().copyFrom(aggregate);
+			return true;
+		}, stored);
+	}
+
+	/**
+	 * Publish metric aggregate view to ring buffer, which is copied into the
+	 * pre-allocated view of ring buffer slot, so the view can be reused by
+	 * the caller after returned.
+	 *
+	 * @param view
+	 * @param stored
+	 *            Whether it has been saved by the caller, if true, only the
+	 *            handlers other than storage will process it.
+	 * @return Whether it has been published.
+	 * @see #publish(MetricAggregate, boolean)
+	 */
+	public boolean publish(MetricAggregateView view, boolean stored) {
+		notNullOf(view, "metricAggregateView");
+		return publishEvent(event -> {
+			event.getView().copyFrom(view);
+			return true;
+		}, stored);
+	}
+
+	/**
+	 * Publish the encoded metric aggregate to ring buffer, which is decoded
+	 * directly into the pre-allocated view of ring buffer slot, so the
+	 * buffer can be reused by the caller after returned. If any of the
+	 * dictionary series are unresolved(see {@link MetricAggregateView#getUnresolved()}),
+	 * the whole aggregate is rejected, so the sender can re-send it with the
+	 * definitions.
+	 *
+	 * @param buf
+	 * @param offset
+	 * @param length
+	 * @return Whether it has been published, false if rejected.
+	 * @see #publish(MetricAggregate)
+	 */
+	public boolean publish(byte[] buf, int offset, int length) {
+		notNullOf(buf, "metricBuffer");
+		return publishEvent(event -> decoder.decode(buf, offset, length, event.getView()).getUnresolved() == 0, false);
+	}
+
+	/**
+	 * Claim the next slot of ring buffer and translate to it.
+	 *
+	 * @param translator
+	 * @param stored
+	 * @return
+	 */
+	private boolean publishEvent(EventTranslator translator, boolean stored) {
+		if (!running.get()) {
+			return drop();
+		}
+
+		long sequence = ringBuffer.tryNext();
+		if (sequence == RingBuffer.NO_CAPACITY && config.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+			long deadline = System.nanoTime() + MILLISECONDS.toNanos(config.getPublishTimeoutMs());
+			while ((sequence = ringBuffer.tryNext()) == RingBuffer.NO_CAPACITY && System.nanoTime() < deadline) {
+				LockSupport.parkNanos(1000L);
+			}
+		}
+		if (sequence == RingBuffer.NO_CAPACITY) {
+			return drop();
+		}
+
+		// The claimed sequence must always be published.
+		boolean valid = false;
+		try {
+			valid = translate(ringBuffer.get(sequence), translator, stored);
+		} finally {
+			ringBuffer.publish(sequence);
+		}
+		published.increment();
+		return valid;
+	}
+
+	/**
+	 * Close pipeline, waits for the published events to drain and then halt
+	 * the processors.
+	 */
+	public void close() {
+		if (!running.compareAndSet(true, false)) {
+			return;
+		}
+		long deadline = System.currentTimeMillis() + config.getShutdownTimeoutMs();
+		while (ringBuffer.getMinimumGatingSequence() < ringBuffer.getCursor() && System.currentTimeMillis() < deadline) {
+			LockSupport.parkNanos(MILLISECONDS.toNanos(1));
+		}
+		for (BatchEventProcessor<MetricEvent> processor : processors) {
+			processor.halt();
+		}
+		for (Thread t : threads) {
+			try {
+				t.join(config.getShutdownTimeoutMs());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		threads.clear();
+		log.info("Closed metric ingest pipeline. {}", getStats());
+	}
+
+	/**
+	 * Gets pipeline statistics.
+	 *
+	 * @return
+	 */
+	public PipelineStats getStats() {
+		return new PipelineStats(published.sum(), dropped.sum(), ringBuffer.getBufferSize(), ringBuffer.remainingCapacity());
+	}
+
+	/**
+	 * Translate to event, the invalid event(e.g. failed to decode or unresolved) will be
+	 * skipped by handlers.
+	 *
+	 * @param event
+	 * @param translator
+	 * @param stored
+	 * @return
+	 */
+	private boolean translate(MetricEvent event, EventTranslator translator, boolean stored) {
+		try {
+			boolean valid = translator.translateTo(event);
+			event.reset(System.currentTimeMillis(), stored, valid);
+			return valid;
+		} catch (Exception e) {
+			event.reset(System.currentTimeMillis(), stored, false);
+			log.error("Failed to translate metric event.", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Drop the overflow event, all of the events are only delivered to
+	 * handlers through the ring buffer, so that each handler is always called
+	 * by its own processor thread.
+	 *
+	 * @return
+	 */
+	private boolean drop() {
+		dropped.increment();
+		if (log.isWarnEnabled()) {
+			log.warn("Dropped metric event, because the ingest pipeline is full or closed.");
+		}
+		return false;
+	}
+
+	/**
+	 * Metric event translator.
+	 */
+	private static interface EventTranslator {
+		/**
+		 * Translate to event.
+		 *
+		 * @param event
+		 * @return Whether the event is valid.
+		 * @throws Exception
+		 */
+		boolean translateTo(MetricEvent event) throws Exception;
+	}
+
+	/**
+	 * Ring buffer overflow policy.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月2日
+	 * @since
+	 */
+	public static enum OverflowPolicy {
+
+		/** Wait up to publish timeout, then drop. */
+		BLOCK,
+
+		/** Drop immediately. */
+		DROP;
+
+	}
+
+	/**
+	 * Pipeline statistics.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月2日
+	 * @since
+	 */
+	public static class PipelineStats {
+
+		final private long published;
+		final private long dropped;
+		final private int bufferSize;
+		final private long remainingCapacity;
+
+		public PipelineStats(long published, long dropped, int bufferSize, long remainingCapacity) {
+			this.published = published;
+			this.dropped = dropped;
+			this.bufferSize = bufferSize;
+			this.remainingCapacity = remainingCapacity;
+		}
+
+		public long getPublished() {
+			return published;
+		}
+
+		public long getDropped() {
+			return dropped;
+		}
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public long getRemainingCapacity() {
+			return remainingCapacity;
+		}
+
+		@Override
+		public String toString() {
+			return "PipelineStats [published=" + published + ", dropped=" + dropped + ", bufferSize=" + bufferSize
+					+ ", remainingCapacity=" + remainingCapacity + "]";
+		}
+
+	}
+
+}
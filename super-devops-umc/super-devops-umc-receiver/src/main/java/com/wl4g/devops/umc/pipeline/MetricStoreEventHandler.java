@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static com.wl4g.devops.tool.common.log.SmartLoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventHandler;
+import com.wl4g.devops.umc.store.MetricStore;
+
+/**
+ * Storage batch event handler, the metric aggregates are accumulated until the
+ * end of ring buffer batch(or max batch size) and then flushed to
+ * {@link MetricStore}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class MetricStoreEventHandler implements BatchEventHandler<MetricEvent> {
+	final protected Logger log = getLogger(getClass());
+
+	/** Metric store adapter. */
+	final protected MetricStore store;
+
+	/** Maximum number of aggregates per flush. */
+	final protected int maxBatchSize;
+
+	/** Pending aggregate views of current batch, which are still gated. */
+	final private List<MetricAggregateView> batch;
+
+	public MetricStoreEventHandler(MetricStore store, int maxBatchSize) {
+		notNullOf(store, "metricStore");
+		this.store = store;
+		this.maxBatchSize = Math.max(maxBatchSize, 1);
+		this.batch = new ArrayList<>(this.maxBatchSize);
+	}
+
+	@Override
+	public void onEvent(MetricEvent event, long sequence, boolean endOfBatch) throws Exception {
+		if (!event.isValid() || event.isStored()) {
+			if (endOfBatch) {
+				flush();
+			}
+			return;
+		}
+		batch.add(event.getView());
+		if (endOfBatch || batch.size() >= maxBatchSize) {
+			flush();
+		}
+	}
+
+	@Override
+	public void onBatchAbort(long sequence) {
+		flush();
+	}
+
+	@Override
+	public void onShutdown() {
+		flush();
+	}
+
+	/**
+	 * Flush pending aggregates to metric store.
+	 */
+	protected void flush() {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			if (!store.batchSaveView(batch)) {
+				log.warn("Failed to store metric aggregates of batch size: {}", batch.size());
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Flushed metric aggregates size - {}", batch.size());
+			}
+		} catch (Exception e) {
+			log.error("Failed to store metric aggregates.", e);
+		} finally {
+			batch.clear();
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+/**
+ * Thrown to notify event processors waiting on a {@link SequenceBarrier} of a
+ * status change (e.g. halt). For performance reasons, it does not fill the
+ * stack trace.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public final class AlertException extends Exception {
+	private static final long serialVersionUID = -2937512447391536283L;
+
+	/** Pre-allocated exception to avoid garbage generation. */
+	final public static AlertException INSTANCE = new AlertException();
+
+	private AlertException() {
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+/**
+ * Callback interface to be implemented for processing events as they become
+ * available in the {@link RingBuffer}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public interface BatchEventHandler<E> {
+
+	/**
+	 * Called when a publisher has published an event to the
+	 * {@link RingBuffer}. The {@link BatchEventProcessor} will read messages
+	 * from the {@link RingBuffer} in batches, where a batch is all of the
+	 * events available to be processed without having to wait for any new
+	 * event to arrive. This can be useful for event handlers that need to do
+	 * slower operations like I/O as they can group together the data from
+	 * multiple events into a single operation.
+	 *
+	 * @param event
+	 *            published to the ring buffer
+	 * @param sequence
+	 *            of the event being processed
+	 * @param endOfBatch
+	 *            flag to indicate if this is the last event in a batch from
+	 *            the ring buffer
+	 * @throws Exception
+	 */
+	void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+
+	/**
+	 * Called once on thread start before first event is available.
+	 */
+	default void onStart() {
+	}
+
+	/**
+	 * Called when an event of the current batch failed to be processed,
+	 * before the {@link BatchEventProcessor} releases the slots of this batch
+	 * to publishers, so the handler must flush(or copy) any pending state that
+	 * still references these events.
+	 *
+	 * @param sequence
+	 *            of the failed event
+	 */
+	default void onBatchAbort(long sequence) {
+	}
+
+	/**
+	 * Called once just before the thread is shutdown.
+	 */
+	default void onShutdown() {
+	}
+
+}
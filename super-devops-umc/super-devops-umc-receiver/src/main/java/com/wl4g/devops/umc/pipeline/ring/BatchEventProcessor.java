@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static com.wl4g.devops.tool.common.log.SmartLoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * Batch event processor, reads the available events from the
+ * {@link RingBuffer} in batches and delegates them to the
+ * {@link BatchEventHandler}, which runs on a dedicated thread.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class BatchEventProcessor<E> implements Runnable {
+	final protected Logger log = getLogger(getClass());
+
+	/** Running status. */
+	final private AtomicBoolean running = new AtomicBoolean(false);
+
+	/** Ring buffer of events. */
+	final private RingBuffer<E> ringBuffer;
+
+	/** Sequence barrier of ring buffer. */
+	final private SequenceBarrier barrier;
+
+	/** Batch event handler. */
+	final private BatchEventHandler<? super E> handler;
+
+	/** Processed(consumer) sequence of this processor. */
+	final private Sequence sequence = new Sequence(Sequence.INITIAL_VALUE);
+
+	public BatchEventProcessor(RingBuffer<E> ringBuffer, BatchEventHandler<? super E> handler) {
+		notNullOf(ringBuffer, "ringBuffer");
+		notNullOf(handler, "handler");
+		this.ringBuffer = ringBuffer;
+		this.barrier = ringBuffer.newBarrier();
+		this.handler = handler;
+	}
+
+	public Sequence getSequence() {
+		return sequence;
+	}
+
+	public boolean isRunning() {
+		return running.get();
+	}
+
+	/**
+	 * Signal that this processor should stop when it has finished consuming
+	 * at the next clean break.
+	 */
+	public void halt() {
+		running.set(false);
+		barrier.alert();
+	}
+
+	@Override
+	public void run() {
+		if (!running.compareAndSet(false, true)) {
+			throw new IllegalStateException("Batch event processor is already running");
+		}
+		barrier.clearAlert();
+
+		notifyStart();
+		try {
+			long nextSequence = sequence.get() + 1L;
+			while (true) {
+				try {
+					long availableSequence = barrier.waitFor(nextSequence);
+					while (nextSequence <= availableSequence) {
+						handler.onEvent(ringBuffer.get(nextSequence), nextSequence, nextSequence == availableSequence);
+						nextSequence++;
+					}
+					sequence.set(availableSequence);
+				} catch (AlertException ex) {
+					if (!running.get()) {
+						break;
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					break;
+				} catch (Throwable ex) {
+					log.error(String.format("Failed to process event of sequence: %s", nextSequence), ex);
+					// The handler may still reference the events of this
+					// batch, which must be released before skipping the
+					// failed event.
+					notifyBatchAbort(nextSequence);
+					sequence.set(nextSequence);
+					nextSequence++;
+				}
+			}
+		} finally {
+			notifyShutdown();
+			running.set(false);
+		}
+	}
+
+	private void notifyStart() {
+		try {
+			handler.onStart();
+		} catch (Throwable ex) {
+			log.error("Failed to notify event handler start", ex);
+		}
+	}
+
+	private void notifyBatchAbort(long failedSequence) {
+		try {
+			handler.onBatchAbort(failedSequence);
+		} catch (Throwable ex) {
+			log.error("Failed to notify event handler batch abort", ex);
+		}
+	}
+
+	private void notifyShutdown() {
+		try {
+			handler.onShutdown();
+		} catch (Throwable ex) {
+			log.error("Failed to notify event handler shutdown", ex);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking strategy that uses a lock and condition variable for consumers
+ * waiting on a barrier.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+	final private Lock lock = new ReentrantLock();
+	final private Condition processorNotifyCondition = lock.newCondition();
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException {
+		long availableSequence;
+		if (cursor.get() < sequence) {
+			lock.lock();
+			try {
+				while (cursor.get() < sequence) {
+					barrier.checkAlert();
+					// Periodically wake up, in case of missed signals.
+					processorNotifyCondition.await(10, TimeUnit.MILLISECONDS);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+		}
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		lock.lock();
+		try {
+			processorNotifyCondition.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
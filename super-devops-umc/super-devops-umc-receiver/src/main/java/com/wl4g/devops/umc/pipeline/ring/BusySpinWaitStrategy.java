@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+/**
+ * Busy spin strategy that uses a busy spin loop for consumers waiting on a
+ * barrier.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException {
+		long availableSequence;
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+		}
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		// Ignore
+	}
+
+}
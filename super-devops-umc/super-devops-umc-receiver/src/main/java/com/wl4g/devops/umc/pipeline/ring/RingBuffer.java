@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.isTrue;
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded lock-free multi-producer ring buffer, the slots are pre-allocated
+ * and reused, producers claim sequences via CAS on the cursor and consumers
+ * track their progress through gating sequences (similar to LMAX disruptor
+ * MultiProducerSequencer).
+ *
+ * <pre>
+ * long seq = ringBuffer.next(); // or tryNext()
+ * try {
+ * 	E event = ringBuffer.get(seq);
+ * 	// Fill event ...
+ * } finally {
+ * 	ringBuffer.publish(seq);
+ * }
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class RingBuffer<E> {
+
+	/** Returned by {@link #tryNext()} when there is insufficient capacity. */
+	final public static long NO_CAPACITY = -1L;
+
+	/** Ring buffer size(power of 2) */
+	final private int bufferSize;
+
+	/** Index mask of ring buffer. */
+	final private int indexMask;
+
+	/** Shift of calculating available flag. */
+	final private int indexShift;
+
+	/** Pre-allocated events. */
+	final private Object[] entries;
+
+	/** Published flags of slots. */
+	final private AtomicIntegerArray availableBuffer;
+
+	/** Claimed producer cursor. */
+	final private Sequence cursor = new Sequence(Sequence.INITIAL_VALUE);
+
+	/** Cached minimum of gating sequences. */
+	final private Sequence gatingSequenceCache = new Sequence(Sequence.INITIAL_VALUE);
+
+	/** Consumer wait strategy. */
+	final private WaitStrategy waitStrategy;
+
+	/** Consumers(gating) sequences. */
+	private volatile Sequence[] gatingSequences = new Sequence[0];
+
+	public RingBuffer(Supplier<E> eventFactory, int bufferSize, WaitStrategy waitStrategy) {
+		notNullOf(eventFactory, "eventFactory");
+		notNullOf(waitStrategy, "waitStrategy");
+		isTrue(bufferSize > 0, "bufferSize must not be less than 1");
+		isTrue(Integer.bitCount(bufferSize) == 1, "bufferSize must be a power of 2");
+		this.bufferSize = bufferSize;
+		this.indexMask = bufferSize - 1;
+		this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+		this.waitStrategy = waitStrategy;
+		this.entries = new Object[bufferSize];
+		for (int i = 0; i < bufferSize; i++) {
+			entries[i] = eventFactory.get();
+		}
+		this.availableBuffer = new AtomicIntegerArray(bufferSize);
+		for (int i = 0; i < bufferSize; i++) {
+			availableBuffer.set(i, -1);
+		}
+	}
+
+	/**
+	 * Add the specified consumer sequences, which will be used to prevent the
+	 * producers from wrapping the ring buffer. </br>
+	 * Note: Must be called before any event is published.
+	 *
+	 * @param sequences
+	 */
+	public synchronized void addGatingSequences(Sequence... sequences) {
+		Sequence[] updated = Arrays.copyOf(gatingSequences, gatingSequences.length + sequences.length);
+		long cursorSequence = cursor.get();
+		for (int i = 0; i < sequences.length; i++) {
+			sequences[i].set(cursorSequence);
+			updated[gatingSequences.length + i] = sequences[i];
+		}
+		this.gatingSequences = updated;
+	}
+
+	/**
+	 * Create a new barrier, used by event processors to track the cursor.
+	 *
+	 * @return
+	 */
+	public SequenceBarrier newBarrier() {
+		return new SequenceBarrier(this, waitStrategy, cursor);
+	}
+
+	/**
+	 * Get the event for a given sequence.
+	 *
+	 * @param sequence
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public E get(long sequence) {
+		return (E) entries[(int) sequence & indexMask];
+	}
+
+	/**
+	 * Claim the next sequence, spinning(parking) while the ring buffer is full.
+	 *
+	 * @return
+	 */
+	public long next() {
+		long current, next;
+		do {
+			current = cursor.get();
+			next = current + 1;
+
+			long wrapPoint = next - bufferSize;
+			long cachedGatingSequence = gatingSequenceCache.get();
+			if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+				long gatingSequence = Sequence.getMinimumSequence(gatingSequences, current);
+				if (wrapPoint > gatingSequence) {
+					parkNanos(1); // Wait for consumers.
+					continue;
+				}
+				gatingSequenceCache.set(gatingSequence);
+			} else if (cursor.compareAndSet(current, next)) {
+				break;
+			}
+		} while (true);
+		return next;
+	}
+
+	/**
+	 * Attempt to claim the next sequence without waiting.
+	 *
+	 * @return the claimed sequence, or {@link #NO_CAPACITY} when the ring
+	 *         buffer is full.
+	 */
+	public long tryNext() {
+		long current, next;
+		do {
+			current = cursor.get();
+			next = current + 1;
+			if (!hasAvailableCapacity(1, current)) {
+				return NO_CAPACITY;
+			}
+		} while (!cursor.compareAndSet(current, next));
+		return next;
+	}
+
+	/**
+	 * Publish the specified sequence, making it available to consumers.
+	 *
+	 * @param sequence
+	 */
+	public void publish(long sequence) {
+		availableBuffer.lazySet((int) sequence & indexMask, (int) (sequence >>> indexShift));
+		waitStrategy.signalAllWhenBlocking();
+	}
+
+	/**
+	 * Check whether the specified sequence has been published.
+	 *
+	 * @param sequence
+	 * @return
+	 */
+	public boolean isAvailable(long sequence) {
+		return availableBuffer.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+	}
+
+	/**
+	 * Get the highest sequence that can be safely read from the ring buffer,
+	 * (contiguous published)
+	 *
+	 * @param lowerBound
+	 * @param availableSequence
+	 * @return
+	 */
+	public long getHighestPublishedSequence(long lowerBound, long availableSequence) {
+		for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+			if (!isAvailable(sequence)) {
+				return sequence - 1;
+			}
+		}
+		return availableSequence;
+	}
+
+	/**
+	 * Minimum sequence of all consumers.
+	 *
+	 * @return
+	 */
+	public long getMinimumGatingSequence() {
+		return Sequence.getMinimumSequence(gatingSequences, cursor.get());
+	}
+
+	public long getCursor() {
+		return cursor.get();
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Get the remaining capacity of this ring buffer.
+	 *
+	 * @return
+	 */
+	public long remainingCapacity() {
+		long consumed = Sequence.getMinimumSequence(gatingSequences, cursor.get());
+		long produced = cursor.get();
+		return getBufferSize() - (produced - consumed);
+	}
+
+	private boolean hasAvailableCapacity(int requiredCapacity, long cursorValue) {
+		long wrapPoint = (cursorValue + requiredCapacity) - bufferSize;
+		long cachedGatingSequence = gatingSequenceCache.get();
+		if (wrapPoint > cachedGatingSequence || cachedGatingSequence > cursorValue) {
+			long minSequence = Sequence.getMinimumSequence(gatingSequences, cursorValue);
+			gatingSequenceCache.set(minSequence);
+			if (wrapPoint > minSequence) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [bufferSize=" + bufferSize + ", cursor=" + cursor + ", gatingSequences="
+				+ Arrays.toString(gatingSequences) + "]";
+	}
+
+}
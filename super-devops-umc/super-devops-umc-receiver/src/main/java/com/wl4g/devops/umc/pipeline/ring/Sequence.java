@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Cache line padded sequence counter, used to track the progress of ring
+ * buffer producers and consumers.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class Sequence extends RhsPadding {
+
+	final public static long INITIAL_VALUE = -1L;
+
+	final private static AtomicLongFieldUpdater<Value> UPDATER = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+
+	public Sequence() {
+		this(INITIAL_VALUE);
+	}
+
+	public Sequence(long initialValue) {
+		UPDATER.lazySet(this, initialValue);
+	}
+
+	public long get() {
+		return value;
+	}
+
+	/**
+	 * Ordered write (store/store barrier only), used by the single writer of
+	 * this sequence.
+	 *
+	 * @param value
+	 */
+	public void set(long value) {
+		UPDATER.lazySet(this, value);
+	}
+
+	public void setVolatile(long value) {
+		this.value = value;
+	}
+
+	public boolean compareAndSet(long expectedValue, long newValue) {
+		return UPDATER.compareAndSet(this, expectedValue, newValue);
+	}
+
+	public long addAndGet(long increment) {
+		return UPDATER.addAndGet(this, increment);
+	}
+
+	/**
+	 * Gets the minimum sequence of the array, or default if empty.
+	 *
+	 * @param sequences
+	 * @param minimum
+	 * @return
+	 */
+	public static long getMinimumSequence(Sequence[] sequences, long minimum) {
+		for (int i = 0, n = sequences.length; i < n; i++) {
+			long value = sequences[i].get();
+			minimum = Math.min(minimum, value);
+		}
+		return minimum;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(get());
+	}
+
+}
+
+/**
+ * Left hand side padding.
+ */
+class LhsPadding {
+	protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+/**
+ * Padded value.
+ */
+class Value extends LhsPadding {
+	protected volatile long value;
+}
+
+/**
+ * Right hand side padding.
+ */
+class RhsPadding extends Value {
+	protected long p9, p10, p11, p12, p13, p14, p15;
+}
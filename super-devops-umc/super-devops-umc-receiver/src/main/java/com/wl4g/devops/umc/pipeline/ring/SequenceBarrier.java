@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+/**
+ * Coordination barrier for tracking the cursor for publishers and sequence of
+ * dependent event processors for processing a {@link RingBuffer}.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class SequenceBarrier {
+
+	final private RingBuffer<?> ringBuffer;
+
+	final private WaitStrategy waitStrategy;
+
+	final private Sequence cursorSequence;
+
+	/** Alerted(halt) status. */
+	private volatile boolean alerted = false;
+
+	SequenceBarrier(RingBuffer<?> ringBuffer, WaitStrategy waitStrategy, Sequence cursorSequence) {
+		this.ringBuffer = ringBuffer;
+		this.waitStrategy = waitStrategy;
+		this.cursorSequence = cursorSequence;
+	}
+
+	/**
+	 * Wait for the given sequence to be available for consumption.
+	 *
+	 * @param sequence
+	 *            to wait for
+	 * @return the sequence up to which is available(contiguous published)
+	 * @throws AlertException
+	 * @throws InterruptedException
+	 */
+	public long waitFor(long sequence) throws AlertException, InterruptedException {
+		checkAlert();
+
+		long availableSequence = waitStrategy.waitFor(sequence, cursorSequence, cursorSequence, this);
+		if (availableSequence < sequence) {
+			return availableSequence;
+		}
+		return ringBuffer.getHighestPublishedSequence(sequence, availableSequence);
+	}
+
+	public long getCursor() {
+		return cursorSequence.get();
+	}
+
+	public boolean isAlerted() {
+		return alerted;
+	}
+
+	/**
+	 * Alert the event processors of a status change and stay in this status
+	 * until cleared.
+	 */
+	public void alert() {
+		alerted = true;
+		waitStrategy.signalAllWhenBlocking();
+	}
+
+	public void clearAlert() {
+		alerted = false;
+	}
+
+	public void checkAlert() throws AlertException {
+		if (alerted) {
+			throw AlertException.INSTANCE;
+		}
+	}
+
+}
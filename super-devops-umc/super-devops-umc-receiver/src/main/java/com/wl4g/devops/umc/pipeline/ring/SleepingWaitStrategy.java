@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * Sleeping strategy that initially spins, then uses a Thread.yield(), and
+ * eventually sleep for the minimum number of nanos the OS and JVM will allow
+ * while the consumers are waiting on a barrier.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+	final private static int DEFAULT_RETRIES = 200;
+	final private static long DEFAULT_SLEEP = 100;
+
+	final private int retries;
+	final private long sleepTimeNs;
+
+	public SleepingWaitStrategy() {
+		this(DEFAULT_RETRIES, DEFAULT_SLEEP);
+	}
+
+	public SleepingWaitStrategy(int retries, long sleepTimeNs) {
+		this.retries = retries;
+		this.sleepTimeNs = sleepTimeNs;
+	}
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException {
+		long availableSequence;
+		int counter = retries;
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+			if (counter > 100) {
+				--counter;
+			} else if (counter > 0) {
+				--counter;
+				Thread.yield();
+			} else {
+				parkNanos(sleepTimeNs);
+			}
+		}
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		// Ignore
+	}
+
+}
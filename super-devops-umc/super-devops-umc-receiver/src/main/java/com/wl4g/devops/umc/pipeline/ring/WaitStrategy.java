@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline.ring;
+
+/**
+ * Strategy employed for making consumers wait on the ring buffer cursor.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月2日
+ * @since
+ */
+public interface WaitStrategy {
+
+	/**
+	 * Wait for the given sequence to be available. It is possible for this
+	 * method to return a value less than the sequence number supplied
+	 * depending on the implementation.
+	 *
+	 * @param sequence
+	 *            to be waited on.
+	 * @param cursor
+	 *            the main sequence from ring buffer.
+	 * @param dependentSequence
+	 *            on which to wait.
+	 * @param barrier
+	 *            the processor is waiting on.
+	 * @return the sequence that is available which may be greater than the
+	 *         requested sequence.
+	 * @throws AlertException
+	 * @throws InterruptedException
+	 */
+	long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException;
+
+	/**
+	 * Implementations should signal the waiting consumers that the cursor has
+	 * advanced.
+	 */
+	void signalAllWhenBlocking();
+
+	/**
+	 * Wait strategy definitions.
+	 */
+	public static enum WaitStrategyType {
+
+		/**
+		 * Lock and condition variable, the lowest CPU usage, suitable when
+		 * throughput and latency are less important than CPU resource.
+		 */
+		BLOCKING,
+
+		/**
+		 * Spins, then yields, then parks, a good compromise between
+		 * performance and CPU resource.
+		 */
+		SLEEPING,
+
+		/**
+		 * Spins then yields, low latency at the cost of CPU, suitable when the
+		 * number of consumer threads is less than the number of logical cores.
+		 */
+		YIELDING,
+
+		/**
+		 * Busy spin, lowest latency, consumer threads should be bound to
+		 * dedicated cores.
+		 */
+		BUSY_SPIN;
+
+		public WaitStrategy newInstance() {
+			switch (this) {
+			case SLEEPING:
+				return new SleepingWaitStrategy();
+			case YIELDING:
+				return new YieldingWaitStrategy();
+			case BUSY_SPIN:
+				return new BusySpinWaitStrategy();
+			default:
+				return new BlockingWaitStrategy();
+			}
+		}
+
+	}
+
+}
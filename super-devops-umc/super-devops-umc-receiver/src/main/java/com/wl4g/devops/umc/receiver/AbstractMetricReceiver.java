@@ -15,12 +15,18 @@
  */
 package com.wl4g.devops.umc.receiver;
 
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateDecoder;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricView;
+import com.wl4g.devops.common.bean.umc.model.codec.TagDictionary;
 import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
 import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
 import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
 import com.wl4g.devops.umc.alarm.MetricAggregateWrapper;
 import com.wl4g.devops.umc.alarm.MetricAggregateWrapper.MetricWrapper;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline;
 import com.wl4g.devops.umc.store.MetricStore;
+import com.google.protobuf.InvalidProtocolBufferException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
@@ -45,11 +51,85 @@ public abstract class AbstractMetricReceiver implements MetricReceiver {
 	/** Metric store adapter. */
 	final protected MetricStore store;
 
+	/** Reused metric aggregate views of receiving threads. */
+	final private ThreadLocal<MetricAggregateView> views = ThreadLocal.withInitial(() -> new MetricAggregateView());
+
+	/**
+	 * Metric asynchronous ingest pipeline, if null, the store and alarm will
+	 * be executed on the receiving thread.
+	 */
+	final protected MetricIngestPipeline pipeline;
+
 	public AbstractMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store) {
+		this(alerter, store, null);
+	}
+
+	public AbstractMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store, MetricIngestPipeline pipeline) {
 		Assert.notNull(alerter, "IndicatorsValveAlerter must not be null.");
 		Assert.notNull(store, "MetricStore must not be null.");
 		this.alerter = alerter;
 		this.store = store;
+		this.pipeline = pipeline;
+	}
+
+	/**
+	 * Processing metrics aggregate, publish to the ingest pipeline if
+	 * enabled, otherwise store and alarm synchronously.
+	 * 
+	 * @param aggregate
+	 */
+	protected void process(MetricAggregate aggregate) {
+		if (pipeline != null) {
+			pipeline.publish(aggregate);
+		} else {
+			// Storage metrics.
+			putMetrics(aggregate);
+
+			// Metrics alarm.
+			alarm(aggregate);
+		}
+	}
+
+	/**
+	 * Processing the encoded metrics aggregate, which is decoded into the
+	 * flyweight view without materializing the generated protobuf objects.
+	 * The buffer can be reused by caller after returned. If any of the
+	 * dictionary series are unresolved(e.g. the receiver restarted), the
+	 * whole aggregate is rejected, so the sender can re-send it with the
+	 * definitions.
+	 * 
+	 * @param buf
+	 * @param offset
+	 * @param length
+	 * @return Whether it has been accepted.
+	 * @throws InvalidProtocolBufferException
+	 */
+	protected boolean process(byte[] buf, int offset, int length) throws InvalidProtocolBufferException {
+		if (pipeline != null) {
+			return pipeline.publish(buf, offset, length);
+		}
+		MetricAggregateView view = MetricAggregateDecoder.DEFAULT.decode(buf, offset, length, views.get());
+		if (view.getUnresolved() > 0) {
+			return false;
+		}
+		// Storage metrics.
+		store.save(view);
+
+		// Metrics alarm.
+		alerter.alarm(wrapAggregate(view));
+		return true;
+	}
+
+	/**
+	 * Take the tag dictionary re-sync request of sender, see:
+	 * {@link com.wl4g.devops.common.bean.umc.model.codec.TagDictionaryEncoder}
+	 * 
+	 * @param dictionary
+	 * @return
+	 */
+	protected boolean takeDictionaryResync(long dictionary) {
+		TagDictionary tagDictionary = MetricAggregateDecoder.DEFAULT.getDictionary();
+		return tagDictionary != null && tagDictionary.takeResync(dictionary);
 	}
 
 	/**
@@ -67,6 +147,17 @@ public abstract class AbstractMetricReceiver implements MetricReceiver {
 	 * @param aggregate
 	 */
 	protected void alarm(MetricAggregate aggregate) {
+		// Do alarm alerter.
+		alerter.alarm(wrapAggregate(aggregate));
+	}
+
+	/**
+	 * Wrap metrics aggregate to alarm aggregate wrapper.
+	 * 
+	 * @param aggregate
+	 * @return
+	 */
+	public static MetricAggregateWrapper wrapAggregate(MetricAggregate aggregate) {
 		MetricAggregateWrapper wrap = new MetricAggregateWrapper();
 		wrap.setHost(aggregate.getHost());
 		wrap.setEndpoint(aggregate.getEndpoint());
@@ -82,9 +173,33 @@ public abstract class AbstractMetricReceiver implements MetricReceiver {
 			metrics.add(metric1);
 		}
 		wrap.setMetrics(metrics);
+		return wrap;
+	}
 
-		// Do alarm alerter.
-		alerter.alarm(wrap);
+	/**
+	 * Wrap metrics aggregate view to alarm aggregate wrapper.
+	 * 
+	 * @param view
+	 * @return
+	 */
+	public static MetricAggregateWrapper wrapAggregate(MetricAggregateView view) {
+		MetricAggregateWrapper wrap = new MetricAggregateWrapper();
+		wrap.setHost(view.getHost());
+		wrap.setEndpoint(view.getEndpoint());
+		wrap.setTimestamp(view.getTimestamp());
+		wrap.setClassify(view.getClassify());
+
+		List<MetricWrapper> metrics = new ArrayList<>(view.size());
+		for (int i = 0, size = view.size(); i < size; i++) {
+			MetricView metric = view.get(i);
+			MetricWrapper metric1 = new MetricWrapper();
+			metric1.setMetric(metric.getMetric());
+			metric1.setValue(metric.getValue());
+			metric1.setTags(metric.toTagsMap());
+			metrics.add(metric1);
+		}
+		wrap.setMetrics(metrics);
+		return wrap;
 	}
 
 }
\ No newline at end of file
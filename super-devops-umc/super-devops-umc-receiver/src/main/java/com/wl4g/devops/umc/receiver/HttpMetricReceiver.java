@@ -15,13 +15,20 @@
  */
 package com.wl4g.devops.umc.receiver;
 
-import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
 import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline;
+import com.wl4g.devops.umc.receiver.ReceiveBufferPool.ReceiveBuffer;
 import com.wl4g.devops.umc.store.MetricStore;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.io.InputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.HEADER_TAG_DICTIONARY;
+import static com.wl4g.devops.common.constants.UMCDevOpsConstants.HEADER_TAG_DICTIONARY_RESYNC;
 import static com.wl4g.devops.common.constants.UMCDevOpsConstants.URI_HTTP_RECEIVER_ENDPOINT;
 
 /**
@@ -35,22 +42,40 @@ import static com.wl4g.devops.common.constants.UMCDevOpsConstants.URI_HTTP_RECEI
 @com.wl4g.devops.umc.annotation.HttpCollectReceiver
 public class HttpMetricReceiver extends AbstractMetricReceiver {
 
+	/** Pooled buffers of request body. */
+	final private ReceiveBufferPool bufferPool = new ReceiveBufferPool(4096, 1024 * 1024);
+
 	public HttpMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store) {
 		super(alerter, store);
 	}
 
+	public HttpMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store, MetricIngestPipeline pipeline) {
+		super(alerter, store, pipeline);
+	}
+
 	/**
-	 * Receiving of HTTP metrics message.
+	 * Receiving of HTTP metrics message, if the tag dictionary series of
+	 * sender cannot be resolved, the message is rejected with conflict
+	 * status, and the sender is requested to re-sync by the response header,
+	 * the message dropped by the ingest pipeline is rejected with service
+	 * unavailable status.
 	 */
 	@RequestMapping(URI_HTTP_RECEIVER_ENDPOINT)
-	public void metricReceive(@RequestBody byte[] body) {
-		try {
-			MetricAggregate aggregate = MetricAggregate.parseFrom(body);
-			// Storage metrics.
-			putMetrics(aggregate);
-
-			// Metrics alarm.
-			alarm(aggregate);
+	public void metricReceive(HttpServletRequest request, HttpServletResponse response) {
+		try (InputStream in = request.getInputStream()) {
+			ReceiveBuffer body = bufferPool.readFully(in, request.getContentLength());
+			// Storage and alarm metrics.
+			boolean accepted = process(body.array(), 0, body.length());
+
+			String dictionary = request.getHeader(HEADER_TAG_DICTIONARY);
+			boolean resync = dictionary != null && takeDictionaryResync(Long.parseLong(dictionary));
+			if (resync) {
+				response.setHeader(HEADER_TAG_DICTIONARY_RESYNC, "true");
+			}
+			if (!accepted) {
+				log.warn("Rejected metric message of tag dictionary: {}, unresolved: {}", dictionary, resync);
+				response.setStatus(resync ? HttpServletResponse.SC_CONFLICT : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			}
 		} catch (Exception e) {
 			log.error("Failed to receive metric handling.", e);
 		}
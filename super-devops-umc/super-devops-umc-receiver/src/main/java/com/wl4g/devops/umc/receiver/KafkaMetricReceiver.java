@@ -16,15 +16,24 @@
 package com.wl4g.devops.umc.receiver;
 
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateDecoder;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
 import com.wl4g.devops.umc.alarm.IndicatorsValveAlerter;
+import com.wl4g.devops.umc.config.ReceiverProperties.KafkaReceiverProperties;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline;
 import com.wl4g.devops.umc.store.MetricStore;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.utils.Bytes;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import static com.wl4g.devops.common.constants.UMCDevOpsConstants.TOPIC_KAFKA_RECEIVE_PATTERN;
 import static com.wl4g.devops.umc.config.UmcReceiveAutoConfiguration.BEAN_KAFKA_BATCH_FACTORY;
@@ -36,10 +45,54 @@ import static com.wl4g.devops.umc.config.UmcReceiveAutoConfiguration.BEAN_KAFKA_
  * @version v1.0 2019年6月17日
  * @since
  */
-public class KafkaMetricReceiver extends AbstractMetricReceiver {
+public class KafkaMetricReceiver extends AbstractMetricReceiver implements ConsumerSeekAware, DisposableBean {
+
+	/** Seek callback of current consumer thread. */
+	final private ThreadLocal<ConsumerSeekCallback> seekCallback = new ThreadLocal<>();
+
+	/** KAFKA receiver configuration. */
+	final protected KafkaReceiverProperties config;
+
+	/** Partition ordered parallel processor. */
+	final protected PartitionParallelProcessor<byte[], Bytes> processor;
+
+	/** Reused metric aggregate views of partition worker threads. */
+	final private ThreadLocal<List<MetricAggregateView>> partitionViews = ThreadLocal.withInitial(() -> new ArrayList<>());
 
 	public KafkaMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store) {
-		super(alerter, store);
+		this(alerter, store, null);
+	}
+
+	public KafkaMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store, MetricIngestPipeline pipeline) {
+		this(alerter, store, pipeline, new KafkaReceiverProperties());
+	}
+
+	public KafkaMetricReceiver(IndicatorsValveAlerter alerter, MetricStore store, MetricIngestPipeline pipeline,
+			KafkaReceiverProperties config) {
+		super(alerter, store, pipeline);
+		this.config = config;
+		this.processor = new PartitionParallelProcessor<>("kafkaMetricPartitionWorker", config.getPartitionParallelism(),
+				(tp, records) -> doProcess(tp, records));
+	}
+
+	@Override
+	public void registerSeekCallback(ConsumerSeekCallback callback) {
+		seekCallback.set(callback);
+	}
+
+	@Override
+	public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+		// The revoked partitions are also reset when they're reassigned.
+		processor.resetFlushedOffsets(assignments.keySet());
+	}
+
+	@Override
+	public void onIdleContainer(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		processor.close();
 	}
 
 	/**
@@ -58,36 +111,91 @@ public class KafkaMetricReceiver extends AbstractMetricReceiver {
 				log.info("Receive metric records size - {}", records.size());
 			}
 
-			doProcess(records, new MultiAcknowledgmentState(ack));
+			// Processing partitions in parallel.
+			Map<TopicPartition, Long> failures = processor.process(records, config.getFlushTimeoutMs());
+			if (failures.isEmpty()) {
+				new MultiAcknowledgmentState(ack).completed();
+			} else {
+				// The batch ack commits all partitions of this poll, so skip ack
+				// and rewind the failed partitions to be redelivered, the
+				// flushed partitions of this poll are skipped if they are
+				// redelivered(see PartitionParallelProcessor).
+				ConsumerSeekCallback callback = seekCallback.get();
+				for (Entry<TopicPartition, Long> ent : failures.entrySet()) {
+					log.warn("Rewind failed partition: {} to offset: {}", ent.getKey(), ent.getValue());
+					if (callback != null) {
+						callback.seek(ent.getKey().topic(), ent.getKey().partition(), ent.getValue());
+					}
+				}
+			}
 		} catch (Exception e) {
 			log.error(String.format("Failed to receive process for ", records.size()), e);
 		}
 	}
 
 	/**
-	 * UMC agent metric processing.
+	 * UMC agent metric processing of one partition, the records are decoded
+	 * into the reused views(without materializing the generated protobuf
+	 * objects), which are saved in batches, and then alarmed.
 	 *
+	 * @param tp
 	 * @param records
-	 * @param state
+	 * @return Whether the partition has been flushed.
 	 */
-	private void doProcess(List<ConsumerRecord<byte[], Bytes>> records, MultiAcknowledgmentState state) {
+	private boolean doProcess(TopicPartition tp, List<ConsumerRecord<byte[], Bytes>> records) {
+		List<MetricAggregateView> views = partitionViews.get();
+		int size = 0;
 		for (ConsumerRecord<byte[], Bytes> record : records) {
+			if (Thread.currentThread().isInterrupted()) {
+				return false; // Cancelled by timeout.
+			}
+			if (size == views.size()) {
+				views.add(new MetricAggregateView());
+			}
 			try {
-				MetricAggregate aggregate = MetricAggregate.parseFrom(record.value().get());
+				// Decoding with the tag dictionaries of senders.
+				MetricAggregateView view = MetricAggregateDecoder.DEFAULT.decode(record.value().get(), views.get(size));
+				if (view.getUnresolved() > 0) {
+					// Without reply, the sender re-sends the definitions in
+					// its next epoch.
+					log.warn("Unresolved metrics: {} of tag dictionary: {}, host: {}, endpoint: {}", view.getUnresolved(),
+							view.getDictionary(), view.getHost(), view.getEndpoint());
+				}
 				if (log.isDebugEnabled()) {
-					log.debug("Put metric aggregate for - {}", aggregate);
+					log.debug("Put metric aggregate for - {}", view);
 				}
-
-				// Storage metrics.
-				putMetrics(aggregate);
-
-				// Metrics alarm.
-				alarm(aggregate);
+				++size;
 			} catch (InvalidProtocolBufferException e) {
 				log.error("Failed to parse metric message.", e);
 			}
 		}
-		state.completed();
+		if (size == 0) {
+			return true;
+		}
+		List<MetricAggregateView> batch = views.subList(0, size);
+
+		// Storage metrics.
+		if (Thread.currentThread().isInterrupted()) {
+			return false; // Cancelled by timeout.
+		}
+		if (!store.batchSaveView(batch)) {
+			log.warn("Failed to save metrics of partition: {}, size: {}", tp, size);
+			return false;
+		}
+
+		// Metrics alarm.
+		for (MetricAggregateView view : batch) {
+			try {
+				if (pipeline != null) {
+					pipeline.publish(view, true);
+				} else {
+					alerter.alarm(wrapAggregate(view));
+				}
+			} catch (Exception e) {
+				log.error("Failed to alarm metric aggregate.", e);
+			}
+		}
+		return true;
 	}
 
 	/**
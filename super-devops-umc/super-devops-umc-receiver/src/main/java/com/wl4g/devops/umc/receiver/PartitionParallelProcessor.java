@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.receiver;
+
+import static com.wl4g.devops.tool.common.lang.Assert2.isTrue;
+import static com.wl4g.devops.tool.common.lang.Assert2.notNullOf;
+import static com.wl4g.devops.tool.common.log.SmartLoggerFactory.getLogger;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+
+/**
+ * Partition ordered parallel processor, the records of one poll are grouped
+ * by {@link TopicPartition} and fanned out to the partition workers. Records
+ * of the same partition are always handled by the same single thread worker
+ * in offset order, and the different partitions are handled in parallel.<br/>
+ * The flushed offset of each partition is tracked, so the records which have
+ * been flushed are skipped when they're redelivered(e.g. a partition of the
+ * poll whose sibling was rewound, or a timed out handling that completed
+ * later), rather than being handled twice.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月3日
+ * @since
+ */
+public class PartitionParallelProcessor<K, V> implements Closeable {
+	final protected Logger log = getLogger(getClass());
+
+	/** Partition workers. */
+	final private ExecutorService[] workers;
+
+	/** Partition records batch handler. */
+	final private PartitionBatchHandler<K, V> handler;
+
+	/** Next offset to handle of the partitions, updated by the workers. */
+	final private ConcurrentMap<TopicPartition, Long> flushedOffsets = new ConcurrentHashMap<>();
+
+	public PartitionParallelProcessor(String name, int parallelism, PartitionBatchHandler<K, V> handler) {
+		isTrue(parallelism > 0, "Partition parallelism must be greater than 0");
+		notNullOf(handler, "partitionBatchHandler");
+		this.handler = handler;
+		this.workers = new ExecutorService[parallelism];
+		for (int i = 0; i < parallelism; i++) {
+			final String threadName = name + "-" + i;
+			this.workers[i] = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = new Thread(r, threadName);
+				t.setDaemon(true);
+				return t;
+			});
+		}
+	}
+
+	/**
+	 * Processing the polled records by partition in parallel, and waits for
+	 * all partitions to complete.
+	 *
+	 * @param records
+	 * @param timeoutMs
+	 *            Maximum waiting time for all partitions.
+	 * @return The failed partitions and the offset that should be rewound to,
+	 *         an empty map means all partitions succeeded.
+	 */
+	public Map<TopicPartition, Long> process(List<ConsumerRecord<K, V>> records, long timeoutMs) {
+		// Group by partition, keep offset order.
+		Map<TopicPartition, List<ConsumerRecord<K, V>>> partitions = new LinkedHashMap<>(8);
+		for (ConsumerRecord<K, V> record : records) {
+			TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+			List<ConsumerRecord<K, V>> batch = partitions.get(tp);
+			if (batch == null) {
+				partitions.put(tp, batch = new ArrayList<>(records.size()));
+			}
+			batch.add(record);
+		}
+
+		// Fan out to partition workers.
+		Map<TopicPartition, Future<Boolean>> futures = new HashMap<>(partitions.size());
+		for (Entry<TopicPartition, List<ConsumerRecord<K, V>>> ent : partitions.entrySet()) {
+			TopicPartition tp = ent.getKey();
+			List<ConsumerRecord<K, V>> batch = ent.getValue();
+			futures.put(tp, getWorker(tp).submit(() -> handleUnflushed(tp, batch)));
+		}
+
+		// Wait for the partitions flushed.
+		Map<TopicPartition, Long> failures = new HashMap<>(4);
+		long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMs);
+		for (Entry<TopicPartition, Future<Boolean>> ent : futures.entrySet()) {
+			TopicPartition tp = ent.getKey();
+			boolean success = false;
+			try {
+				success = ent.getValue().get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (TimeoutException e) {
+				// Interrupt the handling, so it doesn't keep writing while the
+				// partition is redelivered.
+				ent.getValue().cancel(true);
+				log.warn("Timeout waiting for partition: {} to flush, cancelled", tp);
+			} catch (Exception e) {
+				log.error(String.format("Failed to handle partition: %s", tp), e);
+			}
+			if (!success) {
+				failures.put(tp, partitions.get(tp).get(0).offset());
+			}
+		}
+		return failures.isEmpty() ? Collections.emptyMap() : failures;
+	}
+
+	/**
+	 * Gets the next offset to handle of the partition.
+	 *
+	 * @param tp
+	 * @return null if the partition has not been flushed.
+	 */
+	public Long getFlushedOffset(TopicPartition tp) {
+		return flushedOffsets.get(tp);
+	}
+
+	/**
+	 * Reset the flushed offsets of the partitions, which must be called when
+	 * the partitions are (re)assigned, because the offsets may go backwards
+	 * (e.g. seek or reset), and the records below the stale flushed offsets
+	 * would be skipped.
+	 *
+	 * @param partitions
+	 */
+	public void resetFlushedOffsets(Collection<TopicPartition> partitions) {
+		for (TopicPartition tp : partitions) {
+			flushedOffsets.remove(tp);
+		}
+	}
+
+	@Override
+	public void close() {
+		for (ExecutorService worker : workers) {
+			worker.shutdown();
+		}
+		for (ExecutorService worker : workers) {
+			try {
+				worker.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Handling the records of partition which have not been flushed, it's
+	 * called by the worker of the partition.
+	 *
+	 * @param tp
+	 * @param batch
+	 * @return
+	 * @throws Exception
+	 */
+	private boolean handleUnflushed(TopicPartition tp, List<ConsumerRecord<K, V>> batch) throws Exception {
+		List<ConsumerRecord<K, V>> records = batch;
+		Long flushed = flushedOffsets.get(tp);
+		if (flushed != null && batch.get(0).offset() < flushed) {
+			records = new ArrayList<>(batch.size());
+			for (ConsumerRecord<K, V> record : batch) {
+				if (record.offset() >= flushed) {
+					records.add(record);
+				}
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Skip flushed records of partition: {}, size: {}", tp, batch.size() - records.size());
+			}
+			if (records.isEmpty()) {
+				return true;
+			}
+		}
+		if (Thread.currentThread().isInterrupted()) {
+			return false; // Cancelled
+		}
+		boolean success = handler.handle(tp, records);
+		if (success) {
+			flushedOffsets.put(tp, records.get(records.size() - 1).offset() + 1);
+		}
+		return success;
+	}
+
+	/**
+	 * Gets the worker of the partition, the same partition always gets the
+	 * same worker.
+	 *
+	 * @param tp
+	 * @return
+	 */
+	private ExecutorService getWorker(TopicPartition tp) {
+		return workers[(tp.hashCode() & Integer.MAX_VALUE) % workers.length];
+	}
+
+	/**
+	 * Partition records batch handler.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月3日
+	 * @since
+	 */
+	public static interface PartitionBatchHandler<K, V> {
+
+		/**
+		 * Handling the records(in offset order) of one partition, the
+		 * implementations should check the interruption of current thread
+		 * before writing, it's interrupted when the waiting is timed out.
+		 *
+		 * @param tp
+		 * @param records
+		 * @return Returns true if the records have been flushed, and the
+		 *         offsets of partition can be committed.
+		 * @throws Exception
+		 */
+		boolean handle(TopicPartition tp, List<ConsumerRecord<K, V>> records) throws Exception;
+
+	}
+
+}
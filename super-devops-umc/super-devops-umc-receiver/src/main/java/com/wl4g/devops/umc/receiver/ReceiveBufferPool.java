@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.receiver;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Thread local pooled buffers of receiving message body, which avoids the
+ * allocation of the full request body array for each message.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月4日
+ * @since
+ */
+public class ReceiveBufferPool {
+
+	/** Initial buffer capacity. */
+	final private int initialCapacity;
+
+	/**
+	 * Maximum capacity retained by thread, the larger buffers are discarded
+	 * after use.
+	 */
+	final private int maxRetainedCapacity;
+
+	/** Pooled buffers of threads. */
+	final private ThreadLocal<ReceiveBuffer> buffers;
+
+	public ReceiveBufferPool(int initialCapacity, int maxRetainedCapacity) {
+		this.initialCapacity = Math.max(initialCapacity, 64);
+		this.maxRetainedCapacity = Math.max(maxRetainedCapacity, this.initialCapacity);
+		this.buffers = ThreadLocal.withInitial(() -> new ReceiveBuffer(this.initialCapacity));
+	}
+
+	/**
+	 * Read the input stream fully into pooled buffer of current thread, the
+	 * returned buffer is only valid before the next read of the same thread.
+	 *
+	 * @param in
+	 * @param sizeHint
+	 *            e.g. content length, if unknown, less than 0.
+	 * @return
+	 * @throws IOException
+	 */
+	public ReceiveBuffer readFully(InputStream in, int sizeHint) throws IOException {
+		ReceiveBuffer buffer = buffers.get();
+		if (buffer.array.length > maxRetainedCapacity) {
+			buffer.array = new byte[initialCapacity];
+		}
+		buffer.ensureCapacity(sizeHint);
+		buffer.length = 0;
+
+		int n;
+		while (true) {
+			if (buffer.length == buffer.array.length) {
+				buffer.ensureCapacity(buffer.length << 1);
+			}
+			if ((n = in.read(buffer.array, buffer.length, buffer.array.length - buffer.length)) < 0) {
+				break;
+			}
+			buffer.length += n;
+		}
+		return buffer;
+	}
+
+	/**
+	 * Reusable receiving buffer.
+	 *
+	 * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+	 * @version v1.0 2020年3月4日
+	 * @since
+	 */
+	public static class ReceiveBuffer {
+
+		private byte[] array;
+
+		private int length;
+
+		ReceiveBuffer(int capacity) {
+			this.array = new byte[capacity];
+		}
+
+		public byte[] array() {
+			return array;
+		}
+
+		public int length() {
+			return length;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > array.length) {
+				byte[] newArray = new byte[capacity];
+				System.arraycopy(array, 0, newArray, 0, length);
+				array = newArray;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.pipeline;
+
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.wl4g.devops.common.bean.umc.model.codec.TagDictionaryEncoder;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.config.ReceiverProperties.PipelineProperties;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline.OverflowPolicy;
+import com.wl4g.devops.umc.pipeline.MetricIngestPipeline.PipelineStats;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventHandler;
+import com.wl4g.devops.umc.pipeline.ring.BatchEventProcessor;
+import com.wl4g.devops.umc.pipeline.ring.BlockingWaitStrategy;
+import com.wl4g.devops.umc.pipeline.ring.RingBuffer;
+import com.wl4g.devops.umc.pipeline.ring.Sequence;
+
+/**
+ * {@link MetricIngestPipeline} tests.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月3日
+ * @since
+ */
+public class MetricIngestPipelineTests {
+
+	public static void main(String[] args) throws Exception {
+		batchAbortTest1();
+		overflowDropTest2();
+		unresolvedRejectTest3();
+	}
+
+	/**
+	 * When an event of batch failed, the slots still referenced by the
+	 * pending batch of handler must not be released before it's flushed.
+	 */
+	private static void batchAbortTest1() throws Exception {
+		RingBuffer<long[]> ringBuffer = new RingBuffer<>(() -> new long[1], 16, new BlockingWaitStrategy());
+		AtomicReference<Sequence> processed = new AtomicReference<>();
+		AtomicReference<String> violation = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		int total = 100;
+
+		BatchEventHandler<long[]> handler = new BatchEventHandler<long[]>() {
+			final List<Long> pending = new ArrayList<>();
+			int flushed = 0;
+
+			@Override
+			public void onEvent(long[] event, long sequence, boolean endOfBatch) throws Exception {
+				checkGated();
+				if (event[0] % 7 == 3) {
+					throw new IllegalStateException("Failed of event: " + event[0]);
+				}
+				pending.add(sequence);
+				if (endOfBatch) {
+					flush();
+				}
+			}
+
+			@Override
+			public void onBatchAbort(long sequence) {
+				checkGated();
+				flush();
+			}
+
+			private void checkGated() {
+				if (!pending.isEmpty() && processed.get().get() >= pending.get(0)) {
+					violation.compareAndSet(null, "Released pending sequence: " + pending.get(0) + ", processed: "
+							+ processed.get().get());
+				}
+			}
+
+			private void flush() {
+				flushed += pending.size();
+				pending.clear();
+				if (flushed + (total / 7 + 1) >= total) {
+					done.countDown();
+				}
+			}
+		};
+
+		BatchEventProcessor<long[]> processor = new BatchEventProcessor<>(ringBuffer, handler);
+		processed.set(processor.getSequence());
+		ringBuffer.addGatingSequences(processor.getSequence());
+
+		// Publish all events before starting, so they're handled in one batch.
+		for (int i = 0; i < 16; i++) {
+			long seq = ringBuffer.next();
+			ringBuffer.get(seq)[0] = i;
+			ringBuffer.publish(seq);
+		}
+		Thread t = new Thread(processor, "batchAbortTest1");
+		t.start();
+		for (int i = 16; i < total; i++) {
+			long seq = ringBuffer.next();
+			ringBuffer.get(seq)[0] = i;
+			ringBuffer.publish(seq);
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS), "Timeout waiting for events flushed");
+		processor.halt();
+		t.join(5_000L);
+		assertTrue(violation.get() == null, violation.get());
+		System.out.println("Batch abort test passed.");
+	}
+
+	/**
+	 * The overflow events must be dropped and counted, never be handled on
+	 * the caller thread.
+	 */
+	private static void overflowDropTest2() throws Exception {
+		PipelineProperties config = new PipelineProperties();
+		config.setBufferSize(4);
+		config.setPublishTimeoutMs(10L);
+		config.setOverflowPolicy(OverflowPolicy.BLOCK);
+		config.setShutdownTimeoutMs(1_000L);
+
+		Thread caller = Thread.currentThread();
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<String> violation = new AtomicReference<>();
+		BatchEventHandler<MetricEvent> handler = (event, sequence, endOfBatch) -> {
+			if (Thread.currentThread() == caller) {
+				violation.compareAndSet(null, "Handled on caller thread of sequence: " + sequence);
+			}
+			release.await();
+		};
+
+		MetricIngestPipeline pipeline = new MetricIngestPipeline(config, singletonList(handler));
+		pipeline.start();
+		try {
+			MetricAggregate aggregate = MetricAggregate.newBuilder().setHost("127.0.0.1").build();
+			int accepted = 0;
+			for (int i = 0; i < 10; i++) {
+				if (pipeline.publish(aggregate)) {
+					accepted++;
+				}
+			}
+			PipelineStats stats = pipeline.getStats();
+			assertTrue(accepted <= 5, "Unexpected accepted: " + accepted);
+			assertTrue(stats.getDropped() == 10 - accepted, "Unexpected dropped of " + stats);
+			assertTrue(stats.getPublished() == accepted, "Unexpected published of " + stats);
+		} finally {
+			release.countDown();
+			pipeline.close();
+		}
+		assertTrue(violation.get() == null, violation.get());
+		System.out.println("Overflow drop test passed, " + pipeline.getStats());
+	}
+
+	/**
+	 * The encoded aggregate with unresolved dictionary series must be
+	 * rejected instead of being handled partially, and be accepted after the
+	 * sender re-sync.
+	 */
+	private static void unresolvedRejectTest3() throws Exception {
+		PipelineProperties config = new PipelineProperties();
+		config.setBufferSize(8);
+		config.setShutdownTimeoutMs(1_000L);
+
+		List<Integer> handled = new ArrayList<>();
+		BatchEventHandler<MetricEvent> handler = (event, sequence, endOfBatch) -> {
+			if (event.isValid()) {
+				synchronized (handled) {
+					handled.add(event.getView().size());
+				}
+			}
+		};
+
+		MetricIngestPipeline pipeline = new MetricIngestPipeline(config, singletonList(handler));
+		pipeline.start();
+		TagDictionaryEncoder encoder = new TagDictionaryEncoder(true);
+		MetricAggregate aggregate = MetricAggregate.newBuilder().setHost("127.0.0.1").setEndpoint("6379")
+				.addMetrics(Metric.newBuilder().setMetric("redis.clients").putTags("role", "master").setValue(1d)).build();
+		try {
+			encoder.encode(aggregate);
+			encoder.acknowledge(); // Acknowledged, but the receiver restarted.
+			byte[] encoded = encoder.encode(aggregate);
+			assertTrue(!pipeline.publish(encoded, 0, encoded.length), "Unresolved aggregate is not rejected.");
+
+			encoder.resync();
+			encoded = encoder.encode(aggregate);
+			assertTrue(pipeline.publish(encoded, 0, encoded.length), "Re-synced aggregate is not accepted.");
+		} finally {
+			pipeline.close();
+		}
+		assertTrue(handled.size() == 1 && handled.get(0) == 1, "Unexpected handled: " + handled);
+		System.out.println("Unresolved reject test passed, " + pipeline.getStats());
+	}
+
+	private static void assertTrue(boolean expression, String message) {
+		if (!expression) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.receiver;
+
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * {@link PartitionParallelProcessor} tests.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月3日
+ * @since
+ */
+public class PartitionParallelProcessorTests {
+
+	public static void main(String[] args) throws Exception {
+		partitionOrderingTest1();
+		failedPartitionOffsetTest2();
+		timeoutCancelTest3();
+		skipFlushedRecordsTest4();
+		resetFlushedOffsetsTest5();
+	}
+
+	/**
+	 * The records of the same partition must be handled in offset order,
+	 * across polls.
+	 */
+	private static void partitionOrderingTest1() {
+		Map<TopicPartition, Long> lastOffsets = new ConcurrentHashMap<>();
+		PartitionParallelProcessor<String, String> processor = new PartitionParallelProcessor<>("test1", 3, (tp, records) -> {
+			for (ConsumerRecord<String, String> record : records) {
+				Long last = lastOffsets.put(tp, record.offset());
+				if (last != null && last + 1 != record.offset()) {
+					throw new IllegalStateException("Out of order of " + tp + ", last: " + last + ", current: " + record.offset());
+				}
+			}
+			return true;
+		});
+
+		long offset = 0;
+		for (int poll = 0; poll < 100; poll++) {
+			List<ConsumerRecord<String, String>> records = new ArrayList<>();
+			for (int i = 0; i < 50; i++, offset++) {
+				for (int partition = 0; partition < 8; partition++) {
+					records.add(new ConsumerRecord<>("topic1", partition, offset, "key", "value"));
+				}
+			}
+			Map<TopicPartition, Long> failures = processor.process(records, 10_000L);
+			if (!failures.isEmpty()) {
+				throw new IllegalStateException("Unexpected failures: " + failures);
+			}
+		}
+		processor.close();
+		System.out.println("Partition ordering test passed, lastOffsets: " + lastOffsets);
+	}
+
+	/**
+	 * Only the failed partitions should be rewound to the first offset of the
+	 * poll.
+	 */
+	private static void failedPartitionOffsetTest2() {
+		PartitionParallelProcessor<String, String> processor = new PartitionParallelProcessor<>("test2", 2,
+				(tp, records) -> tp.partition() != 1);
+
+		List<ConsumerRecord<String, String>> records = new ArrayList<>();
+		for (int partition = 0; partition < 3; partition++) {
+			for (long offset = 100; offset < 110; offset++) {
+				records.add(new ConsumerRecord<>("topic1", partition, offset, "key", "value"));
+			}
+		}
+		Map<TopicPartition, Long> failures = processor.process(records, 10_000L);
+		processor.close();
+		if (failures.size() != 1 || failures.get(new TopicPartition("topic1", 1)) != 100L) {
+			throw new IllegalStateException("Unexpected failures: " + failures);
+		}
+		System.out.println("Failed partition offset test passed, failures: " + failures);
+	}
+
+	/**
+	 * The timed out partition must be cancelled(interrupted), and rewound.
+	 */
+	private static void timeoutCancelTest3() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		PartitionParallelProcessor<String, String> processor = new PartitionParallelProcessor<>("test3", 2, (tp, records) -> {
+			if (tp.partition() == 1) {
+				try {
+					Thread.sleep(10_000L);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+					return false;
+				}
+			}
+			return true;
+		});
+
+		List<ConsumerRecord<String, String>> records = new ArrayList<>();
+		for (int partition = 0; partition < 2; partition++) {
+			records.add(new ConsumerRecord<>("topic1", partition, 100L, "key", "value"));
+		}
+		Map<TopicPartition, Long> failures = processor.process(records, 200L);
+		boolean cancelled = interrupted.await(5, TimeUnit.SECONDS);
+		processor.close();
+		if (failures.size() != 1 || failures.get(new TopicPartition("topic1", 1)) != 100L || !cancelled) {
+			throw new IllegalStateException("Unexpected failures: " + failures + ", cancelled: " + cancelled);
+		}
+		System.out.println("Timeout cancel test passed, failures: " + failures);
+	}
+
+	/**
+	 * The flushed records must be skipped when they're redelivered.
+	 */
+	private static void skipFlushedRecordsTest4() {
+		AtomicInteger handled = new AtomicInteger(0);
+		AtomicInteger attempts = new AtomicInteger(0);
+		PartitionParallelProcessor<String, String> processor = new PartitionParallelProcessor<>("test4", 2, (tp, records) -> {
+			handled.addAndGet(records.size());
+			// Partition 1 fails at the first attempt.
+			return tp.partition() != 1 || attempts.incrementAndGet() > 1;
+		});
+
+		List<ConsumerRecord<String, String>> records = new ArrayList<>();
+		for (int partition = 0; partition < 2; partition++) {
+			for (long offset = 100; offset < 110; offset++) {
+				records.add(new ConsumerRecord<>("topic1", partition, offset, "key", "value"));
+			}
+		}
+		Map<TopicPartition, Long> failures1 = processor.process(records, 10_000L);
+		// Redelivered with the next records.
+		records.add(new ConsumerRecord<>("topic1", 0, 110L, "key", "value"));
+		Map<TopicPartition, Long> failures2 = processor.process(records, 10_000L);
+		Long flushed0 = processor.getFlushedOffset(new TopicPartition("topic1", 0));
+		Long flushed1 = processor.getFlushedOffset(new TopicPartition("topic1", 1));
+		processor.close();
+		// 10 + 10(failed) at first, then 1 + 10
+		if (failures1.size() != 1 || !failures2.isEmpty() || handled.get() != 31 || flushed0 != 111L || flushed1 != 110L) {
+			throw new IllegalStateException("Unexpected failures: " + failures1 + ", " + failures2 + ", handled: " + handled
+					+ ", flushed: " + flushed0 + ", " + flushed1);
+		}
+		System.out.println("Skip flushed records test passed, handled: " + handled);
+	}
+
+	/**
+	 * After the partition is reassigned, the records below the stale flushed
+	 * offset(e.g. seek backwards) must be handled again.
+	 */
+	private static void resetFlushedOffsetsTest5() {
+		AtomicInteger handled = new AtomicInteger(0);
+		PartitionParallelProcessor<String, String> processor = new PartitionParallelProcessor<>("test5", 1, (tp, records) -> {
+			handled.addAndGet(records.size());
+			return true;
+		});
+		TopicPartition tp = new TopicPartition("topic1", 0);
+		List<ConsumerRecord<String, String>> records = new ArrayList<>();
+		for (long offset = 100; offset < 110; offset++) {
+			records.add(new ConsumerRecord<>("topic1", 0, offset, "key", "value"));
+		}
+		processor.process(records, 10_000L);
+		processor.resetFlushedOffsets(singletonList(tp));
+		Long flushed = processor.getFlushedOffset(tp);
+		processor.process(records, 10_000L);
+		processor.close();
+		if (flushed != null || handled.get() != 20) {
+			throw new IllegalStateException("Unexpected flushed: " + flushed + ", handled: " + handled);
+		}
+		System.out.println("Reset flushed offsets test passed, handled: " + handled);
+	}
+
+}
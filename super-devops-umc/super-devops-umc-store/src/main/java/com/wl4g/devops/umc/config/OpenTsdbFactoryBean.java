@@ -55,12 +55,22 @@ public class OpenTsdbFactoryBean implements InitializingBean, DisposableBean, Fa
 				.httpConnectionPool(100)
 				// http请求超时时间，默认100s
 				.httpConnectTimeout(100)
-				// 异步写入数据时，每次http提交的数据条数，默认50
+				// 异步写入数据时，每次http提交的最大数据条数(自适应批次上限)，默认500
 				.batchPutSize(500)
+				// 异步写入数据时，每次http提交的最大数据大小，默认512KB
+				.batchPutMaxBytes(512 * 1024)
 				// 异步写入数据中，内部有一个队列，默认队列大小20000
 				.batchPutBufferSize(20000)
 				// 异步写入等待时间，如果距离上一次请求超多300ms，且有数据，则直接提交
 				.batchPutTimeLimit(3000)
+				// gzip压缩请求体
+				.gzip(config.getOpentsdb().isGzip())
+				// 写入失败的最大尝试次数，指数退避重试
+				.retryMaxAttempts(config.getOpentsdb().getRetryMaxAttempts())
+				// 最大并发的批量写入请求数(包括等待重试)，达到时消费者阻塞
+				.batchPutMaxInFlight(config.getOpentsdb().getMaxInFlight())
+				// 重试耗尽后写入磁盘溢出队列，恢复后重放
+				.spill(config.getOpentsdb().getSpillDir(), config.getOpentsdb().getSpillMaxBytes())
 				// 当确认这个client只用于查询时设置，可不创建内部队列从而提高效率
 				// .readonly()
 				// 每批数据提交完成后回调
@@ -16,6 +16,11 @@
 package com.wl4g.devops.umc.config;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.commons.lang3.SystemUtils.USER_HOME;
 
 public class StoreProperties implements Serializable {
 
@@ -23,6 +28,10 @@ public class StoreProperties implements Serializable {
 
 	private OpentsdbProproties opentsdb = new OpentsdbProproties();
 
+	private EmbeddedProperties embedded = new EmbeddedProperties();
+
+	private RollupProperties rollup = new RollupProperties();
+
 	public OpentsdbProproties getOpentsdb() {
 		return opentsdb;
 	}
@@ -31,12 +40,43 @@ public class StoreProperties implements Serializable {
 		this.opentsdb = opentsdb;
 	}
 
+	public EmbeddedProperties getEmbedded() {
+		return embedded;
+	}
+
+	public void setEmbedded(EmbeddedProperties embedded) {
+		this.embedded = embedded;
+	}
+
+	public RollupProperties getRollup() {
+		return rollup;
+	}
+
+	public void setRollup(RollupProperties rollup) {
+		this.rollup = rollup;
+	}
+
 	public static class OpentsdbProproties {
 
 		private String host = "127.0.0.1";
 
 		private int port = 14242;
 
+		/** Gzip compress the batch put body. */
+		private boolean gzip = true;
+
+		/** Max attempts of batch put, including the first attempt. */
+		private int retryMaxAttempts = 3;
+
+		/** Max in-flight batch puts, the consumers block when reached. */
+		private int maxInFlight = 16;
+
+		/** Disk spill directory of the batches which failed after retries. */
+		private String spillDir = USER_HOME + "/.umc/opentsdb-spill";
+
+		/** Max bytes of disk spill queue. */
+		private long spillMaxBytes = 256 * 1024 * 1024L;
+
 		public String getHost() {
 			return host;
 		}
@@ -53,6 +93,265 @@ public class StoreProperties implements Serializable {
 			this.port = port;
 		}
 
+		public boolean isGzip() {
+			return gzip;
+		}
+
+		public void setGzip(boolean gzip) {
+			this.gzip = gzip;
+		}
+
+		public int getRetryMaxAttempts() {
+			return retryMaxAttempts;
+		}
+
+		public void setRetryMaxAttempts(int retryMaxAttempts) {
+			this.retryMaxAttempts = retryMaxAttempts;
+		}
+
+		public int getMaxInFlight() {
+			return maxInFlight;
+		}
+
+		public void setMaxInFlight(int maxInFlight) {
+			this.maxInFlight = maxInFlight;
+		}
+
+		public String getSpillDir() {
+			return spillDir;
+		}
+
+		public void setSpillDir(String spillDir) {
+			this.spillDir = spillDir;
+		}
+
+		public long getSpillMaxBytes() {
+			return spillMaxBytes;
+		}
+
+		public void setSpillMaxBytes(long spillMaxBytes) {
+			this.spillMaxBytes = spillMaxBytes;
+		}
+
+	}
+
+	/**
+	 * Embedded time-series store properties.
+	 */
+	public static class EmbeddedProperties implements Serializable {
+
+		private static final long serialVersionUID = 4611236451862170213L;
+
+		/** Enabled embedded metric store. */
+		private boolean enabled = false;
+
+		/** Data directory of series index and segments. */
+		private String dataDir = USER_HOME + "/.umc/embedded";
+
+		/** Time partition duration(ms), default: 2h */
+		private long partitionMs = 2 * 60 * 60 * 1000L;
+
+		/**
+		 * Allowed lateness(ms) of data points, the partition is sealed and
+		 * written as segment after its end time plus lateness, and the later
+		 * points are dropped.
+		 */
+		private long latenessMs = 10 * 60 * 1000L;
+
+		/** Flush(seal partitions and purge expired segments) interval(ms). */
+		private long flushIntervalMs = 60 * 1000L;
+
+		/** Retention(ms) of segments, default: 30d */
+		private long retentionMs = 30 * 24 * 60 * 60 * 1000L;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getDataDir() {
+			return dataDir;
+		}
+
+		public void setDataDir(String dataDir) {
+			this.dataDir = dataDir;
+		}
+
+		public long getPartitionMs() {
+			return partitionMs;
+		}
+
+		public void setPartitionMs(long partitionMs) {
+			this.partitionMs = partitionMs;
+		}
+
+		public long getLatenessMs() {
+			return latenessMs;
+		}
+
+		public void setLatenessMs(long latenessMs) {
+			this.latenessMs = latenessMs;
+		}
+
+		public long getFlushIntervalMs() {
+			return flushIntervalMs;
+		}
+
+		public void setFlushIntervalMs(long flushIntervalMs) {
+			this.flushIntervalMs = flushIntervalMs;
+		}
+
+		public long getRetentionMs() {
+			return retentionMs;
+		}
+
+		public void setRetentionMs(long retentionMs) {
+			this.retentionMs = retentionMs;
+		}
+
+	}
+
+	/**
+	 * Downsampling rollup tiers properties.
+	 */
+	public static class RollupProperties implements Serializable {
+
+		private static final long serialVersionUID = -3017465920438916583L;
+
+		/** Enabled rollup tiers of the metric store. */
+		private boolean enabled = false;
+
+		/** Data directory of rollup tiers, each tier is a sub directory. */
+		private String dataDir = USER_HOME + "/.umc/rollup";
+
+		/**
+		 * Allowed lateness(ms) of raw data points, the bucket is closed and
+		 * written after its end time plus lateness, and the later points are
+		 * not rolled up.
+		 */
+		private long latenessMs = 2 * 60 * 1000L;
+
+		/** Flush(close buckets) interval(ms). */
+		private long flushIntervalMs = 30 * 1000L;
+
+		/**
+		 * Retention(ms) of the raw data points of the delegate store, the raw
+		 * points are only planned to query within it, default: 7d
+		 */
+		private long rawRetentionMs = 7 * 24 * 60 * 60 * 1000L;
+
+		/**
+		 * Rollup tiers, the resolution of each tier must be a multiple of the
+		 * previous one.
+		 */
+		private List<TierProperties> tiers = new ArrayList<>(
+				Arrays.asList(new TierProperties("1m", 60 * 1000L, 7 * 24 * 60 * 60 * 1000L),
+						new TierProperties("10m", 10 * 60 * 1000L, 30 * 24 * 60 * 60 * 1000L),
+						new TierProperties("1h", 60 * 60 * 1000L, 365 * 24 * 60 * 60 * 1000L)));
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getDataDir() {
+			return dataDir;
+		}
+
+		public void setDataDir(String dataDir) {
+			this.dataDir = dataDir;
+		}
+
+		public long getLatenessMs() {
+			return latenessMs;
+		}
+
+		public void setLatenessMs(long latenessMs) {
+			this.latenessMs = latenessMs;
+		}
+
+		public long getFlushIntervalMs() {
+			return flushIntervalMs;
+		}
+
+		public void setFlushIntervalMs(long flushIntervalMs) {
+			this.flushIntervalMs = flushIntervalMs;
+		}
+
+		public long getRawRetentionMs() {
+			return rawRetentionMs;
+		}
+
+		public void setRawRetentionMs(long rawRetentionMs) {
+			this.rawRetentionMs = rawRetentionMs;
+		}
+
+		public List<TierProperties> getTiers() {
+			return tiers;
+		}
+
+		public void setTiers(List<TierProperties> tiers) {
+			this.tiers = tiers;
+		}
+
+	}
+
+	/**
+	 * Rollup tier properties.
+	 */
+	public static class TierProperties implements Serializable {
+
+		private static final long serialVersionUID = 8815502381290469917L;
+
+		/** Tier name, also the sub directory name, e.g. 1m */
+		private String name;
+
+		/** Bucket duration(ms) of tier. */
+		private long resolutionMs;
+
+		/** Retention(ms) of tier. */
+		private long retentionMs;
+
+		public TierProperties() {
+			super();
+		}
+
+		public TierProperties(String name, long resolutionMs, long retentionMs) {
+			this.name = name;
+			this.resolutionMs = resolutionMs;
+			this.retentionMs = retentionMs;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public long getResolutionMs() {
+			return resolutionMs;
+		}
+
+		public void setResolutionMs(long resolutionMs) {
+			this.resolutionMs = resolutionMs;
+		}
+
+		public long getRetentionMs() {
+			return retentionMs;
+		}
+
+		public void setRetentionMs(long retentionMs) {
+			this.retentionMs = retentionMs;
+		}
+
 	}
 
 }
\ No newline at end of file
@@ -16,17 +16,26 @@
 package com.wl4g.devops.umc.config;
 
 import com.alibaba.druid.pool.DruidDataSource;
+import com.wl4g.devops.umc.annotation.EnableEmbeddedStore;
 import com.wl4g.devops.umc.annotation.EnableOpenTsdbStore;
+import com.wl4g.devops.umc.annotation.EnableRollupStore;
 import com.wl4g.devops.umc.derby.DerbyMetricStore;
+import com.wl4g.devops.umc.embedded.EmbeddedMetricStore;
 import com.wl4g.devops.umc.opentsdb.TsdbMetricStore;
 import com.wl4g.devops.umc.opentsdb.client.OpenTSDBClient;
+import com.wl4g.devops.umc.rollup.RollupMetricStore;
 import com.wl4g.devops.umc.store.MetricStore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.apache.commons.lang3.SystemUtils.USER_HOME;
 
 /**
@@ -41,6 +50,8 @@ public class UmcStoreAutoConfiguration {
 
 	final public static String KEY_STORE_PREFIX = "spring.cloud.devops.umc.store";
 	final public static String KEY_STORE_OPENTSDB_PREFIX = KEY_STORE_PREFIX + ".opentsdb";
+	final public static String KEY_STORE_EMBEDDED_PREFIX = KEY_STORE_PREFIX + ".embedded";
+	final public static String KEY_STORE_ROLLUP_PREFIX = KEY_STORE_PREFIX + ".rollup";
 
 	@Bean
 	@ConfigurationProperties(prefix = KEY_STORE_PREFIX)
@@ -64,6 +75,17 @@ public class UmcStoreAutoConfiguration {
 		return new TsdbMetricStore(client);
 	}
 
+	//
+	// Embedded metric store's
+	//
+
+	@Bean
+	@EnableEmbeddedStore
+	@ConditionalOnMissingBean(MetricStore.class)
+	public EmbeddedMetricStore embeddedMetricStore() throws IOException {
+		return new EmbeddedMetricStore(storeProperties().getEmbedded());
+	}
+
 	//
 	// Derby metric store's
 	//
@@ -136,4 +158,27 @@ public class UmcStoreAutoConfiguration {
 		return new DerbyMetricStore(derbyJdbcTemplate());
 	}
 
+	//
+	// Rollup metric store's
+	//
+
+	/**
+	 * Rollup tiers decorated the raw metric store(OpenTSDB/embedded/derby),
+	 * it's primary so that the ingest are rolled up.
+	 * 
+	 * @param stores
+	 * @return
+	 * @throws IOException
+	 */
+	@Bean
+	@Primary
+	@EnableRollupStore
+	public RollupMetricStore rollupMetricStore(List<MetricStore> stores) throws IOException {
+		List<MetricStore> raws = stores.stream().filter(s -> !(s instanceof RollupMetricStore)).collect(Collectors.toList());
+		if (raws.size() != 1) {
+			throw new IllegalStateException("Rollup metric store requires exactly one raw metric store, but was: " + raws);
+		}
+		return new RollupMetricStore(raws.get(0), storeProperties().getRollup());
+	}
+
 }
\ No newline at end of file
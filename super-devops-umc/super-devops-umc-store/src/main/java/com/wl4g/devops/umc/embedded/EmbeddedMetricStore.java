@@ -0,0 +1,405 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricView;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel;
+import com.wl4g.devops.umc.config.StoreProperties.EmbeddedProperties;
+import com.wl4g.devops.umc.embedded.TimePartition.ColumnSnapshot;
+import com.wl4g.devops.umc.store.MetricStore;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded columnar time-series metric store, no external dependency is
+ * required.
+ *
+ * <pre>
+ * - Series index:   metric + sorted tags(with host/endpoint) => series id, see {@link SeriesIndex}
+ * - Partitions:     data points are partitioned by time, the recent partitions are
+ *                   appended in memory, see {@link TimePartition}
+ * - Segments:       partitions are sealed after end time plus lateness, and written as
+ *                   immutable memory mapped columnar files, see {@link Segment}
+ * - Compression:    gorilla delta-of-delta timestamps and XOR values per series column
+ * </pre>
+ *
+ * Note: the points of unsealed partitions are only in memory, they will be
+ * written as segments on {@link #destroy()}, but may be lost on crash.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class EmbeddedMetricStore implements MetricStore, DisposableBean {
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	final private EmbeddedProperties config;
+
+	/** Data directory. */
+	final private File dataDir;
+
+	/** Series index. */
+	final private SeriesIndex index;
+
+	/** In-memory partitions by start time. */
+	final private ConcurrentSkipListMap<Long, TimePartition> partitions = new ConcurrentSkipListMap<>();
+
+	/** Segments by partition start time. */
+	final private ConcurrentSkipListMap<Long, List<Segment>> segments = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Replacing sealed partition by segment is exclusive with queries, so that
+	 * the points are neither missed nor duplicated.
+	 */
+	final private ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+	/** Flush scheduler. */
+	final private ScheduledExecutorService scheduler;
+
+	/** Sequence of segment file name. */
+	final private AtomicLong segmentSequence = new AtomicLong(System.currentTimeMillis());
+
+	/** Dropped late points count. */
+	final private AtomicLong droppedCount = new AtomicLong(0);
+
+	public EmbeddedMetricStore(EmbeddedProperties config) throws IOException {
+		Assert.notNull(config, "EmbeddedProperties must not be null");
+		Assert.isTrue(config.getPartitionMs() > 0, "Partition duration must be greater than 0");
+		this.config = config;
+		this.dataDir = new File(config.getDataDir());
+		if (!dataDir.exists() && !dataDir.mkdirs()) {
+			throw new IOException("Failed to create data directory: " + dataDir);
+		}
+		this.index = new SeriesIndex(dataDir);
+		loadSegments();
+
+		this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "embeddedMetricStoreFlusher");
+			t.setDaemon(true);
+			return t;
+		});
+		this.scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				flush(false);
+				purge();
+			} catch (Throwable e) {
+				log.error("Failed to flush embedded metric store.", e);
+			}
+		}, config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public boolean save(MetricModel.MetricAggregate aggregate) {
+		long timestamp = aggregate.getTimestamp();
+		TimePartition partition = partition(timestamp);
+		if (partition == null) {
+			return dropLate(aggregate.getHost(), timestamp);
+		}
+		for (MetricModel.Metric metric : aggregate.getMetricsList()) {
+			if (StringUtils.isBlank(metric.getMetric())) {
+				continue;
+			}
+			TreeMap<String, String> tags = new TreeMap<>(metric.getTagsMap());
+			tags.put("host", aggregate.getHost());
+			tags.put("endpoint", aggregate.getEndpoint());
+			append(partition, index.getOrCreate(metric.getMetric(), tags), timestamp, metric.getValue());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean batchSave(List<MetricModel.MetricAggregate> aggregates) {
+		boolean success = true;
+		for (MetricModel.MetricAggregate aggregate : aggregates) {
+			success &= save(aggregate);
+		}
+		return success;
+	}
+
+	@Override
+	public boolean save(MetricAggregateView view) {
+		long timestamp = view.getTimestamp();
+		TimePartition partition = partition(timestamp);
+		if (partition == null) {
+			return dropLate(view.getHost(), timestamp);
+		}
+		TreeMap<String, String> tags = new TreeMap<>();
+		for (int i = 0, size = view.size(); i < size; i++) {
+			MetricView metric = view.get(i);
+			if (StringUtils.isBlank(metric.getMetric())) {
+				continue;
+			}
+			tags.clear();
+			for (int j = 0, n = metric.getTagSize(); j < n; j++) {
+				tags.put(metric.getTagKey(j), metric.getTagValue(j));
+			}
+			tags.put("host", view.getHost());
+			tags.put("endpoint", view.getEndpoint());
+			append(partition, index.getOrCreate(metric.getMetric(), tags), timestamp, metric.getValue());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean batchSaveView(List<MetricAggregateView> views) {
+		boolean success = true;
+		for (MetricAggregateView view : views) {
+			success &= save(view);
+		}
+		return success;
+	}
+
+	/**
+	 * Save a data point of series.
+	 *
+	 * @param metric
+	 * @param sortedTags
+	 *            All tags of series(the host/endpoint are not appended).
+	 * @param timestamp
+	 * @param value
+	 * @return Returns false if the point is too late.
+	 */
+	public boolean save(String metric, SortedMap<String, String> sortedTags, long timestamp, double value) {
+		TimePartition partition = partition(timestamp);
+		if (partition == null) {
+			return false;
+		}
+		append(partition, index.getOrCreate(metric, sortedTags), timestamp, value);
+		return true;
+	}
+
+	/**
+	 * Query data points of series which matched metric and all filter tags.
+	 *
+	 * @param metric
+	 * @param tags
+	 *            Filter tags, nullable.
+	 * @param startTime
+	 *            inclusive
+	 * @param endTime
+	 *            inclusive
+	 * @return
+	 */
+	public List<SeriesPoints> query(String metric, Map<String, String> tags, long startTime, long endTime) {
+		List<Series> matched = index.lookup(metric, tags);
+		if (matched.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<SeriesPoints> result = new ArrayList<>(matched.size());
+		swapLock.readLock().lock();
+		try {
+			// Partitions which may contain the points in range.
+			long fromKey = floorPartitionStart(startTime);
+			Map<Long, List<Segment>> rangeSegments = segments.subMap(fromKey, true, endTime, true);
+			Map<Long, TimePartition> rangePartitions = partitions.subMap(fromKey, true, endTime, true);
+			for (Series series : matched) {
+				SeriesPoints points = new SeriesPoints(series);
+				for (List<Segment> list : rangeSegments.values()) {
+					for (Segment segment : list) {
+						segment.scan(series.getId(), startTime, endTime, points::add);
+					}
+				}
+				for (TimePartition partition : rangePartitions.values()) {
+					partition.scan(series.getId(), startTime, endTime, points::add);
+				}
+				if (points.size() > 0) {
+					points.sort();
+					result.add(points);
+				}
+			}
+		} finally {
+			swapLock.readLock().unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * Seal the partitions and write them as segments.
+	 *
+	 * @param all
+	 *            If true, all the in-memory partitions are flushed(e.g. on
+	 *            shutdown), otherwise only the partitions which ended before
+	 *            now minus lateness.
+	 * @throws IOException
+	 */
+	public void flush(boolean all) throws IOException {
+		// Segments may reference the new series.
+		index.flush();
+
+		long deadline = System.currentTimeMillis() - config.getLatenessMs();
+		for (TimePartition partition : partitions.values()) {
+			if (!all && partition.getEnd() > deadline) {
+				continue;
+			}
+			List<ColumnSnapshot> columns = partition.seal();
+			Segment segment = null;
+			if (!columns.isEmpty()) {
+				File file = new File(dataDir,
+						partition.getStart() + "-" + segmentSequence.incrementAndGet() + Segment.SUFFIX);
+				segment = Segment.write(file, partition.getStart(), partition.getEnd(), columns);
+			}
+			swapLock.writeLock().lock();
+			try {
+				if (segment != null) {
+					segments.computeIfAbsent(partition.getStart(), s -> new CopyOnWriteArrayList<>()).add(segment);
+				}
+				partitions.remove(partition.getStart(), partition);
+			} finally {
+				swapLock.writeLock().unlock();
+			}
+			if (log.isInfoEnabled()) {
+				log.info("Flushed partition: {}, segment: {}", partition.getStart(), segment);
+			}
+		}
+	}
+
+	/**
+	 * Delete the segments which expired retention.
+	 */
+	public void purge() {
+		long deadline = System.currentTimeMillis() - config.getRetentionMs();
+		for (List<Segment> list : segments.headMap(deadline).values()) {
+			for (Segment segment : list) {
+				if (segment.getEnd() > deadline) {
+					continue;
+				}
+				swapLock.writeLock().lock();
+				try {
+					list.remove(segment);
+					if (list.isEmpty()) {
+						segments.remove(segment.getStart(), list);
+					}
+				} finally {
+					swapLock.writeLock().unlock();
+				}
+				// The mapping is released when the buffer is collected.
+				if (!segment.getFile().delete()) {
+					log.warn("Failed to delete expired segment: {}", segment.getFile());
+				} else if (log.isInfoEnabled()) {
+					log.info("Deleted expired segment: {}", segment);
+				}
+			}
+		}
+	}
+
+	public int getSeriesCount() {
+		return index.size();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		scheduler.shutdown();
+		scheduler.awaitTermination(30, TimeUnit.SECONDS);
+		try {
+			flush(true);
+		} finally {
+			index.close();
+		}
+	}
+
+	private void append(TimePartition partition, Series series, long timestamp, double value) {
+		if (!partition.append(series.getId(), timestamp, value)) {
+			// Sealed just now.
+			droppedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Drop the late metric aggregate, which can never be saved, so it's not
+	 * treated as failure, otherwise the receiver would retry it forever.
+	 *
+	 * @param host
+	 * @param timestamp
+	 * @return Always true.
+	 */
+	private boolean dropLate(String host, long timestamp) {
+		if (log.isWarnEnabled()) {
+			log.warn("Dropped late metric aggregate of host: {}, timestamp: {}, total dropped: {}", host, timestamp,
+					droppedCount.get());
+		}
+		return true;
+	}
+
+	/**
+	 * Get or create the in-memory partition of timestamp.
+	 *
+	 * @param timestamp
+	 * @return Returns null if the partition has been sealed(too late).
+	 */
+	private TimePartition partition(long timestamp) {
+		long start = floorPartitionStart(timestamp);
+		TimePartition partition = partitions.get(start);
+		if (partition == null) {
+			if (start + config.getPartitionMs() <= System.currentTimeMillis() - config.getLatenessMs()) {
+				droppedCount.incrementAndGet();
+				if (log.isDebugEnabled()) {
+					log.debug("Dropped late data points of timestamp: {}", timestamp);
+				}
+				return null;
+			}
+			partition = partitions.computeIfAbsent(start, s -> new TimePartition(s, s + config.getPartitionMs()));
+		}
+		return partition;
+	}
+
+	private long floorPartitionStart(long timestamp) {
+		return Math.floorDiv(timestamp, config.getPartitionMs()) * config.getPartitionMs();
+	}
+
+	private void loadSegments() throws IOException {
+		File[] files = dataDir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			if (file.getName().endsWith(Segment.SUFFIX + ".tmp")) {
+				// Incomplete segment of crash.
+				file.delete();
+			} else if (file.getName().endsWith(Segment.SUFFIX)) {
+				Segment segment = Segment.open(file);
+				segments.computeIfAbsent(segment.getStart(), s -> new CopyOnWriteArrayList<>()).add(segment);
+			}
+		}
+		log.info("Loaded segments: {}, data directory: {}", segments.size(), dataDir);
+	}
+
+}
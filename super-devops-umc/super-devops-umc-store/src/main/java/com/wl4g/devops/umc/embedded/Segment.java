@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import com.wl4g.devops.umc.embedded.TimePartition.ColumnSnapshot;
+import com.wl4g.devops.umc.embedded.TimePartition.PointCollector;
+import com.wl4g.devops.umc.embedded.codec.GorillaDecoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable columnar segment file of a time partition, reads are served from
+ * the memory mapped file.
+ *
+ * <pre>
+ * Header:     int(magic) + int(version) + long(partition start) + long(partition end) + int(columns count)
+ * Directory:  [int(series id) + int(points count) + long(min timestamp) + long(max timestamp) + int(offset) + int(length)]...
+ * Columns:    [gorilla compressed block]...
+ * </pre>
+ *
+ * The directory is sorted by series id.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+class Segment {
+
+	final public static String SUFFIX = ".seg";
+
+	final private static int MAGIC = 0x554d4353; // UMCS
+	final private static int VERSION = 1;
+	final private static int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+	final private static int ENTRY_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+
+	/** Segment file. */
+	final private File file;
+
+	/** Mapped segment file. */
+	final private MappedByteBuffer buffer;
+
+	final private long start;
+	final private long end;
+
+	/** Sorted series ids of directory. */
+	final private int[] seriesIds;
+
+	private Segment(File file, MappedByteBuffer buffer) throws IOException {
+		this.file = file;
+		this.buffer = buffer;
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Illegal segment file: " + file);
+		}
+		this.start = buffer.getLong(8);
+		this.end = buffer.getLong(16);
+		int count = buffer.getInt(24);
+		this.seriesIds = new int[count];
+		for (int i = 0; i < count; i++) {
+			seriesIds[i] = buffer.getInt(HEADER_SIZE + i * ENTRY_SIZE);
+		}
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	long getStart() {
+		return start;
+	}
+
+	long getEnd() {
+		return end;
+	}
+
+	int getColumnCount() {
+		return seriesIds.length;
+	}
+
+	/**
+	 * Scan data points of series in time range.
+	 *
+	 * @param seriesId
+	 * @param startTime
+	 *            inclusive
+	 * @param endTime
+	 *            inclusive
+	 * @param collector
+	 */
+	void scan(int seriesId, long startTime, long endTime, PointCollector collector) {
+		int index = Arrays.binarySearch(seriesIds, seriesId);
+		if (index < 0) {
+			return;
+		}
+		int entry = HEADER_SIZE + index * ENTRY_SIZE;
+		int count = buffer.getInt(entry + 4);
+		long minTimestamp = buffer.getLong(entry + 8);
+		long maxTimestamp = buffer.getLong(entry + 16);
+		if (maxTimestamp < startTime || minTimestamp > endTime) {
+			return;
+		}
+		int offset = buffer.getInt(entry + 24);
+		// Absolute reads only, the mapped buffer is shared by queries.
+		GorillaDecoder decoder = new GorillaDecoder(buffer, offset, count);
+		while (decoder.next()) {
+			long timestamp = decoder.getTimestamp();
+			if (timestamp >= startTime && timestamp <= endTime) {
+				collector.collect(timestamp, decoder.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Open and map segment file.
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	static Segment open(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// The mapping remains valid after the channel is closed.
+			return new Segment(file, channel.map(MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Write the column snapshots(sorted by series id) of partition to segment
+	 * file, the file is written to temporary file first, then atomically
+	 * renamed.
+	 *
+	 * @param file
+	 * @param start
+	 * @param end
+	 * @param columns
+	 * @return Opened segment.
+	 * @throws IOException
+	 */
+	static Segment write(File file, long start, long end, List<ColumnSnapshot> columns) throws IOException {
+		int dataSize = 0;
+		for (ColumnSnapshot column : columns) {
+			dataSize += column.data.length;
+		}
+		int directorySize = HEADER_SIZE + columns.size() * ENTRY_SIZE;
+		ByteBuffer buf = ByteBuffer.allocate(directorySize + dataSize);
+		buf.putInt(MAGIC).putInt(VERSION).putLong(start).putLong(end).putInt(columns.size());
+		int offset = directorySize;
+		for (ColumnSnapshot column : columns) {
+			buf.putInt(column.seriesId).putInt(column.count).putLong(column.minTimestamp).putLong(column.maxTimestamp)
+					.putInt(offset).putInt(column.data.length);
+			offset += column.data.length;
+		}
+		for (ColumnSnapshot column : columns) {
+			buf.put(column.data);
+		}
+		buf.flip();
+
+		File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			channel.force(true);
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		return open(file);
+	}
+
+	@Override
+	public String toString() {
+		return file.getName() + "[" + start + "," + end + "), columns: " + seriesIds.length;
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Time series identity, the metric name with sorted tags.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class Series {
+
+	/** Series ID, allocated by {@link SeriesIndex}. */
+	final private int id;
+
+	/** Metric name. */
+	final private String metric;
+
+	/** Tag keys, sorted. */
+	final private String[] tagKeys;
+
+	/** Tag values, in the order of {@link #tagKeys}. */
+	final private String[] tagValues;
+
+	Series(int id, String metric, String[] tagKeys, String[] tagValues) {
+		this.id = id;
+		this.metric = metric;
+		this.tagKeys = tagKeys;
+		this.tagValues = tagValues;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getMetric() {
+		return metric;
+	}
+
+	public int getTagSize() {
+		return tagKeys.length;
+	}
+
+	public String getTagKey(int index) {
+		return tagKeys[index];
+	}
+
+	public String getTagValue(int index) {
+		return tagValues[index];
+	}
+
+	/**
+	 * Sorted tags map(read only).
+	 *
+	 * @return
+	 */
+	public Map<String, String> getTags() {
+		Map<String, String> tags = new LinkedHashMap<>(Math.max(tagKeys.length * 2, 4));
+		for (int i = 0; i < tagKeys.length; i++) {
+			tags.put(tagKeys[i], tagValues[i]);
+		}
+		return Collections.unmodifiableMap(tags);
+	}
+
+	/**
+	 * Check whether all the filter tags are matched.
+	 *
+	 * @param filters
+	 * @return
+	 */
+	public boolean matches(Map<String, String> filters) {
+		if (filters == null || filters.isEmpty()) {
+			return true;
+		}
+		for (Map.Entry<String, String> filter : filters.entrySet()) {
+			if (!filter.getValue().equals(getTag(filter.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public String getTag(String key) {
+		for (int i = 0; i < tagKeys.length; i++) {
+			if (tagKeys[i].equals(key)) {
+				return tagValues[i];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return canonicalKey() + "#" + id;
+	}
+
+	String canonicalKey() {
+		return canonicalKey(metric, tagKeys, tagValues);
+	}
+
+	/**
+	 * Canonical series key, e.g. <b>metric{k1=v1,k2=v2}</b>
+	 *
+	 * @param metric
+	 * @param sortedTags
+	 * @return
+	 */
+	public static String canonicalKey(String metric, SortedMap<String, String> sortedTags) {
+		StringBuilder key = new StringBuilder(metric.length() + sortedTags.size() * 24);
+		key.append(metric).append('{');
+		boolean first = true;
+		for (Map.Entry<String, String> tag : sortedTags.entrySet()) {
+			if (!first) {
+				key.append(',');
+			}
+			key.append(tag.getKey()).append('=').append(tag.getValue());
+			first = false;
+		}
+		return key.append('}').toString();
+	}
+
+	private static String canonicalKey(String metric, String[] tagKeys, String[] tagValues) {
+		StringBuilder key = new StringBuilder(metric.length() + tagKeys.length * 24);
+		key.append(metric).append('{');
+		for (int i = 0; i < tagKeys.length; i++) {
+			if (i > 0) {
+				key.append(',');
+			}
+			key.append(tagKeys[i]).append('=').append(tagValues[i]);
+		}
+		return key.append('}').toString();
+	}
+
+}
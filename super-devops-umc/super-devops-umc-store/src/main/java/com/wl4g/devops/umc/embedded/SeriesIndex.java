@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Series index of metric and sorted tags, the allocated series are appended
+ * to the index file, and are reloaded at startup.
+ *
+ * <pre>
+ * Index file record:
+ * int(series id) + utf(metric) + short(tags count) + [utf(key) + utf(value)]...
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class SeriesIndex implements Closeable {
+
+	final public static String INDEX_FILE = "series.idx";
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	/** Series by canonical key. */
+	final private Map<String, Series> seriesByKey = new ConcurrentHashMap<>(1024);
+
+	/** Series by metric name. */
+	final private Map<String, List<Series>> seriesByMetric = new ConcurrentHashMap<>(256);
+
+	/** Series by id(the id is the array index). */
+	private volatile Series[] seriesById = new Series[1024];
+
+	/** Index file output. */
+	final private DataOutputStream out;
+
+	/** Next series id. */
+	private int nextId;
+
+	public SeriesIndex(File dataDir) throws IOException {
+		File indexFile = new File(dataDir, INDEX_FILE);
+		load(indexFile);
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile, true)));
+	}
+
+	/**
+	 * Get or allocate series.
+	 *
+	 * @param metric
+	 * @param sortedTags
+	 * @return
+	 */
+	public Series getOrCreate(String metric, SortedMap<String, String> sortedTags) {
+		String key = Series.canonicalKey(metric, sortedTags);
+		Series series = seriesByKey.get(key);
+		if (series != null) {
+			return series;
+		}
+		synchronized (this) {
+			series = seriesByKey.get(key);
+			if (series == null) {
+				String[] tagKeys = sortedTags.keySet().toArray(new String[sortedTags.size()]);
+				String[] tagValues = sortedTags.values().toArray(new String[sortedTags.size()]);
+				series = new Series(nextId, metric, tagKeys, tagValues);
+				try {
+					write(series);
+				} catch (IOException e) {
+					throw new IllegalStateException("Failed to write series index of " + key, e);
+				}
+				register(series);
+			}
+		}
+		return series;
+	}
+
+	/**
+	 * Get series by id.
+	 *
+	 * @param id
+	 * @return Returns null if not exist.
+	 */
+	public Series get(int id) {
+		Series[] array = seriesById;
+		return id >= 0 && id < array.length ? array[id] : null;
+	}
+
+	/**
+	 * Lookup series of metric which matched all filter tags.
+	 *
+	 * @param metric
+	 * @param filters
+	 * @return
+	 */
+	public List<Series> lookup(String metric, Map<String, String> filters) {
+		List<Series> candidates = seriesByMetric.get(metric);
+		if (candidates == null) {
+			return Collections.emptyList();
+		}
+		List<Series> matched = new ArrayList<>();
+		for (Series series : candidates) {
+			if (series.matches(filters)) {
+				matched.add(series);
+			}
+		}
+		return matched;
+	}
+
+	public int size() {
+		return seriesByKey.size();
+	}
+
+	/**
+	 * Flush allocated series to disk.
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		out.close();
+	}
+
+	private void write(Series series) throws IOException {
+		out.writeInt(series.getId());
+		out.writeUTF(series.getMetric());
+		out.writeShort(series.getTagSize());
+		for (int i = 0; i < series.getTagSize(); i++) {
+			out.writeUTF(series.getTagKey(i));
+			out.writeUTF(series.getTagValue(i));
+		}
+	}
+
+	private void register(Series series) {
+		int id = series.getId();
+		Series[] array = seriesById;
+		if (id >= array.length) {
+			Series[] newArray = new Series[Math.max(id + 1, array.length << 1)];
+			System.arraycopy(array, 0, newArray, 0, array.length);
+			array = newArray;
+		}
+		array[id] = series;
+		seriesById = array;
+		seriesByMetric.computeIfAbsent(series.getMetric(), m -> new CopyOnWriteArrayList<>()).add(series);
+		seriesByKey.put(series.canonicalKey(), series);
+		nextId = Math.max(nextId, id + 1);
+	}
+
+	private void load(File indexFile) throws IOException {
+		if (!indexFile.exists()) {
+			return;
+		}
+		byte[] data = Files.readAllBytes(indexFile.toPath());
+		ByteArrayInputStream bin = new ByteArrayInputStream(data);
+		DataInputStream in = new DataInputStream(bin);
+		int validLength = 0;
+		try {
+			while (bin.available() > 0) {
+				int id = in.readInt();
+				String metric = in.readUTF();
+				int tagSize = in.readShort();
+				String[] tagKeys = new String[tagSize];
+				String[] tagValues = new String[tagSize];
+				for (int i = 0; i < tagSize; i++) {
+					tagKeys[i] = in.readUTF();
+					tagValues[i] = in.readUTF();
+				}
+				register(new Series(id, metric, tagKeys, tagValues));
+				validLength = data.length - bin.available();
+			}
+		} catch (EOFException e) {
+			// Truncated last record(crashed in writing), its id will be
+			// reallocated.
+			log.warn("Truncated series index: {}, valid length: {}/{}", indexFile, validLength, data.length);
+			try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.WRITE)) {
+				channel.truncate(validLength);
+			}
+		}
+		log.info("Loaded series index: {}, size: {}", indexFile, seriesByKey.size());
+	}
+
+}
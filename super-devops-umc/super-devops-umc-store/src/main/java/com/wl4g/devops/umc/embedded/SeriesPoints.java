@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Data points of a series, sorted by timestamp.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class SeriesPoints {
+
+	final private String metric;
+	final private Map<String, String> tags;
+
+	private long[] timestamps;
+	private double[] values;
+	private int size;
+
+	SeriesPoints(Series series) {
+		this(series.getMetric(), series.getTags());
+	}
+
+	public SeriesPoints(String metric, Map<String, String> tags) {
+		this.metric = metric;
+		this.tags = tags;
+		this.timestamps = new long[16];
+		this.values = new double[16];
+	}
+
+	public String getMetric() {
+		return metric;
+	}
+
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long getTimestamp(int index) {
+		return timestamps[index];
+	}
+
+	public double getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Append a data point, the timestamps are expected to be ascending(or
+	 * {@link #sort()} after all appended).
+	 *
+	 * @param timestamp
+	 * @param value
+	 */
+	public void add(long timestamp, double value) {
+		if (size == timestamps.length) {
+			timestamps = Arrays.copyOf(timestamps, size << 1);
+			values = Arrays.copyOf(values, size << 1);
+		}
+		timestamps[size] = timestamp;
+		values[size] = value;
+		size++;
+	}
+
+	/**
+	 * Sort by timestamp(the partitions may overlap, and the late points may
+	 * be out of order), the latter wins for the duplicate timestamps.
+	 */
+	void sort() {
+		boolean sorted = true;
+		for (int i = 1; i < size && sorted; i++) {
+			sorted = timestamps[i - 1] < timestamps[i];
+		}
+		if (sorted) {
+			return;
+		}
+		// Stable sort of indexes.
+		Integer[] indexes = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			indexes[i] = i;
+		}
+		Arrays.sort(indexes, (i1, i2) -> Long.compare(timestamps[i1], timestamps[i2]));
+		long[] sortedTimestamps = new long[size];
+		double[] sortedValues = new double[size];
+		int n = 0;
+		for (int i = 0; i < size; i++) {
+			long timestamp = timestamps[indexes[i]];
+			if (n > 0 && sortedTimestamps[n - 1] == timestamp) {
+				sortedValues[n - 1] = values[indexes[i]];
+				continue;
+			}
+			sortedTimestamps[n] = timestamp;
+			sortedValues[n] = values[indexes[i]];
+			n++;
+		}
+		timestamps = sortedTimestamps;
+		values = sortedValues;
+		size = n;
+	}
+
+	@Override
+	public String toString() {
+		return metric + tags + ", points: " + size;
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import com.wl4g.devops.umc.embedded.codec.GorillaDecoder;
+import com.wl4g.devops.umc.embedded.codec.GorillaEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutable in-memory time partition, each series is appended to its own
+ * gorilla compressed column, and the partition is written as immutable
+ * {@link Segment} after sealed.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+class TimePartition {
+
+	/** Partition start time(inclusive). */
+	final private long start;
+
+	/** Partition end time(exclusive). */
+	final private long end;
+
+	/** Series columns. */
+	final private Map<Integer, Column> columns = new ConcurrentHashMap<>(256);
+
+	/**
+	 * Sealed flag, appending to the sealed partition will be rejected, see
+	 * {@link Column#append(long, double)}
+	 */
+	private volatile boolean sealed;
+
+	TimePartition(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	long getStart() {
+		return start;
+	}
+
+	long getEnd() {
+		return end;
+	}
+
+	boolean isSealed() {
+		return sealed;
+	}
+
+	/**
+	 * Append data point.
+	 *
+	 * @param seriesId
+	 * @param timestamp
+	 * @param value
+	 * @return false if the partition has been sealed.
+	 */
+	boolean append(int seriesId, long timestamp, double value) {
+		if (sealed) {
+			return false;
+		}
+		Column column = columns.get(seriesId);
+		if (column == null) {
+			column = columns.computeIfAbsent(seriesId, id -> new Column(id));
+		}
+		return column.append(timestamp, value);
+	}
+
+	/**
+	 * Seal the partition and snapshot all columns which sorted by series id,
+	 * the points appended after sealed are rejected.
+	 *
+	 * @return
+	 */
+	List<ColumnSnapshot> seal() {
+		sealed = true;
+		return snapshot();
+	}
+
+	/**
+	 * Snapshot all columns which sorted by series id.
+	 *
+	 * @return
+	 */
+	List<ColumnSnapshot> snapshot() {
+		List<ColumnSnapshot> snapshots = new ArrayList<>(columns.size());
+		for (Column column : columns.values()) {
+			ColumnSnapshot snapshot = column.snapshot();
+			if (snapshot.count > 0) {
+				snapshots.add(snapshot);
+			}
+		}
+		Collections.sort(snapshots, (s1, s2) -> Integer.compare(s1.seriesId, s2.seriesId));
+		return snapshots;
+	}
+
+	/**
+	 * Scan data points of series in time range.
+	 *
+	 * @param seriesId
+	 * @param startTime
+	 *            inclusive
+	 * @param endTime
+	 *            inclusive
+	 * @param collector
+	 */
+	void scan(int seriesId, long startTime, long endTime, PointCollector collector) {
+		Column column = columns.get(seriesId);
+		if (column == null) {
+			return;
+		}
+		column.snapshot().scan(startTime, endTime, collector);
+	}
+
+	/**
+	 * Series column.
+	 */
+	private class Column {
+
+		final private int seriesId;
+
+		final private GorillaEncoder encoder = new GorillaEncoder(256);
+
+		private long minTimestamp = Long.MAX_VALUE;
+
+		private long maxTimestamp = Long.MIN_VALUE;
+
+		Column(int seriesId) {
+			this.seriesId = seriesId;
+		}
+
+		/**
+		 * The sealed flag must be checked with the column lock held, so that
+		 * the point is either included in {@link #snapshot()} of sealing, or
+		 * rejected.
+		 */
+		synchronized boolean append(long timestamp, double value) {
+			if (sealed) {
+				return false;
+			}
+			encoder.append(timestamp, value);
+			minTimestamp = Math.min(minTimestamp, timestamp);
+			maxTimestamp = Math.max(maxTimestamp, timestamp);
+			return true;
+		}
+
+		synchronized ColumnSnapshot snapshot() {
+			return new ColumnSnapshot(seriesId, encoder.count(), minTimestamp, maxTimestamp, encoder.toByteArray());
+		}
+
+	}
+
+	/**
+	 * Immutable column snapshot.
+	 */
+	static class ColumnSnapshot {
+
+		final int seriesId;
+		final int count;
+		final long minTimestamp;
+		final long maxTimestamp;
+		final byte[] data;
+
+		ColumnSnapshot(int seriesId, int count, long minTimestamp, long maxTimestamp, byte[] data) {
+			this.seriesId = seriesId;
+			this.count = count;
+			this.minTimestamp = minTimestamp;
+			this.maxTimestamp = maxTimestamp;
+			this.data = data;
+		}
+
+		void scan(long startTime, long endTime, PointCollector collector) {
+			if (count == 0 || maxTimestamp < startTime || minTimestamp > endTime) {
+				return;
+			}
+			GorillaDecoder decoder = new GorillaDecoder(data, count);
+			while (decoder.next()) {
+				long timestamp = decoder.getTimestamp();
+				if (timestamp >= startTime && timestamp <= endTime) {
+					collector.collect(timestamp, decoder.getValue());
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Data point collector.
+	 */
+	static interface PointCollector {
+		void collect(long timestamp, double value);
+	}
+
+}
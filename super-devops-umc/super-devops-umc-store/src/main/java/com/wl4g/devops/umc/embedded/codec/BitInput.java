@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit input stream over {@link ByteBuffer}(e.g. memory mapped segment),
+ * bits are read in big-endian order.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class BitInput {
+
+	/** Source buffer. */
+	final private ByteBuffer buf;
+
+	/** Start offset of buffer. */
+	final private int offset;
+
+	/** Total read bits. */
+	private long bits;
+
+	public BitInput(ByteBuffer buf, int offset) {
+		this.buf = buf;
+		this.offset = offset;
+	}
+
+	public BitInput(byte[] buf) {
+		this(ByteBuffer.wrap(buf), 0);
+	}
+
+	public boolean readBit() {
+		int b = buf.get(offset + (int) (bits >>> 3));
+		boolean bit = ((b >>> (7 - (bits & 7))) & 1) != 0;
+		bits++;
+		return bit;
+	}
+
+	/**
+	 * Read n bits as the lowest bits of long.
+	 *
+	 * @param n
+	 *            Number of bits, [0,64]
+	 * @return
+	 */
+	public long readBits(int n) {
+		long value = 0;
+		while (n > 0) {
+			int b = buf.get(offset + (int) (bits >>> 3)) & 0xff;
+			int available = 8 - (int) (bits & 7);
+			int len = Math.min(available, n);
+			int chunk = (b >>> (available - len)) & ((1 << len) - 1);
+			value = (value << len) | chunk;
+			bits += len;
+			n -= len;
+		}
+		return value;
+	}
+
+	public long bitPosition() {
+		return bits;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded.codec;
+
+import java.util.Arrays;
+
+/**
+ * Growable bit output stream, bits are written in big-endian order.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class BitOutput {
+
+	/** Bits buffer. */
+	private byte[] buf;
+
+	/** Total written bits. */
+	private long bits;
+
+	public BitOutput(int initialBytes) {
+		this.buf = new byte[Math.max(initialBytes, 16)];
+	}
+
+	/**
+	 * Write a single bit.
+	 *
+	 * @param bit
+	 */
+	public void writeBit(boolean bit) {
+		ensureCapacity(1);
+		if (bit) {
+			buf[(int) (bits >>> 3)] |= (byte) (0x80 >>> (bits & 7));
+		}
+		bits++;
+	}
+
+	/**
+	 * Write the lowest n bits of value.
+	 *
+	 * @param value
+	 * @param n
+	 *            Number of bits, [0,64]
+	 */
+	public void writeBits(long value, int n) {
+		ensureCapacity(n);
+		while (n > 0) {
+			int index = (int) (bits >>> 3);
+			int free = 8 - (int) (bits & 7);
+			int len = Math.min(free, n);
+			// Take the highest len bits of the remaining n bits.
+			int chunk = (int) ((value >>> (n - len)) & ((1L << len) - 1));
+			buf[index] |= (byte) (chunk << (free - len));
+			bits += len;
+			n -= len;
+		}
+	}
+
+	public long bitSize() {
+		return bits;
+	}
+
+	public int byteSize() {
+		return (int) ((bits + 7) >>> 3);
+	}
+
+	/**
+	 * Copy of written bytes.
+	 *
+	 * @return
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buf, byteSize());
+	}
+
+	/**
+	 * Internal buffer(no copy), only the first {@link #byteSize()} bytes are
+	 * valid.
+	 *
+	 * @return
+	 */
+	public byte[] buffer() {
+		return buf;
+	}
+
+	private void ensureCapacity(int n) {
+		long required = (bits + n + 7) >>> 3;
+		if (required > buf.length) {
+			buf = Arrays.copyOf(buf, (int) Math.max(required, buf.length + (buf.length >> 1)));
+		}
+	}
+
+}
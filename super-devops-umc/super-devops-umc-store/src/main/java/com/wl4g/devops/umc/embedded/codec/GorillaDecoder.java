@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded.codec;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Gorilla time-series block decoder, see {@link GorillaEncoder}.
+ *
+ * <pre>
+ * GorillaDecoder decoder = new GorillaDecoder(buf, offset, count);
+ * while (decoder.next()) {
+ * 	long ts = decoder.getTimestamp();
+ * 	double value = decoder.getValue();
+ * }
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class GorillaDecoder {
+
+	/** Bits input. */
+	final private BitInput in;
+
+	/** Total points count. */
+	final private int count;
+
+	/** Read points count. */
+	private int read;
+
+	private long timestamp;
+	private long delta;
+	private long valueBits;
+	private int leadingZeros;
+	private int trailingZeros;
+
+	public GorillaDecoder(ByteBuffer buf, int offset, int count) {
+		this.in = new BitInput(buf, offset);
+		this.count = count;
+	}
+
+	public GorillaDecoder(byte[] buf, int count) {
+		this(ByteBuffer.wrap(buf), 0, count);
+	}
+
+	/**
+	 * Advance to next data point.
+	 *
+	 * @return false if there are no more points.
+	 */
+	public boolean next() {
+		if (read >= count) {
+			return false;
+		}
+		if (read == 0) {
+			timestamp = in.readBits(64);
+			valueBits = in.readBits(64);
+		} else {
+			readTimestamp();
+			readValue();
+		}
+		read++;
+		return true;
+	}
+
+	public long getTimestamp() {
+		checkRead();
+		return timestamp;
+	}
+
+	public double getValue() {
+		checkRead();
+		return Double.longBitsToDouble(valueBits);
+	}
+
+	private void readTimestamp() {
+		long dod;
+		if (!in.readBit()) {
+			dod = 0;
+		} else if (!in.readBit()) {
+			dod = signExtend(in.readBits(7), 7);
+		} else if (!in.readBit()) {
+			dod = signExtend(in.readBits(9), 9);
+		} else if (!in.readBit()) {
+			dod = signExtend(in.readBits(12), 12);
+		} else {
+			dod = in.readBits(64);
+		}
+		delta += dod;
+		timestamp += delta;
+	}
+
+	private void readValue() {
+		if (!in.readBit()) {
+			return;
+		}
+		if (in.readBit()) {
+			leadingZeros = (int) in.readBits(5);
+			int meaningful = (int) in.readBits(6);
+			if (meaningful == 0) {
+				meaningful = 64;
+			}
+			trailingZeros = 64 - leadingZeros - meaningful;
+		}
+		long xor = in.readBits(64 - leadingZeros - trailingZeros) << trailingZeros;
+		valueBits ^= xor;
+	}
+
+	private void checkRead() {
+		if (read == 0) {
+			throw new NoSuchElementException("No data point has been read.");
+		}
+	}
+
+	/**
+	 * The encoder writes the lowest bits of two's complement, e.g. 7 bits for
+	 * [-63, 64], the value 64 is same as -64 in 7 bits, so sign extension
+	 * must treat the range as [-(2^(n-1)-1), 2^(n-1)].
+	 *
+	 * @param value
+	 * @param n
+	 * @return
+	 */
+	private static long signExtend(long value, int n) {
+		long max = 1L << (n - 1);
+		return value > max ? value - (1L << n) : value;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded.codec;
+
+/**
+ * Gorilla time-series block encoder, the timestamps are compressed with
+ * delta-of-delta and the values are compressed with XOR of previous value.
+ * </br>
+ * See: <a href="http://www.vldb.org/pvldb/vol8/p1816-teller.pdf">Gorilla: A
+ * Fast, Scalable, In-Memory Time Series Database</a>
+ *
+ * <pre>
+ * Timestamp delta-of-delta(D):
+ * '0'                  D == 0
+ * '10'   + 7 bits      D in [-63, 64]
+ * '110'  + 9 bits      D in [-255, 256]
+ * '1110' + 12 bits     D in [-2047, 2048]
+ * '1111' + 64 bits     otherwise
+ *
+ * Value XOR(X) with previous:
+ * '0'                  X == 0
+ * '10'   + meaningful bits within previous leading/trailing zeros window
+ * '11'   + 5 bits leading zeros + 6 bits meaningful length + meaningful bits
+ * </pre>
+ *
+ * Not thread-safe.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class GorillaEncoder {
+
+	/** Bits output. */
+	final private BitOutput out;
+
+	/** Encoded points count. */
+	private int count;
+
+	private long prevTimestamp;
+	private long prevDelta;
+	private long prevValueBits;
+	private int prevLeadingZeros = Integer.MAX_VALUE;
+	private int prevTrailingZeros;
+
+	public GorillaEncoder() {
+		this(64);
+	}
+
+	public GorillaEncoder(int initialBytes) {
+		this.out = new BitOutput(initialBytes);
+	}
+
+	/**
+	 * Append data point.
+	 *
+	 * @param timestamp
+	 * @param value
+	 */
+	public void append(long timestamp, double value) {
+		if (count == 0) {
+			out.writeBits(timestamp, 64);
+			prevValueBits = Double.doubleToRawLongBits(value);
+			out.writeBits(prevValueBits, 64);
+		} else {
+			writeTimestamp(timestamp);
+			writeValue(Double.doubleToRawLongBits(value));
+		}
+		prevTimestamp = timestamp;
+		count++;
+	}
+
+	public int count() {
+		return count;
+	}
+
+	public int byteSize() {
+		return out.byteSize();
+	}
+
+	public byte[] toByteArray() {
+		return out.toByteArray();
+	}
+
+	private void writeTimestamp(long timestamp) {
+		long delta = timestamp - prevTimestamp;
+		long dod = delta - prevDelta;
+		if (dod == 0) {
+			out.writeBit(false);
+		} else if (dod >= -63 && dod <= 64) {
+			out.writeBits(0b10, 2);
+			out.writeBits(dod, 7);
+		} else if (dod >= -255 && dod <= 256) {
+			out.writeBits(0b110, 3);
+			out.writeBits(dod, 9);
+		} else if (dod >= -2047 && dod <= 2048) {
+			out.writeBits(0b1110, 4);
+			out.writeBits(dod, 12);
+		} else {
+			out.writeBits(0b1111, 4);
+			out.writeBits(dod, 64);
+		}
+		prevDelta = delta;
+	}
+
+	private void writeValue(long valueBits) {
+		long xor = prevValueBits ^ valueBits;
+		if (xor == 0) {
+			out.writeBit(false);
+		} else {
+			int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), 31);
+			int trailingZeros = Long.numberOfTrailingZeros(xor);
+			out.writeBit(true);
+			if (leadingZeros >= prevLeadingZeros && trailingZeros >= prevTrailingZeros) {
+				// Within previous window.
+				out.writeBit(false);
+				out.writeBits(xor >>> prevTrailingZeros, 64 - prevLeadingZeros - prevTrailingZeros);
+			} else {
+				int meaningful = 64 - leadingZeros - trailingZeros;
+				out.writeBit(true);
+				out.writeBits(leadingZeros, 5);
+				// 64 is encoded as 0
+				out.writeBits(meaningful & 0x3f, 6);
+				out.writeBits(xor >>> trailingZeros, meaningful);
+				prevLeadingZeros = leadingZeros;
+				prevTrailingZeros = trailingZeros;
+			}
+		}
+		prevValueBits = valueBits;
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package com.wl4g.devops.umc.opentsdb;
 
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricView;
 import com.wl4g.devops.common.bean.umc.model.proto.MetricModel;
 import com.wl4g.devops.umc.opentsdb.client.OpenTSDBClient;
 import com.wl4g.devops.umc.opentsdb.client.bean.request.Point;
@@ -23,6 +25,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,6 +51,7 @@ public class TsdbMetricStore implements MetricStore {
 	public boolean save(MetricModel.MetricAggregate aggregate) {
 		long timestamp = aggregate.getTimestamp();
 		int c = 0;
+		boolean dropped = false;
 		for (MetricModel.Metric statMetric : aggregate.getMetricsList()) {
 			statMetric.getTagsMap();
 			if (StringUtils.isBlank(statMetric.getMetric())) {
@@ -63,7 +69,11 @@ public class TsdbMetricStore implements MetricStore {
 			Point point = pointBuilder.build();
 
 			try {
-				client.put(point);
+				if (!client.put(point)) {
+					// Buffer is full, the rest would be dropped as well.
+					dropped = true;
+					break;
+				}
 				c++;
 			} catch (Exception e) {
 				log.error("Failed to storage, caused by: ", e);
@@ -73,7 +83,92 @@ public class TsdbMetricStore implements MetricStore {
 		if (log.isInfoEnabled()) {
 			log.info("Stored metrics count for - {}", c);
 		}
+		return !dropped;
+	}
+
+	@Override
+	public boolean batchSave(List<MetricModel.MetricAggregate> aggregates) {
+		List<Point> points = new ArrayList<>(aggregates.size() * 8);
+		for (MetricModel.MetricAggregate aggregate : aggregates) {
+			long timestamp = aggregate.getTimestamp();
+			for (MetricModel.Metric statMetric : aggregate.getMetricsList()) {
+				if (StringUtils.isBlank(statMetric.getMetric())) {
+					continue;
+				}
+				Point.MetricBuilder pointBuilder = Point.metric(statMetric.getMetric()).value(timestamp, statMetric.getValue());
+				pointBuilder.tag(statMetric.getTagsMap());
+				pointBuilder.tag("host", aggregate.getHost());
+				pointBuilder.tag("endpoint", aggregate.getEndpoint());
+				points.add(pointBuilder.build());
+			}
+		}
+
+		if (!putAll(points)) {
+			return false;
+		}
+
+		if (log.isInfoEnabled()) {
+			log.info("Batch stored aggregates: {}, metrics: {}", aggregates.size(), points.size());
+		}
 		return true;
 	}
 
+	@Override
+	public boolean save(MetricAggregateView view) {
+		return batchSaveView(Collections.singletonList(view));
+	}
+
+	@Override
+	public boolean batchSaveView(List<MetricAggregateView> views) {
+		List<Point> points = new ArrayList<>(views.size() * 8);
+		for (MetricAggregateView view : views) {
+			long timestamp = view.getTimestamp();
+			for (int i = 0, size = view.size(); i < size; i++) {
+				MetricView metric = view.get(i);
+				if (StringUtils.isBlank(metric.getMetric())) {
+					continue;
+				}
+				Point.MetricBuilder pointBuilder = Point.metric(metric.getMetric()).value(timestamp, metric.getValue());
+				for (int j = 0, n = metric.getTagSize(); j < n; j++) {
+					pointBuilder.tag(metric.getTagKey(j), metric.getTagValue(j));
+				}
+				pointBuilder.tag("host", view.getHost());
+				pointBuilder.tag("endpoint", view.getEndpoint());
+				points.add(pointBuilder.build());
+			}
+		}
+
+		if (!putAll(points)) {
+			return false;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Batch stored aggregates: {}, metrics: {}", views.size(), points.size());
+		}
+		return true;
+	}
+
+	/**
+	 * Put points into the client buffer, it fails as soon as the buffer
+	 * drops a point (full after the offer timeout), so that the caller can
+	 * redeliver the whole batch instead of acknowledging the lost points.
+	 *
+	 * @param points
+	 * @return
+	 */
+	private boolean putAll(List<Point> points) {
+		try {
+			for (int i = 0, size = points.size(); i < size; i++) {
+				if (!client.put(points.get(i))) {
+					log.warn("Put buffer is full, failed batch at point: {} of {}", i + 1, size);
+					return false;
+				}
+			}
+			return true;
+		} catch (Exception e) {
+			log.error("Failed to batch storage, caused by: ", e);
+			return false;
+		}
+	}
+
 }
\ No newline at end of file
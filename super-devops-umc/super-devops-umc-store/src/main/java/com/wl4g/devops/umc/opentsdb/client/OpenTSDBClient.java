@@ -22,10 +22,8 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpResponse;
-import org.apache.http.nio.reactor.IOReactorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +39,8 @@ import com.wl4g.devops.umc.opentsdb.client.common.Json;
 import com.wl4g.devops.umc.opentsdb.client.http.HttpClient;
 import com.wl4g.devops.umc.opentsdb.client.http.HttpClientFactory;
 import com.wl4g.devops.umc.opentsdb.client.http.callback.QueryHttpResponseCallback;
+import com.wl4g.devops.umc.opentsdb.client.sender.BatchSender;
+import com.wl4g.devops.umc.opentsdb.client.sender.SenderStats;
 import com.wl4g.devops.umc.opentsdb.client.sender.consumer.Consumer;
 import com.wl4g.devops.umc.opentsdb.client.sender.consumer.ConsumerImpl;
 import com.wl4g.devops.umc.opentsdb.client.sender.producer.Producer;
@@ -65,6 +65,8 @@ public class OpenTSDBClient {
 
 	private Consumer consumer;
 
+	private BatchSender sender;
+
 	private BlockingQueue<Point> queue;
 
 	/***
@@ -72,15 +74,16 @@ public class OpenTSDBClient {
 	 */
 	private static Field queryDeleteField;
 
-	public OpenTSDBClient(OpenTSDBConfig config) throws IOReactorException {
+	public OpenTSDBClient(OpenTSDBConfig config) throws IOException {
 		this.config = config;
 		this.httpClient = HttpClientFactory.createHttpClient(config);
 		this.httpClient.start();
 
 		if (!config.isReadonly()) {
 			this.queue = new ArrayBlockingQueue<>(config.getBatchPutBufferSize());
-			this.producer = new ProducerImpl(queue);
-			this.consumer = new ConsumerImpl(queue, httpClient, config);
+			this.producer = new ProducerImpl(queue, config.getBatchPutOfferTimeout());
+			this.sender = new BatchSender(httpClient, config);
+			this.consumer = new ConsumerImpl(queue, sender, config);
 			this.consumer.start();
 
 			try {
@@ -142,12 +145,13 @@ public class OpenTSDBClient {
 	 * 
 	 * @param point
 	 *            数据点
+	 * @return 缓冲池满而丢弃时返回false
 	 */
-	public void put(Point point) {
+	public boolean put(Point point) {
 		if (config.isReadonly()) {
 			throw new IllegalArgumentException("this client is readonly,can't put point");
 		}
-		producer.send(point);
+		return producer.send(point);
 	}
 
 	/***
@@ -182,33 +186,33 @@ public class OpenTSDBClient {
 	}
 
 	/***
-	 * 优雅关闭链接，会等待所有消费者线程结束
+	 * 批量写入的统计信息(队列深度、处理中的请求数、重试/溢出/丢弃数等)
+	 * 
+	 * @return 只读客户端返回null
+	 */
+	public SenderStats getStats() {
+		if (config.isReadonly()) {
+			return null;
+		}
+		return sender.getStats(queue.size(), config.getBatchPutBufferSize(), producer.getDroppedCount());
+	}
+
+	/***
+	 * 优雅关闭链接，消费者线程消费完队列后退出，并等待处理中的请求完成(失败的批次写入磁盘溢出队列)
 	 */
 	public void gracefulClose() throws IOException {
 		if (!config.isReadonly()) {
 			// 先停止写入
 			this.producer.forbiddenSend();
-			// 等待队列被消费空
-			this.waitEmpty();
-			// 关闭消费者
+			// 消费完队列后关闭消费者
 			this.consumer.gracefulStop();
+			// 等待处理中的请求完成
+			this.sender.close(config.getHttpConnectTimeout() * 1000L);
+			log.info("Closed batch put sender. {}", getStats());
 		}
 		this.httpClient.gracefulClose();
 	}
 
-	/***
-	 * 等待队列被消费空
-	 */
-	private void waitEmpty() {
-		while (!queue.isEmpty()) {
-			try {
-				TimeUnit.MILLISECONDS.sleep(config.getBatchPutTimeLimit());
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		}
-	}
-
 	/***
 	 * 强行关闭
 	 */
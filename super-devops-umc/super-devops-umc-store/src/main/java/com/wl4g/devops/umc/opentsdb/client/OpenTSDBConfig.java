@@ -41,6 +41,28 @@ public class OpenTSDBConfig {
 
 	private int batchPutTimeLimit;
 
+	private int batchPutMinSize;
+
+	private int batchPutMaxBytes;
+
+	private int batchPutTargetLatency;
+
+	private int batchPutOfferTimeout;
+
+	private int batchPutMaxInFlight;
+
+	private boolean gzip;
+
+	private int retryMaxAttempts;
+
+	private int retryBackoff;
+
+	private int retryMaxBackoff;
+
+	private String spillDir;
+
+	private long spillMaxBytes;
+
 	private boolean readonly;
 
 	private BatchPutHttpResponseCallback.BatchPutCallBack batchPutCallBack;
@@ -67,9 +89,64 @@ public class OpenTSDBConfig {
 		private int putConsumerThreadCount = 2;
 
 		/**
-		 * 每个http请求提交的数据大小
+		 * 每个http请求提交的最大数据点个数(自适应批次大小的上限)
+		 */
+		private int batchPutSize = 500;
+
+		/**
+		 * 自适应批次大小的下限
+		 */
+		private int batchPutMinSize = 10;
+
+		/**
+		 * 每个http请求提交的最大数据大小(按数据点估算，未压缩)，单位：字节
+		 */
+		private int batchPutMaxBytes = 512 * 1024;
+
+		/**
+		 * 自适应批次的目标响应时间，超过则减小批次，单位ms
+		 */
+		private int batchPutTargetLatency = 500;
+
+		/**
+		 * 缓冲池满时，生产者的最大等待时间，超时则丢弃数据点，单位ms
+		 */
+		private int batchPutOfferTimeout = 1000;
+
+		/**
+		 * 最大并发(未完成，包括等待重试)的批量写入请求数，达到时消费者阻塞，缓冲池满后生产者按超时丢弃
+		 */
+		private int batchPutMaxInFlight = 16;
+
+		/**
+		 * 是否gzip压缩请求体
+		 */
+		private boolean gzip = true;
+
+		/**
+		 * 批量写入失败的最大尝试次数(包括首次)
+		 */
+		private int retryMaxAttempts = 3;
+
+		/**
+		 * 重试的初始退避时间(指数增长)，单位ms
+		 */
+		private int retryBackoff = 200;
+
+		/**
+		 * 重试的最大退避时间，单位ms
+		 */
+		private int retryMaxBackoff = 10_000;
+
+		/**
+		 * 重试耗尽后的磁盘溢出队列目录，为空则直接丢弃
+		 */
+		private String spillDir;
+
+		/**
+		 * 磁盘溢出队列的最大字节数，超出时丢弃最旧的批次
 		 */
-		private int batchPutSize = 50;
+		private long spillMaxBytes = 256 * 1024 * 1024L;
 
 		/***
 		 * 生产着消费者模式中，缓冲池的大小
@@ -107,6 +184,17 @@ public class OpenTSDBConfig {
 			config.batchPutSize = this.batchPutSize;
 			config.batchPutBufferSize = this.batchPutBufferSize;
 			config.batchPutTimeLimit = this.batchPutTimeLimit;
+			config.batchPutMinSize = Math.min(this.batchPutMinSize, this.batchPutSize);
+			config.batchPutMaxBytes = this.batchPutMaxBytes;
+			config.batchPutTargetLatency = this.batchPutTargetLatency;
+			config.batchPutOfferTimeout = this.batchPutOfferTimeout;
+			config.batchPutMaxInFlight = this.batchPutMaxInFlight;
+			config.gzip = this.gzip;
+			config.retryMaxAttempts = this.retryMaxAttempts;
+			config.retryBackoff = this.retryBackoff;
+			config.retryMaxBackoff = this.retryMaxBackoff;
+			config.spillDir = this.spillDir;
+			config.spillMaxBytes = this.spillMaxBytes;
 			config.readonly = this.readonly;
 			config.batchPutCallBack = this.batchPutCallBack;
 
@@ -161,6 +249,77 @@ public class OpenTSDBConfig {
 			return this;
 		}
 
+		public Builder batchPutMinSize(int batchPutMinSize) {
+			if (batchPutMinSize < 1) {
+				throw new IllegalArgumentException("The size can't be less then 1");
+			}
+			this.batchPutMinSize = batchPutMinSize;
+			return this;
+		}
+
+		public Builder batchPutMaxBytes(int batchPutMaxBytes) {
+			if (batchPutMaxBytes < 1024) {
+				throw new IllegalArgumentException("The bytes can't be less then 1024");
+			}
+			this.batchPutMaxBytes = batchPutMaxBytes;
+			return this;
+		}
+
+		public Builder batchPutTargetLatency(int batchPutTargetLatency) {
+			if (batchPutTargetLatency < 1) {
+				throw new IllegalArgumentException("The target latency can't be less then 1");
+			}
+			this.batchPutTargetLatency = batchPutTargetLatency;
+			return this;
+		}
+
+		public Builder batchPutOfferTimeout(int batchPutOfferTimeout) {
+			if (batchPutOfferTimeout < 0) {
+				throw new IllegalArgumentException("The offer timeout can't be less then 0");
+			}
+			this.batchPutOfferTimeout = batchPutOfferTimeout;
+			return this;
+		}
+
+		public Builder batchPutMaxInFlight(int batchPutMaxInFlight) {
+			if (batchPutMaxInFlight < 1) {
+				throw new IllegalArgumentException("The max in-flight can't be less then 1");
+			}
+			this.batchPutMaxInFlight = batchPutMaxInFlight;
+			return this;
+		}
+
+		public Builder gzip(boolean gzip) {
+			this.gzip = gzip;
+			return this;
+		}
+
+		public Builder retryMaxAttempts(int retryMaxAttempts) {
+			if (retryMaxAttempts < 1) {
+				throw new IllegalArgumentException("The attempts can't be less then 1");
+			}
+			this.retryMaxAttempts = retryMaxAttempts;
+			return this;
+		}
+
+		public Builder retryBackoff(int retryBackoff, int retryMaxBackoff) {
+			if (retryBackoff < 1 || retryMaxBackoff < retryBackoff) {
+				throw new IllegalArgumentException("The backoff must be greater than 0 and not greater than max backoff");
+			}
+			this.retryBackoff = retryBackoff;
+			this.retryMaxBackoff = retryMaxBackoff;
+			return this;
+		}
+
+		public Builder spill(String spillDir, long spillMaxBytes) {
+			if (spillMaxBytes < 1) {
+				throw new IllegalArgumentException("The spill bytes can't be less then 1");
+			}
+			this.spillDir = spillDir;
+			this.spillMaxBytes = spillMaxBytes;
+			return this;
+		}
+
 		public Builder readonly() {
 			this.readonly = true;
 			return this;
@@ -241,6 +400,94 @@ public class OpenTSDBConfig {
 		this.batchPutTimeLimit = batchPutTimeLimit;
 	}
 
+	public int getBatchPutMinSize() {
+		return batchPutMinSize;
+	}
+
+	public void setBatchPutMinSize(int batchPutMinSize) {
+		this.batchPutMinSize = batchPutMinSize;
+	}
+
+	public int getBatchPutMaxBytes() {
+		return batchPutMaxBytes;
+	}
+
+	public void setBatchPutMaxBytes(int batchPutMaxBytes) {
+		this.batchPutMaxBytes = batchPutMaxBytes;
+	}
+
+	public int getBatchPutTargetLatency() {
+		return batchPutTargetLatency;
+	}
+
+	public void setBatchPutTargetLatency(int batchPutTargetLatency) {
+		this.batchPutTargetLatency = batchPutTargetLatency;
+	}
+
+	public int getBatchPutOfferTimeout() {
+		return batchPutOfferTimeout;
+	}
+
+	public void setBatchPutOfferTimeout(int batchPutOfferTimeout) {
+		this.batchPutOfferTimeout = batchPutOfferTimeout;
+	}
+
+	public int getBatchPutMaxInFlight() {
+		return batchPutMaxInFlight;
+	}
+
+	public void setBatchPutMaxInFlight(int batchPutMaxInFlight) {
+		this.batchPutMaxInFlight = batchPutMaxInFlight;
+	}
+
+	public boolean isGzip() {
+		return gzip;
+	}
+
+	public void setGzip(boolean gzip) {
+		this.gzip = gzip;
+	}
+
+	public int getRetryMaxAttempts() {
+		return retryMaxAttempts;
+	}
+
+	public void setRetryMaxAttempts(int retryMaxAttempts) {
+		this.retryMaxAttempts = retryMaxAttempts;
+	}
+
+	public int getRetryBackoff() {
+		return retryBackoff;
+	}
+
+	public void setRetryBackoff(int retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	public int getRetryMaxBackoff() {
+		return retryMaxBackoff;
+	}
+
+	public void setRetryMaxBackoff(int retryMaxBackoff) {
+		this.retryMaxBackoff = retryMaxBackoff;
+	}
+
+	public String getSpillDir() {
+		return spillDir;
+	}
+
+	public void setSpillDir(String spillDir) {
+		this.spillDir = spillDir;
+	}
+
+	public long getSpillMaxBytes() {
+		return spillMaxBytes;
+	}
+
+	public void setSpillMaxBytes(long spillMaxBytes) {
+		this.spillMaxBytes = spillMaxBytes;
+	}
+
 	public boolean isReadonly() {
 		return readonly;
 	}
@@ -16,6 +16,7 @@
 package com.wl4g.devops.umc.opentsdb.client.common;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 
@@ -73,6 +74,19 @@ public class Json {
 		return instance.writeValueAsString(value);
 	}
 
+	/***
+	 * 将对象序列化为json，直接写入输出流(不产生中间字符串)
+	 * 
+	 * @param out
+	 *            输出流
+	 * @param value
+	 *            具体对象
+	 * @throws IOException
+	 */
+	public static void writeValue(OutputStream out, Object value) throws IOException {
+		instance.writeValue(out, value);
+	}
+
 	/***
 	 * 将json字符串反序列化为T类型的对象
 	 * 
@@ -25,6 +25,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.slf4j.Logger;
@@ -112,6 +114,37 @@ public class HttpClient {
 		return client.execute(httpPost, responseCallback);
 	}
 
+	/***
+	 * post请求，请求体为已编码的json
+	 * 
+	 * @param path
+	 *            请求路径
+	 * @param body
+	 *            json格式请求体
+	 * @param gzip
+	 *            请求体是否已gzip压缩
+	 * @param httpCallback
+	 *            回调
+	 * @return
+	 */
+	public Future<HttpResponse> post(String path, byte[] body, boolean gzip, FutureCallback<HttpResponse> httpCallback) {
+		log.debug("发送post请求，路径:{}，请求大小:{}，gzip:{}", path, body.length, gzip);
+		HttpPost httpPost = new HttpPost(getUrl(path));
+		ByteArrayEntity entity = new ByteArrayEntity(body, ContentType.APPLICATION_JSON);
+		if (gzip) {
+			entity.setContentEncoding("gzip");
+		}
+		httpPost.setEntity(entity);
+
+		FutureCallback<HttpResponse> responseCallback = null;
+		if (httpCallback != null) {
+			log.debug("等待完成的任务数:{}", unCompletedTaskNum.incrementAndGet());
+			responseCallback = new GracefulCloseFutureCallBack(unCompletedTaskNum, httpCallback);
+		}
+
+		return client.execute(httpPost, responseCallback);
+	}
+
 	private String getUrl(String path) {
 		return host + ":" + port + path;
 	}
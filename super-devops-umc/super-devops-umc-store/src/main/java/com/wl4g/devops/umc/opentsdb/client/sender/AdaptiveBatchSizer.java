@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.opentsdb.client.sender;
+
+/**
+ * Latency adaptive batch size(AIMD), the batch size grows additively while
+ * the full batches are responded within target latency, and is halved on slow
+ * responses or failures.
+ * </br>
+ * Note: the size is a heuristic value shared by consumer threads, the racy
+ * updates are acceptable.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月6日
+ * @since
+ */
+public class AdaptiveBatchSizer {
+
+	final private int minSize;
+
+	final private int maxSize;
+
+	/** Target response latency(ms). */
+	final private long targetLatencyMs;
+
+	/** Current batch size. */
+	private volatile int size;
+
+	public AdaptiveBatchSizer(int minSize, int maxSize, long targetLatencyMs) {
+		if (minSize < 1 || maxSize < minSize) {
+			throw new IllegalArgumentException("Illegal batch size range: [" + minSize + "," + maxSize + "]");
+		}
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.targetLatencyMs = targetLatencyMs;
+		this.size = Math.max(minSize, maxSize / 2);
+	}
+
+	public int currentSize() {
+		return size;
+	}
+
+	/**
+	 * On batch responded successfully.
+	 *
+	 * @param batchSize
+	 * @param latencyMs
+	 */
+	public void onSuccess(int batchSize, long latencyMs) {
+		int current = size;
+		if (latencyMs > targetLatencyMs) {
+			size = Math.max(minSize, current >>> 1);
+		} else if (batchSize >= current) {
+			// Only the full batches prove that a larger batch is needed.
+			size = Math.min(maxSize, current + Math.max(1, current >>> 3));
+		}
+	}
+
+	/**
+	 * On batch failed(e.g. timeout, server error).
+	 */
+	public void onFailure() {
+		size = Math.max(minSize, size >>> 1);
+	}
+
+}
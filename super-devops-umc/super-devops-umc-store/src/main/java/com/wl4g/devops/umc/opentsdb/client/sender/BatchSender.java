@@ -0,0 +1,408 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.opentsdb.client.sender;
+
+import com.wl4g.devops.umc.opentsdb.client.OpenTSDBConfig;
+import com.wl4g.devops.umc.opentsdb.client.bean.request.Api;
+import com.wl4g.devops.umc.opentsdb.client.bean.request.Point;
+import com.wl4g.devops.umc.opentsdb.client.common.Json;
+import com.wl4g.devops.umc.opentsdb.client.http.HttpClient;
+import com.wl4g.devops.umc.opentsdb.client.http.callback.BatchPutHttpResponseCallback;
+import com.wl4g.devops.umc.opentsdb.client.http.callback.BatchPutHttpResponseCallback.BatchPutCallBack;
+import com.wl4g.devops.umc.opentsdb.client.sender.SpillQueue.SpilledBatch;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Batch put sender, the points are streamed as(gzip) json body, the failed
+ * batches are retried with exponential backoff, and are spilled to the disk
+ * queue after retries exhausted, the spilled batches are replayed once the
+ * server is available again. The new batches are limited by max in-flight
+ * permits (held until sent, rejected, spilled or dropped, including the retry
+ * backoff), so a slow server blocks the consumers instead of piling up
+ * requests.
+ *
+ * <pre>
+ * 2xx:                    sent
+ * 400:                    rejected(illegal points), not retried
+ * other status, error:    retried, then spilled
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月6日
+ * @since
+ */
+public class BatchSender {
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	final private HttpClient httpClient;
+
+	final private OpenTSDBConfig config;
+
+	final private BatchPutCallBack callBack;
+
+	final private AdaptiveBatchSizer sizer;
+
+	/** Disk spill queue, null if disabled. */
+	final private SpillQueue spillQueue;
+
+	/** Retry and replay scheduler. */
+	final private ScheduledExecutorService scheduler;
+
+	/** Max in-flight permits of the new batches. */
+	final private Semaphore permits;
+
+	final private AtomicInteger inFlight = new AtomicInteger(0);
+	final private AtomicBoolean replaying = new AtomicBoolean(false);
+	final private LongAdder sentPoints = new LongAdder();
+	final private LongAdder sentBatches = new LongAdder();
+	final private LongAdder rejectedBatches = new LongAdder();
+	final private LongAdder retries = new LongAdder();
+	final private LongAdder spilledBatches = new LongAdder();
+	final private LongAdder replayedBatches = new LongAdder();
+	final private LongAdder droppedPoints = new LongAdder();
+
+	/** Closing flag, the failed batches are spilled without retry. */
+	private volatile boolean closing;
+
+	public BatchSender(HttpClient httpClient, OpenTSDBConfig config) throws IOException {
+		this.httpClient = httpClient;
+		this.config = config;
+		this.callBack = config.getBatchPutCallBack();
+		this.permits = new Semaphore(config.getBatchPutMaxInFlight());
+		this.sizer = new AdaptiveBatchSizer(config.getBatchPutMinSize(), config.getBatchPutSize(),
+				config.getBatchPutTargetLatency());
+		this.spillQueue = StringUtils.isBlank(config.getSpillDir()) ? null
+				: new SpillQueue(new File(config.getSpillDir()), config.getSpillMaxBytes());
+		this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "batch-put-retry");
+			t.setDaemon(true);
+			return t;
+		});
+		if (spillQueue != null) {
+			// Replay when there is no new points to probe the server.
+			this.scheduler.scheduleWithFixedDelay(() -> replay(), config.getRetryMaxBackoff(), config.getRetryMaxBackoff(),
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public AdaptiveBatchSizer getSizer() {
+		return sizer;
+	}
+
+	/**
+	 * Encode and send points asynchronously, blocks while the max in-flight
+	 * batches are outstanding.
+	 *
+	 * @param points
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for permit, the points are dropped.
+	 */
+	public void send(List<Point> points) throws InterruptedException {
+		byte[] body;
+		try {
+			body = encode(points, config.isGzip());
+		} catch (IOException e) {
+			log.error("Failed to encode points, dropped: " + points.size(), e);
+			droppedPoints.add(points.size());
+			return;
+		}
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			droppedPoints.add(points.size());
+			throw e;
+		}
+		Batch batch = new Batch(points, points.size(), body, config.isGzip(), null);
+		batch.permit = true;
+		post(batch);
+	}
+
+	/**
+	 * Stop retrying, and wait for the in-flight batches completed(the failed
+	 * batches are spilled).
+	 *
+	 * @param timeoutMs
+	 */
+	public void close(long timeoutMs) {
+		closing = true;
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+			synchronized (inFlight) {
+				long deadline = System.currentTimeMillis() + timeoutMs;
+				long wait;
+				while (inFlight.get() > 0 && (wait = deadline - System.currentTimeMillis()) > 0) {
+					inFlight.wait(wait);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (inFlight.get() > 0) {
+			log.warn("Closed batch sender with in-flight batches: {}", inFlight.get());
+		}
+	}
+
+	/**
+	 * Statistics snapshot.
+	 *
+	 * @param queueDepth
+	 * @param queueCapacity
+	 * @param producerDropped
+	 *            The points dropped by producer on full buffer.
+	 * @return
+	 */
+	public SenderStats getStats(int queueDepth, int queueCapacity, long producerDropped) {
+		return new SenderStats(queueDepth, queueCapacity, inFlight.get(), sizer.currentSize(), sentPoints.sum(),
+				sentBatches.sum(), rejectedBatches.sum(), retries.sum(), spilledBatches.sum(), replayedBatches.sum(),
+				spillQueue != null ? spillQueue.size() : 0, spillQueue != null ? spillQueue.totalBytes() : 0,
+				producerDropped + droppedPoints.sum() + (spillQueue != null ? spillQueue.evictedPoints() : 0));
+	}
+
+	private void post(Batch batch) {
+		inFlight.incrementAndGet();
+		batch.sendNanos = System.nanoTime();
+		try {
+			String path = callBack == null ? Api.PUT.getPath() : Api.PUT_DETAIL.getPath();
+			httpClient.post(path, batch.body, batch.gzip, new BatchCallback(batch));
+		} catch (Exception e) {
+			// e.g. the client has been closed.
+			completed();
+			onFailed(batch, e);
+		}
+	}
+
+	private void onFailed(Batch batch, Exception cause) {
+		sizer.onFailure();
+		if (batch.spilled != null) {
+			// Keep it in the spill queue, and replay later.
+			replaying.set(false);
+			log.warn("Failed to replay spilled batch: {}, caused by: {}", batch.spilled.getFile().getName(), cause.toString());
+			return;
+		}
+		if (batch.attempts < config.getRetryMaxAttempts() && !closing) {
+			retries.increment();
+			long backoff = Math.min((long) config.getRetryBackoff() << Math.min(batch.attempts - 1, 20),
+					config.getRetryMaxBackoff());
+			// Jitter, avoid retrying all the batches at the same time.
+			backoff = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+			log.warn("Failed to put points: {}, attempts: {}, retry after {}ms, caused by: {}", batch.size, batch.attempts,
+					backoff, cause.toString());
+			batch.attempts++;
+			try {
+				scheduler.schedule(() -> post(batch), backoff, TimeUnit.MILLISECONDS);
+				return;
+			} catch (RuntimeException e) {
+				// Closed just now.
+			}
+		}
+		spill(batch, cause);
+	}
+
+	private void spill(Batch batch, Exception cause) {
+		release(batch);
+		if (spillQueue != null && spillQueue.offer(batch.body, batch.gzip, batch.size)) {
+			spilledBatches.increment();
+			log.warn("Spilled points: {}, caused by: {}", batch.size, cause.toString());
+			return;
+		}
+		droppedPoints.add(batch.size);
+		log.error("Dropped points: {}, caused by: {}", batch.size, cause.toString());
+		if (callBack != null) {
+			callBack.failed(batch.points, cause);
+		}
+	}
+
+	private void onSent(Batch batch, HttpResponse response) {
+		release(batch);
+		sentPoints.add(batch.size);
+		sentBatches.increment();
+		if (batch.spilled != null) {
+			replayedBatches.increment();
+			spillQueue.remove(batch.spilled);
+			replaying.set(false);
+		} else {
+			sizer.onSuccess(batch.size, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.sendNanos));
+			if (callBack != null) {
+				new BatchPutHttpResponseCallback(callBack, batch.points).completed(response);
+			}
+		}
+		replay();
+	}
+
+	/**
+	 * Replay the eldest spilled batch, only one at a time.
+	 */
+	private void replay() {
+		if (spillQueue == null || closing || spillQueue.size() == 0 || !replaying.compareAndSet(false, true)) {
+			return;
+		}
+		SpilledBatch spilled = spillQueue.peek();
+		if (spilled == null) {
+			replaying.set(false);
+			return;
+		}
+		try {
+			post(new Batch(null, spilled.getPoints(), spilled.readBody(), spilled.isGzip(), spilled));
+		} catch (IOException e) {
+			log.error("Failed to read spilled batch, dropped: " + spilled.getFile(), e);
+			droppedPoints.add(spilled.getPoints());
+			spillQueue.remove(spilled);
+			replaying.set(false);
+		}
+	}
+
+	/**
+	 * Release the in-flight permit of the batch once it's done.
+	 *
+	 * @param batch
+	 */
+	private void release(Batch batch) {
+		if (batch.permit) {
+			batch.permit = false;
+			permits.release();
+		}
+	}
+
+	private void completed() {
+		if (inFlight.decrementAndGet() == 0) {
+			synchronized (inFlight) {
+				inFlight.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Encode points to json body, and stream through gzip if necessary.
+	 *
+	 * @param points
+	 * @param gzip
+	 * @return
+	 * @throws IOException
+	 */
+	static byte[] encode(List<Point> points, boolean gzip) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(points.size() * (gzip ? 24 : 128));
+		try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+			Json.writeValue(out, points);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Encoded batch.
+	 */
+	private static class Batch {
+
+		/** Original points, null if replayed from spill queue. */
+		final private List<Point> points;
+		final private int size;
+		final private byte[] body;
+		final private boolean gzip;
+		final private SpilledBatch spilled;
+
+		private int attempts = 1;
+		private long sendNanos;
+		/** Holding in-flight permit, only new batches. */
+		private boolean permit;
+
+		Batch(List<Point> points, int size, byte[] body, boolean gzip, SpilledBatch spilled) {
+			this.points = points;
+			this.size = size;
+			this.body = body;
+			this.gzip = gzip;
+			this.spilled = spilled;
+		}
+
+	}
+
+	/**
+	 * Batch put response callback.
+	 */
+	private class BatchCallback implements FutureCallback<HttpResponse> {
+
+		final private Batch batch;
+
+		BatchCallback(Batch batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void completed(HttpResponse response) {
+			try {
+				int status = response.getStatusLine().getStatusCode();
+				if (status >= 200 && status < 300) {
+					onSent(batch, response);
+				} else if (status == 400) {
+					// Illegal points, retrying won't help.
+					rejectedBatches.increment();
+					release(batch);
+					if (batch.spilled != null) {
+						spillQueue.remove(batch.spilled);
+						replaying.set(false);
+					}
+					log.warn("Rejected points: {}, status: {}", batch.size, response.getStatusLine());
+					if (callBack != null && batch.points != null) {
+						new BatchPutHttpResponseCallback(callBack, batch.points).completed(response);
+					}
+				} else {
+					onFailed(batch, new IOException("Unexpected response status: " + response.getStatusLine()));
+				}
+			} finally {
+				BatchSender.this.completed();
+			}
+		}
+
+		@Override
+		public void failed(Exception e) {
+			try {
+				onFailed(batch, e);
+			} finally {
+				BatchSender.this.completed();
+			}
+		}
+
+		@Override
+		public void cancelled() {
+			try {
+				onFailed(batch, new IOException("Cancelled"));
+			} finally {
+				BatchSender.this.completed();
+			}
+		}
+
+	}
+
+}
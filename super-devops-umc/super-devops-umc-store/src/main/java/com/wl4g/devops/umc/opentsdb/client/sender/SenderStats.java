@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.opentsdb.client.sender;
+
+/**
+ * Snapshot of batch put statistics.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月6日
+ * @since
+ */
+public class SenderStats {
+
+	final private int queueDepth;
+	final private int queueCapacity;
+	final private int inFlight;
+	final private int batchSize;
+	final private long sentPoints;
+	final private long sentBatches;
+	final private long rejectedBatches;
+	final private long retries;
+	final private long spilledBatches;
+	final private long replayedBatches;
+	final private int spillQueueSize;
+	final private long spillBytes;
+	final private long droppedPoints;
+
+	public SenderStats(int queueDepth, int queueCapacity, int inFlight, int batchSize, long sentPoints, long sentBatches,
+			long rejectedBatches, long retries, long spilledBatches, long replayedBatches, int spillQueueSize, long spillBytes,
+			long droppedPoints) {
+		this.queueDepth = queueDepth;
+		this.queueCapacity = queueCapacity;
+		this.inFlight = inFlight;
+		this.batchSize = batchSize;
+		this.sentPoints = sentPoints;
+		this.sentBatches = sentBatches;
+		this.rejectedBatches = rejectedBatches;
+		this.retries = retries;
+		this.spilledBatches = spilledBatches;
+		this.replayedBatches = replayedBatches;
+		this.spillQueueSize = spillQueueSize;
+		this.spillBytes = spillBytes;
+		this.droppedPoints = droppedPoints;
+	}
+
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public long getSentPoints() {
+		return sentPoints;
+	}
+
+	public long getSentBatches() {
+		return sentBatches;
+	}
+
+	/**
+	 * The batches rejected by server(e.g. 400 of illegal points), which are
+	 * not retried.
+	 */
+	public long getRejectedBatches() {
+		return rejectedBatches;
+	}
+
+	public long getRetries() {
+		return retries;
+	}
+
+	public long getSpilledBatches() {
+		return spilledBatches;
+	}
+
+	public long getReplayedBatches() {
+		return replayedBatches;
+	}
+
+	public int getSpillQueueSize() {
+		return spillQueueSize;
+	}
+
+	public long getSpillBytes() {
+		return spillBytes;
+	}
+
+	/**
+	 * The points dropped on full buffer, exhausted retries without spill
+	 * queue, or evicted from spill queue.
+	 */
+	public long getDroppedPoints() {
+		return droppedPoints;
+	}
+
+	@Override
+	public String toString() {
+		return "SenderStats [queueDepth=" + queueDepth + ", queueCapacity=" + queueCapacity + ", inFlight=" + inFlight
+				+ ", batchSize=" + batchSize + ", sentPoints=" + sentPoints + ", sentBatches=" + sentBatches
+				+ ", rejectedBatches=" + rejectedBatches + ", retries=" + retries + ", spilledBatches=" + spilledBatches
+				+ ", replayedBatches=" + replayedBatches + ", spillQueueSize=" + spillQueueSize + ", spillBytes=" + spillBytes
+				+ ", droppedPoints=" + droppedPoints + "]";
+	}
+
+}
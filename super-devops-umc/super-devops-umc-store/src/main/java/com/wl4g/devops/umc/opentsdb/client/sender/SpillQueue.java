@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.opentsdb.client.sender;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded on-disk queue of the encoded batches which failed to put after
+ * retries, one file per batch, the oldest batches are evicted when the total
+ * bytes exceeds the limit.
+ *
+ * <pre>
+ * File name: {sequence}-{points count}-{gzip|json}.spill
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月6日
+ * @since
+ */
+public class SpillQueue {
+
+	final public static String SUFFIX = ".spill";
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	/** Spill directory. */
+	final private File dir;
+
+	/** Max total bytes. */
+	final private long maxBytes;
+
+	/** Spilled batch files by sequence. */
+	final private TreeMap<Long, SpilledBatch> batches = new TreeMap<>();
+
+	/** Total bytes of spilled batches. */
+	private long totalBytes;
+
+	/** Next sequence. */
+	private long sequence;
+
+	/** Evicted points count. */
+	private long evictedPoints;
+
+	public SpillQueue(File dir, long maxBytes) throws IOException {
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Failed to create spill directory: " + dir);
+		}
+		this.dir = dir;
+		this.maxBytes = maxBytes;
+		load();
+	}
+
+	/**
+	 * Spill the encoded batch, the oldest batches are evicted if necessary.
+	 *
+	 * @param body
+	 * @param gzip
+	 * @param points
+	 * @return false if the batch is larger than max bytes, or failed to write.
+	 */
+	public synchronized boolean offer(byte[] body, boolean gzip, int points) {
+		if (body.length > maxBytes) {
+			return false;
+		}
+		while (totalBytes + body.length > maxBytes && !batches.isEmpty()) {
+			SpilledBatch eldest = batches.firstEntry().getValue();
+			remove(eldest);
+			evictedPoints += eldest.getPoints();
+			log.warn("Evicted spilled batch: {}, points: {}", eldest.getFile().getName(), eldest.getPoints());
+		}
+
+		long seq = sequence++;
+		File file = new File(dir, seq + "-" + points + "-" + (gzip ? "gzip" : "json") + SUFFIX);
+		File tmpFile = new File(dir, file.getName() + ".tmp");
+		try {
+			Files.write(tmpFile.toPath(), body);
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.error("Failed to spill batch to " + file, e);
+			tmpFile.delete();
+			return false;
+		}
+		batches.put(seq, new SpilledBatch(seq, file, gzip, points, body.length));
+		totalBytes += body.length;
+		return true;
+	}
+
+	/**
+	 * Peek the eldest spilled batch.
+	 *
+	 * @return Returns null if empty.
+	 */
+	public synchronized SpilledBatch peek() {
+		Map.Entry<Long, SpilledBatch> eldest = batches.firstEntry();
+		return eldest != null ? eldest.getValue() : null;
+	}
+
+	/**
+	 * Remove spilled batch(e.g. replayed).
+	 *
+	 * @param batch
+	 */
+	public synchronized void remove(SpilledBatch batch) {
+		if (batches.remove(batch.getSequence()) != null) {
+			totalBytes -= batch.getBytes();
+			if (!batch.getFile().delete()) {
+				log.warn("Failed to delete spilled batch: {}", batch.getFile());
+			}
+		}
+	}
+
+	public synchronized int size() {
+		return batches.size();
+	}
+
+	public synchronized long totalBytes() {
+		return totalBytes;
+	}
+
+	public synchronized long evictedPoints() {
+		return evictedPoints;
+	}
+
+	private void load() {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(SUFFIX + ".tmp")) {
+				file.delete();
+				continue;
+			}
+			if (!name.endsWith(SUFFIX)) {
+				continue;
+			}
+			String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+			try {
+				long seq = Long.parseLong(parts[0]);
+				int points = Integer.parseInt(parts[1]);
+				batches.put(seq, new SpilledBatch(seq, file, "gzip".equals(parts[2]), points, file.length()));
+				totalBytes += file.length();
+				sequence = Math.max(sequence, seq + 1);
+			} catch (RuntimeException e) {
+				log.warn("Skip illegal spilled batch file: {}", file);
+			}
+		}
+		if (!batches.isEmpty()) {
+			log.info("Loaded spilled batches: {}, bytes: {}", batches.size(), totalBytes);
+		}
+	}
+
+	/**
+	 * Spilled batch.
+	 */
+	public static class SpilledBatch {
+
+		final private long sequence;
+		final private File file;
+		final private boolean gzip;
+		final private int points;
+		final private long bytes;
+
+		SpilledBatch(long sequence, File file, boolean gzip, int points, long bytes) {
+			this.sequence = sequence;
+			this.file = file;
+			this.gzip = gzip;
+			this.points = points;
+			this.bytes = bytes;
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		public File getFile() {
+			return file;
+		}
+
+		public boolean isGzip() {
+			return gzip;
+		}
+
+		public int getPoints() {
+			return points;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		public byte[] readBody() throws IOException {
+			return Files.readAllBytes(file.toPath());
+		}
+
+	}
+
+}
@@ -19,13 +19,14 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.wl4g.devops.umc.opentsdb.client.OpenTSDBConfig;
 import com.wl4g.devops.umc.opentsdb.client.bean.request.Point;
-import com.wl4g.devops.umc.opentsdb.client.http.HttpClient;
+import com.wl4g.devops.umc.opentsdb.client.sender.BatchSender;
 
 /**
  * @Author: jinyao
@@ -40,7 +41,7 @@ public class ConsumerImpl implements Consumer {
 
 	private final BlockingQueue<Point> queue;
 
-	private final HttpClient httpClient;
+	private final BatchSender sender;
 
 	private final ExecutorService threadPool;
 
@@ -50,9 +51,11 @@ public class ConsumerImpl implements Consumer {
 
 	private final CountDownLatch countDownLatch;
 
-	public ConsumerImpl(BlockingQueue<Point> queue, HttpClient httpClient, OpenTSDBConfig config) {
+	private final AtomicBoolean running = new AtomicBoolean(true);
+
+	public ConsumerImpl(BlockingQueue<Point> queue, BatchSender sender, OpenTSDBConfig config) {
 		this.queue = queue;
-		this.httpClient = httpClient;
+		this.sender = sender;
 		this.config = config;
 		this.threadCount = config.getPutConsumerThreadCount();
 		final int[] i = new int[1];
@@ -66,7 +69,7 @@ public class ConsumerImpl implements Consumer {
 	@Override
 	public void start() {
 		for (int i = 0; i < threadCount; i++) {
-			threadPool.execute(new ConsumerRunnable(queue, httpClient, config, countDownLatch));
+			threadPool.execute(new ConsumerRunnable(queue, sender, config, countDownLatch, running));
 		}
 	}
 
@@ -92,10 +95,9 @@ public class ConsumerImpl implements Consumer {
 				// 强制退出不等待，截断消费者线程。
 				threadPool.shutdownNow();
 			} else {
-				// 截断消费者线程。
-				while (!threadPool.isShutdown() || !threadPool.isTerminated()) {
-					threadPool.shutdownNow();
-				}
+				// 通知消费者线程，消费完队列中剩余的数据点后退出。
+				running.set(false);
+				threadPool.shutdown();
 
 				// 等待所有消费者线程结束。
 				try {
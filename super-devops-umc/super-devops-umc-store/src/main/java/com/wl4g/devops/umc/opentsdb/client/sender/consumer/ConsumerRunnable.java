@@ -17,19 +17,19 @@ package com.wl4g.devops.umc.opentsdb.client.sender.consumer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.wl4g.devops.umc.opentsdb.client.OpenTSDBConfig;
-import com.wl4g.devops.umc.opentsdb.client.bean.request.Api;
 import com.wl4g.devops.umc.opentsdb.client.bean.request.Point;
-import com.wl4g.devops.umc.opentsdb.client.common.Json;
-import com.wl4g.devops.umc.opentsdb.client.http.HttpClient;
-import com.wl4g.devops.umc.opentsdb.client.http.callback.BatchPutHttpResponseCallback;
+import com.wl4g.devops.umc.opentsdb.client.sender.AdaptiveBatchSizer;
+import com.wl4g.devops.umc.opentsdb.client.sender.BatchSender;
 
 /**
  * 消费者线程具体的消费逻辑
@@ -45,110 +45,101 @@ public class ConsumerRunnable implements Runnable {
 
 	private final BlockingQueue<Point> queue;
 
-	private final HttpClient httpClient;
-
-	@SuppressWarnings("unused")
-	private final OpenTSDBConfig config;
+	private final BatchSender sender;
 
 	private final CountDownLatch countDownLatch;
 
-	private BatchPutHttpResponseCallback.BatchPutCallBack callBack;
+	/**
+	 * 运行标志，停止后消费完队列中剩余的数据点再退出
+	 */
+	private final AtomicBoolean running;
 
 	/**
-	 * 每批次数据点个数
+	 * 自适应的每批次数据点个数
 	 */
-	private int batchSize;
+	private final AdaptiveBatchSizer sizer;
+
+	/**
+	 * 每批次数据的最大字节数(估算)
+	 */
+	private final int batchMaxBytes;
 
 	/***
 	 * 每次提交等待的时间间隔，单位ms
 	 */
-	private int batchPutTimeLimit;
+	private final int batchPutTimeLimit;
 
-	public ConsumerRunnable(BlockingQueue<Point> queue, HttpClient httpClient, OpenTSDBConfig config,
-			CountDownLatch countDownLatch) {
+	public ConsumerRunnable(BlockingQueue<Point> queue, BatchSender sender, OpenTSDBConfig config, CountDownLatch countDownLatch,
+			AtomicBoolean running) {
 		this.queue = queue;
-		this.httpClient = httpClient;
-		this.config = config;
+		this.sender = sender;
 		this.countDownLatch = countDownLatch;
-		this.batchSize = config.getBatchPutSize();
+		this.running = running;
+		this.sizer = sender.getSizer();
+		this.batchMaxBytes = config.getBatchPutMaxBytes();
 		this.batchPutTimeLimit = config.getBatchPutTimeLimit();
-		this.callBack = config.getBatchPutCallBack();
 	}
 
 	/***
-	 * 设计原则是接收满${batchSize}个元素就提交，或者达到时间${batchPutTimeLimit}
-	 * 当线程被打断说明cosumer执行了stop
+	 * 设计原则是接收满自适应批次大小${sizer}个元素或${batchMaxBytes}字节就提交，或者达到时间${batchPutTimeLimit}
+	 * 当停止后，消费完队列中剩余的数据点再退出；当线程被打断说明cosumer执行了强制停止
 	 */
 	@Override
 	public void run() {
 		log.debug("thread:{} has started take point from queue", Thread.currentThread().getName());
-		Point waitPoint = null;
-		boolean readyClose = false;
-		int waitTimeLimit = batchPutTimeLimit / 3;
-
-		while (!readyClose) {
-			long t0 = System.currentTimeMillis();
-			List<Point> pointList = new ArrayList<>(batchSize);
-			if (waitPoint != null) {
-				pointList.add(waitPoint);
-				waitPoint = null;
-			}
-
-			for (int i = pointList.size(); i < batchSize; i++) {
-				try {
-					Point point = queue.poll(waitTimeLimit, TimeUnit.MILLISECONDS);
-					if (point != null) {
-						pointList.add(point);
-					}
-					long t1 = System.currentTimeMillis();
-					if (t1 - t0 > batchPutTimeLimit) {
+		try {
+			while (true) {
+				Point first = queue.poll(batchPutTimeLimit, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					if (!running.get()) {
 						break;
 					}
-				} catch (InterruptedException e) {
-					readyClose = true;
-					log.info("The thread {} is interrupted", Thread.currentThread().getName());
-					break;
+					continue;
 				}
-			}
 
-			if (pointList.size() == 0 && !readyClose) {
-				try {
-					waitPoint = queue.take();
-				} catch (InterruptedException e) {
-					readyClose = true;
-					log.info("The thread {} is interrupted", Thread.currentThread().getName());
+				int limit = sizer.currentSize();
+				List<Point> pointList = new ArrayList<>(limit);
+				pointList.add(first);
+				int bytes = estimateSize(first);
+				long deadline = System.currentTimeMillis() + batchPutTimeLimit;
+				while (pointList.size() < limit && bytes < batchMaxBytes) {
+					Point point = queue.poll();
+					if (point == null) {
+						long wait = deadline - System.currentTimeMillis();
+						if (wait <= 0 || !running.get()) {
+							break;
+						}
+						point = queue.poll(wait, TimeUnit.MILLISECONDS);
+						if (point == null) {
+							break;
+						}
+					}
+					pointList.add(point);
+					bytes += estimateSize(point);
 				}
-				continue;
-			}
 
-			if (pointList.size() == 0) {
-				continue;
+				sender.send(pointList);
 			}
-
-			sendHttp(pointList);
-
+		} catch (InterruptedException e) {
+			log.info("The thread {} is interrupted", Thread.currentThread().getName());
+		} finally {
+			this.countDownLatch.countDown();
 		}
-
-		this.countDownLatch.countDown();
 	}
 
 	/***
-	 * 发送请求写入数据
+	 * 估算数据点序列化后的json大小，如：{"metric":"m","tags":{"k":"v"},"timestamp":1583366400000,"value":1.0}
 	 * 
-	 * @param points
+	 * @param point
 	 *            数据点
+	 * @return
 	 */
-	private void sendHttp(List<Point> points) {
-		try {
-			if (callBack == null) {
-				httpClient.post(Api.PUT.getPath(), Json.writeValueAsString(points), new BatchPutHttpResponseCallback());
-			} else {
-				httpClient.post(Api.PUT_DETAIL.getPath(), Json.writeValueAsString(points),
-						new BatchPutHttpResponseCallback(callBack, points));
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
+	static int estimateSize(Point point) {
+		int size = 64 + point.getMetric().length();
+		for (Map.Entry<String, String> tag : point.getTags().entrySet()) {
+			size += tag.getKey().length() + tag.getValue().length() + 6;
 		}
+		return size;
 	}
 
 }
\ No newline at end of file
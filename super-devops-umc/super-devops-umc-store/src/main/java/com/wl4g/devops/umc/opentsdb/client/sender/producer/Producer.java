@@ -32,12 +32,18 @@ public interface Producer {
 	 * 
 	 * @param point
 	 *            数据点
+	 * @return 缓冲池满等待超时而丢弃时返回false
 	 */
-	void send(Point point);
+	boolean send(Point point);
 
 	/***
 	 * 关闭写入
 	 */
 	void forbiddenSend();
 
+	/***
+	 * 缓冲池满而丢弃的数据点个数
+	 */
+	long getDroppedCount();
+
 }
\ No newline at end of file
@@ -16,7 +16,9 @@
 package com.wl4g.devops.umc.opentsdb.client.sender.producer;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,25 +40,52 @@ public class ProducerImpl implements Producer {
 
 	private final AtomicBoolean forbiddenWrite = new AtomicBoolean(false);
 
-	public ProducerImpl(BlockingQueue<Point> queue) {
+	/**
+	 * 缓冲池满时的最大等待时间，单位ms
+	 */
+	private final long offerTimeout;
+
+	/**
+	 * 缓冲池满而丢弃的数据点个数
+	 */
+	private final LongAdder droppedCount = new LongAdder();
+
+	public ProducerImpl(BlockingQueue<Point> queue, long offerTimeout) {
 		this.queue = queue;
+		this.offerTimeout = offerTimeout;
 		log.debug("the producer has started");
 	}
 
 	@Override
-	public void send(Point point) {
+	public boolean send(Point point) {
 		if (forbiddenWrite.get()) {
 			throw new IllegalStateException("client has been closed.");
 		}
 		try {
-			// 队列满时，put方法会被阻塞
-			queue.put(point);
+			// 队列满时最多等待offerTimeout，超时则丢弃，避免无限阻塞生产者
+			if (!queue.offer(point, offerTimeout, TimeUnit.MILLISECONDS)) {
+				droppedCount.increment();
+				// 避免日志泛滥，每丢弃1000个数据点打印一次
+				long dropped = droppedCount.sum();
+				if (dropped % 1000 == 1) {
+					log.warn("The put buffer is full, dropped points: {}", dropped);
+				}
+				return false;
+			}
+			return true;
 		} catch (InterruptedException e) {
+			droppedCount.increment();
 			log.error("Client Thread been Interrupted.", e);
-			e.printStackTrace();
+			Thread.currentThread().interrupt();
+			return false;
 		}
 	}
 
+	@Override
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
 	@Override
 	public void forbiddenSend() {
 		forbiddenWrite.compareAndSet(false, true);
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+/**
+ * Rollup aggregators, the {@link #MIN}/{@link #MAX}/{@link #SUM}/{@link #COUNT}
+ * are stored as the series of each tier(with tag {@link #TAG_AGG}), and the
+ * {@link #AVG} is computed by sum and count.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public enum RollupAggregator {
+
+	MIN("min") {
+		@Override
+		public double value(RollupBucket bucket) {
+			return bucket.getMin();
+		}
+
+		@Override
+		void combine(RollupBucket bucket, double stored) {
+			bucket.setMin(Math.min(bucket.getMin(), stored));
+		}
+	},
+
+	MAX("max") {
+		@Override
+		public double value(RollupBucket bucket) {
+			return bucket.getMax();
+		}
+
+		@Override
+		void combine(RollupBucket bucket, double stored) {
+			bucket.setMax(Math.max(bucket.getMax(), stored));
+		}
+	},
+
+	SUM("sum") {
+		@Override
+		public double value(RollupBucket bucket) {
+			return bucket.getSum();
+		}
+
+		@Override
+		void combine(RollupBucket bucket, double stored) {
+			bucket.setSum(bucket.getSum() + stored);
+		}
+	},
+
+	COUNT("count") {
+		@Override
+		public double value(RollupBucket bucket) {
+			return bucket.getCount();
+		}
+
+		@Override
+		void combine(RollupBucket bucket, double stored) {
+			bucket.setCount(bucket.getCount() + (long) stored);
+		}
+	},
+
+	AVG("avg") {
+		@Override
+		public double value(RollupBucket bucket) {
+			return bucket.getCount() == 0 ? Double.NaN : bucket.getSum() / bucket.getCount();
+		}
+
+		@Override
+		void combine(RollupBucket bucket, double stored) {
+			throw new UnsupportedOperationException("The avg is not stored, it's computed by sum and count.");
+		}
+	};
+
+	/** Tag key of the stored aggregator(reserved, the raw tag of same key is overwritten). */
+	final public static String TAG_AGG = "_agg";
+
+	/** Stored aggregators of each tier. */
+	final static RollupAggregator[] STORED = { MIN, MAX, SUM, COUNT };
+
+	final private String tagValue;
+
+	private RollupAggregator(String tagValue) {
+		this.tagValue = tagValue;
+	}
+
+	public String getTagValue() {
+		return tagValue;
+	}
+
+	/**
+	 * Aggregated value of bucket.
+	 *
+	 * @param bucket
+	 * @return
+	 */
+	public abstract double value(RollupBucket bucket);
+
+	/**
+	 * Combine the stored value of this aggregator into the(coarser) bucket.
+	 *
+	 * @param bucket
+	 * @param stored
+	 */
+	abstract void combine(RollupBucket bucket, double stored);
+
+	/**
+	 * Stored aggregators which required to compute this aggregator.
+	 *
+	 * @return
+	 */
+	RollupAggregator[] getDependencies() {
+		return this == AVG ? new RollupAggregator[] { SUM, COUNT } : new RollupAggregator[] { this };
+	}
+
+	public static RollupAggregator of(String tagValue) {
+		for (RollupAggregator agg : values()) {
+			if (agg.tagValue.equalsIgnoreCase(tagValue)) {
+				return agg;
+			}
+		}
+		throw new IllegalArgumentException("No such rollup aggregator of: " + tagValue);
+	}
+
+}
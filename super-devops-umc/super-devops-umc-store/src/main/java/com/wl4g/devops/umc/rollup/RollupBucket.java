@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+/**
+ * Aggregated statistics of the data points in a time bucket.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupBucket {
+
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double sum;
+	private long count;
+
+	/**
+	 * Add a raw data point.
+	 *
+	 * @param value
+	 */
+	public void add(double value) {
+		if (value < min) {
+			min = value;
+		}
+		if (value > max) {
+			max = value;
+		}
+		sum += value;
+		++count;
+	}
+
+	/**
+	 * Merge the finer bucket into this bucket.
+	 *
+	 * @param bucket
+	 */
+	public void merge(RollupBucket bucket) {
+		min = Math.min(min, bucket.min);
+		max = Math.max(max, bucket.max);
+		sum += bucket.sum;
+		count += bucket.count;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	void setMin(double min) {
+		this.min = min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	void setMax(double max) {
+		this.max = max;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	void setSum(double sum) {
+		this.sum = sum;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	void setCount(long count) {
+		this.count = count;
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "RollupBucket [min=" + min + ", max=" + max + ", sum=" + sum + ", count=" + count + "]";
+	}
+
+}
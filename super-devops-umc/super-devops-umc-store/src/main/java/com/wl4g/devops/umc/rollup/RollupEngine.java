@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+import com.wl4g.devops.umc.embedded.Series;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental rollup engine, the raw data points are accumulated into the
+ * open buckets of the finest tier at ingest, and the closed buckets are
+ * emitted and cascaded into the coarser tiers(e.g. 1m => 10m => 1h), so the raw
+ * points are never re-read.
+ *
+ * <pre>
+ * - Open:    the bucket of finest tier is opened by the first point in it
+ * - Closed:  after the bucket end time plus lateness, see {@link #flush(long, boolean)}
+ * - Late:    the points of closed buckets are dropped(not rolled up)
+ * - Evicted: the series without open buckets are removed from memory
+ * </pre>
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupEngine {
+
+	/** Tiers ordered by resolution. */
+	final private RollupTier[] tiers;
+
+	final private long latenessMs;
+
+	/** Rolling series by canonical key. */
+	final private ConcurrentMap<String, RollingSeries> series = new ConcurrentHashMap<>(1024);
+
+	/** Dropped late points count. */
+	final private AtomicLong droppedCount = new AtomicLong(0);
+
+	/**
+	 * The buckets of finest tier ended before it have been closed, the points
+	 * of them must not reopen the buckets.
+	 */
+	private volatile long closedDeadline = Long.MIN_VALUE;
+
+	public RollupEngine(List<RollupTier> tiers, long latenessMs) {
+		Assert.notEmpty(tiers, "Rollup tiers must not be empty");
+		Assert.isTrue(latenessMs >= 0, "Lateness must not be negative");
+		this.tiers = tiers.toArray(new RollupTier[tiers.size()]);
+		for (int i = 1; i < this.tiers.length; i++) {
+			Assert.isTrue(this.tiers[i].getResolutionMs() % this.tiers[i - 1].getResolutionMs() == 0,
+					"Tier resolution must be a multiple of the previous tier: " + this.tiers[i]);
+			Assert.isTrue(this.tiers[i].getResolutionMs() > this.tiers[i - 1].getResolutionMs(),
+					"Tiers must be ordered by resolution: " + this.tiers[i]);
+		}
+		this.latenessMs = latenessMs;
+	}
+
+	/**
+	 * Accumulate raw data point into the open bucket.
+	 *
+	 * @param metric
+	 * @param sortedTags
+	 *            It's copied only if the series is new, so the caller can
+	 *            reuse it.
+	 * @param timestamp
+	 * @param value
+	 * @param now
+	 * @return Returns false if the bucket has been closed(too late).
+	 */
+	public boolean accumulate(String metric, SortedMap<String, String> sortedTags, long timestamp, double value, long now) {
+		RollupTier tier = tiers[0];
+		long bucketStart = tier.floorBucket(timestamp);
+		long bucketEnd = bucketStart + tier.getResolutionMs();
+		if (bucketEnd <= now - latenessMs) {
+			droppedCount.incrementAndGet();
+			return false;
+		}
+
+		String key = Series.canonicalKey(metric, sortedTags);
+		for (;;) {
+			RollingSeries rolling = series.get(key);
+			if (rolling == null) {
+				RollingSeries created = new RollingSeries(metric, sortedTags, tiers.length);
+				rolling = series.putIfAbsent(key, created);
+				if (rolling == null) {
+					rolling = created;
+				}
+			}
+			synchronized (rolling) {
+				if (rolling.evicted) {
+					continue; // Evicted just now, retry.
+				}
+				if (bucketEnd <= closedDeadline) {
+					droppedCount.incrementAndGet(); // Closed just now.
+					return false;
+				}
+				rolling.buckets[0].computeIfAbsent(bucketStart, s -> new RollupBucket()).add(value);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Close the buckets which ended before now minus lateness, the closed
+	 * buckets are emitted tier by tier, and each is merged into the open
+	 * bucket of the next tier before the next tier is checked.
+	 *
+	 * @param now
+	 * @param all
+	 *            If true, all the open buckets are closed(e.g. on shutdown),
+	 *            note that the partial buckets are emitted.
+	 * @return Closed buckets.
+	 */
+	public List<ClosedBucket> flush(long now, boolean all) {
+		long deadline = all ? Long.MAX_VALUE : now - latenessMs;
+		closedDeadline = Math.max(closedDeadline, deadline);
+		List<ClosedBucket> closed = new ArrayList<>();
+		Iterator<Map.Entry<String, RollingSeries>> it = series.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, RollingSeries> entry = it.next();
+			RollingSeries rolling = entry.getValue();
+			synchronized (rolling) {
+				boolean empty = true;
+				for (int i = 0; i < tiers.length; i++) {
+					TreeMap<Long, RollupBucket> open = rolling.buckets[i];
+					while (!open.isEmpty()) {
+						Map.Entry<Long, RollupBucket> first = open.firstEntry();
+						if (first.getKey() + tiers[i].getResolutionMs() > deadline) {
+							break;
+						}
+						open.pollFirstEntry();
+						closed.add(new ClosedBucket(tiers[i], rolling.metric, rolling.tags, first.getKey(), first.getValue()));
+						if (i + 1 < tiers.length) {
+							long nextStart = tiers[i + 1].floorBucket(first.getKey());
+							rolling.buckets[i + 1].computeIfAbsent(nextStart, s -> new RollupBucket()).merge(first.getValue());
+						}
+					}
+					empty &= open.isEmpty();
+				}
+				if (empty) {
+					rolling.evicted = true;
+					it.remove();
+				}
+			}
+		}
+		return closed;
+	}
+
+	public List<RollupTier> getTiers() {
+		return Collections.unmodifiableList(Arrays.asList(tiers));
+	}
+
+	public int getSeriesCount() {
+		return series.size();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Rolling series, guarded by itself.
+	 */
+	private static class RollingSeries {
+		final private String metric;
+		final private SortedMap<String, String> tags;
+
+		/** Open buckets of each tier by start time. */
+		final private TreeMap<Long, RollupBucket>[] buckets;
+
+		/** Removed from the series map, must not be accumulated. */
+		private boolean evicted;
+
+		@SuppressWarnings("unchecked")
+		private RollingSeries(String metric, SortedMap<String, String> tags, int tiers) {
+			this.metric = metric;
+			this.tags = Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+			this.buckets = new TreeMap[tiers];
+			for (int i = 0; i < tiers; i++) {
+				this.buckets[i] = new TreeMap<>();
+			}
+		}
+	}
+
+	/**
+	 * Closed bucket of series.
+	 */
+	public static class ClosedBucket {
+		final private RollupTier tier;
+		final private String metric;
+		final private SortedMap<String, String> tags;
+		final private long start;
+		final private RollupBucket bucket;
+
+		ClosedBucket(RollupTier tier, String metric, SortedMap<String, String> tags, long start, RollupBucket bucket) {
+			this.tier = tier;
+			this.metric = metric;
+			this.tags = tags;
+			this.start = start;
+			this.bucket = bucket;
+		}
+
+		public RollupTier getTier() {
+			return tier;
+		}
+
+		public String getMetric() {
+			return metric;
+		}
+
+		public SortedMap<String, String> getTags() {
+			return tags;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public RollupBucket getBucket() {
+			return bucket;
+		}
+
+		@Override
+		public String toString() {
+			return tier.getName() + ":" + metric + tags + "@" + start + bucket;
+		}
+	}
+
+}
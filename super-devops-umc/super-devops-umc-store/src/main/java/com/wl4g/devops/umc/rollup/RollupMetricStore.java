@@ -0,0 +1,355 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+import static com.wl4g.devops.umc.rollup.RollupAggregator.TAG_AGG;
+
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
+import com.wl4g.devops.common.bean.umc.model.codec.MetricView;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel;
+import com.wl4g.devops.umc.config.StoreProperties.EmbeddedProperties;
+import com.wl4g.devops.umc.config.StoreProperties.RollupProperties;
+import com.wl4g.devops.umc.config.StoreProperties.TierProperties;
+import com.wl4g.devops.umc.embedded.EmbeddedMetricStore;
+import com.wl4g.devops.umc.embedded.SeriesPoints;
+import com.wl4g.devops.umc.rollup.RollupEngine.ClosedBucket;
+import com.wl4g.devops.umc.store.MetricStore;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metric store with downsampling rollup tiers, the raw data points are saved
+ * to the delegate store(e.g. {@link com.wl4g.devops.umc.opentsdb.TsdbMetricStore}),
+ * and also rolled up incrementally at ingest, see {@link RollupEngine}.
+ *
+ * <pre>
+ * - Tiers:    min/max/sum/count of each bucket(e.g. 1m/10m/1h), with the retention per tier
+ * - Storage:  each tier is an {@link EmbeddedMetricStore}, the aggregators are the series
+ *             with tag {@link RollupAggregator#TAG_AGG}, e.g. cpu.usage{host=..,_agg=max}
+ * - Query:    the coarsest tier which satisfies the step, see {@link RollupQueryPlanner}
+ *             (the raw points are only planned if the delegate is {@link EmbeddedMetricStore})
+ * </pre>
+ *
+ * The data points are rolled up only after the delegate saved them, so the
+ * batches failed(and redelivered) are not rolled up twice.
+ *
+ * Note: the buckets are visible to query after they are closed(end time plus
+ * lateness), the open buckets are only in memory, they will be written on
+ * {@link #destroy()}(partially), but may be lost on crash.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupMetricStore implements MetricStore, DisposableBean {
+
+	final private Logger log = LoggerFactory.getLogger(getClass());
+
+	/** Raw data points store. */
+	final private MetricStore delegate;
+
+	final private RollupProperties config;
+
+	final private RollupEngine engine;
+
+	final private RollupQueryPlanner planner;
+
+	/** Stores of tiers. */
+	final private Map<RollupTier, EmbeddedMetricStore> tierStores = new LinkedHashMap<>();
+
+	/** Flush scheduler. */
+	final private ScheduledExecutorService scheduler;
+
+	/** Dropped buckets count(rejected by tier stores). */
+	final private AtomicLong droppedCount = new AtomicLong(0);
+
+	public RollupMetricStore(MetricStore delegate, RollupProperties config) throws IOException {
+		Assert.notNull(delegate, "Delegate metric store must not be null");
+		Assert.notNull(config, "RollupProperties must not be null");
+		Assert.notEmpty(config.getTiers(), "Rollup tiers must not be empty");
+		Assert.isTrue(config.getFlushIntervalMs() > 0, "Flush interval must be greater than 0");
+		this.delegate = delegate;
+		this.config = config;
+
+		List<TierProperties> tierProps = new ArrayList<>(config.getTiers());
+		tierProps.sort(Comparator.comparingLong(TierProperties::getResolutionMs));
+		List<RollupTier> tiers = new ArrayList<>(tierProps.size());
+		for (TierProperties props : tierProps) {
+			RollupTier tier = new RollupTier(props.getName(), props.getResolutionMs(), props.getRetentionMs());
+			tiers.add(tier);
+			tierStores.put(tier, new EmbeddedMetricStore(newTierConfig(tier)));
+		}
+		this.engine = new RollupEngine(tiers, config.getLatenessMs());
+		this.planner = new RollupQueryPlanner(tiers, config.getRawRetentionMs(), delegate instanceof EmbeddedMetricStore);
+
+		this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "rollupMetricStoreFlusher");
+			t.setDaemon(true);
+			return t;
+		});
+		this.scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				flush(false);
+			} catch (Throwable e) {
+				log.error("Failed to flush rollup buckets.", e);
+			}
+		}, config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+		log.info("Initialized rollup metric store of tiers: {}, delegate: {}", tiers, delegate.getClass().getSimpleName());
+	}
+
+	@Override
+	public boolean save(MetricModel.MetricAggregate aggregate) {
+		if (!delegate.save(aggregate)) {
+			return false;
+		}
+		rollup(aggregate, new TreeMap<>(), System.currentTimeMillis());
+		return true;
+	}
+
+	@Override
+	public boolean batchSave(List<MetricModel.MetricAggregate> aggregates) {
+		if (!delegate.batchSave(aggregates)) {
+			return false;
+		}
+		TreeMap<String, String> tags = new TreeMap<>();
+		long now = System.currentTimeMillis();
+		for (MetricModel.MetricAggregate aggregate : aggregates) {
+			rollup(aggregate, tags, now);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean save(MetricAggregateView view) {
+		if (!delegate.save(view)) {
+			return false;
+		}
+		rollup(view, new TreeMap<>(), System.currentTimeMillis());
+		return true;
+	}
+
+	@Override
+	public boolean batchSaveView(List<MetricAggregateView> views) {
+		if (!delegate.batchSaveView(views)) {
+			return false;
+		}
+		TreeMap<String, String> tags = new TreeMap<>();
+		long now = System.currentTimeMillis();
+		for (MetricAggregateView view : views) {
+			rollup(view, tags, now);
+		}
+		return true;
+	}
+
+	/**
+	 * Query the data points of series which matched metric and all filter
+	 * tags, aggregated by step(aligned to epoch), the tier is planned by
+	 * {@link RollupQueryPlanner}.
+	 *
+	 * @param metric
+	 * @param tags
+	 *            Filter tags, nullable.
+	 * @param startTime
+	 *            inclusive
+	 * @param endTime
+	 *            inclusive
+	 * @param stepMs
+	 *            Step(ms) of the result points.
+	 * @param aggregator
+	 * @return
+	 */
+	public List<SeriesPoints> query(String metric, Map<String, String> tags, long startTime, long endTime, long stepMs,
+			RollupAggregator aggregator) {
+		Assert.notNull(aggregator, "Rollup aggregator must not be null");
+		RollupTier tier = planner.plan(startTime, endTime, stepMs, System.currentTimeMillis());
+		if (log.isDebugEnabled()) {
+			log.debug("Planned tier: {} of query metric: {}, step: {}", tier, metric, stepMs);
+		}
+
+		// Step buckets of series.
+		Map<Map<String, String>, TreeMap<Long, RollupBucket>> seriesSteps = new LinkedHashMap<>();
+		if (tier == null) {
+			// Only planned if the delegate is embedded store.
+			for (SeriesPoints points : ((EmbeddedMetricStore) delegate).query(metric, tags, startTime, endTime)) {
+				TreeMap<Long, RollupBucket> steps = seriesSteps.computeIfAbsent(points.getTags(), k -> new TreeMap<>());
+				for (int i = 0; i < points.size(); i++) {
+					steps.computeIfAbsent(floorStep(points.getTimestamp(i), stepMs), s -> new RollupBucket())
+							.add(points.getValue(i));
+				}
+			}
+		} else {
+			EmbeddedMetricStore store = tierStores.get(tier);
+			Map<String, String> filters = tags == null ? new HashMap<>(4) : new HashMap<>(tags);
+			for (RollupAggregator stored : aggregator.getDependencies()) {
+				filters.put(TAG_AGG, stored.getTagValue());
+				for (SeriesPoints points : store.query(metric, filters, tier.floorBucket(startTime), endTime)) {
+					Map<String, String> seriesTags = new LinkedHashMap<>(points.getTags());
+					seriesTags.remove(TAG_AGG);
+					TreeMap<Long, RollupBucket> steps = seriesSteps.computeIfAbsent(Collections.unmodifiableMap(seriesTags),
+							k -> new TreeMap<>());
+					for (int i = 0; i < points.size(); i++) {
+						stored.combine(steps.computeIfAbsent(floorStep(points.getTimestamp(i), stepMs), s -> new RollupBucket()),
+								points.getValue(i));
+					}
+				}
+			}
+		}
+
+		List<SeriesPoints> result = new ArrayList<>(seriesSteps.size());
+		for (Map.Entry<Map<String, String>, TreeMap<Long, RollupBucket>> entry : seriesSteps.entrySet()) {
+			SeriesPoints points = new SeriesPoints(metric, entry.getKey());
+			for (Map.Entry<Long, RollupBucket> step : entry.getValue().entrySet()) {
+				points.add(step.getKey(), aggregator.value(step.getValue()));
+			}
+			result.add(points);
+		}
+		return result;
+	}
+
+	/**
+	 * Close the buckets and write them to the tier stores.
+	 *
+	 * @param all
+	 *            If true, all the open buckets are closed(e.g. on shutdown),
+	 *            otherwise only the buckets which ended before now minus
+	 *            lateness.
+	 */
+	public void flush(boolean all) {
+		List<ClosedBucket> closed = engine.flush(System.currentTimeMillis(), all);
+		TreeMap<String, String> tags = new TreeMap<>();
+		for (ClosedBucket bucket : closed) {
+			EmbeddedMetricStore store = tierStores.get(bucket.getTier());
+			tags.clear();
+			tags.putAll(bucket.getTags());
+			for (RollupAggregator stored : RollupAggregator.STORED) {
+				tags.put(TAG_AGG, stored.getTagValue());
+				if (!store.save(bucket.getMetric(), tags, bucket.getStart(), stored.value(bucket.getBucket()))) {
+					droppedCount.incrementAndGet();
+				}
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Flushed rollup buckets: {}, rolling series: {}", closed.size(), engine.getSeriesCount());
+		}
+	}
+
+	public MetricStore getDelegate() {
+		return delegate;
+	}
+
+	public RollupQueryPlanner getPlanner() {
+		return planner;
+	}
+
+	public List<RollupTier> getTiers() {
+		return engine.getTiers();
+	}
+
+	/**
+	 * Dropped count of the late raw points and the buckets rejected by tier
+	 * stores.
+	 *
+	 * @return
+	 */
+	public long getDroppedCount() {
+		return engine.getDroppedCount() + droppedCount.get();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		scheduler.shutdown();
+		scheduler.awaitTermination(30, TimeUnit.SECONDS);
+		try {
+			flush(true);
+		} finally {
+			// The delegate is destroyed by its owner.
+			for (EmbeddedMetricStore store : tierStores.values()) {
+				store.destroy();
+			}
+		}
+	}
+
+	private void rollup(MetricModel.MetricAggregate aggregate, TreeMap<String, String> tags, long now) {
+		for (MetricModel.Metric metric : aggregate.getMetricsList()) {
+			if (StringUtils.isBlank(metric.getMetric())) {
+				continue;
+			}
+			tags.clear();
+			tags.putAll(metric.getTagsMap());
+			tags.put("host", aggregate.getHost());
+			tags.put("endpoint", aggregate.getEndpoint());
+			engine.accumulate(metric.getMetric(), tags, aggregate.getTimestamp(), metric.getValue(), now);
+		}
+	}
+
+	private void rollup(MetricAggregateView view, TreeMap<String, String> tags, long now) {
+		for (int i = 0, size = view.size(); i < size; i++) {
+			MetricView metric = view.get(i);
+			if (StringUtils.isBlank(metric.getMetric())) {
+				continue;
+			}
+			tags.clear();
+			for (int j = 0, n = metric.getTagSize(); j < n; j++) {
+				tags.put(metric.getTagKey(j), metric.getTagValue(j));
+			}
+			tags.put("host", view.getHost());
+			tags.put("endpoint", view.getEndpoint());
+			engine.accumulate(metric.getMetric(), tags, view.getTimestamp(), metric.getValue(), now);
+		}
+	}
+
+	/**
+	 * Embedded store config of tier, the buckets are written after the end
+	 * time plus lateness(and the flush delay), so the tier partitions must
+	 * allow it.
+	 *
+	 * @param tier
+	 * @return
+	 */
+	private EmbeddedProperties newTierConfig(RollupTier tier) {
+		EmbeddedProperties props = new EmbeddedProperties();
+		props.setEnabled(true);
+		props.setDataDir(new File(config.getDataDir(), tier.getName()).getAbsolutePath());
+		props.setPartitionMs(tier.getResolutionMs() * 240);
+		props.setLatenessMs(config.getLatenessMs() + 2 * config.getFlushIntervalMs());
+		props.setFlushIntervalMs(Math.max(config.getFlushIntervalMs(), 60 * 1000L));
+		props.setRetentionMs(tier.getRetentionMs());
+		return props;
+	}
+
+	private static long floorStep(long timestamp, long stepMs) {
+		return Math.floorDiv(timestamp, stepMs) * stepMs;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query planner of the rollup tiers, it picks the coarsest tier which
+ * satisfies the requested step, so the long range queries read a few buckets
+ * instead of all the raw points.
+ *
+ * <pre>
+ * 1. The coarsest tier whose resolution &lt;= step and retention covers the start time.
+ * 2. Otherwise the raw points, if the raw retention covers the start time(e.g. step &lt; finest resolution).
+ * 3. Otherwise the tier of the longest retention(the earliest part of range is absent).
+ * </pre>
+ *
+ * If the raw points are not queryable(e.g. the delegate is OpenTSDB), the
+ * finest tier whose retention covers the start time is planned instead of the
+ * raw points(coarser than the requested step), and the raw points are never
+ * planned.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupQueryPlanner {
+
+	/** Tiers ordered by resolution. */
+	final private List<RollupTier> tiers;
+
+	/** Retention(ms) of the raw data points. */
+	final private long rawRetentionMs;
+
+	/** Whether the raw data points can be queried. */
+	final private boolean rawQueryable;
+
+	public RollupQueryPlanner(List<RollupTier> tiers, long rawRetentionMs) {
+		this(tiers, rawRetentionMs, true);
+	}
+
+	public RollupQueryPlanner(List<RollupTier> tiers, long rawRetentionMs, boolean rawQueryable) {
+		Assert.notNull(tiers, "Rollup tiers must not be null");
+		Assert.isTrue(rawRetentionMs > 0, "Raw retention must be greater than 0");
+		Assert.isTrue(rawQueryable || !tiers.isEmpty(), "Rollup tiers must not be empty if raw points are not queryable");
+		this.tiers = new ArrayList<>(tiers);
+		this.rawRetentionMs = rawRetentionMs;
+		this.rawQueryable = rawQueryable;
+	}
+
+	public boolean isRawQueryable() {
+		return rawQueryable;
+	}
+
+	/**
+	 * Plan the tier of query.
+	 *
+	 * @param startTime
+	 * @param endTime
+	 * @param stepMs
+	 *            Requested step(ms) of the result points.
+	 * @param now
+	 * @return Returns null if the raw data points should be queried(never if
+	 *         not raw queryable).
+	 */
+	public RollupTier plan(long startTime, long endTime, long stepMs, long now) {
+		Assert.isTrue(startTime <= endTime, "Start time must not be after end time");
+		Assert.isTrue(stepMs > 0, "Step must be greater than 0");
+		for (int i = tiers.size() - 1; i >= 0; i--) {
+			RollupTier tier = tiers.get(i);
+			if (tier.getResolutionMs() <= stepMs && startTime >= now - tier.getRetentionMs()) {
+				return tier;
+			}
+		}
+		if (!rawQueryable) {
+			for (RollupTier tier : tiers) {
+				if (startTime >= now - tier.getRetentionMs()) {
+					return tier;
+				}
+			}
+		} else if (startTime >= now - rawRetentionMs) {
+			return null;
+		}
+		RollupTier longest = null;
+		for (RollupTier tier : tiers) {
+			if (longest == null || tier.getRetentionMs() > longest.getRetentionMs()) {
+				longest = tier;
+			}
+		}
+		return longest != null && (!rawQueryable || longest.getRetentionMs() > rawRetentionMs) ? longest : null;
+	}
+
+}
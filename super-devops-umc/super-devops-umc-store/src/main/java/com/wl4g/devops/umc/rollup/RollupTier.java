@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+import org.springframework.util.Assert;
+
+/**
+ * Rollup tier, the buckets of resolution are kept within retention.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupTier {
+
+	final private String name;
+	final private long resolutionMs;
+	final private long retentionMs;
+
+	public RollupTier(String name, long resolutionMs, long retentionMs) {
+		Assert.hasText(name, "Tier name must not be empty");
+		Assert.isTrue(resolutionMs > 0, "Tier resolution must be greater than 0");
+		Assert.isTrue(retentionMs >= resolutionMs, "Tier retention must not be less than resolution");
+		this.name = name;
+		this.resolutionMs = resolutionMs;
+		this.retentionMs = retentionMs;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getResolutionMs() {
+		return resolutionMs;
+	}
+
+	public long getRetentionMs() {
+		return retentionMs;
+	}
+
+	/**
+	 * Start time of the bucket which contains timestamp.
+	 *
+	 * @param timestamp
+	 * @return
+	 */
+	public long floorBucket(long timestamp) {
+		return Math.floorDiv(timestamp, resolutionMs) * resolutionMs;
+	}
+
+	@Override
+	public String toString() {
+		return "RollupTier [name=" + name + ", resolutionMs=" + resolutionMs + ", retentionMs=" + retentionMs + "]";
+	}
+
+}
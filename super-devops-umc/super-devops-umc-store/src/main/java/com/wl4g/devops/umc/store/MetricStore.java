@@ -15,8 +15,11 @@
  */
 package com.wl4g.devops.umc.store;
 
+import com.wl4g.devops.common.bean.umc.model.codec.MetricAggregateView;
 import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
 
+import java.util.List;
+
 /**
  * UMC metric store
  * 
@@ -28,4 +31,45 @@ public interface MetricStore {
 
 	boolean save(MetricAggregate aggregate);
 
+	/**
+	 * Batch save metric aggregates, the default implementation saves one by
+	 * one. Implementations should override it when the underlying store
+	 * supports batch writes.
+	 * 
+	 * @param aggregates
+	 * @return Returns true only if all aggregates have been saved.
+	 */
+	default boolean batchSave(List<MetricAggregate> aggregates) {
+		boolean success = true;
+		for (MetricAggregate aggregate : aggregates) {
+			success &= save(aggregate);
+		}
+		return success;
+	}
+
+	/**
+	 * Save the flyweight metric aggregate view, the default implementation
+	 * materializes it to {@link MetricAggregate}.
+	 * 
+	 * @param view
+	 * @return
+	 */
+	default boolean save(MetricAggregateView view) {
+		return save(view.toAggregate());
+	}
+
+	/**
+	 * Batch save the flyweight metric aggregate views.
+	 * 
+	 * @param views
+	 * @return Returns true only if all aggregates have been saved.
+	 */
+	default boolean batchSaveView(List<MetricAggregateView> views) {
+		boolean success = true;
+		for (MetricAggregateView view : views) {
+			success &= save(view);
+		}
+		return success;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.embedded;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.config.StoreProperties.EmbeddedProperties;
+import com.wl4g.devops.umc.embedded.codec.GorillaDecoder;
+import com.wl4g.devops.umc.embedded.codec.GorillaEncoder;
+
+/**
+ * {@link EmbeddedMetricStore} tests, compression and ingest/query throughput
+ * benchmark.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月5日
+ * @since
+ */
+public class EmbeddedMetricStoreTests {
+
+	public static void main(String[] args) throws Exception {
+		gorillaRoundTripTest1();
+		compressionBenchmarkTest2(100_000);
+		storeRoundTripTest3();
+		ingestQueryBenchmarkTest4(64, 50_000);
+		lateDropTest5();
+	}
+
+	/**
+	 * Encoded points must be decoded as is, including the boundaries of
+	 * delta-of-delta ranges and special double values.
+	 */
+	private static void gorillaRoundTripTest1() {
+		long[] dods = { 0, 1, -1, 64, -63, 65, -64, 256, -255, 257, 2048, -2047, 2049, -2048, 1L << 40, -(1L << 40) };
+		double[] values = { 0d, -0d, 1.5d, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE, Double.NEGATIVE_INFINITY, 1e-300 };
+		GorillaEncoder encoder = new GorillaEncoder();
+		long[] expectTimestamps = new long[dods.length + 2];
+		double[] expectValues = new double[dods.length + 2];
+		long timestamp = 1583366400000L, delta = 0;
+		for (int i = 0; i < expectTimestamps.length; i++) {
+			if (i > 1) {
+				delta += dods[i - 2];
+			} else if (i == 1) {
+				delta = 10_000;
+			}
+			timestamp += delta;
+			expectTimestamps[i] = timestamp;
+			expectValues[i] = values[i % values.length];
+			encoder.append(timestamp, expectValues[i]);
+		}
+
+		GorillaDecoder decoder = new GorillaDecoder(encoder.toByteArray(), encoder.count());
+		for (int i = 0; i < expectTimestamps.length; i++) {
+			if (!decoder.next() || decoder.getTimestamp() != expectTimestamps[i]
+					|| Double.doubleToRawLongBits(decoder.getValue()) != Double.doubleToRawLongBits(expectValues[i])) {
+				throw new IllegalStateException("Mismatched point at " + i);
+			}
+		}
+		if (decoder.next()) {
+			throw new IllegalStateException("Unexpected more points.");
+		}
+		System.out.println("Gorilla round trip test passed, points: " + expectTimestamps.length);
+	}
+
+	private static void compressionBenchmarkTest2(int points) {
+		Random random = new Random(1);
+		GorillaEncoder encoder = new GorillaEncoder();
+		long timestamp = 1583366400000L;
+		double value = 50d;
+		long begin = System.nanoTime();
+		for (int i = 0; i < points; i++) {
+			// Collected every 10s with jitter, gauge like values.
+			timestamp += 10_000 + random.nextInt(20) - 10;
+			value = i % 10 == 0 ? Math.round(value + random.nextGaussian()) : value;
+			encoder.append(timestamp, value);
+		}
+		long encodeCost = System.nanoTime() - begin;
+
+		begin = System.nanoTime();
+		GorillaDecoder decoder = new GorillaDecoder(encoder.toByteArray(), encoder.count());
+		double blackhole = 0;
+		while (decoder.next()) {
+			blackhole += decoder.getValue() + decoder.getTimestamp();
+		}
+		long decodeCost = System.nanoTime() - begin;
+
+		System.out.println(String.format(
+				"Compression benchmark - points: %s, bytes/point: %.2f (raw 16), encode: %.1fns/point, decode: %.1fns/point, (%s)",
+				points, (double) encoder.byteSize() / points, (double) encodeCost / points, (double) decodeCost / points,
+				blackhole));
+	}
+
+	/**
+	 * The points must be queryable from the in-memory partitions, and from
+	 * segments after flushed and reopened.
+	 */
+	private static void storeRoundTripTest3() throws Exception {
+		File dataDir = Files.createTempDirectory("umc-embedded").toFile();
+		EmbeddedProperties config = newConfig(dataDir);
+		long now = System.currentTimeMillis();
+
+		EmbeddedMetricStore store = new EmbeddedMetricStore(config);
+		for (int i = 0; i < 100; i++) {
+			store.save(newAggregate(now - (100 - i) * 1000L, 4, i));
+		}
+		assertPoints(store.query("test.metric1", Collections.singletonMap("role", "master"), now - 200_000, now), 100);
+		store.destroy();
+
+		store = new EmbeddedMetricStore(config);
+		assertPoints(store.query("test.metric1", Collections.singletonMap("role", "master"), now - 200_000, now), 100);
+		assertPoints(store.query("test.metric1", null, now - 50_000, now), 50);
+		store.destroy();
+		System.out.println("Store round trip test passed, dataDir: " + dataDir);
+	}
+
+	private static void ingestQueryBenchmarkTest4(int metrics, int aggregates) throws Exception {
+		File dataDir = Files.createTempDirectory("umc-embedded").toFile();
+		EmbeddedMetricStore store = new EmbeddedMetricStore(newConfig(dataDir));
+		long now = System.currentTimeMillis();
+		MetricAggregate[] data = new MetricAggregate[aggregates];
+		for (int i = 0; i < aggregates; i++) {
+			data[i] = newAggregate(now - (aggregates - i) * 10L, metrics, i);
+		}
+
+		long begin = System.nanoTime();
+		for (MetricAggregate aggregate : data) {
+			store.save(aggregate);
+		}
+		long ingestCost = System.nanoTime() - begin;
+		store.flush(true);
+
+		begin = System.nanoTime();
+		int queries = 1000, points = 0;
+		for (int i = 0; i < queries; i++) {
+			for (SeriesPoints series : store.query("test.metric" + (i % metrics), null, now - aggregates * 10L, now)) {
+				points += series.size();
+			}
+		}
+		long queryCost = System.nanoTime() - begin;
+		store.destroy();
+
+		long total = (long) metrics * aggregates;
+		System.out.println(String.format(
+				"Ingest/query benchmark - series: %s, ingest: %.0f points/s, query: %.0f points/s, segment bytes/point: %.2f",
+				store.getSeriesCount(), total / (ingestCost / 1e9), points / (queryCost / 1e9), (double) dirSize(dataDir) / total));
+	}
+
+	/**
+	 * The late aggregates are dropped and counted, but not failed, otherwise
+	 * the receiver would retry them forever.
+	 */
+	private static void lateDropTest5() throws Exception {
+		File dataDir = Files.createTempDirectory("umc-embedded").toFile();
+		EmbeddedMetricStore store = new EmbeddedMetricStore(newConfig(dataDir));
+		long now = System.currentTimeMillis();
+		try {
+			MetricAggregate late = newAggregate(now - 24 * 60 * 60 * 1000L, 4, 0);
+			MetricAggregate onTime = newAggregate(now, 4, 1);
+			if (!store.batchSave(Arrays.asList(late, onTime))) {
+				throw new IllegalStateException("Late aggregate must not fail the batch.");
+			}
+			if (store.getDroppedCount() != 1) {
+				throw new IllegalStateException("Expected dropped: 1, but was: " + store.getDroppedCount());
+			}
+			assertPoints(store.query("test.metric1", null, now - 60_000, now), 1);
+		} finally {
+			store.destroy();
+		}
+		System.out.println("Late drop test passed, dropped: " + store.getDroppedCount());
+	}
+
+	private static EmbeddedProperties newConfig(File dataDir) {
+		EmbeddedProperties config = new EmbeddedProperties();
+		config.setDataDir(dataDir.getAbsolutePath());
+		config.setPartitionMs(60 * 60 * 1000L);
+		config.setFlushIntervalMs(60 * 60 * 1000L);
+		return config;
+	}
+
+	private static void assertPoints(List<SeriesPoints> result, int expected) {
+		if (result.isEmpty()) {
+			throw new IllegalStateException("No series queried.");
+		}
+		for (SeriesPoints series : result) {
+			if (series.size() != expected) {
+				throw new IllegalStateException("Expected points: " + expected + ", but was: " + series);
+			}
+			for (int i = 1; i < series.size(); i++) {
+				if (series.getTimestamp(i - 1) >= series.getTimestamp(i)) {
+					throw new IllegalStateException("Unsorted points of " + series);
+				}
+			}
+		}
+	}
+
+	private static MetricAggregate newAggregate(long timestamp, int metrics, int seq) {
+		MetricAggregate.Builder builder = MetricAggregate.newBuilder().setClassify("redis").setHost("10.0.0.160")
+				.setEndpoint("6379").setNamespace("default").setTimestamp(timestamp);
+		for (int i = 0; i < metrics; i++) {
+			builder.addMetrics(Metric.newBuilder().setMetric("test.metric" + i).putTags("role", "master")
+					.setValue(seq % 16 + i * 0.5d).build());
+		}
+		return builder.build();
+	}
+
+	private static long dirSize(File dir) {
+		long size = 0;
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				size += file.length();
+			}
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.opentsdb.client;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.wl4g.devops.umc.opentsdb.client.bean.request.Point;
+import com.wl4g.devops.umc.opentsdb.client.sender.SenderStats;
+
+/**
+ * {@link OpenTSDBClient} batch put failure paths tests, against a local stub
+ * HTTP server.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月6日
+ * @since
+ */
+public class OpenTSDBClientTests {
+
+	public static void main(String[] args) throws Exception {
+		retryOnServerErrorTest1();
+		rejectedNotRetriedTest2();
+		spillAndReplayTest3();
+	}
+
+	/**
+	 * The batches failed by 503 must be retried until succeed, no point lost.
+	 */
+	private static void retryOnServerErrorTest1() throws Exception {
+		StubServer server = new StubServer(n -> n <= 2 ? 503 : 204);
+		OpenTSDBClient client = new OpenTSDBClient(newConfig(server, null, 5).config());
+		putPoints(client, 1000);
+		client.gracefulClose();
+		SenderStats stats = client.getStats();
+		server.stop();
+
+		if (server.receivedPoints.get() != 1000 || stats.getRetries() < 1 || stats.getDroppedPoints() != 0) {
+			throw new IllegalStateException("Unexpected received: " + server.receivedPoints + ", " + stats);
+		}
+		System.out.println("Retry on server error test passed, " + stats);
+	}
+
+	/**
+	 * The batches rejected by 400 must not be retried.
+	 */
+	private static void rejectedNotRetriedTest2() throws Exception {
+		StubServer server = new StubServer(n -> 400);
+		OpenTSDBClient client = new OpenTSDBClient(newConfig(server, null, 5).config());
+		putPoints(client, 10);
+		client.gracefulClose();
+		SenderStats stats = client.getStats();
+		server.stop();
+
+		if (stats.getRetries() != 0 || stats.getRejectedBatches() != server.requests.get()) {
+			throw new IllegalStateException("Unexpected requests: " + server.requests + ", " + stats);
+		}
+		System.out.println("Rejected not retried test passed, " + stats);
+	}
+
+	/**
+	 * The batches must be spilled to disk after retries exhausted, and
+	 * replayed once the server recovered(even after restart).
+	 */
+	private static void spillAndReplayTest3() throws Exception {
+		File spillDir = Files.createTempDirectory("opentsdb-spill").toFile();
+		StubServer server = new StubServer(n -> 503);
+		OpenTSDBClient client = new OpenTSDBClient(newConfig(server, spillDir, 2).config());
+		putPoints(client, 500);
+		client.gracefulClose();
+		SenderStats stats = client.getStats();
+		server.stop();
+		if (stats.getSpilledBatches() < 1 || stats.getSpillQueueSize() < 1 || stats.getDroppedPoints() != 0) {
+			throw new IllegalStateException("Unexpected spill, " + stats);
+		}
+		System.out.println("Spilled, " + stats);
+
+		// Recovered.
+		server = new StubServer(n -> 204);
+		client = new OpenTSDBClient(newConfig(server, spillDir, 2).config());
+		putPoints(client, 1);
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (client.getStats().getSpillQueueSize() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+		client.gracefulClose();
+		stats = client.getStats();
+		server.stop();
+		if (server.receivedPoints.get() != 501 || stats.getSpillQueueSize() != 0) {
+			throw new IllegalStateException("Unexpected received: " + server.receivedPoints + ", " + stats);
+		}
+		System.out.println("Spill and replay test passed, " + stats);
+	}
+
+	private static OpenTSDBConfig.Builder newConfig(StubServer server, File spillDir, int attempts) {
+		OpenTSDBConfig.Builder builder = OpenTSDBConfig.address("http://127.0.0.1", server.port()).httpConnectTimeout(5)
+				.batchPutSize(100).batchPutTimeLimit(50).retryMaxAttempts(attempts).retryBackoff(10, 200);
+		if (spillDir != null) {
+			builder.spill(spillDir.getAbsolutePath(), 64 * 1024 * 1024L);
+		}
+		return builder;
+	}
+
+	private static void putPoints(OpenTSDBClient client, int count) {
+		long timestamp = System.currentTimeMillis();
+		for (int i = 0; i < count; i++) {
+			client.put(Point.metric("test.metric" + (i % 10)).tag("host", "node" + (i % 3)).value(timestamp + i, i).build());
+		}
+	}
+
+	/**
+	 * Stub OpenTSDB server, responds the status by request sequence, and
+	 * counts the points of successful requests.
+	 */
+	private static class StubServer {
+
+		final private ObjectMapper mapper = new ObjectMapper();
+		final private HttpServer server;
+		final private AtomicInteger requests = new AtomicInteger(0);
+		final private AtomicInteger receivedPoints = new AtomicInteger(0);
+
+		StubServer(IntUnaryOperator statusOfRequest) throws Exception {
+			this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+			this.server.createContext("/api/put", exchange -> {
+				int status = statusOfRequest.applyAsInt(requests.incrementAndGet());
+				try (InputStream in = "gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+						? new GZIPInputStream(exchange.getRequestBody())
+						: exchange.getRequestBody()) {
+					JsonNode points = mapper.readTree(in);
+					if (status >= 200 && status < 300) {
+						receivedPoints.addAndGet(points.size());
+					}
+				}
+				exchange.sendResponseHeaders(status, -1);
+				exchange.close();
+			});
+			this.server.start();
+		}
+
+		int port() {
+			return server.getAddress().getPort();
+		}
+
+		void stop() {
+			server.stop(0);
+		}
+
+	}
+
+}
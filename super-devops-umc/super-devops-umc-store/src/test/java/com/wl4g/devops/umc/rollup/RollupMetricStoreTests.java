@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.rollup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.config.StoreProperties.EmbeddedProperties;
+import com.wl4g.devops.umc.config.StoreProperties.RollupProperties;
+import com.wl4g.devops.umc.embedded.EmbeddedMetricStore;
+import com.wl4g.devops.umc.embedded.SeriesPoints;
+import com.wl4g.devops.umc.rollup.RollupEngine.ClosedBucket;
+import com.wl4g.devops.umc.store.MetricStore;
+
+/**
+ * {@link RollupMetricStore} tests, cascading/planning/query consistency and
+ * ingest overhead benchmark.
+ *
+ * @author Wangl.sir <wanglsir@gmail.com, 983708408@qq.com>
+ * @version v1.0 2020年3月12日
+ * @since
+ */
+public class RollupMetricStoreTests {
+
+	final private static long MINUTE = 60 * 1000L;
+	final private static long HOUR = 60 * MINUTE;
+	final private static long DAY = 24 * HOUR;
+
+	final private static List<RollupTier> TIERS = Arrays.asList(new RollupTier("1m", MINUTE, 7 * DAY),
+			new RollupTier("10m", 10 * MINUTE, 30 * DAY), new RollupTier("1h", HOUR, 365 * DAY));
+
+	public static void main(String[] args) throws Exception {
+		engineCascadeTest1();
+		queryPlannerTest2();
+		storeQueryTest3();
+		ingestBenchmarkTest4(1000, 1000);
+		delegateTest5();
+	}
+
+	/**
+	 * The closed buckets must be cascaded into the coarser tiers, and the late
+	 * points must not reopen the closed buckets.
+	 */
+	private static void engineCascadeTest1() {
+		RollupEngine engine = new RollupEngine(TIERS, 0L);
+		long base = 1583366400000L; // Aligned to hour.
+		TreeMap<String, String> tags = new TreeMap<>(Collections.singletonMap("host", "10.0.0.160"));
+		for (int i = 0; i < 720; i++) { // 2h, every 10s
+			engine.accumulate("test.metric", tags, base + i * 10_000L, i, base);
+		}
+		int[] counts = new int[TIERS.size()];
+		RollupBucket lastHour = null;
+		for (ClosedBucket closed : engine.flush(base + 3 * HOUR, false)) {
+			counts[TIERS.indexOf(closed.getTier())]++;
+			if (closed.getTier() == TIERS.get(2) && closed.getStart() == base + HOUR) {
+				lastHour = closed.getBucket();
+			}
+		}
+		assertTrue(Arrays.equals(counts, new int[] { 120, 12, 2 }), "Closed buckets: " + Arrays.toString(counts));
+		assertTrue(lastHour != null && lastHour.getCount() == 360 && lastHour.getMin() == 360 && lastHour.getMax() == 719
+				&& lastHour.getSum() == (360 + 719) * 360 / 2, "Last hour bucket: " + lastHour);
+		assertTrue(engine.getSeriesCount() == 0, "Series must be evicted.");
+		assertTrue(!engine.accumulate("test.metric", tags, base + 2 * HOUR - 1, 1d, base), "Late point must be dropped.");
+		System.out.println("Engine cascade test passed, dropped: " + engine.getDroppedCount());
+	}
+
+	private static void queryPlannerTest2() {
+		RollupQueryPlanner planner = new RollupQueryPlanner(TIERS, 7 * DAY);
+		long now = System.currentTimeMillis();
+		assertTrue(planner.plan(now - HOUR, now, 10_000L, now) == null, "Recent fine step must query raw.");
+		assertTrue(planner.plan(now - DAY, now, 5 * MINUTE, now) == TIERS.get(0), "Expected tier 1m");
+		assertTrue(planner.plan(now - 20 * DAY, now, 15 * MINUTE, now) == TIERS.get(1), "Expected tier 10m");
+		assertTrue(planner.plan(now - 20 * DAY, now, 2 * HOUR, now) == TIERS.get(2), "Expected tier 1h");
+		assertTrue(planner.plan(now - 60 * DAY, now, 5 * MINUTE, now) == TIERS.get(2), "Expected tier 1h(longest)");
+
+		// The raw points are not queryable(e.g. OpenTSDB delegate).
+		RollupQueryPlanner tiersOnly = new RollupQueryPlanner(TIERS, 7 * DAY, false);
+		assertTrue(tiersOnly.plan(now - HOUR, now, 10_000L, now) == TIERS.get(0), "Expected tier 1m(finest)");
+		assertTrue(tiersOnly.plan(now - 20 * DAY, now, 10_000L, now) == TIERS.get(1), "Expected tier 10m(finest covered)");
+		assertTrue(tiersOnly.plan(now - 60 * DAY, now, 10_000L, now) == TIERS.get(2), "Expected tier 1h(longest)");
+		assertTrue(tiersOnly.plan(now - DAY, now, 5 * MINUTE, now) == TIERS.get(0), "Expected tier 1m");
+		System.out.println("Query planner test passed.");
+	}
+
+	/**
+	 * The rollup query results must be consistent with the raw points.
+	 */
+	private static void storeQueryTest3() throws Exception {
+		File dataDir = Files.createTempDirectory("umc-rollup").toFile();
+		EmbeddedProperties rawConfig = new EmbeddedProperties();
+		rawConfig.setDataDir(new File(dataDir, "raw").getAbsolutePath());
+		rawConfig.setPartitionMs(HOUR);
+		rawConfig.setLatenessMs(4 * HOUR);
+		rawConfig.setFlushIntervalMs(HOUR);
+		EmbeddedMetricStore raw = new EmbeddedMetricStore(rawConfig);
+		RollupProperties config = new RollupProperties();
+		config.setDataDir(new File(dataDir, "rollup").getAbsolutePath());
+		config.setLatenessMs(4 * HOUR);
+		config.setFlushIntervalMs(HOUR);
+		RollupMetricStore store = new RollupMetricStore(raw, config);
+
+		long now = System.currentTimeMillis();
+		long start = now - 3 * HOUR;
+		for (long t = start; t < now; t += 10_000L) {
+			store.save(MetricAggregate.newBuilder().setClassify("redis").setHost("10.0.0.160").setEndpoint("6379")
+					.setTimestamp(t).addMetrics(Metric.newBuilder().setMetric("test.metric").putTags("role", "master")
+							.setValue((t / 10_000L) % 97).build())
+					.build());
+		}
+		store.flush(true);
+
+		for (RollupAggregator agg : RollupAggregator.values()) {
+			for (long step : new long[] { 10 * MINUTE, HOUR }) {
+				List<SeriesPoints> rollup = store.query("test.metric", null, start, now, step, agg);
+				SeriesPoints expected = downsample(raw.query("test.metric", null, start, now).get(0), step, agg);
+				assertTrue(rollup.size() == 1, "Expected 1 series, but was: " + rollup);
+				assertEquals(expected, rollup.get(0), agg + "/" + step);
+			}
+		}
+		store.destroy();
+		raw.destroy();
+		System.out.println("Store query test passed, dataDir: " + dataDir);
+	}
+
+	private static void ingestBenchmarkTest4(int series, int points) {
+		RollupEngine engine = new RollupEngine(TIERS, 10 * MINUTE);
+		TreeMap<String, String> tags = new TreeMap<>();
+		long now = System.currentTimeMillis();
+		long begin = System.nanoTime();
+		for (int i = 0; i < points; i++) {
+			long timestamp = now - (points - i) * 100L;
+			for (int j = 0; j < series; j++) {
+				tags.put("host", "10.0.0." + (j % 256));
+				tags.put("endpoint", String.valueOf(j));
+				engine.accumulate("test.metric", tags, timestamp, i, now);
+			}
+		}
+		long cost = System.nanoTime() - begin;
+		System.out.println(String.format("Ingest benchmark - series: %s, rollup: %.1fns/point", engine.getSeriesCount(),
+				(double) cost / ((long) series * points)));
+	}
+
+	/**
+	 * The points failed to save by the delegate must not be rolled up, and the
+	 * fine step query of the delegate which is not queryable(e.g. OpenTSDB)
+	 * falls back to the finest tier.
+	 */
+	private static void delegateTest5() throws Exception {
+		File dataDir = Files.createTempDirectory("umc-rollup").toFile();
+		AtomicBoolean accepted = new AtomicBoolean(false);
+		MetricStore delegate = aggregate -> accepted.get();
+		RollupProperties config = new RollupProperties();
+		config.setDataDir(dataDir.getAbsolutePath());
+		config.setLatenessMs(4 * HOUR);
+		config.setFlushIntervalMs(HOUR);
+		RollupMetricStore store = new RollupMetricStore(delegate, config);
+
+		long now = System.currentTimeMillis();
+		List<MetricAggregate> rejected = Collections.singletonList(newAggregate(now - 30 * MINUTE, 100));
+		assertTrue(!store.batchSave(rejected), "Expected failed batch save.");
+		accepted.set(true);
+		assertTrue(store.save(newAggregate(now - 20 * MINUTE, 1)), "Expected saved.");
+		assertTrue(store.batchSave(Collections.singletonList(newAggregate(now - 10 * MINUTE, 1))), "Expected saved.");
+		store.flush(true);
+
+		for (long step : new long[] { 10_000L, HOUR }) {
+			double count = 0, max = 0;
+			for (SeriesPoints points : store.query("test.metric", null, now - HOUR, now, step, RollupAggregator.COUNT)) {
+				for (int i = 0; i < points.size(); i++) {
+					count += points.getValue(i);
+				}
+			}
+			for (SeriesPoints points : store.query("test.metric", null, now - HOUR, now, step, RollupAggregator.MAX)) {
+				for (int i = 0; i < points.size(); i++) {
+					max = Math.max(max, points.getValue(i));
+				}
+			}
+			assertTrue(count == 2 && max == 1, "Expected only saved points rolled up, count: " + count + ", max: " + max);
+		}
+		store.destroy();
+		System.out.println("Delegate test passed, dataDir: " + dataDir);
+	}
+
+	private static MetricAggregate newAggregate(long timestamp, double value) {
+		return MetricAggregate.newBuilder().setClassify("redis").setHost("10.0.0.160").setEndpoint("6379")
+				.setTimestamp(timestamp).addMetrics(Metric.newBuilder().setMetric("test.metric").setValue(value).build()).build();
+	}
+
+	/**
+	 * Downsample raw points by step(aligned to epoch).
+	 */
+	private static SeriesPoints downsample(SeriesPoints raw, long step, RollupAggregator agg) {
+		SeriesPoints result = new SeriesPoints(raw.getMetric(), raw.getTags());
+		RollupBucket bucket = null;
+		long bucketStart = 0;
+		for (int i = 0; i < raw.size(); i++) {
+			long start = Math.floorDiv(raw.getTimestamp(i), step) * step;
+			if (bucket != null && start != bucketStart) {
+				result.add(bucketStart, agg.value(bucket));
+				bucket = null;
+			}
+			if (bucket == null) {
+				bucket = new RollupBucket();
+				bucketStart = start;
+			}
+			bucket.add(raw.getValue(i));
+		}
+		if (bucket != null) {
+			result.add(bucketStart, agg.value(bucket));
+		}
+		return result;
+	}
+
+	private static void assertEquals(SeriesPoints expected, SeriesPoints actual, String message) {
+		assertTrue(expected.size() == actual.size(), message + ", expected points: " + expected + ", but was: " + actual);
+		for (int i = 0; i < expected.size(); i++) {
+			assertTrue(expected.getTimestamp(i) == actual.getTimestamp(i)
+					&& Math.abs(expected.getValue(i) - actual.getValue(i)) < 1e-6, message + ", mismatched point at " + i);
+		}
+	}
+
+	private static void assertTrue(boolean condition, String message) {
+		if (!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
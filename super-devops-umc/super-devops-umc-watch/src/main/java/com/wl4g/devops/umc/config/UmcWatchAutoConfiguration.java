@@ -38,6 +38,7 @@ import com.wl4g.devops.umc.fetch.ServiceIndicatorsMetaFetcher;
 import com.wl4g.devops.tool.common.annotation.Reserved;
 import com.wl4g.devops.umc.fetch.IndicatorsMetaFetcher;
 import com.wl4g.devops.umc.fetch.IndicatorsMetaInfo;
+import com.wl4g.devops.umc.watch.ServiceIndicatorsProber;
 import com.wl4g.devops.umc.watch.ServiceIndicatorsStateWatcher;
 import com.wl4g.devops.umc.watch.WatchJobListener;
 import com.wl4g.devops.umc.watch.WatchScheduler;
@@ -73,6 +74,11 @@ public class UmcWatchAutoConfiguration {
 		return new ServiceIndicatorsStateWatcher();
 	}
 
+	@Bean
+	public ServiceIndicatorsProber serviceIndicatorsProber(WatchProperties config) {
+		return new ServiceIndicatorsProber(config.getProbe());
+	}
+
 	@Bean
 	public WatchJobListener watchJobListener() {
 		return new WatchJobListener();
@@ -102,9 +108,11 @@ public class UmcWatchAutoConfiguration {
 
 	private LiteJobConfiguration getDataflowLiteJobConfiguration(Class<? extends DataflowJob<IndicatorsMetaInfo>> jobClass,
 			String cron, int shardingTotalCount, String shardingItemParameters) {
+		// Non streaming, each execution only refreshes the watching slices
+		// once(the probing is continuous).
 		return newBuilder(new DataflowJobConfiguration(
 				newBuilder(jobClass.getName(), cron, shardingTotalCount).shardingItemParameters(shardingItemParameters).build(),
-				jobClass.getCanonicalName(), true)).overwrite(true).build();
+				jobClass.getCanonicalName(), false)).overwrite(true).build();
 	}
 
 	//
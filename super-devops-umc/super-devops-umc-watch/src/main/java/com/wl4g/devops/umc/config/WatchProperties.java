@@ -15,6 +15,8 @@
  */
 package com.wl4g.devops.umc.config;
 
+import java.io.Serializable;
+
 import com.wl4g.devops.support.task.RunnerProperties;
 
 /**
@@ -40,6 +42,20 @@ public class WatchProperties extends RunnerProperties {
 
 	private int fetchCacheSec = -1;
 
+	/**
+	 * Interval(ms) of full re-synchronizing the instances meta, otherwise
+	 * only the changed ones are fetched incrementally.
+	 */
+	private long fullSyncIntervalMs = 10 * 60 * 1000L;
+
+	/**
+	 * Expiration(ms) of the watching slice(sharding item) that is no longer
+	 * assigned(refreshed by job execution), must be greater than cron period.
+	 */
+	private long sliceExpireMs = 90 * 1000L;
+
+	private ProbeProperties probe = new ProbeProperties();
+
 	public String getZkServers() {
 		return zkServers;
 	}
@@ -101,4 +117,103 @@ public class WatchProperties extends RunnerProperties {
 		this.fetchCacheSec = fetchCacheTime;
 	}
 
+	public long getFullSyncIntervalMs() {
+		return fullSyncIntervalMs;
+	}
+
+	public void setFullSyncIntervalMs(long fullSyncIntervalMs) {
+		this.fullSyncIntervalMs = fullSyncIntervalMs;
+	}
+
+	public long getSliceExpireMs() {
+		return sliceExpireMs;
+	}
+
+	public void setSliceExpireMs(long sliceExpireMs) {
+		this.sliceExpireMs = sliceExpireMs;
+	}
+
+	public ProbeProperties getProbe() {
+		return probe;
+	}
+
+	public void setProbe(ProbeProperties probe) {
+		this.probe = probe;
+	}
+
+	/**
+	 * Active HTTP probing configuration properties.
+	 * 
+	 * @author Wangl.sir <983708408@qq.com>
+	 * @version v1.0 2020年3月10日
+	 * @since
+	 */
+	public static class ProbeProperties implements Serializable {
+		private static final long serialVersionUID = -4405632316467541716L;
+
+		/**
+		 * Probing interval(ms) of the watching targets, independent of the job
+		 * cron(which only refreshes the assignment and meta).
+		 */
+		private long intervalMs = 5_000L;
+
+		/**
+		 * Deadline(ms) of each target, including connecting and reading.
+		 */
+		private long timeoutMs = 2_000L;
+
+		/**
+		 * Maximum number of in-flight probing requests.
+		 */
+		private int maxConcurrency = 512;
+
+		private String scheme = "http";
+
+		/**
+		 * Probing path of the instance, e.g. /health
+		 */
+		private String path = "/health";
+
+		public long getIntervalMs() {
+			return intervalMs;
+		}
+
+		public void setIntervalMs(long intervalMs) {
+			this.intervalMs = intervalMs;
+		}
+
+		public long getTimeoutMs() {
+			return timeoutMs;
+		}
+
+		public void setTimeoutMs(long timeoutMs) {
+			this.timeoutMs = timeoutMs;
+		}
+
+		public int getMaxConcurrency() {
+			return maxConcurrency;
+		}
+
+		public void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		public String getScheme() {
+			return scheme;
+		}
+
+		public void setScheme(String scheme) {
+			this.scheme = scheme;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public void setPath(String path) {
+			this.path = path;
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -15,12 +15,33 @@
  */
 package com.wl4g.devops.umc.fetch;
 
+import static java.lang.System.currentTimeMillis;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.dangdang.ddframe.job.api.ShardingContext;
+import com.wl4g.devops.common.bean.BaseBean;
+import com.wl4g.devops.common.bean.share.AppInstance;
+import com.wl4g.devops.dao.share.AppInstanceDao;
+import com.wl4g.devops.umc.config.WatchProperties;
 
 /**
- * Application service agent metric indicators fetcher.
+ * Application service agent metric indicators fetcher.</br>
+ * The instances meta are kept locally, and only the changed ones(since the
+ * latest fetched version) are fetched from DB, except for the periodic full
+ * re-synchronization(which also removes the physically deleted ones). The
+ * instances are assigned to the sharding items by the hash of target
+ * identifier.
  * 
  * @author wangl.sir
  * @version v1.0 2019年7月4日
@@ -28,10 +49,118 @@ import com.dangdang.ddframe.job.api.ShardingContext;
  */
 public class ServiceIndicatorsMetaFetcher implements IndicatorsMetaFetcher {
 
+	/**
+	 * Minimum interval(ms) of incremental fetching, the sharding items
+	 * executed at the same time share one fetching.
+	 */
+	final public static long MIN_FETCH_INTERVAL_MS = 1_000L;
+
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	@Autowired
+	protected AppInstanceDao appInstanceDao;
+
+	@Autowired
+	protected WatchProperties config;
+
+	/** Local instances meta by instance id. */
+	final private Map<Integer, ServiceIndicatorsMetaInfo> metas = new ConcurrentHashMap<>();
+
+	/** Latest fetched meta version(ms). */
+	private long version;
+
+	private long lastFetchTime;
+
+	private long lastFullSyncTime;
+
 	@Override
 	public List<IndicatorsMetaInfo> fetch(ShardingContext sctx) {
-		// TODO Auto-generated method stub
-		return null;
+		refresh();
+
+		int total = sctx.getShardingTotalCount();
+		int item = sctx.getShardingItem();
+		List<IndicatorsMetaInfo> slice = new ArrayList<>(metas.size() / Math.max(total, 1) + 1);
+		for (ServiceIndicatorsMetaInfo meta : metas.values()) {
+			if (isAssigned(meta, total, item)) {
+				slice.add(meta);
+			}
+		}
+		return slice;
+	}
+
+	/**
+	 * Refresh the local instances meta.
+	 */
+	protected synchronized void refresh() {
+		long now = currentTimeMillis();
+		boolean full = (now - lastFullSyncTime) >= config.getFullSyncIntervalMs();
+		if (!full && (now - lastFetchTime) < MIN_FETCH_INTERVAL_MS) {
+			return;
+		}
+
+		// The boundary version is fetched again(inclusive), because of the
+		// precision of modified time.
+		List<AppInstance> instances = appInstanceDao.selectChangedSince(full ? null : new Date(version));
+		Set<Integer> fetchedIds = full ? new HashSet<>(instances.size()) : null;
+		int changed = 0;
+		for (AppInstance inst : instances) {
+			if (inst.getId() == null) {
+				continue;
+			}
+			long instVersion = getVersion(inst);
+			version = Math.max(version, instVersion);
+			if (isWatchable(inst)) {
+				ServiceIndicatorsMetaInfo meta = new ServiceIndicatorsMetaInfo(inst.getId(), inst.getClusterId(),
+						inst.getHostname(), inst.getEndpoint(), instVersion);
+				ServiceIndicatorsMetaInfo old = metas.put(inst.getId(), meta);
+				if (old == null || old.getVersion() != instVersion) {
+					++changed;
+				}
+				if (full) {
+					fetchedIds.add(inst.getId());
+				}
+			} else if (metas.remove(inst.getId()) != null) {
+				++changed;
+			}
+		}
+		if (full) {
+			// Removes the physically deleted.
+			changed += metas.size() - fetchedIds.size();
+			metas.keySet().retainAll(fetchedIds);
+			lastFullSyncTime = now;
+		}
+		lastFetchTime = now;
+
+		if (changed > 0 && log.isInfoEnabled()) {
+			log.info("Refreshed instances meta of full: {}, changed: {}, total: {}, version: {}", full, changed, metas.size(),
+					version);
+		}
+	}
+
+	/**
+	 * Whether the meta is assigned to the sharding item.
+	 * 
+	 * @param meta
+	 * @param shardingTotalCount
+	 * @param shardingItem
+	 * @return
+	 */
+	public static boolean isAssigned(IndicatorsMetaInfo meta, int shardingTotalCount, int shardingItem) {
+		if (shardingTotalCount <= 1) {
+			return true;
+		}
+		return Math.floorMod(meta.getTargetIdentifier().hashCode(), shardingTotalCount) == shardingItem;
+	}
+
+	private static long getVersion(AppInstance inst) {
+		Date date = inst.getUpdateDate() != null ? inst.getUpdateDate() : inst.getCreateDate();
+		return date != null ? date.getTime() : 0L;
+	}
+
+	private static boolean isWatchable(AppInstance inst) {
+		return !Integer.valueOf(BaseBean.DEL_FLAG_DELETE).equals(inst.getDelFlag())
+				&& Integer.valueOf(BaseBean.ENABLED).equals(inst.getEnable()) && inst.getHostname() != null
+				&& inst.getEndpoint() != null;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.fetch;
+
+import java.io.Serializable;
+
+/**
+ * Application service instance indicators meta info.
+ *
+ * @author wangl.sir
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class ServiceIndicatorsMetaInfo implements IndicatorsMetaInfo, Serializable {
+	private static final long serialVersionUID = 2935017713870264123L;
+
+	private Integer instanceId;
+
+	private Integer clusterId;
+
+	private String hostname;
+
+	/**
+	 * Service port of instance.
+	 */
+	private String endpoint;
+
+	/**
+	 * Meta version, i.e. the last modified time(ms).
+	 */
+	private long version;
+
+	public ServiceIndicatorsMetaInfo() {
+		super();
+	}
+
+	public ServiceIndicatorsMetaInfo(Integer instanceId, Integer clusterId, String hostname, String endpoint, long version) {
+		this.instanceId = instanceId;
+		this.clusterId = clusterId;
+		this.hostname = hostname;
+		this.endpoint = endpoint;
+		this.version = version;
+	}
+
+	@Override
+	public String getTargetIdentifier() {
+		return String.valueOf(instanceId);
+	}
+
+	public Integer getInstanceId() {
+		return instanceId;
+	}
+
+	public void setInstanceId(Integer instanceId) {
+		this.instanceId = instanceId;
+	}
+
+	public Integer getClusterId() {
+		return clusterId;
+	}
+
+	public void setClusterId(Integer clusterId) {
+		this.clusterId = clusterId;
+	}
+
+	public String getHostname() {
+		return hostname;
+	}
+
+	public void setHostname(String hostname) {
+		this.hostname = hostname;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public void setEndpoint(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	@Override
+	public String toString() {
+		return "ServiceIndicatorsMetaInfo [instanceId=" + instanceId + ", clusterId=" + clusterId + ", hostname=" + hostname
+				+ ", endpoint=" + endpoint + ", version=" + version + "]";
+	}
+
+}
@@ -89,7 +89,7 @@ public abstract class IndicatorsStateWatcher implements DataflowJob<IndicatorsMe
 
 	@Override
 	public void processData(ShardingContext sctx, List<IndicatorsMetaInfo> data) {
-		doWatching(data);
+		doWatching(sctx, data);
 	}
 
 	/**
@@ -131,8 +131,9 @@ public abstract class IndicatorsStateWatcher implements DataflowJob<IndicatorsMe
 	/**
 	 * Data-set processing.
 	 * 
+	 * @param sctx
 	 * @param dataset
 	 */
-	protected abstract void doWatching(List<IndicatorsMetaInfo> dataset);
+	protected abstract void doWatching(ShardingContext sctx, List<IndicatorsMetaInfo> dataset);
 
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 ~ 2025 the original author or authors. <wanglsir@gmail.com, 983708408@qq.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wl4g.devops.umc.watch;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.Metric;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
+import com.wl4g.devops.umc.config.WatchProperties.ProbeProperties;
+import com.wl4g.devops.umc.fetch.ServiceIndicatorsMetaInfo;
+
+/**
+ * Concurrent asynchronous HTTP prober of the service instances, the requests
+ * are sent by non-blocking I/O(bounded by the maximum in-flight requests), and
+ * each target has its own deadline, the results are converted to the metric
+ * aggregates.
+ *
+ * <pre>
+ * probe.up{instance=..,cluster=..}       1 if responded 2xx, otherwise 0
+ * probe.latency{instance=..,cluster=..}  Response latency(ms)
+ * probe.status{instance=..,cluster=..}   HTTP status code, 0 if no response
+ * </pre>
+ *
+ * @author wangl.sir
+ * @version v1.0 2020年3月10日
+ * @since
+ */
+public class ServiceIndicatorsProber implements Closeable {
+
+	final public static String CLASSIFY = "probe";
+	final public static String METRIC_UP = "probe.up";
+	final public static String METRIC_LATENCY = "probe.latency";
+	final public static String METRIC_STATUS = "probe.status";
+	final public static String TAG_INSTANCE = "instance";
+	final public static String TAG_CLUSTER = "cluster";
+
+	final protected Logger log = LoggerFactory.getLogger(getClass());
+
+	final protected ProbeProperties config;
+
+	final private CloseableHttpAsyncClient client;
+
+	public ServiceIndicatorsProber(ProbeProperties config) {
+		Assert.notNull(config, "ProbeProperties must not be null.");
+		Assert.isTrue(config.getTimeoutMs() > 0, "Probe timeoutMs must be greater than 0.");
+		Assert.isTrue(config.getMaxConcurrency() > 0, "Probe maxConcurrency must be greater than 0.");
+		this.config = config;
+		int timeout = (int) config.getTimeoutMs();
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(timeout).setSocketTimeout(timeout)
+				.setConnectionRequestTimeout(timeout).build();
+		this.client = HttpAsyncClients.custom().setDefaultRequestConfig(requestConfig)
+				.setMaxConnTotal(config.getMaxConcurrency()).setMaxConnPerRoute(4).build();
+		this.client.start();
+	}
+
+	/**
+	 * Probe the targets, it's returned after all targets are completed or
+	 * expired.
+	 *
+	 * @param targets
+	 * @return Probe results of all targets.
+	 * @throws InterruptedException
+	 */
+	public List<MetricAggregate> probe(Collection<ServiceIndicatorsMetaInfo> targets) throws InterruptedException {
+		if (targets.isEmpty()) {
+			return new ArrayList<>(0);
+		}
+		final Queue<MetricAggregate> results = new ConcurrentLinkedQueue<>();
+		final Semaphore permits = new Semaphore(config.getMaxConcurrency());
+		final CountDownLatch latch = new CountDownLatch(targets.size());
+		final List<Future<HttpResponse>> futures = new ArrayList<>(targets.size());
+
+		long timeoutNanos = MILLISECONDS.toNanos(config.getTimeoutMs());
+		long deadline = System.nanoTime() + timeoutNanos;
+		for (ServiceIndicatorsMetaInfo target : targets) {
+			permits.acquire();
+			final long begin = System.nanoTime();
+			deadline = begin + timeoutNanos; // Deadline of the last target.
+			futures.add(client.execute(new HttpGet(getProbeUrl(target)), new FutureCallback<HttpResponse>() {
+				@Override
+				public void completed(HttpResponse resp) {
+					int status = resp.getStatusLine().getStatusCode();
+					EntityUtils.consumeQuietly(resp.getEntity());
+					done(target, status >= 200 && status < 300, status);
+				}
+
+				@Override
+				public void failed(Exception ex) {
+					if (log.isDebugEnabled()) {
+						log.debug("Failed to probe {}, cause: {}", target, ex.getMessage());
+					}
+					done(target, false, 0);
+				}
+
+				@Override
+				public void cancelled() {
+					done(target, false, 0);
+				}
+
+				private void done(ServiceIndicatorsMetaInfo target, boolean up, int status) {
+					try {
+						results.offer(newAggregate(target, up, NANOSECONDS.toMillis(System.nanoTime() - begin), status));
+					} finally {
+						permits.release();
+						latch.countDown();
+					}
+				}
+			}));
+		}
+
+		// Expire the targets which are still in-flight.
+		if (!latch.await(Math.max(deadline - System.nanoTime(), 0L) + MILLISECONDS.toNanos(200L), NANOSECONDS)) {
+			int expired = 0;
+			for (Future<HttpResponse> f : futures) {
+				if (f.cancel(true)) {
+					++expired;
+				}
+			}
+			log.warn("Expired probing targets: {}/{}", expired, targets.size());
+		}
+		return new ArrayList<>(results);
+	}
+
+	/**
+	 * Get probe URL of target.
+	 *
+	 * @param target
+	 * @return
+	 */
+	protected String getProbeUrl(ServiceIndicatorsMetaInfo target) {
+		return config.getScheme() + "://" + target.getHostname() + ":" + target.getEndpoint() + config.getPath();
+	}
+
+	private MetricAggregate newAggregate(ServiceIndicatorsMetaInfo target, boolean up, long latencyMs, int status) {
+		String instance = target.getTargetIdentifier();
+		String cluster = String.valueOf(target.getClusterId());
+		return MetricAggregate.newBuilder().setClassify(CLASSIFY).setHost(target.getHostname())
+				.setEndpoint(target.getEndpoint()).setTimestamp(System.currentTimeMillis())
+				.addMetrics(newMetric(METRIC_UP, instance, cluster, up ? 1d : 0d))
+				.addMetrics(newMetric(METRIC_LATENCY, instance, cluster, latencyMs))
+				.addMetrics(newMetric(METRIC_STATUS, instance, cluster, status)).build();
+	}
+
+	private static Metric newMetric(String metric, String instance, String cluster, double value) {
+		return Metric.newBuilder().setMetric(metric).putTags(TAG_INSTANCE, instance).putTags(TAG_CLUSTER, cluster)
+				.setValue(value).build();
+	}
+
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+}
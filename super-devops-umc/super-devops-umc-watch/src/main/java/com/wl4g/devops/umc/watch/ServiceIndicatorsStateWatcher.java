@@ -15,25 +15,153 @@
  */
 package com.wl4g.devops.umc.watch;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import com.dangdang.ddframe.job.api.ShardingContext;
+import com.wl4g.devops.common.bean.umc.model.proto.MetricModel.MetricAggregate;
 import com.wl4g.devops.umc.fetch.IndicatorsMetaInfo;
+import com.wl4g.devops.umc.fetch.ServiceIndicatorsMetaInfo;
+import com.wl4g.devops.umc.store.MetricStore;
 
 /**
  * 
  * Application of service metrics status monitor, including but not limited to:
  * application of health status indicators such as connection redis, kafka, etc.
+ * </br>
+ * The job executions only refresh the watching slices(instances of the
+ * sharding items assigned to the current node), and the slices are actively
+ * probed continuously at the probing interval, so there is no blind spot
+ * between the job executions. The slices no longer assigned are expired.
  * 
  * @author wangl.sir
  * @version v1.0 2019年7月4日
  * @since
  */
-public class ServiceIndicatorsStateWatcher extends IndicatorsStateWatcher {
+public class ServiceIndicatorsStateWatcher extends IndicatorsStateWatcher implements InitializingBean, DisposableBean {
+
+	@Autowired
+	protected ServiceIndicatorsProber prober;
+
+	@Autowired
+	protected MetricStore store;
+
+	/** Watching slices by sharding item. */
+	final private Map<Integer, WatchSlice> slices = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService scheduler;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		long interval = config.getProbe().getIntervalMs();
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "umcIndicatorsProber");
+			t.setDaemon(true);
+			return t;
+		});
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				doProbing();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (Throwable ex) {
+				log.error("Failed to probe watching indicators", ex);
+			}
+		}, interval, interval, MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		prober.close();
+	}
+
+	@Override
+	public List<IndicatorsMetaInfo> fetchData(ShardingContext sctx) {
+		List<IndicatorsMetaInfo> dataset = super.fetchData(sctx);
+		if (dataset != null && dataset.isEmpty()) {
+			// The processing is skipped if empty.
+			slices.remove(sctx.getShardingItem());
+		}
+		return dataset;
+	}
 
 	@Override
-	protected void doWatching(List<IndicatorsMetaInfo> dataset) {
-		// TODO Auto-generated method stub
+	protected void doWatching(ShardingContext sctx, List<IndicatorsMetaInfo> dataset) {
+		List<ServiceIndicatorsMetaInfo> targets = new ArrayList<>(dataset.size());
+		for (IndicatorsMetaInfo meta : dataset) {
+			if (meta instanceof ServiceIndicatorsMetaInfo) {
+				targets.add((ServiceIndicatorsMetaInfo) meta);
+			}
+		}
+		slices.put(sctx.getShardingItem(), new WatchSlice(Collections.unmodifiableList(targets)));
+		if (log.isInfoEnabled()) {
+			log.info("Assigned watching slice of sharding item: {}, targets: {}", sctx.getShardingItem(), targets.size());
+		}
+	}
+
+	/**
+	 * Probe the targets of all active slices, and save results to the store.
+	 * 
+	 * @throws InterruptedException
+	 */
+	protected void doProbing() throws InterruptedException {
+		long now = System.currentTimeMillis();
+		List<ServiceIndicatorsMetaInfo> targets = new ArrayList<>();
+		for (Iterator<Map.Entry<Integer, WatchSlice>> it = slices.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Integer, WatchSlice> ent = it.next();
+			if ((now - ent.getValue().getAssignedTime()) > config.getSliceExpireMs()) {
+				log.info("Expired watching slice of sharding item: {}", ent.getKey());
+				it.remove();
+			} else {
+				targets.addAll(ent.getValue().getTargets());
+			}
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+
+		List<MetricAggregate> results = prober.probe(targets);
+		if (!store.batchSave(results)) {
+			log.warn("Failed to save probe results, size: {}", results.size());
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Probed targets: {}, cost: {}ms", targets.size(), (System.currentTimeMillis() - now));
+		}
+	}
+
+	/**
+	 * Watching slice of sharding item.
+	 */
+	private static class WatchSlice {
+		final private List<ServiceIndicatorsMetaInfo> targets;
+		final private long assignedTime = System.currentTimeMillis();
+
+		private WatchSlice(List<ServiceIndicatorsMetaInfo> targets) {
+			this.targets = targets;
+		}
+
+		public List<ServiceIndicatorsMetaInfo> getTargets() {
+			return targets;
+		}
 
+		public long getAssignedTime() {
+			return assignedTime;
+		}
 	}
 
 }
\ No newline at end of file